@@ -36,6 +36,9 @@ import static org.apache.flink.configuration.description.TextElement.text;
  * some storage between stages. Downstream tasks then fetch these records after the upstream tasks
  * finished. Such an exchange reduces the resources required to execute the job as it does not need
  * to run upstream and downstream tasks simultaneously.
+ *
+ * <p>With hybrid exchanges, records are persisted like with blocking exchanges, but downstream
+ * tasks can already start consuming them while the upstream tasks are still running.
  */
 @PublicEvolving
 public enum BatchShuffleMode implements DescribedEnum {
@@ -60,7 +63,22 @@ public enum BatchShuffleMode implements DescribedEnum {
     ALL_EXCHANGES_BLOCKING(
             text(
                     "Upstream and downstream tasks run subsequently. This reduces the resource usage "
-                            + "as downstream tasks are started after upstream tasks finished."));
+                            + "as downstream tasks are started after upstream tasks finished.")),
+
+    /**
+     * Downstream tasks can start once upstream tasks are running.
+     *
+     * <p>Records are persisted like for blocking exchanges, but are directly sent to the
+     * downstream tasks which are already running. This allows downstream tasks to start as soon as
+     * resources are available without requiring all tasks to run simultaneously.
+     */
+    ALL_EXCHANGES_HYBRID(
+            text(
+                    "Downstream tasks can start once upstream tasks are running. Records are "
+                            + "persisted like for blocking exchanges, but are directly sent to the "
+                            + "downstream tasks which are already running. This allows downstream "
+                            + "tasks to start as soon as resources are available without requiring "
+                            + "all tasks to run simultaneously."));
 
     private final InlineElement description;
 
@@ -124,6 +124,8 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
 
     private boolean objectReuse = false;
 
+    private boolean objectHandoff = false;
+
     private boolean autoTypeRegistrationEnabled = true;
 
     private boolean forceAvro = false;
@@ -723,6 +725,37 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
         return objectReuse;
     }
 
+    /**
+     * Enables handing over records between tasks which run in the same TaskManager instead of
+     * serializing and deserializing them. The records are copied with their serializer before they
+     * are handed over, which is cheap for immutable types.
+     *
+     * <p>This applies to forward and rebalance connections and is only used if unaligned
+     * checkpoints are disabled, because the handed over records can not be persisted as in-flight
+     * data.
+     */
+    @PublicEvolving
+    public ExecutionConfig enableObjectHandoff() {
+        objectHandoff = true;
+        return this;
+    }
+
+    /**
+     * Disables handing over records between tasks which run in the same TaskManager. @see
+     * #enableObjectHandoff()
+     */
+    @PublicEvolving
+    public ExecutionConfig disableObjectHandoff() {
+        objectHandoff = false;
+        return this;
+    }
+
+    /** Returns whether object handoff has been enabled or disabled. @see #enableObjectHandoff() */
+    @PublicEvolving
+    public boolean isObjectHandoffEnabled() {
+        return objectHandoff;
+    }
+
     public GlobalJobParameters getGlobalJobParameters() {
         return globalJobParameters;
     }
@@ -927,6 +960,7 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
                     && forceKryo == other.forceKryo
                     && disableGenericTypes == other.disableGenericTypes
                     && objectReuse == other.objectReuse
+                    && objectHandoff == other.objectHandoff
                     && autoTypeRegistrationEnabled == other.autoTypeRegistrationEnabled
                     && forceAvro == other.forceAvro
                     && Objects.equals(globalJobParameters, other.globalJobParameters)
@@ -954,6 +988,7 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
                 forceKryo,
                 disableGenericTypes,
                 objectReuse,
+                objectHandoff,
                 autoTypeRegistrationEnabled,
                 forceAvro,
                 globalJobParameters,
@@ -987,6 +1022,8 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
                 + enableAutoGeneratedUids
                 + ", objectReuse="
                 + objectReuse
+                + ", objectHandoff="
+                + objectHandoff
                 + ", autoTypeRegistrationEnabled="
                 + autoTypeRegistrationEnabled
                 + ", forceAvro="
@@ -1156,6 +1193,9 @@ public class ExecutionConfig implements Serializable, Archiveable<ArchivedExecut
         configuration
                 .getOptional(PipelineOptions.OBJECT_REUSE)
                 .ifPresent(o -> this.objectReuse = o);
+        configuration
+                .getOptional(PipelineOptions.OBJECT_HANDOFF)
+                .ifPresent(o -> this.objectHandoff = o);
         configuration
                 .getOptional(TaskManagerOptions.TASK_CANCELLATION_INTERVAL)
                 .ifPresent(this::setTaskCancellationInterval);
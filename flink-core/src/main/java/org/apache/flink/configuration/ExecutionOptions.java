@@ -70,6 +70,11 @@ public class ExecutionOptions {
                                                     + "Such an exchange reduces the resources required to execute the "
                                                     + "job as it does not need to run upstream and downstream "
                                                     + "tasks simultaneously.")
+                                    .linebreak()
+                                    .text(
+                                            "With hybrid exchanges, records are persisted like with blocking "
+                                                    + "exchanges, but downstream tasks can already consume them "
+                                                    + "while the upstream tasks are still running.")
                                     .build());
 
     /**
@@ -423,6 +423,54 @@ public class JobManagerOptions {
                     .withDescription(
                             "Configure the minimum increase in parallelism for a job to scale up.");
 
+    @Documentation.Section({
+        Documentation.Sections.EXPERT_SCHEDULING,
+        Documentation.Sections.ALL_JOB_MANAGER
+    })
+    public static final ConfigOption<Boolean> LOAD_BASED_SCALING_ENABLED =
+            key("jobmanager.adaptive-scheduler.load-based-scaling.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the adaptive scheduler derives the parallelism of each vertex from the busy and back pressured time reported by its subtasks. "
+                                    + "If disabled, every vertex is scaled up to its configured parallelism whenever enough resources are available.");
+
+    @Documentation.Section({
+        Documentation.Sections.EXPERT_SCHEDULING,
+        Documentation.Sections.ALL_JOB_MANAGER
+    })
+    public static final ConfigOption<Double> LOAD_BASED_SCALING_TARGET_UTILIZATION =
+            key("jobmanager.adaptive-scheduler.load-based-scaling.target-utilization")
+                    .doubleType()
+                    .defaultValue(0.7)
+                    .withDescription(
+                            "The fraction of time in (0, 1] the subtasks of a vertex should be busy when load based scaling is enabled. "
+                                    + "Vertices with a higher utilization are scaled up, vertices with a lower utilization are scaled down.");
+
+    @Documentation.Section({
+        Documentation.Sections.EXPERT_SCHEDULING,
+        Documentation.Sections.ALL_JOB_MANAGER
+    })
+    public static final ConfigOption<Duration> LOAD_BASED_SCALING_INTERVAL =
+            key("jobmanager.adaptive-scheduler.load-based-scaling.interval")
+                    .durationType()
+                    .defaultValue(Duration.ofMinutes(1))
+                    .withDescription(
+                            "The interval in which the adaptive scheduler re-evaluates the load of a running job when load based scaling is enabled.");
+
+    @Documentation.Section({
+        Documentation.Sections.EXPERT_SCHEDULING,
+        Documentation.Sections.ALL_JOB_MANAGER
+    })
+    public static final ConfigOption<Duration> RESCALE_COST_AMORTIZATION_PERIOD =
+            key("jobmanager.adaptive-scheduler.rescale-cost.amortization-period")
+                    .durationType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The period within which the predicted downtime of a rescale operation has to be outweighed by the relative change in parallelism. "
+                                    + "The downtime is predicted from the size of the latest completed checkpoint and the restore throughput measured during previous restarts. "
+                                    + "If not set, the adaptive scheduler does not take the cost of a rescale operation into account.");
+
     @Documentation.Section({
         Documentation.Sections.EXPERT_SCHEDULING,
         Documentation.Sections.ALL_JOB_MANAGER
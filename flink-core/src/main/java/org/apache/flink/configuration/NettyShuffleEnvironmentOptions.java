@@ -86,11 +86,40 @@ public class NettyShuffleEnvironmentOptions {
                                     + "ratio is high.");
 
     /** The codec to be used when compressing shuffle data. */
-    @Documentation.ExcludeFromDocumentation("Currently, LZ4 is the only legal option.")
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
     public static final ConfigOption<String> SHUFFLE_COMPRESSION_CODEC =
             key("taskmanager.network.compression.codec")
                     .defaultValue("LZ4")
-                    .withDescription("The codec to be used when compressing shuffle data.");
+                    .withDescription(
+                            "The codec to be used when compressing shuffle data. Supported codecs "
+                                    + "are 'LZ4' and 'ZSTD'. LZ4 is the fastest one, while ZSTD "
+                                    + "achieves a higher compression ratio at the cost of more "
+                                    + "CPU, which pays off when the shuffle is IO bounded.");
+
+    /** The compression level of the ZSTD codec. */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<Integer> SHUFFLE_COMPRESSION_ZSTD_LEVEL =
+            key("taskmanager.network.compression.zstd.level")
+                    .intType()
+                    .defaultValue(3)
+                    .withDescription(
+                            "The compression level of the ZSTD codec, from 1 to 22. Higher levels "
+                                    + "achieve a higher compression ratio at the cost of more CPU. "
+                                    + "Only takes effect if the codec is 'ZSTD'.");
+
+    /** The path of the pre-trained dictionary used by the ZSTD codec. */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<String> SHUFFLE_COMPRESSION_ZSTD_DICTIONARY =
+            key("taskmanager.network.compression.zstd.dictionary")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The path of a pre-trained dictionary used by the ZSTD codec, for "
+                                    + "example created by 'zstd --train' from samples of the "
+                                    + "shuffled records. Compressing with a dictionary improves "
+                                    + "the compression ratio of the small network buffers a lot. "
+                                    + "The same dictionary must be available on all TaskManagers. "
+                                    + "Only takes effect if the codec is 'ZSTD'.");
 
     /**
      * Boolean flag to enable/disable more detailed metrics about inbound/outbound network queue
@@ -206,6 +235,18 @@ public class NettyShuffleEnvironmentOptions {
                                     + " help relieve back-pressure caused by unbalanced data distribution among the subpartitions. This value should be"
                                     + " increased in case of higher round trip times between nodes and/or larger number of machines in the cluster.");
 
+    /** Whether the floating buffers of an input gate are shared fairly among its input channels. */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<Boolean> NETWORK_FAIR_FLOATING_BUFFERS =
+            key("taskmanager.network.memory.fair-floating-buffers")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether the floating buffers of an input gate are shared among its input channels in proportion"
+                                    + " to the backlog announced by the senders. By default, the floating buffers are handed out"
+                                    + " first-come-first-served, so a channel with a large backlog may hold all of them while the"
+                                    + " other channels are limited to their exclusive buffers, e.g. in skewed joins.");
+
     /**
      * Minimum number of network buffers required per blocking result partition for sort-shuffle.
      */
@@ -353,6 +394,18 @@ public class NettyShuffleEnvironmentOptions {
                                     + " based on the platform. Note that the \"epoll\" mode can get better performance, less GC and have more advanced features which are"
                                     + " only available on modern Linux.");
 
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<Integer> MAX_BUFFERS_PER_FLUSH =
+            key("taskmanager.network.netty.server.max-buffers-per-flush")
+                    .intType()
+                    .defaultValue(1)
+                    .withDescription(
+                            "The maximum number of buffers the Netty server writes to a connection before flushing it."
+                                    + " Writing the buffers of several subpartitions and flushing them at once sends them with a"
+                                    + " single gathering write, which saves system calls and wake ups per buffer if a connection"
+                                    + " serves many subpartitions. The server flushes earlier if no more buffers are available"
+                                    + " or the connection is not writable. The default of 1 flushes every buffer.");
+
     // ------------------------------------------------------------------------
     //  Partition Request Options
     // ------------------------------------------------------------------------
@@ -183,6 +183,16 @@ public class PipelineOptions {
                                     + " data to user-code functions will be reused. Keep in mind that this can lead to bugs when the"
                                     + " user-code function of an operation is not aware of this behaviour.");
 
+    public static final ConfigOption<Boolean> OBJECT_HANDOFF =
+            key("pipeline.object-handoff")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "When enabled records are handed over between tasks which run in the same TaskManager"
+                                    + " instead of being serialized and deserialized. This applies to all but broadcast"
+                                    + " connections if unaligned checkpoints are disabled. The records are copied with their"
+                                    + " serializer before they are handed over, which is cheap for immutable types.");
+
     public static final ConfigOption<List<String>> KRYO_DEFAULT_SERIALIZERS =
             key("pipeline.default-kryo-serializers")
                     .stringType()
@@ -106,6 +106,23 @@ public class ResourceManagerOptions {
                     .withDescription(
                             "The number of redundant task managers. Redundant task managers are extra task managers "
                                     + "started by Flink, in order to speed up job recovery in case of failures due to task manager lost. "
+                                    + "They also serve as warm standby for scaling out jobs: their slots are registered but not assigned to any job, "
+                                    + "and new task managers are requested as soon as a job takes some of them. "
+                                    + "Note that this feature is available only to the active deployments (native K8s, Yarn).");
+
+    /**
+     * Whether to release requested workers which have not registered yet once the resource
+     * requirements of the jobs decrease. Note that this feature is available only to the active
+     * deployments (native K8s, Yarn).
+     */
+    public static final ConfigOption<Boolean> RELEASE_UNNEEDED_PENDING_WORKERS =
+            ConfigOptions.key("slotmanager.release-unneeded-pending-workers")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether to release requested task managers which have not registered yet once the resource requirements of the jobs decrease, "
+                                    + "e.g. because the adaptive scheduler scaled down a job based on its load. "
+                                    + "If disabled, such task managers are started anyway and only released after they have been idle for the task manager timeout. "
                                     + "Note that this feature is available only to the active deployments (native K8s, Yarn).");
 
     /**
@@ -23,6 +23,7 @@ import org.apache.flink.annotation.docs.ConfigGroup;
 import org.apache.flink.annotation.docs.ConfigGroups;
 import org.apache.flink.annotation.docs.Documentation;
 import org.apache.flink.configuration.description.Description;
+import org.apache.flink.configuration.description.InlineElement;
 import org.apache.flink.util.TimeUtils;
 
 import java.time.Duration;
@@ -567,6 +568,43 @@ public class TaskManagerOptions {
                             "The switch of the automatic buffered debloating feature. "
                                     + "If enabled the amount of in-flight data will be adjusted automatically accordingly to the measured throughput.");
 
+    /** Whether the buffer size is debloated per input channel instead of per input gate. */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<Boolean> BUFFER_DEBLOAT_PER_CHANNEL =
+            ConfigOptions.key("taskmanager.network.memory.buffer-debloat.per-channel")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "If enabled, the buffer size is debloated for every input channel individually based on the share of the data the channel received. "
+                                    + "On skewed inputs, channels receiving most of the data keep enough in-flight data for full throughput while the buffers of idle channels shrink. "
+                                    + "Otherwise, all channels of an input gate share the same buffer size.");
+
+    /** Whether the floating buffers of input gates are redistributed according to the demand. */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<Boolean> BUFFER_DEBLOAT_REDISTRIBUTE_FLOATING_BUFFERS =
+            ConfigOptions.key(
+                            "taskmanager.network.memory.buffer-debloat.redistribute-floating-buffers")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "If enabled, every input gate derives the number of floating buffers it needs from the debloated in-flight data "
+                                    + "and the network buffer pool redistributes the floating buffers accordingly. "
+                                    + "This way, the floating buffers of idle input gates are available to the input gates of the same TaskManager "
+                                    + "which are short of buffers. The number of buffers of an input gate never falls below its required buffers.");
+
+    /** The controller which adjusts the debloated buffer size to the measured throughput. */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<BufferDebloatController> BUFFER_DEBLOAT_CONTROLLER =
+            ConfigOptions.key("taskmanager.network.memory.buffer-debloat.controller")
+                    .enumType(BufferDebloatController.class)
+                    .defaultValue(BufferDebloatController.EMA)
+                    .withDescription(
+                            Description.builder()
+                                    .text(
+                                            "The controller which adjusts the buffer size towards the amount of in-flight data that can be consumed within %s.",
+                                            code(BUFFER_DEBLOAT_TARGET.key()))
+                                    .build());
+
     /**
      * Difference between the new and the old buffer size for applying the new value(in percent).
      */
@@ -579,6 +617,18 @@ public class TaskManagerOptions {
                             "The minimum difference in percentage between the newly calculated buffer size and the old one to announce the new value. "
                                     + "Can be used to avoid constant back and forth small adjustments.");
 
+    /** Whether the output flusher flushes every subpartition depending on its consumer. */
+    @Documentation.Section(Documentation.Sections.ALL_TASK_MANAGER_NETWORK)
+    public static final ConfigOption<Boolean> NETWORK_ADAPTIVE_FLUSH_ENABLED =
+            ConfigOptions.key("taskmanager.network.adaptive-flush.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "If enabled, the output flusher of a task flushes four times per buffer timeout, "
+                                    + "but only the pipelined subpartitions whose consumer has consumed all finished buffers. "
+                                    + "The data of idle consumers is sent earlier than the buffer timeout, "
+                                    + "while the buffers of backpressured consumers are filled further instead of being sent partially filled.");
+
     /**
      * Size of direct memory used by blocking shuffle for shuffle data read (currently only used by
      * sort-shuffle).
@@ -699,6 +749,30 @@ public class TaskManagerOptions {
                             "Time we wait for the timers in milliseconds to finish all pending timer threads"
                                     + " when the stream task is cancelled.");
 
+    /** The controller used for the buffer debloating. */
+    public enum BufferDebloatController implements DescribedEnum {
+        EMA(
+                text(
+                        "Smooths the buffer size towards the target with an exponential moving average over the last %s buffer sizes.",
+                        code(BUFFER_DEBLOAT_SAMPLES.key()))),
+        AIMD(
+                text(
+                        "Treats the target as an upper bound of the in-flight time: the buffer size is cut down multiplicatively "
+                                + "as soon as the target is exceeded and increased additively otherwise. "
+                                + "Reacts faster to load drops and bursts than the moving average."));
+
+        private final InlineElement description;
+
+        BufferDebloatController(InlineElement description) {
+            this.description = description;
+        }
+
+        @Override
+        public InlineElement getDescription() {
+            return description;
+        }
+    }
+
     // ------------------------------------------------------------------------
 
     /** Not intended to be instantiated. */
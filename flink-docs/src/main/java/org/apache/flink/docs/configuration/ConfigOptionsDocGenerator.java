@@ -78,6 +78,8 @@ public class ConfigOptionsDocGenerator {
                 new OptionsClassLocation("flink-runtime", "org.apache.flink.runtime.jobgraph"),
                 new OptionsClassLocation(
                         "flink-runtime", "org.apache.flink.runtime.highavailability"),
+                new OptionsClassLocation(
+                        "flink-runtime", "org.apache.flink.runtime.state.hashmap"),
                 new OptionsClassLocation(
                         "flink-streaming-java", "org.apache.flink.streaming.api.environment"),
                 new OptionsClassLocation("flink-yarn", "org.apache.flink.yarn.configuration"),
@@ -90,6 +92,9 @@ public class ConfigOptionsDocGenerator {
                 new OptionsClassLocation(
                         "flink-state-backends/flink-statebackend-rocksdb",
                         "org.apache.flink.contrib.streaming.state"),
+                new OptionsClassLocation(
+                        "flink-state-backends/flink-statebackend-heap-spillable",
+                        "org.apache.flink.runtime.state.heap"),
                 new OptionsClassLocation(
                         "flink-table/flink-table-api-java", "org.apache.flink.table.api.config"),
                 new OptionsClassLocation("flink-python", "org.apache.flink.python"),
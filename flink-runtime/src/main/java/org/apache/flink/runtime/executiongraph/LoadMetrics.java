@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.executiongraph;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of the load related metrics of a running task. In contrast to {@link IOMetrics}, which
+ * are reported once a task reached a terminal state, these metrics are reported periodically while
+ * the task is running.
+ */
+public class LoadMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double busyTimeMsPerSecond;
+    private final double backPressuredTimeMsPerSecond;
+
+    private final double numRecordsInPerSecond;
+    private final double numRecordsOutPerSecond;
+
+    public LoadMetrics(
+            double busyTimeMsPerSecond,
+            double backPressuredTimeMsPerSecond,
+            double numRecordsInPerSecond,
+            double numRecordsOutPerSecond) {
+        this.busyTimeMsPerSecond = busyTimeMsPerSecond;
+        this.backPressuredTimeMsPerSecond = backPressuredTimeMsPerSecond;
+        this.numRecordsInPerSecond = numRecordsInPerSecond;
+        this.numRecordsOutPerSecond = numRecordsOutPerSecond;
+    }
+
+    /**
+     * Returns the time in milliseconds per second the task was busy, or {@link Double#NaN} if the
+     * busy time is not measured for the task.
+     */
+    public double getBusyTimeMsPerSecond() {
+        return busyTimeMsPerSecond;
+    }
+
+    public double getBackPressuredTimeMsPerSecond() {
+        return backPressuredTimeMsPerSecond;
+    }
+
+    public double getNumRecordsInPerSecond() {
+        return numRecordsInPerSecond;
+    }
+
+    public double getNumRecordsOutPerSecond() {
+        return numRecordsOutPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadMetrics{"
+                + "busyTimeMsPerSecond="
+                + busyTimeMsPerSecond
+                + ", backPressuredTimeMsPerSecond="
+                + backPressuredTimeMsPerSecond
+                + ", numRecordsInPerSecond="
+                + numRecordsInPerSecond
+                + ", numRecordsOutPerSecond="
+                + numRecordsOutPerSecond
+                + '}';
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.flink.runtime.io.compression;
 
 import org.apache.flink.configuration.IllegalConfigurationException;
 
+import javax.annotation.Nullable;
+
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
 /**
@@ -34,7 +36,8 @@ public interface BlockCompressionFactory {
 
     /** Name of {@link BlockCompressionFactory}. */
     enum CompressionFactoryName {
-        LZ4
+        LZ4,
+        ZSTD
     }
 
     /**
@@ -44,6 +47,25 @@ public interface BlockCompressionFactory {
      *     inherited from {@link BlockCompressionFactory}.
      */
     static BlockCompressionFactory createBlockCompressionFactory(String compressionFactoryName) {
+        return createBlockCompressionFactory(
+                compressionFactoryName,
+                ZstdBlockCompressionFactory.DEFAULT_COMPRESSION_LEVEL,
+                null);
+    }
+
+    /**
+     * Creates {@link BlockCompressionFactory} according to the configuration.
+     *
+     * @param compressionFactoryName supported compression codecs or user-defined class name
+     *     inherited from {@link BlockCompressionFactory}.
+     * @param zstdCompressionLevel the compression level used by the Zstd codec.
+     * @param zstdDictionaryPath path of the pre-trained dictionary used by the Zstd codec, {@code
+     *     null} to compress without dictionary.
+     */
+    static BlockCompressionFactory createBlockCompressionFactory(
+            String compressionFactoryName,
+            int zstdCompressionLevel,
+            @Nullable String zstdDictionaryPath) {
 
         checkNotNull(compressionFactoryName);
 
@@ -60,6 +82,11 @@ public interface BlockCompressionFactory {
                 case LZ4:
                     blockCompressionFactory = new Lz4BlockCompressionFactory();
                     break;
+                case ZSTD:
+                    blockCompressionFactory =
+                            ZstdBlockCompressionFactory.create(
+                                    zstdCompressionLevel, zstdDictionaryPath);
+                    break;
                 default:
                     throw new IllegalStateException("Unknown CompressionMethod " + compressionName);
             }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.compression;
+
+import org.apache.flink.configuration.IllegalConfigurationException;
+
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Implementation of {@link BlockCompressionFactory} for Zstd codec.
+ *
+ * <p>Optionally, a pre-trained dictionary (for example, created by {@code zstd --train} from
+ * samples of the shuffled records) can be used. Dictionary compression helps a lot for the small
+ * buffers of the network stack, because the compressor does not have to learn the repeated
+ * patterns of the records from scratch for every buffer. The same dictionary must be available
+ * for both the producer and the consumer side.
+ */
+public class ZstdBlockCompressionFactory implements BlockCompressionFactory {
+
+    /**
+     * We put two integers before each compressed block, the first integer represents the compressed
+     * length of the block, and the second one represents the original length of the block.
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    /** The default compression level of Zstd, which is a good trade-off for network data. */
+    public static final int DEFAULT_COMPRESSION_LEVEL = 3;
+
+    public static final int MIN_COMPRESSION_LEVEL = 1;
+
+    public static final int MAX_COMPRESSION_LEVEL = 22;
+
+    private final int compressionLevel;
+
+    @Nullable private final ZstdDictCompress dictCompress;
+
+    @Nullable private final ZstdDictDecompress dictDecompress;
+
+    public ZstdBlockCompressionFactory() {
+        this(DEFAULT_COMPRESSION_LEVEL, null);
+    }
+
+    public ZstdBlockCompressionFactory(int compressionLevel, @Nullable byte[] dictionary) {
+        checkArgument(
+                compressionLevel >= MIN_COMPRESSION_LEVEL
+                        && compressionLevel <= MAX_COMPRESSION_LEVEL,
+                "The compression level of Zstd must be between %s and %s, but was %s.",
+                MIN_COMPRESSION_LEVEL,
+                MAX_COMPRESSION_LEVEL,
+                compressionLevel);
+        checkArgument(
+                dictionary == null || dictionary.length > 0, "The dictionary must not be empty.");
+
+        this.compressionLevel = compressionLevel;
+        if (dictionary != null) {
+            this.dictCompress = new ZstdDictCompress(dictionary, compressionLevel);
+            this.dictDecompress = new ZstdDictDecompress(dictionary);
+        } else {
+            this.dictCompress = null;
+            this.dictDecompress = null;
+        }
+    }
+
+    /**
+     * Creates a {@link ZstdBlockCompressionFactory} with the given compression level and the
+     * dictionary read from the given file.
+     *
+     * @param compressionLevel the compression level of Zstd
+     * @param dictionaryPath path of the pre-trained dictionary file, {@code null} to compress
+     *     without dictionary
+     */
+    public static ZstdBlockCompressionFactory create(
+            int compressionLevel, @Nullable String dictionaryPath) {
+        if (compressionLevel < MIN_COMPRESSION_LEVEL || compressionLevel > MAX_COMPRESSION_LEVEL) {
+            throw new IllegalConfigurationException(
+                    "The compression level of Zstd must be between %s and %s, but was %s.",
+                    MIN_COMPRESSION_LEVEL, MAX_COMPRESSION_LEVEL, compressionLevel);
+        }
+
+        byte[] dictionary = null;
+        if (dictionaryPath != null) {
+            try {
+                dictionary = Files.readAllBytes(Paths.get(dictionaryPath));
+            } catch (IOException e) {
+                throw new IllegalConfigurationException(
+                        "Cannot read the Zstd dictionary from " + dictionaryPath, e);
+            }
+            if (dictionary.length == 0) {
+                throw new IllegalConfigurationException(
+                        "The Zstd dictionary " + dictionaryPath + " is empty.");
+            }
+        }
+        return new ZstdBlockCompressionFactory(compressionLevel, dictionary);
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public boolean hasDictionary() {
+        return dictCompress != null;
+    }
+
+    @Override
+    public BlockCompressor getCompressor() {
+        return new ZstdBlockCompressor(compressionLevel, dictCompress);
+    }
+
+    @Override
+    public BlockDecompressor getDecompressor() {
+        return new ZstdBlockDecompressor(dictDecompress);
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+
+import javax.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+
+import static org.apache.flink.runtime.io.compression.ZstdBlockCompressionFactory.HEADER_LENGTH;
+
+/**
+ * Encode data into Zstd format with the same block header as {@link Lz4BlockCompressor}. If a
+ * dictionary is given, the data is compressed with the pre-digested dictionary, otherwise with the
+ * given compression level.
+ *
+ * <p>The native library only works on byte arrays or on direct buffers on both sides, so the
+ * {@link ByteBuffer} variant copies the data through reused intermediate arrays if the given
+ * buffers are not backed by arrays.
+ */
+public class ZstdBlockCompressor implements BlockCompressor {
+
+    private final int compressionLevel;
+
+    @Nullable private final ZstdDictCompress dictCompress;
+
+    private byte[] inputArray = new byte[0];
+
+    private byte[] outputArray = new byte[0];
+
+    public ZstdBlockCompressor(int compressionLevel, @Nullable ZstdDictCompress dictCompress) {
+        this.compressionLevel = compressionLevel;
+        this.dictCompress = dictCompress;
+    }
+
+    @Override
+    public int getMaxCompressedSize(int srcSize) {
+        return HEADER_LENGTH + (int) Zstd.compressBound(srcSize);
+    }
+
+    @Override
+    public int compress(ByteBuffer src, int srcOff, int srcLen, ByteBuffer dst, int dstOff)
+            throws InsufficientBufferException {
+        final int prevSrcOff = src.position() + srcOff;
+        final int prevDstOff = dst.position() + dstOff;
+
+        final byte[] srcArray;
+        final int srcArrayOff;
+        if (src.hasArray()) {
+            srcArray = src.array();
+            srcArrayOff = src.arrayOffset() + prevSrcOff;
+        } else {
+            if (inputArray.length < srcLen) {
+                inputArray = new byte[srcLen];
+            }
+            ByteBuffer duplicate = src.duplicate();
+            duplicate.position(prevSrcOff);
+            duplicate.get(inputArray, 0, srcLen);
+            srcArray = inputArray;
+            srcArrayOff = 0;
+        }
+
+        final int maxCompressedSize = getMaxCompressedSize(srcLen);
+        if (outputArray.length < maxCompressedSize) {
+            outputArray = new byte[maxCompressedSize];
+        }
+        final int compressedSize = compress(srcArray, srcArrayOff, srcLen, outputArray, 0);
+
+        if (dst.limit() - prevDstOff < compressedSize) {
+            throw new InsufficientBufferException("Buffer length too small");
+        }
+        ByteBuffer duplicate = dst.duplicate();
+        duplicate.position(prevDstOff);
+        duplicate.put(outputArray, 0, compressedSize);
+
+        src.position(prevSrcOff + srcLen);
+        dst.position(prevDstOff + compressedSize);
+        return compressedSize;
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+            throws InsufficientBufferException {
+        if (dst.length - dstOff < HEADER_LENGTH) {
+            throw new InsufficientBufferException("Buffer length too small");
+        }
+
+        final long result;
+        if (dictCompress == null) {
+            result =
+                    Zstd.compressByteArray(
+                            dst,
+                            dstOff + HEADER_LENGTH,
+                            dst.length - dstOff - HEADER_LENGTH,
+                            src,
+                            srcOff,
+                            srcLen,
+                            compressionLevel);
+        } else {
+            result =
+                    Zstd.compressFastDict(
+                            dst, dstOff + HEADER_LENGTH, src, srcOff, srcLen, dictCompress);
+        }
+        if (Zstd.isError(result)) {
+            throw new InsufficientBufferException(Zstd.getErrorName(result));
+        }
+
+        final int compressedLength = (int) result;
+        writeIntLE(compressedLength, dst, dstOff);
+        writeIntLE(srcLen, dst, dstOff + 4);
+        return HEADER_LENGTH + compressedLength;
+    }
+
+    private static void writeIntLE(int i, byte[] buf, int offset) {
+        buf[offset++] = (byte) i;
+        buf[offset++] = (byte) (i >>> 8);
+        buf[offset++] = (byte) (i >>> 16);
+        buf[offset] = (byte) (i >>> 24);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.compression;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictDecompress;
+
+import javax.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.apache.flink.runtime.io.compression.ZstdBlockCompressionFactory.HEADER_LENGTH;
+
+/**
+ * Decode data written with {@link ZstdBlockCompressor}. The same dictionary as the one of the
+ * compressor must be given, if any.
+ */
+public class ZstdBlockDecompressor implements BlockDecompressor {
+
+    @Nullable private final ZstdDictDecompress dictDecompress;
+
+    private byte[] inputArray = new byte[0];
+
+    private byte[] outputArray = new byte[0];
+
+    public ZstdBlockDecompressor(@Nullable ZstdDictDecompress dictDecompress) {
+        this.dictDecompress = dictDecompress;
+    }
+
+    @Override
+    public int decompress(ByteBuffer src, int srcOff, int srcLen, ByteBuffer dst, int dstOff)
+            throws DataCorruptionException {
+        final int prevSrcOff = src.position() + srcOff;
+        final int prevDstOff = dst.position() + dstOff;
+
+        src.order(ByteOrder.LITTLE_ENDIAN);
+        final int compressedLen = src.getInt(prevSrcOff);
+        final int originalLen = src.getInt(prevSrcOff + 4);
+        validateLength(compressedLen, originalLen);
+
+        if (dst.capacity() - prevDstOff < originalLen) {
+            throw new InsufficientBufferException("Buffer length too small");
+        }
+
+        if (src.limit() - prevSrcOff - HEADER_LENGTH < compressedLen) {
+            throw new DataCorruptionException("Source data is not integral for decompression.");
+        }
+
+        final byte[] srcArray;
+        final int srcArrayOff;
+        if (src.hasArray()) {
+            srcArray = src.array();
+            srcArrayOff = src.arrayOffset() + prevSrcOff + HEADER_LENGTH;
+        } else {
+            if (inputArray.length < compressedLen) {
+                inputArray = new byte[compressedLen];
+            }
+            ByteBuffer duplicate = src.duplicate();
+            duplicate.position(prevSrcOff + HEADER_LENGTH);
+            duplicate.get(inputArray, 0, compressedLen);
+            srcArray = inputArray;
+            srcArrayOff = 0;
+        }
+
+        if (dst.hasArray()) {
+            decompress(
+                    srcArray,
+                    srcArrayOff,
+                    compressedLen,
+                    dst.array(),
+                    dst.arrayOffset() + prevDstOff,
+                    originalLen);
+        } else {
+            if (outputArray.length < originalLen) {
+                outputArray = new byte[originalLen];
+            }
+            decompress(srcArray, srcArrayOff, compressedLen, outputArray, 0, originalLen);
+            ByteBuffer duplicate = dst.duplicate();
+            duplicate.limit(duplicate.capacity());
+            duplicate.position(prevDstOff);
+            duplicate.put(outputArray, 0, originalLen);
+        }
+
+        src.position(prevSrcOff + compressedLen + HEADER_LENGTH);
+        dst.position(prevDstOff + originalLen);
+        return originalLen;
+    }
+
+    @Override
+    public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff)
+            throws InsufficientBufferException, DataCorruptionException {
+        final int compressedLen = readIntLE(src, srcOff);
+        final int originalLen = readIntLE(src, srcOff + 4);
+        validateLength(compressedLen, originalLen);
+
+        if (dst.length - dstOff < originalLen) {
+            throw new InsufficientBufferException("Buffer length too small");
+        }
+
+        if (src.length - srcOff - HEADER_LENGTH < compressedLen) {
+            throw new DataCorruptionException("Source data is not integral for decompression.");
+        }
+
+        decompress(src, srcOff + HEADER_LENGTH, compressedLen, dst, dstOff, originalLen);
+        return originalLen;
+    }
+
+    private void decompress(
+            byte[] src, int srcOff, int compressedLen, byte[] dst, int dstOff, int originalLen)
+            throws DataCorruptionException {
+        if (originalLen == 0) {
+            return;
+        }
+
+        final long result;
+        if (dictDecompress == null) {
+            result =
+                    Zstd.decompressByteArray(
+                            dst, dstOff, originalLen, src, srcOff, compressedLen);
+        } else {
+            result =
+                    Zstd.decompressFastDict(
+                            dst, dstOff, src, srcOff, compressedLen, dictDecompress);
+        }
+
+        if (Zstd.isError(result)) {
+            throw new DataCorruptionException("Input is corrupted: " + Zstd.getErrorName(result));
+        }
+        if (result != originalLen) {
+            throw new DataCorruptionException("Input is corrupted, unexpected original length.");
+        }
+    }
+
+    private void validateLength(int compressedLen, int originalLen) throws DataCorruptionException {
+        if (originalLen < 0
+                || compressedLen < 0
+                || (originalLen == 0 && compressedLen != 0)
+                || (originalLen != 0 && compressedLen == 0)) {
+            throw new DataCorruptionException("Input is corrupted, invalid length.");
+        }
+    }
+
+    private static int readIntLE(byte[] buf, int offset) {
+        return (buf[offset] & 0xFF)
+                | ((buf[offset + 1] & 0xFF) << 8)
+                | ((buf[offset + 2] & 0xFF) << 16)
+                | ((buf[offset + 3] & 0xFF) << 24);
+    }
+}
@@ -64,7 +64,9 @@ import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFact
 import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFactory.METRIC_GROUP_OUTPUT;
 import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFactory.createShuffleIOOwnerMetricGroup;
 import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFactory.registerDebloatingTaskMetrics;
+import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFactory.registerInputCompressionMetrics;
 import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFactory.registerInputMetrics;
+import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFactory.registerOutputCompressionMetrics;
 import static org.apache.flink.runtime.io.network.metrics.NettyShuffleMetricFactory.registerOutputMetrics;
 import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -234,6 +236,8 @@ public class NettyShuffleEnvironment
                     config.isNetworkDetailedMetrics(),
                     ownerContext.getOutputGroup(),
                     resultPartitions);
+            registerOutputCompressionMetrics(
+                    ownerContext.getOutputGroup(), config.getCompressionCodec(), resultPartitions);
             return Arrays.asList(resultPartitions);
         }
     }
@@ -270,6 +274,8 @@ public class NettyShuffleEnvironment
             }
 
             registerInputMetrics(config.isNetworkDetailedMetrics(), networkInputGroup, inputGates);
+            registerInputCompressionMetrics(
+                    networkInputGroup, config.getCompressionCodec(), inputGates);
             return Arrays.asList(inputGates);
         }
     }
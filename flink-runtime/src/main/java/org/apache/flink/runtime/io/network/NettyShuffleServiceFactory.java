@@ -21,6 +21,7 @@ package org.apache.flink.runtime.io.network;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.io.compression.BlockCompressionFactory;
 import org.apache.flink.runtime.io.disk.BatchShuffleReadBufferPool;
 import org.apache.flink.runtime.io.disk.FileChannelManager;
 import org.apache.flink.runtime.io.disk.FileChannelManagerImpl;
@@ -163,6 +164,12 @@ public class NettyShuffleServiceFactory
 
         registerShuffleMetrics(metricGroup, networkBufferPool);
 
+        BlockCompressionFactory compressionFactory =
+                BlockCompressionFactory.createBlockCompressionFactory(
+                        config.getCompressionCodec(),
+                        config.getZstdCompressionLevel(),
+                        config.getZstdDictionaryPath());
+
         ResultPartitionFactory resultPartitionFactory =
                 new ResultPartitionFactory(
                         resultPartitionManager,
@@ -175,7 +182,7 @@ public class NettyShuffleServiceFactory
                         config.floatingNetworkBuffersPerGate(),
                         config.networkBufferSize(),
                         config.isBlockingShuffleCompressionEnabled(),
-                        config.getCompressionCodec(),
+                        compressionFactory,
                         config.getMaxBuffersPerChannel(),
                         config.sortShuffleMinBuffers(),
                         config.sortShuffleMinParallelism(),
@@ -33,7 +33,12 @@ import java.io.IOException;
 public final class BroadcastRecordWriter<T extends IOReadableWritable> extends RecordWriter<T> {
 
     BroadcastRecordWriter(ResultPartitionWriter writer, long timeout, String taskName) {
-        super(writer, timeout, taskName);
+        this(writer, timeout, false, taskName);
+    }
+
+    BroadcastRecordWriter(
+            ResultPartitionWriter writer, long timeout, boolean adaptiveFlush, String taskName) {
+        super(writer, timeout, adaptiveFlush, taskName);
     }
 
     @Override
@@ -19,9 +19,11 @@
 package org.apache.flink.runtime.io.network.api.writer;
 
 import org.apache.flink.core.io.IOReadableWritable;
+import org.apache.flink.runtime.io.network.partition.ObjectHandoffQueue;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.function.Function;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -42,8 +44,9 @@ public final class ChannelSelectorRecordWriter<T extends IOReadableWritable>
             ResultPartitionWriter writer,
             ChannelSelector<T> channelSelector,
             long timeout,
+            boolean adaptiveFlush,
             String taskName) {
-        super(writer, timeout, taskName);
+        super(writer, timeout, adaptiveFlush, taskName);
 
         this.channelSelector = checkNotNull(channelSelector);
         this.channelSelector.setup(numberOfChannels);
@@ -54,6 +57,49 @@ public final class ChannelSelectorRecordWriter<T extends IOReadableWritable>
         emit(record, channelSelector.selectChannel(record));
     }
 
+    /**
+     * Selects the channel of the given record without emitting it, so that the caller can combine
+     * the records of the same channel before emitting them with {@link #emit(IOReadableWritable,
+     * int)}.
+     */
+    public int selectChannel(T record) {
+        return channelSelector.selectChannel(record);
+    }
+
+    @Override
+    public void emit(T record, int targetSubpartition) throws IOException {
+        super.emit(record, targetSubpartition);
+    }
+
+    public int getNumberOfChannels() {
+        return numberOfChannels;
+    }
+
+    /**
+     * Emits the record to the channel selected by the {@link ChannelSelector}. If the consumer of
+     * the selected channel accepts objects handed over in the same JVM, the object created by the
+     * given factory is handed over to it and only the given marker record is serialized instead of
+     * the record. The record is serialized as usual if the consumer lags behind and the {@link
+     * ObjectHandoffQueue} of the channel is full.
+     */
+    public void emitOrHandOver(T record, T handoffMarker, Function<T, Object> handoffObjectFactory)
+            throws IOException {
+        int targetSubpartition = channelSelector.selectChannel(record);
+        ObjectHandoffQueue handoffQueue = targetPartition.getObjectHandoffQueue(targetSubpartition);
+        if (handoffQueue == null || handoffQueue.isFull()) {
+            emit(record, targetSubpartition);
+        } else {
+            handoffQueue.add(handoffObjectFactory.apply(record));
+            try {
+                emit(handoffMarker, targetSubpartition);
+            } catch (Throwable t) {
+                // the consumer must never see an object without its marker
+                handoffQueue.removeLast();
+                throw t;
+            }
+        }
+    }
+
     @Override
     public void broadcastEmit(T record) throws IOException {
         checkErroneous();
@@ -55,6 +55,9 @@ public abstract class RecordWriter<T extends IOReadableWritable> implements Avai
 
     private static final Logger LOG = LoggerFactory.getLogger(RecordWriter.class);
 
+    /** Number of adaptive flushes per buffer timeout, see {@link #adaptiveFlushAll()}. */
+    private static final int ADAPTIVE_FLUSHES_PER_TIMEOUT = 4;
+
     protected final ResultPartitionWriter targetPartition;
 
     protected final int numberOfChannels;
@@ -78,7 +81,8 @@ public abstract class RecordWriter<T extends IOReadableWritable> implements Avai
     private int volatileFlusherExceptionCheckSkipCount;
     private static final int VOLATILE_FLUSHER_EXCEPTION_MAX_CHECK_SKIP_COUNT = 100;
 
-    RecordWriter(ResultPartitionWriter writer, long timeout, String taskName) {
+    RecordWriter(
+            ResultPartitionWriter writer, long timeout, boolean adaptiveFlush, String taskName) {
         this.targetPartition = writer;
         this.numberOfChannels = writer.getNumberOfSubpartitions();
 
@@ -95,7 +99,13 @@ public abstract class RecordWriter<T extends IOReadableWritable> implements Avai
                             ? DEFAULT_OUTPUT_FLUSH_THREAD_NAME
                             : DEFAULT_OUTPUT_FLUSH_THREAD_NAME + " for " + taskName;
 
-            outputFlusher = new OutputFlusher(threadName, timeout);
+            outputFlusher =
+                    adaptiveFlush
+                            ? new OutputFlusher(
+                                    threadName,
+                                    Math.max(1, timeout / ADAPTIVE_FLUSHES_PER_TIMEOUT),
+                                    this::adaptiveFlushAll)
+                            : new OutputFlusher(threadName, timeout, this::flushAll);
             outputFlusher.start();
         }
     }
@@ -141,6 +151,15 @@ public abstract class RecordWriter<T extends IOReadableWritable> implements Avai
         targetPartition.flushAll();
     }
 
+    /**
+     * Flushes the subpartitions whose consumers are idle. Called by the output flusher several
+     * times per buffer timeout, so idle consumers receive the data earlier than the buffer timeout
+     * while the buffers of backpressured consumers are filled further.
+     */
+    private void adaptiveFlushAll() {
+        targetPartition.adaptiveFlushAll();
+    }
+
     /** Sets the metric group for this RecordWriter. */
     public void setMetricGroup(TaskIOMetricGroup metrics) {
         targetPartition.setMetricGroup(metrics);
@@ -219,12 +238,15 @@ public abstract class RecordWriter<T extends IOReadableWritable> implements Avai
 
         private final long timeout;
 
+        private final Runnable flushAction;
+
         private volatile boolean running = true;
 
-        OutputFlusher(String name, long timeout) {
+        OutputFlusher(String name, long timeout, Runnable flushAction) {
             super(name);
             setDaemon(true);
             this.timeout = timeout;
+            this.flushAction = flushAction;
         }
 
         public void terminate() {
@@ -248,7 +270,7 @@ public abstract class RecordWriter<T extends IOReadableWritable> implements Avai
 
                     // any errors here should let the thread come to a halt and be
                     // recognized by the writer
-                    flushAll();
+                    flushAction.run();
                 }
             } catch (Throwable t) {
                 notifyFlusherException(t);
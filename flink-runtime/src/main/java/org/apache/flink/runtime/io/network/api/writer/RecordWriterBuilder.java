@@ -27,6 +27,8 @@ public class RecordWriterBuilder<T extends IOReadableWritable> {
 
     private long timeout = -1;
 
+    private boolean adaptiveFlush;
+
     private String taskName = "test";
 
     public RecordWriterBuilder<T> setChannelSelector(ChannelSelector<T> selector) {
@@ -39,6 +41,11 @@ public class RecordWriterBuilder<T extends IOReadableWritable> {
         return this;
     }
 
+    public RecordWriterBuilder<T> setAdaptiveFlush(boolean adaptiveFlush) {
+        this.adaptiveFlush = adaptiveFlush;
+        return this;
+    }
+
     public RecordWriterBuilder<T> setTaskName(String taskName) {
         this.taskName = taskName;
         return this;
@@ -46,9 +53,10 @@ public class RecordWriterBuilder<T extends IOReadableWritable> {
 
     public RecordWriter<T> build(ResultPartitionWriter writer) {
         if (selector.isBroadcast()) {
-            return new BroadcastRecordWriter<>(writer, timeout, taskName);
+            return new BroadcastRecordWriter<>(writer, timeout, adaptiveFlush, taskName);
         } else {
-            return new ChannelSelectorRecordWriter<>(writer, selector, timeout, taskName);
+            return new ChannelSelectorRecordWriter<>(
+                    writer, selector, timeout, adaptiveFlush, taskName);
         }
     }
 }
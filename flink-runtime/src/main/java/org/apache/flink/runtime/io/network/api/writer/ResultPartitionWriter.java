@@ -22,6 +22,7 @@ import org.apache.flink.runtime.event.AbstractEvent;
 import org.apache.flink.runtime.io.AvailabilityProvider;
 import org.apache.flink.runtime.io.network.api.StopMode;
 import org.apache.flink.runtime.io.network.partition.BufferAvailabilityListener;
+import org.apache.flink.runtime.io.network.partition.ObjectHandoffQueue;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
 import org.apache.flink.runtime.io.network.partition.ResultSubpartitionView;
 import org.apache.flink.runtime.metrics.groups.TaskIOMetricGroup;
@@ -55,6 +56,15 @@ public interface ResultPartitionWriter extends AutoCloseable, AvailabilityProvid
     /** Writes the given serialized record to the target subpartition. */
     void emitRecord(ByteBuffer record, int targetSubpartition) throws IOException;
 
+    /**
+     * Returns the queue to hand over objects to the consumer of the target subpartition instead of
+     * serialized records, or null if the consumer has not requested it.
+     */
+    @Nullable
+    default ObjectHandoffQueue getObjectHandoffQueue(int targetSubpartition) {
+        return null;
+    }
+
     /**
      * Writes the given serialized record to all subpartitions. One can also achieve the same effect
      * by emitting the same record to all subpartitions one by one, however, this method can have
@@ -95,6 +105,16 @@ public interface ResultPartitionWriter extends AutoCloseable, AvailabilityProvid
     /** Manually trigger the consumption of data from the given subpartitions. */
     void flush(int subpartitionIndex);
 
+    /**
+     * Periodically trigger the consumption of data from the subpartitions whose consumers are
+     * idle. The data of the other subpartitions is batched further, because their consumers are
+     * still busy with the data available to them. Partitions which can't tell whether their
+     * consumers are idle flush all subpartitions.
+     */
+    default void adaptiveFlushAll() {
+        flushAll();
+    }
+
     /**
      * Fail the production of the partition.
      *
@@ -36,18 +36,50 @@ public class BufferCompressor {
     /** The intermediate buffer for the compressed data. */
     private final NetworkBuffer internalBuffer;
 
+    /** The number of bytes of the buffers given to this compressor. */
+    private long numBytesBeforeCompression;
+
+    /** The number of bytes of the buffers returned by this compressor. */
+    private long numBytesAfterCompression;
+
+    /** The accumulated time spent on compression in nanoseconds. */
+    private long compressionTimeNanos;
+
     public BufferCompressor(int bufferSize, String factoryName) {
+        this(
+                bufferSize,
+                BlockCompressionFactory.createBlockCompressionFactory(checkNotNull(factoryName)));
+    }
+
+    public BufferCompressor(int bufferSize, BlockCompressionFactory blockCompressionFactory) {
         checkArgument(bufferSize > 0);
-        checkNotNull(factoryName);
+        checkNotNull(blockCompressionFactory);
         // the size of this intermediate heap buffer will be gotten from the
         // plugin configuration in the future, and currently, double size of
-        // the input buffer is enough for lz4-java compression library.
+        // the input buffer is enough for both the lz4-java and the zstd-jni compression library.
         final byte[] heapBuffer = new byte[2 * bufferSize];
         this.internalBuffer =
                 new NetworkBuffer(
                         MemorySegmentFactory.wrap(heapBuffer), FreeingBufferRecycler.INSTANCE);
-        this.blockCompressor =
-                BlockCompressionFactory.createBlockCompressionFactory(factoryName).getCompressor();
+        this.blockCompressor = blockCompressionFactory.getCompressor();
+    }
+
+    /** Returns the number of bytes of all buffers given to this compressor. */
+    public long getNumBytesBeforeCompression() {
+        return numBytesBeforeCompression;
+    }
+
+    /**
+     * Returns the number of bytes of all buffers returned by this compressor, including the ones
+     * which are returned uncompressed because compression does not pay off.
+     */
+    public long getNumBytesAfterCompression() {
+        return numBytesAfterCompression;
+    }
+
+    /** Returns the accumulated time spent on compression in nanoseconds. */
+    public long getCompressionTimeNanos() {
+        return compressionTimeNanos;
     }
 
     /**
@@ -106,20 +138,26 @@ public class BufferCompressor {
                 internalBuffer.refCnt() == 1,
                 "Illegal reference count, buffer need to be released.");
 
+        int length = buffer.getSize();
+        long startNanos = System.nanoTime();
+        int compressedLen;
         try {
-            int length = buffer.getSize();
             // compress the given buffer into the internal heap buffer
-            int compressedLen =
+            compressedLen =
                     blockCompressor.compress(
                             buffer.getNioBuffer(0, length),
                             0,
                             length,
                             internalBuffer.getNioBuffer(0, internalBuffer.capacity()),
                             0);
-            return compressedLen < length ? compressedLen : 0;
         } catch (Throwable throwable) {
             // return the original buffer if failed to compress
-            return 0;
+            compressedLen = length;
         }
+        compressionTimeNanos += System.nanoTime() - startNanos;
+
+        numBytesBeforeCompression += length;
+        numBytesAfterCompression += Math.min(compressedLen, length);
+        return compressedLen < length ? compressedLen : 0;
     }
 }
@@ -37,18 +37,46 @@ public class BufferDecompressor {
     /** The intermediate buffer for the decompressed data. */
     private final NetworkBuffer internalBuffer;
 
+    /** The number of bytes of the compressed buffers given to this decompressor. */
+    private long numBytesBeforeDecompression;
+
+    /** The number of bytes of the decompressed buffers returned by this decompressor. */
+    private long numBytesAfterDecompression;
+
+    /** The accumulated time spent on decompression in nanoseconds. */
+    private long decompressionTimeNanos;
+
     public BufferDecompressor(int bufferSize, String factoryName) {
+        this(
+                bufferSize,
+                BlockCompressionFactory.createBlockCompressionFactory(checkNotNull(factoryName)));
+    }
+
+    public BufferDecompressor(int bufferSize, BlockCompressionFactory blockCompressionFactory) {
         checkArgument(bufferSize > 0);
-        checkNotNull(factoryName);
+        checkNotNull(blockCompressionFactory);
 
         // the decompressed data size should be never larger than the configured buffer size
         final byte[] heapBuffer = new byte[bufferSize];
         this.internalBuffer =
                 new NetworkBuffer(
                         MemorySegmentFactory.wrap(heapBuffer), FreeingBufferRecycler.INSTANCE);
-        this.blockDecompressor =
-                BlockCompressionFactory.createBlockCompressionFactory(factoryName)
-                        .getDecompressor();
+        this.blockDecompressor = blockCompressionFactory.getDecompressor();
+    }
+
+    /** Returns the number of bytes of all compressed buffers given to this decompressor. */
+    public long getNumBytesBeforeDecompression() {
+        return numBytesBeforeDecompression;
+    }
+
+    /** Returns the number of bytes of all buffers decompressed by this decompressor. */
+    public long getNumBytesAfterDecompression() {
+        return numBytesAfterDecompression;
+    }
+
+    /** Returns the accumulated time spent on decompression in nanoseconds. */
+    public long getDecompressionTimeNanos() {
+        return decompressionTimeNanos;
     }
 
     /**
@@ -103,12 +131,19 @@ public class BufferDecompressor {
                 "Illegal reference count, buffer need to be released.");
 
         int length = buffer.getSize();
+        long startNanos = System.nanoTime();
         // decompress the given buffer into the internal heap buffer
-        return blockDecompressor.decompress(
-                buffer.getNioBuffer(0, length),
-                0,
-                length,
-                internalBuffer.getNioBuffer(0, internalBuffer.capacity()),
-                0);
+        int decompressedLen =
+                blockDecompressor.decompress(
+                        buffer.getNioBuffer(0, length),
+                        0,
+                        length,
+                        internalBuffer.getNioBuffer(0, internalBuffer.capacity()),
+                        0);
+        decompressionTimeNanos += System.nanoTime() - startNanos;
+
+        numBytesBeforeDecompression += length;
+        numBytesAfterDecompression += decompressedLen;
+        return decompressedLen;
     }
 }
@@ -64,6 +64,15 @@ public interface BufferPool extends BufferProvider, BufferRecycler {
      */
     void setNumBuffers(int numBuffers);
 
+    /**
+     * Sets the number of memory segments this pool currently needs, e.g. according to the
+     * debloated in-flight data of an input gate.
+     *
+     * <p>The demand is bounded by the required and the maximum number of memory segments. Memory
+     * segments above the demand are redistributed to other buffer pools.
+     */
+    void setNumberOfDemandedMemorySegments(int numberOfDemandedMemorySegments);
+
     /** Returns the number memory segments, which are currently held by this buffer pool. */
     int getNumberOfAvailableMemorySegments();
 
@@ -96,6 +96,13 @@ class LocalBufferPool implements BufferPool {
     /** Maximum number of network buffers to allocate. */
     private final int maxNumberOfMemorySegments;
 
+    /**
+     * The number of network buffers this pool currently needs, which is taken into account when
+     * the buffers are redistributed. Between {@link #numberOfRequiredMemorySegments} and {@link
+     * #maxNumberOfMemorySegments}.
+     */
+    private volatile int numberOfDemandedMemorySegments;
+
     /** The current size of this pool. */
     @GuardedBy("availableMemorySegments")
     private int currentPoolSize;
@@ -202,6 +209,7 @@ class LocalBufferPool implements BufferPool {
         this.numberOfRequiredMemorySegments = numberOfRequiredMemorySegments;
         this.currentPoolSize = numberOfRequiredMemorySegments;
         this.maxNumberOfMemorySegments = maxNumberOfMemorySegments;
+        this.numberOfDemandedMemorySegments = maxNumberOfMemorySegments;
 
         if (numberOfSubpartitions > 0) {
             checkArgument(
@@ -269,6 +277,25 @@ class LocalBufferPool implements BufferPool {
         return maxNumberOfMemorySegments;
     }
 
+    int getNumberOfDemandedMemorySegments() {
+        return numberOfDemandedMemorySegments;
+    }
+
+    @Override
+    public void setNumberOfDemandedMemorySegments(int numberOfDemandedMemorySegments) {
+        int newDemand =
+                Math.max(
+                        numberOfRequiredMemorySegments,
+                        Math.min(numberOfDemandedMemorySegments, maxNumberOfMemorySegments));
+        if (newDemand == this.numberOfDemandedMemorySegments || isDestroyed()) {
+            return;
+        }
+
+        this.numberOfDemandedMemorySegments = newDemand;
+        // must not be called under the lock of this pool, see NetworkBufferPool
+        networkBufferPool.redistributeBuffersOnDemandChange();
+    }
+
     /**
      * @return the same value as {@link #getMaxNumberOfMemorySegments()} for bounded pools. For
      *     unbounded pools it returns an approximation based upon {@link
@@ -58,7 +58,9 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  *
  * <p>The NetworkBufferPool creates {@link LocalBufferPool}s from which the individual tasks draw
  * the buffers for the network data transfer. When new local buffer pools are created, the
- * NetworkBufferPool dynamically redistributes the buffers between the pools.
+ * NetworkBufferPool dynamically redistributes the buffers between the pools. The buffers are also
+ * redistributed whenever a pool changes its {@link BufferPool#setNumberOfDemandedMemorySegments
+ * demand}, so buffers not needed by one pool can be used by others.
  */
 public class NetworkBufferPool
         implements BufferPoolFactory, MemorySegmentProvider, AvailabilityProvider {
@@ -543,6 +545,18 @@ public class NetworkBufferPool
         }
     }
 
+    /**
+     * Redistributes the buffers after a {@link LocalBufferPool} changed its demand. Must not be
+     * called while holding the lock of any {@link LocalBufferPool}.
+     */
+    void redistributeBuffersOnDemandChange() {
+        synchronized (factoryLock) {
+            if (!isDestroyed) {
+                redistributeBuffers();
+            }
+        }
+    }
+
     // Must be called from synchronized block
     private void tryRedistributeBuffers(int numberOfSegmentsToRequest) throws IOException {
         assert Thread.holdsLock(factoryLock);
@@ -589,20 +603,25 @@ public class NetworkBufferPool
          * segments based on the capacity of each buffer pool, i.e. the maximum number of segments
          * an unlimited buffer pool can take is numAvailableMemorySegment, for limited buffer pools
          * it may be less. Based on this and the sum of all these values (totalCapacity), we build
-         * a ratio that we use to distribute the buffers.
+         * a ratio that we use to distribute the buffers. The capacity of a pool is further limited
+         * by its current demand, so the segments it doesn't need go to the other pools.
          */
 
         long totalCapacity = 0; // long to avoid int overflow
 
         for (LocalBufferPool bufferPool : allBufferPools) {
             int excessMax =
-                    bufferPool.getMaxNumberOfMemorySegments()
+                    bufferPool.getNumberOfDemandedMemorySegments()
                             - bufferPool.getNumberOfRequiredMemorySegments();
             totalCapacity += Math.min(numAvailableMemorySegment, excessMax);
         }
 
         // no capacity to receive additional buffers?
         if (totalCapacity == 0) {
+            // pools may have given up their excess buffers due to a lower demand
+            for (LocalBufferPool bufferPool : allBufferPools) {
+                bufferPool.setNumBuffers(bufferPool.getNumberOfRequiredMemorySegments());
+            }
             return; // necessary to avoid div by zero when nothing to re-distribute
         }
 
@@ -616,11 +635,12 @@ public class NetworkBufferPool
         int numDistributedMemorySegment = 0;
         for (LocalBufferPool bufferPool : allBufferPools) {
             int excessMax =
-                    bufferPool.getMaxNumberOfMemorySegments()
+                    bufferPool.getNumberOfDemandedMemorySegments()
                             - bufferPool.getNumberOfRequiredMemorySegments();
 
             // shortcut
             if (excessMax == 0) {
+                bufferPool.setNumBuffers(bufferPool.getNumberOfRequiredMemorySegments());
                 continue;
             }
 
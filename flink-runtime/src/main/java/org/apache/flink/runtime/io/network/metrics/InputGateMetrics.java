@@ -134,6 +134,87 @@ public class InputGateMetrics {
         return count == 0 ? 0 : total / (float) count;
     }
 
+    /**
+     * Iterates over all input channels and collects the total backlog announced by the senders in
+     * a best-effort way.
+     *
+     * @return total backlog of all channels
+     */
+    long refreshAndGetTotalBacklog() {
+        long total = 0;
+
+        for (InputChannel channel : inputGate.getInputChannels().values()) {
+            if (channel instanceof RemoteInputChannel) {
+                RemoteInputChannel rc = (RemoteInputChannel) channel;
+
+                total += rc.unsynchronizedGetSenderBacklog();
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Iterates over all input channels and collects the maximum backlog announced by the sender of
+     * a channel in a best-effort way.
+     *
+     * @return maximum backlog per channel
+     */
+    int refreshAndGetMaxBacklog() {
+        int max = 0;
+
+        for (InputChannel channel : inputGate.getInputChannels().values()) {
+            if (channel instanceof RemoteInputChannel) {
+                RemoteInputChannel rc = (RemoteInputChannel) channel;
+
+                max = Math.max(max, rc.unsynchronizedGetSenderBacklog());
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Iterates over all input channels and collects the total number of buffers available for
+     * receiving data, i.e. the credit, in a best-effort way.
+     *
+     * @return total credit of all channels
+     */
+    long refreshAndGetTotalCredit() {
+        long total = 0;
+
+        for (InputChannel channel : inputGate.getInputChannels().values()) {
+            if (channel instanceof RemoteInputChannel) {
+                RemoteInputChannel rc = (RemoteInputChannel) channel;
+
+                total += rc.unsynchronizedGetNumberOfAvailableBuffers();
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Iterates over all input channels and collects the minimum number of buffers available for
+     * receiving data in a channel in a best-effort way. A channel with a backlog but no credit is
+     * starved of buffers.
+     *
+     * @return minimum credit per channel (<tt>0</tt> if no channels exist)
+     */
+    int refreshAndGetMinCredit() {
+        int min = Integer.MAX_VALUE;
+
+        for (InputChannel channel : inputGate.getInputChannels().values()) {
+            if (channel instanceof RemoteInputChannel) {
+                RemoteInputChannel rc = (RemoteInputChannel) channel;
+
+                min = Math.min(min, rc.unsynchronizedGetNumberOfAvailableBuffers());
+            }
+        }
+
+        return min == Integer.MAX_VALUE ? 0 : min;
+    }
+
     // ------------------------------------------------------------------------
     //  Gauges to access the stats
     // ------------------------------------------------------------------------
@@ -174,6 +255,22 @@ public class InputGateMetrics {
         };
     }
 
+    private Gauge<Long> getTotalBacklogGauge() {
+        return this::refreshAndGetTotalBacklog;
+    }
+
+    private Gauge<Integer> getMaxBacklogGauge() {
+        return this::refreshAndGetMaxBacklog;
+    }
+
+    private Gauge<Long> getTotalCreditGauge() {
+        return this::refreshAndGetTotalCredit;
+    }
+
+    private Gauge<Integer> getMinCreditGauge() {
+        return this::refreshAndGetMinCredit;
+    }
+
     // ------------------------------------------------------------------------
     //  Static access
     // ------------------------------------------------------------------------
@@ -187,6 +284,10 @@ public class InputGateMetrics {
             group.gauge("minQueueLen", metrics.getMinQueueLenGauge());
             group.gauge("maxQueueLen", metrics.getMaxQueueLenGauge());
             group.gauge("avgQueueLen", metrics.getAvgQueueLenGauge());
+            group.gauge("totalBacklog", metrics.getTotalBacklogGauge());
+            group.gauge("maxBacklog", metrics.getMaxBacklogGauge());
+            group.gauge("totalCredit", metrics.getTotalCreditGauge());
+            group.gauge("minCredit", metrics.getMinCreditGauge());
         }
     }
 }
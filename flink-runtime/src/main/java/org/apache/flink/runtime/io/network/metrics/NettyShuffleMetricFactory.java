@@ -22,13 +22,18 @@ import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.metrics.View;
 import org.apache.flink.runtime.io.network.api.writer.ResultPartitionWriter;
+import org.apache.flink.runtime.io.network.buffer.BufferCompressor;
+import org.apache.flink.runtime.io.network.buffer.BufferDecompressor;
 import org.apache.flink.runtime.io.network.buffer.NetworkBufferPool;
 import org.apache.flink.runtime.io.network.partition.ResultPartition;
 import org.apache.flink.runtime.io.network.partition.consumer.InputGate;
 import org.apache.flink.runtime.io.network.partition.consumer.SingleInputGate;
 import org.apache.flink.runtime.metrics.MetricNames;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -80,6 +85,13 @@ public class NettyShuffleMetricFactory {
     private static final String METRIC_INPUT_FLOATING_BUFFERS_USAGE = "inputFloatingBuffersUsage";
     private static final String METRIC_INPUT_EXCLUSIVE_BUFFERS_USAGE = "inputExclusiveBuffersUsage";
 
+    // task level compression metrics: Shuffle.Netty.<Input|Output>.Compression.<codec>.*
+
+    private static final String METRIC_GROUP_COMPRESSION = "Compression";
+    private static final String METRIC_COMPRESSION_RATIO = "compressionRatio";
+    private static final String METRIC_COMPRESSION_TIME = "accumulatedCompressionTimeMs";
+    private static final String METRIC_DECOMPRESSION_TIME = "accumulatedDecompressionTimeMs";
+
     private NettyShuffleMetricFactory() {}
 
     public static void registerShuffleMetrics(
@@ -225,6 +237,92 @@ public class NettyShuffleMetricFactory {
         buffersGroup.gauge(METRIC_INPUT_POOL_USAGE, creditBasedInputBuffersUsageGauge);
     }
 
+    /**
+     * Registers the compression ratio and the accumulated compression time of all compressing
+     * {@link ResultPartition}s under the group of the given codec. Nothing is registered if no
+     * partition compresses its data.
+     */
+    public static void registerOutputCompressionMetrics(
+            MetricGroup outputGroup, String compressionCodec, ResultPartition[] resultPartitions) {
+        List<BufferCompressor> compressors = new ArrayList<>();
+        for (ResultPartition resultPartition : resultPartitions) {
+            if (resultPartition.getBufferCompressor() != null) {
+                compressors.add(resultPartition.getBufferCompressor());
+            }
+        }
+        if (compressors.isEmpty()) {
+            return;
+        }
+
+        MetricGroup compressionGroup =
+                outputGroup.addGroup(METRIC_GROUP_COMPRESSION).addGroup(compressionCodec);
+        compressionGroup.gauge(
+                METRIC_COMPRESSION_RATIO,
+                () -> {
+                    long numBytesBefore = 0;
+                    long numBytesAfter = 0;
+                    for (BufferCompressor compressor : compressors) {
+                        numBytesBefore += compressor.getNumBytesBeforeCompression();
+                        numBytesAfter += compressor.getNumBytesAfterCompression();
+                    }
+                    return getCompressionRatio(numBytesBefore, numBytesAfter);
+                });
+        compressionGroup.gauge(
+                METRIC_COMPRESSION_TIME,
+                () -> {
+                    long compressionTimeNanos = 0;
+                    for (BufferCompressor compressor : compressors) {
+                        compressionTimeNanos += compressor.getCompressionTimeNanos();
+                    }
+                    return TimeUnit.NANOSECONDS.toMillis(compressionTimeNanos);
+                });
+    }
+
+    /**
+     * Registers the compression ratio and the accumulated decompression time of all decompressing
+     * {@link SingleInputGate}s under the group of the given codec. Nothing is registered if no
+     * input gate decompresses its data.
+     */
+    public static void registerInputCompressionMetrics(
+            MetricGroup inputGroup, String compressionCodec, SingleInputGate[] inputGates) {
+        List<BufferDecompressor> decompressors = new ArrayList<>();
+        for (SingleInputGate inputGate : inputGates) {
+            if (inputGate.getBufferDecompressor() != null) {
+                decompressors.add(inputGate.getBufferDecompressor());
+            }
+        }
+        if (decompressors.isEmpty()) {
+            return;
+        }
+
+        MetricGroup compressionGroup =
+                inputGroup.addGroup(METRIC_GROUP_COMPRESSION).addGroup(compressionCodec);
+        compressionGroup.gauge(
+                METRIC_COMPRESSION_RATIO,
+                () -> {
+                    long numBytesBefore = 0;
+                    long numBytesAfter = 0;
+                    for (BufferDecompressor decompressor : decompressors) {
+                        numBytesBefore += decompressor.getNumBytesAfterDecompression();
+                        numBytesAfter += decompressor.getNumBytesBeforeDecompression();
+                    }
+                    return getCompressionRatio(numBytesBefore, numBytesAfter);
+                });
+        compressionGroup.gauge(
+                METRIC_DECOMPRESSION_TIME,
+                () -> {
+                    long decompressionTimeNanos = 0;
+                    for (BufferDecompressor decompressor : decompressors) {
+                        decompressionTimeNanos += decompressor.getDecompressionTimeNanos();
+                    }
+                    return TimeUnit.NANOSECONDS.toMillis(decompressionTimeNanos);
+                });
+    }
+
+    private static double getCompressionRatio(long numBytesUncompressed, long numBytesCompressed) {
+        return numBytesCompressed > 0 ? (double) numBytesUncompressed / numBytesCompressed : 1.0;
+    }
+
     public static void registerDebloatingTaskMetrics(
             SingleInputGate[] inputGates, MetricGroup taskGroup) {
         taskGroup.gauge(
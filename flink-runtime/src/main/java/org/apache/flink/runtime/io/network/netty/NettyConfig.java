@@ -117,6 +117,10 @@ public class NettyConfig {
         return configValue == -1 ? numberOfSlots : configValue;
     }
 
+    public int getServerMaxBuffersPerFlush() {
+        return config.getInteger(NettyShuffleEnvironmentOptions.MAX_BUFFERS_PER_FLUSH);
+    }
+
     public int getClientConnectTimeoutSeconds() {
         return config.getInteger(NettyShuffleEnvironmentOptions.CLIENT_CONNECT_TIMEOUT_SECONDS);
     }
@@ -174,6 +178,7 @@ public class NettyConfig {
                         + "number of client threads: %d (%s), "
                         + "server connect backlog: %d (%s), "
                         + "client connect timeout (sec): %d, "
+                        + "server max buffers per flush: %d, "
                         + "send/receive buffer size (bytes): %d (%s)]";
 
         String def = "use Netty's default";
@@ -193,6 +198,7 @@ public class NettyConfig {
                 getServerConnectBacklog(),
                 getServerConnectBacklog() == 0 ? def : man,
                 getClientConnectTimeoutSeconds(),
+                getServerMaxBuffersPerFlush(),
                 getSendAndReceiveBufferSize(),
                 getSendAndReceiveBufferSize() == 0 ? def : man);
     }
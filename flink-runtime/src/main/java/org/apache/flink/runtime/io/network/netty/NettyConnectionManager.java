@@ -56,7 +56,9 @@ public class NettyConnectionManager implements ConnectionManager {
 
         this.nettyProtocol =
                 new NettyProtocol(
-                        checkNotNull(partitionProvider), checkNotNull(taskEventPublisher));
+                        checkNotNull(partitionProvider),
+                        checkNotNull(taskEventPublisher),
+                        nettyConfig.getServerMaxBuffersPerFlush());
     }
 
     @Override
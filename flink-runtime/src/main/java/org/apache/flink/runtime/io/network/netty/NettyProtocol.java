@@ -32,11 +32,20 @@ public class NettyProtocol {
 
     private final ResultPartitionProvider partitionProvider;
     private final TaskEventPublisher taskEventPublisher;
+    private final int maxBuffersPerFlush;
 
     NettyProtocol(
             ResultPartitionProvider partitionProvider, TaskEventPublisher taskEventPublisher) {
+        this(partitionProvider, taskEventPublisher, 1);
+    }
+
+    NettyProtocol(
+            ResultPartitionProvider partitionProvider,
+            TaskEventPublisher taskEventPublisher,
+            int maxBuffersPerFlush) {
         this.partitionProvider = partitionProvider;
         this.taskEventPublisher = taskEventPublisher;
+        this.maxBuffersPerFlush = maxBuffersPerFlush;
     }
 
     /**
@@ -73,7 +82,8 @@ public class NettyProtocol {
      * @return channel handlers
      */
     public ChannelHandler[] getServerChannelHandlers() {
-        PartitionRequestQueue queueOfPartitionQueues = new PartitionRequestQueue();
+        PartitionRequestQueue queueOfPartitionQueues =
+                new PartitionRequestQueue(maxBuffersPerFlush);
         PartitionRequestServerHandler serverHandler =
                 new PartitionRequestServerHandler(
                         partitionProvider, taskEventPublisher, queueOfPartitionQueues);
@@ -57,6 +57,13 @@ class PartitionRequestQueue extends ChannelInboundHandlerAdapter {
     private final ChannelFutureListener writeListener =
             new WriteAndFlushNextMessageIfPossibleListener();
 
+    /** Handles failures of the writes which are flushed together with a later write. */
+    private final ChannelFutureListener batchedWriteFailureListener =
+            new BatchedWriteFailureListener();
+
+    /** The maximum number of buffers to write before flushing the channel. */
+    private final int maxBuffersPerFlush;
+
     /** The readers which are already enqueued available for transferring data. */
     private final ArrayDeque<NetworkSequenceViewReader> availableReaders = new ArrayDeque<>();
 
@@ -68,6 +75,15 @@ class PartitionRequestQueue extends ChannelInboundHandlerAdapter {
 
     private ChannelHandlerContext ctx;
 
+    PartitionRequestQueue() {
+        this(1);
+    }
+
+    PartitionRequestQueue(int maxBuffersPerFlush) {
+        checkArgument(maxBuffersPerFlush > 0, "The max buffers per flush must be positive.");
+        this.maxBuffersPerFlush = maxBuffersPerFlush;
+    }
+
     @Override
     public void channelRegistered(final ChannelHandlerContext ctx) throws Exception {
         if (this.ctx == null) {
@@ -263,6 +279,9 @@ class PartitionRequestQueue extends ChannelInboundHandlerAdapter {
         // gate and the consumed views as the local input channels.
 
         BufferAndAvailability next = null;
+        // the last write which has not been flushed yet
+        ChannelFuture unflushedWrite = null;
+        int numUnflushedBuffers = 0;
         try {
             while (true) {
                 NetworkSequenceViewReader reader = pollAvailableReader();
@@ -270,7 +289,7 @@ class PartitionRequestQueue extends ChannelInboundHandlerAdapter {
                 // No queue with available data. We allow this here, because
                 // of the write callbacks that are executed after each write.
                 if (reader == null) {
-                    return;
+                    break;
                 }
 
                 next = reader.getNextBuffer();
@@ -299,11 +318,18 @@ class PartitionRequestQueue extends ChannelInboundHandlerAdapter {
                                     reader.getReceiverId(),
                                     next.buffersInBacklog());
 
-                    // Write and flush and wait until this is done before
-                    // trying to continue with the next buffer.
-                    channel.writeAndFlush(msg).addListener(writeListener);
+                    if (unflushedWrite != null) {
+                        unflushedWrite.addListener(batchedWriteFailureListener);
+                    }
+                    unflushedWrite = channel.write(msg);
+                    // the buffer is owned by the channel now
+                    next = null;
 
-                    return;
+                    // Write and flush and wait until this is done before
+                    // trying to continue with the next buffers.
+                    if (++numUnflushedBuffers >= maxBuffersPerFlush || !channel.isWritable()) {
+                        break;
+                    }
                 }
             }
         } catch (Throwable t) {
@@ -312,6 +338,11 @@ class PartitionRequestQueue extends ChannelInboundHandlerAdapter {
             }
 
             throw new IOException(t.getMessage(), t);
+        } finally {
+            if (unflushedWrite != null) {
+                unflushedWrite.addListener(writeListener);
+                channel.flush();
+            }
         }
     }
 
@@ -377,6 +408,22 @@ class PartitionRequestQueue extends ChannelInboundHandlerAdapter {
         }
     }
 
+    // This listener is called after a write which has been flushed together with the following
+    // writes. The listener of the last write triggers further processing of the queues.
+    private class BatchedWriteFailureListener implements ChannelFutureListener {
+
+        @Override
+        public void operationComplete(ChannelFuture future) throws Exception {
+            try {
+                if (!future.isSuccess()) {
+                    onChannelFutureFailure(future);
+                }
+            } catch (Throwable t) {
+                handleException(future.channel(), t);
+            }
+        }
+    }
+
     // This listener is called after an element of the current nonEmptyReader has been
     // flushed. If successful, the listener triggers further processing of the
     // queues.
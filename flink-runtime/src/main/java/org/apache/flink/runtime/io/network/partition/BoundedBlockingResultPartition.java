@@ -38,6 +38,9 @@ import static org.apache.flink.util.Preconditions.checkArgument;
  * <p>In this particular implementation, the batch result is written to (and read from) one file per
  * sub-partition. This implementation hence requires at least as many files (file handles) and
  * memory buffers as the parallelism of the target task that the data is shuffled to.
+ *
+ * <p>For {@link ResultPartitionType#HYBRID} partitions, the sub-partitions are {@link
+ * HybridSubpartition HybridSubpartitions}, which can already be consumed while being produced.
  */
 public class BoundedBlockingResultPartition extends BufferWritingResultPartition {
 
@@ -87,7 +90,8 @@ public class BoundedBlockingResultPartition extends BufferWritingResultPartition
     private static ResultPartitionType checkResultPartitionType(ResultPartitionType type) {
         checkArgument(
                 type == ResultPartitionType.BLOCKING
-                        || type == ResultPartitionType.BLOCKING_PERSISTENT);
+                        || type == ResultPartitionType.BLOCKING_PERSISTENT
+                        || type == ResultPartitionType.HYBRID);
         return type;
     }
 }
@@ -332,12 +332,16 @@ final class BoundedBlockingSubpartition extends ResultSubpartition {
      * memory. The main difference to the {@link #createWithMemoryMappedFile(int, ResultPartition,
      * File)} variant is that no I/O is necessary when pages from the memory mapped file are
      * evicted.
+     *
+     * <p>Because the data is written to the file contiguously, it is transferred directly from the
+     * file to the network by file regions instead of the memory mapped regions if SSL is disabled.
      */
     public static BoundedBlockingSubpartition createWithFileAndMemoryMappedReader(
-            int index, ResultPartition parent, File tempFile) throws IOException {
+            int index, ResultPartition parent, File tempFile, boolean sslEnabled)
+            throws IOException {
 
         final FileChannelMemoryMappedBoundedData bd =
                 FileChannelMemoryMappedBoundedData.create(tempFile.toPath());
-        return new BoundedBlockingSubpartition(index, parent, bd, false);
+        return new BoundedBlockingSubpartition(index, parent, bd, !sslEnabled);
     }
 }
@@ -82,7 +82,7 @@ public enum BoundedBlockingSubpartitionType {
                 throws IOException {
 
             return BoundedBlockingSubpartition.createWithFileAndMemoryMappedReader(
-                    index, parent, tempFile);
+                    index, parent, tempFile, sslEnabled);
         }
     },
 
@@ -162,6 +162,28 @@ public final class BufferReaderWriterUtil {
         return new FileRegionBuffer(channel, position, size, dataType, isCompressed);
     }
 
+    /**
+     * Reads the header of the buffer at the given position and returns a {@link FileRegionBuffer}
+     * for its data. Different from {@link #readFileRegionFromByteChannel(FileChannel, ByteBuffer)},
+     * this method does not change the position of the channel, so the channel can be shared by
+     * multiple readers.
+     */
+    static Buffer readFileRegionFromByteChannel(
+            FileChannel channel, ByteBuffer headerBuffer, long position) throws IOException {
+        headerBuffer.clear();
+        readByteBufferFully(channel, headerBuffer, position);
+        headerBuffer.flip();
+
+        final boolean isEvent = headerBuffer.getShort() == HEADER_VALUE_IS_EVENT;
+        final Buffer.DataType dataType =
+                isEvent ? Buffer.DataType.EVENT_BUFFER : Buffer.DataType.DATA_BUFFER;
+        final boolean isCompressed = headerBuffer.getShort() == BUFFER_IS_COMPRESSED;
+        final int size = headerBuffer.getInt();
+
+        return new FileRegionBuffer(
+                channel, position + HEADER_LENGTH, size, dataType, isCompressed);
+    }
+
     @Nullable
     static Buffer readFromByteChannel(
             FileChannel channel,
@@ -176,6 +198,23 @@ public final class BufferReaderWriterUtil {
         }
         headerBuffer.flip();
 
+        return readFromByteChannel(channel, headerBuffer, memorySegment, bufferRecycler, false);
+    }
+
+    /**
+     * Reads the data of a buffer whose header has already been read into the given header buffer.
+     * If the header of the next buffer is required as well, it is read into the header buffer
+     * together with the data in one scattering read, which saves a read call for each of
+     * consecutive buffers.
+     */
+    static Buffer readFromByteChannel(
+            FileChannel channel,
+            ByteBuffer headerBuffer,
+            MemorySegment memorySegment,
+            BufferRecycler bufferRecycler,
+            boolean readNextHeader)
+            throws IOException {
+
         final ByteBuffer targetBuf;
         final boolean isEvent;
         final boolean isCompressed;
@@ -193,7 +232,19 @@ public final class BufferReaderWriterUtil {
             return null; // silence compiler
         }
 
-        readByteBufferFully(channel, targetBuf);
+        if (readNextHeader) {
+            headerBuffer.clear();
+            ByteBuffer[] targetBufs = new ByteBuffer[] {targetBuf, headerBuffer};
+            // the header buffer is filled last, so the data is complete once the header is
+            do {
+                if (channel.read(targetBufs) == -1) {
+                    throwPrematureEndOfFile();
+                }
+            } while (headerBuffer.hasRemaining());
+            headerBuffer.flip();
+        } else {
+            readByteBufferFully(channel, targetBuf);
+        }
 
         Buffer.DataType dataType =
                 isEvent ? Buffer.DataType.EVENT_BUFFER : Buffer.DataType.DATA_BUFFER;
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.io.network.api.EndOfPartitionEvent;
+import org.apache.flink.runtime.io.network.api.serialization.EventSerializer;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferConsumer;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.IOUtils;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * An implementation of the ResultSubpartition for a {@link ResultPartitionType#HYBRID} result: The
+ * result is persisted like a blocking result, but can already be consumed while being produced.
+ *
+ * <p>Every buffer is eagerly spilled to a file, so that the result can be consumed (possibly
+ * multiple times) by readers which are created at any time, including after the producer has
+ * finished. In addition, the buffers are directly handed over to the readers which have already
+ * consumed all data that was written before. Such readers receive the data from memory without
+ * reading back the spilled data. Readers which lag behind read the spilled data from the file
+ * until they have caught up again.
+ *
+ * <p>Like the {@link BoundedBlockingSubpartition}, this class assumes a single writer thread that
+ * adds buffers, flushes, and finishes the write phase. It supports multiple concurrent readers,
+ * but assumes a single thread per reader.
+ */
+final class HybridSubpartition extends ResultSubpartition {
+
+    /** This lock guards the written data, the creation of readers and the disposal of the file. */
+    private final Object lock = new Object();
+
+    /** The current buffer, may be filled further over time. */
+    @Nullable private BufferConsumer currentBuffer;
+
+    /** The path of the file that the data is spilled to. */
+    private final Path filePath;
+
+    /** The channel that the data is written to. */
+    private final FileChannel fileChannel;
+
+    private final ByteBuffer[] headerAndBufferArray;
+
+    /** The size of the memory segments that the readers read the spilled data into. */
+    private final int readBufferSize;
+
+    /** The maximum number of buffers of the writer that a reader copies into memory. */
+    private final int maxBuffersInMemory;
+
+    /** All created and not yet released readers. */
+    @GuardedBy("lock")
+    private final Set<HybridSubpartitionReader> readers;
+
+    /** The number of bytes written to the file. */
+    @GuardedBy("lock")
+    private long numBytesWritten;
+
+    /** Counter for the number of data buffers (not events!) written. */
+    @GuardedBy("lock")
+    private int numDataBuffersWritten;
+
+    /** The counter for the number of data buffers and events. */
+    @GuardedBy("lock")
+    private int numBuffersAndEventsWritten;
+
+    /** Flag indicating whether the writing has finished. */
+    private boolean isFinished;
+
+    /** Flag indicating whether the subpartition has been released. */
+    @GuardedBy("lock")
+    private boolean isReleased;
+
+    HybridSubpartition(
+            int index,
+            ResultPartition parent,
+            Path filePath,
+            FileChannel fileChannel,
+            int readBufferSize,
+            int maxBuffersInMemory) {
+
+        super(index, parent);
+
+        checkArgument(maxBuffersInMemory > 0, "The reader must be able to copy a buffer.");
+        this.filePath = checkNotNull(filePath);
+        this.fileChannel = checkNotNull(fileChannel);
+        this.headerAndBufferArray = BufferReaderWriterUtil.allocatedWriteBufferArray();
+        this.readBufferSize = readBufferSize;
+        this.maxBuffersInMemory = maxBuffersInMemory;
+        this.readers = new HashSet<>();
+    }
+
+    // ------------------------------------------------------------------------
+
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    @Override
+    public boolean isReleased() {
+        synchronized (lock) {
+            return isReleased;
+        }
+    }
+
+    @Override
+    public int add(BufferConsumer bufferConsumer, int partialRecordLength) throws IOException {
+        if (isFinished()) {
+            bufferConsumer.close();
+            return -1;
+        }
+
+        flushCurrentBuffer();
+        currentBuffer = bufferConsumer;
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flush() {
+        // unfortunately, the signature of flush does not allow for any exceptions, so we
+        // need to do this discouraged pattern of runtime exception wrapping
+        try {
+            flushCurrentBuffer();
+        } catch (IOException e) {
+            throw new FlinkRuntimeException(e.getMessage(), e);
+        }
+    }
+
+    private void flushCurrentBuffer() throws IOException {
+        if (currentBuffer != null) {
+            writeAndCloseBufferConsumer(currentBuffer);
+            currentBuffer = null;
+        }
+    }
+
+    private void writeAndCloseBufferConsumer(BufferConsumer bufferConsumer) throws IOException {
+        try {
+            final Buffer buffer = bufferConsumer.build();
+            try {
+                final long bytesWritten;
+                if (parent.canBeCompressed(buffer)) {
+                    final Buffer compressedBuffer =
+                            parent.bufferCompressor.compressToIntermediateBuffer(buffer);
+                    bytesWritten =
+                            BufferReaderWriterUtil.writeToByteChannel(
+                                    fileChannel, compressedBuffer, headerAndBufferArray);
+                    if (compressedBuffer != buffer) {
+                        compressedBuffer.recycleBuffer();
+                    }
+                } else {
+                    bytesWritten =
+                            BufferReaderWriterUtil.writeToByteChannel(
+                                    fileChannel, buffer, headerAndBufferArray);
+                }
+
+                notifyBufferWritten(buffer, bytesWritten);
+            } finally {
+                buffer.recycleBuffer();
+            }
+        } finally {
+            bufferConsumer.close();
+        }
+    }
+
+    /**
+     * Publishes a buffer that has been written to the file to the readers. The (uncompressed)
+     * buffer is copied by the readers which have caught up, the others read it from the file.
+     */
+    private void notifyBufferWritten(Buffer buffer, long bytesWritten) {
+        final List<HybridSubpartitionReader> readersToNotify = new ArrayList<>();
+        synchronized (lock) {
+            final long startOffset = numBytesWritten;
+            numBytesWritten += bytesWritten;
+            numBuffersAndEventsWritten++;
+            if (buffer.isBuffer()) {
+                numDataBuffersWritten++;
+            }
+
+            for (HybridSubpartitionReader reader : readers) {
+                if (reader.onBufferWritten(buffer, startOffset, numBytesWritten)) {
+                    readersToNotify.add(reader);
+                }
+            }
+        }
+
+        // notify outside of the lock, the listeners may directly poll the readers
+        for (HybridSubpartitionReader reader : readersToNotify) {
+            reader.notifyDataAvailable();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        checkState(!isReleased(), "data partition already released");
+        checkState(!isFinished, "data partition already finished");
+
+        isFinished = true;
+        flushCurrentBuffer();
+        writeAndCloseBufferConsumer(
+                EventSerializer.toBufferConsumer(EndOfPartitionEvent.INSTANCE, false));
+        fileChannel.close();
+    }
+
+    @Override
+    public void release() throws IOException {
+        synchronized (lock) {
+            if (isReleased) {
+                return;
+            }
+
+            isReleased = true;
+            isFinished = true; // for fail fast writes
+
+            if (currentBuffer != null) {
+                currentBuffer.close();
+                currentBuffer = null;
+            }
+            checkReaderReferencesAndDispose();
+        }
+    }
+
+    @Override
+    public ResultSubpartitionView createReadView(BufferAvailabilityListener availability)
+            throws IOException {
+        synchronized (lock) {
+            checkState(!isReleased, "data partition already released");
+
+            if (!Files.isReadable(filePath)) {
+                throw new PartitionNotFoundException(parent.getPartitionId());
+            }
+
+            final HybridSubpartitionReader reader =
+                    new HybridSubpartitionReader(
+                            this,
+                            FileChannel.open(filePath, StandardOpenOption.READ),
+                            readBufferSize,
+                            maxBuffersInMemory,
+                            numBytesWritten,
+                            numDataBuffersWritten,
+                            availability);
+            readers.add(reader);
+            return reader;
+        }
+    }
+
+    void releaseReaderReference(HybridSubpartitionReader reader) throws IOException {
+        onConsumedSubpartition();
+
+        synchronized (lock) {
+            if (readers.remove(reader) && isReleased) {
+                checkReaderReferencesAndDispose();
+            }
+        }
+    }
+
+    @GuardedBy("lock")
+    private void checkReaderReferencesAndDispose() throws IOException {
+        assert Thread.holdsLock(lock);
+
+        // the readers may still be reading the spilled data
+        if (readers.isEmpty()) {
+            IOUtils.closeQuietly(fileChannel);
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    @VisibleForTesting
+    BufferConsumer getCurrentBuffer() {
+        return currentBuffer;
+    }
+
+    @VisibleForTesting
+    Path getFilePath() {
+        return filePath;
+    }
+
+    // ---------------------------- statistics --------------------------------
+
+    @Override
+    public int unsynchronizedGetNumberOfQueuedBuffers() {
+        return 0;
+    }
+
+    @Override
+    public int getNumberOfQueuedBuffers() {
+        return 0;
+    }
+
+    @Override
+    public void bufferSize(int desirableNewBufferSize) {
+        // not supported.
+    }
+
+    @Override
+    protected long getTotalNumberOfBuffersUnsafe() {
+        return numBuffersAndEventsWritten;
+    }
+
+    @Override
+    protected long getTotalNumberOfBytesUnsafe() {
+        return numBytesWritten;
+    }
+
+    @Override
+    int getBuffersInBacklogUnsafe() {
+        return numDataBuffersWritten;
+    }
+
+    // ---------------------------- factories --------------------------------
+
+    /**
+     * Creates a HybridSubpartition that spills the partition data to the given file. The readers
+     * read the spilled data into memory segments of the given size and copy at most the given
+     * number of buffers which are handed over from the writer.
+     */
+    public static HybridSubpartition create(
+            int index,
+            ResultPartition parent,
+            File tempFile,
+            int readBufferSize,
+            int maxBuffersInMemory)
+            throws IOException {
+
+        final Path filePath = tempFile.toPath();
+        final FileChannel fileChannel =
+                FileChannel.open(filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new HybridSubpartition(
+                index, parent, filePath, fileChannel, readBufferSize, maxBuffersInMemory);
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferRecycler;
+import org.apache.flink.runtime.io.network.buffer.NetworkBuffer;
+import org.apache.flink.runtime.io.network.partition.ResultSubpartition.BufferAndBacklog;
+import org.apache.flink.util.IOUtils;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The reader (read view) of a {@link HybridSubpartition}.
+ *
+ * <p>The reader keeps track of the offset in the spilled data up to which it has read. Buffers
+ * which are written at this offset are copied into memory (up to a limit) and handed over without
+ * reading them back from the file. All other buffers are read from the file. The reader copies and
+ * reads into a small set of dedicated memory segments, so it never holds on to the buffers of the
+ * writer, which the writer needs to produce further data.
+ */
+final class HybridSubpartitionReader implements ResultSubpartitionView, BufferRecycler {
+
+    private static final int NUM_READ_BUFFERS = 2;
+
+    /** The result subpartition that we read. */
+    private final HybridSubpartition parent;
+
+    /** The channel to read the spilled data from. */
+    private final FileChannel fileChannel;
+
+    private final ByteBuffer headerBuffer;
+
+    /**
+     * The listener that is notified when there are available buffers for this subpartition view.
+     */
+    private final BufferAvailabilityListener availabilityListener;
+
+    /** The maximum number of buffers kept in {@link #buffersInMemory}. */
+    private final int maxBuffersInMemory;
+
+    private final Object lock = new Object();
+
+    /** The copies of the buffers of the writer which have not been read yet. */
+    @GuardedBy("lock")
+    private final ArrayDeque<BufferWithOffsets> buffersInMemory = new ArrayDeque<>();
+
+    /** The memory segments to read the spilled data into, or to copy the writer's buffers to. */
+    @GuardedBy("lock")
+    private final ArrayDeque<MemorySegment> readBuffers;
+
+    /** The offset in the spilled data of the next buffer to read. */
+    @GuardedBy("lock")
+    private long readOffset;
+
+    /** The number of bytes written to the spilled data, as far as this reader knows. */
+    @GuardedBy("lock")
+    private long numBytesWritten;
+
+    @GuardedBy("lock")
+    private int numDataBuffersWritten;
+
+    @GuardedBy("lock")
+    private int numDataBuffersRead;
+
+    @GuardedBy("lock")
+    private boolean isReleased;
+
+    private int sequenceNumber;
+
+    HybridSubpartitionReader(
+            HybridSubpartition parent,
+            FileChannel fileChannel,
+            int readBufferSize,
+            int maxBuffersInMemory,
+            long numBytesWritten,
+            int numDataBuffersWritten,
+            BufferAvailabilityListener availabilityListener) {
+
+        this.parent = checkNotNull(parent);
+        this.fileChannel = checkNotNull(fileChannel);
+        this.headerBuffer = BufferReaderWriterUtil.allocatedHeaderBuffer();
+        this.maxBuffersInMemory = maxBuffersInMemory;
+        this.numBytesWritten = numBytesWritten;
+        this.numDataBuffersWritten = numDataBuffersWritten;
+        this.availabilityListener = checkNotNull(availabilityListener);
+
+        this.readBuffers = new ArrayDeque<>(NUM_READ_BUFFERS + maxBuffersInMemory);
+        for (int i = 0; i < NUM_READ_BUFFERS + maxBuffersInMemory; i++) {
+            readBuffers.addLast(
+                    MemorySegmentFactory.allocateUnpooledOffHeapMemory(readBufferSize, null));
+        }
+    }
+
+    /**
+     * Called by the writer after a buffer has been written to the spilled data. The buffer is
+     * copied into memory if this reader will read it next and has a free memory segment, otherwise
+     * the reader reads it from the file later.
+     *
+     * @return <tt>true</tt> if this reader had read all data before and must be notified
+     */
+    boolean onBufferWritten(Buffer buffer, long startOffset, long endOffset) {
+        synchronized (lock) {
+            if (isReleased) {
+                return false;
+            }
+
+            final boolean wasCaughtUp = readOffset == startOffset;
+            numBytesWritten = endOffset;
+            if (buffer.isBuffer()) {
+                numDataBuffersWritten++;
+            }
+
+            final BufferWithOffsets last = buffersInMemory.peekLast();
+            final boolean isReadNext =
+                    last == null
+                            ? readOffset == startOffset
+                            : buffersInMemory.size() < maxBuffersInMemory
+                                    && last.endOffset == startOffset;
+            final MemorySegment segment = readBuffers.peekFirst();
+            if (isReadNext && segment != null && buffer.readableBytes() <= segment.size()) {
+                buffersInMemory.addLast(
+                        new BufferWithOffsets(copyBuffer(buffer), startOffset, endOffset));
+            }
+            return wasCaughtUp;
+        }
+    }
+
+    @GuardedBy("lock")
+    private Buffer copyBuffer(Buffer buffer) {
+        final MemorySegment segment = readBuffers.pollFirst();
+        final int size = buffer.readableBytes();
+        segment.put(0, buffer.getNioBufferReadable(), size);
+        return new NetworkBuffer(segment, this, buffer.getDataType(), size);
+    }
+
+    @Nullable
+    @Override
+    public BufferAndBacklog getNextBuffer() throws IOException {
+        final Buffer current;
+        final MemorySegment memory;
+        final long offset;
+        synchronized (lock) {
+            if (isReleased) {
+                return null;
+            }
+
+            final BufferWithOffsets head = buffersInMemory.peekFirst();
+            if (head != null && head.startOffset == readOffset) {
+                buffersInMemory.pollFirst();
+                current = head.buffer;
+                readOffset = head.endOffset;
+                memory = null;
+                offset = 0;
+            } else if (readOffset < numBytesWritten && !readBuffers.isEmpty()) {
+                current = null;
+                memory = readBuffers.pollFirst();
+                offset = readOffset;
+            } else {
+                return null;
+            }
+        }
+
+        final Buffer next = current != null ? current : readFromFile(memory, offset);
+
+        synchronized (lock) {
+            if (next.isBuffer()) {
+                numDataBuffersRead++;
+            }
+            final int backlog = numDataBuffersWritten - numDataBuffersRead;
+            return BufferAndBacklog.fromBufferAndLookahead(
+                    next, getNextDataType(backlog), backlog, sequenceNumber++);
+        }
+    }
+
+    private Buffer readFromFile(MemorySegment memory, long offset) throws IOException {
+        final Buffer buffer;
+        try {
+            fileChannel.position(offset);
+            buffer =
+                    BufferReaderWriterUtil.readFromByteChannel(
+                            fileChannel, headerBuffer, memory, this);
+        } catch (Throwable t) {
+            recycle(memory);
+            throw t;
+        }
+
+        if (buffer == null) {
+            recycle(memory);
+            throw new IOException("Premature end of the spilled data at offset " + offset + '.');
+        }
+
+        synchronized (lock) {
+            readOffset = fileChannel.position();
+        }
+        return buffer;
+    }
+
+    @GuardedBy("lock")
+    private Buffer.DataType getNextDataType(int backlog) {
+        final BufferWithOffsets head = buffersInMemory.peekFirst();
+        if (head != null && head.startOffset == readOffset) {
+            return head.buffer.getDataType();
+        } else if (readOffset < numBytesWritten) {
+            return backlog > 0 ? Buffer.DataType.DATA_BUFFER : Buffer.DataType.EVENT_BUFFER;
+        } else {
+            return Buffer.DataType.NONE;
+        }
+    }
+
+    @Override
+    public void notifyDataAvailable() {
+        availabilityListener.notifyDataAvailable();
+    }
+
+    @Override
+    public void recycle(MemorySegment memorySegment) {
+        final boolean notify;
+        synchronized (lock) {
+            readBuffers.addLast(memorySegment);
+            notify = !isReleased && readOffset < numBytesWritten;
+        }
+
+        if (notify) {
+            notifyDataAvailable();
+        }
+    }
+
+    @Override
+    public void releaseAllResources() throws IOException {
+        synchronized (lock) {
+            if (isReleased) {
+                return;
+            }
+            isReleased = true;
+
+            for (BufferWithOffsets bufferWithOffsets : buffersInMemory) {
+                bufferWithOffsets.buffer.recycleBuffer();
+            }
+            buffersInMemory.clear();
+        }
+
+        IOUtils.closeQuietly(fileChannel);
+
+        // Notify the parent that this one is released. This allows the parent to
+        // eventually release all resources (when all readers are done and the
+        // parent is disposed).
+        parent.releaseReaderReference(this);
+    }
+
+    @Override
+    public boolean isReleased() {
+        synchronized (lock) {
+            return isReleased;
+        }
+    }
+
+    @Override
+    public void resumeConsumption() {
+        throw new UnsupportedOperationException("Method should never be called.");
+    }
+
+    @Override
+    public void acknowledgeAllDataProcessed() {
+        // in case of bounded partitions there is no upstream to acknowledge, we simply ignore
+        // the ack, as there are no checkpoints
+    }
+
+    @Override
+    public AvailabilityWithBacklog getAvailabilityAndBacklog(int numCreditsAvailable) {
+        synchronized (lock) {
+            final int backlog = numDataBuffersWritten - numDataBuffersRead;
+            if (isReleased) {
+                return new AvailabilityWithBacklog(false, backlog);
+            }
+
+            final BufferWithOffsets head = buffersInMemory.peekFirst();
+            final boolean canRead =
+                    (head != null && head.startOffset == readOffset)
+                            || (readOffset < numBytesWritten && !readBuffers.isEmpty());
+            final Buffer.DataType nextDataType = getNextDataType(backlog);
+            final boolean isAvailable =
+                    canRead && (numCreditsAvailable > 0 || !nextDataType.isBuffer());
+            return new AvailabilityWithBacklog(isAvailable, backlog);
+        }
+    }
+
+    @Override
+    public Throwable getFailureCause() {
+        // we can never throw an error after this was created
+        return null;
+    }
+
+    @Override
+    public int unsynchronizedGetNumberOfQueuedBuffers() {
+        return parent.unsynchronizedGetNumberOfQueuedBuffers();
+    }
+
+    @Override
+    public int getNumberOfQueuedBuffers() {
+        return parent.getNumberOfQueuedBuffers();
+    }
+
+    @Override
+    public void notifyNewBufferSize(int newBufferSize) {
+        parent.bufferSize(newBufferSize);
+    }
+
+    @VisibleForTesting
+    int getNumberOfBuffersInMemory() {
+        synchronized (lock) {
+            return buffersInMemory.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Hybrid Subpartition Reader: ID=%s, index=%d",
+                parent.parent.getPartitionId(), parent.getSubPartitionIndex());
+    }
+
+    // ------------------------------------------------------------------------
+
+    /** A buffer copied into memory together with its position in the spilled data. */
+    private static final class BufferWithOffsets {
+
+        private final Buffer buffer;
+
+        private final long startOffset;
+
+        private final long endOffset;
+
+        private BufferWithOffsets(Buffer buffer, long startOffset, long endOffset) {
+            this.buffer = buffer;
+            this.startOffset = startOffset;
+            this.endOffset = endOffset;
+        }
+    }
+}
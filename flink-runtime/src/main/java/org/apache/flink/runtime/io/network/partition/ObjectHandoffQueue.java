@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.io.network.partition.consumer.LocalInputChannel;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * A queue to hand over objects from the producer of a {@link PipelinedSubpartition} to its
+ * consumer, if the subpartition is consumed by a {@link LocalInputChannel} in the same JVM.
+ *
+ * <p>The producer adds an object to the queue and then writes a small serialized marker to the
+ * subpartition instead of the serialized object. The consumer polls the object from the queue when
+ * it reads the marker. As the markers are written like any other record, the handed over objects
+ * keep their order with the records and events of the subpartition, in particular the checkpoint
+ * barriers, and they are accounted for by the buffers containing their markers.
+ *
+ * <p>The handed over objects are not part of the buffers, hence they can not be persisted as
+ * in-flight data of unaligned checkpoints, or be sent to another consumer.
+ *
+ * <p>As the handed over objects are not accounted for by the network memory, the number of queued
+ * objects is bounded. If the queue is full, the producer serializes the record as usual.
+ */
+public final class ObjectHandoffQueue {
+
+    /** The default maximum number of objects which have been handed over but not consumed. */
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private final ConcurrentLinkedDeque<Object> objects = new ConcurrentLinkedDeque<>();
+
+    /** The number of queued objects, tracked separately as the size of the deque is not O(1). */
+    private final AtomicInteger numObjects = new AtomicInteger();
+
+    private final int capacity;
+
+    public ObjectHandoffQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    @VisibleForTesting
+    public ObjectHandoffQueue(int capacity) {
+        checkArgument(capacity > 0, "The capacity must be positive.");
+        this.capacity = capacity;
+    }
+
+    /** Whether no more objects can be added until the consumer polls some of them. */
+    public boolean isFull() {
+        return numObjects.get() >= capacity;
+    }
+
+    /**
+     * Adds an object, must be called before writing the marker of the object so that the object is
+     * there as soon as the consumer can read the marker. Only the producer adds objects, so it may
+     * check {@link #isFull()} before.
+     */
+    public void add(Object object) {
+        checkNotNull(object);
+        checkState(!isFull(), "The queue is full.");
+        numObjects.incrementAndGet();
+        objects.addLast(object);
+    }
+
+    /**
+     * Removes the last added object again, if its marker could not be written. The consumer can not
+     * poll this object concurrently, because it has not read a marker for it.
+     */
+    public void removeLast() {
+        checkState(objects.pollLast() != null, "No object has been added.");
+        numObjects.decrementAndGet();
+    }
+
+    /** Polls the object of the marker which the consumer has just read. */
+    public Object poll() {
+        final Object object = objects.pollFirst();
+        checkState(object != null, "No object has been handed over for the marker.");
+        numObjects.decrementAndGet();
+        return object;
+    }
+
+    /** Drops the objects which have not been consumed. */
+    void clear() {
+        objects.clear();
+        numObjects.set(0);
+    }
+}
@@ -142,8 +142,8 @@ public class PartitionedFile {
                 target.put(indexEntryCache.get((int) indexEntryOffset + i));
             }
         } else {
-            indexFile.position(indexEntryOffset);
-            BufferReaderWriterUtil.readByteBufferFully(indexFile, target);
+            // use positional read, the index file channel may be shared by concurrent readers
+            BufferReaderWriterUtil.readByteBufferFully(indexFile, target, indexEntryOffset);
         }
         target.flip();
     }
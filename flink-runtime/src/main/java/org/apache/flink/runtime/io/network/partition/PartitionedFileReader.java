@@ -18,6 +18,7 @@
 
 package org.apache.flink.runtime.io.network.partition;
 
+import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.io.network.buffer.BufferRecycler;
@@ -27,7 +28,12 @@ import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.Queue;
+import java.util.function.Consumer;
 
+import static org.apache.flink.runtime.io.network.partition.BufferReaderWriterUtil.HEADER_LENGTH;
+import static org.apache.flink.runtime.io.network.partition.BufferReaderWriterUtil.readByteBufferFully;
+import static org.apache.flink.runtime.io.network.partition.BufferReaderWriterUtil.readFileRegionFromByteChannel;
 import static org.apache.flink.runtime.io.network.partition.BufferReaderWriterUtil.readFromByteChannel;
 import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -102,6 +108,7 @@ class PartitionedFileReader {
      * @return A {@link Buffer} containing the data read.
      */
     @Nullable
+    @VisibleForTesting
     Buffer readCurrentRegion(MemorySegment target, BufferRecycler recycler) throws IOException {
         if (currentRegionRemainingBuffers == 0) {
             return null;
@@ -114,6 +121,93 @@ class PartitionedFileReader {
         return buffer;
     }
 
+    /**
+     * Reads buffers from the current region of the target {@link PartitionedFile} to the given
+     * segments and moves the read position forward. The buffers of a region are stored one after
+     * another, so they are read sequentially after a single seek, and each read call fetches the
+     * data of a buffer together with the header of the next one.
+     *
+     * <p>Note: The segments which are not read to stay in the given queue. The caller is
+     * responsible for recycling them, also if any exception occurs.
+     *
+     * @param segments The {@link MemorySegment}s to read data to.
+     * @param recycler The {@link BufferRecycler} which is responsible to recycle the read buffers.
+     * @param consumer The consumer of the read buffers.
+     * @param maxBuffers The maximum number of buffers to read.
+     * @return The number of buffers read.
+     */
+    int readCurrentRegion(
+            Queue<MemorySegment> segments,
+            BufferRecycler recycler,
+            Consumer<Buffer> consumer,
+            int maxBuffers)
+            throws IOException {
+        moveToNextReadableRegion();
+        int numBuffersToRead =
+                Math.min(maxBuffers, Math.min(currentRegionRemainingBuffers, segments.size()));
+        if (numBuffersToRead <= 0) {
+            return 0;
+        }
+
+        dataFileChannel.position(nextOffsetToRead);
+        headerBuf.clear();
+        readByteBufferFully(dataFileChannel, headerBuf);
+        headerBuf.flip();
+
+        for (int i = 0; i < numBuffersToRead; ++i) {
+            MemorySegment segment = segments.poll();
+
+            Buffer buffer;
+            try {
+                boolean readNextHeader = i < numBuffersToRead - 1;
+                buffer =
+                        readFromByteChannel(
+                                dataFileChannel, headerBuf, segment, recycler, readNextHeader);
+            } catch (Throwable throwable) {
+                segments.add(segment);
+                throw throwable;
+            }
+
+            nextOffsetToRead += HEADER_LENGTH + buffer.getSize();
+            --currentRegionRemainingBuffers;
+            consumer.accept(buffer);
+        }
+        return numBuffersToRead;
+    }
+
+    /**
+     * Reads the header of the next buffer of the target subpartition and returns a {@link
+     * org.apache.flink.runtime.io.network.buffer.FileRegionBuffer} for its data, which can be
+     * transferred to the network without being copied to the user space. Only positional reads are
+     * used, so the file channels can be shared with the readers of other subpartitions which are
+     * called by different threads.
+     *
+     * @return The next buffer of the target subpartition or null if all data has been read.
+     */
+    @Nullable
+    Buffer readNextFileRegion() throws IOException {
+        moveToNextReadableRegion();
+        if (currentRegionRemainingBuffers <= 0) {
+            return null;
+        }
+
+        Buffer buffer = readFileRegionFromByteChannel(dataFileChannel, headerBuf, nextOffsetToRead);
+        nextOffsetToRead += HEADER_LENGTH + buffer.getSize();
+        --currentRegionRemainingBuffers;
+        return buffer;
+    }
+
+    /** Returns the number of buffers and events of the target subpartition not read yet. */
+    int getNumRemainingBuffers() throws IOException {
+        int numRemainingBuffers = Math.max(0, currentRegionRemainingBuffers);
+        for (int region = nextRegionToRead; region < partitionedFile.getNumRegions(); ++region) {
+            partitionedFile.getIndexEntry(
+                    indexFileChannel, indexEntryBuf, region, targetSubpartition);
+            numRemainingBuffers += indexEntryBuf.getInt(Long.BYTES);
+        }
+        return numRemainingBuffers;
+    }
+
     boolean hasRemaining() throws IOException {
         moveToNextReadableRegion();
         return currentRegionRemainingBuffers > 0;
@@ -25,6 +25,7 @@ import org.apache.flink.runtime.io.network.buffer.BufferConsumerWithPartialRecor
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 import java.io.IOException;
@@ -109,6 +110,14 @@ public class PipelinedApproximateSubpartition extends PipelinedSubpartition {
         // to recover channel state
     }
 
+    @Nullable
+    @Override
+    ObjectHandoffQueue requestObjectHandoff() {
+        // The subpartition can be consumed by a new view after a failover, which would lose the
+        // handed over objects of the previous view.
+        return null;
+    }
+
     /** for testing only. */
     @VisibleForTesting
     boolean isPartialBufferCleanupRequired() {
@@ -183,6 +183,12 @@ public class PipelinedResultPartition extends BufferWritingResultPartition
         return (CheckpointedResultSubpartition) subpartitions[subpartitionIndex];
     }
 
+    @Nullable
+    @Override
+    public ObjectHandoffQueue getObjectHandoffQueue(int targetSubpartition) {
+        return ((PipelinedSubpartition) subpartitions[targetSubpartition]).getObjectHandoffQueue();
+    }
+
     @Override
     public void flushAll() {
         flushAllSubpartitions(false);
@@ -193,6 +199,13 @@ public class PipelinedResultPartition extends BufferWritingResultPartition
         flushSubpartition(targetSubpartition, false);
     }
 
+    @Override
+    public void adaptiveFlushAll() {
+        for (ResultSubpartition subpartition : subpartitions) {
+            ((PipelinedSubpartition) subpartition).flushIfConsumerIdle();
+        }
+    }
+
     @Override
     public void notifyEndOfData(StopMode mode) throws IOException {
         synchronized (lock) {
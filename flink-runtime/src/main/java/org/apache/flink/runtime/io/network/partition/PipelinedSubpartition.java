@@ -108,6 +108,9 @@ public class PipelinedSubpartition extends ResultSubpartition
     /** Writes in-flight data. */
     private ChannelStateWriter channelStateWriter;
 
+    /** The queue to hand over objects to a local consumer, created on request of the consumer. */
+    @Nullable private volatile ObjectHandoffQueue objectHandoffQueue;
+
     private int bufferSize = Integer.MAX_VALUE;
 
     /**
@@ -287,6 +290,11 @@ public class PipelinedSubpartition extends ResultSubpartition
             isReleased = true;
         }
 
+        final ObjectHandoffQueue handoffQueue = objectHandoffQueue;
+        if (handoffQueue != null) {
+            handoffQueue.clear();
+        }
+
         LOG.debug("{}: Released {}.", parent.getOwningTaskName(), this);
 
         if (view != null) {
@@ -417,6 +425,29 @@ public class PipelinedSubpartition extends ResultSubpartition
         return readView;
     }
 
+    /**
+     * Creates the queue to hand over objects to the consumer, which must be a local consumer in the
+     * same JVM as the producer.
+     *
+     * @return the queue, or null if this subpartition does not support handing over objects
+     */
+    @Nullable
+    ObjectHandoffQueue requestObjectHandoff() {
+        synchronized (buffers) {
+            checkState(!isReleased);
+            if (objectHandoffQueue == null) {
+                objectHandoffQueue = new ObjectHandoffQueue();
+            }
+            return objectHandoffQueue;
+        }
+    }
+
+    /** Returns the queue to hand over objects, or null if the consumer has not requested it. */
+    @Nullable
+    public ObjectHandoffQueue getObjectHandoffQueue() {
+        return objectHandoffQueue;
+    }
+
     public ResultSubpartitionView.AvailabilityWithBacklog getAvailabilityAndBacklog(
             int numCreditsAvailable) {
         synchronized (buffers) {
@@ -499,11 +530,27 @@ public class PipelinedSubpartition extends ResultSubpartition
 
     @Override
     public void flush() {
+        flush(false);
+    }
+
+    /**
+     * Flushes the data like {@link #flush()}, but only if the consumer has consumed all finished
+     * buffers. Otherwise, the consumer is still busy with the finished buffers and flushing would
+     * only send the unfinished buffer before it is filled.
+     */
+    public void flushIfConsumerIdle() {
+        flush(true);
+    }
+
+    private void flush(boolean onlyIfConsumerIdle) {
         final boolean notifyDataAvailable;
         synchronized (buffers) {
             if (buffers.isEmpty() || flushRequested) {
                 return;
             }
+            if (onlyIfConsumerIdle && getNumberOfFinishedBuffers() > 0) {
+                return;
+            }
             // if there is more then 1 buffer, we already notified the reader
             // (at the latest when adding the second buffer)
             boolean isDataAvailableInUnfinishedBuffer =
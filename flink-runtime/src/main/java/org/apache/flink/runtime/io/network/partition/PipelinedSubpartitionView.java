@@ -113,6 +113,12 @@ public class PipelinedSubpartitionView implements ResultSubpartitionView {
         parent.bufferSize(newBufferSize);
     }
 
+    @Nullable
+    @Override
+    public ObjectHandoffQueue requestObjectHandoff() {
+        return parent.requestObjectHandoff();
+    }
+
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.runtime.io.network.api.EndOfData;
+import org.apache.flink.runtime.io.network.api.StopMode;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferCompressor;
+import org.apache.flink.runtime.io.network.buffer.BufferPool;
+import org.apache.flink.runtime.shuffle.RemoteShuffleDescriptor;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient.PartitionWriter;
+import org.apache.flink.util.function.SupplierWithException;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * A blocking result partition which is written to a shuffle worker outside of the task executor,
+ * see {@link RemoteShuffleDescriptor}.
+ *
+ * <p>The buffers of all {@link RemoteShuffleSubpartition subpartitions} are sent to the shuffle
+ * worker via a single connection. Once the partition has been finished and committed to the
+ * worker, it is released locally, so that it does not keep the task executor from being released.
+ * The consumers read the partition directly from the shuffle worker.
+ */
+public class RemoteShuffleResultPartition extends BufferWritingResultPartition {
+
+    private final ShuffleWorkerClient workerClient;
+
+    /** Guards the writes to the worker, which happen from the task thread and the flusher. */
+    private final Object writeLock = new Object();
+
+    @Nullable private volatile PartitionWriter partitionWriter;
+
+    private boolean hasNotifiedEndOfUserRecords;
+
+    public RemoteShuffleResultPartition(
+            String owningTaskName,
+            int partitionIndex,
+            ResultPartitionID partitionId,
+            ResultPartitionType partitionType,
+            ResultSubpartition[] subpartitions,
+            int numTargetKeyGroups,
+            ResultPartitionManager partitionManager,
+            @Nullable BufferCompressor bufferCompressor,
+            SupplierWithException<BufferPool, IOException> bufferPoolFactory,
+            ShuffleWorkerClient workerClient) {
+
+        super(
+                owningTaskName,
+                partitionIndex,
+                partitionId,
+                partitionType,
+                subpartitions,
+                numTargetKeyGroups,
+                partitionManager,
+                bufferCompressor,
+                bufferPoolFactory);
+
+        checkArgument(partitionType == ResultPartitionType.BLOCKING);
+        this.workerClient = checkNotNull(workerClient);
+    }
+
+    @Override
+    public void setup() throws IOException {
+        super.setup();
+
+        partitionWriter =
+                workerClient.createPartitionWriter(getPartitionId(), getNumberOfSubpartitions());
+    }
+
+    /** Writes the buffer of the given subpartition to the shuffle worker. */
+    void writeBuffer(int subpartitionIndex, Buffer buffer) throws IOException {
+        synchronized (writeLock) {
+            final PartitionWriter writer = partitionWriter;
+            checkState(writer != null && !isReleased(), "Partition has been released.");
+            writer.writeBuffer(subpartitionIndex, buffer);
+        }
+    }
+
+    @Override
+    public void notifyEndOfData(StopMode mode) throws IOException {
+        if (!hasNotifiedEndOfUserRecords) {
+            broadcastEvent(new EndOfData(mode), false);
+            hasNotifiedEndOfUserRecords = true;
+        }
+    }
+
+    @Override
+    public void flush(int targetSubpartition) {
+        flushSubpartition(targetSubpartition, true);
+    }
+
+    @Override
+    public void flushAll() {
+        flushAllSubpartitions(true);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        super.finish();
+
+        synchronized (writeLock) {
+            checkState(partitionWriter != null, "Partition has not been set up.");
+            partitionWriter.commit();
+        }
+
+        // the data is owned by the shuffle worker from now on
+        partitionManager.releasePartition(getPartitionId(), null);
+    }
+
+    @Override
+    protected void releaseInternal() {
+        super.releaseInternal();
+
+        // closing the connection does not wait for a blocked write, the worker discards the
+        // partition if it has not been committed yet
+        final PartitionWriter writer = partitionWriter;
+        if (writer != null) {
+            writer.close();
+        }
+    }
+}
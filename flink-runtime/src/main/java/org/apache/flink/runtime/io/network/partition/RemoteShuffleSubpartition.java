@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.runtime.io.network.api.EndOfPartitionEvent;
+import org.apache.flink.runtime.io.network.api.serialization.EventSerializer;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferConsumer;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * An implementation of the ResultSubpartition for a {@link RemoteShuffleResultPartition}: The
+ * buffers are handed over to the partition which sends them to the shuffle worker, nothing is
+ * retained locally. The subpartition is consumed from the shuffle worker, hence it can not be
+ * read locally.
+ *
+ * <p>Like the {@link BoundedBlockingSubpartition}, this class assumes a single writer thread that
+ * adds buffers, flushes, and finishes the write phase.
+ */
+final class RemoteShuffleSubpartition extends ResultSubpartition {
+
+    private final RemoteShuffleResultPartition partition;
+
+    /** The current buffer, may be filled further over time. */
+    @Nullable private BufferConsumer currentBuffer;
+
+    /** The number of bytes sent to the shuffle worker. */
+    private long numBytesWritten;
+
+    /** The counter for the number of data buffers and events. */
+    private long numBuffersAndEventsWritten;
+
+    /** Flag indicating whether the writing has finished. */
+    private boolean isFinished;
+
+    /** Flag indicating whether the subpartition has been released. */
+    private volatile boolean isReleased;
+
+    RemoteShuffleSubpartition(int index, RemoteShuffleResultPartition parent) {
+        super(index, parent);
+
+        this.partition = checkNotNull(parent);
+    }
+
+    // ------------------------------------------------------------------------
+
+    @Override
+    public boolean isReleased() {
+        return isReleased;
+    }
+
+    @Override
+    public int add(BufferConsumer bufferConsumer, int partialRecordLength) throws IOException {
+        if (isFinished) {
+            bufferConsumer.close();
+            return -1;
+        }
+
+        flushCurrentBuffer();
+        currentBuffer = bufferConsumer;
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flush() {
+        // unfortunately, the signature of flush does not allow for any exceptions, so we
+        // need to do this discouraged pattern of runtime exception wrapping
+        try {
+            flushCurrentBuffer();
+        } catch (IOException e) {
+            throw new FlinkRuntimeException(e.getMessage(), e);
+        }
+    }
+
+    private void flushCurrentBuffer() throws IOException {
+        if (currentBuffer != null) {
+            writeAndCloseBufferConsumer(currentBuffer);
+            currentBuffer = null;
+        }
+    }
+
+    private void writeAndCloseBufferConsumer(BufferConsumer bufferConsumer) throws IOException {
+        try {
+            final Buffer buffer = bufferConsumer.build();
+            try {
+                if (parent.canBeCompressed(buffer)) {
+                    final Buffer compressedBuffer =
+                            parent.bufferCompressor.compressToIntermediateBuffer(buffer);
+                    writeBuffer(compressedBuffer);
+                    if (compressedBuffer != buffer) {
+                        compressedBuffer.recycleBuffer();
+                    }
+                } else {
+                    writeBuffer(buffer);
+                }
+            } finally {
+                buffer.recycleBuffer();
+            }
+        } finally {
+            bufferConsumer.close();
+        }
+    }
+
+    private void writeBuffer(Buffer buffer) throws IOException {
+        partition.writeBuffer(getSubPartitionIndex(), buffer);
+        numBytesWritten += buffer.readableBytes();
+        numBuffersAndEventsWritten++;
+    }
+
+    @Override
+    public void finish() throws IOException {
+        checkState(!isReleased, "data partition already released");
+        checkState(!isFinished, "data partition already finished");
+
+        isFinished = true;
+        flushCurrentBuffer();
+        writeAndCloseBufferConsumer(
+                EventSerializer.toBufferConsumer(EndOfPartitionEvent.INSTANCE, false));
+    }
+
+    @Override
+    public void release() {
+        isReleased = true;
+        isFinished = true; // for fail fast writes
+
+        if (currentBuffer != null) {
+            currentBuffer.close();
+            currentBuffer = null;
+        }
+    }
+
+    @Override
+    public ResultSubpartitionView createReadView(BufferAvailabilityListener availability) {
+        throw new UnsupportedOperationException(
+                "The subpartition is consumed from the shuffle worker.");
+    }
+
+    // ---------------------------- statistics --------------------------------
+
+    @Override
+    public int unsynchronizedGetNumberOfQueuedBuffers() {
+        return 0;
+    }
+
+    @Override
+    public int getNumberOfQueuedBuffers() {
+        return 0;
+    }
+
+    @Override
+    public void bufferSize(int desirableNewBufferSize) {
+        // not supported.
+    }
+
+    @Override
+    protected long getTotalNumberOfBuffersUnsafe() {
+        return numBuffersAndEventsWritten;
+    }
+
+    @Override
+    protected long getTotalNumberOfBytesUnsafe() {
+        return numBytesWritten;
+    }
+
+    @Override
+    int getBuffersInBacklogUnsafe() {
+        return 0;
+    }
+}
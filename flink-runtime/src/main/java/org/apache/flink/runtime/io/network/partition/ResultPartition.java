@@ -170,6 +170,11 @@ public abstract class ResultPartition implements ResultPartitionWriter {
         return partitionId;
     }
 
+    @Nullable
+    public BufferCompressor getBufferCompressor() {
+        return bufferCompressor;
+    }
+
     public int getPartitionIndex() {
         return partitionIndex;
     }
@@ -20,6 +20,7 @@ package org.apache.flink.runtime.io.network.partition;
 
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.runtime.deployment.ResultPartitionDeploymentDescriptor;
+import org.apache.flink.runtime.io.compression.BlockCompressionFactory;
 import org.apache.flink.runtime.io.disk.BatchShuffleReadBufferPool;
 import org.apache.flink.runtime.io.disk.FileChannelManager;
 import org.apache.flink.runtime.io.network.NettyShuffleEnvironment;
@@ -27,6 +28,8 @@ import org.apache.flink.runtime.io.network.buffer.BufferCompressor;
 import org.apache.flink.runtime.io.network.buffer.BufferPool;
 import org.apache.flink.runtime.io.network.buffer.BufferPoolFactory;
 import org.apache.flink.runtime.shuffle.NettyShuffleUtils;
+import org.apache.flink.runtime.shuffle.RemoteShuffleDescriptor;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.ProcessorArchitecture;
@@ -65,7 +68,7 @@ public class ResultPartitionFactory {
 
     private final boolean blockingShuffleCompressionEnabled;
 
-    private final String compressionCodec;
+    private final BlockCompressionFactory compressionFactory;
 
     private final int maxBuffersPerChannel;
 
@@ -86,7 +89,7 @@ public class ResultPartitionFactory {
             int floatingNetworkBuffersPerGate,
             int networkBufferSize,
             boolean blockingShuffleCompressionEnabled,
-            String compressionCodec,
+            BlockCompressionFactory compressionFactory,
             int maxBuffersPerChannel,
             int sortShuffleMinBuffers,
             int sortShuffleMinParallelism,
@@ -102,7 +105,7 @@ public class ResultPartitionFactory {
         this.blockingSubpartitionType = blockingSubpartitionType;
         this.networkBufferSize = networkBufferSize;
         this.blockingShuffleCompressionEnabled = blockingShuffleCompressionEnabled;
-        this.compressionCodec = compressionCodec;
+        this.compressionFactory = compressionFactory;
         this.maxBuffersPerChannel = maxBuffersPerChannel;
         this.sortShuffleMinBuffers = sortShuffleMinBuffers;
         this.sortShuffleMinParallelism = sortShuffleMinParallelism;
@@ -113,6 +116,14 @@ public class ResultPartitionFactory {
             String taskNameWithSubtaskAndId,
             int partitionIndex,
             ResultPartitionDeploymentDescriptor desc) {
+        if (desc.getShuffleDescriptor() instanceof RemoteShuffleDescriptor) {
+            return createRemoteShufflePartition(
+                    taskNameWithSubtaskAndId,
+                    partitionIndex,
+                    (RemoteShuffleDescriptor) desc.getShuffleDescriptor(),
+                    desc);
+        }
+
         return create(
                 taskNameWithSubtaskAndId,
                 partitionIndex,
@@ -123,6 +134,43 @@ public class ResultPartitionFactory {
                 createBufferPoolFactory(desc.getNumberOfSubpartitions(), desc.getPartitionType()));
     }
 
+    private ResultPartition createRemoteShufflePartition(
+            String taskNameWithSubtaskAndId,
+            int partitionIndex,
+            RemoteShuffleDescriptor shuffleDescriptor,
+            ResultPartitionDeploymentDescriptor desc) {
+        BufferCompressor bufferCompressor = null;
+        if (blockingShuffleCompressionEnabled) {
+            bufferCompressor = new BufferCompressor(networkBufferSize, compressionFactory);
+        }
+
+        ResultSubpartition[] subpartitions =
+                new ResultSubpartition[desc.getNumberOfSubpartitions()];
+        RemoteShuffleResultPartition partition =
+                new RemoteShuffleResultPartition(
+                        taskNameWithSubtaskAndId,
+                        partitionIndex,
+                        shuffleDescriptor.getResultPartitionID(),
+                        desc.getPartitionType(),
+                        subpartitions,
+                        desc.getMaxParallelism(),
+                        partitionManager,
+                        bufferCompressor,
+                        createBufferPoolFactory(
+                                desc.getNumberOfSubpartitions(), desc.getPartitionType()),
+                        new ShuffleWorkerClient(
+                                shuffleDescriptor.getWorkerHost(),
+                                shuffleDescriptor.getWorkerPort()));
+
+        for (int i = 0; i < subpartitions.length; i++) {
+            subpartitions[i] = new RemoteShuffleSubpartition(i, partition);
+        }
+
+        LOG.debug("{}: Initialized {}", taskNameWithSubtaskAndId, this);
+
+        return partition;
+    }
+
     @VisibleForTesting
     public ResultPartition create(
             String taskNameWithSubtaskAndId,
@@ -134,7 +182,7 @@ public class ResultPartitionFactory {
             SupplierWithException<BufferPool, IOException> bufferPoolFactory) {
         BufferCompressor bufferCompressor = null;
         if (type.isBlocking() && blockingShuffleCompressionEnabled) {
-            bufferCompressor = new BufferCompressor(networkBufferSize, compressionCodec);
+            bufferCompressor = new BufferCompressor(networkBufferSize, compressionFactory);
         }
 
         ResultSubpartition[] subpartitions = new ResultSubpartition[numberOfSubpartitions];
@@ -184,7 +232,8 @@ public class ResultPartitionFactory {
                                 partitionManager,
                                 channelManager.createChannel().getPath(),
                                 bufferCompressor,
-                                bufferPoolFactory);
+                                bufferPoolFactory,
+                                !sslEnabled);
             } else {
                 final BoundedBlockingResultPartition blockingPartition =
                         new BoundedBlockingResultPartition(
@@ -208,6 +257,27 @@ public class ResultPartitionFactory {
 
                 partition = blockingPartition;
             }
+        } else if (type == ResultPartitionType.HYBRID) {
+            final BoundedBlockingResultPartition hybridPartition =
+                    new BoundedBlockingResultPartition(
+                            taskNameWithSubtaskAndId,
+                            partitionIndex,
+                            id,
+                            type,
+                            subpartitions,
+                            maxParallelism,
+                            partitionManager,
+                            bufferCompressor,
+                            bufferPoolFactory);
+
+            initializeHybridPartitions(
+                    subpartitions,
+                    hybridPartition,
+                    networkBufferSize,
+                    configuredNetworkBuffersPerChannel,
+                    channelManager);
+
+            partition = hybridPartition;
         } else {
             throw new IllegalArgumentException("Unrecognized ResultPartitionType: " + type);
         }
@@ -245,6 +315,32 @@ public class ResultPartitionFactory {
         }
     }
 
+    private static void initializeHybridPartitions(
+            ResultSubpartition[] subpartitions,
+            BoundedBlockingResultPartition parent,
+            int networkBufferSize,
+            int configuredNetworkBuffersPerChannel,
+            FileChannelManager channelManager) {
+        int i = 0;
+        try {
+            for (i = 0; i < subpartitions.length; i++) {
+                final File spillFile = channelManager.createChannel().getPathFile();
+                subpartitions[i] =
+                        HybridSubpartition.create(
+                                i,
+                                parent,
+                                spillFile,
+                                networkBufferSize,
+                                Math.max(1, configuredNetworkBuffersPerChannel));
+            }
+        } catch (IOException e) {
+            // undo all the work so that a failed constructor does not leave any resources
+            // in need of disposal
+            releasePartitionsQuietly(subpartitions, i);
+            throw new FlinkRuntimeException(e);
+        }
+    }
+
     private static void releasePartitionsQuietly(ResultSubpartition[] partitions, int until) {
         for (int i = 0; i < until; i++) {
             final ResultSubpartition subpartition = partitions[i];
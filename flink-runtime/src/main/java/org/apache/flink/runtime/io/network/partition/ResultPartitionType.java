@@ -81,7 +81,21 @@ public enum ResultPartitionType {
      * in that {@link #PIPELINED_APPROXIMATE} partition can be reconnected after down stream task
      * fails.
      */
-    PIPELINED_APPROXIMATE(true, true, true, false, true);
+    PIPELINED_APPROXIMATE(true, true, true, false, true),
+
+    /**
+     * Hybrid partitions are persisted like {@link #BLOCKING} partitions, but can already be
+     * consumed while being produced.
+     *
+     * <p>Every buffer is spilled to disk. Consumers that are running while the partition is being
+     * produced receive the buffers directly from memory, consumers that are deployed later (or
+     * lag behind) read them from the spilled data. The consumers can therefore be scheduled as
+     * soon as the producer is running, without requiring that all tasks run simultaneously.
+     *
+     * <p>Like {@link #BLOCKING} partitions, hybrid partitions can be consumed multiple times and
+     * are only released through the scheduler.
+     */
+    HYBRID(false, false, false, false, true);
 
     /** Can the partition be consumed while being produced? */
     private final boolean isPipelined;
@@ -149,4 +163,14 @@ public enum ResultPartitionType {
     public boolean isPersistent() {
         return isPersistent;
     }
+
+    /**
+     * Whether this partition can be consumed while being produced although it is persisted like a
+     * blocking partition.
+     *
+     * @return <tt>true</tt> if the consumers may be scheduled once the producer is running
+     */
+    public boolean isHybridResultPartition() {
+        return this == HYBRID;
+    }
 }
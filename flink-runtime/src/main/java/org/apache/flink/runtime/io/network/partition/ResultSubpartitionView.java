@@ -73,6 +73,17 @@ public interface ResultSubpartitionView {
 
     void notifyNewBufferSize(int newBufferSize);
 
+    /**
+     * Requests the queue to hand over objects from the producer to this view, bypassing the
+     * serialization of the records. Only consumers in the same JVM as the producer may request it.
+     *
+     * @return the queue, or null if the subpartition does not support handing over objects
+     */
+    @Nullable
+    default ObjectHandoffQueue requestObjectHandoff() {
+        return null;
+    }
+
     /**
      * Availability of the {@link ResultSubpartitionView} and the backlog in the corresponding
      * {@link ResultSubpartition}.
@@ -106,6 +106,12 @@ public class SortMergeResultPartition extends ResultPartition {
      */
     private final SortMergeResultPartitionReadScheduler readScheduler;
 
+    /**
+     * Whether the data is transferred directly from the result file to the network by file regions
+     * instead of being read into memory first. This is only possible if SSL is disabled.
+     */
+    private final boolean useDirectFileTransfer;
+
     /**
      * Number of guaranteed network buffers can be used by {@link #unicastSortBuffer} and {@link
      * #broadcastSortBuffer}.
@@ -130,7 +136,8 @@ public class SortMergeResultPartition extends ResultPartition {
             ResultPartitionManager partitionManager,
             String resultFileBasePath,
             @Nullable BufferCompressor bufferCompressor,
-            SupplierWithException<BufferPool, IOException> bufferPoolFactory) {
+            SupplierWithException<BufferPool, IOException> bufferPoolFactory,
+            boolean useDirectFileTransfer) {
 
         super(
                 owningTaskName,
@@ -146,6 +153,7 @@ public class SortMergeResultPartition extends ResultPartition {
         this.resultFileBasePath = checkNotNull(resultFileBasePath);
         this.readBufferPool = checkNotNull(readBufferPool);
         this.networkBufferSize = readBufferPool.getBufferSize();
+        this.useDirectFileTransfer = useDirectFileTransfer;
         // because IO scheduling will always try to read data in file offset order for better IO
         // performance, when writing data to file, we use a random subpartition order to avoid
         // reading the output of all upstream tasks in the same order, which is better for data
@@ -468,7 +476,7 @@ public class SortMergeResultPartition extends ResultPartition {
             }
 
             return readScheduler.createSubpartitionReader(
-                    availabilityListener, subpartitionIndex, resultFile);
+                    availabilityListener, subpartitionIndex, resultFile, useDirectFileTransfer);
         }
     }
 
@@ -57,6 +57,11 @@ import static org.apache.flink.util.Preconditions.checkState;
  * consuming the corresponding {@link SortMergeResultPartition}. It always tries to read shuffle
  * data in order of file offset, which maximums the sequential read so can improve the blocking
  * shuffle performance.
+ *
+ * <p>Each subpartition reader may only read a bounded number of buffers ahead of its consumer, so
+ * that the read buffers are shared among all readers instead of being taken by the reader with the
+ * smallest file offset. A reader which finishes a data region is served again after the readers in
+ * front of it, so the data regions of all subpartitions are read in one pass over the file.
  */
 class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler {
 
@@ -69,6 +74,9 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
      */
     private static final Duration DEFAULT_BUFFER_REQUEST_TIMEOUT = Duration.ofMinutes(5);
 
+    /** Minimum number of buffers a subpartition reader may read ahead of its consumer. */
+    private static final int MIN_BUFFERS_READ_AHEAD = 4;
+
     /** Lock used to synchronize multi-thread access to thread-unsafe fields. */
     private final Object lock;
 
@@ -116,6 +124,14 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
     @GuardedBy("lock")
     private boolean isRunning;
 
+    /**
+     * Whether the data reading task was triggered while it was running. In this case, it is
+     * triggered again when it finishes, even if no data was read, because the readers which had
+     * read ahead as far as allowed may be able to read again.
+     */
+    @GuardedBy("lock")
+    private boolean isTriggeredWhileRunning;
+
     /** Number of buffers already allocated and still not recycled by this partition reader. */
     @GuardedBy("lock")
     private volatile int numRequestedBuffers;
@@ -217,13 +233,20 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
     private Set<SortMergeSubpartitionReader> readData(
             Queue<SortMergeSubpartitionReader> availableReaders, Queue<MemorySegment> buffers) {
         Set<SortMergeSubpartitionReader> finishedReaders = new HashSet<>();
+        int maxBuffersReadAhead = getMaxBuffersReadAhead(availableReaders.size());
 
         while (!availableReaders.isEmpty() && !buffers.isEmpty()) {
             SortMergeSubpartitionReader subpartitionReader = availableReaders.poll();
             try {
-                if (!subpartitionReader.readBuffers(buffers, this)) {
+                int numBuffersRead =
+                        subpartitionReader.readBuffers(buffers, this, maxBuffersReadAhead);
+                if (!subpartitionReader.hasRemaining()) {
                     // there is no resource to release for finished readers currently
                     finishedReaders.add(subpartitionReader);
+                } else if (numBuffersRead > 0) {
+                    // the reader continues with its next data region after the readers in front
+                    // of it, which keeps reading the file in order of offset
+                    availableReaders.add(subpartitionReader);
                 }
             } catch (Throwable throwable) {
                 failSubpartitionReaders(Collections.singletonList(subpartitionReader), throwable);
@@ -233,6 +256,14 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
         return finishedReaders;
     }
 
+    private int getMaxBuffersReadAhead(int numReaders) {
+        if (numReaders == 0) {
+            return MIN_BUFFERS_READ_AHEAD;
+        }
+        int fairShare = (maxRequestedBuffers + numReaders - 1) / numReaders;
+        return Math.max(MIN_BUFFERS_READ_AHEAD, fairShare);
+    }
+
     private void failSubpartitionReaders(
             Collection<SortMergeSubpartitionReader> readers, Throwable failureCause) {
         synchronized (lock) {
@@ -269,7 +300,11 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
 
             numRequestedBuffers += numBuffersRead;
             isRunning = false;
-            mayTriggerReading();
+            // if nothing was read, all readers have read ahead as far as allowed and are read
+            // again when their buffers are recycled
+            if (numBuffersRead > 0 || isTriggeredWhileRunning) {
+                mayTriggerReading();
+            }
             mayNotifyReleased();
         }
     }
@@ -288,7 +323,13 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
                 return new ArrayDeque<>();
             }
 
-            return new PriorityQueue<>(allReaders);
+            Queue<SortMergeSubpartitionReader> availableReaders = new PriorityQueue<>();
+            for (SortMergeSubpartitionReader reader : allReaders) {
+                if (!reader.isDirectTransfer()) {
+                    availableReaders.add(reader);
+                }
+            }
+            return availableReaders;
         }
     }
 
@@ -297,12 +338,39 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
             int targetSubpartition,
             PartitionedFile resultFile)
             throws IOException {
+        return createSubpartitionReader(
+                availabilityListener, targetSubpartition, resultFile, false);
+    }
+
+    /**
+     * Creates a reader for the target subpartition. If direct file transfer is used, the reader
+     * sends file regions of the shared data file channel to the network instead of reading the
+     * data into memory, in which case the file channels are kept open until the reader is
+     * released.
+     */
+    SortMergeSubpartitionReader createSubpartitionReader(
+            BufferAvailabilityListener availabilityListener,
+            int targetSubpartition,
+            PartitionedFile resultFile,
+            boolean useDirectFileTransfer)
+            throws IOException {
         synchronized (lock) {
             checkState(!isReleased, "Partition is already released.");
 
             PartitionedFileReader fileReader = createFileReader(resultFile, targetSubpartition);
-            SortMergeSubpartitionReader subpartitionReader =
-                    new SortMergeSubpartitionReader(availabilityListener, fileReader);
+            SortMergeSubpartitionReader subpartitionReader;
+            try {
+                subpartitionReader =
+                        useDirectFileTransfer
+                                ? new SortMergeSubpartitionDirectTransferReader(
+                                        availabilityListener, fileReader)
+                                : new SortMergeSubpartitionReader(availabilityListener, fileReader);
+            } catch (Throwable throwable) {
+                if (allReaders.isEmpty()) {
+                    closeFileChannels();
+                }
+                throw throwable;
+            }
             allReaders.add(subpartitionReader);
             subpartitionReader
                     .getReleaseFuture()
@@ -317,6 +385,8 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
         synchronized (lock) {
             if (allReaders.contains(subpartitionReader)) {
                 failedReaders.add(subpartitionReader);
+                // the data reading task removes the failed reader
+                mayTriggerReading();
             }
         }
     }
@@ -368,11 +438,13 @@ class SortMergeResultPartitionReadScheduler implements Runnable, BufferRecycler
     private void mayTriggerReading() {
         assert Thread.holdsLock(lock);
 
-        if (!isRunning
-                && !allReaders.isEmpty()
+        if (isRunning) {
+            isTriggeredWhileRunning = true;
+        } else if (!allReaders.isEmpty()
                 && numRequestedBuffers + bufferPool.getNumBuffersPerRequest()
                         <= maxRequestedBuffers) {
             isRunning = true;
+            isTriggeredWhileRunning = false;
             ioExecutor.execute(this);
         }
     }
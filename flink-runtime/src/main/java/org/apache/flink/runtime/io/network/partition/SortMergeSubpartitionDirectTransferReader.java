@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferRecycler;
+import org.apache.flink.runtime.io.network.partition.ResultSubpartition.BufferAndBacklog;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import java.io.IOException;
+import java.util.Queue;
+
+/**
+ * Subpartition reader for {@link SortMergeResultPartition} which transfers the data directly from
+ * the {@link PartitionedFile} to the network based on {@link
+ * org.apache.flink.runtime.io.network.buffer.FileRegionBuffer}, without reading the data into
+ * memory first. It does not take part in the data reading of {@link
+ * SortMergeResultPartitionReadScheduler}, only the header of the next buffer is read when the
+ * netty thread polls a buffer.
+ *
+ * <p>Note: The file regions can only be sent by netty if SSL is disabled.
+ */
+class SortMergeSubpartitionDirectTransferReader extends SortMergeSubpartitionReader {
+
+    private final Object lock = new Object();
+
+    /** File reader used to read the buffer headers from. */
+    private final PartitionedFileReader fileReader;
+
+    /** The next buffer to be sent to the consumer, it is read ahead to know its data type. */
+    @GuardedBy("lock")
+    @Nullable
+    private Buffer nextBuffer;
+
+    /** Number of remaining buffers and events including {@link #nextBuffer}. */
+    @GuardedBy("lock")
+    private int numRemainingBuffers;
+
+    /** Sequence number of the next buffer to be sent to the consumer. */
+    private int sequenceNumber;
+
+    SortMergeSubpartitionDirectTransferReader(
+            BufferAvailabilityListener listener, PartitionedFileReader fileReader)
+            throws IOException {
+        super(listener, fileReader);
+
+        this.fileReader = fileReader;
+        this.numRemainingBuffers = fileReader.getNumRemainingBuffers();
+        this.nextBuffer = fileReader.readNextFileRegion();
+    }
+
+    @Nullable
+    @Override
+    public BufferAndBacklog getNextBuffer() {
+        synchronized (lock) {
+            if (isReleased() || nextBuffer == null) {
+                return null;
+            }
+
+            Buffer buffer = nextBuffer;
+            try {
+                nextBuffer = fileReader.readNextFileRegion();
+            } catch (Throwable throwable) {
+                nextBuffer = null;
+                // the failure is propagated to the consumer by the netty thread
+                fail(throwable);
+                return null;
+            }
+            --numRemainingBuffers;
+
+            return BufferAndBacklog.fromBufferAndLookahead(
+                    buffer,
+                    nextBuffer == null ? Buffer.DataType.NONE : nextBuffer.getDataType(),
+                    getBacklog(),
+                    sequenceNumber++);
+        }
+    }
+
+    @GuardedBy("lock")
+    private int getBacklog() {
+        // the events of batch jobs are only written at the end of the data
+        if (nextBuffer == null || !nextBuffer.isBuffer()) {
+            return 0;
+        }
+        // the data always ends with an EndOfPartitionEvent which is not counted as backlog
+        return numRemainingBuffers - 1;
+    }
+
+    @Override
+    int readBuffers(
+            Queue<MemorySegment> buffers, BufferRecycler recycler, int maxBuffersReadAhead) {
+        return 0;
+    }
+
+    @Override
+    boolean hasRemaining() {
+        // the file channels must stay open until this reader is released, because the file
+        // regions sent to the network read from them
+        return true;
+    }
+
+    @Override
+    boolean isDirectTransfer() {
+        return true;
+    }
+
+    @Override
+    public AvailabilityWithBacklog getAvailabilityAndBacklog(int numCreditsAvailable) {
+        synchronized (lock) {
+            boolean isAvailable;
+            if (isReleased()) {
+                isAvailable = true;
+            } else if (nextBuffer == null) {
+                isAvailable = false;
+            } else {
+                isAvailable = numCreditsAvailable > 0 || !nextBuffer.isBuffer();
+            }
+            return new AvailabilityWithBacklog(isAvailable, getBacklog());
+        }
+    }
+
+    @Override
+    public int unsynchronizedGetNumberOfQueuedBuffers() {
+        return Math.max(0, numRemainingBuffers);
+    }
+
+    @Override
+    public int getNumberOfQueuedBuffers() {
+        synchronized (lock) {
+            return numRemainingBuffers;
+        }
+    }
+}
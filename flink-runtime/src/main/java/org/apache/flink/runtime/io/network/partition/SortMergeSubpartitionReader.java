@@ -129,26 +129,35 @@ class SortMergeSubpartitionReader
         }
     }
 
-    /** This method is called by the IO thread of {@link SortMergeResultPartitionReadScheduler}. */
-    boolean readBuffers(Queue<MemorySegment> buffers, BufferRecycler recycler) throws IOException {
-        while (!buffers.isEmpty()) {
-            MemorySegment segment = buffers.poll();
-
-            Buffer buffer;
-            try {
-                if ((buffer = fileReader.readCurrentRegion(segment, recycler)) == null) {
-                    buffers.add(segment);
-                    break;
-                }
-            } catch (Throwable throwable) {
-                buffers.add(segment);
-                throw throwable;
-            }
-            addBuffer(buffer);
+    /**
+     * Reads buffers of the current data region as long as less than the given number of buffers
+     * are queued for the consumer. This method is called by the IO thread of {@link
+     * SortMergeResultPartitionReadScheduler}.
+     *
+     * @return The number of buffers read.
+     */
+    int readBuffers(Queue<MemorySegment> buffers, BufferRecycler recycler, int maxBuffersReadAhead)
+            throws IOException {
+        int numBuffersToRead = maxBuffersReadAhead - getNumberOfQueuedBuffers();
+        if (numBuffersToRead <= 0) {
+            return 0;
         }
+        return fileReader.readCurrentRegion(buffers, recycler, this::addBuffer, numBuffersToRead);
+    }
+
+    /** Returns whether there is any data left to read. */
+    boolean hasRemaining() throws IOException {
         return fileReader.hasRemaining();
     }
 
+    /**
+     * Whether this reader transfers the data directly from the file to the network, in which case
+     * it doesn't read any data into memory by {@link #readBuffers}.
+     */
+    boolean isDirectTransfer() {
+        return false;
+    }
+
     CompletableFuture<?> getReleaseFuture() {
         return releaseFuture;
     }
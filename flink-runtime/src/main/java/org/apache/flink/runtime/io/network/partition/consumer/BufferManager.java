@@ -70,6 +70,13 @@ public class BufferManager implements BufferListener, BufferRecycler {
     @GuardedBy("bufferQueue")
     private int numRequiredBuffers;
 
+    /**
+     * The demand of this channel as announced to the {@link FloatingBufferFairShare} of the gate,
+     * if any.
+     */
+    @GuardedBy("bufferQueue")
+    private int floatingBufferDemand;
+
     public BufferManager(
             MemorySegmentProvider globalPool, InputChannel inputChannel, int numRequiredBuffers) {
 
@@ -159,7 +166,8 @@ public class BufferManager implements BufferListener, BufferRecycler {
     /**
      * Requests floating buffers from the buffer pool based on the given required amount, and
      * returns the actual requested amount. If the required amount is not fully satisfied, it will
-     * register as a listener.
+     * register as a listener unless the channel already holds its fair share of the floating
+     * buffers.
      */
     int requestFloatingBuffers(int numRequired) {
         int numRequestedBuffers = 0;
@@ -172,6 +180,7 @@ public class BufferManager implements BufferListener, BufferRecycler {
             }
 
             numRequiredBuffers = numRequired;
+            updateFloatingBufferDemand(numRequired);
             numRequestedBuffers = tryRequestBuffers();
         }
         return numRequestedBuffers;
@@ -182,7 +191,8 @@ public class BufferManager implements BufferListener, BufferRecycler {
 
         int numRequestedBuffers = 0;
         while (bufferQueue.getAvailableBufferSize() < numRequiredBuffers
-                && !isWaitingForFloatingBuffers) {
+                && !isWaitingForFloatingBuffers
+                && !isFloatingBufferQuotaReached()) {
             BufferPool bufferPool = inputChannel.inputGate.getBufferPool();
             Buffer buffer = bufferPool.requestBuffer();
             if (buffer != null) {
@@ -196,6 +206,33 @@ public class BufferManager implements BufferListener, BufferRecycler {
         return numRequestedBuffers;
     }
 
+    /**
+     * Returns whether this channel already holds its share of the floating buffers of the gate. In
+     * that case, it neither requests further floating buffers nor waits for them, but requests them
+     * again when the sender announces its next backlog.
+     */
+    private boolean isFloatingBufferQuotaReached() {
+        assert Thread.holdsLock(bufferQueue);
+
+        FloatingBufferFairShare fairShare = inputChannel.inputGate.getFloatingBufferFairShare();
+        if (fairShare == null) {
+            return false;
+        }
+        int numFloatingBuffers = inputChannel.inputGate.getBufferPool().getNumBuffers();
+        return bufferQueue.floatingBuffers.size()
+                >= fairShare.getQuota(floatingBufferDemand, numFloatingBuffers);
+    }
+
+    private void updateFloatingBufferDemand(int newDemand) {
+        assert Thread.holdsLock(bufferQueue);
+
+        FloatingBufferFairShare fairShare = inputChannel.inputGate.getFloatingBufferFairShare();
+        if (fairShare != null) {
+            fairShare.updateDemand(floatingBufferDemand, newDemand);
+            floatingBufferDemand = newDemand;
+        }
+    }
+
     // ------------------------------------------------------------------------
     // Buffer recycle
     // ------------------------------------------------------------------------
@@ -243,6 +280,7 @@ public class BufferManager implements BufferListener, BufferRecycler {
         Queue<Buffer> buffers;
         synchronized (bufferQueue) {
             numRequiredBuffers = 0;
+            updateFloatingBufferDemand(0);
             buffers = bufferQueue.clearFloatingBuffers();
         }
 
@@ -273,6 +311,7 @@ public class BufferManager implements BufferListener, BufferRecycler {
         }
         try {
             synchronized (bufferQueue) {
+                updateFloatingBufferDemand(0);
                 bufferQueue.releaseAll(exclusiveRecyclingSegments);
                 bufferQueue.notifyAll();
             }
@@ -336,7 +375,8 @@ public class BufferManager implements BufferListener, BufferRecycler {
                 // -> we may or may not have set isReleased yet but will always wait for the
                 // lock on bufferQueue to release buffers
                 if (inputChannel.isReleased()
-                        || bufferQueue.getAvailableBufferSize() >= numRequiredBuffers) {
+                        || bufferQueue.getAvailableBufferSize() >= numRequiredBuffers
+                        || isFloatingBufferQuotaReached()) {
                     return false;
                 }
 
@@ -363,7 +403,6 @@ public class BufferManager implements BufferListener, BufferRecycler {
     // Getter properties
     // ------------------------------------------------------------------------
 
-    @VisibleForTesting
     int unsynchronizedGetNumberOfRequiredBuffers() {
         return numRequiredBuffers;
     }
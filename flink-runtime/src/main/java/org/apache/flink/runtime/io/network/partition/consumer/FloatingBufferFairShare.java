@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition.consumer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Shares the floating buffers of an input gate among its {@link RemoteInputChannel remote input
+ * channels}.
+ *
+ * <p>Without it, the floating buffers are handed out first-come-first-served, so a channel with a
+ * large backlog may hold all of them while the other channels of the gate are limited to their
+ * exclusive buffers. With it, every channel may only hold a share of the floating buffers which is
+ * proportional to its demand, i.e. the backlog announced by the sender plus the initial credit.
+ * The backlog grows with the rate at which the sender produces data for the channel, so channels
+ * which are consumed faster get the larger share.
+ *
+ * <p>A channel may exceed its share if no other channel of the gate has any demand, and every
+ * channel with demand is guaranteed at least one floating buffer.
+ */
+public final class FloatingBufferFairShare {
+
+    /** The sum of the demand of all channels of the gate. */
+    private final AtomicLong totalDemand = new AtomicLong();
+
+    /**
+     * Updates the demand of a channel.
+     *
+     * @param oldDemand The previously announced demand of the channel.
+     * @param newDemand The new demand of the channel.
+     */
+    void updateDemand(int oldDemand, int newDemand) {
+        checkArgument(oldDemand >= 0 && newDemand >= 0);
+        if (oldDemand != newDemand) {
+            totalDemand.addAndGet(newDemand - oldDemand);
+        }
+    }
+
+    /**
+     * Returns the number of floating buffers a channel may hold.
+     *
+     * @param demand The demand of the channel.
+     * @param numFloatingBuffers The number of floating buffers of the gate.
+     */
+    int getQuota(int demand, int numFloatingBuffers) {
+        long total = totalDemand.get();
+        if (total <= demand) {
+            return Integer.MAX_VALUE;
+        }
+        long share = ((long) numFloatingBuffers * demand + total - 1) / total;
+        return (int) Math.max(1, share);
+    }
+
+    long getTotalDemand() {
+        return totalDemand.get();
+    }
+}
@@ -187,6 +187,15 @@ public abstract class InputChannel {
     abstract Optional<BufferAndAvailability> getNextBuffer()
             throws IOException, InterruptedException;
 
+    /**
+     * Polls the object which the producer has handed over for the marker record just read from
+     * this channel. Only channels which consume a subpartition in the same JVM support it.
+     */
+    public Object pollHandedOverObject() {
+        throw new IllegalStateException(
+                getClass().getSimpleName() + " does not support handing over objects.");
+    }
+
     /**
      * Called by task thread when checkpointing is started (e.g., any input channel received
      * barrier).
@@ -30,6 +30,7 @@ import org.apache.flink.runtime.io.network.buffer.Buffer;
 import org.apache.flink.runtime.io.network.buffer.FileRegionBuffer;
 import org.apache.flink.runtime.io.network.logger.NetworkActionsLogger;
 import org.apache.flink.runtime.io.network.partition.BufferAvailabilityListener;
+import org.apache.flink.runtime.io.network.partition.ObjectHandoffQueue;
 import org.apache.flink.runtime.io.network.partition.PartitionNotFoundException;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionManager;
@@ -68,6 +69,9 @@ public class LocalInputChannel extends InputChannel implements BufferAvailabilit
     /** The consumed subpartition. */
     @Nullable private volatile ResultSubpartitionView subpartitionView;
 
+    /** The queue of the objects handed over by the producer, if the subpartition supports it. */
+    @Nullable private volatile ObjectHandoffQueue objectHandoffQueue;
+
     private volatile boolean isReleased;
 
     private final ChannelStatePersister channelStatePersister;
@@ -139,6 +143,10 @@ public class LocalInputChannel extends InputChannel implements BufferAvailabilit
                         throw new IOException("Error requesting subpartition.");
                     }
 
+                    // must be requested before the view is visible to the consumer, which may read
+                    // a handed over object right away
+                    this.objectHandoffQueue = subpartitionView.requestObjectHandoff();
+
                     // make the subpartition view visible
                     this.subpartitionView = subpartitionView;
 
@@ -297,6 +305,13 @@ public class LocalInputChannel extends InputChannel implements BufferAvailabilit
         subpartitionView.acknowledgeAllDataProcessed();
     }
 
+    @Override
+    public Object pollHandedOverObject() {
+        final ObjectHandoffQueue handoffQueue = objectHandoffQueue;
+        checkState(handoffQueue != null, "The producer can not hand over objects.");
+        return handoffQueue.poll();
+    }
+
     // ------------------------------------------------------------------------
     // Task events
     // ------------------------------------------------------------------------
@@ -476,6 +476,23 @@ public class RemoteInputChannel extends InputChannel {
         return Math.max(0, bufferManager.unsynchronizedGetFloatingBuffersAvailable());
     }
 
+    /** Gets the last backlog announced by the sender in a best-effort way. */
+    public int unsynchronizedGetSenderBacklog() {
+        return Math.max(
+                0, bufferManager.unsynchronizedGetNumberOfRequiredBuffers() - initialCredit);
+    }
+
+    /**
+     * Gets the number of buffers available for receiving data, i.e. the credit of this channel, in
+     * a best-effort way.
+     */
+    public int unsynchronizedGetNumberOfAvailableBuffers() {
+        return Math.max(
+                0,
+                bufferManager.unsynchronizedGetAvailableExclusiveBuffers()
+                        + bufferManager.unsynchronizedGetFloatingBuffersAvailable());
+    }
+
     public InputChannelID getInputChannelId() {
         return id;
     }
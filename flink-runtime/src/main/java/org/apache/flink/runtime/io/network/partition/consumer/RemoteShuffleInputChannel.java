@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition.consumer;
+
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.runtime.event.TaskEvent;
+import org.apache.flink.runtime.execution.CancelTaskException;
+import org.apache.flink.runtime.io.network.api.EndOfPartitionEvent;
+import org.apache.flink.runtime.io.network.api.serialization.EventSerializer;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferRecycler;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.runtime.shuffle.RemoteShuffleDescriptor;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient.SubpartitionReader;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * An input channel, which reads a subpartition of a {@link RemoteShuffleDescriptor remote
+ * partition} from the shuffle worker.
+ *
+ * <p>The subpartition is complete when it is consumed, hence the channel is always available and
+ * the buffers are read on demand by the task thread. Like the data of a {@link LocalInputChannel}
+ * which is read from a file, the buffers are read into the unpooled segment of the input gate.
+ */
+public class RemoteShuffleInputChannel extends InputChannel {
+
+    private final ShuffleWorkerClient workerClient;
+
+    @Nullable private volatile SubpartitionReader subpartitionReader;
+
+    private volatile boolean isReleased;
+
+    private int sequenceNumber;
+
+    public RemoteShuffleInputChannel(
+            SingleInputGate inputGate,
+            int channelIndex,
+            ResultPartitionID partitionId,
+            int consumedSubpartitionIndex,
+            ShuffleWorkerClient workerClient,
+            Counter numBytesIn,
+            Counter numBuffersIn) {
+
+        super(
+                inputGate,
+                channelIndex,
+                partitionId,
+                consumedSubpartitionIndex,
+                0,
+                0,
+                numBytesIn,
+                numBuffersIn);
+
+        this.workerClient = checkNotNull(workerClient);
+    }
+
+    // ------------------------------------------------------------------------
+    // Consume
+    // ------------------------------------------------------------------------
+
+    @Override
+    void requestSubpartition() {
+        checkState(!isReleased, "RemoteShuffleInputChannel has been released already");
+
+        // the connection is opened lazily by the task thread, which reads the data
+        notifyChannelNonEmpty();
+    }
+
+    @Override
+    Optional<BufferAndAvailability> getNextBuffer() throws IOException {
+        checkError();
+
+        if (isReleased) {
+            return Optional.empty();
+        }
+
+        final Buffer buffer;
+        try {
+            SubpartitionReader reader = subpartitionReader;
+            if (reader == null) {
+                reader =
+                        workerClient.createSubpartitionReader(
+                                partitionId, consumedSubpartitionIndex);
+                subpartitionReader = reader;
+            }
+            buffer =
+                    reader.readBuffer(
+                            inputGate.getUnpooledSegment(),
+                            BufferRecycler.DummyBufferRecycler.INSTANCE);
+        } catch (IOException e) {
+            if (isReleased) {
+                throw new CancelTaskException(
+                        "Consumed subpartition of " + partitionId + " has been released.");
+            }
+            throw e;
+        }
+
+        if (buffer == null) {
+            throw new IOException(
+                    "Unexpected end of subpartition "
+                            + consumedSubpartitionIndex
+                            + " of partition "
+                            + partitionId
+                            + '.');
+        }
+
+        numBytesIn.inc(buffer.getSize());
+        numBuffersIn.inc();
+
+        final Buffer.DataType nextDataType =
+                isEndOfPartition(buffer) ? Buffer.DataType.NONE : Buffer.DataType.DATA_BUFFER;
+        return Optional.of(new BufferAndAvailability(buffer, nextDataType, 0, sequenceNumber++));
+    }
+
+    private boolean isEndOfPartition(Buffer buffer) throws IOException {
+        return !buffer.isBuffer()
+                && EventSerializer.fromBuffer(buffer, getClass().getClassLoader())
+                        instanceof EndOfPartitionEvent;
+    }
+
+    @Override
+    public void resumeConsumption() {
+        throw new UnsupportedOperationException(
+                "Blocking partitions do not need to resume the consumption.");
+    }
+
+    @Override
+    public void acknowledgeAllRecordsProcessed() {
+        // the partition is complete, nobody waits for the acknowledgement
+    }
+
+    // ------------------------------------------------------------------------
+    // Task events
+    // ------------------------------------------------------------------------
+
+    @Override
+    void sendTaskEvent(TaskEvent event) {
+        throw new UnsupportedOperationException(
+                "Task events can not be sent to the producer of a remote partition.");
+    }
+
+    // ------------------------------------------------------------------------
+    // Life cycle
+    // ------------------------------------------------------------------------
+
+    @Override
+    boolean isReleased() {
+        return isReleased;
+    }
+
+    /** Closes the connection to the shuffle worker. */
+    @Override
+    void releaseAllResources() {
+        if (!isReleased) {
+            isReleased = true;
+
+            final SubpartitionReader reader = subpartitionReader;
+            if (reader != null) {
+                reader.close();
+                subpartitionReader = null;
+            }
+        }
+    }
+
+    @Override
+    void announceBufferSize(int newBufferSize) {
+        // the buffers have been written by the producer already
+    }
+
+    @Override
+    int getBuffersInUseCount() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteShuffleInputChannel [" + partitionId + "]";
+    }
+}
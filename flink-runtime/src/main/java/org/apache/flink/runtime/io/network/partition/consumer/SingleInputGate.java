@@ -211,6 +211,16 @@ public class SingleInputGate extends IndexedInputGate {
 
     private final ThroughputCalculator throughputCalculator;
     private final BufferDebloater bufferDebloater;
+
+    /**
+     * Bytes received per channel since the last debloating, only tracked if the buffer size is
+     * debloated per channel.
+     */
+    @Nullable private final long[] channelDataSizes;
+
+    /** Shares the floating buffers among the remote channels, if enabled. */
+    @Nullable private final FloatingBufferFairShare floatingBufferFairShare;
+
     private boolean shouldDrainOnEndOfData = true;
 
     public SingleInputGate(
@@ -227,6 +237,38 @@ public class SingleInputGate extends IndexedInputGate {
             int segmentSize,
             ThroughputCalculator throughputCalculator,
             @Nullable BufferDebloater bufferDebloater) {
+        this(
+                owningTaskName,
+                gateIndex,
+                consumedResultId,
+                consumedPartitionType,
+                subpartitionIndexRange,
+                numberOfInputChannels,
+                partitionProducerStateProvider,
+                bufferPoolFactory,
+                bufferDecompressor,
+                memorySegmentProvider,
+                segmentSize,
+                throughputCalculator,
+                bufferDebloater,
+                null);
+    }
+
+    public SingleInputGate(
+            String owningTaskName,
+            int gateIndex,
+            IntermediateDataSetID consumedResultId,
+            final ResultPartitionType consumedPartitionType,
+            SubpartitionIndexRange subpartitionIndexRange,
+            int numberOfInputChannels,
+            PartitionProducerStateProvider partitionProducerStateProvider,
+            SupplierWithException<BufferPool, IOException> bufferPoolFactory,
+            @Nullable BufferDecompressor bufferDecompressor,
+            MemorySegmentProvider memorySegmentProvider,
+            int segmentSize,
+            ThroughputCalculator throughputCalculator,
+            @Nullable BufferDebloater bufferDebloater,
+            @Nullable FloatingBufferFairShare floatingBufferFairShare) {
 
         this.owningTaskName = checkNotNull(owningTaskName);
         Preconditions.checkArgument(0 <= gateIndex, "The gate index must be positive.");
@@ -258,7 +300,12 @@ public class SingleInputGate extends IndexedInputGate {
 
         this.unpooledSegment = MemorySegmentFactory.allocateUnpooledSegment(segmentSize);
         this.bufferDebloater = bufferDebloater;
+        this.channelDataSizes =
+                bufferDebloater != null && bufferDebloater.isPerChannel()
+                        ? new long[numberOfInputChannels]
+                        : null;
         this.throughputCalculator = checkNotNull(throughputCalculator);
+        this.floatingBufferFairShare = floatingBufferFairShare;
     }
 
     protected PrioritizedDeque<InputChannel> getInputChannelsWithData() {
@@ -412,15 +459,46 @@ public class SingleInputGate extends IndexedInputGate {
 
         checkState(bufferDebloater != null, "Buffer debloater should not be null");
         final long currentThroughput = throughputCalculator.calculateThroughput();
-        bufferDebloater
-                .recalculateBufferSize(currentThroughput, getBuffersInUseCount())
-                .ifPresent(this::announceBufferSize);
+        if (channelDataSizes != null) {
+            final int[] channelBuffersInUse = new int[numberOfInputChannels];
+            for (InputChannel channel : channels) {
+                channelBuffersInUse[channel.getChannelIndex()] = channel.getBuffersInUseCount();
+            }
+            bufferDebloater.recalculateChannelBufferSizes(
+                    currentThroughput,
+                    channelDataSizes,
+                    channelBuffersInUse,
+                    this::announceChannelBufferSize);
+            Arrays.fill(channelDataSizes, 0L);
+        } else {
+            bufferDebloater
+                    .recalculateBufferSize(currentThroughput, getBuffersInUseCount())
+                    .ifPresent(this::announceBufferSize);
+        }
+
+        if (bufferDebloater.isRedistributingFloatingBuffers() && bufferPool != null) {
+            bufferDebloater
+                    .recalculateDemandedNumberOfBuffers(bufferPool.getMaxNumberOfMemorySegments())
+                    .ifPresent(bufferPool::setNumberOfDemandedMemorySegments);
+        }
+    }
+
+    private void announceChannelBufferSize(int channelIndex, int newBufferSize) {
+        final InputChannel channel = channels[channelIndex];
+        if (!channel.isReleased()) {
+            channel.announceBufferSize(newBufferSize);
+        }
     }
 
     public Duration getLastEstimatedTimeToConsume() {
         return bufferDebloater.getLastEstimatedTimeToConsumeBuffers();
     }
 
+    @Nullable
+    public BufferDecompressor getBufferDecompressor() {
+        return bufferDecompressor;
+    }
+
     /**
      * Returns the type of this input channel's consumed result partition.
      *
@@ -438,6 +516,11 @@ public class SingleInputGate extends IndexedInputGate {
         return bufferPool;
     }
 
+    @Nullable
+    FloatingBufferFairShare getFloatingBufferFairShare() {
+        return floatingBufferFairShare;
+    }
+
     MemorySegmentProvider getMemorySegmentProvider() {
         return memorySegmentProvider;
     }
@@ -761,6 +844,9 @@ public class SingleInputGate extends IndexedInputGate {
                         inputWithData.input,
                         inputWithData.morePriorityEvents);
         throughputCalculator.incomingDataSize(bufferOrEvent.getSize());
+        if (channelDataSizes != null) {
+            channelDataSizes[inputWithData.input.getChannelIndex()] += bufferOrEvent.getSize();
+        }
         return Optional.of(bufferOrEvent);
     }
 
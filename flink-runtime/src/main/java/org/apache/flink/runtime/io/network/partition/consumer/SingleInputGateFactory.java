@@ -23,6 +23,7 @@ import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.deployment.InputGateDeploymentDescriptor;
 import org.apache.flink.runtime.deployment.SubpartitionIndexRange;
+import org.apache.flink.runtime.io.compression.BlockCompressionFactory;
 import org.apache.flink.runtime.io.network.ConnectionManager;
 import org.apache.flink.runtime.io.network.NettyShuffleEnvironment;
 import org.apache.flink.runtime.io.network.TaskEventPublisher;
@@ -37,8 +38,10 @@ import org.apache.flink.runtime.io.network.partition.ResultPartitionManager;
 import org.apache.flink.runtime.metrics.MetricNames;
 import org.apache.flink.runtime.shuffle.NettyShuffleDescriptor;
 import org.apache.flink.runtime.shuffle.NettyShuffleUtils;
+import org.apache.flink.runtime.shuffle.RemoteShuffleDescriptor;
 import org.apache.flink.runtime.shuffle.ShuffleDescriptor;
 import org.apache.flink.runtime.shuffle.ShuffleIOOwnerContext;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient;
 import org.apache.flink.runtime.taskmanager.NettyShuffleEnvironmentConfiguration;
 import org.apache.flink.runtime.throughput.BufferDebloatConfiguration;
 import org.apache.flink.runtime.throughput.BufferDebloater;
@@ -52,6 +55,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.IOException;
 
@@ -81,12 +85,14 @@ public class SingleInputGateFactory {
 
     private final boolean blockingShuffleCompressionEnabled;
 
-    private final String compressionCodec;
+    @Nullable private final BlockCompressionFactory compressionFactory;
 
     private final int networkBufferSize;
 
     private final BufferDebloatConfiguration debloatConfiguration;
 
+    private final boolean fairFloatingBuffersEnabled;
+
     public SingleInputGateFactory(
             @Nonnull ResourceID taskExecutorResourceId,
             @Nonnull NettyShuffleEnvironmentConfiguration networkConfig,
@@ -103,13 +109,20 @@ public class SingleInputGateFactory {
         this.floatingNetworkBuffersPerGate = networkConfig.floatingNetworkBuffersPerGate();
         this.blockingShuffleCompressionEnabled =
                 networkConfig.isBlockingShuffleCompressionEnabled();
-        this.compressionCodec = networkConfig.getCompressionCodec();
+        this.compressionFactory =
+                blockingShuffleCompressionEnabled
+                        ? BlockCompressionFactory.createBlockCompressionFactory(
+                                networkConfig.getCompressionCodec(),
+                                networkConfig.getZstdCompressionLevel(),
+                                networkConfig.getZstdDictionaryPath())
+                        : null;
         this.networkBufferSize = networkConfig.networkBufferSize();
         this.connectionManager = connectionManager;
         this.partitionManager = partitionManager;
         this.taskEventPublisher = taskEventPublisher;
         this.networkBufferPool = networkBufferPool;
         this.debloatConfiguration = networkConfig.getDebloatConfiguration();
+        this.fairFloatingBuffersEnabled = networkConfig.isFairFloatingBuffersEnabled();
     }
 
     /** Creates an input gate and all of its input channels. */
@@ -123,7 +136,7 @@ public class SingleInputGateFactory {
 
         BufferDecompressor bufferDecompressor = null;
         if (igdd.getConsumedPartitionType().isBlocking() && blockingShuffleCompressionEnabled) {
-            bufferDecompressor = new BufferDecompressor(networkBufferSize, compressionCodec);
+            bufferDecompressor = new BufferDecompressor(networkBufferSize, compressionFactory);
         }
 
         final String owningTaskName = owner.getOwnerName();
@@ -146,7 +159,8 @@ public class SingleInputGateFactory {
                         networkBufferSize,
                         new ThroughputCalculator(SystemClock.getInstance()),
                         maybeCreateBufferDebloater(
-                                gateIndex, networkInputGroup.addGroup(gateIndex)));
+                                gateIndex, networkInputGroup.addGroup(gateIndex)),
+                        fairFloatingBuffersEnabled ? new FloatingBufferFairShare() : null);
 
         InputChannelMetrics metrics =
                 new InputChannelMetrics(networkInputGroup, owner.getParentGroup());
@@ -163,11 +177,17 @@ public class SingleInputGateFactory {
                             debloatConfiguration.getMaxBufferSize(),
                             debloatConfiguration.getMinBufferSize(),
                             debloatConfiguration.getBufferDebloatThresholdPercentages(),
-                            debloatConfiguration.getNumberOfSamples());
+                            debloatConfiguration.getNumberOfSamples(),
+                            debloatConfiguration.isPerChannel(),
+                            debloatConfiguration.getController(),
+                            debloatConfiguration.isRedistributeFloatingBuffers());
             inputGroup.gauge(
                     MetricNames.ESTIMATED_TIME_TO_CONSUME_BUFFERS,
                     () -> bufferDebloater.getLastEstimatedTimeToConsumeBuffers().toMillis());
             inputGroup.gauge(MetricNames.DEBLOATED_BUFFER_SIZE, bufferDebloater::getLastBufferSize);
+            inputGroup.gauge(
+                    MetricNames.DEBLOATED_BUFFER_SIZE_TARGET,
+                    bufferDebloater::getLastDesiredBufferSize);
             return bufferDebloater;
         }
 
@@ -223,6 +243,22 @@ public class SingleInputGateFactory {
             int consumedSubpartitionIndex,
             ChannelStatistics channelStatistics,
             InputChannelMetrics metrics) {
+        if (shuffleDescriptor instanceof RemoteShuffleDescriptor) {
+            channelStatistics.numRemoteChannels++;
+            RemoteShuffleDescriptor remoteShuffleDescriptor =
+                    (RemoteShuffleDescriptor) shuffleDescriptor;
+            return new RemoteShuffleInputChannel(
+                    inputGate,
+                    index,
+                    remoteShuffleDescriptor.getResultPartitionID(),
+                    consumedSubpartitionIndex,
+                    new ShuffleWorkerClient(
+                            remoteShuffleDescriptor.getWorkerHost(),
+                            remoteShuffleDescriptor.getWorkerPort()),
+                    metrics.getNumBytesInRemoteCounter(),
+                    metrics.getNumBuffersInRemoteCounter());
+        }
+
         return applyWithShuffleTypeCheck(
                 NettyShuffleDescriptor.class,
                 shuffleDescriptor,
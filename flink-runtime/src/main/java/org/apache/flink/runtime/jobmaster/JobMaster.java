@@ -75,6 +75,7 @@ import org.apache.flink.runtime.rpc.RpcService;
 import org.apache.flink.runtime.rpc.RpcServiceUtils;
 import org.apache.flink.runtime.scheduler.ExecutionGraphInfo;
 import org.apache.flink.runtime.scheduler.SchedulerNG;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
 import org.apache.flink.runtime.shuffle.JobShuffleContext;
 import org.apache.flink.runtime.shuffle.JobShuffleContextImpl;
 import org.apache.flink.runtime.shuffle.ShuffleMaster;
@@ -884,6 +885,12 @@ public class JobMaster extends PermanentlyFencedRpcEndpoint<JobMasterId>
         }
     }
 
+    @Override
+    public CompletableFuture<RescaleCostEstimate> estimateRescaleCost(
+            Map<JobVertexID, Integer> proposedParallelism, Time timeout) {
+        return schedulerNG.estimateRescaleCost(proposedParallelism);
+    }
+
     @Override
     public CompletableFuture<?> stopTrackingAndReleasePartitions(
             Collection<ResultPartitionID> partitionIds) {
@@ -1393,6 +1400,7 @@ public class JobMaster extends PermanentlyFencedRpcEndpoint<JobMasterId>
                     payload.getAccumulatorReport().getAccumulatorSnapshots()) {
                 schedulerNG.updateAccumulators(snapshot);
             }
+            schedulerNG.updateLoadMetrics(payload.getLoadMetrics());
         }
 
         @Override
@@ -44,6 +44,7 @@ import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.runtime.rpc.FencedRpcGateway;
 import org.apache.flink.runtime.rpc.RpcTimeout;
 import org.apache.flink.runtime.scheduler.ExecutionGraphInfo;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
 import org.apache.flink.runtime.slots.ResourceRequirement;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorToJobManagerHeartbeatPayload;
 import org.apache.flink.runtime.taskexecutor.slot.SlotOffer;
@@ -53,6 +54,7 @@ import org.apache.flink.util.SerializedValue;
 import javax.annotation.Nullable;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /** {@link JobMaster} rpc gateway interface. */
@@ -302,6 +304,19 @@ public interface JobMasterGateway
             SerializedValue<CoordinationRequest> serializedRequest,
             @RpcTimeout Time timeout);
 
+    /**
+     * Estimates the cost of rescaling the job to the proposed parallelism without triggering the
+     * rescale operation.
+     *
+     * @param proposedParallelism new parallelism per vertex; vertices which are not contained keep
+     *     their current parallelism
+     * @param timeout for the rpc call
+     * @return A future containing the estimated cost. The future will fail if the job is not
+     *     running, the scheduler does not support rescaling or the proposed parallelism is invalid.
+     */
+    CompletableFuture<RescaleCostEstimate> estimateRescaleCost(
+            Map<JobVertexID, Integer> proposedParallelism, @RpcTimeout Time timeout);
+
     /**
      * Notifies the {@link org.apache.flink.runtime.io.network.partition.JobMasterPartitionTracker}
      * to stop tracking the target result partitions and release the locally occupied resources on
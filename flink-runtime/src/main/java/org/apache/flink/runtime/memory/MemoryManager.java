@@ -76,8 +76,6 @@ public class MemoryManager {
 
     private final long pageSize;
 
-    private final long totalNumberOfPages;
-
     private final UnsafeMemoryBudget memoryBudget;
 
     private final SharedResources sharedResources;
@@ -96,11 +94,10 @@ public class MemoryManager {
 
         this.pageSize = pageSize;
         this.memoryBudget = new UnsafeMemoryBudget(memorySize);
-        this.totalNumberOfPages = memorySize / pageSize;
         this.allocatedSegments = new ConcurrentHashMap<>();
         this.reservedMemory = new ConcurrentHashMap<>();
         this.sharedResources = new SharedResources();
-        verifyIntTotalNumberOfPages(memorySize, totalNumberOfPages);
+        verifyIntTotalNumberOfPages(memorySize, memorySize / pageSize);
 
         LOG.debug(
                 "Initialized MemoryManager with total memory size {} and page size {}.",
@@ -213,6 +210,7 @@ public class MemoryManager {
         // sanity check
         Preconditions.checkNotNull(owner, "The memory owner must not be null.");
         Preconditions.checkState(!isShutDown, "Memory manager has been shut down.");
+        final long totalNumberOfPages = getTotalNumberOfPages();
         Preconditions.checkArgument(
                 numberOfPages <= totalNumberOfPages,
                 "Cannot allocate more segments %s than the max number %s",
@@ -597,6 +595,36 @@ public class MemoryManager {
         return new OpaqueMemoryResource<>(resource.resourceHandle(), resource.size(), disposer);
     }
 
+    // ------------------------------------------------------------------------
+    //  Resizing
+    // ------------------------------------------------------------------------
+
+    /**
+     * Changes the total size of the memory managed by this memory manager in place.
+     *
+     * <p>Growing always succeeds. Shrinking succeeds only if the memory to give up is neither
+     * allocated nor reserved; otherwise, the size remains unchanged. Shared resources which already
+     * exist keep their size, while the ones created afterwards are sized according to the new total
+     * memory.
+     *
+     * @param newMemorySize The new total size of the memory managed by this memory manager.
+     * @throws MemoryReservationException Thrown, if the memory to give up is still in use.
+     */
+    public void resize(long newMemorySize) throws MemoryReservationException {
+        Preconditions.checkState(!isShutDown, "Memory manager has been shut down.");
+        Preconditions.checkArgument(
+                newMemorySize >= 0L, "Size of total memory must be non-negative.");
+        verifyIntTotalNumberOfPages(newMemorySize, newMemorySize / pageSize);
+
+        final long previousMemorySize = memoryBudget.getTotalMemorySize();
+        memoryBudget.resize(newMemorySize);
+
+        LOG.debug(
+                "Resized MemoryManager from total memory size {} to {}.",
+                previousMemorySize,
+                newMemorySize);
+    }
+
     // ------------------------------------------------------------------------
     //  Properties, sizes and size conversions
     // ------------------------------------------------------------------------
@@ -639,7 +667,11 @@ public class MemoryManager {
     public int computeNumberOfPages(double fraction) {
         validateFraction(fraction);
 
-        return (int) (totalNumberOfPages * fraction);
+        return (int) (getTotalNumberOfPages() * fraction);
+    }
+
+    private long getTotalNumberOfPages() {
+        return memoryBudget.getTotalMemorySize() / pageSize;
     }
 
     /**
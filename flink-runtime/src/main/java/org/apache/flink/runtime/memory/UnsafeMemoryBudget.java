@@ -25,7 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
 /** Tracker of memory reservation and release within a custom limit. */
 class UnsafeMemoryBudget {
 
-    private final long totalMemorySize;
+    private volatile long totalMemorySize;
 
     private final AtomicLong availableMemorySize;
 
@@ -42,6 +42,25 @@ class UnsafeMemoryBudget {
         return availableMemorySize.get();
     }
 
+    /**
+     * Changes the total size of this budget. Growing always succeeds while shrinking requires the
+     * memory to give up to be available.
+     *
+     * <p>The total size never drops below the available size plus the memory in use, so that
+     * concurrent releases do not fail: growing raises the total size before the available size,
+     * shrinking reserves the memory to give up before lowering the total size.
+     */
+    synchronized void resize(long newTotalMemorySize) throws MemoryReservationException {
+        long delta = newTotalMemorySize - totalMemorySize;
+        if (delta < 0) {
+            reserveMemory(-delta);
+            totalMemorySize = newTotalMemorySize;
+        } else {
+            totalMemorySize = newTotalMemorySize;
+            availableMemorySize.addAndGet(delta);
+        }
+    }
+
     boolean verifyEmpty() {
         try {
             reserveMemory(totalMemorySize);
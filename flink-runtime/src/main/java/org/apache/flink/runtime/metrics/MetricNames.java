@@ -82,6 +82,7 @@ public class MetricNames {
     public static final String ESTIMATED_TIME_TO_CONSUME_BUFFERS =
             "estimatedTimeToConsumeBuffersMs";
     public static final String DEBLOATED_BUFFER_SIZE = "debloatedBufferSize";
+    public static final String DEBLOATED_BUFFER_SIZE_TARGET = "debloatedBufferSizeTarget";
 
     // FLIP-33 sink
     public static final String NUM_RECORDS_OUT_ERRORS = "numRecordsOutErrors";
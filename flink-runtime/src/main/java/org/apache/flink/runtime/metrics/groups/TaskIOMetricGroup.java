@@ -24,6 +24,7 @@ import org.apache.flink.metrics.Meter;
 import org.apache.flink.metrics.MeterView;
 import org.apache.flink.metrics.SimpleCounter;
 import org.apache.flink.runtime.executiongraph.IOMetrics;
+import org.apache.flink.runtime.executiongraph.LoadMetrics;
 import org.apache.flink.runtime.jobgraph.IntermediateResultPartitionID;
 import org.apache.flink.runtime.metrics.MetricNames;
 import org.apache.flink.runtime.metrics.TimerGauge;
@@ -111,6 +112,14 @@ public class TaskIOMetricGroup extends ProxyMetricGroup<TaskMetricGroup> {
                 numBytesProducedOfPartitions);
     }
 
+    public LoadMetrics createLoadSnapshot() {
+        return new LoadMetrics(
+                getBusyTimePerSecond(),
+                getBackPressuredTimeMsPerSecond(),
+                numRecordsInRate.getRate(),
+                numRecordsOutRate.getRate());
+    }
+
     // ============================================================================================
     // Getters
     // ============================================================================================
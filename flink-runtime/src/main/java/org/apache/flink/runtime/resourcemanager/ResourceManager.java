@@ -558,6 +558,16 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
         }
     }
 
+    @Override
+    public CompletableFuture<Acknowledge> resizeSlot(
+            final AllocationID allocationId,
+            final ResourceProfile newResourceProfile,
+            final Time timeout) {
+        return slotManager
+                .resizeSlot(allocationId, newResourceProfile)
+                .thenApply(ignored -> Acknowledge.get());
+    }
+
     /**
      * Cleanup application and shut down cluster.
      *
@@ -1184,6 +1194,12 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
      */
     public abstract boolean stopWorker(WorkerType worker);
 
+    /**
+     * Releases the requested workers which have not been registered yet and are no longer
+     * required. Resource managers which do not request workers themselves have nothing to release.
+     */
+    protected void releaseUnneededPendingWorkers() {}
+
     /**
      * Set {@link SlotManager} whether to fail unfulfillable slot requests.
      *
@@ -1238,6 +1254,12 @@ public abstract class ResourceManager<WorkerType extends ResourceIDRetrievable>
             return startNewWorker(workerResourceSpec);
         }
 
+        @Override
+        public void releaseUnneededPendingResources() {
+            validateRunsInMainThread();
+            releaseUnneededPendingWorkers();
+        }
+
         @Override
         public void notifyAllocationFailure(
                 JobID jobId, AllocationID allocationId, Exception cause) {
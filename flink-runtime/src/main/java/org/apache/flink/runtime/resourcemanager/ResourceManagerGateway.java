@@ -27,6 +27,7 @@ import org.apache.flink.runtime.blob.TransientBlobKey;
 import org.apache.flink.runtime.clusterframework.ApplicationStatus;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.clusterframework.types.SlotID;
 import org.apache.flink.runtime.instance.InstanceID;
 import org.apache.flink.runtime.io.network.partition.ClusterPartitionManager;
@@ -120,6 +121,20 @@ public interface ResourceManagerGateway
      */
     void notifySlotAvailable(InstanceID instanceId, SlotID slotID, AllocationID oldAllocationId);
 
+    /**
+     * Resizes the allocated slot of the given allocation in place on its TaskExecutor. This is
+     * only supported under fine-grained resource management.
+     *
+     * @param allocationId of the slot to resize
+     * @param newResourceProfile the slot is resized to
+     * @param timeout of the operation
+     * @return Future acknowledge which is completed once the slot has been resized
+     */
+    CompletableFuture<Acknowledge> resizeSlot(
+            AllocationID allocationId,
+            ResourceProfile newResourceProfile,
+            @RpcTimeout Time timeout);
+
     /**
      * Deregister Flink from the underlying resource management system.
      *
@@ -47,6 +47,7 @@ import org.apache.flink.util.concurrent.ScheduledExecutor;
 import javax.annotation.Nullable;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -196,6 +197,24 @@ public class ActiveResourceManager<WorkerType extends ResourceIDRetrievable>
         return true;
     }
 
+    @Override
+    protected void releaseUnneededPendingWorkers() {
+        final Map<WorkerResourceSpec, Integer> requiredResources = getRequiredResources();
+
+        for (Map.Entry<ResourceID, WorkerResourceSpec> unregisteredWorker :
+                new ArrayList<>(currentAttemptUnregisteredWorkers.entrySet())) {
+            final WorkerResourceSpec workerResourceSpec = unregisteredWorker.getValue();
+            if (pendingWorkerCounter.getNum(workerResourceSpec)
+                    > requiredResources.getOrDefault(workerResourceSpec, 0)) {
+                log.info(
+                        "Releasing worker {} with resource spec {}, because it is no longer required.",
+                        unregisteredWorker.getKey().getStringWithMetadata(),
+                        workerResourceSpec);
+                internalStopWorker(unregisteredWorker.getKey());
+            }
+        }
+    }
+
     @Override
     protected void onWorkerRegistered(WorkerType worker) {
         final ResourceID resourceId = worker.getResourceID();
@@ -74,6 +74,9 @@ public class DeclarativeSlotManager implements SlotManager {
 
     private final SlotMatchingStrategy slotMatchingStrategy;
 
+    /** Release pending slots once the resource requirements no longer need them. */
+    private final boolean releaseUnneededPendingWorkers;
+
     private final SlotManagerMetricGroup slotManagerMetricGroup;
 
     private final Map<JobID, String> jobMasterTargetAddresses = new HashMap<>();
@@ -111,6 +114,7 @@ public class DeclarativeSlotManager implements SlotManager {
         slotTracker.registerSlotStatusUpdateListener(createSlotStatusUpdateListener());
 
         slotMatchingStrategy = slotManagerConfiguration.getSlotMatchingStrategy();
+        releaseUnneededPendingWorkers = slotManagerConfiguration.isReleaseUnneededPendingWorkers();
 
         taskExecutorManagerFactory =
                 (executor, resourceActions) ->
@@ -410,6 +414,14 @@ public class DeclarativeSlotManager implements SlotManager {
         checkResourceRequirements();
     }
 
+    @Override
+    public CompletableFuture<Void> resizeSlot(
+            AllocationID allocationId, ResourceProfile newResourceProfile) {
+        return FutureUtils.completedExceptionally(
+                new UnsupportedOperationException(
+                        "Slots can only be resized under fine-grained resource management."));
+    }
+
     // ---------------------------------------------------------------------------------------------
     // Requirement matching
     // ---------------------------------------------------------------------------------------------
@@ -444,6 +456,7 @@ public class DeclarativeSlotManager implements SlotManager {
         final Map<JobID, Collection<ResourceRequirement>> missingResources =
                 resourceTracker.getMissingResources();
         if (missingResources.isEmpty()) {
+            checkStandbySlots(taskExecutorManager.getNumberPendingTaskManagerSlots());
             return;
         }
 
@@ -459,6 +472,7 @@ public class DeclarativeSlotManager implements SlotManager {
             }
         }
         if (unfulfilledRequirements.isEmpty()) {
+            checkStandbySlots(taskExecutorManager.getNumberPendingTaskManagerSlots());
             return;
         }
 
@@ -478,6 +492,27 @@ public class DeclarativeSlotManager implements SlotManager {
                             unfulfilledRequirement.getValue().getResourcesWithCount(),
                             pendingSlots);
         }
+        // whatever is left over has not been matched against any requirement
+        checkStandbySlots(pendingSlots.getTotalResourceCount());
+    }
+
+    /**
+     * Keeps the standby slots, i.e. the free slots and the pending slots which are not needed by
+     * any requirement, at the slots of the redundant task managers. The standby slots are
+     * replenished as soon as a job takes some of them, so that the next scale-out finds registered
+     * task managers, and unneeded pending slots beyond them are released if configured.
+     *
+     * @param numUnassignedPendingSlots number of pending slots which have not been matched against
+     *     any requirement
+     */
+    private void checkStandbySlots(int numUnassignedPendingSlots) {
+        final int numFreeSlots = slotTracker.getFreeSlots().size();
+        taskExecutorManager.allocateRedundantTaskManagersIfRequired(
+                numFreeSlots + numUnassignedPendingSlots);
+        if (releaseUnneededPendingWorkers && numUnassignedPendingSlots > 0) {
+            taskExecutorManager.releaseUnneededPendingSlots(
+                    numUnassignedPendingSlots, numFreeSlots);
+        }
     }
 
     private ResourceCounter tryAllocateSlotsForJob(
@@ -220,6 +220,117 @@ public class DefaultSlotStatusSyncer implements SlotStatusSyncer {
                 SlotState.FREE);
     }
 
+    @Override
+    public CompletableFuture<Void> resizeSlot(
+            AllocationID allocationId, ResourceProfile newResourceProfile) {
+        Preconditions.checkNotNull(allocationId);
+        Preconditions.checkNotNull(newResourceProfile);
+        checkStarted();
+
+        final Optional<TaskManagerSlotInformation> slotOptional =
+                taskManagerTracker.getAllocatedOrPendingSlot(allocationId);
+        if (!slotOptional.isPresent() || slotOptional.get().getState() != SlotState.ALLOCATED) {
+            return FutureUtils.completedExceptionally(
+                    new IllegalStateException(
+                            "Could not resize slot " + allocationId + " which is not allocated."));
+        }
+
+        final TaskManagerSlotInformation slot = slotOptional.get();
+        final ResourceProfile previousResourceProfile = slot.getCurrentResourceProfile();
+        final Optional<TaskManagerInfo> taskManager =
+                taskManagerTracker.getRegisteredTaskManager(slot.getInstanceId());
+        Preconditions.checkState(
+                taskManager.isPresent(),
+                "Could not find a registered task manager for instance id "
+                        + slot.getInstanceId()
+                        + '.');
+        if (!canResize(taskManager.get(), previousResourceProfile, newResourceProfile)) {
+            return FutureUtils.completedExceptionally(
+                    new IllegalStateException(
+                            String.format(
+                                    "Could not resize slot %s to %s, because task manager %s has not enough resources available.",
+                                    allocationId,
+                                    newResourceProfile,
+                                    taskManager
+                                            .get()
+                                            .getTaskExecutorConnection()
+                                            .getResourceID())));
+        }
+
+        LOG.info(
+                "Starting resize of slot {} from {} to {}.",
+                allocationId,
+                previousResourceProfile,
+                newResourceProfile);
+
+        // reserve the new resources before the resize, so that they are not allocated to other
+        // slots in the meantime
+        taskManagerTracker.notifySlotResized(allocationId, newResourceProfile);
+
+        // RPC call to the task manager
+        final CompletableFuture<Acknowledge> requestFuture =
+                taskManager
+                        .get()
+                        .getTaskExecutorConnection()
+                        .getTaskExecutorGateway()
+                        .resizeSlot(allocationId, newResourceProfile, taskManagerRequestTimeout);
+
+        final CompletableFuture<Void> returnedFuture = new CompletableFuture<>();
+
+        FutureUtils.assertNoException(
+                requestFuture.handleAsync(
+                        (Acknowledge acknowledge, Throwable throwable) -> {
+                            if (acknowledge != null) {
+                                LOG.trace("Completed resize of slot {}.", allocationId);
+                                returnedFuture.complete(null);
+                            } else {
+                                LOG.warn("Resize of slot {} failed.", allocationId, throwable);
+                                revertResize(
+                                        allocationId, newResourceProfile, previousResourceProfile);
+                                returnedFuture.completeExceptionally(throwable);
+                            }
+                            return null;
+                        },
+                        mainThreadExecutor));
+        return returnedFuture;
+    }
+
+    private void revertResize(
+            AllocationID allocationId,
+            ResourceProfile newResourceProfile,
+            ResourceProfile previousResourceProfile) {
+        final Optional<TaskManagerSlotInformation> slot =
+                taskManagerTracker.getAllocatedOrPendingSlot(allocationId);
+        if (!slot.isPresent()
+                || !slot.get().getCurrentResourceProfile().equals(newResourceProfile)) {
+            LOG.debug(
+                    "The slot {} has been freed or resized again before. Ignore the failed resize.",
+                    allocationId);
+            return;
+        }
+
+        final Optional<TaskManagerInfo> taskManager =
+                taskManagerTracker.getRegisteredTaskManager(slot.get().getInstanceId());
+        if (taskManager.isPresent()
+                && canResize(taskManager.get(), newResourceProfile, previousResourceProfile)) {
+            taskManagerTracker.notifySlotResized(allocationId, previousResourceProfile);
+        } else {
+            LOG.warn(
+                    "Could not revert the resize of slot {}, because the released resources have been allocated in the meantime.",
+                    allocationId);
+        }
+    }
+
+    private static boolean canResize(
+            TaskManagerInfo taskManager,
+            ResourceProfile currentResourceProfile,
+            ResourceProfile newResourceProfile) {
+        return taskManager
+                .getAvailableResource()
+                .merge(currentResourceProfile)
+                .allFieldsNoLessThan(newResourceProfile);
+    }
+
     @Override
     public boolean reportSlotStatus(InstanceID instanceId, SlotReport slotReport) {
         Preconditions.checkNotNull(slotReport);
@@ -94,6 +94,9 @@ public class FineGrainedSlotManager implements SlotManager {
     private final CPUResource maxTotalCpu;
     private final MemorySize maxTotalMem;
 
+    /** Release pending task managers once the resource requirements no longer need them. */
+    private final boolean releaseUnneededPendingWorkers;
+
     private boolean sendNotEnoughResourceNotifications = true;
 
     private final Set<JobID> unfulfillableJobs = new HashSet<>();
@@ -141,6 +144,8 @@ public class FineGrainedSlotManager implements SlotManager {
 
         this.maxTotalCpu = Preconditions.checkNotNull(slotManagerConfiguration.getMaxTotalCpu());
         this.maxTotalMem = Preconditions.checkNotNull(slotManagerConfiguration.getMaxTotalMem());
+        this.releaseUnneededPendingWorkers =
+                slotManagerConfiguration.isReleaseUnneededPendingWorkers();
 
         resourceManagerId = null;
         resourceActions = null;
@@ -476,6 +481,19 @@ public class FineGrainedSlotManager implements SlotManager {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> resizeSlot(
+            AllocationID allocationId, ResourceProfile newResourceProfile) {
+        checkInit();
+        LOG.debug("Resizing slot {} to {}.", allocationId, newResourceProfile);
+
+        return slotStatusSyncer
+                .resizeSlot(allocationId, newResourceProfile)
+                .whenCompleteAsync(
+                        (ignored, throwable) -> checkResourceRequirementsWithDelay(),
+                        mainThreadExecutor);
+    }
+
     // ---------------------------------------------------------------------------------------------
     // Requirement matching
     // ---------------------------------------------------------------------------------------------
@@ -512,6 +530,10 @@ public class FineGrainedSlotManager implements SlotManager {
         Map<JobID, Collection<ResourceRequirement>> missingResources =
                 resourceTracker.getMissingResources();
         if (missingResources.isEmpty()) {
+            if (releaseUnneededPendingWorkers) {
+                taskManagerTracker.replaceAllPendingAllocations(Collections.emptyMap());
+                releaseUnneededPendingTaskManagers();
+            }
             return;
         }
 
@@ -540,6 +562,10 @@ public class FineGrainedSlotManager implements SlotManager {
         pendingResourceAllocationResult.keySet().removeAll(failAllocations);
         taskManagerTracker.replaceAllPendingAllocations(pendingResourceAllocationResult);
 
+        if (releaseUnneededPendingWorkers) {
+            releaseUnneededPendingTaskManagers();
+        }
+
         unfulfillableJobs.clear();
         unfulfillableJobs.addAll(result.getUnfulfillableJobs());
         for (PendingTaskManagerId pendingTaskManagerId : failAllocations) {
@@ -556,6 +582,32 @@ public class FineGrainedSlotManager implements SlotManager {
         }
     }
 
+    /**
+     * Removes the pending task managers which no slot allocation has been recorded for, i.e. which
+     * the current resource requirements no longer need, and lets the resource manager release the
+     * corresponding requested workers which haven't registered yet.
+     */
+    private void releaseUnneededPendingTaskManagers() {
+        final List<PendingTaskManagerId> unneededPendingTaskManagers =
+                taskManagerTracker.getPendingTaskManagers().stream()
+                        .map(PendingTaskManager::getPendingTaskManagerId)
+                        .filter(
+                                id ->
+                                        taskManagerTracker
+                                                .getPendingAllocationsOfPendingTaskManager(id)
+                                                .isEmpty())
+                        .collect(Collectors.toList());
+        if (unneededPendingTaskManagers.isEmpty()) {
+            return;
+        }
+
+        LOG.info(
+                "Releasing {} pending task managers which are no longer needed.",
+                unneededPendingTaskManagers.size());
+        unneededPendingTaskManagers.forEach(taskManagerTracker::removePendingTaskManager);
+        resourceActions.releaseUnneededPendingResources();
+    }
+
     private void allocateSlotsAccordingTo(Map<JobID, Map<InstanceID, ResourceCounter>> result) {
         final List<CompletableFuture<Void>> allocationFutures = new ArrayList<>();
         for (Map.Entry<JobID, Map<InstanceID, ResourceCounter>> jobEntry : result.entrySet()) {
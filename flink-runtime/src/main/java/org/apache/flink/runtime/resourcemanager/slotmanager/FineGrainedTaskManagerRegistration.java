@@ -125,7 +125,7 @@ public class FineGrainedTaskManagerRegistration implements TaskManagerInfo {
         if (taskManagerSlot.getState() == SlotState.PENDING) {
             pendingResource = pendingResource.subtract(taskManagerSlot.getResourceProfile());
         } else {
-            unusedResource = unusedResource.merge(taskManagerSlot.getResourceProfile());
+            unusedResource = unusedResource.merge(taskManagerSlot.getCurrentResourceProfile());
         }
 
         if (slots.isEmpty()) {
@@ -154,7 +154,8 @@ public class FineGrainedTaskManagerRegistration implements TaskManagerInfo {
                 pendingResource = newPendingResource;
                 break;
             case ALLOCATED:
-                unusedResource = unusedResource.subtract(taskManagerSlot.getResourceProfile());
+                unusedResource =
+                        unusedResource.subtract(taskManagerSlot.getCurrentResourceProfile());
                 break;
             default:
                 throw new IllegalStateException(
@@ -163,4 +164,20 @@ public class FineGrainedTaskManagerRegistration implements TaskManagerInfo {
         slots.put(allocationId, taskManagerSlot);
         idleSince = Long.MAX_VALUE;
     }
+
+    public void notifySlotResized(AllocationID allocationId, ResourceProfile newResourceProfile) {
+        Preconditions.checkNotNull(allocationId);
+        Preconditions.checkNotNull(newResourceProfile);
+        FineGrainedTaskManagerSlot slot = Preconditions.checkNotNull(slots.get(allocationId));
+        Preconditions.checkState(slot.getState() == SlotState.ALLOCATED);
+
+        Preconditions.checkState(
+                getAvailableResource()
+                        .merge(slot.getCurrentResourceProfile())
+                        .allFieldsNoLessThan(newResourceProfile),
+                "The resized slot exceeds the available resource of the task manager.");
+        unusedResource =
+                unusedResource.merge(slot.getCurrentResourceProfile()).subtract(newResourceProfile);
+        slot.resize(newResourceProfile);
+    }
 }
@@ -36,9 +36,12 @@ import static org.apache.flink.util.Preconditions.checkNotNull;
  * <p>Note that it should not in the state of {@link SlotState#FREE}.
  */
 public class FineGrainedTaskManagerSlot implements TaskManagerSlotInformation {
-    /** The resource profile of this slot. */
+    /** The resource profile this slot has been allocated with. */
     private final ResourceProfile resourceProfile;
 
+    /** The current resource profile of this slot, which may differ after a resize. */
+    private ResourceProfile currentResourceProfile;
+
     /** Gateway to the TaskExecutor which owns the slot. */
     private final TaskExecutorConnection taskManagerConnection;
 
@@ -58,6 +61,7 @@ public class FineGrainedTaskManagerSlot implements TaskManagerSlotInformation {
             TaskExecutorConnection taskManagerConnection,
             SlotState slotState) {
         this.resourceProfile = checkNotNull(resourceProfile);
+        this.currentResourceProfile = resourceProfile;
         this.taskManagerConnection = checkNotNull(taskManagerConnection);
         this.allocationId = checkNotNull(allocationId);
         this.jobId = checkNotNull(jobId);
@@ -72,6 +76,11 @@ public class FineGrainedTaskManagerSlot implements TaskManagerSlotInformation {
         return resourceProfile;
     }
 
+    @Override
+    public ResourceProfile getCurrentResourceProfile() {
+        return currentResourceProfile;
+    }
+
     @Override
     public SlotState getState() {
         return state;
@@ -109,4 +118,11 @@ public class FineGrainedTaskManagerSlot implements TaskManagerSlotInformation {
 
         state = SlotState.ALLOCATED;
     }
+
+    void resize(ResourceProfile newResourceProfile) {
+        Preconditions.checkState(
+                state == SlotState.ALLOCATED, "In order to resize a slot, it has to be allocated.");
+
+        currentResourceProfile = checkNotNull(newResourceProfile);
+    }
 }
@@ -178,6 +178,22 @@ public class FineGrainedTaskManagerTracker implements TaskManagerTracker {
         }
     }
 
+    @Override
+    public void notifySlotResized(AllocationID allocationId, ResourceProfile newResourceProfile) {
+        Preconditions.checkNotNull(allocationId);
+        Preconditions.checkNotNull(newResourceProfile);
+        final FineGrainedTaskManagerSlot slot =
+                Preconditions.checkNotNull(slots.get(allocationId));
+        final FineGrainedTaskManagerRegistration taskManager =
+                Preconditions.checkNotNull(taskManagerRegistrations.get(slot.getInstanceId()));
+        LOG.debug(
+                "Resize slot with allocationId {} from {} to {}.",
+                allocationId,
+                slot.getCurrentResourceProfile(),
+                newResourceProfile);
+        taskManager.notifySlotResized(allocationId, newResourceProfile);
+    }
+
     private void freeSlot(InstanceID instanceId, AllocationID allocationId) {
         final FineGrainedTaskManagerRegistration taskManager =
                 Preconditions.checkNotNull(taskManagerRegistrations.get(instanceId));
@@ -45,6 +45,12 @@ public interface ResourceActions {
      */
     boolean allocateResource(WorkerResourceSpec workerResourceSpec);
 
+    /**
+     * Releases the requested resources which have not been registered yet and are no longer
+     * required according to {@link SlotManager#getRequiredResources()}.
+     */
+    void releaseUnneededPendingResources();
+
     /**
      * Notifies that an allocation failure has occurred.
      *
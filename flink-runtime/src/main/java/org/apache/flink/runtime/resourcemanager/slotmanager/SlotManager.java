@@ -32,6 +32,7 @@ import org.apache.flink.runtime.taskexecutor.SlotReport;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 /**
@@ -148,5 +149,17 @@ public interface SlotManager extends AutoCloseable {
      */
     void freeSlot(SlotID slotId, AllocationID allocationId);
 
+    /**
+     * Resize the slot of the given allocation in place. The slot keeps fulfilling the resource
+     * requirement it has been allocated for, but occupies the new resources on the task manager.
+     *
+     * @param allocationId identifying the slot to resize
+     * @param newResourceProfile the slot is resized to
+     * @return a future which is completed once the slot has been resized, or completed
+     *     exceptionally if the slot could not be resized
+     */
+    CompletableFuture<Void> resizeSlot(
+            AllocationID allocationId, ResourceProfile newResourceProfile);
+
     void setFailUnfulfillableRequest(boolean failUnfulfillableRequest);
 }
@@ -50,6 +50,7 @@ public class SlotManagerConfiguration {
     private final CPUResource maxTotalCpu;
     private final MemorySize maxTotalMem;
     private final int redundantTaskManagerNum;
+    private final boolean releaseUnneededPendingWorkers;
 
     public SlotManagerConfiguration(
             Time taskManagerRequestTimeout,
@@ -62,7 +63,8 @@ public class SlotManagerConfiguration {
             int maxSlotNum,
             CPUResource maxTotalCpu,
             MemorySize maxTotalMem,
-            int redundantTaskManagerNum) {
+            int redundantTaskManagerNum,
+            boolean releaseUnneededPendingWorkers) {
 
         this.taskManagerRequestTimeout = Preconditions.checkNotNull(taskManagerRequestTimeout);
         this.slotRequestTimeout = Preconditions.checkNotNull(slotRequestTimeout);
@@ -78,6 +80,7 @@ public class SlotManagerConfiguration {
         this.maxTotalMem = Preconditions.checkNotNull(maxTotalMem);
         Preconditions.checkState(redundantTaskManagerNum >= 0);
         this.redundantTaskManagerNum = redundantTaskManagerNum;
+        this.releaseUnneededPendingWorkers = releaseUnneededPendingWorkers;
     }
 
     public Time getTaskManagerRequestTimeout() {
@@ -124,6 +127,10 @@ public class SlotManagerConfiguration {
         return redundantTaskManagerNum;
     }
 
+    public boolean isReleaseUnneededPendingWorkers() {
+        return releaseUnneededPendingWorkers;
+    }
+
     public static SlotManagerConfiguration fromConfiguration(
             Configuration configuration, WorkerResourceSpec defaultWorkerResourceSpec)
             throws ConfigurationException {
@@ -154,6 +161,9 @@ public class SlotManagerConfiguration {
         int redundantTaskManagerNum =
                 configuration.getInteger(ResourceManagerOptions.REDUNDANT_TASK_MANAGER_NUM);
 
+        boolean releaseUnneededPendingWorkers =
+                configuration.getBoolean(ResourceManagerOptions.RELEASE_UNNEEDED_PENDING_WORKERS);
+
         return new SlotManagerConfiguration(
                 rpcTimeout,
                 slotRequestTimeout,
@@ -165,7 +175,8 @@ public class SlotManagerConfiguration {
                 maxSlotNum,
                 getMaxTotalCpu(configuration, defaultWorkerResourceSpec, maxSlotNum),
                 getMaxTotalMem(configuration, defaultWorkerResourceSpec, maxSlotNum),
-                redundantTaskManagerNum);
+                redundantTaskManagerNum,
+                releaseUnneededPendingWorkers);
     }
 
     private static Time getSlotRequestTimeout(final Configuration configuration) {
@@ -74,6 +74,17 @@ public interface SlotStatusSyncer {
      */
     void freeSlot(AllocationID allocationId);
 
+    /**
+     * Resize the given allocated slot in place.
+     *
+     * @param allocationId of the given slot
+     * @param newResourceProfile of the slot
+     * @return a {@link CompletableFuture} of the resize, which will be completed exceptionally if
+     *     the resize fails
+     */
+    CompletableFuture<Void> resizeSlot(
+            AllocationID allocationId, ResourceProfile newResourceProfile);
+
     /**
      * Reconcile the slot status with the slot report.
      *
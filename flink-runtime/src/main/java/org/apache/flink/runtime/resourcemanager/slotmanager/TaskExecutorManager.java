@@ -40,6 +40,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -284,6 +285,54 @@ class TaskExecutorManager implements AutoCloseable {
                 ResourceRequirement.create(defaultSlotResourceProfile, numSlotsPerWorker));
     }
 
+    /**
+     * Allocates redundant task managers if there are fewer standby slots than the slots of the
+     * redundant task managers. Standby slots are slots which no job uses or waits for, i.e. free
+     * registered slots and pending slots which are not needed to fulfill any requirement.
+     *
+     * @param numStandbySlots number of free registered slots plus pending slots which have not
+     *     been matched against any requirement
+     */
+    public void allocateRedundantTaskManagersIfRequired(int numStandbySlots) {
+        final int slotsDiff = redundantTaskManagerNum * numSlotsPerWorker - numStandbySlots;
+        if (slotsDiff > 0) {
+            allocateRedundantTaskManagers(MathUtils.divideRoundUp(slotsDiff, numSlotsPerWorker));
+        }
+    }
+
+    /**
+     * Releases pending slots which are no longer needed to fulfill the resource requirements. Only
+     * whole pending workers are released and the pending slots which are required to keep the
+     * redundant task managers are kept.
+     *
+     * @param numUnneededPendingSlots number of pending slots which have not been matched against
+     *     any requirement
+     * @param numFreeSlots number of free registered slots
+     */
+    public void releaseUnneededPendingSlots(int numUnneededPendingSlots, int numFreeSlots) {
+        final int numRedundantPendingSlots =
+                Math.max(0, redundantTaskManagerNum * numSlotsPerWorker - numFreeSlots);
+        final int numReleasableSlots =
+                Math.min(numUnneededPendingSlots, getNumberPendingTaskManagerSlots())
+                        - numRedundantPendingSlots;
+        final int numReleasableWorkers = numReleasableSlots / numSlotsPerWorker;
+        if (numReleasableWorkers <= 0) {
+            return;
+        }
+
+        final Iterator<PendingTaskManagerSlot> pendingSlotIterator =
+                pendingSlots.values().iterator();
+        for (int i = 0; i < numReleasableWorkers * numSlotsPerWorker; ++i) {
+            pendingSlotIterator.next();
+            pendingSlotIterator.remove();
+        }
+
+        LOG.info(
+                "Releasing {} pending task managers which are no longer needed.",
+                numReleasableWorkers);
+        resourceActions.releaseUnneededPendingResources();
+    }
+
     private boolean isMaxSlotNumExceededAfterAdding(int numNewSlot) {
         return getNumberRegisteredSlots() + getNumberPendingTaskManagerSlots() + numNewSlot
                 > maxSlotNum;
@@ -327,9 +376,15 @@ class TaskExecutorManager implements AutoCloseable {
 
             int slotsDiff = redundantTaskManagerNum * numSlotsPerWorker - getNumberFreeSlots();
             if (slotsDiff > 0) {
-                // Keep enough redundant taskManagers from time to time.
-                int requiredTaskManagers = MathUtils.divideRoundUp(slotsDiff, numSlotsPerWorker);
-                allocateRedundantTaskManagers(requiredTaskManagers);
+                // Keep enough redundant taskManagers from time to time. Pending slots count as
+                // redundant here, since the slot manager already tops up the redundant task
+                // managers whenever jobs take slots from them.
+                int requiredTaskManagers =
+                        MathUtils.divideRoundUp(
+                                slotsDiff - getNumberPendingTaskManagerSlots(), numSlotsPerWorker);
+                if (requiredTaskManagers > 0) {
+                    allocateRedundantTaskManagers(requiredTaskManagers);
+                }
             } else {
                 // second we trigger the release resource callback which can decide upon the
                 // resource release
@@ -60,4 +60,14 @@ public interface TaskManagerSlotInformation {
      * @return resource profile of this slot
      */
     ResourceProfile getResourceProfile();
+
+    /**
+     * Get the resource profile this slot currently occupies, which differs from {@link
+     * #getResourceProfile()} if the slot has been resized in place.
+     *
+     * @return current resource profile of this slot
+     */
+    default ResourceProfile getCurrentResourceProfile() {
+        return getResourceProfile();
+    }
 }
@@ -88,6 +88,14 @@ interface TaskManagerTracker
             ResourceProfile resourceProfile,
             SlotState slotState);
 
+    /**
+     * Notifies the tracker that an allocated slot has been resized in place.
+     *
+     * @param allocationId of the slot
+     * @param newResourceProfile of the slot
+     */
+    void notifySlotResized(AllocationID allocationId, ResourceProfile newResourceProfile);
+
     /**
      * Clear all previous pending slot allocation records if any, and record new pending slot
      * allocations.
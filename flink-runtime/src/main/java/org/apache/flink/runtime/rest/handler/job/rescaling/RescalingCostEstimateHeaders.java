@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.rest.handler.job.rescaling;
+
+import org.apache.flink.runtime.rest.HttpMethodWrapper;
+import org.apache.flink.runtime.rest.messages.JobIDPathParameter;
+import org.apache.flink.runtime.rest.messages.JobMessageParameters;
+import org.apache.flink.runtime.rest.messages.MessageHeaders;
+
+import org.apache.flink.shaded.netty4.io.netty.handler.codec.http.HttpResponseStatus;
+
+/** Message headers for the {@link RescalingCostEstimateHandler}. */
+public class RescalingCostEstimateHeaders
+        implements MessageHeaders<
+                RescalingCostEstimateRequestBody,
+                RescalingCostEstimateResponseBody,
+                JobMessageParameters> {
+
+    private static final RescalingCostEstimateHeaders INSTANCE =
+            new RescalingCostEstimateHeaders();
+
+    private static final String URL =
+            String.format("/jobs/:%s/rescaling/cost-estimate", JobIDPathParameter.KEY);
+
+    private RescalingCostEstimateHeaders() {}
+
+    @Override
+    public Class<RescalingCostEstimateRequestBody> getRequestClass() {
+        return RescalingCostEstimateRequestBody.class;
+    }
+
+    @Override
+    public Class<RescalingCostEstimateResponseBody> getResponseClass() {
+        return RescalingCostEstimateResponseBody.class;
+    }
+
+    @Override
+    public HttpResponseStatus getResponseStatusCode() {
+        return HttpResponseStatus.OK;
+    }
+
+    @Override
+    public JobMessageParameters getUnresolvedMessageParameters() {
+        return new JobMessageParameters();
+    }
+
+    @Override
+    public HttpMethodWrapper getHttpMethod() {
+        return HttpMethodWrapper.POST;
+    }
+
+    @Override
+    public String getTargetRestEndpointURL() {
+        return URL;
+    }
+
+    public static RescalingCostEstimateHeaders getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Estimates the downtime of rescaling a job to the given parallelism without "
+                + "rescaling it. Vertices which are not contained in the request keep their "
+                + "current parallelism. Values which cannot be estimated yet are reported as -1.";
+    }
+}
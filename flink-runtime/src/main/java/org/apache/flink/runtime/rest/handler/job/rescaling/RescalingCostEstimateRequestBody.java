@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.rest.handler.job.rescaling;
+
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.rest.messages.RequestBody;
+import org.apache.flink.runtime.rest.messages.json.JobVertexIDKeyDeserializer;
+import org.apache.flink.runtime.rest.messages.json.JobVertexIDKeySerializer;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonIgnore;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import javax.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/** Request body carrying the parallelism for which the rescale cost should be estimated. */
+public class RescalingCostEstimateRequestBody implements RequestBody {
+
+    public static final String FIELD_NAME_PARALLELISM = "parallelism";
+
+    @JsonProperty(FIELD_NAME_PARALLELISM)
+    @JsonSerialize(keyUsing = JobVertexIDKeySerializer.class)
+    private final Map<JobVertexID, Integer> parallelism;
+
+    @JsonCreator
+    public RescalingCostEstimateRequestBody(
+            @JsonDeserialize(keyUsing = JobVertexIDKeyDeserializer.class)
+                    @JsonProperty(FIELD_NAME_PARALLELISM)
+                    @Nullable
+                    Map<JobVertexID, Integer> parallelism) {
+        this.parallelism = parallelism == null ? Collections.emptyMap() : parallelism;
+    }
+
+    @JsonIgnore
+    public Map<JobVertexID, Integer> getParallelism() {
+        return parallelism;
+    }
+}
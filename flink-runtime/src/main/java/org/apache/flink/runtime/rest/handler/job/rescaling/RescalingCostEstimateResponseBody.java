@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.rest.handler.job.rescaling;
+
+import org.apache.flink.runtime.rest.messages.ResponseBody;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
+
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonCreator;
+import org.apache.flink.shaded.jackson2.com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Objects;
+
+/**
+ * Response body containing the estimated cost of a rescale operation. Values which could not be
+ * determined are reported as {@code -1}.
+ */
+public class RescalingCostEstimateResponseBody implements ResponseBody {
+
+    public static final String FIELD_NAME_STATE_SIZE = "state-size";
+
+    public static final String FIELD_NAME_RESTART_OVERHEAD = "restart-overhead";
+
+    public static final String FIELD_NAME_RESTORE_THROUGHPUT = "restore-throughput";
+
+    public static final String FIELD_NAME_ESTIMATED_DOWNTIME = "estimated-downtime";
+
+    @JsonProperty(FIELD_NAME_STATE_SIZE)
+    private final long stateSize;
+
+    @JsonProperty(FIELD_NAME_RESTART_OVERHEAD)
+    private final long restartOverhead;
+
+    @JsonProperty(FIELD_NAME_RESTORE_THROUGHPUT)
+    private final long restoreThroughput;
+
+    @JsonProperty(FIELD_NAME_ESTIMATED_DOWNTIME)
+    private final long estimatedDowntime;
+
+    @JsonCreator
+    public RescalingCostEstimateResponseBody(
+            @JsonProperty(FIELD_NAME_STATE_SIZE) long stateSize,
+            @JsonProperty(FIELD_NAME_RESTART_OVERHEAD) long restartOverhead,
+            @JsonProperty(FIELD_NAME_RESTORE_THROUGHPUT) long restoreThroughput,
+            @JsonProperty(FIELD_NAME_ESTIMATED_DOWNTIME) long estimatedDowntime) {
+        this.stateSize = stateSize;
+        this.restartOverhead = restartOverhead;
+        this.restoreThroughput = restoreThroughput;
+        this.estimatedDowntime = estimatedDowntime;
+    }
+
+    public static RescalingCostEstimateResponseBody fromEstimate(RescaleCostEstimate estimate) {
+        return new RescalingCostEstimateResponseBody(
+                estimate.getStateSizeToRestore(),
+                estimate.getRestartOverheadMillis(),
+                estimate.getRestoreThroughputBytesPerSecond(),
+                estimate.getEstimatedDowntimeMillis());
+    }
+
+    public long getStateSize() {
+        return stateSize;
+    }
+
+    public long getRestartOverhead() {
+        return restartOverhead;
+    }
+
+    public long getRestoreThroughput() {
+        return restoreThroughput;
+    }
+
+    public long getEstimatedDowntime() {
+        return estimatedDowntime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RescalingCostEstimateResponseBody that = (RescalingCostEstimateResponseBody) o;
+        return stateSize == that.stateSize
+                && restartOverhead == that.restartOverhead
+                && restoreThroughput == that.restoreThroughput
+                && estimatedDowntime == that.estimatedDowntime;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stateSize, restartOverhead, restoreThroughput, estimatedDowntime);
+    }
+}
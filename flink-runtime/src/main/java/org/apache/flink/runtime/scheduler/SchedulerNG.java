@@ -29,6 +29,7 @@ import org.apache.flink.runtime.checkpoint.TaskStateSnapshot;
 import org.apache.flink.runtime.concurrent.ComponentMainThreadExecutor;
 import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.executiongraph.LoadMetrics;
 import org.apache.flink.runtime.executiongraph.TaskExecutionStateTransition;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
 import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
@@ -46,15 +47,18 @@ import org.apache.flink.runtime.operators.coordination.OperatorCoordinator;
 import org.apache.flink.runtime.operators.coordination.OperatorEvent;
 import org.apache.flink.runtime.query.KvStateLocation;
 import org.apache.flink.runtime.query.UnknownKvStateLocation;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.taskmanager.TaskExecutionState;
 import org.apache.flink.util.AutoCloseableAsync;
 import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.concurrent.FutureUtils;
 
 import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -124,6 +128,14 @@ public interface SchedulerNG extends AutoCloseableAsync {
 
     void updateAccumulators(AccumulatorSnapshot accumulatorSnapshot);
 
+    /**
+     * Updates the load metrics of running executions. The metrics are reported periodically by
+     * the TaskExecutors. Schedulers which do not make use of them can ignore the update.
+     *
+     * @param loadMetrics latest load metrics per execution attempt
+     */
+    default void updateLoadMetrics(Map<ExecutionAttemptID, LoadMetrics> loadMetrics) {}
+
     // ------------------------------------------------------------------------
 
     CompletableFuture<String> triggerSavepoint(
@@ -187,4 +199,20 @@ public interface SchedulerNG extends AutoCloseableAsync {
      */
     CompletableFuture<CoordinationResponse> deliverCoordinationRequestToCoordinator(
             OperatorID operator, CoordinationRequest request) throws FlinkException;
+
+    /**
+     * Estimates the cost of rescaling the job to the proposed parallelism without triggering the
+     * rescale operation.
+     *
+     * @param proposedParallelism new parallelism per vertex; vertices which are not contained keep
+     *     their current parallelism
+     * @return A future containing the estimated cost. The future will fail with a {@link
+     *     FlinkException} if the job is not running, the scheduler does not support rescaling or
+     *     the proposed parallelism is invalid.
+     */
+    default CompletableFuture<RescaleCostEstimate> estimateRescaleCost(
+            Map<JobVertexID, Integer> proposedParallelism) {
+        return FutureUtils.completedExceptionally(
+                new FlinkException("The scheduler does not support rescaling running jobs."));
+    }
 }
@@ -21,6 +21,7 @@ package org.apache.flink.runtime.scheduler.adaptive;
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.JobStatus;
+import org.apache.flink.configuration.CheckpointingOptions;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.configuration.JobManagerOptions;
 import org.apache.flink.configuration.MetricOptions;
@@ -28,6 +29,7 @@ import org.apache.flink.configuration.SchedulerExecutionMode;
 import org.apache.flink.core.execution.SavepointFormatType;
 import org.apache.flink.queryablestate.KvStateID;
 import org.apache.flink.runtime.JobException;
+import org.apache.flink.runtime.OperatorIDPair;
 import org.apache.flink.runtime.accumulators.AccumulatorSnapshot;
 import org.apache.flink.runtime.checkpoint.CheckpointException;
 import org.apache.flink.runtime.checkpoint.CheckpointFailureReason;
@@ -35,21 +37,30 @@ import org.apache.flink.runtime.checkpoint.CheckpointIDCounter;
 import org.apache.flink.runtime.checkpoint.CheckpointMetrics;
 import org.apache.flink.runtime.checkpoint.CheckpointRecoveryFactory;
 import org.apache.flink.runtime.checkpoint.CheckpointScheduling;
+import org.apache.flink.runtime.checkpoint.CheckpointStatsSnapshot;
 import org.apache.flink.runtime.checkpoint.CheckpointsCleaner;
+import org.apache.flink.runtime.checkpoint.CompletedCheckpoint;
+import org.apache.flink.runtime.checkpoint.CompletedCheckpointStats;
 import org.apache.flink.runtime.checkpoint.CompletedCheckpointStore;
+import org.apache.flink.runtime.checkpoint.OperatorState;
+import org.apache.flink.runtime.checkpoint.RestoredCheckpointStats;
+import org.apache.flink.runtime.checkpoint.TaskStateStats;
 import org.apache.flink.runtime.checkpoint.TaskStateSnapshot;
 import org.apache.flink.runtime.client.JobExecutionException;
+import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.concurrent.ComponentMainThreadExecutor;
 import org.apache.flink.runtime.deployment.TaskDeploymentDescriptorFactory;
 import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.executiongraph.ArchivedExecutionGraph;
 import org.apache.flink.runtime.executiongraph.DefaultVertexAttemptNumberStore;
+import org.apache.flink.runtime.executiongraph.Execution;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.executiongraph.ExecutionGraph;
 import org.apache.flink.runtime.executiongraph.ExecutionJobVertex;
 import org.apache.flink.runtime.executiongraph.ExecutionVertex;
 import org.apache.flink.runtime.executiongraph.JobStatusListener;
+import org.apache.flink.runtime.executiongraph.LoadMetrics;
 import org.apache.flink.runtime.executiongraph.MutableVertexAttemptNumberStore;
 import org.apache.flink.runtime.executiongraph.TaskExecutionStateTransition;
 import org.apache.flink.runtime.executiongraph.failover.flip1.ExecutionFailureHandler;
@@ -97,8 +108,14 @@ import org.apache.flink.runtime.scheduler.VertexParallelismStore;
 import org.apache.flink.runtime.scheduler.adaptive.allocator.ReservedSlots;
 import org.apache.flink.runtime.scheduler.adaptive.allocator.SlotAllocator;
 import org.apache.flink.runtime.scheduler.adaptive.allocator.VertexParallelism;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.LoadBasedScaleUpController;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.PointwiseConnectedVertices;
 import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.ReactiveScaleUpController;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostModel;
 import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.ScaleUpController;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.VertexLoadTracker;
+import org.apache.flink.runtime.scheduler.strategy.ExecutionVertexID;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.util.ResourceCounter;
 import org.apache.flink.util.ExceptionUtils;
@@ -120,7 +137,9 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -187,6 +206,45 @@ public class AdaptiveScheduler
 
     private final ScaleUpController scaleUpController;
 
+    private final VertexLoadTracker vertexLoadTracker = new VertexLoadTracker();
+
+    @Nullable private final Duration loadBasedScalingInterval;
+
+    /** Vertices whose parallelism targets have to be aligned. */
+    private final PointwiseConnectedVertices pointwiseConnectedVertices;
+
+    /** Upper bounds for the vertex parallelism as determined by the {@link #scaleUpController}. */
+    private Map<JobVertexID, Integer> parallelismTargets = Collections.emptyMap();
+
+    /** Whether the subtasks can restore their state from task-local state. */
+    private final boolean localRecoveryEnabled;
+
+    /**
+     * Slots the subtasks ran in before the last restart. They are only remembered with local
+     * recovery, where they allow the subtasks whose key groups did not change to reuse their
+     * task-local state, as assumed by the {@link #rescaleCostModel}.
+     */
+    private Map<ExecutionVertexID, AllocationID> previousAllocations = Collections.emptyMap();
+
+    private final RescaleCostModel rescaleCostModel;
+
+    @Nullable private final Duration rescaleCostAmortizationPeriod;
+
+    /**
+     * Time at which the last restart began (excluding the backoff time) as long as its cost has
+     * not been recorded in the {@link #rescaleCostModel}.
+     */
+    @Nullable private Long pendingRestartTimestamp;
+
+    /** The vertex parallelism before the last restart, as long as its cost is not recorded. */
+    private Map<JobVertexID, Integer> parallelismBeforeRestart = Collections.emptyMap();
+
+    /** The execution graph whose subtasks are counted by {@link #numSubtasksPendingRunning}. */
+    @Nullable private ExecutionGraph pendingRestartExecutionGraph;
+
+    /** Number of subtasks which are not running yet while the last restart is in progress. */
+    private int numSubtasksPendingRunning;
+
     private final Duration initialResourceAllocationTimeout;
 
     private final Duration resourceStabilizationTimeout;
@@ -235,6 +293,7 @@ public class AdaptiveScheduler
                 computeVertexParallelismStore(jobGraph, executionMode);
         this.initialParallelismStore = vertexParallelismStore;
         this.jobInformation = new JobGraphJobInformation(jobGraph, vertexParallelismStore);
+        this.pointwiseConnectedVertices = PointwiseConnectedVertices.fromJobGraph(jobGraph);
 
         this.declarativeSlotPool = declarativeSlotPool;
         this.initializationTimestamp = initializationTimestamp;
@@ -259,7 +318,20 @@ public class AdaptiveScheduler
 
         this.jobStatusStore = new JobStatusStore(initializationTimestamp);
 
-        this.scaleUpController = new ReactiveScaleUpController(configuration);
+        if (configuration.get(JobManagerOptions.LOAD_BASED_SCALING_ENABLED)) {
+            this.scaleUpController =
+                    new LoadBasedScaleUpController(configuration, vertexLoadTracker);
+            this.loadBasedScalingInterval =
+                    configuration.get(JobManagerOptions.LOAD_BASED_SCALING_INTERVAL);
+        } else {
+            this.scaleUpController = new ReactiveScaleUpController(configuration);
+            this.loadBasedScalingInterval = null;
+        }
+
+        this.localRecoveryEnabled = configuration.get(CheckpointingOptions.LOCAL_RECOVERY);
+        this.rescaleCostModel = new RescaleCostModel(localRecoveryEnabled);
+        this.rescaleCostAmortizationPeriod =
+                configuration.get(JobManagerOptions.RESCALE_COST_AMORTIZATION_PERIOD);
 
         this.initialResourceAllocationTimeout = initialResourceAllocationTimeout;
 
@@ -475,13 +547,25 @@ public class AdaptiveScheduler
 
     @Override
     public boolean updateTaskExecutionState(TaskExecutionStateTransition taskExecutionState) {
-        return state.tryCall(
-                        StateWithExecutionGraph.class,
-                        stateWithExecutionGraph ->
-                                stateWithExecutionGraph.updateTaskExecutionState(
-                                        taskExecutionState),
-                        "updateTaskExecutionState")
-                .orElse(false);
+        final boolean updated =
+                state.tryCall(
+                                StateWithExecutionGraph.class,
+                                stateWithExecutionGraph ->
+                                        stateWithExecutionGraph.updateTaskExecutionState(
+                                                taskExecutionState),
+                                "updateTaskExecutionState")
+                        .orElse(false);
+
+        // the restart is complete as soon as the last subtask is running
+        if (updated
+                && pendingRestartTimestamp != null
+                && taskExecutionState.getExecutionState() == ExecutionState.RUNNING) {
+            state.tryRun(
+                    Executing.class,
+                    executing -> onSubtaskRunningAfterRestart(executing.getExecutionGraph()),
+                    "onSubtaskRunningAfterRestart");
+        }
+        return updated;
     }
 
     @Override
@@ -594,6 +678,76 @@ public class AdaptiveScheduler
                 "updateAccumulators");
     }
 
+    @Override
+    public void updateLoadMetrics(Map<ExecutionAttemptID, LoadMetrics> loadMetrics) {
+        state.tryRun(
+                Executing.class,
+                executing -> {
+                    final Map<ExecutionAttemptID, Execution> registeredExecutions =
+                            executing.getExecutionGraph().getRegisteredExecutions();
+                    for (Map.Entry<ExecutionAttemptID, LoadMetrics> executionLoad :
+                            loadMetrics.entrySet()) {
+                        final Execution execution =
+                                registeredExecutions.get(executionLoad.getKey());
+                        if (execution != null) {
+                            vertexLoadTracker.reportLoad(
+                                    execution.getVertex().getID(), executionLoad.getValue());
+                        }
+                    }
+                },
+                "updateLoadMetrics");
+    }
+
+    @Override
+    public CompletableFuture<RescaleCostEstimate> estimateRescaleCost(
+            Map<JobVertexID, Integer> proposedParallelism) {
+        try {
+            return state.tryCall(
+                            Executing.class,
+                            executing ->
+                                    CompletableFuture.completedFuture(
+                                            estimateRescaleCost(
+                                                    executing.getExecutionGraph(),
+                                                    proposedParallelism)),
+                            "estimateRescaleCost")
+                    .orElseGet(
+                            () ->
+                                    FutureUtils.completedExceptionally(
+                                            new FlinkException(
+                                                    "The Flink job is currently not executing.")));
+        } catch (FlinkException e) {
+            return FutureUtils.completedExceptionally(e);
+        }
+    }
+
+    private RescaleCostEstimate estimateRescaleCost(
+            ExecutionGraph executionGraph, Map<JobVertexID, Integer> proposedParallelism)
+            throws FlinkException {
+        final Map<JobVertexID, Integer> newParallelism = getCurrentParallelism(executionGraph);
+
+        for (Map.Entry<JobVertexID, Integer> vertexParallelism : proposedParallelism.entrySet()) {
+            final ExecutionJobVertex executionJobVertex =
+                    executionGraph.getJobVertex(vertexParallelism.getKey());
+            if (executionJobVertex == null) {
+                throw new FlinkException(
+                        "The job does not contain the vertex " + vertexParallelism.getKey() + '.');
+            }
+
+            final int parallelism = vertexParallelism.getValue();
+            if (parallelism < 1 || parallelism > executionJobVertex.getMaxParallelism()) {
+                throw new FlinkException(
+                        String.format(
+                                "The parallelism %d of vertex %s must be between 1 and its max parallelism %d.",
+                                parallelism,
+                                vertexParallelism.getKey(),
+                                executionJobVertex.getMaxParallelism()));
+            }
+            newParallelism.put(vertexParallelism.getKey(), parallelism);
+        }
+
+        return estimateRescaleCostFor(executionGraph, newParallelism);
+    }
+
     @Override
     public CompletableFuture<String> triggerSavepoint(
             @Nullable String targetDirectory, boolean cancelJob, SavepointFormatType formatType) {
@@ -738,7 +892,8 @@ public class AdaptiveScheduler
     @Override
     public boolean hasSufficientResources() {
         return slotAllocator
-                .determineParallelism(jobInformation, declarativeSlotPool.getAllSlotsInformation())
+                .determineParallelism(
+                        getTargetJobInformation(), declarativeSlotPool.getAllSlotsInformation())
                 .isPresent();
     }
 
@@ -746,7 +901,10 @@ public class AdaptiveScheduler
             throws NoResourceAvailableException {
 
         return slotAllocator
-                .determineParallelism(jobInformation, declarativeSlotPool.getFreeSlotsInformation())
+                .determineParallelism(
+                        getTargetJobInformation(),
+                        declarativeSlotPool.getFreeSlotsInformation(),
+                        previousAllocations)
                 .orElseThrow(
                         () ->
                                 new NoResourceAvailableException(
@@ -780,7 +938,17 @@ public class AdaptiveScheduler
     }
 
     private ResourceCounter calculateDesiredResources() {
-        return slotAllocator.calculateRequiredSlots(jobInformation.getVertices());
+        return slotAllocator.calculateRequiredSlots(getTargetJobInformation().getVertices());
+    }
+
+    /**
+     * Returns the job information with the vertex parallelism bounded by the targets of the
+     * {@link #scaleUpController}.
+     */
+    private JobGraphJobInformation getTargetJobInformation() {
+        return parallelismTargets.isEmpty()
+                ? jobInformation
+                : jobInformation.withParallelismTargets(parallelismTargets);
     }
 
     @Override
@@ -793,6 +961,9 @@ public class AdaptiveScheduler
         operatorCoordinatorHandler.initializeOperatorCoordinators(componentMainThreadExecutor);
         operatorCoordinatorHandler.startAllOperatorCoordinators();
 
+        // the load reported for a previous deployment does not apply to the new one
+        vertexLoadTracker.clear();
+
         transitionToState(
                 new Executing.Factory(
                         executionGraph,
@@ -850,6 +1021,14 @@ public class AdaptiveScheduler
                     attemptNumber + 1);
         }
 
+        this.previousAllocations =
+                localRecoveryEnabled
+                        ? getCurrentAllocations(executionGraph)
+                        : Collections.emptyMap();
+        this.pendingRestartTimestamp = System.currentTimeMillis() + backoffTime.toMillis();
+        this.parallelismBeforeRestart = getCurrentParallelism(executionGraph);
+        this.pendingRestartExecutionGraph = null;
+
         transitionToState(
                 new Restarting.Factory(
                         this,
@@ -1033,7 +1212,8 @@ public class AdaptiveScheduler
         if (availableSlots > 0) {
             final Optional<? extends VertexParallelism> potentialNewParallelism =
                     slotAllocator.determineParallelism(
-                            jobInformation, declarativeSlotPool.getAllSlotsInformation());
+                            getTargetJobInformation(),
+                            declarativeSlotPool.getAllSlotsInformation());
 
             if (potentialNewParallelism.isPresent()) {
                 int currentCumulativeParallelism = getCurrentCumulativeParallelism(executionGraph);
@@ -1045,13 +1225,306 @@ public class AdaptiveScheduler
                             currentCumulativeParallelism,
                             newCumulativeParallelism);
                     return scaleUpController.canScaleUp(
-                            currentCumulativeParallelism, newCumulativeParallelism);
+                                    currentCumulativeParallelism, newCumulativeParallelism)
+                            && isWorthRescaling(executionGraph, potentialNewParallelism.get());
                 }
             }
         }
         return false;
     }
 
+    @Override
+    public Optional<Duration> getLoadBasedScalingInterval() {
+        return Optional.ofNullable(loadBasedScalingInterval);
+    }
+
+    @Override
+    public boolean shouldRescaleForLoad(ExecutionGraph executionGraph) {
+        final Map<JobVertexID, Integer> currentParallelism = getCurrentParallelism(executionGraph);
+
+        final Map<JobVertexID, Integer> newParallelismTargets =
+                pointwiseConnectedVertices.alignTargets(
+                        scaleUpController.computeTargetParallelism(currentParallelism),
+                        currentParallelism);
+
+        if (newParallelismTargets.isEmpty() || newParallelismTargets.equals(parallelismTargets)) {
+            return false;
+        }
+
+        final Optional<? extends VertexParallelism> potentialNewParallelism =
+                slotAllocator.determineParallelism(
+                        jobInformation.withParallelismTargets(newParallelismTargets),
+                        declarativeSlotPool.getAllSlotsInformation());
+
+        if (!potentialNewParallelism.isPresent()) {
+            return false;
+        }
+
+        final boolean parallelismChanges =
+                !potentialNewParallelism
+                        .get()
+                        .getMaxParallelismForVertices()
+                        .equals(currentParallelism);
+
+        // the targets are only adopted if they are worth the restart, because they also bound
+        // the parallelism of any later restart
+        if (parallelismChanges
+                && !isWorthRescaling(executionGraph, potentialNewParallelism.get())) {
+            return false;
+        }
+
+        parallelismTargets = newParallelismTargets;
+
+        if (!parallelismChanges) {
+            // the available resources do not allow to reach the targets yet; ask for the missing
+            // ones so that the job can be scaled up once they arrive
+            declareDesiredResourcesWhileExecuting(currentParallelism);
+            return false;
+        }
+
+        LOG.debug(
+                "Load based scaling changes the vertex parallelism from {} to {}.",
+                currentParallelism,
+                potentialNewParallelism.get().getMaxParallelismForVertices());
+        return true;
+    }
+
+    /**
+     * Re-declares the resource requirements of a running job from the current parallelism
+     * targets. The declared resources range between the slots required by the running deployment,
+     * which must not be taken away from the job before it has been rescaled, and the slots
+     * desired for the targets.
+     */
+    private void declareDesiredResourcesWhileExecuting(
+            Map<JobVertexID, Integer> currentParallelism) {
+        final ResourceCounter minimumResources =
+                slotAllocator.calculateRequiredSlots(
+                        jobInformation.withParallelismTargets(currentParallelism).getVertices());
+        ResourceCounter declaredResources = calculateDesiredResources();
+
+        for (Map.Entry<ResourceProfile, Integer> minimumResource :
+                minimumResources.getResourcesWithCount()) {
+            final int missingSlots =
+                    minimumResource.getValue()
+                            - declaredResources.getResourceCount(minimumResource.getKey());
+            if (missingSlots > 0) {
+                declaredResources = declaredResources.add(minimumResource.getKey(), missingSlots);
+            }
+        }
+
+        LOG.debug(
+                "Declaring resources {} for the parallelism targets {} of the running job.",
+                declaredResources,
+                parallelismTargets);
+        declarativeSlotPool.setResourceRequirements(declaredResources);
+    }
+
+    private boolean isWorthRescaling(
+            ExecutionGraph executionGraph, VertexParallelism newParallelism) {
+        if (rescaleCostAmortizationPeriod == null) {
+            return true;
+        }
+
+        final RescaleCostEstimate estimate =
+                estimateRescaleCostFor(
+                        executionGraph, newParallelism.getMaxParallelismForVertices());
+        final int currentCumulativeParallelism = getCurrentCumulativeParallelism(executionGraph);
+        final int newCumulativeParallelism = getCumulativeParallelism(newParallelism);
+
+        if (RescaleCostModel.isWorthRescaling(
+                estimate,
+                currentCumulativeParallelism,
+                newCumulativeParallelism,
+                rescaleCostAmortizationPeriod)) {
+            return true;
+        }
+
+        LOG.debug(
+                "Refusing to rescale from cumulative parallelism {} to {} because it is not worth the predicted cost {}.",
+                currentCumulativeParallelism,
+                newCumulativeParallelism,
+                estimate);
+        return false;
+    }
+
+    private RescaleCostEstimate estimateRescaleCostFor(
+            ExecutionGraph executionGraph, Map<JobVertexID, Integer> newParallelism) {
+        return rescaleCostModel.estimate(
+                getCurrentParallelism(executionGraph),
+                newParallelism,
+                getLatestStateSizes(executionGraph));
+    }
+
+    private static Map<ExecutionVertexID, AllocationID> getCurrentAllocations(
+            ExecutionGraph executionGraph) {
+        final Map<ExecutionVertexID, AllocationID> currentAllocations = new HashMap<>();
+        for (ExecutionVertex executionVertex : executionGraph.getAllExecutionVertices()) {
+            final LogicalSlot assignedSlot = executionVertex.getCurrentAssignedResource();
+            if (assignedSlot != null) {
+                currentAllocations.put(executionVertex.getID(), assignedSlot.getAllocationId());
+            }
+        }
+        return currentAllocations;
+    }
+
+    /**
+     * Counts the subtasks of the given execution graph which are still to switch to running after
+     * the last restart. The subtasks are only counted once per execution graph, afterwards every
+     * transition to running just decrements the count.
+     */
+    private void onSubtaskRunningAfterRestart(ExecutionGraph executionGraph) {
+        if (pendingRestartTimestamp == null) {
+            return;
+        }
+
+        if (executionGraph != pendingRestartExecutionGraph) {
+            pendingRestartExecutionGraph = executionGraph;
+            numSubtasksPendingRunning = 0;
+            for (ExecutionVertex executionVertex : executionGraph.getAllExecutionVertices()) {
+                if (executionVertex
+                                .getCurrentExecutionAttempt()
+                                .getStateTimestamp(ExecutionState.RUNNING)
+                        == 0L) {
+                    numSubtasksPendingRunning++;
+                }
+            }
+        } else {
+            numSubtasksPendingRunning--;
+        }
+
+        if (numSubtasksPendingRunning <= 0) {
+            pendingRestartExecutionGraph = null;
+            recordCompletedRestart(executionGraph);
+        }
+    }
+
+    /**
+     * Records the cost of the last restart in the {@link #rescaleCostModel} once all subtasks of
+     * the given execution graph are running. Only the state which had to be fetched from the
+     * checkpoint storage counts as restored state, the locally recovered state is restored much
+     * faster and would distort the restore throughput.
+     */
+    private void recordCompletedRestart(ExecutionGraph executionGraph) {
+        if (pendingRestartTimestamp == null) {
+            return;
+        }
+
+        long allRunningTimestamp = 0L;
+        for (ExecutionVertex executionVertex : executionGraph.getAllExecutionVertices()) {
+            allRunningTimestamp =
+                    Math.max(
+                            allRunningTimestamp,
+                            executionVertex
+                                    .getCurrentExecutionAttempt()
+                                    .getStateTimestamp(ExecutionState.RUNNING));
+        }
+
+        final long restartTimestamp = Math.min(pendingRestartTimestamp, allRunningTimestamp);
+        pendingRestartTimestamp = null;
+
+        final CheckpointStatsSnapshot checkpointStatsSnapshot =
+                executionGraph.getCheckpointStatsSnapshot();
+        final RestoredCheckpointStats restoredCheckpoint =
+                checkpointStatsSnapshot != null
+                        ? checkpointStatsSnapshot.getLatestRestoredCheckpoint()
+                        : null;
+
+        if (restoredCheckpoint == null) {
+            rescaleCostModel.recordRestart(allRunningTimestamp - restartTimestamp, 0L, 0L);
+        } else {
+            final long restoreStartTimestamp =
+                    Math.min(restoredCheckpoint.getRestoreTimestamp(), allRunningTimestamp);
+            final long restoreTimestamp = Math.max(restartTimestamp, restoreStartTimestamp);
+            final long remoteStateSize =
+                    rescaleCostModel.getStateSizeToRestore(
+                            parallelismBeforeRestart,
+                            getCurrentParallelism(executionGraph),
+                            getCheckpointStateSizes(
+                                    executionGraph, restoredCheckpoint.getCheckpointId()));
+            rescaleCostModel.recordRestart(
+                    restoreTimestamp - restartTimestamp,
+                    remoteStateSize,
+                    allRunningTimestamp - restoreTimestamp);
+        }
+        parallelismBeforeRestart = Collections.emptyMap();
+    }
+
+    private Map<JobVertexID, Long> getCheckpointStateSizes(
+            ExecutionGraph executionGraph, long checkpointId) {
+        try {
+            for (CompletedCheckpoint completedCheckpoint :
+                    completedCheckpointStore.getAllCheckpoints()) {
+                if (completedCheckpoint.getCheckpointID() == checkpointId) {
+                    return getStateSizes(executionGraph, completedCheckpoint);
+                }
+            }
+        } catch (Exception e) {
+            LOG.debug("Could not retrieve the completed checkpoint {}.", checkpointId, e);
+        }
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Returns the state size per vertex of the latest completed checkpoint. If no checkpoint has
+     * completed since the last restart, the sizes are taken from the checkpoint store.
+     */
+    private Map<JobVertexID, Long> getLatestStateSizes(ExecutionGraph executionGraph) {
+        final Map<JobVertexID, Long> stateSizes = new HashMap<>();
+
+        final CheckpointStatsSnapshot checkpointStatsSnapshot =
+                executionGraph.getCheckpointStatsSnapshot();
+        final CompletedCheckpointStats latestCompletedCheckpoint =
+                checkpointStatsSnapshot != null
+                        ? checkpointStatsSnapshot.getHistory().getLatestCompletedCheckpoint()
+                        : null;
+
+        if (latestCompletedCheckpoint != null) {
+            for (TaskStateStats taskStateStats : latestCompletedCheckpoint.getAllTaskStateStats()) {
+                stateSizes.put(taskStateStats.getJobVertexId(), taskStateStats.getStateSize());
+            }
+            return stateSizes;
+        }
+
+        final CompletedCheckpoint latestCheckpoint;
+        try {
+            latestCheckpoint = completedCheckpointStore.getLatestCheckpoint();
+        } catch (Exception e) {
+            LOG.debug("Could not retrieve the latest completed checkpoint.", e);
+            return stateSizes;
+        }
+
+        return latestCheckpoint != null
+                ? getStateSizes(executionGraph, latestCheckpoint)
+                : stateSizes;
+    }
+
+    private static Map<JobVertexID, Long> getStateSizes(
+            ExecutionGraph executionGraph, CompletedCheckpoint checkpoint) {
+        final Map<JobVertexID, Long> stateSizes = new HashMap<>();
+        final Map<OperatorID, OperatorState> operatorStates = checkpoint.getOperatorStates();
+        for (ExecutionJobVertex executionJobVertex : executionGraph.getAllVertices().values()) {
+            long stateSize = 0L;
+            for (OperatorIDPair operatorIds : executionJobVertex.getOperatorIDs()) {
+                final OperatorState operatorState =
+                        operatorStates.get(operatorIds.getGeneratedOperatorID());
+                if (operatorState != null) {
+                    stateSize += operatorState.getStateSize();
+                }
+            }
+            stateSizes.put(executionJobVertex.getJobVertexId(), stateSize);
+        }
+        return stateSizes;
+    }
+
+    private static Map<JobVertexID, Integer> getCurrentParallelism(ExecutionGraph executionGraph) {
+        final Map<JobVertexID, Integer> currentParallelism = new HashMap<>();
+        for (ExecutionJobVertex executionJobVertex : executionGraph.getAllVertices().values()) {
+            currentParallelism.put(
+                    executionJobVertex.getJobVertexId(), executionJobVertex.getParallelism());
+        }
+        return currentParallelism;
+    }
+
     private static int getCurrentCumulativeParallelism(ExecutionGraph executionGraph) {
         return executionGraph.getAllVertices().values().stream()
                 .map(ExecutionJobVertex::getParallelism)
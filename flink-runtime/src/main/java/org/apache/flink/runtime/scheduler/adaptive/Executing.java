@@ -40,6 +40,7 @@ import org.slf4j.Logger;
 import javax.annotation.Nullable;
 
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledFuture;
 
@@ -67,6 +68,8 @@ class Executing extends StateWithExecutionGraph implements ResourceConsumer {
 
         // check if new resources have come available in the meantime
         context.runIfState(this, this::notifyNewResourcesAvailable, Duration.ZERO);
+
+        context.getLoadBasedScalingInterval().ifPresent(this::scheduleLoadCheck);
     }
 
     @Override
@@ -164,6 +167,27 @@ class Executing extends StateWithExecutionGraph implements ResourceConsumer {
         }
     }
 
+    private void scheduleLoadCheck(Duration interval) {
+        context.runIfState(
+                this,
+                () -> {
+                    checkLoad();
+                    scheduleLoadCheck(interval);
+                },
+                interval);
+    }
+
+    private void checkLoad() {
+        if (context.shouldRescaleForLoad(getExecutionGraph())) {
+            getLogger().info("The load of the job has changed. Restarting job to rescale.");
+            context.goToRestarting(
+                    getExecutionGraph(),
+                    getExecutionGraphHandler(),
+                    getOperatorCoordinatorHandler(),
+                    Duration.ofMillis(0L));
+        }
+    }
+
     CompletableFuture<String> stopWithSavepoint(
             @Nullable final String targetDirectory,
             boolean terminate,
@@ -227,6 +251,22 @@ class Executing extends StateWithExecutionGraph implements ResourceConsumer {
          */
         boolean canScaleUp(ExecutionGraph executionGraph);
 
+        /**
+         * Returns the interval in which the load of the executing job shall be checked, if load
+         * based scaling is enabled.
+         *
+         * @return interval for checking the load, or empty if load based scaling is disabled
+         */
+        Optional<Duration> getLoadBasedScalingInterval();
+
+        /**
+         * Asks if the currently executing job should be rescaled because its load changed.
+         *
+         * @param executionGraph executionGraph for making the scaling decision.
+         * @return true, if the job should be rescaled
+         */
+        boolean shouldRescaleForLoad(ExecutionGraph executionGraph);
+
         /**
          * Transitions into the {@link Restarting} state.
          *
@@ -32,6 +32,8 @@ import org.apache.flink.shaded.guava30.com.google.common.collect.Iterables;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 /** {@link JobInformation} created from a {@link JobGraph}. */
 public class JobGraphJobInformation implements JobInformation {
@@ -40,13 +42,31 @@ public class JobGraphJobInformation implements JobInformation {
     private final JobID jobID;
     private final String name;
     private final VertexParallelismStore vertexParallelismStore;
+    private final Map<JobVertexID, Integer> parallelismTargets;
 
     public JobGraphJobInformation(
             JobGraph jobGraph, VertexParallelismStore vertexParallelismStore) {
+        this(jobGraph, vertexParallelismStore, Collections.emptyMap());
+    }
+
+    private JobGraphJobInformation(
+            JobGraph jobGraph,
+            VertexParallelismStore vertexParallelismStore,
+            Map<JobVertexID, Integer> parallelismTargets) {
         this.jobGraph = jobGraph;
         this.jobID = jobGraph.getJobID();
         this.name = jobGraph.getName();
         this.vertexParallelismStore = vertexParallelismStore;
+        this.parallelismTargets = parallelismTargets;
+    }
+
+    /**
+     * Returns a view of this job information in which the parallelism of each vertex is
+     * additionally bounded by the given target parallelism.
+     */
+    public JobGraphJobInformation withParallelismTargets(
+            Map<JobVertexID, Integer> parallelismTargets) {
+        return new JobGraphJobInformation(jobGraph, vertexParallelismStore, parallelismTargets);
     }
 
     @Override
@@ -58,7 +78,8 @@ public class JobGraphJobInformation implements JobInformation {
     public JobInformation.VertexInformation getVertexInformation(JobVertexID jobVertexId) {
         return new JobVertexInformation(
                 jobGraph.findVertexByID(jobVertexId),
-                vertexParallelismStore.getParallelismInfo(jobVertexId));
+                vertexParallelismStore.getParallelismInfo(jobVertexId),
+                parallelismTargets.getOrDefault(jobVertexId, Integer.MAX_VALUE));
     }
 
     public JobID getJobID() {
@@ -89,10 +110,15 @@ public class JobGraphJobInformation implements JobInformation {
 
         private final VertexParallelismInformation parallelismInfo;
 
+        private final int parallelismTarget;
+
         private JobVertexInformation(
-                JobVertex jobVertex, VertexParallelismInformation parallelismInfo) {
+                JobVertex jobVertex,
+                VertexParallelismInformation parallelismInfo,
+                int parallelismTarget) {
             this.jobVertex = jobVertex;
             this.parallelismInfo = parallelismInfo;
+            this.parallelismTarget = parallelismTarget;
         }
 
         @Override
@@ -102,7 +128,7 @@ public class JobGraphJobInformation implements JobInformation {
 
         @Override
         public int getParallelism() {
-            return parallelismInfo.getParallelism();
+            return Math.min(parallelismInfo.getParallelism(), parallelismTarget);
         }
 
         @Override
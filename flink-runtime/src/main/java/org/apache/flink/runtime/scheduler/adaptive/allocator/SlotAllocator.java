@@ -17,10 +17,13 @@
 
 package org.apache.flink.runtime.scheduler.adaptive.allocator;
 
+import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.jobmaster.SlotInfo;
+import org.apache.flink.runtime.scheduler.strategy.ExecutionVertexID;
 import org.apache.flink.runtime.util.ResourceCounter;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /** Component for calculating the slot requirements and mapping of vertices to slots. */
@@ -54,6 +57,27 @@ public interface SlotAllocator {
     Optional<? extends VertexParallelism> determineParallelism(
             JobInformation jobInformation, Collection<? extends SlotInfo> slots);
 
+    /**
+     * Determines the parallelism at which the vertices could be scheduled given the collection of
+     * slots, like {@link #determineParallelism(JobInformation, Collection)}. Additionally, the
+     * implementation may use the allocations of a previous execution of the job to assign subtasks
+     * to the slots they previously ran in. This allows subtasks whose state did not change to be
+     * restored from local state.
+     *
+     * @param jobInformation information about the job graph
+     * @param slots slots to consider for determining the parallelism
+     * @param previousAllocations allocations of the subtasks of a previous execution of the job
+     * @return potential parallelism for all vertices and implementation-specific information for
+     *     how the vertices could be assigned to slots, if all vertices could be run with the given
+     *     slots
+     */
+    default Optional<? extends VertexParallelism> determineParallelism(
+            JobInformation jobInformation,
+            Collection<? extends SlotInfo> slots,
+            Map<ExecutionVertexID, AllocationID> previousAllocations) {
+        return determineParallelism(jobInformation, slots);
+    }
+
     /**
      * Reserves slots according to the given assignment if possible. If the underlying set of
      * resources has changed and the reservation with respect to vertexParallelism is no longer
@@ -17,6 +17,7 @@
 
 package org.apache.flink.runtime.scheduler.adaptive.allocator;
 
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.instance.SlotSharingGroupId;
@@ -34,9 +35,12 @@ import javax.annotation.Nonnull;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -91,53 +95,213 @@ public class SlotSharingSlotAllocator implements SlotAllocator {
         return maxParallelismForSlotSharingGroups;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The slots are distributed over the slot sharing groups according to their demand, i.e. a
+     * group never receives more slots than the highest parallelism of its vertices and the
+     * remaining slots go to the groups which can make use of them. If a group receives fewer
+     * slots than it demands, the parallelism of its vertices is reduced proportionally. Thereby,
+     * the vertices of a group keep the ratio of their desired parallelism, which reflects their
+     * measured load if load based scaling is enabled, and slots may host only a subset of the
+     * vertices of a group.
+     */
     @Override
     public Optional<VertexParallelismWithSlotSharing> determineParallelism(
             JobInformation jobInformation, Collection<? extends SlotInfo> freeSlots) {
-        // TODO: This can waste slots if the max parallelism for slot sharing groups is not equal
-        final int slotsPerSlotSharingGroup =
-                freeSlots.size() / jobInformation.getSlotSharingGroups().size();
+        return determineParallelism(jobInformation, freeSlots, Collections.emptyMap());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Shared slots are preferably assigned to the slot which previously hosted most of their
+     * subtasks. Subtasks of vertices whose parallelism did not change thereby keep their slot and
+     * can be restored from local state, so that only the rescaled vertices need to fetch their
+     * state from the checkpoint storage.
+     */
+    @Override
+    public Optional<VertexParallelismWithSlotSharing> determineParallelism(
+            JobInformation jobInformation,
+            Collection<? extends SlotInfo> freeSlots,
+            Map<ExecutionVertexID, AllocationID> previousAllocations) {
+        final Map<SlotSharingGroupId, Integer> slotsPerSlotSharingGroup =
+                distributeSlots(jobInformation, freeSlots.size());
 
-        if (slotsPerSlotSharingGroup == 0) {
+        if (slotsPerSlotSharingGroup.isEmpty()) {
             // => less slots than slot-sharing groups
             return Optional.empty();
         }
 
-        final Iterator<? extends SlotInfo> slotIterator = freeSlots.iterator();
-
-        final Collection<ExecutionSlotSharingGroupAndSlot> assignments = new ArrayList<>();
+        final List<ExecutionSlotSharingGroup> executionSlotSharingGroups = new ArrayList<>();
         final Map<JobVertexID, Integer> allVertexParallelism = new HashMap<>();
 
         for (SlotSharingGroup slotSharingGroup : jobInformation.getSlotSharingGroups()) {
             final List<JobInformation.VertexInformation> containedJobVertices =
-                    slotSharingGroup.getJobVertexIds().stream()
-                            .map(jobInformation::getVertexInformation)
-                            .collect(Collectors.toList());
+                    getContainedJobVertices(jobInformation, slotSharingGroup);
+
+            final int availableSlots =
+                    slotsPerSlotSharingGroup.get(slotSharingGroup.getSlotSharingGroupId());
 
             final Map<JobVertexID, Integer> vertexParallelism =
-                    determineParallelism(containedJobVertices, slotsPerSlotSharingGroup);
+                    determineParallelism(containedJobVertices, availableSlots);
 
             final Iterable<ExecutionSlotSharingGroup> sharedSlotToVertexAssignment =
                     createExecutionSlotSharingGroups(vertexParallelism);
 
             for (ExecutionSlotSharingGroup executionSlotSharingGroup :
                     sharedSlotToVertexAssignment) {
-                final SlotInfo slotInfo = slotIterator.next();
-
-                assignments.add(
-                        new ExecutionSlotSharingGroupAndSlot(executionSlotSharingGroup, slotInfo));
+                executionSlotSharingGroups.add(executionSlotSharingGroup);
             }
             allVertexParallelism.putAll(vertexParallelism);
         }
 
+        final Collection<ExecutionSlotSharingGroupAndSlot> assignments =
+                assignSlots(executionSlotSharingGroups, freeSlots, previousAllocations);
+
         return Optional.of(new VertexParallelismWithSlotSharing(allVertexParallelism, assignments));
     }
 
+    private static Collection<ExecutionSlotSharingGroupAndSlot> assignSlots(
+            List<ExecutionSlotSharingGroup> executionSlotSharingGroups,
+            Collection<? extends SlotInfo> freeSlots,
+            Map<ExecutionVertexID, AllocationID> previousAllocations) {
+        final Map<AllocationID, SlotInfo> remainingSlots = new LinkedHashMap<>();
+        for (SlotInfo freeSlot : freeSlots) {
+            remainingSlots.put(freeSlot.getAllocationId(), freeSlot);
+        }
+
+        final Collection<ExecutionSlotSharingGroupAndSlot> assignments = new ArrayList<>();
+        final List<ExecutionSlotSharingGroup> groupsWithoutPreferredSlot = new ArrayList<>();
+
+        for (ExecutionSlotSharingGroup executionSlotSharingGroup : executionSlotSharingGroups) {
+            final Optional<AllocationID> preferredSlot =
+                    getPreferredSlot(
+                            executionSlotSharingGroup,
+                            previousAllocations,
+                            remainingSlots.keySet());
+
+            if (preferredSlot.isPresent()) {
+                assignments.add(
+                        new ExecutionSlotSharingGroupAndSlot(
+                                executionSlotSharingGroup,
+                                remainingSlots.remove(preferredSlot.get())));
+            } else {
+                groupsWithoutPreferredSlot.add(executionSlotSharingGroup);
+            }
+        }
+
+        final Iterator<SlotInfo> slotIterator = remainingSlots.values().iterator();
+        for (ExecutionSlotSharingGroup executionSlotSharingGroup : groupsWithoutPreferredSlot) {
+            assignments.add(
+                    new ExecutionSlotSharingGroupAndSlot(
+                            executionSlotSharingGroup, slotIterator.next()));
+        }
+
+        return assignments;
+    }
+
+    /**
+     * Returns the still available slot in which most of the subtasks of the given group ran
+     * previously, if any.
+     */
+    private static Optional<AllocationID> getPreferredSlot(
+            ExecutionSlotSharingGroup executionSlotSharingGroup,
+            Map<ExecutionVertexID, AllocationID> previousAllocations,
+            Set<AllocationID> availableSlots) {
+        if (previousAllocations.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Map<AllocationID, Integer> numberOfSubtasksPerSlot = new HashMap<>();
+        for (ExecutionVertexID executionVertexId :
+                executionSlotSharingGroup.getContainedExecutionVertices()) {
+            final AllocationID previousAllocation = previousAllocations.get(executionVertexId);
+            if (previousAllocation != null && availableSlots.contains(previousAllocation)) {
+                numberOfSubtasksPerSlot.merge(previousAllocation, 1, Integer::sum);
+            }
+        }
+
+        return numberOfSubtasksPerSlot.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey);
+    }
+
+    private static List<JobInformation.VertexInformation> getContainedJobVertices(
+            JobInformation jobInformation, SlotSharingGroup slotSharingGroup) {
+        return slotSharingGroup.getJobVertexIds().stream()
+                .map(jobInformation::getVertexInformation)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Distributes the given number of slots over the slot sharing groups of the job. Groups are
+     * served in the order of increasing demand and each group receives at most its fair share of
+     * the remaining slots, so that slots which a group with a low demand cannot use go to the
+     * groups with a higher demand.
+     *
+     * @return number of slots per slot sharing group, or an empty map if there are fewer slots
+     *     than slot sharing groups
+     */
+    private static Map<SlotSharingGroupId, Integer> distributeSlots(
+            JobInformation jobInformation, int numberOfSlots) {
+        final Collection<SlotSharingGroup> slotSharingGroups =
+                jobInformation.getSlotSharingGroups();
+
+        if (numberOfSlots < slotSharingGroups.size()) {
+            return Collections.emptyMap();
+        }
+
+        final List<Tuple2<SlotSharingGroupId, Integer>> demandPerSlotSharingGroup =
+                new ArrayList<>(slotSharingGroups.size());
+        for (SlotSharingGroup slotSharingGroup : slotSharingGroups) {
+            demandPerSlotSharingGroup.add(
+                    Tuple2.of(
+                            slotSharingGroup.getSlotSharingGroupId(),
+                            getDemand(getContainedJobVertices(jobInformation, slotSharingGroup))));
+        }
+        demandPerSlotSharingGroup.sort(Comparator.comparingInt(demand -> demand.f1));
+
+        final Map<SlotSharingGroupId, Integer> slotsPerSlotSharingGroup = new HashMap<>();
+        int remainingSlots = numberOfSlots;
+        int remainingSlotSharingGroups = demandPerSlotSharingGroup.size();
+
+        for (Tuple2<SlotSharingGroupId, Integer> demand : demandPerSlotSharingGroup) {
+            final int slots = Math.min(demand.f1, remainingSlots / remainingSlotSharingGroups);
+
+            slotsPerSlotSharingGroup.put(demand.f0, slots);
+            remainingSlots -= slots;
+            remainingSlotSharingGroups--;
+        }
+
+        return slotsPerSlotSharingGroup;
+    }
+
+    private static int getDemand(
+            Collection<JobInformation.VertexInformation> containedJobVertices) {
+        int demand = 1;
+        for (JobInformation.VertexInformation jobVertex : containedJobVertices) {
+            demand = Math.max(demand, jobVertex.getParallelism());
+        }
+        return demand;
+    }
+
     private static Map<JobVertexID, Integer> determineParallelism(
             Collection<JobInformation.VertexInformation> containedJobVertices, int availableSlots) {
+        final int demand = getDemand(containedJobVertices);
+
         final Map<JobVertexID, Integer> vertexParallelism = new HashMap<>();
         for (JobInformation.VertexInformation jobVertex : containedJobVertices) {
-            final int parallelism = Math.min(jobVertex.getParallelism(), availableSlots);
+            final int parallelism;
+            if (demand <= availableSlots) {
+                parallelism = jobVertex.getParallelism();
+            } else {
+                // scale all vertices down by the same factor to keep their relative sizes
+                parallelism =
+                        (int)
+                                (((long) jobVertex.getParallelism() * availableSlots + demand - 1)
+                                        / demand);
+            }
 
             vertexParallelism.put(jobVertex.getJobVertexID(), parallelism);
         }
@@ -145,14 +309,24 @@ public class SlotSharingSlotAllocator implements SlotAllocator {
         return vertexParallelism;
     }
 
+    /**
+     * Assigns the subtasks of the vertices to shared slots. The number of shared slots equals the
+     * highest parallelism of the given vertices. The subtasks of vertices with a lower parallelism
+     * are spread evenly over these slots, so a slot only hosts a subset of the vertices. Vertices
+     * with equal parallelism are placed in the same slots for the same subtask index.
+     */
     private static Iterable<ExecutionSlotSharingGroup> createExecutionSlotSharingGroups(
             Map<JobVertexID, Integer> containedJobVertices) {
+        final int numberOfSlots =
+                containedJobVertices.values().stream().mapToInt(Integer::intValue).max().orElse(0);
         final Map<Integer, Set<ExecutionVertexID>> sharedSlotToVertexAssignment = new HashMap<>();
 
         for (Map.Entry<JobVertexID, Integer> jobVertex : containedJobVertices.entrySet()) {
-            for (int i = 0; i < jobVertex.getValue(); i++) {
+            final int parallelism = jobVertex.getValue();
+            for (int i = 0; i < parallelism; i++) {
+                final int slotIndex = (int) ((long) i * numberOfSlots / parallelism);
                 sharedSlotToVertexAssignment
-                        .computeIfAbsent(i, ignored -> new HashSet<>())
+                        .computeIfAbsent(slotIndex, ignored -> new HashSet<>())
                         .add(new ExecutionVertexID(jobVertex.getKey(), i));
             }
         }
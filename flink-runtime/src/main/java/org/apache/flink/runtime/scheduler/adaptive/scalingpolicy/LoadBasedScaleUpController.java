@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.util.Preconditions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.apache.flink.configuration.JobManagerOptions.LOAD_BASED_SCALING_TARGET_UTILIZATION;
+import static org.apache.flink.configuration.JobManagerOptions.MIN_PARALLELISM_INCREASE;
+
+/**
+ * Scaling policy which derives the parallelism of each vertex from its observed load. A vertex is
+ * sized such that its subtasks are busy for the configured target utilization, i.e. vertices which
+ * are mostly idle give slots back while saturated vertices request more.
+ *
+ * <p>Vertices which are back pressured are kept at their current parallelism, because their busy
+ * time is bounded by a downstream bottleneck and does not reflect their actual demand.
+ */
+public class LoadBasedScaleUpController implements ScaleUpController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadBasedScaleUpController.class);
+
+    /** Back pressured ratio above which a vertex is considered to be throttled. */
+    static final double BACK_PRESSURED_THRESHOLD = 0.1;
+
+    private final int minParallelismIncrease;
+
+    private final double targetUtilization;
+
+    private final VertexLoadProvider vertexLoadProvider;
+
+    public LoadBasedScaleUpController(
+            Configuration configuration, VertexLoadProvider vertexLoadProvider) {
+        this.minParallelismIncrease = configuration.get(MIN_PARALLELISM_INCREASE);
+        this.targetUtilization = configuration.get(LOAD_BASED_SCALING_TARGET_UTILIZATION);
+        this.vertexLoadProvider = Preconditions.checkNotNull(vertexLoadProvider);
+
+        Preconditions.checkArgument(
+                targetUtilization > 0.0 && targetUtilization <= 1.0,
+                "%s must be in (0, 1], but was %s.",
+                LOAD_BASED_SCALING_TARGET_UTILIZATION.key(),
+                targetUtilization);
+    }
+
+    @Override
+    public boolean canScaleUp(int currentCumulativeParallelism, int newCumulativeParallelism) {
+        return newCumulativeParallelism - currentCumulativeParallelism >= minParallelismIncrease;
+    }
+
+    @Override
+    public Map<JobVertexID, Integer> computeTargetParallelism(
+            Map<JobVertexID, Integer> currentParallelism) {
+        final Map<JobVertexID, VertexLoad> vertexLoads = vertexLoadProvider.getVertexLoads();
+        final Map<JobVertexID, Integer> targetParallelism = new HashMap<>();
+
+        for (Map.Entry<JobVertexID, Integer> vertex : currentParallelism.entrySet()) {
+            final VertexLoad vertexLoad = vertexLoads.get(vertex.getKey());
+
+            if (vertexLoad == null || Double.isNaN(vertexLoad.getBusyTimeMsPerSecond())) {
+                // without load information we cannot make an informed decision
+                continue;
+            }
+
+            final int target = computeTargetParallelism(vertex.getValue(), vertexLoad);
+            LOG.debug(
+                    "Computed target parallelism {} for vertex {} (current parallelism {}, load {}).",
+                    target,
+                    vertex.getKey(),
+                    vertex.getValue(),
+                    vertexLoad);
+            targetParallelism.put(vertex.getKey(), target);
+        }
+
+        return targetParallelism;
+    }
+
+    private int computeTargetParallelism(int currentParallelism, VertexLoad vertexLoad) {
+        if (vertexLoad.getBackPressuredRatio() > BACK_PRESSURED_THRESHOLD) {
+            return currentParallelism;
+        }
+
+        final double requiredParallelism =
+                currentParallelism * vertexLoad.getBusyRatio() / targetUtilization;
+        // tolerate rounding errors so that a vertex running exactly at the target is not scaled up
+        return Math.max(1, (int) Math.ceil(requiredParallelism - 1e-6));
+    }
+}
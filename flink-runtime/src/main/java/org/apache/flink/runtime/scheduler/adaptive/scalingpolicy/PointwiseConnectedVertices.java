@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.runtime.jobgraph.DistributionPattern;
+import org.apache.flink.runtime.jobgraph.JobEdge;
+import org.apache.flink.runtime.jobgraph.JobGraph;
+import org.apache.flink.runtime.jobgraph.JobVertex;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups of vertices which are transitively connected by forward or pointwise edges. Changing the
+ * parallelism of only one side of such an edge changes which subtasks exchange data, and forward
+ * edges even require producer and consumer to have the same parallelism. Therefore all vertices
+ * of a group have to be scaled together.
+ */
+public class PointwiseConnectedVertices {
+
+    private final Collection<Set<JobVertexID>> groups;
+
+    PointwiseConnectedVertices(Collection<Set<JobVertexID>> groups) {
+        this.groups = groups;
+    }
+
+    public static PointwiseConnectedVertices fromJobGraph(JobGraph jobGraph) {
+        final Map<JobVertexID, Set<JobVertexID>> neighbours = new HashMap<>();
+        for (JobVertex vertex : jobGraph.getVertices()) {
+            for (JobEdge edge : vertex.getInputs()) {
+                if (edge.isForward()
+                        || edge.getDistributionPattern() == DistributionPattern.POINTWISE) {
+                    final JobVertexID producer = edge.getSource().getProducer().getID();
+                    neighbours
+                            .computeIfAbsent(producer, ignored -> new HashSet<>())
+                            .add(vertex.getID());
+                    neighbours
+                            .computeIfAbsent(vertex.getID(), ignored -> new HashSet<>())
+                            .add(producer);
+                }
+            }
+        }
+
+        final List<Set<JobVertexID>> groups = new ArrayList<>();
+        final Set<JobVertexID> visited = new HashSet<>();
+        for (JobVertexID start : neighbours.keySet()) {
+            if (!visited.add(start)) {
+                continue;
+            }
+            final Set<JobVertexID> group = new HashSet<>();
+            final Deque<JobVertexID> toVisit = new ArrayDeque<>();
+            toVisit.add(start);
+            while (!toVisit.isEmpty()) {
+                final JobVertexID current = toVisit.poll();
+                group.add(current);
+                for (JobVertexID neighbour : neighbours.get(current)) {
+                    if (visited.add(neighbour)) {
+                        toVisit.add(neighbour);
+                    }
+                }
+            }
+            groups.add(group);
+        }
+        return new PointwiseConnectedVertices(groups);
+    }
+
+    /**
+     * Aligns the given parallelism targets, such that all vertices of a group get the same target.
+     * A group gets the largest target of its vertices, where vertices without a target count with
+     * their current parallelism, so that no vertex of a group is scaled down below the demand of
+     * another one.
+     *
+     * @param targets The target parallelism per vertex, which may miss some vertices.
+     * @param currentParallelism The current parallelism of all vertices.
+     * @return The aligned targets.
+     */
+    public Map<JobVertexID, Integer> alignTargets(
+            Map<JobVertexID, Integer> targets, Map<JobVertexID, Integer> currentParallelism) {
+        final Map<JobVertexID, Integer> alignedTargets = new HashMap<>(targets);
+        for (Set<JobVertexID> group : groups) {
+            int groupTarget = 0;
+            boolean hasTarget = false;
+            for (JobVertexID vertex : group) {
+                final Integer target = targets.get(vertex);
+                if (target != null) {
+                    hasTarget = true;
+                    groupTarget = Math.max(groupTarget, target);
+                } else {
+                    groupTarget =
+                            Math.max(groupTarget, currentParallelism.getOrDefault(vertex, 0));
+                }
+            }
+
+            if (hasTarget) {
+                for (JobVertexID vertex : group) {
+                    alignedTargets.put(vertex, groupTarget);
+                }
+            }
+        }
+        return alignedTargets;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.annotation.Internal;
+
+import java.io.Serializable;
+
+/**
+ * Predicted cost of rescaling a job as computed by the {@link RescaleCostModel}. All durations are
+ * in milliseconds; values which could not be determined because nothing has been measured yet are
+ * reported as {@link #UNKNOWN}.
+ */
+@Internal
+public final class RescaleCostEstimate implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final long UNKNOWN = -1L;
+
+    private final long stateSizeToRestore;
+    private final long restartOverheadMillis;
+    private final long restoreThroughputBytesPerSecond;
+    private final long estimatedDowntimeMillis;
+
+    public RescaleCostEstimate(
+            long stateSizeToRestore,
+            long restartOverheadMillis,
+            long restoreThroughputBytesPerSecond,
+            long estimatedDowntimeMillis) {
+        this.stateSizeToRestore = stateSizeToRestore;
+        this.restartOverheadMillis = restartOverheadMillis;
+        this.restoreThroughputBytesPerSecond = restoreThroughputBytesPerSecond;
+        this.estimatedDowntimeMillis = estimatedDowntimeMillis;
+    }
+
+    /** Number of bytes of state which need to be restored from the checkpoint storage. */
+    public long getStateSizeToRestore() {
+        return stateSizeToRestore;
+    }
+
+    /** Time spent restarting the job without restoring any state. */
+    public long getRestartOverheadMillis() {
+        return restartOverheadMillis;
+    }
+
+    /** Rate at which the state was restored during previous restarts. */
+    public long getRestoreThroughputBytesPerSecond() {
+        return restoreThroughputBytesPerSecond;
+    }
+
+    /** Time the job is predicted to not process any records while rescaling. */
+    public long getEstimatedDowntimeMillis() {
+        return estimatedDowntimeMillis;
+    }
+
+    public boolean isKnown() {
+        return estimatedDowntimeMillis != UNKNOWN;
+    }
+
+    @Override
+    public String toString() {
+        return "RescaleCostEstimate{"
+                + "stateSizeToRestore="
+                + stateSizeToRestore
+                + ", restartOverheadMillis="
+                + restartOverheadMillis
+                + ", restoreThroughputBytesPerSecond="
+                + restoreThroughputBytesPerSecond
+                + ", estimatedDowntimeMillis="
+                + estimatedDowntimeMillis
+                + '}';
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.util.Preconditions;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Model which predicts the downtime caused by rescaling a job.
+ *
+ * <p>The downtime is modelled as a fixed restart overhead (cancelling the running tasks, acquiring
+ * the slots and deploying the new tasks) plus the time it takes to restore the state of the
+ * rescaled vertices. Both components are measured during previous restarts of the job and fed into
+ * the model via {@link #recordRestart(long, long, long)}. The amount of state to restore is taken
+ * from the latest completed checkpoint.
+ *
+ * <p>This class is not thread-safe and is expected to be accessed from the main thread of the
+ * scheduler only.
+ */
+public class RescaleCostModel {
+
+    @VisibleForTesting static final int MAX_NUM_SAMPLES = 10;
+
+    private final boolean localRecoveryEnabled;
+
+    private final ArrayDeque<Long> restartOverheadSamples = new ArrayDeque<>();
+
+    private final ArrayDeque<RestoreSample> restoreSamples = new ArrayDeque<>();
+
+    /**
+     * Creates a new cost model.
+     *
+     * @param localRecoveryEnabled whether the subtasks of vertices which keep their parallelism
+     *     can restore their state from a local copy instead of the checkpoint storage
+     */
+    public RescaleCostModel(boolean localRecoveryEnabled) {
+        this.localRecoveryEnabled = localRecoveryEnabled;
+    }
+
+    /**
+     * Records the measurements of a completed restart.
+     *
+     * @param restartOverheadMillis time between the restart being triggered and the state restore
+     *     being started
+     * @param restoredStateSize number of bytes which were restored
+     * @param restoreDurationMillis time between the state restore being started and all subtasks
+     *     running again
+     */
+    public void recordRestart(
+            long restartOverheadMillis, long restoredStateSize, long restoreDurationMillis) {
+        Preconditions.checkArgument(restartOverheadMillis >= 0);
+        Preconditions.checkArgument(restoredStateSize >= 0);
+        Preconditions.checkArgument(restoreDurationMillis >= 0);
+
+        addSample(restartOverheadSamples, restartOverheadMillis);
+
+        if (restoredStateSize > 0) {
+            addSample(restoreSamples, new RestoreSample(restoredStateSize, restoreDurationMillis));
+        }
+    }
+
+    /**
+     * Estimates the cost of changing the parallelism of the job.
+     *
+     * @param currentParallelism parallelism of the currently running vertices
+     * @param proposedParallelism parallelism the vertices should be rescaled to
+     * @param stateSizes state size per vertex as of the latest completed checkpoint
+     * @return estimated cost of the rescale operation
+     */
+    public RescaleCostEstimate estimate(
+            Map<JobVertexID, Integer> currentParallelism,
+            Map<JobVertexID, Integer> proposedParallelism,
+            Map<JobVertexID, Long> stateSizes) {
+        final long stateSizeToRestore =
+                getStateSizeToRestore(currentParallelism, proposedParallelism, stateSizes);
+        final long restartOverheadMillis = getRestartOverheadMillis();
+        final long restoreThroughput = getRestoreThroughputBytesPerSecond();
+
+        final long estimatedDowntimeMillis;
+        if (restartOverheadMillis == RescaleCostEstimate.UNKNOWN) {
+            estimatedDowntimeMillis = RescaleCostEstimate.UNKNOWN;
+        } else if (stateSizeToRestore == 0L) {
+            estimatedDowntimeMillis = restartOverheadMillis;
+        } else if (restoreThroughput == RescaleCostEstimate.UNKNOWN) {
+            estimatedDowntimeMillis = RescaleCostEstimate.UNKNOWN;
+        } else {
+            estimatedDowntimeMillis =
+                    restartOverheadMillis
+                            + (long) Math.ceil(stateSizeToRestore * 1000.0 / restoreThroughput);
+        }
+
+        return new RescaleCostEstimate(
+                stateSizeToRestore,
+                restartOverheadMillis,
+                restoreThroughput,
+                estimatedDowntimeMillis);
+    }
+
+    /**
+     * Returns the amount of state which has to be fetched from the checkpoint storage when
+     * changing the parallelism of the job. With local recovery, the subtasks of vertices which keep
+     * their parallelism restore their state from a local copy.
+     *
+     * @param currentParallelism parallelism of the vertices before the rescale operation
+     * @param proposedParallelism parallelism of the vertices after the rescale operation
+     * @param stateSizes state size per vertex of the checkpoint to restore
+     * @return number of bytes to fetch from the checkpoint storage
+     */
+    public long getStateSizeToRestore(
+            Map<JobVertexID, Integer> currentParallelism,
+            Map<JobVertexID, Integer> proposedParallelism,
+            Map<JobVertexID, Long> stateSizes) {
+        long stateSizeToRestore = 0L;
+
+        for (Map.Entry<JobVertexID, Long> stateSize : stateSizes.entrySet()) {
+            final JobVertexID jobVertexId = stateSize.getKey();
+            final boolean parallelismChanges =
+                    !Objects.equals(
+                            currentParallelism.get(jobVertexId),
+                            proposedParallelism.get(jobVertexId));
+
+            if (!localRecoveryEnabled || parallelismChanges) {
+                stateSizeToRestore += stateSize.getValue();
+            }
+        }
+        return stateSizeToRestore;
+    }
+
+    /**
+     * Checks whether the predicted downtime of a rescale operation is outweighed by the change in
+     * parallelism. The relative change of the cumulative parallelism approximates the relative
+     * change of throughput (or of the used resources when scaling down), which has to make up for
+     * the downtime within the given amortization period.
+     *
+     * @param estimate predicted cost of the rescale operation
+     * @param currentCumulativeParallelism cumulative parallelism of the running job
+     * @param newCumulativeParallelism cumulative parallelism after the rescale operation
+     * @param amortizationPeriod time within which the rescale operation needs to pay off
+     * @return {@code true} if the rescale operation is worth its cost or if its cost is unknown
+     */
+    public static boolean isWorthRescaling(
+            RescaleCostEstimate estimate,
+            int currentCumulativeParallelism,
+            int newCumulativeParallelism,
+            Duration amortizationPeriod) {
+        if (!estimate.isKnown() || currentCumulativeParallelism <= 0) {
+            return true;
+        }
+
+        final double relativeGain =
+                Math.abs(newCumulativeParallelism - currentCumulativeParallelism)
+                        / (double) currentCumulativeParallelism;
+
+        return estimate.getEstimatedDowntimeMillis()
+                <= relativeGain * amortizationPeriod.toMillis();
+    }
+
+    private long getRestartOverheadMillis() {
+        if (restartOverheadSamples.isEmpty()) {
+            return RescaleCostEstimate.UNKNOWN;
+        }
+
+        long sum = 0L;
+        for (long restartOverheadSample : restartOverheadSamples) {
+            sum += restartOverheadSample;
+        }
+        return sum / restartOverheadSamples.size();
+    }
+
+    private long getRestoreThroughputBytesPerSecond() {
+        long restoredStateSize = 0L;
+        long restoreDurationMillis = 0L;
+
+        for (RestoreSample restoreSample : restoreSamples) {
+            restoredStateSize += restoreSample.stateSize;
+            restoreDurationMillis += restoreSample.durationMillis;
+        }
+
+        if (restoredStateSize == 0L) {
+            return RescaleCostEstimate.UNKNOWN;
+        }
+
+        // restores which were faster than the clock resolution are treated as taking 1 ms
+        return (long) (restoredStateSize * 1000.0 / Math.max(restoreDurationMillis, 1L));
+    }
+
+    private static <T> void addSample(ArrayDeque<T> samples, T sample) {
+        if (samples.size() == MAX_NUM_SAMPLES) {
+            samples.removeFirst();
+        }
+        samples.addLast(sample);
+    }
+
+    private static final class RestoreSample {
+        private final long stateSize;
+        private final long durationMillis;
+
+        private RestoreSample(long stateSize, long durationMillis) {
+            this.stateSize = stateSize;
+            this.durationMillis = durationMillis;
+        }
+    }
+}
@@ -18,8 +18,12 @@
 package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
 
 import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.scheduler.adaptive.AdaptiveScheduler;
 
+import java.util.Collections;
+import java.util.Map;
+
 /** Simple policy for controlling the scale up behavior of the {@link AdaptiveScheduler}. */
 @Internal
 public interface ScaleUpController {
@@ -34,4 +38,18 @@ public interface ScaleUpController {
      * @return true if the policy decided to scale up based on the provided information.
      */
     boolean canScaleUp(int currentCumulativeParallelism, int newCumulativeParallelism);
+
+    /**
+     * This method gets called periodically while the job is running to determine the parallelism
+     * each vertex should run with. The returned targets act as an upper bound for the parallelism
+     * the {@link AdaptiveScheduler} assigns to the vertices; vertices without a target are scaled
+     * up to their configured parallelism.
+     *
+     * @param currentParallelism Parallelism of the vertices of the currently running job graph.
+     * @return the target parallelism per vertex.
+     */
+    default Map<JobVertexID, Integer> computeTargetParallelism(
+            Map<JobVertexID, Integer> currentParallelism) {
+        return Collections.emptyMap();
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.annotation.Internal;
+
+/**
+ * Aggregated load of all subtasks of a job vertex. The time based metrics are averaged over the
+ * subtasks whereas the record rates are summed up.
+ */
+@Internal
+public final class VertexLoad {
+
+    private final double busyTimeMsPerSecond;
+    private final double backPressuredTimeMsPerSecond;
+    private final double numRecordsInPerSecond;
+    private final double numRecordsOutPerSecond;
+
+    public VertexLoad(
+            double busyTimeMsPerSecond,
+            double backPressuredTimeMsPerSecond,
+            double numRecordsInPerSecond,
+            double numRecordsOutPerSecond) {
+        this.busyTimeMsPerSecond = busyTimeMsPerSecond;
+        this.backPressuredTimeMsPerSecond = backPressuredTimeMsPerSecond;
+        this.numRecordsInPerSecond = numRecordsInPerSecond;
+        this.numRecordsOutPerSecond = numRecordsOutPerSecond;
+    }
+
+    /**
+     * Returns the average busy time per second of the subtasks, or {@link Double#NaN} if the busy
+     * time is not measured for this vertex.
+     */
+    public double getBusyTimeMsPerSecond() {
+        return busyTimeMsPerSecond;
+    }
+
+    public double getBackPressuredTimeMsPerSecond() {
+        return backPressuredTimeMsPerSecond;
+    }
+
+    public double getNumRecordsInPerSecond() {
+        return numRecordsInPerSecond;
+    }
+
+    public double getNumRecordsOutPerSecond() {
+        return numRecordsOutPerSecond;
+    }
+
+    /** Fraction of time in {@code [0, 1]} the subtasks spent processing records. */
+    public double getBusyRatio() {
+        return Math.min(busyTimeMsPerSecond, 1000.0) / 1000.0;
+    }
+
+    /** Fraction of time in {@code [0, 1]} the subtasks were blocked by a downstream vertex. */
+    public double getBackPressuredRatio() {
+        return Math.min(backPressuredTimeMsPerSecond, 1000.0) / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return "VertexLoad{"
+                + "busyTimeMsPerSecond="
+                + busyTimeMsPerSecond
+                + ", backPressuredTimeMsPerSecond="
+                + backPressuredTimeMsPerSecond
+                + ", numRecordsInPerSecond="
+                + numRecordsInPerSecond
+                + ", numRecordsOutPerSecond="
+                + numRecordsOutPerSecond
+                + '}';
+    }
+}
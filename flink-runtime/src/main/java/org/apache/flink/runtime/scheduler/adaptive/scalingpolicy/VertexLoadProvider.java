@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+
+import java.util.Collections;
+import java.util.Map;
+
+/** Provides the current {@link VertexLoad} of the job vertices of a running job. */
+@Internal
+public interface VertexLoadProvider {
+
+    /**
+     * Returns the latest known load per job vertex. Vertices for which no load has been reported
+     * yet are not contained in the returned map.
+     *
+     * @return latest load per job vertex
+     */
+    Map<JobVertexID, VertexLoad> getVertexLoads();
+
+    static VertexLoadProvider noLoadInformation() {
+        return Collections::emptyMap;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.runtime.executiongraph.LoadMetrics;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.scheduler.strategy.ExecutionVertexID;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link VertexLoadProvider} which aggregates the {@link LoadMetrics} reported for the individual
+ * subtasks of the running job.
+ *
+ * <p>This class is not thread-safe and is expected to be accessed from the main thread of the
+ * scheduler only.
+ */
+public class VertexLoadTracker implements VertexLoadProvider {
+
+    private final Map<ExecutionVertexID, LoadMetrics> subtaskLoads = new HashMap<>();
+
+    /** Records the latest load metrics of the given subtask. */
+    public void reportLoad(ExecutionVertexID executionVertexId, LoadMetrics loadMetrics) {
+        subtaskLoads.put(executionVertexId, loadMetrics);
+    }
+
+    /**
+     * Forgets all reported load metrics. This needs to be called whenever the job is redeployed,
+     * because subtasks which no longer exist would otherwise distort the aggregation.
+     */
+    public void clear() {
+        subtaskLoads.clear();
+    }
+
+    @Override
+    public Map<JobVertexID, VertexLoad> getVertexLoads() {
+        final Map<JobVertexID, LoadAggregator> aggregators = new HashMap<>();
+
+        for (Map.Entry<ExecutionVertexID, LoadMetrics> subtaskLoad : subtaskLoads.entrySet()) {
+            aggregators
+                    .computeIfAbsent(
+                            subtaskLoad.getKey().getJobVertexId(), ignored -> new LoadAggregator())
+                    .add(subtaskLoad.getValue());
+        }
+
+        final Map<JobVertexID, VertexLoad> vertexLoads = new HashMap<>(aggregators.size());
+        for (Map.Entry<JobVertexID, LoadAggregator> aggregator : aggregators.entrySet()) {
+            vertexLoads.put(aggregator.getKey(), aggregator.getValue().toVertexLoad());
+        }
+        return vertexLoads;
+    }
+
+    private static final class LoadAggregator {
+        private int numSubtasks;
+        private double busyTimeMsPerSecond;
+        private double backPressuredTimeMsPerSecond;
+        private double numRecordsInPerSecond;
+        private double numRecordsOutPerSecond;
+
+        private void add(LoadMetrics loadMetrics) {
+            numSubtasks++;
+            // NaN (busy time not measured) propagates into the aggregate on purpose
+            busyTimeMsPerSecond += loadMetrics.getBusyTimeMsPerSecond();
+            backPressuredTimeMsPerSecond += loadMetrics.getBackPressuredTimeMsPerSecond();
+            numRecordsInPerSecond += loadMetrics.getNumRecordsInPerSecond();
+            numRecordsOutPerSecond += loadMetrics.getNumRecordsOutPerSecond();
+        }
+
+        private VertexLoad toVertexLoad() {
+            return new VertexLoad(
+                    busyTimeMsPerSecond / numSubtasks,
+                    backPressuredTimeMsPerSecond / numSubtasks,
+                    numRecordsInPerSecond,
+                    numRecordsOutPerSecond);
+        }
+    }
+}
@@ -173,7 +173,28 @@ public class PipelinedRegionSchedulingStrategy implements SchedulingStrategy {
     @Override
     public void onExecutionStateChange(
             final ExecutionVertexID executionVertexId, final ExecutionState executionState) {
-        if (executionState == ExecutionState.FINISHED) {
+        if (executionState == ExecutionState.RUNNING) {
+            // the consumers of hybrid partitions can already be scheduled once the producer runs
+            final Set<SchedulingPipelinedRegion> consumerRegions =
+                    IterableUtils.toStream(
+                                    schedulingTopology
+                                            .getVertex(executionVertexId)
+                                            .getProducedResults())
+                            .filter(
+                                    partition ->
+                                            partition.getResultType().isHybridResultPartition())
+                            .flatMap(partition -> partition.getConsumedPartitionGroups().stream())
+                            .flatMap(
+                                    partitionGroup ->
+                                            partitionGroupConsumerRegions
+                                                    .getOrDefault(
+                                                            partitionGroup, Collections.emptySet())
+                                                    .stream())
+                            .filter(this::areRegionVerticesAllInCreatedState)
+                            .collect(Collectors.toSet());
+
+            maybeScheduleRegions(consumerRegions);
+        } else if (executionState == ExecutionState.FINISHED) {
             final Set<ConsumedPartitionGroup> finishedConsumedPartitionGroups =
                     IterableUtils.toStream(
                                     schedulingTopology
@@ -181,7 +202,10 @@ public class PipelinedRegionSchedulingStrategy implements SchedulingStrategy {
                                             .getProducedResults())
                             .filter(
                                     partition ->
-                                            partition.getState() == ResultPartitionState.CONSUMABLE)
+                                            partition.getState() == ResultPartitionState.CONSUMABLE
+                                                    && !partition
+                                                            .getResultType()
+                                                            .isHybridResultPartition())
                             .flatMap(partition -> partition.getConsumedPartitionGroups().stream())
                             .filter(
                                     group ->
@@ -256,8 +280,7 @@ public class PipelinedRegionSchedulingStrategy implements SchedulingStrategy {
     private boolean isConsumedPartitionGroupConsumable(
             final ConsumedPartitionGroup consumedPartitionGroup) {
         for (IntermediateResultPartitionID partitionId : consumedPartitionGroup) {
-            if (schedulingTopology.getResultPartition(partitionId).getState()
-                    != ResultPartitionState.CONSUMABLE) {
+            if (!isResultPartitionConsumable(partitionId)) {
                 return false;
             }
         }
@@ -269,14 +292,27 @@ public class PipelinedRegionSchedulingStrategy implements SchedulingStrategy {
             final SchedulingPipelinedRegion pipelinedRegion) {
         for (IntermediateResultPartitionID partitionId : consumedPartitionGroup) {
             if (isExternalConsumedPartition(partitionId, pipelinedRegion)
-                    && schedulingTopology.getResultPartition(partitionId).getState()
-                            != ResultPartitionState.CONSUMABLE) {
+                    && !isResultPartitionConsumable(partitionId)) {
                 return false;
             }
         }
         return true;
     }
 
+    private boolean isResultPartitionConsumable(IntermediateResultPartitionID partitionId) {
+        final SchedulingResultPartition partition =
+                schedulingTopology.getResultPartition(partitionId);
+        if (partition.getState() == ResultPartitionState.CONSUMABLE) {
+            return true;
+        }
+        if (partition.getResultType().isHybridResultPartition()) {
+            final ExecutionState producerState = partition.getProducer().getState();
+            return producerState == ExecutionState.RUNNING
+                    || producerState == ExecutionState.FINISHED;
+        }
+        return false;
+    }
+
     private boolean areRegionVerticesAllInCreatedState(final SchedulingPipelinedRegion region) {
         for (SchedulingExecutionVertex vertex : region.getVertices()) {
             if (vertex.getState() != ExecutionState.CREATED) {
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle;
+
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+
+import java.util.Optional;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link ShuffleDescriptor} of a result partition which is stored by a shuffle worker outside of
+ * the producing task executor.
+ *
+ * <p>The partition does not occupy any local resources of the producer, hence the producing task
+ * executor can be released as soon as the producer has finished. The partition is released via
+ * {@link ShuffleMaster#releasePartitionExternally(ShuffleDescriptor)}.
+ */
+public final class RemoteShuffleDescriptor implements ShuffleDescriptor {
+
+    private static final long serialVersionUID = 4928741625098238791L;
+
+    private final ResultPartitionID resultPartitionID;
+
+    private final String workerHost;
+
+    private final int workerPort;
+
+    public RemoteShuffleDescriptor(
+            ResultPartitionID resultPartitionID, String workerHost, int workerPort) {
+        this.resultPartitionID = checkNotNull(resultPartitionID);
+        this.workerHost = checkNotNull(workerHost);
+        this.workerPort = workerPort;
+    }
+
+    @Override
+    public ResultPartitionID getResultPartitionID() {
+        return resultPartitionID;
+    }
+
+    public String getWorkerHost() {
+        return workerHost;
+    }
+
+    public int getWorkerPort() {
+        return workerPort;
+    }
+
+    @Override
+    public Optional<ResourceID> storesLocalResourcesOn() {
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "RemoteShuffleDescriptor{resultPartitionID=%s, worker=%s:%d}",
+                resultPartitionID, workerHost, workerPort);
+    }
+}
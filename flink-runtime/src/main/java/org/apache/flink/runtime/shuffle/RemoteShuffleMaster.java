@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * {@link ShuffleMaster} of the remote shuffle service.
+ *
+ * <p>{@link ResultPartitionType#BLOCKING} partitions are stored by a shuffle worker outside of the
+ * task executors and are described by a {@link RemoteShuffleDescriptor}. All other partitions,
+ * which have to be consumed while being produced or are cached beyond the lifetime of the job, are
+ * handled by the netty shuffle implementation.
+ */
+public class RemoteShuffleMaster implements ShuffleMaster<ShuffleDescriptor> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RemoteShuffleMaster.class);
+
+    private final NettyShuffleMaster nettyShuffleMaster;
+
+    private final String workerHost;
+
+    private final int workerPort;
+
+    private final ShuffleWorkerClient workerClient;
+
+    /** Executor to release the partitions on the shuffle worker without blocking the caller. */
+    private final ExecutorService releaseExecutor;
+
+    public RemoteShuffleMaster(Configuration conf) {
+        checkNotNull(conf);
+        this.nettyShuffleMaster = new NettyShuffleMaster(conf);
+        this.workerHost = conf.getString(RemoteShuffleOptions.SHUFFLE_WORKER_HOST);
+        this.workerPort = conf.getInteger(RemoteShuffleOptions.SHUFFLE_WORKER_PORT);
+        this.workerClient = new ShuffleWorkerClient(workerHost, workerPort);
+        this.releaseExecutor =
+                Executors.newSingleThreadExecutor(
+                        new ExecutorThreadFactory("remote-shuffle-partition-release"));
+    }
+
+    @Override
+    public CompletableFuture<ShuffleDescriptor> registerPartitionWithProducer(
+            JobID jobID,
+            PartitionDescriptor partitionDescriptor,
+            ProducerDescriptor producerDescriptor) {
+
+        if (partitionDescriptor.getPartitionType() != ResultPartitionType.BLOCKING) {
+            return nettyShuffleMaster
+                    .registerPartitionWithProducer(jobID, partitionDescriptor, producerDescriptor)
+                    .thenApply(descriptor -> descriptor);
+        }
+
+        ResultPartitionID resultPartitionID =
+                new ResultPartitionID(
+                        partitionDescriptor.getPartitionId(),
+                        producerDescriptor.getProducerExecutionId());
+
+        return CompletableFuture.completedFuture(
+                new RemoteShuffleDescriptor(resultPartitionID, workerHost, workerPort));
+    }
+
+    @Override
+    public void releasePartitionExternally(ShuffleDescriptor shuffleDescriptor) {
+        if (!(shuffleDescriptor instanceof RemoteShuffleDescriptor)) {
+            nettyShuffleMaster.releasePartitionExternally(shuffleDescriptor);
+            return;
+        }
+
+        final ResultPartitionID partitionId = shuffleDescriptor.getResultPartitionID();
+        releaseExecutor.execute(
+                () -> {
+                    try {
+                        workerClient.releasePartition(partitionId);
+                    } catch (IOException e) {
+                        LOG.warn(
+                                "Failed to release partition {} on shuffle worker {}:{}.",
+                                partitionId,
+                                workerHost,
+                                workerPort,
+                                e);
+                    }
+                });
+    }
+
+    @Override
+    public MemorySize computeShuffleMemorySizeForTask(TaskInputsOutputsDescriptor desc) {
+        // the remote partitions are written through the network buffers as well
+        return nettyShuffleMaster.computeShuffleMemorySizeForTask(desc);
+    }
+
+    @Override
+    public void close() throws Exception {
+        releaseExecutor.shutdown();
+        nettyShuffleMaster.close();
+    }
+}
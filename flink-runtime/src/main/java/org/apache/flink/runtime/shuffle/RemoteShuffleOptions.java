@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle;
+
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ConfigOptions;
+
+/** Options to configure the {@link RemoteShuffleServiceFactory remote shuffle service}. */
+@SuppressWarnings("WeakerAccess")
+public class RemoteShuffleOptions {
+
+    private RemoteShuffleOptions() {}
+
+    /**
+     * The host name of the shuffle worker that stores the blocking result partitions. The worker
+     * does not authenticate its clients.
+     */
+    public static final ConfigOption<String> SHUFFLE_WORKER_HOST =
+            ConfigOptions.key("shuffle.remote.worker.host")
+                    .stringType()
+                    .defaultValue("localhost")
+                    .withDescription(
+                            "The host name of the shuffle worker which stores the blocking result partitions "
+                                    + "if the remote shuffle service is used. The shuffle worker accepts "
+                                    + "unauthenticated requests to write, read, and release partitions over "
+                                    + "a plain socket without SSL. It must only be reachable from the Flink "
+                                    + "processes within a trusted network.");
+
+    /** The port of the shuffle worker that stores the blocking result partitions. */
+    public static final ConfigOption<Integer> SHUFFLE_WORKER_PORT =
+            ConfigOptions.key("shuffle.remote.worker.port")
+                    .intType()
+                    .defaultValue(9780)
+                    .withDescription(
+                            "The port of the shuffle worker which stores the blocking result partitions "
+                                    + "if the remote shuffle service is used. The shuffle worker binds to "
+                                    + "this port, 0 means that a random free port is chosen.");
+
+    /** The directory in which the shuffle worker stores the result partitions. */
+    public static final ConfigOption<String> SHUFFLE_WORKER_STORAGE_DIR =
+            ConfigOptions.key("shuffle.remote.worker.storage-dir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The directory in which the shuffle worker stores the result partitions. "
+                                    + "If not configured, a sub-directory of the system temp directory "
+                                    + "('java.io.tmpdir') is used.");
+}
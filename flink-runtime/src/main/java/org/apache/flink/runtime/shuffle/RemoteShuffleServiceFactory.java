@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle;
+
+import org.apache.flink.runtime.io.network.NettyShuffleServiceFactory;
+import org.apache.flink.runtime.io.network.partition.ResultPartition;
+import org.apache.flink.runtime.io.network.partition.consumer.SingleInputGate;
+
+/**
+ * Shuffle service implementation which stores the blocking result partitions on a shuffle worker
+ * outside of the task executors, see {@link org.apache.flink.runtime.shuffle.worker.ShuffleWorker}.
+ *
+ * <p>Since the blocking partitions do not occupy any resources of the producing task executors,
+ * these can be released as soon as the producers have finished. The data of all other partitions
+ * is exchanged via netty like in the {@link NettyShuffleServiceFactory default implementation}.
+ */
+public class RemoteShuffleServiceFactory
+        implements ShuffleServiceFactory<ShuffleDescriptor, ResultPartition, SingleInputGate> {
+
+    private final NettyShuffleServiceFactory nettyShuffleServiceFactory =
+            new NettyShuffleServiceFactory();
+
+    @Override
+    public RemoteShuffleMaster createShuffleMaster(ShuffleMasterContext shuffleMasterContext) {
+        return new RemoteShuffleMaster(shuffleMasterContext.getConfiguration());
+    }
+
+    @Override
+    public ShuffleEnvironment<ResultPartition, SingleInputGate> createShuffleEnvironment(
+            ShuffleEnvironmentContext shuffleEnvironmentContext) {
+        // the environment creates the remote partitions and input channels based on the
+        // type of the shuffle descriptors
+        return nettyShuffleServiceFactory.createShuffleEnvironment(shuffleEnvironmentContext);
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle.worker;
+
+import org.apache.flink.api.java.utils.ParameterTool;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.GlobalConfiguration;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.runtime.shuffle.RemoteShuffleOptions;
+import org.apache.flink.runtime.util.EnvironmentInformation;
+import org.apache.flink.runtime.util.JvmShutdownSafeguard;
+import org.apache.flink.runtime.util.SignalHandler;
+import org.apache.flink.util.FileUtils;
+import org.apache.flink.util.IOUtils;
+import org.apache.flink.util.ShutdownHookUtil;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A shuffle worker stores the blocking result partitions of the remote shuffle service outside of
+ * the task executors. It can be run as a standalone process via {@link #main(String[])}.
+ *
+ * <p>Every partition is stored in a directory with one file per subpartition. A partition is
+ * written into a temporary directory which is atomically renamed when the producer commits the
+ * partition, hence readers never see partially written partitions.
+ *
+ * <p>The protocol between the worker and its clients is described in {@link
+ * ShuffleWorkerProtocol}. The worker does not authenticate its clients and does not encrypt the
+ * data, hence it must only be reachable from the Flink processes of a trusted network.
+ */
+public class ShuffleWorker extends Thread implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShuffleWorker.class);
+
+    private static final String IN_PROGRESS_SUFFIX = ".inprogress";
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final File storageDir;
+
+    private final ServerSocket serverSocket;
+
+    private final ExecutorService connectionExecutor;
+
+    private final AtomicBoolean shutdownRequested = new AtomicBoolean();
+
+    public ShuffleWorker(File storageDir, int port) throws IOException {
+        this.storageDir = checkNotNull(storageDir);
+        Files.createDirectories(storageDir.toPath());
+        deleteInProgressPartitions();
+
+        this.serverSocket = new ServerSocket(port);
+        this.connectionExecutor =
+                Executors.newCachedThreadPool(
+                        new ExecutorThreadFactory("shuffle-worker-connection"));
+
+        setName("Shuffle worker listener at " + getPort());
+        setDaemon(true);
+
+        LOG.info(
+                "Started shuffle worker at port {} with storage directory {}.",
+                getPort(),
+                storageDir);
+    }
+
+    public static ShuffleWorker fromConfiguration(Configuration configuration) throws IOException {
+        final File storageDir =
+                configuration
+                        .getOptional(RemoteShuffleOptions.SHUFFLE_WORKER_STORAGE_DIR)
+                        .map(File::new)
+                        .orElseGet(
+                                () ->
+                                        new File(
+                                                System.getProperty("java.io.tmpdir"),
+                                                "flink-shuffle-worker"));
+        return new ShuffleWorker(
+                storageDir, configuration.getInteger(RemoteShuffleOptions.SHUFFLE_WORKER_PORT));
+    }
+
+    /** Returns the port on which the worker listens for connections. */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!shutdownRequested.get()) {
+                final Socket socket = serverSocket.accept();
+                connectionExecutor.execute(() -> handleConnection(socket));
+            }
+        } catch (Throwable t) {
+            if (!shutdownRequested.get()) {
+                LOG.error("Shuffle worker stopped working. Shutting down.", t);
+                close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (shutdownRequested.compareAndSet(false, true)) {
+            IOUtils.closeQuietly(serverSocket);
+            connectionExecutor.shutdownNow();
+            LOG.info("Stopped shuffle worker at port {}.", getPort());
+        }
+    }
+
+    // ------------------------------------------------------------------------
+
+    private void handleConnection(Socket socket) {
+        try (Socket ignored = socket) {
+            socket.setTcpNoDelay(true);
+            final DataInputStream in =
+                    new DataInputStream(
+                            new BufferedInputStream(socket.getInputStream(), STREAM_BUFFER_SIZE));
+            final DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(socket.getOutputStream(), STREAM_BUFFER_SIZE));
+
+            final byte request = in.readByte();
+            final ResultPartitionID partitionId = ShuffleWorkerProtocol.readPartitionId(in);
+            try {
+                switch (request) {
+                    case ShuffleWorkerProtocol.WRITE_PARTITION:
+                        writePartition(partitionId, in, out);
+                        break;
+                    case ShuffleWorkerProtocol.READ_SUBPARTITION:
+                        readSubpartition(partitionId, in.readInt(), out);
+                        break;
+                    case ShuffleWorkerProtocol.RELEASE_PARTITION:
+                        releasePartition(partitionId);
+                        out.writeByte(ShuffleWorkerProtocol.RESPONSE_OK);
+                        out.flush();
+                        break;
+                    default:
+                        throw new IOException("Unknown request type " + request + '.');
+                }
+            } catch (IOException e) {
+                LOG.debug("Failed to serve request for partition {}.", partitionId, e);
+                ShuffleWorkerProtocol.writeErrorResponse(out, e);
+            }
+        } catch (IOException e) {
+            // the client has closed the connection or has failed
+            LOG.debug("Shuffle worker connection failed.", e);
+        }
+    }
+
+    private void writePartition(
+            ResultPartitionID partitionId, DataInputStream in, DataOutputStream out)
+            throws IOException {
+        final int numSubpartitions = in.readInt();
+        final String fileName = ShuffleWorkerProtocol.getPartitionFileName(partitionId);
+        final Path inProgressDir = storageDir.toPath().resolve(fileName + IN_PROGRESS_SUFFIX);
+
+        final DataOutputStream[] subpartitionStreams = new DataOutputStream[numSubpartitions];
+        boolean isCommitted = false;
+        try {
+            Files.createDirectory(inProgressDir);
+
+            int subpartitionIndex;
+            while ((subpartitionIndex = in.readInt()) != ShuffleWorkerProtocol.COMMIT) {
+                if (subpartitionIndex < 0 || subpartitionIndex >= numSubpartitions) {
+                    throw new IOException("Invalid subpartition index " + subpartitionIndex + '.');
+                }
+                if (subpartitionStreams[subpartitionIndex] == null) {
+                    subpartitionStreams[subpartitionIndex] =
+                            createSubpartitionStream(inProgressDir, subpartitionIndex);
+                }
+                copyFrame(in, subpartitionStreams[subpartitionIndex]);
+            }
+
+            for (int i = 0; i < numSubpartitions; i++) {
+                if (subpartitionStreams[i] == null) {
+                    subpartitionStreams[i] = createSubpartitionStream(inProgressDir, i);
+                }
+                subpartitionStreams[i].close();
+            }
+            commitPartition(inProgressDir, storageDir.toPath().resolve(fileName));
+            isCommitted = true;
+
+            out.writeByte(ShuffleWorkerProtocol.RESPONSE_OK);
+            out.flush();
+            LOG.debug("Committed partition {}.", partitionId);
+        } finally {
+            IOUtils.closeAllQuietly(subpartitionStreams);
+            if (!isCommitted) {
+                FileUtils.deleteDirectoryQuietly(inProgressDir.toFile());
+            }
+        }
+    }
+
+    private static DataOutputStream createSubpartitionStream(Path partitionDir, int index)
+            throws IOException {
+        final OutputStream out = Files.newOutputStream(partitionDir.resolve(String.valueOf(index)));
+        return new DataOutputStream(new BufferedOutputStream(out, STREAM_BUFFER_SIZE));
+    }
+
+    /** Copies a frame as is, the header is validated when the frame is read by the consumer. */
+    private static void copyFrame(DataInputStream in, DataOutputStream out) throws IOException {
+        out.writeByte(in.readByte());
+        out.writeByte(in.readByte());
+        final int size = in.readInt();
+        out.writeInt(size);
+
+        final byte[] bytes = new byte[Math.min(size, STREAM_BUFFER_SIZE)];
+        int remaining = size;
+        while (remaining > 0) {
+            final int length = Math.min(remaining, bytes.length);
+            in.readFully(bytes, 0, length);
+            out.write(bytes, 0, length);
+            remaining -= length;
+        }
+    }
+
+    private static void commitPartition(Path inProgressDir, Path partitionDir) throws IOException {
+        try {
+            Files.move(inProgressDir, partitionDir, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(inProgressDir, partitionDir);
+        }
+    }
+
+    private void readSubpartition(
+            ResultPartitionID partitionId, int subpartitionIndex, DataOutputStream out)
+            throws IOException {
+        final Path subpartitionFile =
+                storageDir
+                        .toPath()
+                        .resolve(ShuffleWorkerProtocol.getPartitionFileName(partitionId))
+                        .resolve(String.valueOf(subpartitionIndex));
+
+        final InputStream subpartitionData;
+        try {
+            // the file may be released concurrently, hence there is no separate existence check
+            subpartitionData = Files.newInputStream(subpartitionFile);
+        } catch (NoSuchFileException e) {
+            out.writeByte(ShuffleWorkerProtocol.RESPONSE_PARTITION_NOT_FOUND);
+            out.flush();
+            return;
+        }
+
+        try (InputStream ignored = subpartitionData) {
+            out.writeByte(ShuffleWorkerProtocol.RESPONSE_OK);
+            IOUtils.copyBytes(subpartitionData, out, STREAM_BUFFER_SIZE, false);
+            out.flush();
+            LOG.debug("Sent subpartition {} of partition {}.", subpartitionIndex, partitionId);
+        } catch (IOException e) {
+            // no error response can be sent in the middle of the data, the reader detects the
+            // incomplete data when the connection is closed
+            LOG.debug(
+                    "Failed to send subpartition {} of partition {}.",
+                    subpartitionIndex,
+                    partitionId,
+                    e);
+        }
+    }
+
+    private void releasePartition(ResultPartitionID partitionId) throws IOException {
+        final String fileName = ShuffleWorkerProtocol.getPartitionFileName(partitionId);
+        FileUtils.deleteDirectory(storageDir.toPath().resolve(fileName).toFile());
+        LOG.debug("Released partition {}.", partitionId);
+    }
+
+    private void deleteInProgressPartitions() throws IOException {
+        final File[] files = storageDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(IN_PROGRESS_SUFFIX)) {
+                    FileUtils.deleteDirectory(file);
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+
+    /**
+     * Starts a standalone shuffle worker.
+     *
+     * @param args The command line arguments, the configuration directory is given by
+     *     '--configDir'.
+     */
+    public static void main(String[] args) {
+        EnvironmentInformation.logEnvironmentInfo(LOG, "ShuffleWorker", args);
+        SignalHandler.register(LOG);
+        JvmShutdownSafeguard.installAsShutdownHook(LOG);
+
+        try {
+            final ParameterTool params = ParameterTool.fromArgs(args);
+            final String configDir = params.getRequired("configDir");
+
+            LOG.info("Loading configuration from {}", configDir);
+            final Configuration configuration = GlobalConfiguration.loadConfiguration(configDir);
+
+            final ShuffleWorker shuffleWorker = ShuffleWorker.fromConfiguration(configuration);
+            ShutdownHookUtil.addShutdownHook(
+                    shuffleWorker, ShuffleWorker.class.getSimpleName(), LOG);
+            shuffleWorker.start();
+            shuffleWorker.join();
+        } catch (Throwable t) {
+            LOG.error("Error running the shuffle worker.", t);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle.worker;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferRecycler;
+import org.apache.flink.runtime.io.network.partition.PartitionNotFoundException;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.util.IOUtils;
+
+import javax.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Client of a {@link ShuffleWorker}. Every partition writer and subpartition reader uses its own
+ * connection to the worker.
+ */
+public class ShuffleWorkerClient {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private final String host;
+
+    private final int port;
+
+    public ShuffleWorkerClient(String host, int port) {
+        checkArgument(port > 0 && port <= 65535, "Invalid shuffle worker port %s.", port);
+        this.host = checkNotNull(host);
+        this.port = port;
+    }
+
+    /**
+     * Opens a writer for the given partition. The partition becomes readable once the writer is
+     * committed, a writer which is closed before is discarded by the worker.
+     */
+    public PartitionWriter createPartitionWriter(
+            ResultPartitionID partitionId, int numSubpartitions) throws IOException {
+        final Connection connection = connect();
+        try {
+            connection.out.writeByte(ShuffleWorkerProtocol.WRITE_PARTITION);
+            ShuffleWorkerProtocol.writePartitionId(connection.out, partitionId);
+            connection.out.writeInt(numSubpartitions);
+            return new PartitionWriter(connection, numSubpartitions);
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a reader for the given subpartition of a committed partition.
+     *
+     * @throws PartitionNotFoundException if the partition is not known to the worker
+     */
+    public SubpartitionReader createSubpartitionReader(
+            ResultPartitionID partitionId, int subpartitionIndex) throws IOException {
+        final Connection connection = connect();
+        try {
+            connection.out.writeByte(ShuffleWorkerProtocol.READ_SUBPARTITION);
+            ShuffleWorkerProtocol.writePartitionId(connection.out, partitionId);
+            connection.out.writeInt(subpartitionIndex);
+            connection.out.flush();
+
+            if (ShuffleWorkerProtocol.readResponse(connection.in)
+                    == ShuffleWorkerProtocol.RESPONSE_PARTITION_NOT_FOUND) {
+                throw new PartitionNotFoundException(partitionId);
+            }
+            return new SubpartitionReader(connection);
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /** Deletes the given partition from the worker. Unknown partitions are ignored. */
+    public void releasePartition(ResultPartitionID partitionId) throws IOException {
+        try (Connection connection = connect()) {
+            connection.out.writeByte(ShuffleWorkerProtocol.RELEASE_PARTITION);
+            ShuffleWorkerProtocol.writePartitionId(connection.out, partitionId);
+            connection.out.flush();
+            ShuffleWorkerProtocol.readResponse(connection.in);
+        }
+    }
+
+    private Connection connect() throws IOException {
+        final Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+            return new Connection(socket);
+        } catch (IOException e) {
+            IOUtils.closeQuietly(socket);
+            throw new IOException(
+                    String.format("Could not connect to shuffle worker %s:%d.", host, port), e);
+        }
+    }
+
+    // ------------------------------------------------------------------------
+
+    /** Writes the buffers of a partition to the worker. */
+    public static final class PartitionWriter implements Closeable {
+
+        private final Connection connection;
+
+        private final int numSubpartitions;
+
+        private boolean isCommitted;
+
+        private PartitionWriter(Connection connection, int numSubpartitions) {
+            this.connection = connection;
+            this.numSubpartitions = numSubpartitions;
+        }
+
+        /** Writes the readable bytes of the buffer, the buffer is not recycled. */
+        public void writeBuffer(int subpartitionIndex, Buffer buffer) throws IOException {
+            checkArgument(subpartitionIndex >= 0 && subpartitionIndex < numSubpartitions);
+            checkState(!isCommitted, "Partition already committed.");
+
+            connection.out.writeInt(subpartitionIndex);
+            ShuffleWorkerProtocol.writeFrame(connection.out, buffer);
+        }
+
+        /** Commits the partition and waits until the worker has persisted it. */
+        public void commit() throws IOException {
+            checkState(!isCommitted, "Partition already committed.");
+
+            connection.out.writeInt(ShuffleWorkerProtocol.COMMIT);
+            connection.out.flush();
+            ShuffleWorkerProtocol.readResponse(connection.in);
+            isCommitted = true;
+        }
+
+        @Override
+        public void close() {
+            connection.close();
+        }
+    }
+
+    /** Reads the buffers of a subpartition from the worker. */
+    public static final class SubpartitionReader implements Closeable {
+
+        private final Connection connection;
+
+        private SubpartitionReader(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Reads the next buffer of the subpartition. The buffer is read into the given memory
+         * segment if it fits, in which case it is recycled by the given recycler. Returns null if
+         * all buffers have been read.
+         */
+        @Nullable
+        public Buffer readBuffer(MemorySegment reusableSegment, BufferRecycler reusableRecycler)
+                throws IOException {
+            return ShuffleWorkerProtocol.readFrame(
+                    connection.in, reusableSegment, reusableRecycler);
+        }
+
+        @Override
+        public void close() {
+            connection.close();
+        }
+    }
+
+    private static final class Connection implements AutoCloseable {
+
+        private final Socket socket;
+
+        private final DataInputStream in;
+
+        private final DataOutputStream out;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in =
+                    new DataInputStream(
+                            new BufferedInputStream(socket.getInputStream(), STREAM_BUFFER_SIZE));
+            this.out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(socket.getOutputStream(), STREAM_BUFFER_SIZE));
+        }
+
+        @Override
+        public void close() {
+            IOUtils.closeQuietly(socket);
+        }
+    }
+}
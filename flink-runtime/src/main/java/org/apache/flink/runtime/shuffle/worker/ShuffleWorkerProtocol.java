@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle.worker;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferRecycler;
+import org.apache.flink.runtime.io.network.buffer.FreeingBufferRecycler;
+import org.apache.flink.runtime.io.network.buffer.NetworkBuffer;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.runtime.jobgraph.IntermediateResultPartitionID;
+
+import org.apache.flink.shaded.netty4.io.netty.buffer.ByteBuf;
+import org.apache.flink.shaded.netty4.io.netty.buffer.Unpooled;
+
+import javax.annotation.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The protocol between the {@link ShuffleWorker} and the {@link ShuffleWorkerClient}.
+ *
+ * <p>Every connection starts with a request type and the {@link ResultPartitionID} of the
+ * requested partition:
+ *
+ * <ul>
+ *   <li>{@link #WRITE_PARTITION}: The client sends the number of subpartitions followed by the
+ *       buffers, each prefixed with the index of its subpartition. The index {@link #COMMIT}
+ *       commits the partition, which the worker acknowledges with a response.
+ *   <li>{@link #READ_SUBPARTITION}: The client sends the index of the subpartition. The worker
+ *       responds and then streams the buffers of the subpartition.
+ *   <li>{@link #RELEASE_PARTITION}: The worker deletes the partition and responds.
+ * </ul>
+ *
+ * <p>Every buffer is sent as a frame of its data type, the compression flag, its size and its
+ * data. The worker stores the frames of a subpartition in this format as well, so that they can be
+ * streamed to the readers without parsing.
+ */
+final class ShuffleWorkerProtocol {
+
+    static final byte WRITE_PARTITION = 1;
+
+    static final byte READ_SUBPARTITION = 2;
+
+    static final byte RELEASE_PARTITION = 3;
+
+    static final byte RESPONSE_OK = 0;
+
+    static final byte RESPONSE_ERROR = 1;
+
+    static final byte RESPONSE_PARTITION_NOT_FOUND = 2;
+
+    /** The subpartition index which commits a written partition. */
+    static final int COMMIT = -1;
+
+    static final int FRAME_HEADER_LENGTH = 6;
+
+    private static final Buffer.DataType[] DATA_TYPES = Buffer.DataType.values();
+
+    private ShuffleWorkerProtocol() {}
+
+    static void writePartitionId(DataOutputStream out, ResultPartitionID partitionId)
+            throws IOException {
+        final ByteBuf buf =
+                Unpooled.buffer(
+                        IntermediateResultPartitionID.getByteBufLength()
+                                + ExecutionAttemptID.getByteBufLength());
+        partitionId.getPartitionId().writeTo(buf);
+        partitionId.getProducerId().writeTo(buf);
+        out.write(buf.array(), buf.arrayOffset(), buf.readableBytes());
+    }
+
+    static ResultPartitionID readPartitionId(DataInputStream in) throws IOException {
+        final byte[] bytes =
+                new byte
+                        [IntermediateResultPartitionID.getByteBufLength()
+                                + ExecutionAttemptID.getByteBufLength()];
+        in.readFully(bytes);
+        final ByteBuf buf = Unpooled.wrappedBuffer(bytes);
+        final IntermediateResultPartitionID partitionId =
+                IntermediateResultPartitionID.fromByteBuf(buf);
+        return new ResultPartitionID(partitionId, ExecutionAttemptID.fromByteBuf(buf));
+    }
+
+    /** Returns the name under which the worker stores the given partition. */
+    static String getPartitionFileName(ResultPartitionID partitionId) {
+        final IntermediateResultPartitionID id = partitionId.getPartitionId();
+        return id.getIntermediateDataSetID()
+                + "-"
+                + id.getPartitionNumber()
+                + "-"
+                + partitionId.getProducerId();
+    }
+
+    static void writeFrame(DataOutputStream out, Buffer buffer) throws IOException {
+        out.writeByte(buffer.getDataType().ordinal());
+        out.writeBoolean(buffer.isCompressed());
+        out.writeInt(buffer.readableBytes());
+
+        final ByteBuffer data = buffer.getNioBufferReadable();
+        final WritableByteChannel channel = Channels.newChannel(out);
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    /**
+     * Reads the next frame into the given memory segment, or into a newly allocated one if the
+     * frame does not fit. Returns null if the stream has ended.
+     */
+    @Nullable
+    static Buffer readFrame(
+            DataInputStream in, MemorySegment reusableSegment, BufferRecycler reusableRecycler)
+            throws IOException {
+        final int dataType = in.read();
+        if (dataType < 0) {
+            return null;
+        }
+
+        try {
+            final boolean isCompressed = in.readBoolean();
+            final int size = in.readInt();
+            if (dataType >= DATA_TYPES.length || size < 0) {
+                throw new IOException("Corrupt frame of shuffle worker protocol.");
+            }
+
+            final MemorySegment segment;
+            final BufferRecycler recycler;
+            if (size <= reusableSegment.size()) {
+                segment = reusableSegment;
+                recycler = reusableRecycler;
+            } else {
+                segment = MemorySegmentFactory.allocateUnpooledSegment(size);
+                recycler = FreeingBufferRecycler.INSTANCE;
+            }
+            segment.put(in, 0, size);
+            return new NetworkBuffer(segment, recycler, DATA_TYPES[dataType], isCompressed, size);
+        } catch (EOFException e) {
+            throw new IOException("Incomplete frame of shuffle worker protocol.", e);
+        }
+    }
+
+    static void writeErrorResponse(DataOutputStream out, Throwable error) throws IOException {
+        out.writeByte(RESPONSE_ERROR);
+        out.writeUTF(String.valueOf(error.getMessage()));
+        out.flush();
+    }
+
+    /** Reads the response of the worker and throws an {@link IOException} for errors. */
+    static byte readResponse(DataInputStream in) throws IOException {
+        final byte response = in.readByte();
+        if (response == RESPONSE_ERROR) {
+            throw new IOException("Shuffle worker failed: " + in.readUTF());
+        }
+        return response;
+    }
+}
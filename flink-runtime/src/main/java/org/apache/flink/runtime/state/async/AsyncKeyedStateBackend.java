@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.async;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A keyed state backend which gives asynchronous access to its states. The states share their
+ * data with the synchronous states of the same name in the {@link
+ * org.apache.flink.runtime.state.VoidNamespace}.
+ *
+ * <p>Backends which read from disk serve the accesses from an I/O thread pool, so that the task
+ * thread can continue with other records meanwhile. The results are handed back to the given
+ * result executor, which runs the deserialization and completes the futures. Thus all accesses to
+ * the serializers happen in the result executor and the caller of the state.
+ *
+ * @param <K> The type of the keys.
+ */
+@Internal
+public interface AsyncKeyedStateBackend<K> {
+
+    /**
+     * Creates an asynchronous value state. The serializer of the descriptor has to be initialized.
+     *
+     * @param stateDescriptor The descriptor of the state.
+     * @param resultExecutor The executor which completes the futures of the state accesses.
+     * @param <V> The type of the value.
+     * @return The asynchronous value state.
+     * @throws Exception Exceptions while registering the state are forwarded.
+     */
+    <V> AsyncValueState<K, V> getAsyncValueState(
+            ValueStateDescriptor<V> stateDescriptor, Executor resultExecutor) throws Exception;
+
+    /**
+     * Creates an asynchronous map state. The serializer of the descriptor has to be initialized.
+     *
+     * @param stateDescriptor The descriptor of the state.
+     * @param resultExecutor The executor which completes the futures of the state accesses.
+     * @param <UK> The type of the user keys of the map.
+     * @param <UV> The type of the user values of the map.
+     * @return The asynchronous map state.
+     * @throws Exception Exceptions while registering the state are forwarded.
+     */
+    <UK, UV> AsyncMapState<K, UK, UV> getAsyncMapState(
+            MapStateDescriptor<UK, UV> stateDescriptor, Executor resultExecutor) throws Exception;
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.async;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous access to a keyed map state. In contrast to {@link
+ * org.apache.flink.api.common.state.MapState}, every access names its key explicitly, such that
+ * the accesses of many keys can be outstanding at the same time.
+ *
+ * <p>The returned futures are completed by the executor given when creating the state, usually
+ * the mailbox of the task. Accesses of the same key are not ordered against each other, a caller
+ * which reads a mapping after writing it has to wait for the write to complete first.
+ *
+ * @param <K> The type of the key.
+ * @param <UK> The type of the user keys of the map.
+ * @param <UV> The type of the user values of the map.
+ */
+@Internal
+public interface AsyncMapState<K, UK, UV> {
+
+    /**
+     * Returns the user value of the given user key in the map of the given key.
+     *
+     * @param key The key of the map.
+     * @param userKey The user key to read the user value of.
+     * @return A future which is completed with the user value, or {@code null} if there is no
+     *     mapping for the user key.
+     */
+    CompletableFuture<UV> get(K key, UK userKey);
+
+    /**
+     * Maps the given user key to the given user value in the map of the given key.
+     *
+     * @param key The key of the map.
+     * @param userKey The user key of the mapping.
+     * @param userValue The user value of the mapping.
+     * @return A future which is completed once the mapping is written.
+     */
+    CompletableFuture<Void> put(K key, UK userKey, UV userValue);
+
+    /**
+     * Removes the mapping of the given user key from the map of the given key.
+     *
+     * @param key The key of the map.
+     * @param userKey The user key of the mapping to remove.
+     * @return A future which is completed once the mapping is removed.
+     */
+    CompletableFuture<Void> remove(K key, UK userKey);
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.async;
+
+import org.apache.flink.annotation.Internal;
+
+import javax.annotation.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous access to a keyed value state. In contrast to {@link
+ * org.apache.flink.api.common.state.ValueState}, every access names its key explicitly, such that
+ * the accesses of many keys can be outstanding at the same time.
+ *
+ * <p>The returned futures are completed by the executor given when creating the state, usually
+ * the mailbox of the task. Accesses of the same key are not ordered against each other, a caller
+ * which reads a value after writing it has to wait for the write to complete first.
+ *
+ * @param <K> The type of the key.
+ * @param <V> The type of the value.
+ */
+@Internal
+public interface AsyncValueState<K, V> {
+
+    /**
+     * Returns the value of the given key, or the default value of the state if there is none.
+     *
+     * @param key The key to read the value of.
+     * @return A future which is completed with the value.
+     */
+    CompletableFuture<V> get(K key);
+
+    /**
+     * Updates the value of the given key. A {@code null} value removes the value of the key.
+     *
+     * @param key The key to update the value of.
+     * @param value The new value.
+     * @return A future which is completed once the value is written.
+     */
+    CompletableFuture<Void> update(K key, @Nullable V value);
+}
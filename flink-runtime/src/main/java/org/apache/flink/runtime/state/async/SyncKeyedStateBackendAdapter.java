@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.async;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.runtime.state.KeyedStateBackend;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.util.concurrent.FutureUtils;
+import org.apache.flink.util.function.SupplierWithException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * An {@link AsyncKeyedStateBackend} on top of the synchronous states of a {@link
+ * KeyedStateBackend}, for backends whose accesses don't block, e.g. the heap backend.
+ *
+ * <p>Every access is executed right away in the calling thread: the current key of the backend is
+ * switched to the given key and restored afterwards. Thus the returned futures are always
+ * completed and the result executor is not used.
+ *
+ * @param <K> The type of the keys.
+ */
+@Internal
+public class SyncKeyedStateBackendAdapter<K> implements AsyncKeyedStateBackend<K> {
+
+    private final KeyedStateBackend<K> backend;
+
+    public SyncKeyedStateBackendAdapter(KeyedStateBackend<K> backend) {
+        this.backend = checkNotNull(backend);
+    }
+
+    @Override
+    public <V> AsyncValueState<K, V> getAsyncValueState(
+            ValueStateDescriptor<V> stateDescriptor, Executor resultExecutor) throws Exception {
+        ValueState<V> state =
+                backend.getPartitionedState(
+                        VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, stateDescriptor);
+        return new AsyncValueState<K, V>() {
+            @Override
+            public CompletableFuture<V> get(K key) {
+                return access(key, state::value);
+            }
+
+            @Override
+            public CompletableFuture<Void> update(K key, V value) {
+                return access(
+                        key,
+                        () -> {
+                            state.update(value);
+                            return null;
+                        });
+            }
+        };
+    }
+
+    @Override
+    public <UK, UV> AsyncMapState<K, UK, UV> getAsyncMapState(
+            MapStateDescriptor<UK, UV> stateDescriptor, Executor resultExecutor) throws Exception {
+        MapState<UK, UV> state =
+                backend.getPartitionedState(
+                        VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, stateDescriptor);
+        return new AsyncMapState<K, UK, UV>() {
+            @Override
+            public CompletableFuture<UV> get(K key, UK userKey) {
+                return access(key, () -> state.get(userKey));
+            }
+
+            @Override
+            public CompletableFuture<Void> put(K key, UK userKey, UV userValue) {
+                return access(
+                        key,
+                        () -> {
+                            state.put(userKey, userValue);
+                            return null;
+                        });
+            }
+
+            @Override
+            public CompletableFuture<Void> remove(K key, UK userKey) {
+                return access(
+                        key,
+                        () -> {
+                            state.remove(userKey);
+                            return null;
+                        });
+            }
+        };
+    }
+
+    private <T> CompletableFuture<T> access(K key, SupplierWithException<T, Exception> access) {
+        K previousKey = backend.getCurrentKey();
+        backend.setCurrentKey(key);
+        try {
+            return CompletableFuture.completedFuture(access.get());
+        } catch (Exception e) {
+            return FutureUtils.completedExceptionally(e);
+        } finally {
+            if (previousKey != null) {
+                backend.setCurrentKey(previousKey);
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.flink.annotation.PublicEvolving;
 import org.apache.flink.api.common.JobID;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.configuration.IllegalConfigurationException;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.metrics.MetricGroup;
@@ -58,6 +59,10 @@ import java.util.Collection;
  * concurrently (if the TaskManager has multiple slots, or if slot-sharing is used) then the
  * aggregate state of all tasks needs to fit into that TaskManager's memory.
  *
+ * <p>Optionally, value, reducing and aggregating state is kept in serialized form in off-heap
+ * memory instead, see {@link HashMapStateBackendOptions#OFF_HEAP_ENABLED}. Such state puts no load
+ * on the garbage collector, but has to be deserialized on every access.
+ *
  * <h1>Configuration</h1>
  *
  * <p>As for all state backends, this backend can either be configured within the application (by
@@ -75,14 +80,43 @@ public class HashMapStateBackend extends AbstractStateBackend implements Configu
 
     private static final long serialVersionUID = 1L;
 
+    /** The maximum size of the off-heap memory chunks, which are addressed by an int. */
+    private static final MemorySize MAX_OFF_HEAP_CHUNK_SIZE = MemorySize.ofMebiBytes(1024);
+
+    /** Whether value, reducing and aggregating state is kept in off-heap memory. */
+    private final boolean offHeapStateEnabled;
+
+    /** The size of the chunks the off-heap state is allocated from. */
+    private final int offHeapChunkSize;
+
     // -----------------------------------------------------------------------
 
     /** Creates a new state backend. */
-    public HashMapStateBackend() {}
+    public HashMapStateBackend() {
+        this.offHeapStateEnabled = HashMapStateBackendOptions.OFF_HEAP_ENABLED.defaultValue();
+        this.offHeapChunkSize =
+                (int) HashMapStateBackendOptions.OFF_HEAP_CHUNK_SIZE.defaultValue().getBytes();
+    }
 
     private HashMapStateBackend(HashMapStateBackend original, ReadableConfig config) {
         // configure latency tracking
         latencyTrackingConfigBuilder = original.latencyTrackingConfigBuilder.configure(config);
+
+        this.offHeapStateEnabled = config.get(HashMapStateBackendOptions.OFF_HEAP_ENABLED);
+        this.offHeapChunkSize = getOffHeapChunkSize(config);
+    }
+
+    private static int getOffHeapChunkSize(ReadableConfig config) {
+        MemorySize chunkSize = config.get(HashMapStateBackendOptions.OFF_HEAP_CHUNK_SIZE);
+        if (chunkSize.compareTo(MAX_OFF_HEAP_CHUNK_SIZE) > 0
+                || Long.bitCount(chunkSize.getBytes()) != 1) {
+            throw new IllegalConfigurationException(
+                    "The value of '%s' must be a power of two and at most %s, but is %s.",
+                    HashMapStateBackendOptions.OFF_HEAP_CHUNK_SIZE.key(),
+                    MAX_OFF_HEAP_CHUNK_SIZE.toHumanReadableString(),
+                    chunkSize.toHumanReadableString());
+        }
+        return (int) chunkSize.getBytes();
     }
 
     @Override
@@ -134,6 +168,8 @@ public class HashMapStateBackend extends AbstractStateBackend implements Configu
                         priorityQueueSetFactory,
                         true,
                         cancelStreamRegistry)
+                .setOffHeapStateEnabled(offHeapStateEnabled)
+                .setOffHeapChunkSize(offHeapChunkSize)
                 .build();
     }
 
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.hashmap;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.MemorySize;
+
+/** Configuration options for the {@link HashMapStateBackend}. */
+@PublicEvolving
+public class HashMapStateBackendOptions {
+
+    private HashMapStateBackendOptions() {}
+
+    /** Whether value, reducing and aggregating state is kept serialized in off-heap memory. */
+    public static final ConfigOption<Boolean> OFF_HEAP_ENABLED =
+            ConfigOptions.key("state.backend.hashmap.off-heap.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether value, reducing and aggregating state is kept in serialized form in off-heap memory instead of as objects on the JVM heap, which takes the state out of the scope of the garbage collector. The off-heap memory is direct memory and has to be covered by 'taskmanager.memory.task.off-heap.size'. List and map state always stays on the JVM heap.");
+
+    /** The size of the off-heap memory chunks the off-heap state is allocated from. */
+    public static final ConfigOption<MemorySize> OFF_HEAP_CHUNK_SIZE =
+            ConfigOptions.key("state.backend.hashmap.off-heap.chunk-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4mb"))
+                    .withDescription(
+                            "The size of the off-heap memory chunks the off-heap state is allocated from, if 'state.backend.hashmap.off-heap.enabled' is set. The size must be a power of two and at most 1 gb. Every state backend allocates at least one chunk once it holds off-heap state.");
+}
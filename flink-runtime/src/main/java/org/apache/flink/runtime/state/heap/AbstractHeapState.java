@@ -23,9 +23,13 @@ import org.apache.flink.api.common.state.State;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.queryablestate.client.state.serialization.KvStateSerializer;
+import org.apache.flink.runtime.state.StateEntry;
 import org.apache.flink.runtime.state.internal.InternalKvState;
 import org.apache.flink.util.Preconditions;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Base class for partitioned {@link State} implementations that are backed by a regular heap hash
  * map. The concrete implementations define how the state is checkpointed.
@@ -112,6 +116,32 @@ public abstract class AbstractHeapState<K, N, SV> implements InternalKvState<K,
         return KvStateSerializer.serializeValue(result, safeValueSerializer);
     }
 
+    @Override
+    public boolean isBatchAccessSupported() {
+        return true;
+    }
+
+    @Override
+    public List<SV> multiGet(List<Tuple2<K, N>> keysAndNamespaces) {
+        List<SV> values = new ArrayList<>(keysAndNamespaces.size());
+        for (Tuple2<K, N> keyAndNamespace : keysAndNamespaces) {
+            SV value = stateTable.get(keyAndNamespace.f0, keyAndNamespace.f1);
+            values.add(value != null ? value : getDefaultValue());
+        }
+        return values;
+    }
+
+    @Override
+    public void multiPut(List<StateEntry<K, N, SV>> entries) {
+        for (StateEntry<K, N, SV> entry : entries) {
+            if (entry.getState() != null) {
+                stateTable.put(entry.getKey(), entry.getNamespace(), entry.getState());
+            } else {
+                stateTable.remove(entry.getKey(), entry.getNamespace());
+            }
+        }
+    }
+
     /** This should only be used for testing. */
     @VisibleForTesting
     public StateTable<K, N, SV> getStateTable() {
@@ -217,6 +217,11 @@ public class HeapKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
             }
 
             stateTable.setMetaInfo(restoredKvMetaInfo);
+            if (stateCompatibility.isCompatibleAfterMigration()
+                    && stateTable instanceof OffHeapStateTable) {
+                // the off-heap state is still in the format of the previous state serializer
+                ((OffHeapStateTable<K, N, V>) stateTable).migrateStateMaps();
+            }
         } else {
             RegisteredKeyValueStateBackendMetaInfo<N, V> newMetaInfo =
                     new RegisteredKeyValueStateBackendMetaInfo<>(
@@ -27,20 +27,25 @@ import org.apache.flink.runtime.state.BackendBuildingException;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.state.KeyedStateHandle;
 import org.apache.flink.runtime.state.LocalRecoveryConfig;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
 import org.apache.flink.runtime.state.RestoreOperation;
 import org.apache.flink.runtime.state.SavepointKeyedStateHandle;
 import org.apache.flink.runtime.state.StreamCompressionDecorator;
+import org.apache.flink.runtime.state.heap.space.Allocator;
+import org.apache.flink.runtime.state.heap.space.SegmentChunkAllocator;
 import org.apache.flink.runtime.state.metrics.LatencyTrackingStateConfig;
 import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
 
 import javax.annotation.Nonnull;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.apache.flink.runtime.state.SnapshotExecutionType.ASYNCHRONOUS;
 import static org.apache.flink.runtime.state.SnapshotExecutionType.SYNCHRONOUS;
+import static org.apache.flink.util.Preconditions.checkArgument;
 
 /**
  * Builder class for {@link HeapKeyedStateBackend} which handles all necessary initializations and
@@ -55,6 +60,10 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
     private final HeapPriorityQueueSetFactory priorityQueueSetFactory;
     /** Whether asynchronous snapshot is enabled. */
     private final boolean asynchronousSnapshots;
+    /** Whether value, reducing and aggregating state is kept in off-heap memory. */
+    private boolean offHeapStateEnabled = false;
+    /** The size of the chunks the off-heap state is allocated from. */
+    private int offHeapChunkSize = 4 * 1024 * 1024;
 
     public HeapKeyedStateBackendBuilder(
             TaskKvStateRegistry kvStateRegistry,
@@ -88,6 +97,26 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
         this.asynchronousSnapshots = asynchronousSnapshots;
     }
 
+    /**
+     * Sets whether value, reducing and aggregating state is kept in serialized form in {@link
+     * OffHeapStateTable OffHeapStateTables} instead of {@link CopyOnWriteStateTable
+     * CopyOnWriteStateTables}.
+     */
+    public HeapKeyedStateBackendBuilder<K> setOffHeapStateEnabled(boolean offHeapStateEnabled) {
+        this.offHeapStateEnabled = offHeapStateEnabled;
+        return this;
+    }
+
+    /** Sets the size of the chunks the off-heap state is allocated from. */
+    public HeapKeyedStateBackendBuilder<K> setOffHeapChunkSize(int offHeapChunkSize) {
+        checkArgument(
+                offHeapChunkSize > 0 && Integer.bitCount(offHeapChunkSize) == 1,
+                "The chunk size must be a power of two, but is %s.",
+                offHeapChunkSize);
+        this.offHeapChunkSize = offHeapChunkSize;
+        return this;
+    }
+
     @Override
     public HeapKeyedStateBackend<K> build() throws BackendBuildingException {
         // Map of registered Key/Value states
@@ -101,7 +130,8 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
         InternalKeyContext<K> keyContext =
                 new InternalKeyContextImpl<>(keyGroupRange, numberOfKeyGroups);
 
-        final StateTableFactory<K> stateTableFactory = CopyOnWriteStateTable::new;
+        final StateTableFactory<K> stateTableFactory =
+                createStateTableFactory(cancelStreamRegistryForBackend);
 
         restoreState(registeredKVStates, registeredPQStates, keyContext, stateTableFactory);
         return new HeapKeyedStateBackend<>(
@@ -123,6 +153,27 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
                 keyContext);
     }
 
+    /**
+     * Creates the factory for the state tables of the backend. Resources which are shared by the
+     * tables are registered with the given registry, which is closed when the backend is disposed.
+     */
+    StateTableFactory<K> createStateTableFactory(CloseableRegistry cancelStreamRegistryForBackend)
+            throws BackendBuildingException {
+        if (!offHeapStateEnabled) {
+            return CopyOnWriteStateTable::new;
+        }
+
+        SegmentChunkAllocator offHeapAllocator =
+                SegmentChunkAllocator.forOffHeapMemory(offHeapChunkSize);
+        try {
+            cancelStreamRegistryForBackend.registerCloseable(offHeapAllocator);
+        } catch (IOException e) {
+            throw new BackendBuildingException(
+                    "Failed to register the allocator for the off-heap state.", e);
+        }
+        return new OffHeapStateTableFactory<>(offHeapAllocator);
+    }
+
     private void restoreState(
             Map<String, StateTable<K, ?, ?>> registeredKVStates,
             Map<String, HeapPriorityQueueSnapshotRestoreWrapper<?>> registeredPQStates,
@@ -185,4 +236,30 @@ public class HeapKeyedStateBackendBuilder<K> extends AbstractKeyedStateBackendBu
                 keySerializerProvider,
                 numberOfKeyGroups);
     }
+
+    /**
+     * Creates {@link OffHeapStateTable OffHeapStateTables}, which share one allocator, for the
+     * supported state types and {@link CopyOnWriteStateTable CopyOnWriteStateTables} for the
+     * others.
+     */
+    private static final class OffHeapStateTableFactory<K> implements StateTableFactory<K> {
+
+        private final Allocator offHeapAllocator;
+
+        private OffHeapStateTableFactory(Allocator offHeapAllocator) {
+            this.offHeapAllocator = offHeapAllocator;
+        }
+
+        @Override
+        public <N, V> StateTable<K, N, V> newStateTable(
+                InternalKeyContext<K> keyContext,
+                RegisteredKeyValueStateBackendMetaInfo<N, V> keyValueStateMetaInfo,
+                TypeSerializer<K> keySerializer) {
+            if (OffHeapStateTable.isSupported(keyValueStateMetaInfo.getStateType())) {
+                return new OffHeapStateTable<>(
+                        keyContext, keyValueStateMetaInfo, keySerializer, offHeapAllocator);
+            }
+            return new CopyOnWriteStateTable<>(keyContext, keyValueStateMetaInfo, keySerializer);
+        }
+    }
 }
@@ -0,0 +1,852 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.StateTransformationFunction;
+import org.apache.flink.runtime.state.heap.space.Allocator;
+import org.apache.flink.runtime.state.heap.space.Chunk;
+import org.apache.flink.runtime.state.heap.space.SpaceUtils;
+import org.apache.flink.runtime.state.internal.InternalKvState;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.MathUtils;
+import org.apache.flink.util.Preconditions;
+
+import javax.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementation of Flink's in-memory state maps which keeps keys, namespaces and states in
+ * serialized form outside of the JVM heap, so that the garbage collector neither has to scan nor to
+ * copy them. Only the objects passed in and handed out by the methods of the map live on the heap.
+ *
+ * <p>The map is an open-addressing hash table with linear probing. The slots of the table live in
+ * a block from the {@link Allocator}, every slot holds the address of a record and the hash of its
+ * serialized key and namespace. A record is a block of the form
+ *
+ * <pre>
+ * | version (int) | key length (int) | value length (int) | key and namespace | value |
+ * </pre>
+ *
+ * <p>where the serialized key and namespace have the format of {@link SkipListKeySerializer}. Keys
+ * are compared by their serialized bytes, so the key and namespace serializers must be
+ * deterministic.
+ *
+ * <p>Snapshots follow the copy-on-write scheme of {@link CopyOnWriteStateMap}: every snapshot
+ * increments the version of the map and copies the slots of the table, which is a single copy of
+ * off-heap memory. A record whose version is not older than the highest version required by a
+ * running snapshot is updated in place if the new state has the same length. Otherwise the update
+ * writes a new record. Replaced and removed records which are still visible to a running snapshot
+ * are retired and freed by the modifying thread once all snapshots that may read them have been
+ * released.
+ *
+ * <p>States are always deserialized on access, modifications of the returned objects are not
+ * reflected in the map. The map is therefore only suited for state types which put every update,
+ * unlike the heap implementations of list and map state which modify the returned objects.
+ *
+ * <p>Like the other state maps, this class is not thread-safe except for snapshots, which may be
+ * read and released concurrently to modifications.
+ *
+ * @param <K> type of key
+ * @param <N> type of namespace
+ * @param <S> type of value
+ */
+public final class OffHeapCopyOnWriteStateMap<K, N, S> extends StateMap<K, N, S> {
+
+    /** Default capacity of the table, it is only allocated on the first insertion. */
+    static final int DEFAULT_CAPACITY = 64;
+
+    /** Maximum capacity of the table, the size of the table in bytes must fit into an int. */
+    static final int MAXIMUM_CAPACITY = 1 << 26;
+
+    /** Address of an empty slot. */
+    static final long EMPTY_SLOT = -1L;
+
+    /** Size of a slot, holding the address of the record and the hash of its key. */
+    static final int SLOT_SIZE = Long.BYTES + Integer.BYTES;
+
+    static final int SLOT_HASH_OFFSET = Long.BYTES;
+
+    static final int RECORD_VERSION_OFFSET = 0;
+
+    static final int RECORD_KEY_LENGTH_OFFSET = Integer.BYTES;
+
+    static final int RECORD_VALUE_LENGTH_OFFSET = 2 * Integer.BYTES;
+
+    static final int RECORD_HEADER_SIZE = 3 * Integer.BYTES;
+
+    /** The allocator for the table and the records. */
+    private final Allocator allocator;
+
+    /** Serializer for key and namespace of the records. */
+    private final SkipListKeySerializer<K, N> skipListKeySerializer;
+
+    /** Serializer for the state of the records. */
+    private final SkipListValueSerializer<S> skipListValueSerializer;
+
+    /** Address of the table, or {@link #EMPTY_SLOT} if it has not been allocated yet. */
+    private long tableAddress;
+
+    /** The segment holding the table, cached to avoid resolving the address on every access. */
+    private MemorySegment tableSegment;
+
+    /** Offset of the table in {@link #tableSegment}. */
+    private int tableOffset;
+
+    /** Number of slots in the table, always a power of two. */
+    private int capacity;
+
+    /** Number of records in the table. */
+    private int size;
+
+    /** The size at which the table is expanded. */
+    private int threshold;
+
+    /**
+     * The current version of this map. Used for copy-on-write mechanics, the records inherit the
+     * version of the map when they are written.
+     */
+    private int stateMapVersion;
+
+    /** The versions of the running snapshots. */
+    private final TreeSet<Integer> snapshotVersions;
+
+    /**
+     * The highest version of the running snapshots, or 0 if there is none. Records of a lower
+     * version may be read by a snapshot and must not be modified.
+     */
+    private volatile int highestRequiredSnapshotVersion;
+
+    /**
+     * The lowest version of the running snapshots, or {@link Integer#MAX_VALUE} if there is none.
+     * Records which were retired in a lower version are not read by any snapshot anymore.
+     */
+    private volatile int lowestRequiredSnapshotVersion;
+
+    /** Addresses of the records which were retired while a snapshot could still read them. */
+    private long[] retiredRecords;
+
+    /** The versions of the map in which the records in {@link #retiredRecords} were retired. */
+    private int[] retiredVersions;
+
+    private int numberOfRetiredRecords;
+
+    /** Whether the map was closed, the memory is released with the last running snapshot. */
+    private boolean closed;
+
+    /**
+     * Constructs a new {@code OffHeapCopyOnWriteStateMap}.
+     *
+     * @param allocator the allocator for the table and the records.
+     * @param keySerializer the serializer of the key.
+     * @param namespaceSerializer the serializer of the namespace.
+     * @param stateSerializer the serializer of the state.
+     */
+    public OffHeapCopyOnWriteStateMap(
+            Allocator allocator,
+            TypeSerializer<K> keySerializer,
+            TypeSerializer<N> namespaceSerializer,
+            TypeSerializer<S> stateSerializer) {
+        this.allocator = Preconditions.checkNotNull(allocator);
+        this.skipListKeySerializer =
+                new SkipListKeySerializer<>(keySerializer, namespaceSerializer);
+        this.skipListValueSerializer = new SkipListValueSerializer<>(stateSerializer);
+        this.tableAddress = EMPTY_SLOT;
+        this.capacity = 0;
+        this.size = 0;
+        this.threshold = 0;
+        this.stateMapVersion = 0;
+        this.snapshotVersions = new TreeSet<>();
+        this.highestRequiredSnapshotVersion = 0;
+        this.lowestRequiredSnapshotVersion = Integer.MAX_VALUE;
+        this.retiredRecords = new long[16];
+        this.retiredVersions = new int[16];
+        this.numberOfRetiredRecords = 0;
+        this.closed = false;
+    }
+
+    // Public API from StateMap
+    // ---------------------------------------------------------------------------------------------
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public S get(K key, N namespace) {
+        if (size == 0) {
+            return null;
+        }
+
+        MemorySegment keySegment = skipListKeySerializer.serializeToSegment(key, namespace);
+        int index = lookup(keySegment, hash(keySegment));
+        return index < 0 ? null : readState(getSlotRecord(index));
+    }
+
+    @Override
+    public boolean containsKey(K key, N namespace) {
+        if (size == 0) {
+            return false;
+        }
+
+        MemorySegment keySegment = skipListKeySerializer.serializeToSegment(key, namespace);
+        return lookup(keySegment, hash(keySegment)) >= 0;
+    }
+
+    @Override
+    public void put(K key, N namespace, S value) {
+        putInternal(key, namespace, value, false);
+    }
+
+    @Override
+    public S putAndGetOld(K key, N namespace, S state) {
+        return putInternal(key, namespace, state, true);
+    }
+
+    @Override
+    public void remove(K key, N namespace) {
+        removeInternal(key, namespace, false);
+    }
+
+    @Override
+    public S removeAndGetOld(K key, N namespace) {
+        return removeInternal(key, namespace, true);
+    }
+
+    @Override
+    public <T> void transform(
+            K key, N namespace, T value, StateTransformationFunction<S, T> transformation)
+            throws Exception {
+        freeRetiredRecords();
+        ensureTable();
+
+        MemorySegment keySegment = skipListKeySerializer.serializeToSegment(key, namespace);
+        int hash = hash(keySegment);
+        int index = lookup(keySegment, hash);
+        S oldState = index < 0 ? null : readState(getSlotRecord(index));
+        S newState = transformation.apply(oldState, value);
+        putAt(index, keySegment, hash, skipListValueSerializer.serialize(newState));
+    }
+
+    @Override
+    public Stream<K> getKeys(N namespace) {
+        byte[] namespaceBytes = skipListKeySerializer.serializeNamespace(namespace);
+        return StreamSupport.stream(
+                        Spliterators.spliteratorUnknownSize(new RecordIterator(), 0), false)
+                .filter(record -> namespaceEquals(record, namespaceBytes))
+                .map(this::readKey);
+    }
+
+    @Override
+    public InternalKvState.StateIncrementalVisitor<K, N, S> getStateIncrementalVisitor(
+            int recommendedMaxNumberOfReturnedRecords) {
+        return new StateIncrementalVisitorImpl(recommendedMaxNumberOfReturnedRecords);
+    }
+
+    @Override
+    public int sizeOfNamespace(Object namespace) {
+        @SuppressWarnings("unchecked")
+        byte[] namespaceBytes = skipListKeySerializer.serializeNamespace((N) namespace);
+        int count = 0;
+        Iterator<Long> iterator = new RecordIterator();
+        while (iterator.hasNext()) {
+            if (namespaceEquals(iterator.next(), namespaceBytes)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<StateEntry<K, N, S>> iterator() {
+        RecordIterator recordIterator = new RecordIterator();
+        return new Iterator<StateEntry<K, N, S>>() {
+            @Override
+            public boolean hasNext() {
+                return recordIterator.hasNext();
+            }
+
+            @Override
+            public StateEntry<K, N, S> next() {
+                return readEntry(recordIterator.next());
+            }
+        };
+    }
+
+    // Snapshotting
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a snapshot of this map. The snapshot holds a copy of the slots of the table, so this
+     * method must be called by the thread which modifies the map.
+     *
+     * @return a snapshot from this map.
+     */
+    @Nonnull
+    @Override
+    public OffHeapCopyOnWriteStateMapSnapshot<K, N, S> stateSnapshot() {
+        int snapshotVersion;
+        synchronized (snapshotVersions) {
+            Preconditions.checkState(!closed, "The map has been closed.");
+            // increase the map version for copy-on-write and register the snapshot
+            if (++stateMapVersion < 0) {
+                // this is just a safety net against overflows, but should never happen in practice
+                // (i.e., only after 2^31 snapshots)
+                throw new IllegalStateException(
+                        "Version count overflow in OffHeapCopyOnWriteStateMap. Enforcing restart.");
+            }
+            snapshotVersion = stateMapVersion;
+            if (snapshotVersions.isEmpty()) {
+                lowestRequiredSnapshotVersion = snapshotVersion;
+            }
+            highestRequiredSnapshotVersion = snapshotVersion;
+            snapshotVersions.add(snapshotVersion);
+        }
+
+        long slotsAddress = EMPTY_SLOT;
+        if (size > 0) {
+            slotsAddress = allocate(capacity * SLOT_SIZE);
+            tableSegment.copyTo(
+                    tableOffset,
+                    getSegment(slotsAddress),
+                    getOffset(slotsAddress),
+                    capacity * SLOT_SIZE);
+        }
+        return new OffHeapCopyOnWriteStateMapSnapshot<>(
+                this, snapshotVersion, size, slotsAddress, capacity);
+    }
+
+    /**
+     * Releases a snapshot for this map. This method should be called once a snapshot is no more
+     * needed, so that the records which were retired for the snapshot can be freed.
+     *
+     * @param snapshotToRelease the snapshot to release, which was previously created by this map.
+     */
+    @Override
+    public void releaseSnapshot(
+            StateMapSnapshot<K, N, S, ? extends StateMap<K, N, S>> snapshotToRelease) {
+        OffHeapCopyOnWriteStateMapSnapshot<K, N, S> snapshot =
+                (OffHeapCopyOnWriteStateMapSnapshot<K, N, S>) snapshotToRelease;
+        Preconditions.checkArgument(
+                snapshot.isOwner(this),
+                "Cannot release snapshot which is owned by a different state map.");
+        releaseSnapshot(snapshot.getSnapshotVersion());
+    }
+
+    @VisibleForTesting
+    void releaseSnapshot(int snapshotVersion) {
+        boolean releaseMemory;
+        synchronized (snapshotVersions) {
+            Preconditions.checkState(
+                    snapshotVersions.remove(snapshotVersion),
+                    "Attempt to release unknown snapshot version");
+            highestRequiredSnapshotVersion =
+                    snapshotVersions.isEmpty() ? 0 : snapshotVersions.last();
+            lowestRequiredSnapshotVersion =
+                    snapshotVersions.isEmpty() ? Integer.MAX_VALUE : snapshotVersions.first();
+            releaseMemory = closed && snapshotVersions.isEmpty();
+        }
+        if (releaseMemory) {
+            releaseMemory();
+        }
+    }
+
+    /**
+     * Closes the map. The memory of the map is freed right away if there are no running
+     * snapshots, or otherwise when the last snapshot is released.
+     */
+    void close() {
+        boolean releaseMemory;
+        synchronized (snapshotVersions) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            releaseMemory = snapshotVersions.isEmpty();
+        }
+        if (releaseMemory) {
+            releaseMemory();
+        }
+    }
+
+    private void releaseMemory() {
+        for (int index = 0; index < capacity; index++) {
+            long record = getSlotRecord(index);
+            if (record != EMPTY_SLOT) {
+                allocator.free(record);
+            }
+        }
+        for (int i = 0; i < numberOfRetiredRecords; i++) {
+            allocator.free(retiredRecords[i]);
+        }
+        numberOfRetiredRecords = 0;
+        if (tableAddress != EMPTY_SLOT) {
+            allocator.free(tableAddress);
+            tableAddress = EMPTY_SLOT;
+            tableSegment = null;
+        }
+        capacity = 0;
+        size = 0;
+    }
+
+    @VisibleForTesting
+    int getStateMapVersion() {
+        return stateMapVersion;
+    }
+
+    @VisibleForTesting
+    int getNumberOfRetiredRecords() {
+        return numberOfRetiredRecords;
+    }
+
+    // Access to records, also used by the snapshots
+    // ---------------------------------------------------------------------------------------------
+
+    MemorySegment getSegment(long address) {
+        int offsetInChunk = SpaceUtils.getChunkOffsetByAddress(address);
+        Chunk chunk = allocator.getChunkById(SpaceUtils.getChunkIdByAddress(address));
+        return chunk.getMemorySegment(offsetInChunk);
+    }
+
+    int getOffset(long address) {
+        int offsetInChunk = SpaceUtils.getChunkOffsetByAddress(address);
+        Chunk chunk = allocator.getChunkById(SpaceUtils.getChunkIdByAddress(address));
+        return chunk.getOffsetInSegment(offsetInChunk);
+    }
+
+    void freeSpace(long address) {
+        allocator.free(address);
+    }
+
+    // Private implementation details of the API methods
+    // ---------------------------------------------------------------------------------------------
+
+    private S putInternal(K key, N namespace, S state, boolean returnOldState) {
+        freeRetiredRecords();
+        ensureTable();
+
+        MemorySegment keySegment = skipListKeySerializer.serializeToSegment(key, namespace);
+        int hash = hash(keySegment);
+        int index = lookup(keySegment, hash);
+        S oldState = returnOldState && index >= 0 ? readState(getSlotRecord(index)) : null;
+        putAt(index, keySegment, hash, skipListValueSerializer.serialize(state));
+        return oldState;
+    }
+
+    /**
+     * Puts the serialized state for the serialized key.
+     *
+     * @param index the result of {@link #lookup(MemorySegment, int)} for the key.
+     */
+    private void putAt(int index, MemorySegment keySegment, int hash, byte[] value) {
+        if (index < 0) {
+            long record = writeRecord(keySegment, value);
+            int slot = ~index;
+            putSlot(slot, record, hash);
+            if (++size > threshold) {
+                resize();
+            }
+            return;
+        }
+
+        long record = getSlotRecord(index);
+        MemorySegment segment = getSegment(record);
+        int offset = getOffset(record);
+        if (segment.getInt(offset + RECORD_VALUE_LENGTH_OFFSET) == value.length
+                && segment.getInt(offset + RECORD_VERSION_OFFSET)
+                        >= highestRequiredSnapshotVersion) {
+            // no snapshot can read the record, overwrite the state in place
+            segment.put(offset + RECORD_HEADER_SIZE + keySegment.size(), value);
+        } else {
+            putSlot(index, writeRecord(keySegment, value), hash);
+            retireRecord(record, segment.getInt(offset + RECORD_VERSION_OFFSET));
+        }
+    }
+
+    private S removeInternal(K key, N namespace, boolean returnOldState) {
+        if (size == 0) {
+            return null;
+        }
+        freeRetiredRecords();
+
+        MemorySegment keySegment = skipListKeySerializer.serializeToSegment(key, namespace);
+        int index = lookup(keySegment, hash(keySegment));
+        if (index < 0) {
+            return null;
+        }
+
+        long record = getSlotRecord(index);
+        S oldState = returnOldState ? readState(record) : null;
+        deleteSlot(index);
+        size--;
+        MemorySegment segment = getSegment(record);
+        retireRecord(record, segment.getInt(getOffset(record) + RECORD_VERSION_OFFSET));
+        return oldState;
+    }
+
+    /**
+     * Finds the slot of the given serialized key and namespace.
+     *
+     * @return the index of the slot holding the key, or the bitwise complement of the index of the
+     *     empty slot at which the key would be inserted.
+     */
+    private int lookup(MemorySegment keySegment, int hash) {
+        int keyLength = keySegment.size();
+        int mask = capacity - 1;
+        int index = hash & mask;
+        while (true) {
+            long record = getSlotRecord(index);
+            if (record == EMPTY_SLOT) {
+                return ~index;
+            }
+            if (getSlotHash(index) == hash) {
+                MemorySegment segment = getSegment(record);
+                int offset = getOffset(record);
+                if (segment.getInt(offset + RECORD_KEY_LENGTH_OFFSET) == keyLength
+                        && segment.equalTo(
+                                keySegment, offset + RECORD_HEADER_SIZE, 0, keyLength)) {
+                    return index;
+                }
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Empties the slot at the given index. The following records of the probe sequence are shifted
+     * backwards, so that lookups never have to skip removed slots.
+     */
+    private void deleteSlot(int index) {
+        int mask = capacity - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        long record;
+        while ((record = getSlotRecord(next)) != EMPTY_SLOT) {
+            int hash = getSlotHash(next);
+            // the record may fill the hole if the hole lies between its home slot and its slot
+            if (((next - (hash & mask)) & mask) >= ((next - hole) & mask)) {
+                putSlot(hole, record, hash);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        putSlot(hole, EMPTY_SLOT, 0);
+    }
+
+    private void ensureTable() {
+        if (tableAddress == EMPTY_SLOT) {
+            allocateTable(DEFAULT_CAPACITY);
+        }
+    }
+
+    private void allocateTable(int newCapacity) {
+        tableAddress = allocate(newCapacity * SLOT_SIZE);
+        tableSegment = getSegment(tableAddress);
+        tableOffset = getOffset(tableAddress);
+        capacity = newCapacity;
+        threshold = newCapacity == MAXIMUM_CAPACITY ? newCapacity - 1 : (newCapacity >> 2) * 3;
+        for (int index = 0; index < newCapacity; index++) {
+            putSlot(index, EMPTY_SLOT, 0);
+        }
+    }
+
+    /** Doubles the capacity of the table. */
+    private void resize() {
+        if (capacity == MAXIMUM_CAPACITY) {
+            throw new FlinkRuntimeException(
+                    "The maximum number of "
+                            + (MAXIMUM_CAPACITY - 1)
+                            + " entries of an OffHeapCopyOnWriteStateMap has been reached.");
+        }
+
+        long oldTableAddress = tableAddress;
+        MemorySegment oldTableSegment = tableSegment;
+        int oldTableOffset = tableOffset;
+        int oldCapacity = capacity;
+
+        allocateTable(oldCapacity << 1);
+        int mask = capacity - 1;
+        for (int oldIndex = 0; oldIndex < oldCapacity; oldIndex++) {
+            int oldSlotOffset = oldTableOffset + oldIndex * SLOT_SIZE;
+            long record = oldTableSegment.getLong(oldSlotOffset);
+            if (record != EMPTY_SLOT) {
+                int hash = oldTableSegment.getInt(oldSlotOffset + SLOT_HASH_OFFSET);
+                int index = hash & mask;
+                while (getSlotRecord(index) != EMPTY_SLOT) {
+                    index = (index + 1) & mask;
+                }
+                putSlot(index, record, hash);
+            }
+        }
+        // snapshots hold their own copy of the slots
+        allocator.free(oldTableAddress);
+    }
+
+    private long getSlotRecord(int index) {
+        return tableSegment.getLong(tableOffset + index * SLOT_SIZE);
+    }
+
+    private int getSlotHash(int index) {
+        return tableSegment.getInt(tableOffset + index * SLOT_SIZE + SLOT_HASH_OFFSET);
+    }
+
+    private void putSlot(int index, long record, int hash) {
+        int slotOffset = tableOffset + index * SLOT_SIZE;
+        tableSegment.putLong(slotOffset, record);
+        tableSegment.putInt(slotOffset + SLOT_HASH_OFFSET, hash);
+    }
+
+    private long writeRecord(MemorySegment keySegment, byte[] value) {
+        int keyLength = keySegment.size();
+        long record = allocate(RECORD_HEADER_SIZE + keyLength + value.length);
+        MemorySegment segment = getSegment(record);
+        int offset = getOffset(record);
+        segment.putInt(offset + RECORD_VERSION_OFFSET, stateMapVersion);
+        segment.putInt(offset + RECORD_KEY_LENGTH_OFFSET, keyLength);
+        segment.putInt(offset + RECORD_VALUE_LENGTH_OFFSET, value.length);
+        keySegment.copyTo(0, segment, offset + RECORD_HEADER_SIZE, keyLength);
+        segment.put(offset + RECORD_HEADER_SIZE + keyLength, value);
+        return record;
+    }
+
+    /**
+     * Frees a record which was removed from the table, or defers freeing it until no snapshot can
+     * read it anymore.
+     */
+    private void retireRecord(long record, int recordVersion) {
+        if (recordVersion >= highestRequiredSnapshotVersion) {
+            allocator.free(record);
+            return;
+        }
+
+        if (numberOfRetiredRecords == retiredRecords.length) {
+            retiredRecords = Arrays.copyOf(retiredRecords, numberOfRetiredRecords << 1);
+            retiredVersions = Arrays.copyOf(retiredVersions, numberOfRetiredRecords << 1);
+        }
+        retiredRecords[numberOfRetiredRecords] = record;
+        retiredVersions[numberOfRetiredRecords] = stateMapVersion;
+        numberOfRetiredRecords++;
+    }
+
+    /**
+     * Frees the retired records which are not read by any snapshot anymore. The records are
+     * retired in ascending versions, so the records to free are a prefix of the retired ones.
+     */
+    private void freeRetiredRecords() {
+        if (numberOfRetiredRecords == 0) {
+            return;
+        }
+
+        int lowestRequiredVersion = lowestRequiredSnapshotVersion;
+        int numberOfFreedRecords = 0;
+        while (numberOfFreedRecords < numberOfRetiredRecords
+                && retiredVersions[numberOfFreedRecords] < lowestRequiredVersion) {
+            allocator.free(retiredRecords[numberOfFreedRecords]);
+            numberOfFreedRecords++;
+        }
+
+        if (numberOfFreedRecords > 0) {
+            numberOfRetiredRecords -= numberOfFreedRecords;
+            System.arraycopy(
+                    retiredRecords,
+                    numberOfFreedRecords,
+                    retiredRecords,
+                    0,
+                    numberOfRetiredRecords);
+            System.arraycopy(
+                    retiredVersions,
+                    numberOfFreedRecords,
+                    retiredVersions,
+                    0,
+                    numberOfRetiredRecords);
+        }
+    }
+
+    private long allocate(int size) {
+        try {
+            return allocator.allocate(size);
+        } catch (Exception e) {
+            throw new FlinkRuntimeException(
+                    "Failed to allocate space in OffHeapCopyOnWriteStateMap", e);
+        }
+    }
+
+    private boolean namespaceEquals(long record, byte[] namespaceBytes) {
+        MemorySegment segment = getSegment(record);
+        int keyOffset = getOffset(record) + RECORD_HEADER_SIZE;
+        int namespaceLength = segment.getInt(keyOffset);
+        if (namespaceLength != namespaceBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < namespaceLength; i++) {
+            if (segment.get(keyOffset + Integer.BYTES + i) != namespaceBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private K readKey(long record) {
+        MemorySegment segment = getSegment(record);
+        int offset = getOffset(record);
+        return skipListKeySerializer.deserializeKey(
+                segment,
+                offset + RECORD_HEADER_SIZE,
+                segment.getInt(offset + RECORD_KEY_LENGTH_OFFSET));
+    }
+
+    private S readState(long record) {
+        MemorySegment segment = getSegment(record);
+        int offset = getOffset(record);
+        int keyLength = segment.getInt(offset + RECORD_KEY_LENGTH_OFFSET);
+        return skipListValueSerializer.deserializeState(
+                segment,
+                offset + RECORD_HEADER_SIZE + keyLength,
+                segment.getInt(offset + RECORD_VALUE_LENGTH_OFFSET));
+    }
+
+    private StateEntry<K, N, S> readEntry(long record) {
+        MemorySegment segment = getSegment(record);
+        int keyOffset = getOffset(record) + RECORD_HEADER_SIZE;
+        int keyLength = segment.getInt(getOffset(record) + RECORD_KEY_LENGTH_OFFSET);
+        return new StateEntry.SimpleStateEntry<>(
+                skipListKeySerializer.deserializeKey(segment, keyOffset, keyLength),
+                skipListKeySerializer.deserializeNamespace(segment, keyOffset, keyLength),
+                readState(record));
+    }
+
+    /** Hashes the serialized key and namespace. */
+    static int hash(MemorySegment keySegment) {
+        int length = keySegment.size();
+        int hash = length;
+        int i = 0;
+        for (; i + Integer.BYTES <= length; i += Integer.BYTES) {
+            hash = 31 * hash + keySegment.getInt(i);
+        }
+        for (; i < length; i++) {
+            hash = 31 * hash + keySegment.get(i);
+        }
+        return MathUtils.bitMix(hash);
+    }
+
+    // Iterators
+    // ---------------------------------------------------------------------------------------------
+
+    /** Iterates the addresses of the records in the table. */
+    private class RecordIterator implements Iterator<Long> {
+
+        private int nextIndex;
+
+        RecordIterator() {
+            this.nextIndex = 0;
+            advance();
+        }
+
+        private void advance() {
+            while (nextIndex < capacity && getSlotRecord(nextIndex) == EMPTY_SLOT) {
+                nextIndex++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < capacity;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long record = getSlotRecord(nextIndex++);
+            advance();
+            return record;
+        }
+    }
+
+    /**
+     * Visits the slots of the table in batches. A batch always ends at an empty slot, so that the
+     * removal of the returned entries only shifts records which have been visited already. Entries
+     * which are moved by an expansion of the table may be missed or returned twice.
+     */
+    private class StateIncrementalVisitorImpl
+            implements InternalKvState.StateIncrementalVisitor<K, N, S> {
+
+        private final int recommendedMaxNumberOfReturnedRecords;
+
+        private int nextIndex;
+
+        StateIncrementalVisitorImpl(int recommendedMaxNumberOfReturnedRecords) {
+            this.recommendedMaxNumberOfReturnedRecords = recommendedMaxNumberOfReturnedRecords;
+            this.nextIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (nextIndex < capacity && getSlotRecord(nextIndex) == EMPTY_SLOT) {
+                nextIndex++;
+            }
+            return nextIndex < capacity;
+        }
+
+        @Override
+        public Collection<StateEntry<K, N, S>> nextEntries() {
+            if (!hasNext()) {
+                return null;
+            }
+
+            Collection<StateEntry<K, N, S>> entries =
+                    new ArrayList<>(recommendedMaxNumberOfReturnedRecords);
+            long record;
+            while (nextIndex < capacity
+                    && ((record = getSlotRecord(nextIndex)) != EMPTY_SLOT
+                            || entries.size() < recommendedMaxNumberOfReturnedRecords)) {
+                if (record != EMPTY_SLOT) {
+                    entries.add(readEntry(record));
+                }
+                nextIndex++;
+            }
+            return entries;
+        }
+
+        @Override
+        public void remove(StateEntry<K, N, S> stateEntry) {
+            OffHeapCopyOnWriteStateMap.this.remove(stateEntry.getKey(), stateEntry.getNamespace());
+        }
+
+        @Override
+        public void update(StateEntry<K, N, S> stateEntry, S newValue) {
+            OffHeapCopyOnWriteStateMap.this.put(
+                    stateEntry.getKey(), stateEntry.getNamespace(), newValue);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.StateSnapshotTransformer;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.apache.flink.runtime.state.heap.OffHeapCopyOnWriteStateMap.EMPTY_SLOT;
+import static org.apache.flink.runtime.state.heap.OffHeapCopyOnWriteStateMap.RECORD_HEADER_SIZE;
+import static org.apache.flink.runtime.state.heap.OffHeapCopyOnWriteStateMap.RECORD_KEY_LENGTH_OFFSET;
+import static org.apache.flink.runtime.state.heap.OffHeapCopyOnWriteStateMap.RECORD_VALUE_LENGTH_OFFSET;
+import static org.apache.flink.runtime.state.heap.OffHeapCopyOnWriteStateMap.SLOT_SIZE;
+
+/**
+ * This class represents the snapshot of an {@link OffHeapCopyOnWriteStateMap}. It holds a copy of
+ * the slots of the table of the map, the records referenced by the slots are not modified or freed
+ * by the map until the snapshot is released.
+ *
+ * @param <K> type of key
+ * @param <N> type of namespace
+ * @param <S> type of state
+ */
+public class OffHeapCopyOnWriteStateMapSnapshot<K, N, S>
+        extends StateMapSnapshot<K, N, S, OffHeapCopyOnWriteStateMap<K, N, S>> {
+
+    /**
+     * Version of the {@link OffHeapCopyOnWriteStateMap} when this snapshot was created. This can be
+     * used to release the snapshot.
+     */
+    private final int snapshotVersion;
+
+    /** The number of records in the copied slots. */
+    @Nonnegative private final int numberOfEntriesInSnapshotData;
+
+    /** Address of the copied slots, or {@link OffHeapCopyOnWriteStateMap#EMPTY_SLOT} if empty. */
+    private final long slotsAddress;
+
+    /** The number of copied slots. */
+    private final int capacity;
+
+    /**
+     * Creates a new {@link OffHeapCopyOnWriteStateMapSnapshot}.
+     *
+     * @param owningStateMap the {@link OffHeapCopyOnWriteStateMap} for which this object
+     *     represents a snapshot.
+     * @param snapshotVersion the version of the map when this snapshot was created.
+     * @param numberOfEntriesInSnapshotData the number of records in the copied slots.
+     * @param slotsAddress address of the copied slots.
+     * @param capacity the number of copied slots.
+     */
+    OffHeapCopyOnWriteStateMapSnapshot(
+            OffHeapCopyOnWriteStateMap<K, N, S> owningStateMap,
+            int snapshotVersion,
+            int numberOfEntriesInSnapshotData,
+            long slotsAddress,
+            int capacity) {
+        super(owningStateMap);
+
+        this.snapshotVersion = snapshotVersion;
+        this.numberOfEntriesInSnapshotData = numberOfEntriesInSnapshotData;
+        this.slotsAddress = slotsAddress;
+        this.capacity = slotsAddress == EMPTY_SLOT ? 0 : capacity;
+    }
+
+    /** Returns the internal version of the map when this snapshot was created. */
+    int getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    @Override
+    public void release() {
+        if (slotsAddress != EMPTY_SLOT) {
+            owningStateMap.freeSpace(slotsAddress);
+        }
+        owningStateMap.releaseSnapshot(this);
+    }
+
+    @Override
+    public Iterator<StateEntry<K, N, S>> getIterator(
+            @Nonnull TypeSerializer<K> keySerializer,
+            @Nonnull TypeSerializer<N> namespaceSerializer,
+            @Nonnull TypeSerializer<S> stateSerializer,
+            @Nullable StateSnapshotTransformer<S> stateSnapshotTransformer) {
+        SkipListKeySerializer<K, N> skipListKeySerializer =
+                new SkipListKeySerializer<>(keySerializer, namespaceSerializer);
+        SkipListValueSerializer<S> skipListValueSerializer =
+                new SkipListValueSerializer<>(stateSerializer);
+        SnapshotRecordIterator recordIterator = new SnapshotRecordIterator();
+
+        return new Iterator<StateEntry<K, N, S>>() {
+
+            private StateEntry<K, N, S> nextEntry = advance();
+
+            private StateEntry<K, N, S> advance() {
+                while (recordIterator.hasNext()) {
+                    long record = recordIterator.next();
+                    S state = readState(record, skipListValueSerializer);
+                    if (stateSnapshotTransformer != null) {
+                        state = stateSnapshotTransformer.filterOrTransform(state);
+                    }
+                    if (state != null) {
+                        MemorySegment segment = owningStateMap.getSegment(record);
+                        int offset = owningStateMap.getOffset(record);
+                        int keyOffset = offset + RECORD_HEADER_SIZE;
+                        int keyLength = segment.getInt(offset + RECORD_KEY_LENGTH_OFFSET);
+                        return new StateEntry.SimpleStateEntry<>(
+                                skipListKeySerializer.deserializeKey(segment, keyOffset, keyLength),
+                                skipListKeySerializer.deserializeNamespace(
+                                        segment, keyOffset, keyLength),
+                                state);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextEntry != null;
+            }
+
+            @Override
+            public StateEntry<K, N, S> next() {
+                if (nextEntry == null) {
+                    throw new NoSuchElementException();
+                }
+                StateEntry<K, N, S> entry = nextEntry;
+                nextEntry = advance();
+                return entry;
+            }
+        };
+    }
+
+    @Override
+    public void writeState(
+            TypeSerializer<K> keySerializer,
+            TypeSerializer<N> namespaceSerializer,
+            TypeSerializer<S> stateSerializer,
+            @Nonnull DataOutputView dov,
+            @Nullable StateSnapshotTransformer<S> stateSnapshotTransformer)
+            throws IOException {
+        if (stateSnapshotTransformer == null) {
+            writeStateWithNoTransform(dov);
+        } else {
+            writeStateWithTransform(stateSerializer, dov, stateSnapshotTransformer);
+        }
+    }
+
+    private void writeStateWithNoTransform(@Nonnull DataOutputView dov) throws IOException {
+        dov.writeInt(numberOfEntriesInSnapshotData);
+        SnapshotRecordIterator recordIterator = new SnapshotRecordIterator();
+        while (recordIterator.hasNext()) {
+            long record = recordIterator.next();
+            writeKeyAndNamespace(record, dov);
+            MemorySegment segment = owningStateMap.getSegment(record);
+            int offset = owningStateMap.getOffset(record);
+            int keyLength = segment.getInt(offset + RECORD_KEY_LENGTH_OFFSET);
+            segment.get(
+                    dov,
+                    offset + RECORD_HEADER_SIZE + keyLength,
+                    segment.getInt(offset + RECORD_VALUE_LENGTH_OFFSET));
+        }
+    }
+
+    private void writeStateWithTransform(
+            TypeSerializer<S> stateSerializer,
+            @Nonnull DataOutputView dov,
+            @Nonnull StateSnapshotTransformer<S> stateSnapshotTransformer)
+            throws IOException {
+        SkipListValueSerializer<S> skipListValueSerializer =
+                new SkipListValueSerializer<>(stateSerializer);
+
+        // 1. iterates records to get size after transform
+        SnapshotRecordIterator transformRecordIterator = new SnapshotRecordIterator();
+        int size = 0;
+        while (transformRecordIterator.hasNext()) {
+            S oldState = readState(transformRecordIterator.next(), skipListValueSerializer);
+            if (stateSnapshotTransformer.filterOrTransform(oldState) != null) {
+                size++;
+            }
+        }
+
+        dov.writeInt(size);
+
+        // 2. iterates records again to write them to output
+        SnapshotRecordIterator writeRecordIterator = new SnapshotRecordIterator();
+        while (writeRecordIterator.hasNext()) {
+            long record = writeRecordIterator.next();
+            S oldState = readState(record, skipListValueSerializer);
+            S newState = stateSnapshotTransformer.filterOrTransform(oldState);
+            if (newState != null) {
+                writeKeyAndNamespace(record, dov);
+                stateSerializer.serialize(newState, dov);
+            }
+        }
+    }
+
+    /** Writes namespace and key of the record, without their lengths. */
+    private void writeKeyAndNamespace(long record, DataOutputView dov) throws IOException {
+        MemorySegment segment = owningStateMap.getSegment(record);
+        int namespaceOffset = owningStateMap.getOffset(record) + RECORD_HEADER_SIZE;
+        int namespaceLength = segment.getInt(namespaceOffset);
+        int keyOffset = namespaceOffset + Integer.BYTES + namespaceLength;
+        // write namespace first
+        segment.get(dov, namespaceOffset + Integer.BYTES, namespaceLength);
+        segment.get(dov, keyOffset + Integer.BYTES, segment.getInt(keyOffset));
+    }
+
+    private S readState(long record, SkipListValueSerializer<S> skipListValueSerializer) {
+        MemorySegment segment = owningStateMap.getSegment(record);
+        int offset = owningStateMap.getOffset(record);
+        int keyLength = segment.getInt(offset + RECORD_KEY_LENGTH_OFFSET);
+        return skipListValueSerializer.deserializeState(
+                segment,
+                offset + RECORD_HEADER_SIZE + keyLength,
+                segment.getInt(offset + RECORD_VALUE_LENGTH_OFFSET));
+    }
+
+    /** Iterates the addresses of the records in the copied slots. */
+    private class SnapshotRecordIterator implements Iterator<Long> {
+
+        private final MemorySegment slotsSegment;
+
+        private final int slotsOffset;
+
+        private int nextIndex;
+
+        SnapshotRecordIterator() {
+            this.slotsSegment = capacity == 0 ? null : owningStateMap.getSegment(slotsAddress);
+            this.slotsOffset = capacity == 0 ? 0 : owningStateMap.getOffset(slotsAddress);
+            this.nextIndex = 0;
+            advance();
+        }
+
+        private void advance() {
+            while (nextIndex < capacity && getRecord(nextIndex) == EMPTY_SLOT) {
+                nextIndex++;
+            }
+        }
+
+        private long getRecord(int index) {
+            return slotsSegment.getLong(slotsOffset + index * SLOT_SIZE);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < capacity;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long record = getRecord(nextIndex++);
+            advance();
+            return record;
+        }
+    }
+}
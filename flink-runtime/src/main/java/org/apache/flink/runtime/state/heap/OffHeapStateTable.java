@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.heap.space.Allocator;
+
+import javax.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This implementation of {@link StateTable} uses {@link OffHeapCopyOnWriteStateMap}, which keeps
+ * the state of every key group in serialized form in memory allocated by an {@link Allocator}. It
+ * supports the state types whose heap implementations put every modification, see {@link
+ * #isSupported(StateDescriptor.Type)}.
+ *
+ * @param <K> type of key
+ * @param <N> type of namespace
+ * @param <S> type of state
+ */
+public class OffHeapStateTable<K, N, S> extends StateTable<K, N, S> {
+
+    /** The allocator for the tables and records of the state maps. */
+    private final Allocator allocator;
+
+    /**
+     * Constructs a new {@code OffHeapStateTable}.
+     *
+     * @param keyContext the key context.
+     * @param metaInfo the meta information, including the type serializer for state copy-on-write.
+     * @param keySerializer the serializer of the key.
+     * @param allocator the allocator for the tables and records of the state maps.
+     */
+    OffHeapStateTable(
+            InternalKeyContext<K> keyContext,
+            RegisteredKeyValueStateBackendMetaInfo<N, S> metaInfo,
+            TypeSerializer<K> keySerializer,
+            Allocator allocator) {
+        super(keyContext, metaInfo, keySerializer);
+        this.allocator = allocator;
+        // the constructor of the super class could not create the maps without the allocator
+        for (int pos = 0; pos < keyGroupedStateMaps.length; pos++) {
+            keyGroupedStateMaps[pos] = createStateMap();
+        }
+    }
+
+    /**
+     * Returns whether state of the given type can be kept in an {@code OffHeapStateTable}. The heap
+     * implementations of list and map state modify the objects returned by the table, which would
+     * not be reflected in the serialized state.
+     */
+    static boolean isSupported(StateDescriptor.Type stateType) {
+        return stateType == StateDescriptor.Type.VALUE
+                || stateType == StateDescriptor.Type.REDUCING
+                || stateType == StateDescriptor.Type.AGGREGATING;
+    }
+
+    @Override
+    protected OffHeapCopyOnWriteStateMap<K, N, S> createStateMap() {
+        if (allocator == null) {
+            // called by the constructor of the super class, the maps are created afterwards
+            return null;
+        }
+        return new OffHeapCopyOnWriteStateMap<>(
+                allocator, getKeySerializer(), getNamespaceSerializer(), getStateSerializer());
+    }
+
+    /**
+     * Rewrites the state of all key groups with the serializers of the current meta info. The state
+     * maps keep the state in the format of the serializers they were created with, so this is only
+     * required after a change of the state serializer which is compatible after migration.
+     */
+    void migrateStateMaps() {
+        for (int pos = 0; pos < keyGroupedStateMaps.length; pos++) {
+            @SuppressWarnings("unchecked")
+            OffHeapCopyOnWriteStateMap<K, N, S> previousStateMap =
+                    (OffHeapCopyOnWriteStateMap<K, N, S>) keyGroupedStateMaps[pos];
+            OffHeapCopyOnWriteStateMap<K, N, S> stateMap = createStateMap();
+            for (StateEntry<K, N, S> entry : previousStateMap) {
+                stateMap.put(entry.getKey(), entry.getNamespace(), entry.getState());
+            }
+            keyGroupedStateMaps[pos] = stateMap;
+            // running snapshots keep the memory of the previous map until they are released
+            previousStateMap.close();
+        }
+    }
+
+    // Snapshotting
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a snapshot of this {@link OffHeapStateTable}, to be written in checkpointing.
+     *
+     * @return a snapshot from this {@link OffHeapStateTable}, for checkpointing.
+     */
+    @Nonnull
+    @Override
+    public OffHeapStateTableSnapshot<K, N, S> stateSnapshot() {
+        return new OffHeapStateTableSnapshot<>(
+                this,
+                getKeySerializer().duplicate(),
+                getNamespaceSerializer().duplicate(),
+                getStateSerializer().duplicate(),
+                getMetaInfo()
+                        .getStateSnapshotTransformFactory()
+                        .createForDeserializedState()
+                        .orElse(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    List<OffHeapCopyOnWriteStateMapSnapshot<K, N, S>> getStateMapSnapshotList() {
+        List<OffHeapCopyOnWriteStateMapSnapshot<K, N, S>> snapshotList =
+                new ArrayList<>(keyGroupedStateMaps.length);
+        for (int i = 0; i < keyGroupedStateMaps.length; i++) {
+            OffHeapCopyOnWriteStateMap<K, N, S> stateMap =
+                    (OffHeapCopyOnWriteStateMap<K, N, S>) keyGroupedStateMaps[i];
+            snapshotList.add(stateMap.stateSnapshot());
+        }
+        return snapshotList;
+    }
+}
@@ -228,6 +228,33 @@ public abstract class StateTable<K, N, S>
         return get(key, keyGroup, namespace);
     }
 
+    // For batch access ---------------------------------------------------------------------------
+
+    /**
+     * Maps the composite of the given key and namespace to the specified state.
+     *
+     * @param key the key. Not null.
+     * @param namespace the namespace. Not null.
+     * @param state the state. Can be null.
+     */
+    public void put(K key, N namespace, S state) {
+        int keyGroup =
+                KeyGroupRangeAssignment.assignToKeyGroup(key, keyContext.getNumberOfKeyGroups());
+        put(key, keyGroup, namespace, state);
+    }
+
+    /**
+     * Removes the mapping for the composite of the given key and namespace.
+     *
+     * @param key the key. Not null.
+     * @param namespace the namespace of the mapping to remove. Not null.
+     */
+    public void remove(K key, N namespace) {
+        int keyGroup =
+                KeyGroupRangeAssignment.assignToKeyGroup(key, keyContext.getNumberOfKeyGroups());
+        remove(key, keyGroup, namespace);
+    }
+
     public Stream<K> getKeys(N namespace) {
         return Arrays.stream(keyGroupedStateMaps)
                 .flatMap(
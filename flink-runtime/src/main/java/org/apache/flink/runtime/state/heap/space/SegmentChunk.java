@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap.space;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.util.IntArrayList;
+import org.apache.flink.util.Preconditions;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static org.apache.flink.runtime.state.heap.space.Constants.NO_SPACE;
+
+/**
+ * A {@link Chunk} backed by a single {@link MemorySegment}, which is either a memory-mapped local
+ * file or unpooled off-heap memory. The operating system pages the content of a file-mapped chunk
+ * in and out on demand, so it occupies neither JVM heap nor pinned native memory. An off-heap chunk
+ * stays in memory, but is not scanned by the garbage collector either.
+ *
+ * <p>Space is handed out in blocks whose sizes are powers of two. Every block starts with a header
+ * of {@link #BLOCK_HEADER_SIZE} bytes holding the size class of the block, and the offsets returned
+ * by {@link #allocate(int)} point right behind that header. Freed blocks are kept in a free list
+ * per size class and are reused before new space is taken from the end of the chunk.
+ *
+ * <p>This class is not thread-safe, {@link SegmentChunkAllocator} synchronizes the accesses.
+ */
+final class SegmentChunk implements Chunk {
+
+    /** Size of the header in front of every block. */
+    static final int BLOCK_HEADER_SIZE = Integer.BYTES;
+
+    /** Size of the smallest block. */
+    static final int MIN_BLOCK_SIZE = 16;
+
+    /** Size class of the single block of a chunk which was created for one large allocation. */
+    private static final int DEDICATED_SIZE_CLASS = -1;
+
+    private final int chunkId;
+
+    /** The mapped file, or null if the chunk is backed by off-heap memory. */
+    @Nullable private final File file;
+
+    private final MemorySegment segment;
+
+    private final int capacity;
+
+    /** Whether the chunk only holds a single block which is larger than a regular chunk. */
+    private final boolean dedicated;
+
+    /** Offsets of the freed blocks, indexed by size class. */
+    private final IntArrayList[] freeBlocks;
+
+    /** Offset of the space which has never been handed out. */
+    private int nextUnusedOffset;
+
+    /** Number of bytes in blocks which are currently allocated. */
+    private int usedBytes;
+
+    private SegmentChunk(
+            int chunkId,
+            @Nullable File file,
+            MemorySegment segment,
+            int capacity,
+            boolean dedicated) {
+        this.chunkId = chunkId;
+        this.file = file;
+        this.segment = segment;
+        this.capacity = capacity;
+        this.dedicated = dedicated;
+        this.freeBlocks = new IntArrayList[getSizeClass(Math.max(capacity, MIN_BLOCK_SIZE)) + 1];
+        this.nextUnusedOffset = 0;
+        this.usedBytes = 0;
+    }
+
+    /**
+     * Creates a chunk which is split into blocks of different sizes.
+     *
+     * @param chunkId id of the chunk.
+     * @param file the file to map, it is created or truncated. If null, the chunk is backed by
+     *     off-heap memory.
+     * @param capacity capacity of the chunk, must be a power of two.
+     */
+    static SegmentChunk create(int chunkId, @Nullable File file, int capacity)
+            throws IOException {
+        Preconditions.checkArgument(
+                capacity >= MIN_BLOCK_SIZE && Integer.bitCount(capacity) == 1,
+                "The capacity of a chunk must be a power of two, but is %s.",
+                capacity);
+        return new SegmentChunk(chunkId, file, createSegment(file, capacity), capacity, false);
+    }
+
+    /**
+     * Creates a chunk which holds exactly one block of the given size.
+     *
+     * @param chunkId id of the chunk.
+     * @param file the file to map, it is created or truncated. If null, the chunk is backed by
+     *     off-heap memory.
+     * @param len size of the single allocation the chunk is created for.
+     */
+    static SegmentChunk createDedicated(int chunkId, @Nullable File file, int len)
+            throws IOException {
+        int capacity = len + BLOCK_HEADER_SIZE;
+        Preconditions.checkArgument(len > 0 && capacity > 0, "Invalid allocation size %s.", len);
+        return new SegmentChunk(chunkId, file, createSegment(file, capacity), capacity, true);
+    }
+
+    private static MemorySegment createSegment(@Nullable File file, int capacity)
+            throws IOException {
+        if (file == null) {
+            // the memory is released once the segment is garbage collected
+            return MemorySegmentFactory.allocateUnpooledOffHeapMemory(capacity);
+        }
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(capacity);
+            // the mapping stays valid after the channel is closed
+            MappedByteBuffer buffer =
+                    randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return MemorySegmentFactory.wrapOffHeapMemory(buffer);
+        }
+    }
+
+    @Override
+    public int allocate(int len) {
+        Preconditions.checkArgument(len > 0, "Invalid allocation size %s.", len);
+        if (dedicated) {
+            if (nextUnusedOffset > 0 || len + BLOCK_HEADER_SIZE > capacity) {
+                return NO_SPACE;
+            }
+            nextUnusedOffset = capacity;
+            usedBytes = capacity;
+            segment.putInt(0, DEDICATED_SIZE_CLASS);
+            return BLOCK_HEADER_SIZE;
+        }
+
+        int blockSize = len + BLOCK_HEADER_SIZE;
+        if (blockSize <= 0 || blockSize > capacity) {
+            return NO_SPACE;
+        }
+        int sizeClass = getSizeClass(blockSize);
+        blockSize = getBlockSize(sizeClass);
+
+        int blockOffset;
+        IntArrayList freeList = freeBlocks[sizeClass];
+        if (freeList != null && !freeList.isEmpty()) {
+            blockOffset = freeList.removeLast();
+        } else if (capacity - nextUnusedOffset >= blockSize) {
+            blockOffset = nextUnusedOffset;
+            nextUnusedOffset += blockSize;
+            segment.putInt(blockOffset, sizeClass);
+        } else {
+            return NO_SPACE;
+        }
+
+        usedBytes += blockSize;
+        return blockOffset + BLOCK_HEADER_SIZE;
+    }
+
+    @Override
+    public void free(int interChunkOffset) {
+        int blockOffset = interChunkOffset - BLOCK_HEADER_SIZE;
+        Preconditions.checkArgument(
+                blockOffset >= 0 && blockOffset < nextUnusedOffset,
+                "Offset %s was not allocated from chunk %s.",
+                interChunkOffset,
+                chunkId);
+        if (dedicated) {
+            usedBytes = 0;
+            return;
+        }
+
+        int sizeClass = segment.getInt(blockOffset);
+        IntArrayList freeList = freeBlocks[sizeClass];
+        if (freeList == null) {
+            freeList = new IntArrayList(16);
+            freeBlocks[sizeClass] = freeList;
+        }
+        freeList.add(blockOffset);
+        usedBytes -= getBlockSize(sizeClass);
+    }
+
+    @Override
+    public int getChunkId() {
+        return chunkId;
+    }
+
+    @Override
+    public int getChunkCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public MemorySegment getMemorySegment(int chunkOffset) {
+        return segment;
+    }
+
+    @Override
+    public int getOffsetInSegment(int offsetInChunk) {
+        return offsetInChunk;
+    }
+
+    boolean isDedicated() {
+        return dedicated;
+    }
+
+    /** Returns the number of bytes in blocks which are currently allocated. */
+    int getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Releases the segment and deletes the backing file, if any. Any later access to the memory of
+     * this chunk fails, the memory itself is released once the segment is garbage collected.
+     */
+    void release() {
+        if (!segment.isFreed()) {
+            segment.free();
+        }
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    /** Returns the smallest size class whose blocks can hold the given number of bytes. */
+    static int getSizeClass(int blockSize) {
+        if (blockSize <= MIN_BLOCK_SIZE) {
+            return 0;
+        }
+        return 32
+                - Integer.numberOfLeadingZeros(blockSize - 1)
+                - Integer.numberOfTrailingZeros(MIN_BLOCK_SIZE);
+    }
+
+    static int getBlockSize(int sizeClass) {
+        return MIN_BLOCK_SIZE << sizeClass;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap.space;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.util.FileUtils;
+import org.apache.flink.util.Preconditions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+import static org.apache.flink.runtime.state.heap.space.Constants.FOUR_BYTES_BITS;
+import static org.apache.flink.runtime.state.heap.space.Constants.FOUR_BYTES_MARK;
+import static org.apache.flink.runtime.state.heap.space.Constants.NO_SPACE;
+
+/**
+ * An {@link Allocator} which allocates space from {@link SegmentChunk chunks} of either
+ * memory-mapped files in a local directory or unpooled off-heap memory. The content of file-mapped
+ * chunks is paged in and out by the operating system, which allows to hold more data than fits into
+ * memory at the cost of disk accesses. Off-heap chunks keep the data in memory, but outside of the
+ * JVM heap, and count against the limit of the direct memory.
+ *
+ * <p>Allocations are served from the most recently created chunk, or from chunks which have freed
+ * blocks. Allocations which do not fit into a regular chunk get a dedicated chunk which is deleted
+ * as soon as the allocation is freed.
+ *
+ * <p>{@link #allocate(int)} and {@link #free(long)} are synchronized, {@link #getChunkById(int)}
+ * does not lock because it is called for every access to the allocated space.
+ */
+public class SegmentChunkAllocator implements Allocator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentChunkAllocator.class);
+
+    /**
+     * The directory the chunk files are placed in, it is deleted on close. Null if the chunks are
+     * backed by off-heap memory.
+     */
+    @Nullable private final File directory;
+
+    /** Capacity of the regular chunks. */
+    private final int chunkSize;
+
+    /** All chunks indexed by chunk id, released chunks leave an empty slot. */
+    private volatile SegmentChunk[] chunks;
+
+    /** The regular chunk new space is taken from. */
+    private SegmentChunk currentChunk;
+
+    /** Regular chunks which had blocks freed since they last failed to serve an allocation. */
+    private final LinkedHashSet<SegmentChunk> chunksWithFreeBlocks;
+
+    private int nextChunkId;
+
+    private boolean closed;
+
+    private SegmentChunkAllocator(@Nullable File directory, int chunkSize) {
+        Preconditions.checkArgument(
+                chunkSize > SegmentChunk.MIN_BLOCK_SIZE && Integer.bitCount(chunkSize) == 1,
+                "The chunk size must be a power of two, but is %s.",
+                chunkSize);
+        this.directory = directory;
+        this.chunkSize = chunkSize;
+        this.chunks = new SegmentChunk[16];
+        this.chunksWithFreeBlocks = new LinkedHashSet<>();
+        this.nextChunkId = 0;
+        this.closed = false;
+    }
+
+    /**
+     * Creates an allocator whose chunks are memory-mapped files.
+     *
+     * @param directory the directory to place the chunk files in, it is created lazily.
+     * @param chunkSize capacity of the regular chunks, must be a power of two.
+     */
+    public static SegmentChunkAllocator forFiles(File directory, int chunkSize) {
+        return new SegmentChunkAllocator(Preconditions.checkNotNull(directory), chunkSize);
+    }
+
+    /**
+     * Creates an allocator whose chunks are unpooled off-heap memory.
+     *
+     * @param chunkSize capacity of the regular chunks, must be a power of two.
+     */
+    public static SegmentChunkAllocator forOffHeapMemory(int chunkSize) {
+        return new SegmentChunkAllocator(null, chunkSize);
+    }
+
+    @Override
+    public synchronized long allocate(int size) throws Exception {
+        Preconditions.checkState(!closed, "The allocator has been closed.");
+
+        if (size > chunkSize - SegmentChunk.BLOCK_HEADER_SIZE) {
+            SegmentChunk chunk = createChunk(true, size);
+            return toAddress(chunk.getChunkId(), chunk.allocate(size));
+        }
+
+        if (currentChunk != null) {
+            int offset = currentChunk.allocate(size);
+            if (offset != NO_SPACE) {
+                return toAddress(currentChunk.getChunkId(), offset);
+            }
+        }
+
+        Iterator<SegmentChunk> iterator = chunksWithFreeBlocks.iterator();
+        while (iterator.hasNext()) {
+            SegmentChunk chunk = iterator.next();
+            int offset = chunk.allocate(size);
+            if (offset != NO_SPACE) {
+                return toAddress(chunk.getChunkId(), offset);
+            }
+            iterator.remove();
+        }
+
+        currentChunk = createChunk(false, size);
+        return toAddress(currentChunk.getChunkId(), currentChunk.allocate(size));
+    }
+
+    @Override
+    public synchronized void free(long address) {
+        if (closed) {
+            return;
+        }
+
+        int chunkId = SpaceUtils.getChunkIdByAddress(address);
+        SegmentChunk chunk = (SegmentChunk) getChunkById(chunkId);
+        chunk.free(SpaceUtils.getChunkOffsetByAddress(address));
+
+        if (chunk.isDedicated()) {
+            chunks[chunkId] = null;
+            chunk.release();
+        } else {
+            chunksWithFreeBlocks.add(chunk);
+        }
+    }
+
+    @Override
+    public Chunk getChunkById(int chunkId) {
+        SegmentChunk[] currentChunks = chunks;
+        SegmentChunk chunk = chunkId < currentChunks.length ? currentChunks[chunkId] : null;
+        Preconditions.checkState(chunk != null, "Chunk %s does not exist.", chunkId);
+        return chunk;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        for (SegmentChunk chunk : chunks) {
+            if (chunk != null) {
+                chunk.release();
+            }
+        }
+        chunks = new SegmentChunk[0];
+        currentChunk = null;
+        chunksWithFreeBlocks.clear();
+
+        if (directory != null) {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    /** Returns the number of bytes which are currently allocated, including block headers. */
+    @VisibleForTesting
+    public synchronized long getUsedBytes() {
+        long usedBytes = 0L;
+        for (SegmentChunk chunk : chunks) {
+            if (chunk != null) {
+                usedBytes += chunk.getUsedBytes();
+            }
+        }
+        return usedBytes;
+    }
+
+    /** Returns the number of chunks which currently exist. */
+    @VisibleForTesting
+    public synchronized int getNumberOfChunks() {
+        int numberOfChunks = 0;
+        for (SegmentChunk chunk : chunks) {
+            if (chunk != null) {
+                numberOfChunks++;
+            }
+        }
+        return numberOfChunks;
+    }
+
+    private SegmentChunk createChunk(boolean dedicated, int size) throws IOException {
+        int chunkId = nextChunkId++;
+        File file = null;
+        if (directory != null) {
+            if (!directory.exists() && !directory.mkdirs() && !directory.isDirectory()) {
+                throw new IOException("Could not create the directory " + directory + ".");
+            }
+            file = new File(directory, "chunk-" + chunkId);
+        }
+
+        SegmentChunk chunk =
+                dedicated
+                        ? SegmentChunk.createDedicated(chunkId, file, size)
+                        : SegmentChunk.create(chunkId, file, chunkSize);
+        LOG.debug(
+                "Created chunk {} in {} with a capacity of {} bytes.",
+                chunkId,
+                file == null ? "off-heap memory" : file,
+                chunk.getChunkCapacity());
+
+        SegmentChunk[] currentChunks = chunks;
+        if (chunkId >= currentChunks.length) {
+            currentChunks = Arrays.copyOf(currentChunks, currentChunks.length * 2);
+        }
+        currentChunks[chunkId] = chunk;
+        // publish the chunk for the unsynchronized readers
+        chunks = currentChunks;
+        return chunk;
+    }
+
+    private static long toAddress(int chunkId, int offset) {
+        return ((chunkId & FOUR_BYTES_MARK) << FOUR_BYTES_BITS) | (offset & FOUR_BYTES_MARK);
+    }
+}
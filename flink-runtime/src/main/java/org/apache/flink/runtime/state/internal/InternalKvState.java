@@ -20,9 +20,11 @@ package org.apache.flink.runtime.state.internal;
 
 import org.apache.flink.api.common.state.State;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.state.StateEntry;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * The {@code InternalKvState} is the root of the internal state type hierarchy, similar to the
@@ -106,6 +108,48 @@ public interface InternalKvState<K, N, V> extends State {
             final TypeSerializer<V> safeValueSerializer)
             throws Exception;
 
+    /**
+     * Returns whether this state supports the batch access methods {@link #multiGet(List)} and
+     * {@link #multiPut(List)}.
+     */
+    default boolean isBatchAccessSupported() {
+        return false;
+    }
+
+    /**
+     * Returns the values for the given keys and namespaces, independent of the current key and
+     * namespace of the backend. The values are returned in the order of the given list, a missing
+     * value is returned like the single value accessor of the state returns it.
+     *
+     * <p>Backends which pay a per access overhead, e.g. RocksDB, can serve the whole list with a
+     * single lookup. As for the single value accessors, the returned values may be the stored
+     * objects themselves and must be written back with {@link #multiPut(List)} after modifying
+     * them.
+     *
+     * @param keysAndNamespaces The keys and namespaces to look up.
+     * @return The values for the given keys and namespaces.
+     * @throws UnsupportedOperationException if {@link #isBatchAccessSupported()} returns false.
+     * @throws Exception Exceptions during the lookup or deserialization are forwarded
+     */
+    default List<V> multiGet(List<Tuple2<K, N>> keysAndNamespaces) throws Exception {
+        throw new UnsupportedOperationException(
+                "Batch access is not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Writes the states of the given entries under their keys and namespaces, independent of the
+     * current key and namespace of the backend. An entry with a {@code null} state removes the
+     * value for its key and namespace.
+     *
+     * @param entries The entries to write.
+     * @throws UnsupportedOperationException if {@link #isBatchAccessSupported()} returns false.
+     * @throws Exception Exceptions during the write or serialization are forwarded
+     */
+    default void multiPut(List<StateEntry<K, N, V>> entries) throws Exception {
+        throw new UnsupportedOperationException(
+                "Batch access is not supported by " + getClass().getSimpleName());
+    }
+
     /**
      * Get global visitor of state entries.
      *
@@ -20,11 +20,14 @@ package org.apache.flink.runtime.state.metrics;
 
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.runtime.state.StateEntry;
 import org.apache.flink.runtime.state.internal.InternalKvState;
 import org.apache.flink.util.function.SupplierWithException;
 import org.apache.flink.util.function.ThrowingRunnable;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -82,6 +85,21 @@ class AbstractLatencyTrackState<
                 safeValueSerializer);
     }
 
+    @Override
+    public boolean isBatchAccessSupported() {
+        return original.isBatchAccessSupported();
+    }
+
+    @Override
+    public List<V> multiGet(List<Tuple2<K, N>> keysAndNamespaces) throws Exception {
+        return original.multiGet(keysAndNamespaces);
+    }
+
+    @Override
+    public void multiPut(List<StateEntry<K, N, V>> entries) throws Exception {
+        original.multiPut(entries);
+    }
+
     @Override
     public StateIncrementalVisitor<K, N, V> getStateIncrementalVisitor(
             int recommendedMaxNumberOfReturnedRecords) {
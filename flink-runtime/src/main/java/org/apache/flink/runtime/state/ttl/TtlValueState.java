@@ -18,12 +18,16 @@
 
 package org.apache.flink.runtime.state.ttl;
 
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.runtime.state.StateEntry;
 import org.apache.flink.runtime.state.internal.InternalValueState;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This class wraps value state with TTL logic.
@@ -51,6 +55,59 @@ class TtlValueState<K, N, T>
         original.update(wrapWithTs(value));
     }
 
+    @Override
+    public boolean isBatchAccessSupported() {
+        return original.isBatchAccessSupported();
+    }
+
+    @Override
+    public List<T> multiGet(List<Tuple2<K, N>> keysAndNamespaces) throws Exception {
+        List<TtlValue<T>> ttlValues = original.multiGet(keysAndNamespaces);
+        List<T> values = new ArrayList<>(ttlValues.size());
+        // expired values are removed and renewed timestamps written back with one batch
+        List<StateEntry<K, N, TtlValue<T>>> updates = new ArrayList<>();
+        for (int i = 0; i < ttlValues.size(); i++) {
+            accessCallback.run();
+            Tuple2<K, N> keyAndNamespace = keysAndNamespaces.get(i);
+            TtlValue<T> ttlValue = ttlValues.get(i);
+            if (ttlValue == null) {
+                values.add(null);
+            } else if (expired(ttlValue)) {
+                updates.add(
+                        new StateEntry.SimpleStateEntry<>(
+                                keyAndNamespace.f0, keyAndNamespace.f1, null));
+                values.add(returnExpired ? ttlValue.getUserValue() : null);
+            } else {
+                if (updateTsOnRead) {
+                    updates.add(
+                            new StateEntry.SimpleStateEntry<>(
+                                    keyAndNamespace.f0,
+                                    keyAndNamespace.f1,
+                                    rewrapWithNewTs(ttlValue)));
+                }
+                values.add(ttlValue.getUserValue());
+            }
+        }
+        if (!updates.isEmpty()) {
+            original.multiPut(updates);
+        }
+        return values;
+    }
+
+    @Override
+    public void multiPut(List<StateEntry<K, N, T>> entries) throws Exception {
+        List<StateEntry<K, N, TtlValue<T>>> ttlEntries = new ArrayList<>(entries.size());
+        for (StateEntry<K, N, T> entry : entries) {
+            accessCallback.run();
+            ttlEntries.add(
+                    new StateEntry.SimpleStateEntry<>(
+                            entry.getKey(),
+                            entry.getNamespace(),
+                            entry.getState() != null ? wrapWithTs(entry.getState()) : null));
+        }
+        original.multiPut(ttlEntries);
+    }
+
     @Nullable
     @Override
     public TtlValue<T> getUnexpiredOrNull(@Nonnull TtlValue<T> ttlValue) {
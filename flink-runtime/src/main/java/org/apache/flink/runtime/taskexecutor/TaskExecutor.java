@@ -43,6 +43,7 @@ import org.apache.flink.runtime.execution.ExecutionState;
 import org.apache.flink.runtime.execution.librarycache.LibraryCacheManager;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.executiongraph.JobInformation;
+import org.apache.flink.runtime.executiongraph.LoadMetrics;
 import org.apache.flink.runtime.executiongraph.PartitionInfo;
 import org.apache.flink.runtime.executiongraph.TaskInformation;
 import org.apache.flink.runtime.externalresource.ExternalResourceInfoProvider;
@@ -1155,6 +1156,26 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
         return CompletableFuture.completedFuture(Acknowledge.get());
     }
 
+    @Override
+    public CompletableFuture<Acknowledge> resizeSlot(
+            AllocationID allocationId, ResourceProfile resourceProfile, Time timeout) {
+        log.info("Resize slot with allocation id {} to {}.", allocationId, resourceProfile);
+
+        try {
+            if (taskSlotTable.resizeSlot(allocationId, resourceProfile)) {
+                return CompletableFuture.completedFuture(Acknowledge.get());
+            } else {
+                return FutureUtils.completedExceptionally(
+                        new SlotAllocationException(
+                                String.format(
+                                        "Could not resize slot with allocation id %s to %s.",
+                                        allocationId, resourceProfile)));
+            }
+        } catch (SlotNotFoundException e) {
+            return FutureUtils.completedExceptionally(e);
+        }
+    }
+
     @Override
     public void freeInactiveSlots(JobID jobId, Time timeout) {
         log.debug("Freeing inactive slots for job {}.", jobId);
@@ -2404,6 +2425,8 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
                                 Set<ExecutionAttemptID> deployedExecutions = new HashSet<>();
                                 List<AccumulatorSnapshot> accumulatorSnapshots =
                                         new ArrayList<>(16);
+                                Map<ExecutionAttemptID, LoadMetrics> loadMetrics =
+                                        new HashMap<>(16);
                                 Iterator<Task> allTasks = taskSlotTable.getTasks(jobId);
 
                                 while (allTasks.hasNext()) {
@@ -2411,10 +2434,18 @@ public class TaskExecutor extends RpcEndpoint implements TaskExecutorGateway {
                                     deployedExecutions.add(task.getExecutionId());
                                     accumulatorSnapshots.add(
                                             task.getAccumulatorRegistry().getSnapshot());
+                                    if (task.getExecutionState() == ExecutionState.RUNNING) {
+                                        loadMetrics.put(
+                                                task.getExecutionId(),
+                                                task.getMetricGroup()
+                                                        .getIOMetricGroup()
+                                                        .createLoadSnapshot());
+                                    }
                                 }
                                 return new TaskExecutorToJobManagerHeartbeatPayload(
                                         new AccumulatorReport(accumulatorSnapshots),
-                                        new ExecutionDeploymentReport(deployedExecutions));
+                                        new ExecutionDeploymentReport(deployedExecutions),
+                                        loadMetrics);
                             })
                     .orElseGet(TaskExecutorToJobManagerHeartbeatPayload::empty);
         }
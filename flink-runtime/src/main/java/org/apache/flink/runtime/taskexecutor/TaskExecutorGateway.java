@@ -223,6 +223,18 @@ public interface TaskExecutorGateway
     CompletableFuture<Acknowledge> freeSlot(
             final AllocationID allocationId, final Throwable cause, @RpcTimeout final Time timeout);
 
+    /**
+     * Resizes the slot with the given allocation ID in place. The managed memory of the slot is
+     * grown or shrunk to match the new resource profile.
+     *
+     * @param allocationId identifying the slot to resize
+     * @param resourceProfile new resource profile of the slot
+     * @param timeout for the operation
+     * @return Future acknowledge which is returned once the slot has been resized
+     */
+    CompletableFuture<Acknowledge> resizeSlot(
+            AllocationID allocationId, ResourceProfile resourceProfile, @RpcTimeout Time timeout);
+
     /**
      * Frees all currently inactive slot allocated for the given job.
      *
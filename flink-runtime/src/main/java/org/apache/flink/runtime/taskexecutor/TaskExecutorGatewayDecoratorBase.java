@@ -185,6 +185,12 @@ public class TaskExecutorGatewayDecoratorBase implements TaskExecutorGateway {
         return originalGateway.freeSlot(allocationId, cause, timeout);
     }
 
+    @Override
+    public CompletableFuture<Acknowledge> resizeSlot(
+            AllocationID allocationId, ResourceProfile resourceProfile, Time timeout) {
+        return originalGateway.resizeSlot(allocationId, resourceProfile, timeout);
+    }
+
     @Override
     public void freeInactiveSlots(JobID jobId, Time timeout) {
         originalGateway.freeInactiveSlots(jobId, timeout);
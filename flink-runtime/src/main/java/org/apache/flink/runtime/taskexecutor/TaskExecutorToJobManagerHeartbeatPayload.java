@@ -17,8 +17,12 @@
 
 package org.apache.flink.runtime.taskexecutor;
 
+import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.executiongraph.LoadMetrics;
+
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.Map;
 
 /** Payload for heartbeats sent from the TaskExecutor to the JobManager. */
 public class TaskExecutorToJobManagerHeartbeatPayload implements Serializable {
@@ -29,11 +33,21 @@ public class TaskExecutorToJobManagerHeartbeatPayload implements Serializable {
 
     private final ExecutionDeploymentReport executionDeploymentReport;
 
+    private final Map<ExecutionAttemptID, LoadMetrics> loadMetrics;
+
     public TaskExecutorToJobManagerHeartbeatPayload(
             AccumulatorReport accumulatorReport,
             ExecutionDeploymentReport executionDeploymentReport) {
+        this(accumulatorReport, executionDeploymentReport, Collections.emptyMap());
+    }
+
+    public TaskExecutorToJobManagerHeartbeatPayload(
+            AccumulatorReport accumulatorReport,
+            ExecutionDeploymentReport executionDeploymentReport,
+            Map<ExecutionAttemptID, LoadMetrics> loadMetrics) {
         this.accumulatorReport = accumulatorReport;
         this.executionDeploymentReport = executionDeploymentReport;
+        this.loadMetrics = loadMetrics;
     }
 
     public AccumulatorReport getAccumulatorReport() {
@@ -44,6 +58,10 @@ public class TaskExecutorToJobManagerHeartbeatPayload implements Serializable {
         return executionDeploymentReport;
     }
 
+    public Map<ExecutionAttemptID, LoadMetrics> getLoadMetrics() {
+        return loadMetrics;
+    }
+
     public static TaskExecutorToJobManagerHeartbeatPayload empty() {
         return new TaskExecutorToJobManagerHeartbeatPayload(
                 new AccumulatorReport(Collections.emptyList()),
@@ -57,6 +75,8 @@ public class TaskExecutorToJobManagerHeartbeatPayload implements Serializable {
                 + accumulatorReport
                 + ", executionDeploymentReport="
                 + executionDeploymentReport
+                + ", loadMetrics="
+                + loadMetrics
                 + '}';
     }
 }
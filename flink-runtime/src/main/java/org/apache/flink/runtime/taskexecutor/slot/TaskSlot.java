@@ -23,6 +23,7 @@ import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.runtime.memory.MemoryReservationException;
 import org.apache.flink.util.AutoCloseableAsync;
 import org.apache.flink.util.FlinkException;
 import org.apache.flink.util.Preconditions;
@@ -67,8 +68,11 @@ public class TaskSlot<T extends TaskSlotPayload> implements AutoCloseableAsync {
     /** Index of the task slot. */
     private final int index;
 
-    /** Resource characteristics for this slot. */
-    private final ResourceProfile resourceProfile;
+    /** Resource characteristics this slot has been allocated with. */
+    private final ResourceProfile allocatedResourceProfile;
+
+    /** Current resource characteristics for this slot, which may differ after a resize. */
+    private volatile ResourceProfile resourceProfile;
 
     /** Tasks running in this slot. */
     private final Map<ExecutionAttemptID, T> tasks;
@@ -99,7 +103,8 @@ public class TaskSlot<T extends TaskSlotPayload> implements AutoCloseableAsync {
             final Executor asyncExecutor) {
 
         this.index = index;
-        this.resourceProfile = Preconditions.checkNotNull(resourceProfile);
+        this.allocatedResourceProfile = Preconditions.checkNotNull(resourceProfile);
+        this.resourceProfile = resourceProfile;
         this.asyncExecutor = Preconditions.checkNotNull(asyncExecutor);
 
         this.tasks = new HashMap<>(4);
@@ -125,6 +130,10 @@ public class TaskSlot<T extends TaskSlotPayload> implements AutoCloseableAsync {
         return resourceProfile;
     }
 
+    public ResourceProfile getAllocatedResourceProfile() {
+        return allocatedResourceProfile;
+    }
+
     public JobID getJobId() {
         return jobId;
     }
@@ -275,7 +284,25 @@ public class TaskSlot<T extends TaskSlotPayload> implements AutoCloseableAsync {
                 "The task slot is not in state active or allocated.");
         Preconditions.checkState(allocationId != null, "The task slot are not allocated");
 
-        return new SlotOffer(allocationId, index, resourceProfile);
+        // the job master matches the offer against the resource requirement the slot has been
+        // allocated for, independent of any resize
+        return new SlotOffer(allocationId, index, allocatedResourceProfile);
+    }
+
+    /**
+     * Resizes this slot in place. The managed memory of the slot is resized accordingly, which
+     * fails if the managed memory to give up is still in use.
+     *
+     * @param newResourceProfile the new resource characteristics for this slot
+     * @throws MemoryReservationException if the managed memory could not be shrunk
+     */
+    public void resize(ResourceProfile newResourceProfile) throws MemoryReservationException {
+        Preconditions.checkState(
+                TaskSlotState.ACTIVE == state || TaskSlotState.ALLOCATED == state,
+                "The task slot is not in state active or allocated.");
+
+        memoryManager.resize(newResourceProfile.getManagedMemory().getBytes());
+        resourceProfile = newResourceProfile;
     }
 
     @Override
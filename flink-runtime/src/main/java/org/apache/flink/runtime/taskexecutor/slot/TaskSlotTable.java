@@ -140,6 +140,20 @@ public interface TaskSlotTable<T extends TaskSlotPayload>
     boolean markSlotInactive(AllocationID allocationId, Time slotTimeout)
             throws SlotNotFoundException;
 
+    /**
+     * Resizes the slot under the given allocation id in place. The slot keeps its tasks while its
+     * managed memory is resized accordingly. Returns true if the slot could be resized. Otherwise,
+     * e.g. because the task executor lacks the resources or the managed memory to give up is still
+     * in use, it returns false and the slot keeps its resources.
+     *
+     * @param allocationId identifying the task slot to be resized
+     * @param resourceProfile the new resource profile of the slot
+     * @throws SlotNotFoundException if there is not task slot for the given allocation id
+     * @return True if the slot could be resized; otherwise false
+     */
+    boolean resizeSlot(AllocationID allocationId, ResourceProfile resourceProfile)
+            throws SlotNotFoundException;
+
     /**
      * Try to free the slot. If the slot is empty it will set the state of the task slot to free and
      * return its index. If the slot is not empty, then it will set the state of the task slot to
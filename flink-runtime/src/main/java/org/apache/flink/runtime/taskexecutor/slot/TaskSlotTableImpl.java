@@ -30,6 +30,7 @@ import org.apache.flink.runtime.concurrent.ComponentMainThreadExecutor;
 import org.apache.flink.runtime.concurrent.ComponentMainThreadExecutor.DummyComponentMainThreadExecutor;
 import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
 import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.runtime.memory.MemoryReservationException;
 import org.apache.flink.runtime.taskexecutor.SlotReport;
 import org.apache.flink.runtime.taskexecutor.SlotStatus;
 import org.apache.flink.util.FlinkException;
@@ -231,6 +232,8 @@ public class TaskSlotTableImpl<T extends TaskSlotPayload> implements TaskSlotTab
     public SlotReport createSlotReport(ResourceID resourceId) {
         List<SlotStatus> slotStatuses = new ArrayList<>();
 
+        // slots are reported with the resource profile they have been allocated with, because the
+        // resource manager matches them against the resource requirements of the jobs
         for (int i = 0; i < numberSlots; i++) {
             SlotID slotId = new SlotID(resourceId, i);
             SlotStatus slotStatus;
@@ -240,7 +243,7 @@ public class TaskSlotTableImpl<T extends TaskSlotPayload> implements TaskSlotTab
                 slotStatus =
                         new SlotStatus(
                                 slotId,
-                                taskSlot.getResourceProfile(),
+                                taskSlot.getAllocatedResourceProfile(),
                                 taskSlot.getJobId(),
                                 taskSlot.getAllocationId());
             } else {
@@ -255,7 +258,7 @@ public class TaskSlotTableImpl<T extends TaskSlotPayload> implements TaskSlotTab
                 SlotStatus slotStatus =
                         new SlotStatus(
                                 new SlotID(resourceId, taskSlot.getIndex()),
-                                taskSlot.getResourceProfile(),
+                                taskSlot.getAllocatedResourceProfile(),
                                 taskSlot.getJobId(),
                                 taskSlot.getAllocationId());
                 slotStatuses.add(slotStatus);
@@ -357,7 +360,7 @@ public class TaskSlotTableImpl<T extends TaskSlotPayload> implements TaskSlotTab
                 taskSlot.getIndex(),
                 index);
         return taskSlot.getJobId().equals(jobId)
-                && taskSlot.getResourceProfile().equals(resourceProfile)
+                && taskSlot.getAllocatedResourceProfile().equals(resourceProfile)
                 && (isDynamicIndex(index) || taskSlot.getIndex() == index);
     }
 
@@ -417,6 +420,60 @@ public class TaskSlotTableImpl<T extends TaskSlotPayload> implements TaskSlotTab
         }
     }
 
+    @Override
+    public boolean resizeSlot(AllocationID allocationId, ResourceProfile resourceProfile)
+            throws SlotNotFoundException {
+        checkRunning();
+        Preconditions.checkArgument(
+                !resourceProfile.equals(ResourceProfile.UNKNOWN)
+                        && !resourceProfile.equals(ResourceProfile.ANY),
+                "Can not resize a slot to an unspecified resource profile.");
+
+        TaskSlot<T> taskSlot = getTaskSlot(allocationId);
+        if (taskSlot == null) {
+            throw new SlotNotFoundException(allocationId);
+        }
+
+        final ResourceProfile currentResourceProfile = taskSlot.getResourceProfile();
+        if (currentResourceProfile.equals(resourceProfile)) {
+            return true;
+        }
+
+        budgetManager.release(currentResourceProfile);
+        if (!budgetManager.reserve(resourceProfile)) {
+            budgetManager.reserve(currentResourceProfile);
+            LOG.info(
+                    "Cannot resize slot {} from {} to {}, while the remaining available resources are {}, total is {}.",
+                    allocationId,
+                    currentResourceProfile,
+                    resourceProfile,
+                    budgetManager.getAvailableBudget().merge(currentResourceProfile),
+                    budgetManager.getTotalBudget());
+            return false;
+        }
+
+        try {
+            taskSlot.resize(resourceProfile);
+        } catch (MemoryReservationException e) {
+            budgetManager.release(resourceProfile);
+            budgetManager.reserve(currentResourceProfile);
+            LOG.info(
+                    "Cannot resize slot {} from {} to {} because the managed memory is still in use.",
+                    allocationId,
+                    currentResourceProfile,
+                    resourceProfile,
+                    e);
+            return false;
+        }
+
+        LOG.info(
+                "Resized slot {} from {} to {}.",
+                allocationId,
+                currentResourceProfile,
+                resourceProfile);
+        return true;
+    }
+
     @Override
     public int freeSlot(AllocationID allocationId, Throwable cause) throws SlotNotFoundException {
         checkStarted();
@@ -180,6 +180,11 @@ public class ConsumableNotifyingResultPartitionWriterDecorator {
             partitionWriter.flush(subpartitionIndex);
         }
 
+        @Override
+        public void adaptiveFlushAll() {
+            partitionWriter.adaptiveFlushAll();
+        }
+
         @Override
         public void finish() throws IOException {
             partitionWriter.finish();
@@ -88,6 +88,10 @@ public class NettyShuffleEnvironmentConfiguration {
 
     private final String compressionCodec;
 
+    private final int zstdCompressionLevel;
+
+    @Nullable private final String zstdDictionaryPath;
+
     private final int maxBuffersPerChannel;
 
     private final BufferDebloatConfiguration debloatConfiguration;
@@ -95,6 +99,9 @@ public class NettyShuffleEnvironmentConfiguration {
     /** The maximum number of tpc connections between taskmanagers for data communication. */
     private final int maxNumberOfConnections;
 
+    /** Whether the floating buffers of an input gate are shared fairly among its channels. */
+    private final boolean fairFloatingBuffersEnabled;
+
     public NettyShuffleEnvironmentConfiguration(
             int numNetworkBuffers,
             int networkBufferSize,
@@ -109,12 +116,15 @@ public class NettyShuffleEnvironmentConfiguration {
             BoundedBlockingSubpartitionType blockingSubpartitionType,
             boolean blockingShuffleCompressionEnabled,
             String compressionCodec,
+            int zstdCompressionLevel,
+            @Nullable String zstdDictionaryPath,
             int maxBuffersPerChannel,
             long batchShuffleReadMemoryBytes,
             int sortShuffleMinBuffers,
             int sortShuffleMinParallelism,
             BufferDebloatConfiguration debloatConfiguration,
-            int maxNumberOfConnections) {
+            int maxNumberOfConnections,
+            boolean fairFloatingBuffersEnabled) {
 
         this.numNetworkBuffers = numNetworkBuffers;
         this.networkBufferSize = networkBufferSize;
@@ -129,12 +139,15 @@ public class NettyShuffleEnvironmentConfiguration {
         this.blockingSubpartitionType = Preconditions.checkNotNull(blockingSubpartitionType);
         this.blockingShuffleCompressionEnabled = blockingShuffleCompressionEnabled;
         this.compressionCodec = Preconditions.checkNotNull(compressionCodec);
+        this.zstdCompressionLevel = zstdCompressionLevel;
+        this.zstdDictionaryPath = zstdDictionaryPath;
         this.maxBuffersPerChannel = maxBuffersPerChannel;
         this.batchShuffleReadMemoryBytes = batchShuffleReadMemoryBytes;
         this.sortShuffleMinBuffers = sortShuffleMinBuffers;
         this.sortShuffleMinParallelism = sortShuffleMinParallelism;
         this.debloatConfiguration = debloatConfiguration;
         this.maxNumberOfConnections = maxNumberOfConnections;
+        this.fairFloatingBuffersEnabled = fairFloatingBuffersEnabled;
     }
 
     // ------------------------------------------------------------------------
@@ -211,6 +224,15 @@ public class NettyShuffleEnvironmentConfiguration {
         return compressionCodec;
     }
 
+    public int getZstdCompressionLevel() {
+        return zstdCompressionLevel;
+    }
+
+    @Nullable
+    public String getZstdDictionaryPath() {
+        return zstdDictionaryPath;
+    }
+
     public int getMaxBuffersPerChannel() {
         return maxBuffersPerChannel;
     }
@@ -219,6 +241,10 @@ public class NettyShuffleEnvironmentConfiguration {
         return maxNumberOfConnections;
     }
 
+    public boolean isFairFloatingBuffersEnabled() {
+        return fairFloatingBuffersEnabled;
+    }
+
     // ------------------------------------------------------------------------
 
     /**
@@ -303,12 +329,21 @@ public class NettyShuffleEnvironmentConfiguration {
                         NettyShuffleEnvironmentOptions.BLOCKING_SHUFFLE_COMPRESSION_ENABLED);
         String compressionCodec =
                 configuration.getString(NettyShuffleEnvironmentOptions.SHUFFLE_COMPRESSION_CODEC);
+        int zstdCompressionLevel =
+                configuration.get(NettyShuffleEnvironmentOptions.SHUFFLE_COMPRESSION_ZSTD_LEVEL);
+        String zstdDictionaryPath =
+                configuration.get(
+                        NettyShuffleEnvironmentOptions.SHUFFLE_COMPRESSION_ZSTD_DICTIONARY);
 
         int maxNumConnections =
                 Math.max(
                         1,
                         configuration.getInteger(
                                 NettyShuffleEnvironmentOptions.MAX_NUM_TCP_CONNECTIONS));
+
+        boolean fairFloatingBuffersEnabled =
+                configuration.get(NettyShuffleEnvironmentOptions.NETWORK_FAIR_FLOATING_BUFFERS);
+
         return new NettyShuffleEnvironmentConfiguration(
                 numberOfNetworkBuffers,
                 pageSize,
@@ -323,12 +358,15 @@ public class NettyShuffleEnvironmentConfiguration {
                 blockingSubpartitionType,
                 blockingShuffleCompressionEnabled,
                 compressionCodec,
+                zstdCompressionLevel,
+                zstdDictionaryPath,
                 maxBuffersPerChannel,
                 batchShuffleReadMemoryBytes,
                 sortShuffleMinBuffers,
                 sortShuffleMinParallelism,
                 BufferDebloatConfiguration.fromConfiguration(configuration),
-                maxNumConnections);
+                maxNumConnections,
+                fairFloatingBuffersEnabled);
     }
 
     /**
@@ -461,11 +499,14 @@ public class NettyShuffleEnvironmentConfiguration {
         result = 31 * result + Arrays.hashCode(tempDirs);
         result = 31 * result + (blockingShuffleCompressionEnabled ? 1 : 0);
         result = 31 * result + Objects.hashCode(compressionCodec);
+        result = 31 * result + zstdCompressionLevel;
+        result = 31 * result + Objects.hashCode(zstdDictionaryPath);
         result = 31 * result + maxBuffersPerChannel;
         result = 31 * result + Objects.hashCode(batchShuffleReadMemoryBytes);
         result = 31 * result + sortShuffleMinBuffers;
         result = 31 * result + sortShuffleMinParallelism;
         result = 31 * result + maxNumberOfConnections;
+        result = 31 * result + (fairFloatingBuffersEnabled ? 1 : 0);
         return result;
     }
 
@@ -497,7 +538,10 @@ public class NettyShuffleEnvironmentConfiguration {
                             == that.blockingShuffleCompressionEnabled
                     && this.maxBuffersPerChannel == that.maxBuffersPerChannel
                     && Objects.equals(this.compressionCodec, that.compressionCodec)
-                    && this.maxNumberOfConnections == that.maxNumberOfConnections;
+                    && this.zstdCompressionLevel == that.zstdCompressionLevel
+                    && Objects.equals(this.zstdDictionaryPath, that.zstdDictionaryPath)
+                    && this.maxNumberOfConnections == that.maxNumberOfConnections
+                    && this.fairFloatingBuffersEnabled == that.fairFloatingBuffersEnabled;
         }
     }
 
@@ -526,6 +570,10 @@ public class NettyShuffleEnvironmentConfiguration {
                 + blockingShuffleCompressionEnabled
                 + ", compressionCodec="
                 + compressionCodec
+                + ", zstdCompressionLevel="
+                + zstdCompressionLevel
+                + ", zstdDictionaryPath="
+                + zstdDictionaryPath
                 + ", maxBuffersPerChannel="
                 + maxBuffersPerChannel
                 + ", batchShuffleReadMemoryBytes="
@@ -536,6 +584,8 @@ public class NettyShuffleEnvironmentConfiguration {
                 + sortShuffleMinParallelism
                 + ", maxNumberOfConnections="
                 + maxNumberOfConnections
+                + ", fairFloatingBuffersEnabled="
+                + fairFloatingBuffersEnabled
                 + '}';
     }
 }
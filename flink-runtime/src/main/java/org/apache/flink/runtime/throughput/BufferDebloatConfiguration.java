@@ -20,6 +20,7 @@ package org.apache.flink.runtime.throughput;
 
 import org.apache.flink.configuration.ReadableConfig;
 import org.apache.flink.configuration.TaskManagerOptions;
+import org.apache.flink.configuration.TaskManagerOptions.BufferDebloatController;
 
 import java.time.Duration;
 
@@ -37,9 +38,15 @@ public final class BufferDebloatConfiguration {
     private final int bufferDebloatThresholdPercentages;
     private final int numberOfSamples;
     private final boolean enabled;
+    private final boolean perChannel;
+    private final BufferDebloatController controller;
+    private final boolean redistributeFloatingBuffers;
 
     private BufferDebloatConfiguration(
             boolean enabled,
+            boolean perChannel,
+            BufferDebloatController controller,
+            boolean redistributeFloatingBuffers,
             Duration targetTotalBufferSize,
             int maxBufferSize,
             int minBufferSize,
@@ -51,12 +58,29 @@ public final class BufferDebloatConfiguration {
         this.bufferDebloatThresholdPercentages = bufferDebloatThresholdPercentages;
         this.numberOfSamples = numberOfSamples;
         this.enabled = enabled;
+        this.perChannel = perChannel;
+        this.controller = checkNotNull(controller);
+        this.redistributeFloatingBuffers = redistributeFloatingBuffers;
     }
 
     public boolean isEnabled() {
         return enabled;
     }
 
+    /** Whether the buffer size is calculated for every input channel individually. */
+    public boolean isPerChannel() {
+        return perChannel;
+    }
+
+    public BufferDebloatController getController() {
+        return controller;
+    }
+
+    /** Whether the floating buffers are redistributed according to the debloated demand. */
+    public boolean isRedistributeFloatingBuffers() {
+        return redistributeFloatingBuffers;
+    }
+
     public Duration getTargetTotalBufferSize() {
         return targetTotalBufferSize;
     }
@@ -96,6 +120,9 @@ public final class BufferDebloatConfiguration {
         checkArgument(targetTotalBufferSize.toMillis() > 0.0);
         return new BufferDebloatConfiguration(
                 config.get(TaskManagerOptions.BUFFER_DEBLOAT_ENABLED),
+                config.get(TaskManagerOptions.BUFFER_DEBLOAT_PER_CHANNEL),
+                config.get(TaskManagerOptions.BUFFER_DEBLOAT_CONTROLLER),
+                config.get(TaskManagerOptions.BUFFER_DEBLOAT_REDISTRIBUTE_FLOATING_BUFFERS),
                 targetTotalBufferSize,
                 maxBufferSize,
                 minBufferSize,
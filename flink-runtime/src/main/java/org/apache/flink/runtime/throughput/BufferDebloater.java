@@ -19,16 +19,34 @@
 package org.apache.flink.runtime.throughput;
 
 import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.configuration.TaskManagerOptions.BufferDebloatController;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.OptionalInt;
 
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
 /**
  * Class for automatic calculation of the buffer size based on the current throughput and
  * configuration.
+ *
+ * <p>By default, one buffer size is calculated for all channels of the gate. In per-channel mode,
+ * the throughput of the gate is split up between the channels according to the share of data each
+ * channel received, and every channel gets its own buffer size. This way, channels receiving most
+ * of the data on skewed inputs keep enough in-flight data for full throughput while the buffers of
+ * the idle channels shrink.
+ *
+ * <p>The buffer size is adjusted by a {@link BufferSizeController} which is chosen by {@link
+ * BufferDebloatController}.
+ *
+ * <p>If the buffer size can't be decreased any further, the gate holds more buffers than needed for
+ * the target. With floating buffer redistribution enabled, the gate then gives up floating buffers
+ * according to {@link #calculateDemandedNumberOfBuffers(int)}.
  */
 public class BufferDebloater {
     private static final Logger LOG = LoggerFactory.getLogger(BufferDebloater.class);
@@ -39,10 +57,28 @@ public class BufferDebloater {
     private final int maxBufferSize;
     private final int minBufferSize;
     private final double bufferDebloatThresholdFactor;
-    private final BufferSizeEMA bufferSizeEMA;
+    private final long numberOfSamples;
+    private final boolean perChannel;
+    private final BufferDebloatController controller;
+    private final BufferSizeController bufferSizeController;
+    private final boolean redistributeFloatingBuffers;
 
     private Duration lastEstimatedTimeToConsumeBuffers = Duration.ZERO;
     private int lastBufferSize;
+    /** The buffer size the controller is heading for, that is its current set point. */
+    private long lastDesiredBufferSize;
+    /**
+     * The ratio between the desired in-flight data and the in-flight data of the announced buffer
+     * sizes.
+     */
+    private double lastBufferDemandRatio = 1.0;
+    /** The number of buffers last returned by {@link #recalculateDemandedNumberOfBuffers(int)}. */
+    private int lastDemandedNumberOfBuffers = -1;
+
+    /** Per-channel state, only used in per-channel mode. */
+    private BufferSizeController[] channelBufferSizeControllers = new BufferSizeController[0];
+
+    private int[] lastChannelBufferSizes = new int[0];
 
     public BufferDebloater(
             int gateIndex,
@@ -51,23 +87,107 @@ public class BufferDebloater {
             int minBufferSize,
             int bufferDebloatThresholdPercentages,
             long numberOfSamples) {
+        this(
+                gateIndex,
+                targetTotalBufferSize,
+                maxBufferSize,
+                minBufferSize,
+                bufferDebloatThresholdPercentages,
+                numberOfSamples,
+                false);
+    }
+
+    public BufferDebloater(
+            int gateIndex,
+            long targetTotalBufferSize,
+            int maxBufferSize,
+            int minBufferSize,
+            int bufferDebloatThresholdPercentages,
+            long numberOfSamples,
+            boolean perChannel) {
+        this(
+                gateIndex,
+                targetTotalBufferSize,
+                maxBufferSize,
+                minBufferSize,
+                bufferDebloatThresholdPercentages,
+                numberOfSamples,
+                perChannel,
+                BufferDebloatController.EMA);
+    }
+
+    public BufferDebloater(
+            int gateIndex,
+            long targetTotalBufferSize,
+            int maxBufferSize,
+            int minBufferSize,
+            int bufferDebloatThresholdPercentages,
+            long numberOfSamples,
+            boolean perChannel,
+            BufferDebloatController controller) {
+        this(
+                gateIndex,
+                targetTotalBufferSize,
+                maxBufferSize,
+                minBufferSize,
+                bufferDebloatThresholdPercentages,
+                numberOfSamples,
+                perChannel,
+                controller,
+                false);
+    }
+
+    public BufferDebloater(
+            int gateIndex,
+            long targetTotalBufferSize,
+            int maxBufferSize,
+            int minBufferSize,
+            int bufferDebloatThresholdPercentages,
+            long numberOfSamples,
+            boolean perChannel,
+            BufferDebloatController controller,
+            boolean redistributeFloatingBuffers) {
         this.gateIndex = gateIndex;
         this.targetTotalBufferSize = targetTotalBufferSize;
         this.maxBufferSize = maxBufferSize;
         this.minBufferSize = minBufferSize;
         this.bufferDebloatThresholdFactor = bufferDebloatThresholdPercentages / 100.0;
+        this.numberOfSamples = numberOfSamples;
+        this.perChannel = perChannel;
+        this.controller = checkNotNull(controller);
+        this.redistributeFloatingBuffers = redistributeFloatingBuffers;
 
         this.lastBufferSize = maxBufferSize;
-        bufferSizeEMA = new BufferSizeEMA(maxBufferSize, minBufferSize, numberOfSamples);
+        this.lastDesiredBufferSize = maxBufferSize;
+        bufferSizeController = createBufferSizeController();
 
         LOG.debug(
-                "Buffer debloater init settings: gateIndex={}, targetTotalBufferSize={}, maxBufferSize={}, minBufferSize={}, bufferDebloatThresholdPercentages={}, numberOfSamples={}",
+                "Buffer debloater init settings: gateIndex={}, targetTotalBufferSize={}, maxBufferSize={}, minBufferSize={}, bufferDebloatThresholdPercentages={}, numberOfSamples={}, perChannel={}, controller={}, redistributeFloatingBuffers={}",
                 gateIndex,
                 targetTotalBufferSize,
                 maxBufferSize,
                 minBufferSize,
                 bufferDebloatThresholdPercentages,
-                numberOfSamples);
+                numberOfSamples,
+                perChannel,
+                controller,
+                redistributeFloatingBuffers);
+    }
+
+    /**
+     * Whether the floating buffers of the gate should be limited to {@link
+     * #calculateDemandedNumberOfBuffers(int)}.
+     */
+    public boolean isRedistributingFloatingBuffers() {
+        return redistributeFloatingBuffers;
+    }
+
+    /**
+     * Whether the buffer size should be calculated per channel via {@link
+     * #recalculateChannelBufferSizes(long, long[], int[], ChannelBufferSizeListener)}.
+     */
+    public boolean isPerChannel() {
+        return perChannel;
     }
 
     public OptionalInt recalculateBufferSize(long currentThroughput, int buffersInUse) {
@@ -76,8 +196,9 @@ public class BufferDebloater {
                 (currentThroughput * targetTotalBufferSize) / MILLIS_IN_SECOND;
 
         int newSize =
-                bufferSizeEMA.calculateBufferSize(
+                bufferSizeController.calculateBufferSize(
                         desiredTotalBufferSizeInBytes, actualBuffersInUse);
+        lastDesiredBufferSize = desiredTotalBufferSizeInBytes / actualBuffersInUse;
 
         lastEstimatedTimeToConsumeBuffers =
                 Duration.ofMillis(
@@ -87,6 +208,9 @@ public class BufferDebloater {
                                 / Math.max(1, currentThroughput));
 
         boolean skipUpdate = skipUpdate(newSize);
+        lastBufferDemandRatio =
+                (double) desiredTotalBufferSizeInBytes
+                        / ((long) (skipUpdate ? lastBufferSize : newSize) * actualBuffersInUse);
 
         LOG.debug(
                 "Buffer size recalculation: gateIndex={}, currentSize={}, newSize={}, instantThroughput={}, desiredBufferSize={}, buffersInUse={}, estimatedTimeToConsumeBuffers={}, announceNewSize={}",
@@ -108,9 +232,131 @@ public class BufferDebloater {
         return OptionalInt.of(newSize);
     }
 
+    /**
+     * Recalculates the buffer size of every channel of the gate.
+     *
+     * @param currentThroughput throughput of the whole gate
+     * @param channelDataSizes bytes received per channel since the last recalculation
+     * @param channelBuffersInUse number of buffers in use per channel
+     * @param listener notified about every channel whose buffer size should be announced
+     */
+    public void recalculateChannelBufferSizes(
+            long currentThroughput,
+            long[] channelDataSizes,
+            int[] channelBuffersInUse,
+            ChannelBufferSizeListener listener) {
+        checkArgument(channelDataSizes.length == channelBuffersInUse.length);
+        final int numberOfChannels = channelDataSizes.length;
+        ensureNumberOfChannels(numberOfChannels);
+
+        long totalDataSize = 0;
+        for (long channelDataSize : channelDataSizes) {
+            totalDataSize += channelDataSize;
+        }
+
+        long totalBufferSize = 0;
+        long totalAnnouncedBufferSize = 0;
+        long totalDesiredBufferSize = 0;
+        int largestBufferSize = minBufferSize;
+        long largestDesiredBufferSize = 0;
+
+        for (int channelIndex = 0; channelIndex < numberOfChannels; channelIndex++) {
+            // the throughput is split evenly if no data was received since the last recalculation
+            final long channelThroughput =
+                    totalDataSize > 0
+                            ? (long)
+                                    ((double) currentThroughput
+                                            * channelDataSizes[channelIndex]
+                                            / totalDataSize)
+                            : currentThroughput / numberOfChannels;
+            final int actualBuffersInUse = Math.max(1, channelBuffersInUse[channelIndex]);
+            final long desiredTotalBufferSizeInBytes =
+                    (channelThroughput * targetTotalBufferSize) / MILLIS_IN_SECOND;
+
+            final int newSize =
+                    channelBufferSizeControllers[channelIndex].calculateBufferSize(
+                            desiredTotalBufferSizeInBytes, actualBuffersInUse);
+            largestDesiredBufferSize =
+                    Math.max(
+                            largestDesiredBufferSize,
+                            desiredTotalBufferSizeInBytes / actualBuffersInUse);
+            totalDesiredBufferSize += desiredTotalBufferSizeInBytes;
+            totalBufferSize += (long) newSize * actualBuffersInUse;
+
+            final boolean skipUpdate = skipUpdate(newSize, lastChannelBufferSizes[channelIndex]);
+
+            LOG.debug(
+                    "Buffer size recalculation: gateIndex={}, channelIndex={}, currentSize={}, newSize={}, instantThroughput={}, desiredBufferSize={}, buffersInUse={}, announceNewSize={}",
+                    gateIndex,
+                    channelIndex,
+                    lastChannelBufferSizes[channelIndex],
+                    newSize,
+                    channelThroughput,
+                    desiredTotalBufferSizeInBytes,
+                    channelBuffersInUse[channelIndex],
+                    !skipUpdate);
+
+            if (!skipUpdate) {
+                lastChannelBufferSizes[channelIndex] = newSize;
+                listener.announceBufferSize(channelIndex, newSize);
+            }
+            largestBufferSize = Math.max(largestBufferSize, lastChannelBufferSizes[channelIndex]);
+            totalAnnouncedBufferSize +=
+                    (long) lastChannelBufferSizes[channelIndex] * actualBuffersInUse;
+        }
+
+        lastBufferSize = largestBufferSize;
+        lastDesiredBufferSize = largestDesiredBufferSize;
+        lastBufferDemandRatio =
+                (double) totalDesiredBufferSize / Math.max(1, totalAnnouncedBufferSize);
+        lastEstimatedTimeToConsumeBuffers =
+                Duration.ofMillis(
+                        totalBufferSize * MILLIS_IN_SECOND / Math.max(1, currentThroughput));
+    }
+
+    private void ensureNumberOfChannels(int numberOfChannels) {
+        if (channelBufferSizeControllers.length == numberOfChannels) {
+            return;
+        }
+
+        final int previousNumberOfChannels = channelBufferSizeControllers.length;
+        channelBufferSizeControllers =
+                Arrays.copyOf(channelBufferSizeControllers, numberOfChannels);
+        lastChannelBufferSizes = Arrays.copyOf(lastChannelBufferSizes, numberOfChannels);
+        for (int i = previousNumberOfChannels; i < numberOfChannels; i++) {
+            channelBufferSizeControllers[i] = createBufferSizeController();
+            lastChannelBufferSizes[i] = maxBufferSize;
+        }
+    }
+
+    private BufferSizeController createBufferSizeController() {
+        return createBufferSizeController(
+                controller, maxBufferSize, minBufferSize, numberOfSamples);
+    }
+
+    @VisibleForTesting
+    static BufferSizeController createBufferSizeController(
+            BufferDebloatController controller,
+            int maxBufferSize,
+            int minBufferSize,
+            long numberOfSamples) {
+        switch (controller) {
+            case EMA:
+                return new BufferSizeEMA(maxBufferSize, minBufferSize, numberOfSamples);
+            case AIMD:
+                return new BufferSizeAIMD(maxBufferSize, minBufferSize, numberOfSamples);
+            default:
+                throw new IllegalStateException("Unknown buffer debloat controller " + controller);
+        }
+    }
+
     @VisibleForTesting
     boolean skipUpdate(int newSize) {
-        if (newSize == lastBufferSize) {
+        return skipUpdate(newSize, lastBufferSize);
+    }
+
+    private boolean skipUpdate(int newSize, int currentSize) {
+        if (newSize == currentSize) {
             return true;
         }
 
@@ -121,15 +367,85 @@ public class BufferDebloater {
             return false;
         }
 
-        int delta = (int) (lastBufferSize * bufferDebloatThresholdFactor);
-        return Math.abs(newSize - lastBufferSize) < delta;
+        int delta = (int) (currentSize * bufferDebloatThresholdFactor);
+        return Math.abs(newSize - currentSize) < delta;
     }
 
+    /**
+     * Returns the last announced buffer size. In per-channel mode, this is the largest buffer size
+     * of all channels.
+     */
     public int getLastBufferSize() {
         return lastBufferSize;
     }
 
+    @VisibleForTesting
+    int getLastChannelBufferSize(int channelIndex) {
+        return lastChannelBufferSizes[channelIndex];
+    }
+
+    /**
+     * Returns the buffer size the controller is heading for according to the last measured
+     * throughput. In per-channel mode, this is the largest desired buffer size of all channels.
+     */
+    public long getLastDesiredBufferSize() {
+        return lastDesiredBufferSize;
+    }
+
+    /**
+     * Scales the given number of buffers down to the share which is needed for the desired
+     * in-flight data at the announced buffer sizes. This is less than the given number of buffers
+     * if the buffer size reached the minimum, e.g. because the gate is idle.
+     *
+     * @param numberOfBuffers the number of buffers the gate may use at most
+     * @return the number of buffers needed by the gate, at least 0 and at most the given number
+     */
+    public int calculateDemandedNumberOfBuffers(int numberOfBuffers) {
+        return (int) Math.min(numberOfBuffers, Math.ceil(lastBufferDemandRatio * numberOfBuffers));
+    }
+
+    /**
+     * Recalculates the number of buffers needed by the gate, see {@link
+     * #calculateDemandedNumberOfBuffers(int)}. Like the buffer size, the new demand is skipped if
+     * it differs from the last one by less than the debloat threshold, because every change
+     * redistributes the buffers of all pools of the {@link
+     * org.apache.flink.runtime.io.network.buffer.NetworkBufferPool}.
+     *
+     * @param numberOfBuffers the number of buffers the gate may use at most
+     * @return the new number of buffers needed by the gate, or empty if it should not be updated
+     */
+    public OptionalInt recalculateDemandedNumberOfBuffers(int numberOfBuffers) {
+        int newDemand = calculateDemandedNumberOfBuffers(numberOfBuffers);
+        if (lastDemandedNumberOfBuffers >= 0
+                && skipDemandUpdate(newDemand, lastDemandedNumberOfBuffers, numberOfBuffers)) {
+            return OptionalInt.empty();
+        }
+
+        lastDemandedNumberOfBuffers = newDemand;
+        return OptionalInt.of(newDemand);
+    }
+
+    private boolean skipDemandUpdate(int newDemand, int currentDemand, int numberOfBuffers) {
+        if (newDemand == currentDemand) {
+            return true;
+        }
+
+        // always give up all buffers of an idle gate and take back all buffers of a busy gate
+        if (newDemand == 0 || newDemand >= numberOfBuffers) {
+            return false;
+        }
+
+        int delta = (int) (currentDemand * bufferDebloatThresholdFactor);
+        return Math.abs(newDemand - currentDemand) < delta;
+    }
+
     public Duration getLastEstimatedTimeToConsumeBuffers() {
         return lastEstimatedTimeToConsumeBuffers;
     }
+
+    /** Listener for the buffer sizes calculated per channel. */
+    @FunctionalInterface
+    public interface ChannelBufferSizeListener {
+        void announceBufferSize(int channelIndex, int newBufferSize);
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.throughput;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Implementation of the 'Additive increase/multiplicative decrease' algorithm.
+ *
+ * <p>The desired total buffer size is treated as an upper bound of the in-flight data. As soon as
+ * the current buffers exceed it, the buffer size is halved, but never cut below the desired size.
+ * Otherwise, the buffer size grows by a constant step until it reaches the desired size. In
+ * contrast to {@link BufferSizeEMA}, this reacts to load drops within one period and does not
+ * overshoot the target when the load is bursty.
+ */
+public class BufferSizeAIMD implements BufferSizeController {
+    private final int maxBufferSize;
+    private final int minBufferSize;
+    /** The step by which the buffer size grows per calculation. */
+    private final int additiveIncrease;
+
+    private int lastBufferSize;
+
+    public BufferSizeAIMD(int maxBufferSize, int minBufferSize, long numberOfSamples) {
+        checkArgument(numberOfSamples > 0, "Number of samples should be positive");
+        this.maxBufferSize = maxBufferSize;
+        this.minBufferSize = minBufferSize;
+        this.additiveIncrease = (int) Math.max(1, maxBufferSize / numberOfSamples);
+        this.lastBufferSize = maxBufferSize;
+    }
+
+    @Override
+    public int calculateBufferSize(long totalBufferSizeInBytes, int totalBuffers) {
+        checkArgument(totalBufferSizeInBytes >= 0, "Size of buffer should be non negative");
+        checkArgument(totalBuffers > 0, "Number of buffers should be positive");
+
+        long desirableBufferSize = totalBufferSizeInBytes / totalBuffers;
+
+        long newBufferSize;
+        if (lastBufferSize > desirableBufferSize) {
+            newBufferSize = Math.max(lastBufferSize / 2, desirableBufferSize);
+        } else {
+            newBufferSize = Math.min((long) lastBufferSize + additiveIncrease, desirableBufferSize);
+        }
+
+        return lastBufferSize =
+                (int) Math.max(minBufferSize, Math.min(newBufferSize, maxBufferSize));
+    }
+}
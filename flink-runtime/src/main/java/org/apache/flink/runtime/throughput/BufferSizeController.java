@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.throughput;
+
+/**
+ * Controller which calculates the buffer size from the desired amount of in-flight data and the
+ * number of buffers in use.
+ */
+public interface BufferSizeController {
+
+    /**
+     * Calculating the buffer size over total possible buffers size and number of buffers in use.
+     *
+     * @param totalBufferSizeInBytes Total buffers size.
+     * @param totalBuffers Total number of buffers in use.
+     * @return Buffer size calculated according to implemented algorithm.
+     */
+    int calculateBufferSize(long totalBufferSizeInBytes, int totalBuffers);
+}
@@ -21,7 +21,7 @@ package org.apache.flink.runtime.throughput;
 import static org.apache.flink.util.Preconditions.checkArgument;
 
 /** Implementation of 'Exponential moving average' algorithm. */
-public class BufferSizeEMA {
+public class BufferSizeEMA implements BufferSizeController {
     private final int maxBufferSize;
     private final int minBufferSize;
     /** EMA algorithm specific constant which responsible for speed of reaction. */
@@ -36,13 +36,7 @@ public class BufferSizeEMA {
         this.lastBufferSize = maxBufferSize;
     }
 
-    /**
-     * Calculating the buffer size over total possible buffers size and number of buffers in use.
-     *
-     * @param totalBufferSizeInBytes Total buffers size.
-     * @param totalBuffers Total number of buffers in use.
-     * @return Throughput calculated according to implemented algorithm.
-     */
+    @Override
     public int calculateBufferSize(long totalBufferSizeInBytes, int totalBuffers) {
         checkArgument(totalBufferSizeInBytes >= 0, "Size of buffer should be non negative");
         checkArgument(totalBuffers > 0, "Number of buffers should be positive");
@@ -26,6 +26,7 @@ import org.apache.flink.core.execution.SavepointFormatType;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
 import org.apache.flink.runtime.dispatcher.TriggerSavepointMode;
 import org.apache.flink.runtime.executiongraph.ArchivedExecutionGraph;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobgraph.OperatorID;
 import org.apache.flink.runtime.jobmaster.JobResult;
 import org.apache.flink.runtime.messages.Acknowledge;
@@ -41,9 +42,11 @@ import org.apache.flink.runtime.rest.messages.ThreadDumpInfo;
 import org.apache.flink.runtime.rpc.RpcGateway;
 import org.apache.flink.runtime.rpc.RpcTimeout;
 import org.apache.flink.runtime.scheduler.ExecutionGraphInfo;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
 import org.apache.flink.util.SerializedValue;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -241,4 +244,21 @@ public interface RestfulGateway extends RpcGateway {
             @RpcTimeout Time timeout) {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Estimates the cost of rescaling the given job to the proposed parallelism without triggering
+     * the rescale operation.
+     *
+     * @param jobId identifying the job to estimate the rescale cost for
+     * @param proposedParallelism new parallelism per vertex; vertices which are not contained keep
+     *     their current parallelism
+     * @param timeout RPC timeout
+     * @return A future containing the estimated cost. The future will fail with a {@link
+     *     org.apache.flink.util.FlinkException} if the job is not running, the scheduler does not
+     *     support rescaling or the proposed parallelism is invalid.
+     */
+    default CompletableFuture<RescaleCostEstimate> estimateRescaleCost(
+            JobID jobId, Map<JobVertexID, Integer> proposedParallelism, @RpcTimeout Time timeout) {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -76,6 +76,8 @@ import org.apache.flink.runtime.rest.handler.job.metrics.JobVertexMetricsHandler
 import org.apache.flink.runtime.rest.handler.job.metrics.JobVertexWatermarksHandler;
 import org.apache.flink.runtime.rest.handler.job.metrics.SubtaskMetricsHandler;
 import org.apache.flink.runtime.rest.handler.job.metrics.TaskManagerMetricsHandler;
+import org.apache.flink.runtime.rest.handler.job.rescaling.RescalingCostEstimateHandler;
+import org.apache.flink.runtime.rest.handler.job.rescaling.RescalingCostEstimateHeaders;
 import org.apache.flink.runtime.rest.handler.job.rescaling.RescalingHandlers;
 import org.apache.flink.runtime.rest.handler.job.savepoints.SavepointDisposalHandlers;
 import org.apache.flink.runtime.rest.handler.job.savepoints.SavepointHandlers;
@@ -546,6 +548,13 @@ public class WebMonitorEndpoint<T extends RestfulGateway> extends RestServerEndp
                 rescalingHandlers
                 .new RescalingStatusHandler(leaderRetriever, timeout, responseHeaders);
 
+        final RescalingCostEstimateHandler rescalingCostEstimateHandler =
+                new RescalingCostEstimateHandler(
+                        leaderRetriever,
+                        timeout,
+                        responseHeaders,
+                        RescalingCostEstimateHeaders.getInstance());
+
         final JobVertexBackPressureHandler jobVertexBackPressureHandler =
                 new JobVertexBackPressureHandler(
                         leaderRetriever,
@@ -769,6 +778,10 @@ public class WebMonitorEndpoint<T extends RestfulGateway> extends RestServerEndp
         handlers.add(
                 Tuple2.of(rescalingTriggerHandler.getMessageHeaders(), rescalingTriggerHandler));
         handlers.add(Tuple2.of(rescalingStatusHandler.getMessageHeaders(), rescalingStatusHandler));
+        handlers.add(
+                Tuple2.of(
+                        rescalingCostEstimateHandler.getMessageHeaders(),
+                        rescalingCostEstimateHandler));
         handlers.add(
                 Tuple2.of(
                         savepointDisposalTriggerHandler.getMessageHeaders(),
@@ -18,6 +18,8 @@
 
 package org.apache.flink.runtime.io.compression;
 
+import org.apache.flink.configuration.IllegalConfigurationException;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -25,6 +27,8 @@ import java.nio.ByteBuffer;
 
 import static org.apache.flink.runtime.io.compression.Lz4BlockCompressionFactory.HEADER_LENGTH;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /** Tests for block compression. */
 public class BlockCompressionTest {
@@ -41,6 +45,60 @@ public class BlockCompressionTest {
         runByteBufferTest(factory, true, 16);
     }
 
+    @Test
+    public void testZstd() {
+        runTests(new ZstdBlockCompressionFactory());
+        runTests(
+                new ZstdBlockCompressionFactory(
+                        ZstdBlockCompressionFactory.MAX_COMPRESSION_LEVEL, null));
+    }
+
+    @Test
+    public void testZstdWithDictionary() {
+        // any content can be used as a raw dictionary, a trained one only improves the ratio
+        byte[] dictionary = new byte[1024];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = (byte) i;
+        }
+        runTests(
+                new ZstdBlockCompressionFactory(
+                        ZstdBlockCompressionFactory.DEFAULT_COMPRESSION_LEVEL, dictionary));
+    }
+
+    @Test
+    public void testCreateZstdBlockCompressionFactory() {
+        BlockCompressionFactory factory =
+                BlockCompressionFactory.createBlockCompressionFactory("zstd");
+        assertTrue(factory instanceof ZstdBlockCompressionFactory);
+        assertEquals(
+                ZstdBlockCompressionFactory.DEFAULT_COMPRESSION_LEVEL,
+                ((ZstdBlockCompressionFactory) factory).getCompressionLevel());
+        assertFalse(((ZstdBlockCompressionFactory) factory).hasDictionary());
+    }
+
+    @Test(expected = IllegalConfigurationException.class)
+    public void testCreateZstdBlockCompressionFactoryWithInvalidLevel() {
+        BlockCompressionFactory.createBlockCompressionFactory("ZSTD", 0, null);
+    }
+
+    @Test(expected = IllegalConfigurationException.class)
+    public void testCreateZstdBlockCompressionFactoryWithMissingDictionary() {
+        BlockCompressionFactory.createBlockCompressionFactory(
+                "ZSTD",
+                ZstdBlockCompressionFactory.DEFAULT_COMPRESSION_LEVEL,
+                "/non-existing/zstd.dict");
+    }
+
+    private void runTests(BlockCompressionFactory factory) {
+        runArrayTest(factory, 32768);
+        runArrayTest(factory, 16);
+
+        runByteBufferTest(factory, false, 32768);
+        runByteBufferTest(factory, false, 16);
+        runByteBufferTest(factory, true, 32768);
+        runByteBufferTest(factory, true, 16);
+    }
+
     private void runArrayTest(BlockCompressionFactory factory, int originalLen) {
         BlockCompressor compressor = factory.getCompressor();
         BlockDecompressor decompressor = factory.getDecompressor();
@@ -21,6 +21,7 @@ package org.apache.flink.runtime.io.network;
 import org.apache.flink.configuration.Configuration;
 import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.io.compression.ZstdBlockCompressionFactory;
 import org.apache.flink.runtime.io.network.netty.NettyConfig;
 import org.apache.flink.runtime.io.network.partition.BoundedBlockingSubpartitionType;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionManager;
@@ -83,6 +84,8 @@ public class NettyShuffleEnvironmentBuilder {
 
     private int maxNumberOfConnections = 1;
 
+    private boolean fairFloatingBuffersEnabled = false;
+
     public NettyShuffleEnvironmentBuilder setTaskManagerLocation(ResourceID taskManagerLocation) {
         this.taskManagerLocation = taskManagerLocation;
         return this;
@@ -187,6 +190,12 @@ public class NettyShuffleEnvironmentBuilder {
         return this;
     }
 
+    public NettyShuffleEnvironmentBuilder setFairFloatingBuffersEnabled(
+            boolean fairFloatingBuffersEnabled) {
+        this.fairFloatingBuffersEnabled = fairFloatingBuffersEnabled;
+        return this;
+    }
+
     public NettyShuffleEnvironment build() {
         return NettyShuffleServiceFactory.createNettyShuffleEnvironment(
                 new NettyShuffleEnvironmentConfiguration(
@@ -203,12 +212,15 @@ public class NettyShuffleEnvironmentBuilder {
                         BoundedBlockingSubpartitionType.AUTO,
                         blockingShuffleCompressionEnabled,
                         compressionCodec,
+                        ZstdBlockCompressionFactory.DEFAULT_COMPRESSION_LEVEL,
+                        null,
                         maxBuffersPerChannel,
                         batchShuffleReadMemoryBytes,
                         sortShuffleMinBuffers,
                         sortShuffleMinParallelism,
                         debloatConfiguration,
-                        maxNumberOfConnections),
+                        maxNumberOfConnections,
+                        fairFloatingBuffersEnabled),
                 taskManagerLocation,
                 new TaskEventDispatcher(),
                 resultPartitionManager,
@@ -36,7 +36,9 @@ import org.apache.flink.runtime.io.network.buffer.BufferBuilder;
 import org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils;
 import org.apache.flink.runtime.io.network.buffer.BufferPool;
 import org.apache.flink.runtime.io.network.buffer.NetworkBufferPool;
+import org.apache.flink.runtime.io.network.partition.MockResultPartitionWriter;
 import org.apache.flink.runtime.io.network.partition.NoOpBufferAvailablityListener;
+import org.apache.flink.runtime.io.network.partition.ObjectHandoffQueue;
 import org.apache.flink.runtime.io.network.partition.ResultPartition;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionBuilder;
 import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
@@ -57,7 +59,11 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
 
 import static org.apache.flink.runtime.io.network.partition.PartitionTestUtils.createPartition;
@@ -65,6 +71,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /** Tests for the {@link RecordWriter}. */
 public class RecordWriterTest {
@@ -377,6 +384,48 @@ public class RecordWriterTest {
     }
 
     /** Creates the {@link RecordWriter} instance based on whether it is a broadcast writer. */
+    @Test
+    public void testObjectHandoffFallsBackToSerializationIfQueueIsFull() throws Exception {
+        final ObjectHandoffQueue handoffQueue = new ObjectHandoffQueue(1);
+        final HandoffResultPartitionWriter partitionWriter =
+                new HandoffResultPartitionWriter(handoffQueue);
+        final ChannelSelectorRecordWriter<IntValue> recordWriter =
+                (ChannelSelectorRecordWriter<IntValue>)
+                        new RecordWriterBuilder<IntValue>().build(partitionWriter);
+        final IntValue marker = new IntValue(-1);
+
+        recordWriter.emitOrHandOver(new IntValue(1), marker, IntValue::getValue);
+        // the first object has not been consumed yet, so the second record is serialized
+        recordWriter.emitOrHandOver(new IntValue(2), marker, IntValue::getValue);
+
+        assertEquals(Arrays.asList(-1, 2), partitionWriter.emittedValues);
+        assertEquals(1, (int) handoffQueue.poll());
+    }
+
+    @Test
+    public void testObjectIsNotHandedOverIfMarkerCanNotBeEmitted() throws Exception {
+        final ObjectHandoffQueue handoffQueue = new ObjectHandoffQueue(1);
+        final HandoffResultPartitionWriter partitionWriter =
+                new HandoffResultPartitionWriter(handoffQueue);
+        final ChannelSelectorRecordWriter<IntValue> recordWriter =
+                (ChannelSelectorRecordWriter<IntValue>)
+                        new RecordWriterBuilder<IntValue>().build(partitionWriter);
+
+        partitionWriter.failEmit = true;
+        try {
+            recordWriter.emitOrHandOver(new IntValue(1), new IntValue(-1), IntValue::getValue);
+            fail("The marker should not have been emitted.");
+        } catch (IOException expected) {
+        }
+
+        assertFalse(handoffQueue.isFull());
+        try {
+            handoffQueue.poll();
+            fail("Polled an object without a marker.");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
     private RecordWriter createRecordWriter(ResultPartitionWriter writer) {
         if (isBroadcastWriter) {
             return new RecordWriterBuilder()
@@ -413,6 +462,35 @@ public class RecordWriterTest {
         }
     }
 
+    /** Writer which hands over objects to a single subpartition and collects the emitted ints. */
+    private static class HandoffResultPartitionWriter extends MockResultPartitionWriter {
+
+        private final ObjectHandoffQueue handoffQueue;
+
+        private final List<Integer> emittedValues = new ArrayList<>();
+
+        private boolean failEmit;
+
+        private HandoffResultPartitionWriter(ObjectHandoffQueue handoffQueue) {
+            this.handoffQueue = handoffQueue;
+        }
+
+        @Override
+        public ObjectHandoffQueue getObjectHandoffQueue(int targetSubpartition) {
+            return handoffQueue;
+        }
+
+        @Override
+        public void emitRecord(ByteBuffer record, int targetSubpartition) throws IOException {
+            if (failEmit) {
+                throw new IOException("Test exception");
+            }
+            // skip the length of the serialized record
+            record.getInt();
+            emittedValues.add(record.getInt());
+        }
+    }
+
     private static class ByteArrayIO implements IOReadableWritable {
 
         private final byte[] bytes;
@@ -145,6 +145,34 @@ public class NetworkBufferPoolTest extends TestLogger {
         assertThat(globalPool.getUsedMemory(), is((long) bufferSize));
     }
 
+    @Test
+    public void testRedistributeBuffersOnDemandChange() throws IOException {
+        NetworkBufferPool globalPool = new NetworkBufferPool(10, 128);
+        try {
+            BufferPool firstPool = globalPool.createBufferPool(1, 10);
+            BufferPool secondPool = globalPool.createBufferPool(1, 10);
+            assertThat(firstPool.getNumBuffers(), is(5));
+            assertThat(secondPool.getNumBuffers(), is(5));
+
+            // the buffers not demanded by the first pool go to the second one
+            firstPool.setNumberOfDemandedMemorySegments(0);
+            assertThat(firstPool.getNumBuffers(), is(1));
+            assertThat(secondPool.getNumBuffers(), is(9));
+
+            secondPool.setNumberOfDemandedMemorySegments(1);
+            assertThat(firstPool.getNumBuffers(), is(1));
+            assertThat(secondPool.getNumBuffers(), is(1));
+
+            firstPool.setNumberOfDemandedMemorySegments(10);
+            secondPool.setNumberOfDemandedMemorySegments(10);
+            assertThat(firstPool.getNumBuffers(), is(5));
+            assertThat(secondPool.getNumBuffers(), is(5));
+        } finally {
+            globalPool.destroyAllBufferPools();
+            globalPool.destroy();
+        }
+    }
+
     @Test
     public void testMemoryUsageInTheContextOfMemoryPoolDestruction() {
         final int bufferSize = 128;
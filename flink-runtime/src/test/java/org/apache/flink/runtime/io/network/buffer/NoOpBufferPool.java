@@ -99,6 +99,9 @@ public class NoOpBufferPool implements BufferPool {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setNumberOfDemandedMemorySegments(int numberOfDemandedMemorySegments) {}
+
     @Override
     public int getNumberOfAvailableMemorySegments() {
         throw new UnsupportedOperationException();
@@ -100,6 +100,9 @@ public class UnpooledBufferPool implements BufferPool {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void setNumberOfDemandedMemorySegments(int numberOfDemandedMemorySegments) {}
+
     @Override
     public int getNumberOfAvailableMemorySegments() {
         return Integer.MAX_VALUE;
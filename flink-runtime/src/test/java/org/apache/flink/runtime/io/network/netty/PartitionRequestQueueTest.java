@@ -43,6 +43,8 @@ import org.apache.flink.runtime.io.network.util.TestBufferFactory;
 
 import org.apache.flink.shaded.netty4.io.netty.buffer.ByteBuf;
 import org.apache.flink.shaded.netty4.io.netty.buffer.Unpooled;
+import org.apache.flink.shaded.netty4.io.netty.channel.ChannelHandlerContext;
+import org.apache.flink.shaded.netty4.io.netty.channel.ChannelOutboundHandlerAdapter;
 import org.apache.flink.shaded.netty4.io.netty.channel.embedded.EmbeddedChannel;
 
 import org.junit.AfterClass;
@@ -178,6 +180,44 @@ public class PartitionRequestQueueTest {
         assertNull(read);
     }
 
+    /** Tests that {@link PartitionRequestQueue} flushes multiple buffers at once if configured. */
+    @Test
+    public void testMultipleBuffersPerFlush() throws Exception {
+        final ResultSubpartitionView view = new DefaultBufferResultSubpartitionView(10);
+        ResultPartitionProvider partitionProvider =
+                (partitionId, index, availabilityListener) -> view;
+
+        final PartitionRequestQueue queue = new PartitionRequestQueue(4);
+        final CreditBasedSequenceNumberingViewReader reader =
+                new CreditBasedSequenceNumberingViewReader(
+                        new InputChannelID(), Integer.MAX_VALUE, queue);
+        final AtomicInteger numFlushes = new AtomicInteger();
+        final EmbeddedChannel channel =
+                new EmbeddedChannel(
+                        new ChannelOutboundHandlerAdapter() {
+                            @Override
+                            public void flush(ChannelHandlerContext ctx) throws Exception {
+                                numFlushes.incrementAndGet();
+                                super.flush(ctx);
+                            }
+                        },
+                        queue);
+
+        reader.requestSubpartitionView(partitionProvider, new ResultPartitionID(), 0);
+        reader.notifyDataAvailable();
+        channel.runPendingTasks();
+
+        int numBuffers = 0;
+        Object read;
+        while ((read = channel.readOutbound()) != null) {
+            assertThat(read, instanceOf(NettyMessage.BufferResponse.class));
+            numBuffers++;
+        }
+        assertEquals(10, numBuffers);
+        // 4 + 4 + 2 buffers
+        assertEquals(3, numFlushes.get());
+    }
+
     private static class DefaultBufferResultSubpartitionView extends NoOpResultSubpartitionView {
         /** Number of buffer in the backlog to report with every {@link #getNextBuffer()} call. */
         private final AtomicInteger buffersInBacklog;
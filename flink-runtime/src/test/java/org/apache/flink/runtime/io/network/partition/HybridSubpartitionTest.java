@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.io.disk.FileChannelManagerImpl;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferBuilder;
+import org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils;
+import org.apache.flink.runtime.io.network.buffer.BufferConsumer;
+import org.apache.flink.runtime.io.network.partition.ResultSubpartition.BufferAndBacklog;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for the {@link HybridSubpartition} and the {@link HybridSubpartitionReader}. */
+public class HybridSubpartitionTest extends TestLogger {
+
+    @ClassRule public static final TemporaryFolder TMP_FOLDER = new TemporaryFolder();
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private static final int BUFFERS_PER_CHANNEL = 2;
+
+    @Test
+    public void testRunningReaderReceivesBuffersFromMemory() throws Exception {
+        final HybridSubpartition subpartition = createSubpartition();
+        final CountingAvailabilityListener listener = new CountingAvailabilityListener();
+        final HybridSubpartitionReader reader =
+                (HybridSubpartitionReader) subpartition.createReadView(listener);
+
+        final MemorySegment segment = MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE);
+        writeBuffer(subpartition, segment);
+
+        // the reader copies the buffer, so the writer's buffer is recycled right away
+        assertTrue(segment.isFreed());
+        assertEquals(1, reader.getNumberOfBuffersInMemory());
+        assertEquals(1, listener.numNotifications);
+        assertTrue(reader.getAvailabilityAndBacklog(1).isAvailable());
+
+        final BufferAndBacklog bufferAndBacklog = reader.getNextBuffer();
+        assertNotNull(bufferAndBacklog);
+        assertEquals(BUFFER_SIZE, bufferAndBacklog.buffer().readableBytes());
+        assertEquals(0, bufferAndBacklog.buffersInBacklog());
+        assertEquals(Buffer.DataType.NONE, bufferAndBacklog.getNextDataType());
+        bufferAndBacklog.buffer().recycleBuffer();
+
+        assertFalse(reader.getAvailabilityAndBacklog(1).isAvailable());
+        assertNull(reader.getNextBuffer());
+
+        reader.releaseAllResources();
+        subpartition.release();
+    }
+
+    @Test
+    public void testLateReaderReadsSpilledData() throws Exception {
+        final HybridSubpartition subpartition = createSubpartition();
+
+        final MemorySegment[] segments = new MemorySegment[3];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE);
+            writeBuffer(subpartition, segments[i]);
+        }
+
+        final CountingAvailabilityListener listener = new CountingAvailabilityListener();
+        final HybridSubpartitionReader reader =
+                (HybridSubpartitionReader) subpartition.createReadView(listener);
+        assertEquals(0, reader.getNumberOfBuffersInMemory());
+        assertTrue(reader.getAvailabilityAndBacklog(1).isAvailable());
+
+        for (int i = 0; i < segments.length; i++) {
+            final BufferAndBacklog bufferAndBacklog = reader.getNextBuffer();
+            assertNotNull(bufferAndBacklog);
+            assertNotSame(segments[i], bufferAndBacklog.buffer().getMemorySegment());
+            assertEquals(BUFFER_SIZE, bufferAndBacklog.buffer().readableBytes());
+            assertEquals(segments.length - i - 1, bufferAndBacklog.buffersInBacklog());
+            bufferAndBacklog.buffer().recycleBuffer();
+        }
+        assertNull(reader.getNextBuffer());
+
+        // the reader has caught up and receives the following buffers from memory
+        final MemorySegment segment = MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE);
+        final int numNotifications = listener.numNotifications;
+        writeBuffer(subpartition, segment);
+
+        assertEquals(numNotifications + 1, listener.numNotifications);
+        assertEquals(1, reader.getNumberOfBuffersInMemory());
+        final BufferAndBacklog bufferAndBacklog = reader.getNextBuffer();
+        assertNotNull(bufferAndBacklog);
+        assertEquals(BUFFER_SIZE, bufferAndBacklog.buffer().readableBytes());
+        bufferAndBacklog.buffer().recycleBuffer();
+
+        reader.releaseAllResources();
+        subpartition.release();
+    }
+
+    @Test
+    public void testSlowReaderReadsSpilledDataBeyondMemoryLimit() throws Exception {
+        final HybridSubpartition subpartition = createSubpartition();
+        final HybridSubpartitionReader reader =
+                (HybridSubpartitionReader)
+                        subpartition.createReadView(new NoOpBufferAvailablityListener());
+
+        final MemorySegment[] segments = new MemorySegment[BUFFERS_PER_CHANNEL + 1];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE);
+            writeBuffer(subpartition, segments[i]);
+            assertTrue(segments[i].isFreed());
+        }
+        // only the buffers within the limit are copied, the last one is read from the file
+        assertEquals(BUFFERS_PER_CHANNEL, reader.getNumberOfBuffersInMemory());
+
+        for (int i = 0; i < segments.length; i++) {
+            final BufferAndBacklog bufferAndBacklog = reader.getNextBuffer();
+            assertNotNull(bufferAndBacklog);
+            assertEquals(
+                    Math.max(0, BUFFERS_PER_CHANNEL - i - 1), reader.getNumberOfBuffersInMemory());
+            assertEquals(BUFFER_SIZE, bufferAndBacklog.buffer().readableBytes());
+            bufferAndBacklog.buffer().recycleBuffer();
+        }
+        assertNull(reader.getNextBuffer());
+
+        reader.releaseAllResources();
+        subpartition.release();
+    }
+
+    @Test
+    public void testReadFinishedSubpartition() throws Exception {
+        final HybridSubpartition subpartition = createSubpartition();
+        writeBuffer(subpartition, MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE));
+        subpartition.finish();
+
+        final ResultSubpartitionView reader =
+                subpartition.createReadView(new NoOpBufferAvailablityListener());
+
+        final BufferAndBacklog data = reader.getNextBuffer();
+        assertNotNull(data);
+        assertTrue(data.buffer().isBuffer());
+        assertEquals(Buffer.DataType.EVENT_BUFFER, data.getNextDataType());
+        data.buffer().recycleBuffer();
+
+        final BufferAndBacklog event = reader.getNextBuffer();
+        assertNotNull(event);
+        assertFalse(event.buffer().isBuffer());
+        assertEquals(Buffer.DataType.NONE, event.getNextDataType());
+        event.buffer().recycleBuffer();
+
+        assertNull(reader.getNextBuffer());
+
+        reader.releaseAllResources();
+        subpartition.release();
+    }
+
+    @Test
+    public void testSpilledDataIsDeletedAfterReadersAreReleased() throws Exception {
+        final HybridSubpartition subpartition = createSubpartition();
+        writeBuffer(subpartition, MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE));
+        subpartition.finish();
+
+        final ResultSubpartitionView reader =
+                subpartition.createReadView(new NoOpBufferAvailablityListener());
+        subpartition.release();
+        assertTrue(Files.exists(subpartition.getFilePath()));
+
+        reader.releaseAllResources();
+        assertFalse(Files.exists(subpartition.getFilePath()));
+    }
+
+    // ------------------------------------------------------------------------
+
+    private static HybridSubpartition createSubpartition() throws IOException {
+        final BoundedBlockingResultPartition parent =
+                (BoundedBlockingResultPartition)
+                        new ResultPartitionBuilder()
+                                .setResultPartitionType(ResultPartitionType.HYBRID)
+                                .setFileChannelManager(
+                                        new FileChannelManagerImpl(
+                                                new String[] {TMP_FOLDER.newFolder().toString()},
+                                                "data"))
+                                .setNetworkBufferSize(BUFFER_SIZE)
+                                .setNetworkBuffersPerChannel(BUFFERS_PER_CHANNEL)
+                                .build();
+
+        return (HybridSubpartition) parent.getAllPartitions()[0];
+    }
+
+    private static void writeBuffer(ResultSubpartition subpartition, MemorySegment segment)
+            throws IOException {
+        final BufferBuilder bufferBuilder =
+                BufferBuilderTestUtils.createFilledBufferBuilder(segment, BUFFER_SIZE);
+        final BufferConsumer bufferConsumer = bufferBuilder.createBufferConsumerFromBeginning();
+        bufferBuilder.finish();
+        bufferBuilder.close();
+
+        subpartition.add(bufferConsumer);
+        subpartition.flush();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.FileRegionBuffer;
+import org.apache.flink.util.IOUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * The benchmark of serving all subpartitions of a {@link PartitionedFile}, either by transferring
+ * file regions directly from the file to the target channel (see {@link
+ * PartitionedFileReader#readNextFileRegion()}) or by reading the data into memory segments first
+ * and writing them to the target channel (see {@link PartitionedFileReader#readCurrentRegion}).
+ * The target channel is a file channel, for which the JVM also uses sendfile on Linux.
+ */
+public class PartitionedFileServingBenchmark {
+
+    private static final int NUM_BUFFERS_READ_AHEAD = 64;
+
+    private final boolean useDirectFileTransfer;
+
+    private final int numSubpartitions;
+
+    private final Queue<MemorySegment> segments = new ArrayDeque<>();
+
+    private Path tempDirectory;
+
+    private PartitionedFile partitionedFile;
+
+    private FileChannel dataFileChannel;
+
+    private FileChannel indexFileChannel;
+
+    private FileChannel targetChannel;
+
+    public PartitionedFileServingBenchmark(boolean useDirectFileTransfer, int numSubpartitions) {
+        this.useDirectFileTransfer = useDirectFileTransfer;
+        this.numSubpartitions = numSubpartitions;
+    }
+
+    public void setup(int numBuffersPerSubpartition, int bufferSize) throws Exception {
+        byte[] dataBytes = new byte[bufferSize];
+        new Random().nextBytes(dataBytes);
+
+        tempDirectory = Files.createTempDirectory("partitioned-file-serving");
+        partitionedFile =
+                PartitionTestUtils.createPartitionedFile(
+                        tempDirectory.resolve("partition").toString(),
+                        numSubpartitions,
+                        numBuffersPerSubpartition,
+                        bufferSize,
+                        dataBytes);
+        dataFileChannel =
+                FileChannel.open(partitionedFile.getDataFilePath(), StandardOpenOption.READ);
+        indexFileChannel =
+                FileChannel.open(partitionedFile.getIndexFilePath(), StandardOpenOption.READ);
+        targetChannel =
+                FileChannel.open(
+                        tempDirectory.resolve("target"),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+
+        for (int i = 0; i < NUM_BUFFERS_READ_AHEAD; ++i) {
+            segments.add(MemorySegmentFactory.allocateUnpooledOffHeapMemory(bufferSize));
+        }
+    }
+
+    /** Serves all subpartitions one after another and returns the number of bytes served. */
+    public long serveAllSubpartitions() throws Exception {
+        targetChannel.position(0);
+
+        long numBytesServed = 0;
+        for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+            PartitionedFileReader fileReader =
+                    new PartitionedFileReader(
+                            partitionedFile, subpartition, dataFileChannel, indexFileChannel);
+            numBytesServed +=
+                    useDirectFileTransfer
+                            ? transferFileRegions(fileReader)
+                            : readAndWriteBuffers(fileReader);
+        }
+        return numBytesServed;
+    }
+
+    private long transferFileRegions(PartitionedFileReader fileReader) throws IOException {
+        long numBytesServed = 0;
+        Buffer buffer;
+        while ((buffer = fileReader.readNextFileRegion()) != null) {
+            FileRegionBuffer fileRegion = (FileRegionBuffer) buffer;
+            long transferred = 0;
+            while (transferred < fileRegion.count()) {
+                transferred += fileRegion.transferTo(targetChannel, transferred);
+            }
+            numBytesServed += transferred;
+        }
+        return numBytesServed;
+    }
+
+    private long readAndWriteBuffers(PartitionedFileReader fileReader) throws IOException {
+        long[] numBytesServed = new long[1];
+        while (fileReader.hasRemaining()) {
+            fileReader.readCurrentRegion(
+                    segments,
+                    segments::add,
+                    buffer -> {
+                        try {
+                            numBytesServed[0] += write(buffer.getNioBufferReadable());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } finally {
+                            buffer.recycleBuffer();
+                        }
+                    },
+                    NUM_BUFFERS_READ_AHEAD);
+        }
+        return numBytesServed[0];
+    }
+
+    private int write(ByteBuffer data) throws IOException {
+        int numBytes = data.remaining();
+        BufferReaderWriterUtil.writeBuffer(targetChannel, data);
+        return numBytes;
+    }
+
+    public void teardown() {
+        IOUtils.closeAllQuietly(dataFileChannel, indexFileChannel, targetChannel);
+        segments.forEach(MemorySegment::free);
+        segments.clear();
+        if (partitionedFile != null) {
+            partitionedFile.deleteQuietly();
+        }
+        if (tempDirectory != null) {
+            IOUtils.deleteFileQuietly(tempDirectory.resolve("target"));
+            IOUtils.deleteFileQuietly(tempDirectory);
+        }
+    }
+}
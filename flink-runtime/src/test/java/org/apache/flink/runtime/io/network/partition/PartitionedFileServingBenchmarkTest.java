@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link PartitionedFileServingBenchmark}, which also log the CPU time spent per GB of
+ * served data with and without direct file transfer.
+ */
+public class PartitionedFileServingBenchmarkTest extends TestLogger {
+
+    private static final int NUM_SUBPARTITIONS = 16;
+
+    private static final int NUM_BUFFERS_PER_SUBPARTITION = 256;
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private static final long NUM_BYTES_EXPECTED =
+            (long) NUM_SUBPARTITIONS * NUM_BUFFERS_PER_SUBPARTITION * BUFFER_SIZE;
+
+    @Test
+    public void serveAllSubpartitionsByDirectFileTransfer() throws Exception {
+        runBenchmark(true);
+    }
+
+    @Test
+    public void serveAllSubpartitionsByReadingBuffers() throws Exception {
+        runBenchmark(false);
+    }
+
+    private void runBenchmark(boolean useDirectFileTransfer) throws Exception {
+        PartitionedFileServingBenchmark benchmark =
+                new PartitionedFileServingBenchmark(useDirectFileTransfer, NUM_SUBPARTITIONS);
+        try {
+            benchmark.setup(NUM_BUFFERS_PER_SUBPARTITION, BUFFER_SIZE);
+
+            ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+            long cpuTimeStart = threadMXBean.getCurrentThreadCpuTime();
+            long numBytesServed = benchmark.serveAllSubpartitions();
+            long cpuTimeNanos = threadMXBean.getCurrentThreadCpuTime() - cpuTimeStart;
+
+            assertEquals(NUM_BYTES_EXPECTED, numBytesServed);
+            log.info(
+                    "Direct file transfer: {}, CPU time per GB served: {} ms.",
+                    useDirectFileTransfer,
+                    cpuTimeNanos * (1L << 30) / numBytesServed / 1_000_000);
+        } finally {
+            benchmark.teardown();
+        }
+    }
+}
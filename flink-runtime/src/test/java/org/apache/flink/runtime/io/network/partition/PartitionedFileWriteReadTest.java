@@ -170,6 +170,77 @@ public class PartitionedFileWriteReadTest {
         IOUtils.closeAllQuietly(dataFileChannel, indexFileChannel);
     }
 
+    @Test
+    public void testReadRegionsInBatches() throws Exception {
+        int numRegions = 10;
+        int numSubpartitions = 5;
+        int bufferSize = 1024;
+        Random random = new Random(1111);
+
+        Queue<Buffer>[] subpartitionBuffers = new ArrayDeque[numSubpartitions];
+        for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+            subpartitionBuffers[subpartition] = new ArrayDeque<>();
+        }
+
+        PartitionedFileWriter fileWriter = createPartitionedFileWriter(numSubpartitions);
+        for (int region = 0; region < numRegions; ++region) {
+            fileWriter.startNewRegion(false);
+            for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+                List<BufferWithChannel> buffers = new ArrayList<>();
+                for (int i = random.nextInt(5); i > 0; --i) {
+                    Buffer buffer = createBuffer(random, bufferSize);
+                    subpartitionBuffers[subpartition].add(buffer);
+                    buffers.add(new BufferWithChannel(buffer, subpartition));
+                }
+                fileWriter.writeBuffers(buffers);
+            }
+        }
+        PartitionedFile partitionedFile = fileWriter.finish();
+
+        // the readers share the file channels and read in turns like the read scheduler does
+        FileChannel dataFileChannel = openFileChannel(partitionedFile.getDataFilePath());
+        FileChannel indexFileChannel = openFileChannel(partitionedFile.getIndexFilePath());
+        List<PartitionedFileReader> fileReaders = new ArrayList<>();
+        for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+            fileReaders.add(
+                    new PartitionedFileReader(
+                            partitionedFile, subpartition, dataFileChannel, indexFileChannel));
+        }
+
+        boolean hasRemaining = true;
+        while (hasRemaining) {
+            hasRemaining = false;
+            for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+                PartitionedFileReader fileReader = fileReaders.get(subpartition);
+                if (!fileReader.hasRemaining()) {
+                    continue;
+                }
+                hasRemaining = true;
+
+                Queue<MemorySegment> segments = new ArrayDeque<>();
+                for (int i = 0; i < 3; ++i) {
+                    segments.add(MemorySegmentFactory.allocateUnpooledSegment(bufferSize));
+                }
+                Queue<Buffer> expectedBuffers = subpartitionBuffers[subpartition];
+                int numBuffersRead =
+                        fileReader.readCurrentRegion(
+                                segments,
+                                FreeingBufferRecycler.INSTANCE,
+                                buffer ->
+                                        assertBufferEquals(
+                                                checkNotNull(expectedBuffers.poll()), buffer),
+                                random.nextInt(3) + 1);
+                assertTrue(numBuffersRead > 0);
+                assertEquals(3 - numBuffersRead, segments.size());
+            }
+        }
+        IOUtils.closeAllQuietly(dataFileChannel, indexFileChannel);
+
+        for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+            assertTrue(subpartitionBuffers[subpartition].isEmpty());
+        }
+    }
+
     private void assertBufferEquals(Buffer expected, Buffer actual) {
         assertEquals(expected.getDataType(), actual.getDataType());
         assertEquals(expected.getNioBufferReadable(), actual.getNioBufferReadable());
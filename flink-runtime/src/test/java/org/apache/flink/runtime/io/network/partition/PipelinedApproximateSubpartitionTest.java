@@ -52,6 +52,16 @@ public class PipelinedApproximateSubpartitionTest extends PipelinedSubpartitionT
         // PipelinedApproximateSubpartition allows to recreate a view (release the old view first)
     }
 
+    @Test
+    @Override
+    public void testObjectHandoff() throws Exception {
+        // A recreated view would lose the objects handed over to the previous view
+        final PipelinedSubpartition subpartition = createSubpartition();
+
+        assertNull(subpartition.createReadView(() -> {}).requestObjectHandoff());
+        assertNull(subpartition.getObjectHandoffQueue());
+    }
+
     @Test
     public void testRecreateReadView() throws Exception {
         final PipelinedApproximateSubpartition subpartition =
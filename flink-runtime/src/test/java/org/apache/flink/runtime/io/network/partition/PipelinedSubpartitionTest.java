@@ -47,6 +47,8 @@ import static org.apache.flink.runtime.io.network.buffer.BufferBuilderTestUtils.
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -96,6 +98,55 @@ public class PipelinedSubpartitionTest extends SubpartitionTestBase {
         }
     }
 
+    @Test
+    public void testObjectHandoff() throws Exception {
+        final PipelinedSubpartition subpartition = createSubpartition();
+        assertNull(subpartition.getObjectHandoffQueue());
+
+        final ObjectHandoffQueue handoffQueue =
+                subpartition
+                        .createReadView(new NoOpBufferAvailablityListener())
+                        .requestObjectHandoff();
+        assertNotNull(handoffQueue);
+        assertSame(handoffQueue, subpartition.getObjectHandoffQueue());
+
+        handoffQueue.add("first");
+        handoffQueue.add("second");
+        assertEquals("first", handoffQueue.poll());
+
+        // the objects which have not been consumed are dropped on release
+        subpartition.release();
+        try {
+            handoffQueue.poll();
+            fail("Polled a dropped object.");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void testObjectHandoffQueueIsBounded() {
+        final ObjectHandoffQueue handoffQueue = new ObjectHandoffQueue(2);
+
+        handoffQueue.add("first");
+        handoffQueue.add("second");
+        assertTrue(handoffQueue.isFull());
+        try {
+            handoffQueue.add("third");
+            fail("Added an object to a full queue.");
+        } catch (IllegalStateException expected) {
+        }
+
+        // the objects polled by the consumer make room for new objects
+        assertEquals("first", handoffQueue.poll());
+        assertFalse(handoffQueue.isFull());
+        handoffQueue.add("third");
+
+        // an object whose marker could not be written is removed from the tail
+        handoffQueue.removeLast();
+        assertFalse(handoffQueue.isFull());
+        assertEquals("second", handoffQueue.poll());
+    }
+
     /** Verifies that the isReleased() check of the view checks the parent subpartition. */
     @Test
     public void testIsReleasedChecksParent() {
@@ -61,6 +61,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Additional tests for {@link PipelinedSubpartition} which require an availability listener and a
@@ -217,6 +218,26 @@ public class PipelinedSubpartitionWithReadViewTest {
         assertNoNextBuffer(readView);
     }
 
+    @Test
+    public void testFlushIfConsumerIdle() throws Exception {
+        subpartition.add(createFilledFinishedBufferConsumer(1025)); // finished
+        subpartition.add(createFilledUnfinishedBufferConsumer(1024)); // not finished
+
+        // the finished buffer is not consumed yet -> the unfinished buffer is not flushed
+        subpartition.flushIfConsumerIdle();
+        assertEquals(1, subpartition.getBuffersInBacklogUnsafe());
+        assertNextBuffer(readView, 1025, false, 0, false, true);
+        assertFalse(readView.getAvailabilityAndBacklog(Integer.MAX_VALUE).isAvailable());
+
+        // the consumer is idle now -> flush
+        long oldNumNotifications = availablityListener.getNumNotifications();
+        subpartition.flushIfConsumerIdle();
+        assertEquals(oldNumNotifications + 1, availablityListener.getNumNotifications());
+        assertTrue(readView.getAvailabilityAndBacklog(Integer.MAX_VALUE).isAvailable());
+        assertNextBuffer(readView, 1024, false, 0, false, false);
+        assertNoNextBuffer(readView);
+    }
+
     @Test
     public void testMultipleEmptyBuffers() throws Exception {
         assertEquals(0, availablityListener.getNumNotifications());
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.io.network.partition;
+
+import org.apache.flink.metrics.SimpleCounter;
+import org.apache.flink.runtime.deployment.ResultPartitionDeploymentDescriptor;
+import org.apache.flink.runtime.io.compression.BlockCompressionFactory;
+import org.apache.flink.runtime.io.disk.BatchShuffleReadBufferPool;
+import org.apache.flink.runtime.io.disk.FileChannelManager;
+import org.apache.flink.runtime.io.disk.FileChannelManagerImpl;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferDecompressor;
+import org.apache.flink.runtime.io.network.buffer.NetworkBufferPool;
+import org.apache.flink.runtime.io.network.partition.consumer.BufferOrEvent;
+import org.apache.flink.runtime.io.network.partition.consumer.InputChannel;
+import org.apache.flink.runtime.io.network.partition.consumer.RemoteShuffleInputChannel;
+import org.apache.flink.runtime.io.network.partition.consumer.SingleInputGate;
+import org.apache.flink.runtime.io.network.partition.consumer.SingleInputGateBuilder;
+import org.apache.flink.runtime.jobgraph.IntermediateDataSetID;
+import org.apache.flink.runtime.shuffle.PartitionDescriptor;
+import org.apache.flink.runtime.shuffle.RemoteShuffleDescriptor;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorker;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient;
+import org.apache.flink.util.TestLogger;
+import org.apache.flink.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests that the data of a {@link RemoteShuffleResultPartition} arrives at the {@link
+ * RemoteShuffleInputChannel}s via the {@link ShuffleWorker}.
+ */
+public class RemoteShuffleWriteReadTest extends TestLogger {
+
+    /** The buffer size of the input gates built by the {@link SingleInputGateBuilder}. */
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final int NUM_SUBPARTITIONS = 3;
+
+    private static final int NUM_RECORDS = 1000;
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Rule public final Timeout timeout = new Timeout(60, TimeUnit.SECONDS);
+
+    private ShuffleWorker shuffleWorker;
+
+    private FileChannelManager fileChannelManager;
+
+    private NetworkBufferPool globalPool;
+
+    private BatchShuffleReadBufferPool readBufferPool;
+
+    @Before
+    public void setup() throws Exception {
+        shuffleWorker = new ShuffleWorker(temporaryFolder.newFolder(), 0);
+        shuffleWorker.start();
+        fileChannelManager =
+                new FileChannelManagerImpl(
+                        new String[] {temporaryFolder.newFolder().getPath()}, "testing");
+        globalPool = new NetworkBufferPool(100, BUFFER_SIZE);
+        readBufferPool = new BatchShuffleReadBufferPool(10 * BUFFER_SIZE, BUFFER_SIZE);
+    }
+
+    @After
+    public void shutdown() throws Exception {
+        shuffleWorker.close();
+        fileChannelManager.close();
+        globalPool.destroy();
+        readBufferPool.destroy();
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        testWriteAndRead(false);
+    }
+
+    @Test
+    public void testWriteAndReadCompressed() throws Exception {
+        testWriteAndRead(true);
+    }
+
+    private void testWriteAndRead(boolean compressionEnabled) throws Exception {
+        final ResultPartitionManager partitionManager = new ResultPartitionManager();
+        final ResultPartition partition = createPartition(partitionManager, compressionEnabled);
+        assertThat(partition, instanceOf(RemoteShuffleResultPartition.class));
+
+        final ByteArrayOutputStream[] dataWritten = new ByteArrayOutputStream[NUM_SUBPARTITIONS];
+        final ByteArrayOutputStream[] dataRead = new ByteArrayOutputStream[NUM_SUBPARTITIONS];
+        for (int i = 0; i < NUM_SUBPARTITIONS; i++) {
+            dataWritten[i] = new ByteArrayOutputStream();
+            dataRead[i] = new ByteArrayOutputStream();
+        }
+
+        final Random random = new Random();
+        for (int i = 0; i < NUM_RECORDS; i++) {
+            // records of equal bytes are compressible and still tell the records apart
+            final byte[] record = new byte[random.nextInt(2 * BUFFER_SIZE) + 1];
+            Arrays.fill(record, (byte) i);
+
+            if (i % 10 == 0) {
+                partition.broadcastRecord(ByteBuffer.wrap(record));
+                for (ByteArrayOutputStream data : dataWritten) {
+                    data.write(record);
+                }
+            } else {
+                final int subpartition = random.nextInt(NUM_SUBPARTITIONS);
+                partition.emitRecord(ByteBuffer.wrap(record), subpartition);
+                dataWritten[subpartition].write(record);
+            }
+        }
+        partition.finish();
+
+        // the producer does not keep the partition once it has been committed to the worker
+        assertThat(partition.isReleased(), is(true));
+        partition.close();
+
+        final SingleInputGate inputGate =
+                createInputGate(partition.getPartitionId(), compressionEnabled);
+        try {
+            Optional<BufferOrEvent> next;
+            while ((next = inputGate.getNext()).isPresent()) {
+                if (next.get().isBuffer()) {
+                    final Buffer buffer = next.get().getBuffer();
+                    final byte[] bytes = new byte[buffer.readableBytes()];
+                    buffer.getNioBufferReadable().get(bytes);
+                    buffer.recycleBuffer();
+                    dataRead[next.get().getChannelInfo().getInputChannelIdx()].write(bytes);
+                }
+            }
+            assertThat(inputGate.isFinished(), is(true));
+        } finally {
+            inputGate.close();
+        }
+
+        for (int i = 0; i < NUM_SUBPARTITIONS; i++) {
+            assertArrayEquals(dataWritten[i].toByteArray(), dataRead[i].toByteArray());
+        }
+    }
+
+    private ResultPartition createPartition(
+            ResultPartitionManager partitionManager, boolean compressionEnabled)
+            throws Exception {
+        final ResultPartitionFactory factory =
+                new ResultPartitionFactory(
+                        partitionManager,
+                        fileChannelManager,
+                        globalPool,
+                        readBufferPool,
+                        Executors.newDirectExecutorService(),
+                        BoundedBlockingSubpartitionType.AUTO,
+                        1,
+                        1,
+                        BUFFER_SIZE,
+                        compressionEnabled,
+                        BlockCompressionFactory.createBlockCompressionFactory("LZ4"),
+                        Integer.MAX_VALUE,
+                        10,
+                        Integer.MAX_VALUE,
+                        false);
+
+        final ResultPartitionID partitionId = new ResultPartitionID();
+        final ResultPartitionDeploymentDescriptor descriptor =
+                new ResultPartitionDeploymentDescriptor(
+                        new PartitionDescriptor(
+                                new IntermediateDataSetID(),
+                                1,
+                                partitionId.getPartitionId(),
+                                ResultPartitionType.BLOCKING,
+                                NUM_SUBPARTITIONS,
+                                0),
+                        new RemoteShuffleDescriptor(
+                                partitionId, "localhost", shuffleWorker.getPort()),
+                        NUM_SUBPARTITIONS,
+                        true);
+
+        final ResultPartition partition = factory.create("producer", 0, descriptor);
+        partitionManager.registerResultPartition(partition);
+        partition.setup();
+        return partition;
+    }
+
+    private SingleInputGate createInputGate(
+            ResultPartitionID partitionId, boolean compressionEnabled) throws Exception {
+        final SingleInputGate inputGate =
+                new SingleInputGateBuilder()
+                        .setResultPartitionType(ResultPartitionType.BLOCKING)
+                        .setNumberOfChannels(NUM_SUBPARTITIONS)
+                        .setBufferDecompressor(
+                                compressionEnabled
+                                        ? new BufferDecompressor(BUFFER_SIZE, "LZ4")
+                                        : null)
+                        .build();
+
+        final InputChannel[] inputChannels = new InputChannel[NUM_SUBPARTITIONS];
+        for (int i = 0; i < NUM_SUBPARTITIONS; i++) {
+            inputChannels[i] =
+                    new RemoteShuffleInputChannel(
+                            inputGate,
+                            i,
+                            partitionId,
+                            i,
+                            new ShuffleWorkerClient("localhost", shuffleWorker.getPort()),
+                            new SimpleCounter(),
+                            new SimpleCounter());
+        }
+        inputGate.setInputChannels(inputChannels);
+        inputGate.setup();
+        inputGate.requestPartitions();
+        return inputGate;
+    }
+}
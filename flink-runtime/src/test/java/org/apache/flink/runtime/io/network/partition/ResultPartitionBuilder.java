@@ -18,6 +18,7 @@
 
 package org.apache.flink.runtime.io.network.partition;
 
+import org.apache.flink.runtime.io.compression.BlockCompressionFactory;
 import org.apache.flink.runtime.io.disk.BatchShuffleReadBufferPool;
 import org.apache.flink.runtime.io.disk.FileChannelManager;
 import org.apache.flink.runtime.io.disk.NoOpFileChannelManager;
@@ -216,7 +217,7 @@ public class ResultPartitionBuilder {
                         floatingNetworkBuffersPerGate,
                         networkBufferSize,
                         blockingShuffleCompressionEnabled,
-                        compressionCodec,
+                        BlockCompressionFactory.createBlockCompressionFactory(compressionCodec),
                         maxBuffersPerChannel,
                         sortShuffleMinBuffers,
                         sortShuffleMinParallelism,
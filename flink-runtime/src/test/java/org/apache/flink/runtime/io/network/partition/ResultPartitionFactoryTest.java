@@ -18,6 +18,7 @@
 package org.apache.flink.runtime.io.network.partition;
 
 import org.apache.flink.runtime.deployment.ResultPartitionDeploymentDescriptor;
+import org.apache.flink.runtime.io.compression.BlockCompressionFactory;
 import org.apache.flink.runtime.io.disk.BatchShuffleReadBufferPool;
 import org.apache.flink.runtime.io.disk.FileChannelManager;
 import org.apache.flink.runtime.io.disk.FileChannelManagerImpl;
@@ -121,7 +122,7 @@ public class ResultPartitionFactoryTest extends TestLogger {
                         1,
                         SEGMENT_SIZE,
                         false,
-                        "LZ4",
+                        BlockCompressionFactory.createBlockCompressionFactory("LZ4"),
                         Integer.MAX_VALUE,
                         10,
                         sortShuffleMinParallelism,
@@ -22,6 +22,7 @@ import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.core.memory.MemorySegmentFactory;
 import org.apache.flink.runtime.io.disk.BatchShuffleReadBufferPool;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.FileRegionBuffer;
 import org.apache.flink.util.ExceptionUtils;
 import org.apache.flink.util.TestLogger;
 
@@ -48,6 +49,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
+import static org.apache.flink.util.Preconditions.checkNotNull;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -141,6 +143,75 @@ public class SortMergeResultPartitionReadSchedulerTest extends TestLogger {
         }
     }
 
+    @Test
+    public void testReadAllSubpartitions() throws Exception {
+        SortMergeSubpartitionReader[] subpartitionReaders =
+                new SortMergeSubpartitionReader[numSubpartitions];
+        for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+            subpartitionReaders[subpartition] =
+                    readScheduler.createSubpartitionReader(
+                            new NoOpBufferAvailablityListener(), subpartition, partitionedFile);
+        }
+
+        // the readers only read ahead a few buffers, so all of them must be served while the
+        // buffers are consumed
+        int[] numBuffersRead = new int[numSubpartitions];
+        int numReadersFinished = 0;
+        while (numReadersFinished < numSubpartitions) {
+            for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+                ResultSubpartition.BufferAndBacklog bufferAndBacklog =
+                        subpartitionReaders[subpartition].getNextBuffer();
+                if (bufferAndBacklog != null) {
+                    Buffer buffer = bufferAndBacklog.buffer();
+                    assertEquals(ByteBuffer.wrap(dataBytes), buffer.getNioBufferReadable());
+                    buffer.recycleBuffer();
+                    if (++numBuffersRead[subpartition] == numBuffersPerSubpartition) {
+                        ++numReadersFinished;
+                    }
+                }
+            }
+        }
+
+        waitUntilReadFinish();
+        assertAllResourcesReleased();
+    }
+
+    @Test
+    public void testDirectTransferReaders() throws Exception {
+        bufferPool.initialize();
+        SortMergeSubpartitionReader[] subpartitionReaders =
+                new SortMergeSubpartitionReader[numSubpartitions];
+        for (int subpartition = 0; subpartition < numSubpartitions; ++subpartition) {
+            subpartitionReaders[subpartition] =
+                    readScheduler.createSubpartitionReader(
+                            new NoOpBufferAvailablityListener(),
+                            subpartition,
+                            partitionedFile,
+                            true);
+        }
+
+        for (SortMergeSubpartitionReader subpartitionReader : subpartitionReaders) {
+            for (int i = 0; i < numBuffersPerSubpartition; ++i) {
+                Buffer buffer = checkNotNull(subpartitionReader.getNextBuffer()).buffer();
+                assertTrue(buffer instanceof FileRegionBuffer);
+                assertEquals(bufferSize, buffer.getSize());
+            }
+            assertNull(subpartitionReader.getNextBuffer());
+        }
+
+        // the file regions read from the shared data file channel until the readers are released
+        waitUntilReadFinish();
+        assertEquals(numSubpartitions, readScheduler.getNumPendingReaders());
+        assertTrue(readScheduler.getDataFileChannel().isOpen());
+        assertEquals(bufferPool.getNumTotalBuffers(), bufferPool.getAvailableBuffers());
+
+        for (SortMergeSubpartitionReader subpartitionReader : subpartitionReaders) {
+            subpartitionReader.releaseAllResources();
+        }
+        waitUntilReadFinish();
+        assertAllResourcesReleased();
+    }
+
     @Test
     public void testOnSubpartitionReaderError() throws Exception {
         SortMergeSubpartitionReader subpartitionReader =
@@ -231,9 +302,11 @@ public class SortMergeResultPartitionReadSchedulerTest extends TestLogger {
                             segments.add(MemorySegmentFactory.allocateUnpooledSegment(bufferSize));
                             try {
                                 assertTrue(fileReader.hasRemaining());
-                                subpartitionReader.readBuffers(segments, readScheduler);
+                                subpartitionReader.readBuffers(
+                                        segments, readScheduler, Integer.MAX_VALUE);
                                 subpartitionReader.releaseAllResources();
-                                subpartitionReader.readBuffers(segments, readScheduler);
+                                subpartitionReader.readBuffers(
+                                        segments, readScheduler, Integer.MAX_VALUE);
                             } catch (Exception ignore) {
                             }
                         });
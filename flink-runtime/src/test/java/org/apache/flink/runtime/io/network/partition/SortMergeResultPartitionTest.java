@@ -477,7 +477,8 @@ public class SortMergeResultPartitionTest extends TestLogger {
                         new ResultPartitionManager(),
                         fileChannelManager.createChannel().getPath(),
                         null,
-                        () -> bufferPool);
+                        () -> bufferPool,
+                        false);
         sortMergedResultPartition.setup();
         return sortMergedResultPartition;
     }
@@ -21,6 +21,7 @@ package org.apache.flink.runtime.io.network.partition;
 import org.apache.flink.core.memory.MemorySegment;
 import org.apache.flink.core.memory.MemorySegmentFactory;
 import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.FileRegionBuffer;
 import org.apache.flink.runtime.io.network.buffer.FreeingBufferRecycler;
 import org.apache.flink.util.IOUtils;
 import org.apache.flink.util.TestLogger;
@@ -101,14 +102,14 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
         assertEquals(0, subpartitionReader.unsynchronizedGetNumberOfQueuedBuffers());
 
         Queue<MemorySegment> segments = createsMemorySegments(2);
-        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE);
+        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, Integer.MAX_VALUE);
 
         assertEquals(1, listener.numNotifications);
         assertEquals(2, subpartitionReader.unsynchronizedGetNumberOfQueuedBuffers());
         assertEquals(0, segments.size());
 
         segments = createsMemorySegments(2);
-        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE);
+        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, Integer.MAX_VALUE);
 
         assertEquals(1, listener.numNotifications);
         assertEquals(4, subpartitionReader.unsynchronizedGetNumberOfQueuedBuffers());
@@ -119,7 +120,7 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
         }
 
         segments = createsMemorySegments(numBuffersPerSubpartition);
-        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE);
+        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, Integer.MAX_VALUE);
 
         assertEquals(2, listener.numNotifications);
         assertEquals(
@@ -128,6 +129,28 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
         assertEquals(4, segments.size());
     }
 
+    @Test
+    public void testReadBuffersAheadIsBounded() throws Exception {
+        SortMergeSubpartitionReader subpartitionReader =
+                createSortMergeSubpartitionReader(new CountingAvailabilityListener());
+
+        Queue<MemorySegment> segments = createsMemorySegments(numBuffersPerSubpartition);
+        assertEquals(
+                3, subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, 3));
+        assertEquals(
+                0, subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, 3));
+        assertEquals(3, subpartitionReader.unsynchronizedGetNumberOfQueuedBuffers());
+        assertEquals(numBuffersPerSubpartition - 3, segments.size());
+
+        checkNotNull(subpartitionReader.getNextBuffer()).buffer().recycleBuffer();
+        assertEquals(
+                1, subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, 3));
+        assertEquals(3, subpartitionReader.unsynchronizedGetNumberOfQueuedBuffers());
+        assertTrue(subpartitionReader.hasRemaining());
+
+        subpartitionReader.releaseAllResources();
+    }
+
     @Test
     public void testPollBuffers() throws Exception {
         SortMergeSubpartitionReader subpartitionReader =
@@ -137,7 +160,7 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
         assertFalse(subpartitionReader.getAvailabilityAndBacklog(Integer.MAX_VALUE).isAvailable());
 
         Queue<MemorySegment> segments = createsMemorySegments(numBuffersPerSubpartition);
-        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE);
+        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, Integer.MAX_VALUE);
 
         for (int i = numBuffersPerSubpartition - 1; i >= 0; --i) {
             assertTrue(subpartitionReader.getAvailabilityAndBacklog(i).isAvailable());
@@ -164,7 +187,7 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
             SortMergeSubpartitionReader subpartitionReader =
                     createSortMergeSubpartitionReader(listener);
 
-            subpartitionReader.readBuffers(segments, segments::add);
+            subpartitionReader.readBuffers(segments, segments::add, Integer.MAX_VALUE);
             assertEquals(1, listener.numNotifications);
             assertEquals(5, subpartitionReader.unsynchronizedGetNumberOfQueuedBuffers());
 
@@ -191,7 +214,7 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
             SortMergeSubpartitionReader subpartitionReader =
                     createSortMergeSubpartitionReader(listener);
 
-            subpartitionReader.readBuffers(segments, segments::add);
+            subpartitionReader.readBuffers(segments, segments::add, Integer.MAX_VALUE);
             assertEquals(1, listener.numNotifications);
             assertEquals(5, subpartitionReader.unsynchronizedGetNumberOfQueuedBuffers());
 
@@ -217,9 +240,9 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
             SortMergeSubpartitionReader subpartitionReader =
                     createSortMergeSubpartitionReader(new CountingAvailabilityListener());
 
-            subpartitionReader.readBuffers(segments, segments::add);
+            subpartitionReader.readBuffers(segments, segments::add, Integer.MAX_VALUE);
             subpartitionReader.releaseAllResources();
-            subpartitionReader.readBuffers(segments, segments::add);
+            subpartitionReader.readBuffers(segments, segments::add, Integer.MAX_VALUE);
         } finally {
             assertEquals(numSegments, segments.size());
         }
@@ -231,13 +254,53 @@ public class SortMergeSubpartitionReaderTest extends TestLogger {
                 createSortMergeSubpartitionReader(new CountingAvailabilityListener());
 
         Queue<MemorySegment> segments = createsMemorySegments(numBuffersPerSubpartition);
-        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE);
+        subpartitionReader.readBuffers(segments, FreeingBufferRecycler.INSTANCE, Integer.MAX_VALUE);
 
         assertTrue(subpartitionReader.getAvailabilityAndBacklog(Integer.MAX_VALUE).isAvailable());
         subpartitionReader.releaseAllResources();
         assertNull(subpartitionReader.getNextBuffer());
     }
 
+    @Test
+    public void testDirectTransferReadFileRegions() throws Exception {
+        PartitionedFileReader fileReader =
+                new PartitionedFileReader(partitionedFile, 0, dataFileChannel, indexFileChannel);
+        SortMergeSubpartitionReader subpartitionReader =
+                new SortMergeSubpartitionDirectTransferReader(
+                        new CountingAvailabilityListener(), fileReader);
+
+        assertTrue(subpartitionReader.isDirectTransfer());
+        assertEquals(
+                0,
+                subpartitionReader.readBuffers(
+                        createsMemorySegments(2), FreeingBufferRecycler.INSTANCE, 2));
+
+        // the last buffer of each subpartition is an event which is not counted as backlog
+        ResultSubpartitionView.AvailabilityWithBacklog availabilityAndBacklog =
+                subpartitionReader.getAvailabilityAndBacklog(0);
+        assertFalse(availabilityAndBacklog.isAvailable());
+        assertEquals(numBuffersPerSubpartition - 1, availabilityAndBacklog.getBacklog());
+
+        MemorySegment segment = MemorySegmentFactory.allocateUnpooledSegment(bufferSize);
+        for (int i = 0; i < numBuffersPerSubpartition; ++i) {
+            assertTrue(subpartitionReader.getAvailabilityAndBacklog(1).isAvailable());
+
+            ResultSubpartition.BufferAndBacklog bufferAndBacklog =
+                    checkNotNull(subpartitionReader.getNextBuffer());
+            assertTrue(bufferAndBacklog.buffer() instanceof FileRegionBuffer);
+            assertEquals(i < numBuffersPerSubpartition - 1, bufferAndBacklog.buffer().isBuffer());
+            assertEquals(
+                    Math.max(0, numBuffersPerSubpartition - 2 - i),
+                    bufferAndBacklog.buffersInBacklog());
+
+            Buffer buffer = ((FileRegionBuffer) bufferAndBacklog.buffer()).readInto(segment);
+            assertEquals(ByteBuffer.wrap(dataBytes), buffer.getNioBufferReadable());
+        }
+
+        assertFalse(subpartitionReader.getAvailabilityAndBacklog(1).isAvailable());
+        assertNull(subpartitionReader.getNextBuffer());
+    }
+
     private SortMergeSubpartitionReader createSortMergeSubpartitionReader(
             BufferAvailabilityListener listener) throws Exception {
         PartitionedFileReader fileReader =
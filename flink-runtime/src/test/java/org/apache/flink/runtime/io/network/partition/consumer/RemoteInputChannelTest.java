@@ -957,6 +957,91 @@ public class RemoteInputChannelTest {
         }
     }
 
+    /**
+     * Tests that a channel which took all floating buffers gives them up to the other channels of
+     * the gate if the floating buffers are shared fairly.
+     */
+    @Test
+    public void testFloatingBufferFairShare() throws Exception {
+        // Setup
+        final int numExclusiveBuffers = 2;
+        final int numFloatingBuffers = 8;
+        final NetworkBufferPool networkBufferPool = new NetworkBufferPool(12, 32);
+
+        final SingleInputGate inputGate =
+                new SingleInputGateBuilder()
+                        .setNumberOfChannels(2)
+                        .setSegmentProvider(networkBufferPool)
+                        .setFloatingBufferFairShare(new FloatingBufferFairShare())
+                        .build();
+        final RemoteInputChannel[] inputChannels = new RemoteInputChannel[2];
+        inputChannels[0] = createRemoteInputChannel(inputGate);
+        inputChannels[1] = createRemoteInputChannel(inputGate);
+        inputGate.setInputChannels(inputChannels);
+        Throwable thrown = null;
+        try {
+            inputGate.setBufferPool(
+                    networkBufferPool.createBufferPool(numFloatingBuffers, numFloatingBuffers));
+            inputGate.setupChannels();
+            inputGate.requestPartitions();
+            for (RemoteInputChannel inputChannel : inputChannels) {
+                inputChannel.requestSubpartition();
+            }
+
+            // The first channel takes all floating buffers, because the other one has not
+            // announced its backlog yet
+            inputChannels[0].onSenderBacklog(30);
+            inputChannels[1].onSenderBacklog(30);
+            assertEquals(
+                    numExclusiveBuffers + numFloatingBuffers,
+                    inputChannels[0].getNumberOfAvailableBuffers());
+            assertEquals(numExclusiveBuffers, inputChannels[1].getNumberOfAvailableBuffers());
+            assertEquals(30, inputChannels[1].unsynchronizedGetSenderBacklog());
+
+            // The floating buffers consumed by the first channel go to the second channel until
+            // both hold their share
+            for (int i = 0; i < numFloatingBuffers / 2; i++) {
+                Buffer buffer = inputChannels[0].requestBuffer();
+                assertNotNull(buffer);
+                buffer.recycleBuffer();
+            }
+
+            assertEquals(
+                    numFloatingBuffers / 2,
+                    inputChannels[0].unsynchronizedGetFloatingBuffersAvailable());
+            assertEquals(
+                    numFloatingBuffers / 2,
+                    inputChannels[1].unsynchronizedGetFloatingBuffersAvailable());
+            assertEquals(
+                    numExclusiveBuffers + numFloatingBuffers / 2,
+                    inputChannels[1].unsynchronizedGetNumberOfAvailableBuffers());
+
+            // The larger backlog of the second channel reduces the share of the first channel to
+            // 2 buffers, so the first channel stops requesting floating buffers
+            inputChannels[1].onSenderBacklog(94);
+            inputChannels[0].onSenderBacklog(30);
+            assertEquals(
+                    numFloatingBuffers / 2,
+                    inputChannels[0].unsynchronizedGetFloatingBuffersAvailable());
+            assertFalse(inputChannels[0].isWaitingForFloatingBuffers());
+            assertTrue(inputChannels[1].isWaitingForFloatingBuffers());
+
+            // The floating buffers released by the first channel go to the second channel
+            for (int i = 0; i < 2; i++) {
+                Buffer buffer = inputChannels[0].requestBuffer();
+                assertNotNull(buffer);
+                buffer.recycleBuffer();
+            }
+
+            assertEquals(2, inputChannels[0].unsynchronizedGetFloatingBuffersAvailable());
+            assertEquals(6, inputChannels[1].unsynchronizedGetFloatingBuffersAvailable());
+        } catch (Throwable t) {
+            thrown = t;
+        } finally {
+            cleanup(networkBufferPool, null, null, thrown, inputChannels);
+        }
+    }
+
     /**
      * Tests that failures are propagated correctly if {@link
      * RemoteInputChannel#notifyBufferAvailable(int)} throws an exception. Also tests that a second
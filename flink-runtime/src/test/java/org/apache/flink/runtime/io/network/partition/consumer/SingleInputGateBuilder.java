@@ -79,6 +79,7 @@ public class SingleInputGateBuilder {
             BufferDebloatConfiguration.fromConfiguration(new Configuration());
     private Function<BufferDebloatConfiguration, ThroughputCalculator> createThroughputCalculator =
             config -> new ThroughputCalculator(SystemClock.getInstance());
+    @Nullable private FloatingBufferFairShare floatingBufferFairShare = null;
 
     public SingleInputGateBuilder setPartitionProducerStateProvider(
             PartitionProducerStateProvider partitionProducerStateProvider) {
@@ -156,6 +157,12 @@ public class SingleInputGateBuilder {
         return this;
     }
 
+    public SingleInputGateBuilder setFloatingBufferFairShare(
+            FloatingBufferFairShare floatingBufferFairShare) {
+        this.floatingBufferFairShare = floatingBufferFairShare;
+        return this;
+    }
+
     public SingleInputGate build() {
         SingleInputGate gate =
                 new SingleInputGate(
@@ -171,7 +178,8 @@ public class SingleInputGateBuilder {
                         segmentProvider,
                         bufferSize,
                         createThroughputCalculator.apply(bufferDebloatConfiguration),
-                        maybeCreateBufferDebloater(gateIndex));
+                        maybeCreateBufferDebloater(gateIndex),
+                        floatingBufferFairShare);
         if (channelFactory != null) {
             gate.setInputChannels(
                     IntStream.range(0, numberOfChannels)
@@ -195,7 +203,10 @@ public class SingleInputGateBuilder {
                     bufferDebloatConfiguration.getMaxBufferSize(),
                     bufferDebloatConfiguration.getMinBufferSize(),
                     bufferDebloatConfiguration.getBufferDebloatThresholdPercentages(),
-                    bufferDebloatConfiguration.getNumberOfSamples());
+                    bufferDebloatConfiguration.getNumberOfSamples(),
+                    bufferDebloatConfiguration.isPerChannel(),
+                    bufferDebloatConfiguration.getController(),
+                    bufferDebloatConfiguration.isRedistributeFloatingBuffers());
         }
 
         return null;
@@ -50,6 +50,7 @@ import org.apache.flink.runtime.query.KvStateLocation;
 import org.apache.flink.runtime.registration.RegistrationResponse;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.runtime.scheduler.ExecutionGraphInfo;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
 import org.apache.flink.runtime.slots.ResourceRequirement;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorToJobManagerHeartbeatPayload;
@@ -64,6 +65,7 @@ import javax.annotation.Nullable;
 
 import java.net.InetSocketAddress;
 import java.util.Collection;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -186,6 +188,10 @@ public class TestingJobMasterGateway implements JobMasterGateway {
                     CompletableFuture<CoordinationResponse>>
             deliverCoordinationRequestFunction;
 
+    @Nonnull
+    private final Function<Map<JobVertexID, Integer>, CompletableFuture<RescaleCostEstimate>>
+            estimateRescaleCostFunction;
+
     private final Consumer<Collection<ResourceRequirement>> notifyNotEnoughResourcesConsumer;
 
     public TestingJobMasterGateway(
@@ -290,6 +296,9 @@ public class TestingJobMasterGateway implements JobMasterGateway {
                                     SerializedValue<CoordinationRequest>,
                                     CompletableFuture<CoordinationResponse>>
                             deliverCoordinationRequestFunction,
+            @Nonnull
+                    Function<Map<JobVertexID, Integer>, CompletableFuture<RescaleCostEstimate>>
+                            estimateRescaleCostFunction,
             @Nonnull Consumer<Collection<ResourceRequirement>> notifyNotEnoughResourcesConsumer) {
         this.address = address;
         this.hostname = hostname;
@@ -320,6 +329,7 @@ public class TestingJobMasterGateway implements JobMasterGateway {
         this.updateAggregateFunction = updateAggregateFunction;
         this.operatorEventSender = operatorEventSender;
         this.deliverCoordinationRequestFunction = deliverCoordinationRequestFunction;
+        this.estimateRescaleCostFunction = estimateRescaleCostFunction;
         this.notifyNotEnoughResourcesConsumer = notifyNotEnoughResourcesConsumer;
     }
 
@@ -539,6 +549,12 @@ public class TestingJobMasterGateway implements JobMasterGateway {
         return deliverCoordinationRequestFunction.apply(operatorId, serializedRequest);
     }
 
+    @Override
+    public CompletableFuture<RescaleCostEstimate> estimateRescaleCost(
+            Map<JobVertexID, Integer> proposedParallelism, Time timeout) {
+        return estimateRescaleCostFunction.apply(proposedParallelism);
+    }
+
     @Override
     public CompletableFuture<?> stopTrackingAndReleasePartitions(
             Collection<ResultPartitionID> partitionIds) {
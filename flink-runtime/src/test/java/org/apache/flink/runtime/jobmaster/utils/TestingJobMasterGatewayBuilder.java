@@ -49,6 +49,7 @@ import org.apache.flink.runtime.query.UnknownKvStateLocation;
 import org.apache.flink.runtime.registration.RegistrationResponse;
 import org.apache.flink.runtime.resourcemanager.ResourceManagerId;
 import org.apache.flink.runtime.scheduler.ExecutionGraphInfo;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
 import org.apache.flink.runtime.slots.ResourceRequirement;
 import org.apache.flink.runtime.state.KeyGroupRange;
 import org.apache.flink.runtime.taskexecutor.TaskExecutorToJobManagerHeartbeatPayload;
@@ -62,6 +63,7 @@ import org.apache.flink.util.function.TriFunction;
 import java.net.InetSocketAddress;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
@@ -172,6 +174,10 @@ public class TestingJobMasterGatewayBuilder {
             deliverCoordinationRequestFunction =
                     (a, b) ->
                             FutureUtils.completedExceptionally(new UnsupportedOperationException());
+    private Function<Map<JobVertexID, Integer>, CompletableFuture<RescaleCostEstimate>>
+            estimateRescaleCostFunction =
+                    ignored ->
+                            FutureUtils.completedExceptionally(new UnsupportedOperationException());
     private Consumer<Collection<ResourceRequirement>> notifyNotEnoughResourcesConsumer =
             ignored -> {};
 
@@ -392,6 +398,13 @@ public class TestingJobMasterGatewayBuilder {
         return this;
     }
 
+    public TestingJobMasterGatewayBuilder setEstimateRescaleCostFunction(
+            Function<Map<JobVertexID, Integer>, CompletableFuture<RescaleCostEstimate>>
+                    estimateRescaleCostFunction) {
+        this.estimateRescaleCostFunction = estimateRescaleCostFunction;
+        return this;
+    }
+
     public TestingJobMasterGateway build() {
         return new TestingJobMasterGateway(
                 address,
@@ -423,6 +436,7 @@ public class TestingJobMasterGatewayBuilder {
                 updateAggregateFunction,
                 operatorEventSender,
                 deliverCoordinationRequestFunction,
+                estimateRescaleCostFunction,
                 notifyNotEnoughResourcesConsumer);
     }
 }
@@ -19,6 +19,7 @@
 package org.apache.flink.runtime.memory;
 
 import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.testutils.CheckedThread;
 import org.apache.flink.runtime.jobgraph.tasks.AbstractInvokable;
 import org.apache.flink.runtime.operators.testutils.DummyInvokable;
 import org.apache.flink.util.TestLogger;
@@ -333,6 +334,71 @@ public class MemoryManagerTest extends TestLogger {
         memoryManager.releaseAllMemory(owner2);
     }
 
+    @Test
+    public void testResize() throws MemoryAllocationException, MemoryReservationException {
+        Object owner = new Object();
+
+        memoryManager.resize(MEMORY_SIZE * 2L);
+        assertEquals(MEMORY_SIZE * 2L, memoryManager.getMemorySize());
+        assertEquals(MEMORY_SIZE * 2L, memoryManager.availableMemory());
+        memoryManager.allocatePages(owner, NUM_PAGES * 2);
+        testCannotAllocateAnymore(new Object(), 1);
+        memoryManager.releaseAll(owner);
+
+        memoryManager.resize(MEMORY_SIZE / 2);
+        assertEquals(MEMORY_SIZE / 2, memoryManager.getMemorySize());
+        assertEquals(MEMORY_SIZE / 2, memoryManager.availableMemory());
+        assertEquals(NUM_PAGES / 4, memoryManager.computeNumberOfPages(0.5));
+        testCannotReserveAnymore(MEMORY_SIZE / 2 + 1L);
+    }
+
+    @Test
+    public void testCannotShrinkBelowUsedMemory()
+            throws MemoryAllocationException, MemoryReservationException {
+        Object owner = new Object();
+        memoryManager.allocatePages(owner, NUM_PAGES / 2 + 1);
+
+        try {
+            memoryManager.resize(MEMORY_SIZE / 2);
+            fail("Expected MemoryReservationException.");
+        } catch (MemoryReservationException e) {
+            // expected
+        }
+        assertEquals(MEMORY_SIZE, memoryManager.getMemorySize());
+
+        memoryManager.releaseAll(owner);
+        memoryManager.resize(MEMORY_SIZE / 2);
+        assertEquals(MEMORY_SIZE / 2, memoryManager.getMemorySize());
+    }
+
+    @Test
+    public void testResizeWithConcurrentRelease() throws Exception {
+        final int numReservations = 10_000;
+        final long reservationSize = MEMORY_SIZE / 4;
+        final CheckedThread releasingThread =
+                new CheckedThread() {
+                    @Override
+                    public void go() throws Exception {
+                        Object owner = new Object();
+                        for (int i = 0; i < numReservations; i++) {
+                            memoryManager.reserveMemory(owner, reservationSize);
+                            memoryManager.releaseMemory(owner, reservationSize);
+                        }
+                    }
+                };
+        releasingThread.start();
+
+        // the releases must never see a total size which excludes the memory in use
+        while (releasingThread.isAlive()) {
+            memoryManager.resize(MEMORY_SIZE * 2L);
+            memoryManager.resize(MEMORY_SIZE);
+        }
+        releasingThread.sync();
+
+        assertEquals(MEMORY_SIZE, memoryManager.getMemorySize());
+        assertEquals(MEMORY_SIZE, memoryManager.availableMemory());
+    }
+
     @Test
     public void testComputeMemorySize() {
         double fraction = 0.6;
@@ -45,6 +45,7 @@ public class DeclarativeSlotManagerBuilder {
     private SlotManagerMetricGroup slotManagerMetricGroup;
     private int maxSlotNum;
     private int redundantTaskManagerNum;
+    private boolean releaseUnneededPendingWorkers;
     private ResourceTracker resourceTracker;
     private SlotTracker slotTracker;
 
@@ -62,6 +63,8 @@ public class DeclarativeSlotManagerBuilder {
         this.maxSlotNum = ResourceManagerOptions.MAX_SLOT_NUM.defaultValue();
         this.redundantTaskManagerNum =
                 ResourceManagerOptions.REDUNDANT_TASK_MANAGER_NUM.defaultValue();
+        this.releaseUnneededPendingWorkers =
+                ResourceManagerOptions.RELEASE_UNNEEDED_PENDING_WORKERS.defaultValue();
         this.resourceTracker = new DefaultResourceTracker();
         this.slotTracker = new DefaultSlotTracker();
     }
@@ -130,6 +133,12 @@ public class DeclarativeSlotManagerBuilder {
         return this;
     }
 
+    public DeclarativeSlotManagerBuilder setReleaseUnneededPendingWorkers(
+            boolean releaseUnneededPendingWorkers) {
+        this.releaseUnneededPendingWorkers = releaseUnneededPendingWorkers;
+        return this;
+    }
+
     public DeclarativeSlotManagerBuilder setResourceTracker(ResourceTracker resourceTracker) {
         this.resourceTracker = resourceTracker;
         return this;
@@ -153,7 +162,8 @@ public class DeclarativeSlotManagerBuilder {
                         maxSlotNum,
                         new CPUResource(Double.MAX_VALUE),
                         MemorySize.MAX_VALUE,
-                        redundantTaskManagerNum);
+                        redundantTaskManagerNum,
+                        releaseUnneededPendingWorkers);
 
         return new DeclarativeSlotManager(
                 scheduledExecutor,
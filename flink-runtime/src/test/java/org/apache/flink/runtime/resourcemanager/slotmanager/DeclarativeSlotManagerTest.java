@@ -1069,6 +1069,121 @@ public class DeclarativeSlotManagerTest extends TestLogger {
         }
     }
 
+    /**
+     * Tests that the slots of the redundant task managers are replenished as soon as a job takes
+     * them, and that pending redundant task managers are not requested twice.
+     */
+    @Test
+    public void testRedundantTaskManagersAreReplenishedWhenJobTakesTheirSlots() throws Exception {
+        final AtomicInteger resourceRequests = new AtomicInteger(0);
+        final TestingResourceActions testingResourceActions =
+                new TestingResourceActionsBuilder()
+                        .setAllocateResourceFunction(
+                                ignored -> {
+                                    resourceRequests.incrementAndGet();
+                                    return true;
+                                })
+                        .build();
+
+        try (final DeclarativeSlotManager slotManager =
+                createDeclarativeSlotManagerBuilder()
+                        .setScheduledExecutor(new ManuallyTriggeredScheduledExecutor())
+                        .setNumSlotsPerWorker(1)
+                        .setRedundantTaskManagerNum(1)
+                        .buildAndStartWithDirectExec(
+                                ResourceManagerId.generate(), testingResourceActions)) {
+
+            final TaskExecutorConnection taskExecutorConnection1 = createTaskExecutorConnection();
+            slotManager.registerTaskManager(
+                    taskExecutorConnection1,
+                    createSlotReport(taskExecutorConnection1.getResourceID(), 1),
+                    ResourceProfile.ANY,
+                    ResourceProfile.ANY);
+
+            // the free slot is the standby slot of the redundant task manager
+            assertThat(resourceRequests.get(), is(0));
+
+            slotManager.processResourceRequirements(createResourceRequirementsForSingleSlot());
+            assertThat(resourceRequests.get(), is(1));
+
+            final TaskExecutorConnection taskExecutorConnection2 = createTaskExecutorConnection();
+            slotManager.registerTaskManager(
+                    taskExecutorConnection2,
+                    createSlotReport(taskExecutorConnection2.getResourceID(), 1),
+                    ResourceProfile.ANY,
+                    ResourceProfile.ANY);
+
+            assertThat(resourceRequests.get(), is(1));
+        }
+    }
+
+    /**
+     * Tests that pending workers which are no longer needed are released if the resource
+     * requirements decrease, e.g. because a job has been scaled down.
+     */
+    @Test
+    public void testUnneededPendingWorkersAreReleased() throws Exception {
+        final AtomicInteger releaseRequests = new AtomicInteger(0);
+        final TestingResourceActions testingResourceActions =
+                new TestingResourceActionsBuilder()
+                        .setReleaseUnneededPendingResourcesRunnable(
+                                releaseRequests::incrementAndGet)
+                        .build();
+
+        try (final DeclarativeSlotManager slotManager =
+                createDeclarativeSlotManagerBuilder()
+                        .setNumSlotsPerWorker(2)
+                        .setRedundantTaskManagerNum(0)
+                        .setReleaseUnneededPendingWorkers(true)
+                        .buildAndStartWithDirectExec(
+                                ResourceManagerId.generate(), testingResourceActions)) {
+
+            final JobID jobId = new JobID();
+
+            slotManager.processResourceRequirements(createResourceRequirements(jobId, 4));
+            assertThat(
+                    slotManager.getRequiredResources(),
+                    equalTo(Collections.singletonMap(WORKER_RESOURCE_SPEC, 2)));
+
+            // one of the two pending workers is still needed
+            slotManager.processResourceRequirements(createResourceRequirements(jobId, 1));
+            assertThat(releaseRequests.get(), is(1));
+            assertThat(
+                    slotManager.getRequiredResources(),
+                    equalTo(Collections.singletonMap(WORKER_RESOURCE_SPEC, 1)));
+
+            slotManager.processResourceRequirements(
+                    ResourceRequirements.create(jobId, "foobar", Collections.emptyList()));
+            assertThat(releaseRequests.get(), is(2));
+            assertThat(slotManager.getRequiredResources().entrySet(), empty());
+        }
+    }
+
+    /** Tests that pending workers are kept by default if the resource requirements decrease. */
+    @Test
+    public void testUnneededPendingWorkersAreKeptByDefault() throws Exception {
+        final AtomicInteger releaseRequests = new AtomicInteger(0);
+        final TestingResourceActions testingResourceActions =
+                new TestingResourceActionsBuilder()
+                        .setReleaseUnneededPendingResourcesRunnable(
+                                releaseRequests::incrementAndGet)
+                        .build();
+
+        try (final DeclarativeSlotManager slotManager =
+                createSlotManager(ResourceManagerId.generate(), testingResourceActions, 2)) {
+
+            final JobID jobId = new JobID();
+
+            slotManager.processResourceRequirements(createResourceRequirements(jobId, 4));
+            slotManager.processResourceRequirements(createResourceRequirements(jobId, 1));
+
+            assertThat(releaseRequests.get(), is(0));
+            assertThat(
+                    slotManager.getRequiredResources(),
+                    equalTo(Collections.singletonMap(WORKER_RESOURCE_SPEC, 2)));
+        }
+    }
+
     private TaskExecutorConnection createTaskExecutorConnection() {
         final TestingTaskExecutorGateway taskExecutorGateway =
                 new TestingTaskExecutorGatewayBuilder().createTestingTaskExecutorGateway();
@@ -117,6 +117,54 @@ public class FineGrainedTaskManagerRegistrationTest extends TestLogger {
                 is(SlotState.ALLOCATED));
     }
 
+    @Test
+    public void testNotifySlotResized() {
+        final ResourceProfile totalResource = ResourceProfile.fromResources(10, 1000);
+        final FineGrainedTaskManagerRegistration taskManager =
+                new FineGrainedTaskManagerRegistration(
+                        TASK_EXECUTOR_CONNECTION, totalResource, totalResource);
+        final AllocationID allocationId = new AllocationID();
+        final JobID jobId = new JobID();
+        final FineGrainedTaskManagerSlot slot =
+                new FineGrainedTaskManagerSlot(
+                        allocationId,
+                        jobId,
+                        ResourceProfile.fromResources(2, 100),
+                        TASK_EXECUTOR_CONNECTION,
+                        SlotState.ALLOCATED);
+        taskManager.notifyAllocation(allocationId, slot);
+
+        taskManager.notifySlotResized(allocationId, ResourceProfile.fromResources(4, 300));
+        assertThat(taskManager.getAvailableResource(), is(ResourceProfile.fromResources(6, 700)));
+        assertThat(slot.getResourceProfile(), is(ResourceProfile.fromResources(2, 100)));
+        assertThat(slot.getCurrentResourceProfile(), is(ResourceProfile.fromResources(4, 300)));
+
+        taskManager.notifySlotResized(allocationId, ResourceProfile.fromResources(1, 50));
+        assertThat(taskManager.getAvailableResource(), is(ResourceProfile.fromResources(9, 950)));
+
+        taskManager.freeSlot(allocationId);
+        assertThat(taskManager.getAvailableResource(), is(totalResource));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotifySlotResizedWithoutEnoughResource() {
+        final ResourceProfile totalResource = ResourceProfile.fromResources(10, 1000);
+        final FineGrainedTaskManagerRegistration taskManager =
+                new FineGrainedTaskManagerRegistration(
+                        TASK_EXECUTOR_CONNECTION, totalResource, totalResource);
+        final AllocationID allocationId = new AllocationID();
+        final FineGrainedTaskManagerSlot slot =
+                new FineGrainedTaskManagerSlot(
+                        allocationId,
+                        new JobID(),
+                        ResourceProfile.fromResources(2, 100),
+                        TASK_EXECUTOR_CONNECTION,
+                        SlotState.ALLOCATED);
+        taskManager.notifyAllocation(allocationId, slot);
+
+        taskManager.notifySlotResized(allocationId, ResourceProfile.fromResources(11, 100));
+    }
+
     @Test
     public void testNotifyAllocationWithoutEnoughResource() {
         final ResourceProfile totalResource = ResourceProfile.fromResources(1, 100);
@@ -37,6 +37,7 @@ public class SlotManagerConfigurationBuilder {
     private CPUResource maxTotalCpu;
     private MemorySize maxTotalMem;
     private int redundantTaskManagerNum;
+    private boolean releaseUnneededPendingWorkers;
 
     private SlotManagerConfigurationBuilder() {
         this.taskManagerRequestTimeout = TestingUtils.infiniteTime();
@@ -50,6 +51,8 @@ public class SlotManagerConfigurationBuilder {
         this.maxTotalMem = MemorySize.MAX_VALUE;
         this.redundantTaskManagerNum =
                 ResourceManagerOptions.REDUNDANT_TASK_MANAGER_NUM.defaultValue();
+        this.releaseUnneededPendingWorkers =
+                ResourceManagerOptions.RELEASE_UNNEEDED_PENDING_WORKERS.defaultValue();
     }
 
     public static SlotManagerConfigurationBuilder newBuilder() {
@@ -109,6 +112,12 @@ public class SlotManagerConfigurationBuilder {
         return this;
     }
 
+    public SlotManagerConfigurationBuilder setReleaseUnneededPendingWorkers(
+            boolean releaseUnneededPendingWorkers) {
+        this.releaseUnneededPendingWorkers = releaseUnneededPendingWorkers;
+        return this;
+    }
+
     public SlotManagerConfiguration build() {
         return new SlotManagerConfiguration(
                 taskManagerRequestTimeout,
@@ -121,6 +130,7 @@ public class SlotManagerConfigurationBuilder {
                 maxSlotNum,
                 maxTotalCpu,
                 maxTotalMem,
-                redundantTaskManagerNum);
+                redundantTaskManagerNum,
+                releaseUnneededPendingWorkers);
     }
 }
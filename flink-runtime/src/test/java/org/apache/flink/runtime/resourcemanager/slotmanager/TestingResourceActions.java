@@ -46,6 +46,8 @@ public class TestingResourceActions implements ResourceActions {
     private final BiConsumer<JobID, Collection<ResourceRequirement>>
             notifyNotEnoughResourcesConsumer;
 
+    @Nonnull private final Runnable releaseUnneededPendingResourcesRunnable;
+
     public TestingResourceActions(
             @Nonnull BiConsumer<InstanceID, Exception> releaseResourceConsumer,
             @Nonnull Function<WorkerResourceSpec, Boolean> allocateResourceFunction,
@@ -54,11 +56,13 @@ public class TestingResourceActions implements ResourceActions {
                             notifyAllocationFailureConsumer,
             @Nonnull
                     BiConsumer<JobID, Collection<ResourceRequirement>>
-                            notifyNotEnoughResourcesConsumer) {
+                            notifyNotEnoughResourcesConsumer,
+            @Nonnull Runnable releaseUnneededPendingResourcesRunnable) {
         this.releaseResourceConsumer = releaseResourceConsumer;
         this.allocateResourceFunction = allocateResourceFunction;
         this.notifyAllocationFailureConsumer = notifyAllocationFailureConsumer;
         this.notifyNotEnoughResourcesConsumer = notifyNotEnoughResourcesConsumer;
+        this.releaseUnneededPendingResourcesRunnable = releaseUnneededPendingResourcesRunnable;
     }
 
     @Override
@@ -81,4 +85,9 @@ public class TestingResourceActions implements ResourceActions {
             JobID jobId, Collection<ResourceRequirement> acquiredResources) {
         notifyNotEnoughResourcesConsumer.accept(jobId, acquiredResources);
     }
+
+    @Override
+    public void releaseUnneededPendingResources() {
+        releaseUnneededPendingResourcesRunnable.run();
+    }
 }
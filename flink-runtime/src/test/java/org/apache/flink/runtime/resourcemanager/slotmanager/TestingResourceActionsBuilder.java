@@ -38,6 +38,7 @@ public class TestingResourceActionsBuilder {
             (ignored) -> {};
     private BiConsumer<JobID, Collection<ResourceRequirement>> notifyNotEnoughResourcesConsumer =
             (ignoredA, ignoredB) -> {};
+    private Runnable releaseUnneededPendingResourcesRunnable = () -> {};
 
     public TestingResourceActionsBuilder setReleaseResourceConsumer(
             BiConsumer<InstanceID, Exception> releaseResourceConsumer) {
@@ -73,11 +74,18 @@ public class TestingResourceActionsBuilder {
         return this;
     }
 
+    public TestingResourceActionsBuilder setReleaseUnneededPendingResourcesRunnable(
+            Runnable releaseUnneededPendingResourcesRunnable) {
+        this.releaseUnneededPendingResourcesRunnable = releaseUnneededPendingResourcesRunnable;
+        return this;
+    }
+
     public TestingResourceActions build() {
         return new TestingResourceActions(
                 releaseResourceConsumer,
                 allocateResourceFunction,
                 notifyAllocationFailureConsumer,
-                notifyNotEnoughResourcesConsumer);
+                notifyNotEnoughResourcesConsumer,
+                releaseUnneededPendingResourcesRunnable);
     }
 }
@@ -33,6 +33,7 @@ import org.apache.flink.runtime.taskexecutor.SlotReport;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -147,6 +148,12 @@ public class TestingSlotManager implements SlotManager {
     @Override
     public void freeSlot(SlotID slotId, AllocationID allocationId) {}
 
+    @Override
+    public CompletableFuture<Void> resizeSlot(
+            AllocationID allocationId, ResourceProfile newResourceProfile) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public void setFailUnfulfillableRequest(boolean failUnfulfillableRequest) {
         setFailUnfulfillableRequestConsumer.accept(failUnfulfillableRequest);
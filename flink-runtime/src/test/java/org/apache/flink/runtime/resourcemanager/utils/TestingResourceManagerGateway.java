@@ -102,6 +102,9 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
 
     private volatile Consumer<Tuple3<InstanceID, SlotID, AllocationID>> notifySlotAvailableConsumer;
 
+    private volatile BiFunction<AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+            resizeSlotFunction;
+
     private volatile Function<ResourceID, CompletableFuture<Collection<LogInfo>>>
             requestTaskManagerLogListFunction;
 
@@ -224,6 +227,12 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
         this.notifySlotAvailableConsumer = notifySlotAvailableConsumer;
     }
 
+    public void setResizeSlotFunction(
+            BiFunction<AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+                    resizeSlotFunction) {
+        this.resizeSlotFunction = resizeSlotFunction;
+    }
+
     public void setRequestThreadDumpFunction(
             Function<ResourceID, CompletableFuture<ThreadDumpInfo>> requestThreadDumpFunction) {
         this.requestThreadDumpFunction = requestThreadDumpFunction;
@@ -313,6 +322,19 @@ public class TestingResourceManagerGateway implements ResourceManagerGateway {
         }
     }
 
+    @Override
+    public CompletableFuture<Acknowledge> resizeSlot(
+            AllocationID allocationId, ResourceProfile newResourceProfile, Time timeout) {
+        final BiFunction<AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+                currentResizeSlotFunction = resizeSlotFunction;
+
+        if (currentResizeSlotFunction != null) {
+            return currentResizeSlotFunction.apply(allocationId, newResourceProfile);
+        } else {
+            return CompletableFuture.completedFuture(Acknowledge.get());
+        }
+    }
+
     @Override
     public CompletableFuture<Acknowledge> deregisterApplication(
             ApplicationStatus finalStatus, String diagnostics) {
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.rest.handler.job.rescaling;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.rest.handler.HandlerRequest;
+import org.apache.flink.runtime.rest.messages.JobMessageParameters;
+import org.apache.flink.runtime.scheduler.adaptive.scalingpolicy.RescaleCostEstimate;
+import org.apache.flink.runtime.webmonitor.RestfulGateway;
+import org.apache.flink.runtime.webmonitor.TestingRestfulGateway;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Tests for the {@link RescalingCostEstimateHandler}. */
+public class RescalingCostEstimateHandlerTest extends TestLogger {
+
+    @Test
+    public void testEstimateIsForwardedToGatewayAndConvertedToResponse() throws Exception {
+        final JobID jobId = new JobID();
+        final Map<JobVertexID, Integer> proposedParallelism = new HashMap<>();
+        proposedParallelism.put(new JobVertexID(), 4);
+        proposedParallelism.put(new JobVertexID(), 8);
+
+        final RescaleCostEstimate estimate = new RescaleCostEstimate(1024L, 2000L, 512L, 4000L);
+        final AtomicReference<JobID> requestedJobId = new AtomicReference<>();
+        final AtomicReference<Map<JobVertexID, Integer>> requestedParallelism =
+                new AtomicReference<>();
+
+        final RestfulGateway gateway =
+                new TestingRestfulGateway() {
+                    @Override
+                    public CompletableFuture<RescaleCostEstimate> estimateRescaleCost(
+                            JobID jobId,
+                            Map<JobVertexID, Integer> proposedParallelism,
+                            Time timeout) {
+                        requestedJobId.set(jobId);
+                        requestedParallelism.set(proposedParallelism);
+                        return CompletableFuture.completedFuture(estimate);
+                    }
+                };
+
+        final RescalingCostEstimateHandler handler =
+                new RescalingCostEstimateHandler(
+                        () -> CompletableFuture.completedFuture(gateway),
+                        Time.hours(1),
+                        Collections.emptyMap(),
+                        RescalingCostEstimateHeaders.getInstance());
+
+        final JobMessageParameters messageParameters =
+                handler.getMessageHeaders().getUnresolvedMessageParameters();
+        messageParameters.jobPathParameter.resolve(jobId);
+
+        final RescalingCostEstimateResponseBody response =
+                handler.handleRequest(
+                                HandlerRequest.create(
+                                        new RescalingCostEstimateRequestBody(proposedParallelism),
+                                        messageParameters),
+                                gateway)
+                        .get();
+
+        assertThat(requestedJobId.get(), is(equalTo(jobId)));
+        assertThat(requestedParallelism.get(), is(equalTo(proposedParallelism)));
+
+        assertThat(response.getStateSize(), is(1024L));
+        assertThat(response.getRestartOverhead(), is(2000L));
+        assertThat(response.getRestoreThroughput(), is(512L));
+        assertThat(response.getEstimatedDowntime(), is(4000L));
+    }
+}
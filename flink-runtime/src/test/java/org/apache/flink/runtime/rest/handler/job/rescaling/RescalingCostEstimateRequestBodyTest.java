@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.rest.handler.job.rescaling;
+
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.rest.messages.RestRequestMarshallingTestBase;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Marshalling test for {@link RescalingCostEstimateRequestBody}. */
+public class RescalingCostEstimateRequestBodyTest
+        extends RestRequestMarshallingTestBase<RescalingCostEstimateRequestBody> {
+
+    @Override
+    protected Class<RescalingCostEstimateRequestBody> getTestRequestClass() {
+        return RescalingCostEstimateRequestBody.class;
+    }
+
+    @Override
+    protected RescalingCostEstimateRequestBody getTestRequestInstance() {
+        final Map<JobVertexID, Integer> parallelism = new HashMap<>();
+        parallelism.put(new JobVertexID(), 1);
+        parallelism.put(new JobVertexID(), 42);
+        return new RescalingCostEstimateRequestBody(parallelism);
+    }
+
+    @Override
+    protected void assertOriginalEqualsToUnmarshalled(
+            RescalingCostEstimateRequestBody expected, RescalingCostEstimateRequestBody actual) {
+        assertThat(actual.getParallelism(), is(equalTo(expected.getParallelism())));
+    }
+}
@@ -431,6 +431,30 @@ public class ExecutingTest extends TestLogger {
         }
     }
 
+    @Test
+    public void testExecutingRestartsIfLoadRequiresRescaling() throws Exception {
+        try (MockExecutingContext context = new MockExecutingContext()) {
+            context.setLoadBasedScalingInterval(Duration.ofSeconds(1L));
+            context.setShouldRescaleForLoad(() -> true);
+            context.setExpectRestarting(
+                    restartingArguments ->
+                            assertThat(restartingArguments.getBackoffTime(), is(Duration.ZERO)));
+
+            new ExecutingStateBuilder().build(context);
+        }
+    }
+
+    @Test
+    public void testExecutingDoesNotCheckLoadIfLoadBasedScalingIsDisabled() throws Exception {
+        try (MockExecutingContext context = new MockExecutingContext()) {
+            context.setShouldRescaleForLoad(() -> true);
+
+            new ExecutingStateBuilder().build(context);
+
+            context.assertNoStateTransition();
+        }
+    }
+
     private final class ExecutingStateBuilder {
         private ExecutionGraph executionGraph =
                 TestingDefaultExecutionGraphBuilder.newBuilder().build();
@@ -482,6 +506,8 @@ public class ExecutingTest extends TestLogger {
 
         private Function<Throwable, Executing.FailureResult> howToHandleFailure;
         private Supplier<Boolean> canScaleUp = () -> false;
+        private Supplier<Boolean> shouldRescaleForLoad = () -> false;
+        @Nullable private Duration loadBasedScalingInterval = null;
         private StateValidator<StopWithSavepointArguments> stopWithSavepointValidator =
                 new StateValidator<>("stopWithSavepoint");
         private CompletableFuture<String> mockedStopWithSavepointOperationFuture =
@@ -511,6 +537,14 @@ public class ExecutingTest extends TestLogger {
             this.canScaleUp = supplier;
         }
 
+        public void setShouldRescaleForLoad(Supplier<Boolean> supplier) {
+            this.shouldRescaleForLoad = supplier;
+        }
+
+        public void setLoadBasedScalingInterval(Duration loadBasedScalingInterval) {
+            this.loadBasedScalingInterval = loadBasedScalingInterval;
+        }
+
         // --------- Interface Implementations ------- //
 
         @Override
@@ -534,6 +568,16 @@ public class ExecutingTest extends TestLogger {
             return canScaleUp.get();
         }
 
+        @Override
+        public Optional<Duration> getLoadBasedScalingInterval() {
+            return Optional.ofNullable(loadBasedScalingInterval);
+        }
+
+        @Override
+        public boolean shouldRescaleForLoad(ExecutionGraph executionGraph) {
+            return shouldRescaleForLoad.get();
+        }
+
         @Override
         public void goToRestarting(
                 ExecutionGraph executionGraph,
@@ -17,6 +17,7 @@
 
 package org.apache.flink.runtime.scheduler.adaptive.allocator;
 
+import org.apache.flink.runtime.clusterframework.types.AllocationID;
 import org.apache.flink.runtime.clusterframework.types.ResourceProfile;
 import org.apache.flink.runtime.jobgraph.JobVertexID;
 import org.apache.flink.runtime.jobmanager.scheduler.SlotSharingGroup;
@@ -32,7 +33,9 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
@@ -134,6 +137,97 @@ public class SlotSharingSlotAllocatorTest extends TestLogger {
                 is(vertex3.getParallelism()));
     }
 
+    @Test
+    public void testDetermineParallelismDistributesSlotsAccordingToDemand() {
+        final SlotSharingSlotAllocator slotAllocator =
+                SlotSharingSlotAllocator.createSlotSharingSlotAllocator(
+                        TEST_RESERVE_SLOT_FUNCTION,
+                        TEST_FREE_SLOT_FUNCTION,
+                        TEST_IS_SLOT_FREE_FUNCTION);
+
+        final JobInformation.VertexInformation smallVertex =
+                new TestVertexInformation(new JobVertexID(), 1, new SlotSharingGroup());
+        final JobInformation.VertexInformation largeVertex =
+                new TestVertexInformation(new JobVertexID(), 8, new SlotSharingGroup());
+
+        final JobInformation jobInformation =
+                new TestJobInformation(Arrays.asList(smallVertex, largeVertex));
+
+        final Map<JobVertexID, Integer> maxParallelismForVertices =
+                slotAllocator
+                        .determineParallelism(jobInformation, getSlots(6))
+                        .get()
+                        .getMaxParallelismForVertices();
+
+        assertThat(maxParallelismForVertices.get(smallVertex.getJobVertexID()), is(1));
+        assertThat(maxParallelismForVertices.get(largeVertex.getJobVertexID()), is(5));
+    }
+
+    @Test
+    public void testDetermineParallelismKeepsRatioWithinSlotSharingGroup() {
+        final SlotSharingSlotAllocator slotAllocator =
+                SlotSharingSlotAllocator.createSlotSharingSlotAllocator(
+                        TEST_RESERVE_SLOT_FUNCTION,
+                        TEST_FREE_SLOT_FUNCTION,
+                        TEST_IS_SLOT_FREE_FUNCTION);
+
+        final SlotSharingGroup slotSharingGroup = new SlotSharingGroup();
+        final JobInformation.VertexInformation expensiveVertex =
+                new TestVertexInformation(new JobVertexID(), 8, slotSharingGroup);
+        final JobInformation.VertexInformation cheapVertex =
+                new TestVertexInformation(new JobVertexID(), 2, slotSharingGroup);
+
+        final JobInformation jobInformation =
+                new TestJobInformation(Arrays.asList(expensiveVertex, cheapVertex));
+
+        final VertexParallelismWithSlotSharing vertexParallelism =
+                slotAllocator.determineParallelism(jobInformation, getSlots(4)).get();
+
+        assertThat(vertexParallelism.getParallelism(expensiveVertex.getJobVertexID()), is(4));
+        assertThat(vertexParallelism.getParallelism(cheapVertex.getJobVertexID()), is(1));
+
+        int numberOfSlots = 0;
+        int numberOfSlotsHostingBothVertices = 0;
+        for (SlotSharingSlotAllocator.ExecutionSlotSharingGroupAndSlot assignment :
+                vertexParallelism.getAssignments()) {
+            numberOfSlots++;
+            if (assignment.getExecutionSlotSharingGroup().getContainedExecutionVertices().size()
+                    == 2) {
+                numberOfSlotsHostingBothVertices++;
+            }
+        }
+
+        assertThat(numberOfSlots, is(4));
+        assertThat(numberOfSlotsHostingBothVertices, is(1));
+    }
+
+    @Test
+    public void testDetermineParallelismPrefersPreviousAllocations() {
+        final SlotSharingSlotAllocator slotAllocator =
+                SlotSharingSlotAllocator.createSlotSharingSlotAllocator(
+                        TEST_RESERVE_SLOT_FUNCTION,
+                        TEST_FREE_SLOT_FUNCTION,
+                        TEST_IS_SLOT_FREE_FUNCTION);
+
+        final JobInformation jobInformation =
+                new TestJobInformation(Arrays.asList(vertex1, vertex2, vertex3));
+
+        final List<SlotInfo> slots = new ArrayList<>(getSlots(7));
+
+        final Map<ExecutionVertexID, AllocationID> previousAllocations =
+                getAllocations(slotAllocator.determineParallelism(jobInformation, slots).get());
+
+        Collections.reverse(slots);
+
+        final Map<ExecutionVertexID, AllocationID> newAllocations =
+                getAllocations(
+                        slotAllocator
+                                .determineParallelism(jobInformation, slots, previousAllocations)
+                                .get());
+
+        assertThat(newAllocations, is(previousAllocations));
+    }
+
     @Test
     public void testDetermineParallelismUnsuccessfulWithLessSlotsThanSlotSharingGroups() {
         final SlotSharingSlotAllocator slotAllocator =
@@ -208,6 +302,19 @@ public class SlotSharingSlotAllocatorTest extends TestLogger {
         assertFalse(reservedSlots.isPresent());
     }
 
+    private static Map<ExecutionVertexID, AllocationID> getAllocations(
+            VertexParallelismWithSlotSharing vertexParallelism) {
+        final Map<ExecutionVertexID, AllocationID> allocations = new HashMap<>();
+        for (SlotSharingSlotAllocator.ExecutionSlotSharingGroupAndSlot assignment :
+                vertexParallelism.getAssignments()) {
+            for (ExecutionVertexID executionVertexId :
+                    assignment.getExecutionSlotSharingGroup().getContainedExecutionVertices()) {
+                allocations.put(executionVertexId, assignment.getSlotInfo().getAllocationId());
+            }
+        }
+        return allocations;
+    }
+
     private static Collection<SlotInfo> getSlots(int count) {
         final Collection<SlotInfo> slotInfo = new ArrayList<>();
         for (int i = 0; i < count; i++) {
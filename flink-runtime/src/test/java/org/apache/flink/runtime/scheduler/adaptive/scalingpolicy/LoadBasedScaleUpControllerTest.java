@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.JobManagerOptions;
+import org.apache.flink.runtime.executiongraph.LoadMetrics;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.runtime.scheduler.strategy.ExecutionVertexID;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Tests for the {@link LoadBasedScaleUpController}. */
+public class LoadBasedScaleUpControllerTest extends TestLogger {
+
+    private static final Configuration TEST_CONFIG = new Configuration();
+
+    static {
+        TEST_CONFIG.set(JobManagerOptions.LOAD_BASED_SCALING_TARGET_UTILIZATION, 0.5);
+    }
+
+    private static final JobVertexID VERTEX = new JobVertexID();
+
+    @Test
+    public void testBusyVertexIsScaledUp() {
+        assertThat(computeTargetParallelism(4, 1000.0, 0.0), is(8));
+    }
+
+    @Test
+    public void testIdleVertexIsScaledDown() {
+        assertThat(computeTargetParallelism(4, 125.0, 0.0), is(1));
+    }
+
+    @Test
+    public void testVertexAtTargetUtilizationKeepsParallelism() {
+        assertThat(computeTargetParallelism(4, 500.0, 0.0), is(4));
+    }
+
+    @Test
+    public void testBackPressuredVertexKeepsParallelism() {
+        assertThat(computeTargetParallelism(4, 100.0, 800.0), is(4));
+    }
+
+    @Test
+    public void testVertexWithoutBusyTimeHasNoTarget() {
+        final VertexLoadTracker tracker = new VertexLoadTracker();
+        tracker.reportLoad(
+                new ExecutionVertexID(VERTEX, 0), new LoadMetrics(Double.NaN, 0.0, 10.0, 10.0));
+
+        assertThat(
+                new LoadBasedScaleUpController(TEST_CONFIG, tracker)
+                        .computeTargetParallelism(Collections.singletonMap(VERTEX, 1))
+                        .isEmpty(),
+                is(true));
+    }
+
+    @Test
+    public void testVertexWithoutLoadHasNoTarget() {
+        assertThat(
+                new LoadBasedScaleUpController(
+                                TEST_CONFIG, VertexLoadProvider.noLoadInformation())
+                        .computeTargetParallelism(Collections.singletonMap(VERTEX, 1))
+                        .isEmpty(),
+                is(true));
+    }
+
+    @Test
+    public void testLoadIsAveragedOverSubtasks() {
+        final VertexLoadTracker tracker = new VertexLoadTracker();
+        tracker.reportLoad(
+                new ExecutionVertexID(VERTEX, 0), new LoadMetrics(1000.0, 0.0, 10.0, 20.0));
+        tracker.reportLoad(
+                new ExecutionVertexID(VERTEX, 1), new LoadMetrics(0.0, 0.0, 30.0, 40.0));
+
+        final VertexLoad vertexLoad = tracker.getVertexLoads().get(VERTEX);
+
+        assertThat(vertexLoad.getBusyTimeMsPerSecond(), is(500.0));
+        assertThat(vertexLoad.getNumRecordsInPerSecond(), is(40.0));
+        assertThat(vertexLoad.getNumRecordsOutPerSecond(), is(60.0));
+    }
+
+    private static int computeTargetParallelism(
+            int currentParallelism,
+            double busyTimeMsPerSecond,
+            double backPressuredTimeMsPerSecond) {
+        final VertexLoadTracker tracker = new VertexLoadTracker();
+        final Map<JobVertexID, Integer> parallelism = new HashMap<>();
+        parallelism.put(VERTEX, currentParallelism);
+
+        for (int subtask = 0; subtask < currentParallelism; subtask++) {
+            tracker.reportLoad(
+                    new ExecutionVertexID(VERTEX, subtask),
+                    new LoadMetrics(busyTimeMsPerSecond, backPressuredTimeMsPerSecond, 1.0, 1.0));
+        }
+
+        return new LoadBasedScaleUpController(TEST_CONFIG, tracker)
+                .computeTargetParallelism(parallelism)
+                .get(VERTEX);
+    }
+}
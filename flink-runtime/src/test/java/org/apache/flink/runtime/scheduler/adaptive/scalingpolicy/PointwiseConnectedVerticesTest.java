@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
+import org.apache.flink.runtime.jobgraph.DistributionPattern;
+import org.apache.flink.runtime.jobgraph.JobGraphTestUtils;
+import org.apache.flink.runtime.jobgraph.JobVertex;
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Tests for the {@link PointwiseConnectedVertices}. */
+public class PointwiseConnectedVerticesTest extends TestLogger {
+
+    @Test
+    public void testPointwiseConnectedVerticesGetTheLargestTarget() {
+        final JobVertex source = new JobVertex("source");
+        final JobVertex map = new JobVertex("map");
+        final JobVertex sink = new JobVertex("sink");
+        map.connectNewDataSetAsInput(
+                source, DistributionPattern.POINTWISE, ResultPartitionType.PIPELINED);
+        sink.connectNewDataSetAsInput(
+                map, DistributionPattern.ALL_TO_ALL, ResultPartitionType.PIPELINED);
+
+        final PointwiseConnectedVertices pointwiseConnectedVertices =
+                PointwiseConnectedVertices.fromJobGraph(
+                        JobGraphTestUtils.streamingJobGraph(source, map, sink));
+
+        final Map<JobVertexID, Integer> targets = new HashMap<>();
+        targets.put(source.getID(), 2);
+        targets.put(map.getID(), 6);
+        targets.put(sink.getID(), 1);
+
+        final Map<JobVertexID, Integer> alignedTargets =
+                pointwiseConnectedVertices.alignTargets(
+                        targets, currentParallelism(4, source, map, sink));
+
+        assertThat(alignedTargets.get(source.getID()), is(6));
+        assertThat(alignedTargets.get(map.getID()), is(6));
+        assertThat(alignedTargets.get(sink.getID()), is(1));
+    }
+
+    @Test
+    public void testVerticesWithoutTargetCountWithCurrentParallelism() {
+        final JobVertex source = new JobVertex("source");
+        final JobVertex map = new JobVertex("map");
+        map.connectNewDataSetAsInput(
+                source, DistributionPattern.POINTWISE, ResultPartitionType.PIPELINED);
+
+        final PointwiseConnectedVertices pointwiseConnectedVertices =
+                PointwiseConnectedVertices.fromJobGraph(
+                        JobGraphTestUtils.streamingJobGraph(source, map));
+
+        final Map<JobVertexID, Integer> alignedTargets =
+                pointwiseConnectedVertices.alignTargets(
+                        Collections.singletonMap(map.getID(), 1),
+                        currentParallelism(4, source, map));
+
+        assertThat(alignedTargets.get(source.getID()), is(4));
+        assertThat(alignedTargets.get(map.getID()), is(4));
+    }
+
+    @Test
+    public void testGroupsWithoutTargetsAreNotAdded() {
+        final JobVertex source = new JobVertex("source");
+        final JobVertex map = new JobVertex("map");
+        map.connectNewDataSetAsInput(
+                source, DistributionPattern.POINTWISE, ResultPartitionType.PIPELINED);
+
+        final PointwiseConnectedVertices pointwiseConnectedVertices =
+                PointwiseConnectedVertices.fromJobGraph(
+                        JobGraphTestUtils.streamingJobGraph(source, map));
+
+        assertThat(
+                pointwiseConnectedVertices
+                        .alignTargets(Collections.emptyMap(), currentParallelism(4, source, map))
+                        .isEmpty(),
+                is(true));
+    }
+
+    private static Map<JobVertexID, Integer> currentParallelism(
+            int parallelism, JobVertex... vertices) {
+        final Map<JobVertexID, Integer> currentParallelism = new HashMap<>();
+        for (JobVertex vertex : vertices) {
+            currentParallelism.put(vertex.getID(), parallelism);
+        }
+        return currentParallelism;
+    }
+}
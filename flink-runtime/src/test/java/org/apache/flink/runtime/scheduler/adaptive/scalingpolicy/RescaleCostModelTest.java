@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.scheduler.adaptive.scalingpolicy;
+
+import org.apache.flink.runtime.jobgraph.JobVertexID;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/** Tests for the {@link RescaleCostModel}. */
+public class RescaleCostModelTest extends TestLogger {
+
+    private static final JobVertexID RESCALED_VERTEX = new JobVertexID();
+    private static final JobVertexID UNCHANGED_VERTEX = new JobVertexID();
+
+    private static final Map<JobVertexID, Integer> CURRENT_PARALLELISM = new HashMap<>();
+    private static final Map<JobVertexID, Integer> PROPOSED_PARALLELISM = new HashMap<>();
+    private static final Map<JobVertexID, Long> STATE_SIZES = new HashMap<>();
+
+    static {
+        CURRENT_PARALLELISM.put(RESCALED_VERTEX, 2);
+        CURRENT_PARALLELISM.put(UNCHANGED_VERTEX, 2);
+        PROPOSED_PARALLELISM.put(RESCALED_VERTEX, 4);
+        PROPOSED_PARALLELISM.put(UNCHANGED_VERTEX, 2);
+        STATE_SIZES.put(RESCALED_VERTEX, 3000L);
+        STATE_SIZES.put(UNCHANGED_VERTEX, 1000L);
+    }
+
+    @Test
+    public void testEstimateIsUnknownWithoutMeasurements() {
+        final RescaleCostEstimate estimate = estimate(new RescaleCostModel(false));
+
+        assertThat(estimate.isKnown(), is(false));
+        assertThat(estimate.getStateSizeToRestore(), is(4000L));
+    }
+
+    @Test
+    public void testEstimateCombinesRestartOverheadAndRestoreTime() {
+        final RescaleCostModel rescaleCostModel = new RescaleCostModel(false);
+        // 1000 bytes per second
+        rescaleCostModel.recordRestart(500L, 2000L, 2000L);
+
+        final RescaleCostEstimate estimate = estimate(rescaleCostModel);
+
+        assertThat(estimate.getRestartOverheadMillis(), is(500L));
+        assertThat(estimate.getRestoreThroughputBytesPerSecond(), is(1000L));
+        assertThat(estimate.getEstimatedDowntimeMillis(), is(4500L));
+    }
+
+    @Test
+    public void testLocalRecoveryOnlyRestoresRescaledVertices() {
+        final RescaleCostModel rescaleCostModel = new RescaleCostModel(true);
+        rescaleCostModel.recordRestart(500L, 2000L, 2000L);
+
+        final RescaleCostEstimate estimate = estimate(rescaleCostModel);
+
+        assertThat(estimate.getStateSizeToRestore(), is(3000L));
+        assertThat(estimate.getEstimatedDowntimeMillis(), is(3500L));
+    }
+
+    @Test
+    public void testRestartOfUnchangedVerticesRestoresLocalState() {
+        final RescaleCostModel rescaleCostModel = new RescaleCostModel(true);
+
+        assertThat(
+                rescaleCostModel.getStateSizeToRestore(
+                        CURRENT_PARALLELISM, CURRENT_PARALLELISM, STATE_SIZES),
+                is(0L));
+        assertThat(
+                new RescaleCostModel(false)
+                        .getStateSizeToRestore(
+                                CURRENT_PARALLELISM, CURRENT_PARALLELISM, STATE_SIZES),
+                is(4000L));
+    }
+
+    @Test
+    public void testRestartWithoutStateOnlyMeasuresOverhead() {
+        final RescaleCostModel rescaleCostModel = new RescaleCostModel(false);
+        rescaleCostModel.recordRestart(500L, 0L, 0L);
+
+        assertThat(estimate(rescaleCostModel).isKnown(), is(false));
+        assertThat(
+                rescaleCostModel
+                        .estimate(CURRENT_PARALLELISM, PROPOSED_PARALLELISM, new HashMap<>())
+                        .getEstimatedDowntimeMillis(),
+                is(500L));
+    }
+
+    @Test
+    public void testOldMeasurementsAreDiscarded() {
+        final RescaleCostModel rescaleCostModel = new RescaleCostModel(false);
+        rescaleCostModel.recordRestart(100_000L, 2000L, 2000L);
+
+        for (int i = 0; i < RescaleCostModel.MAX_NUM_SAMPLES; i++) {
+            rescaleCostModel.recordRestart(500L, 2000L, 2000L);
+        }
+
+        assertThat(estimate(rescaleCostModel).getRestartOverheadMillis(), is(500L));
+    }
+
+    @Test
+    public void testRescaleIsWorthItIfDowntimeIsAmortized() {
+        final RescaleCostEstimate estimate = new RescaleCostEstimate(0L, 0L, 0L, 6_000L);
+
+        // doubling the parallelism has to make up for the downtime within the period
+        assertThat(
+                RescaleCostModel.isWorthRescaling(estimate, 2, 4, Duration.ofSeconds(10)),
+                is(true));
+        // a 10% increase only makes up for 1 second within the period
+        assertThat(
+                RescaleCostModel.isWorthRescaling(estimate, 10, 11, Duration.ofSeconds(10)),
+                is(false));
+        // scaling down frees resources in the same way
+        assertThat(
+                RescaleCostModel.isWorthRescaling(estimate, 4, 2, Duration.ofSeconds(10)),
+                is(true));
+    }
+
+    @Test
+    public void testRescaleWithUnknownCostIsWorthIt() {
+        final RescaleCostEstimate estimate =
+                new RescaleCostEstimate(
+                        0L,
+                        RescaleCostEstimate.UNKNOWN,
+                        RescaleCostEstimate.UNKNOWN,
+                        RescaleCostEstimate.UNKNOWN);
+
+        assertThat(
+                RescaleCostModel.isWorthRescaling(estimate, 10, 11, Duration.ofSeconds(1)),
+                is(true));
+    }
+
+    private static RescaleCostEstimate estimate(RescaleCostModel rescaleCostModel) {
+        return rescaleCostModel.estimate(CURRENT_PARALLELISM, PROPOSED_PARALLELISM, STATE_SIZES);
+    }
+}
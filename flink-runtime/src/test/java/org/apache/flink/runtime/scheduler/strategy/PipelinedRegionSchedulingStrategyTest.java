@@ -183,6 +183,51 @@ public class PipelinedRegionSchedulingStrategyTest extends TestLogger {
                 expectedScheduledVertices, testingSchedulerOperation);
     }
 
+    @Test
+    public void testSchedulingTopologyWithHybridEdges() {
+        final TestingSchedulingTopology topology = new TestingSchedulingTopology();
+
+        final List<TestingSchedulingExecutionVertex> v1 =
+                topology.addExecutionVertices().withParallelism(PARALLELISM).finish();
+        final List<TestingSchedulingExecutionVertex> v2 =
+                topology.addExecutionVertices().withParallelism(PARALLELISM).finish();
+
+        topology.connectAllToAll(v1, v2)
+                .withResultPartitionState(ResultPartitionState.CREATED)
+                .withResultPartitionType(ResultPartitionType.HYBRID)
+                .finish();
+
+        final PipelinedRegionSchedulingStrategy schedulingStrategy = startScheduling(topology);
+        assertThat(testingSchedulerOperation.getScheduledVertices(), hasSize(2));
+
+        v1.get(0).setState(ExecutionState.RUNNING);
+        schedulingStrategy.onExecutionStateChange(v1.get(0).getId(), ExecutionState.RUNNING);
+
+        // not all producers are running yet
+        assertThat(testingSchedulerOperation.getScheduledVertices(), hasSize(2));
+
+        v1.get(1).setState(ExecutionState.RUNNING);
+        schedulingStrategy.onExecutionStateChange(v1.get(1).getId(), ExecutionState.RUNNING);
+
+        // the consumers are scheduled before the producers finished
+        assertThat(testingSchedulerOperation.getScheduledVertices(), hasSize(4));
+        final List<List<TestingSchedulingExecutionVertex>> expectedScheduledVertices =
+                new ArrayList<>();
+        expectedScheduledVertices.add(Arrays.asList(v2.get(0)));
+        expectedScheduledVertices.add(Arrays.asList(v2.get(1)));
+        assertLatestScheduledVerticesAreEqualTo(
+                expectedScheduledVertices, testingSchedulerOperation);
+
+        for (TestingSchedulingExecutionVertex producer : v1) {
+            producer.setState(ExecutionState.FINISHED);
+            producer.getProducedResults().iterator().next().markFinished();
+            schedulingStrategy.onExecutionStateChange(producer.getId(), ExecutionState.FINISHED);
+        }
+
+        // the consumers are not scheduled again
+        assertThat(testingSchedulerOperation.getScheduledVertices(), hasSize(4));
+    }
+
     @Test
     public void testComputingCrossRegionConsumedPartitionGroupsCorrectly() throws Exception {
         final JobVertex v1 = createJobVertex("v1", 4);
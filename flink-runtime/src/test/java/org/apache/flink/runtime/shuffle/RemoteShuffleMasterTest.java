@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionType;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/** Tests for the {@link RemoteShuffleMaster}. */
+public class RemoteShuffleMasterTest extends TestLogger {
+
+    @Test
+    public void testBlockingPartitionsAreStoredRemotely() throws Exception {
+        final Configuration configuration = new Configuration();
+        configuration.set(RemoteShuffleOptions.SHUFFLE_WORKER_HOST, "shuffle-worker");
+        configuration.set(RemoteShuffleOptions.SHUFFLE_WORKER_PORT, 1234);
+
+        try (RemoteShuffleMaster shuffleMaster = new RemoteShuffleMaster(configuration)) {
+            final ShuffleDescriptor shuffleDescriptor =
+                    registerPartition(shuffleMaster, ResultPartitionType.BLOCKING);
+
+            assertThat(shuffleDescriptor, instanceOf(RemoteShuffleDescriptor.class));
+            assertThat(shuffleDescriptor.storesLocalResourcesOn().isPresent(), is(false));
+
+            final RemoteShuffleDescriptor remoteShuffleDescriptor =
+                    (RemoteShuffleDescriptor) shuffleDescriptor;
+            assertThat(remoteShuffleDescriptor.getWorkerHost(), is("shuffle-worker"));
+            assertThat(remoteShuffleDescriptor.getWorkerPort(), is(1234));
+        }
+    }
+
+    @Test
+    public void testOtherPartitionsAreStoredLocally() throws Exception {
+        try (RemoteShuffleMaster shuffleMaster = new RemoteShuffleMaster(new Configuration())) {
+            for (ResultPartitionType type :
+                    new ResultPartitionType[] {
+                        ResultPartitionType.PIPELINED,
+                        ResultPartitionType.PIPELINED_BOUNDED,
+                        ResultPartitionType.BLOCKING_PERSISTENT,
+                        ResultPartitionType.HYBRID
+                    }) {
+                final ShuffleDescriptor shuffleDescriptor = registerPartition(shuffleMaster, type);
+
+                assertThat(shuffleDescriptor, instanceOf(NettyShuffleDescriptor.class));
+                assertThat(shuffleDescriptor.storesLocalResourcesOn().isPresent(), is(true));
+            }
+        }
+    }
+
+    private static ShuffleDescriptor registerPartition(
+            RemoteShuffleMaster shuffleMaster, ResultPartitionType type) throws Exception {
+        final ProducerDescriptor producerDescriptor =
+                new ProducerDescriptor(
+                        ResourceID.generate(),
+                        new ExecutionAttemptID(),
+                        InetAddress.getLoopbackAddress(),
+                        5678);
+        return shuffleMaster
+                .registerPartitionWithProducer(
+                        new JobID(),
+                        PartitionDescriptorBuilder.newBuilder().setPartitionType(type).build(),
+                        producerDescriptor)
+                .get();
+    }
+}
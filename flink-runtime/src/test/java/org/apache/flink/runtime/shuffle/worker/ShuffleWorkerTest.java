@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.shuffle.worker;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.core.memory.MemorySegmentFactory;
+import org.apache.flink.runtime.io.network.api.EndOfPartitionEvent;
+import org.apache.flink.runtime.io.network.api.serialization.EventSerializer;
+import org.apache.flink.runtime.io.network.buffer.Buffer;
+import org.apache.flink.runtime.io.network.buffer.BufferRecycler;
+import org.apache.flink.runtime.io.network.buffer.FreeingBufferRecycler;
+import org.apache.flink.runtime.io.network.buffer.NetworkBuffer;
+import org.apache.flink.runtime.io.network.partition.PartitionNotFoundException;
+import org.apache.flink.runtime.io.network.partition.ResultPartitionID;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient.PartitionWriter;
+import org.apache.flink.runtime.shuffle.worker.ShuffleWorkerClient.SubpartitionReader;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.fail;
+
+/** Tests for the {@link ShuffleWorker} and the {@link ShuffleWorkerClient}. */
+public class ShuffleWorkerTest extends TestLogger {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private static final BufferRecycler RECYCLER = BufferRecycler.DummyBufferRecycler.INSTANCE;
+
+    @ClassRule public static final TemporaryFolder TEMPORARY_FOLDER = new TemporaryFolder();
+
+    private ShuffleWorker shuffleWorker;
+
+    private ShuffleWorkerClient client;
+
+    @Before
+    public void setup() throws IOException {
+        shuffleWorker = new ShuffleWorker(TEMPORARY_FOLDER.newFolder(), 0);
+        shuffleWorker.start();
+        client = new ShuffleWorkerClient("localhost", shuffleWorker.getPort());
+    }
+
+    @After
+    public void shutdown() {
+        shuffleWorker.close();
+    }
+
+    @Test
+    public void testWriteAndReadPartition() throws Exception {
+        final ResultPartitionID partitionId = new ResultPartitionID();
+
+        try (PartitionWriter writer = client.createPartitionWriter(partitionId, 3)) {
+            writer.writeBuffer(0, createBuffer(1, 100));
+            writer.writeBuffer(2, createBuffer(2, 200));
+            writer.writeBuffer(0, createBuffer(3, 2 * BUFFER_SIZE));
+            for (int i = 0; i < 3; i++) {
+                writer.writeBuffer(
+                        i, EventSerializer.toBuffer(EndOfPartitionEvent.INSTANCE, false));
+            }
+            writer.commit();
+        }
+
+        final MemorySegment segment = MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE);
+        try (SubpartitionReader reader = client.createSubpartitionReader(partitionId, 0)) {
+            assertBuffer(reader.readBuffer(segment, RECYCLER), 1, 100);
+            assertBuffer(reader.readBuffer(segment, RECYCLER), 3, 2 * BUFFER_SIZE);
+            assertEndOfPartition(reader.readBuffer(segment, RECYCLER));
+            assertThat(reader.readBuffer(segment, RECYCLER), nullValue());
+        }
+
+        try (SubpartitionReader reader = client.createSubpartitionReader(partitionId, 1)) {
+            assertEndOfPartition(reader.readBuffer(segment, RECYCLER));
+            assertThat(reader.readBuffer(segment, RECYCLER), nullValue());
+        }
+
+        // the partition can be consumed repeatedly
+        for (int i = 0; i < 2; i++) {
+            try (SubpartitionReader reader = client.createSubpartitionReader(partitionId, 2)) {
+                assertBuffer(reader.readBuffer(segment, RECYCLER), 2, 200);
+                assertEndOfPartition(reader.readBuffer(segment, RECYCLER));
+            }
+        }
+    }
+
+    @Test
+    public void testReadUncommittedPartition() throws Exception {
+        final ResultPartitionID partitionId = new ResultPartitionID();
+
+        try (PartitionWriter writer = client.createPartitionWriter(partitionId, 1)) {
+            writer.writeBuffer(0, createBuffer(1, 100));
+            assertPartitionNotFound(partitionId);
+        }
+    }
+
+    @Test
+    public void testReleasePartition() throws Exception {
+        final ResultPartitionID partitionId = new ResultPartitionID();
+
+        try (PartitionWriter writer = client.createPartitionWriter(partitionId, 1)) {
+            writer.writeBuffer(0, createBuffer(1, 100));
+            writer.commit();
+        }
+
+        client.releasePartition(partitionId);
+        assertPartitionNotFound(partitionId);
+
+        // releasing an unknown partition is a no-op
+        client.releasePartition(partitionId);
+    }
+
+    @Test
+    public void testCompressionFlagIsRetained() throws Exception {
+        final ResultPartitionID partitionId = new ResultPartitionID();
+
+        try (PartitionWriter writer = client.createPartitionWriter(partitionId, 1)) {
+            final Buffer buffer = createBuffer(1, 100);
+            buffer.setCompressed(true);
+            writer.writeBuffer(0, buffer);
+            writer.commit();
+        }
+
+        try (SubpartitionReader reader = client.createSubpartitionReader(partitionId, 0)) {
+            final Buffer buffer =
+                    reader.readBuffer(
+                            MemorySegmentFactory.allocateUnpooledSegment(BUFFER_SIZE), RECYCLER);
+            assertThat(buffer.isCompressed(), is(true));
+            assertThat(buffer.isBuffer(), is(true));
+        }
+    }
+
+    private void assertPartitionNotFound(ResultPartitionID partitionId) throws IOException {
+        try {
+            client.createSubpartitionReader(partitionId, 0).close();
+            fail("Expected a PartitionNotFoundException.");
+        } catch (PartitionNotFoundException e) {
+            assertThat(e.getPartitionId(), is(partitionId));
+        }
+    }
+
+    private static Buffer createBuffer(int value, int size) {
+        final byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (value + i);
+        }
+        return new NetworkBuffer(
+                MemorySegmentFactory.wrap(bytes),
+                FreeingBufferRecycler.INSTANCE,
+                Buffer.DataType.DATA_BUFFER,
+                size);
+    }
+
+    private static void assertBuffer(Buffer buffer, int value, int size) {
+        final Buffer expected = createBuffer(value, size);
+        assertThat(buffer.isBuffer(), is(true));
+        assertThat(buffer.readableBytes(), is(size));
+
+        final byte[] bytes = new byte[size];
+        buffer.getNioBufferReadable().get(bytes);
+        assertArrayEquals(expected.getMemorySegment().getArray(), bytes);
+        buffer.recycleBuffer();
+    }
+
+    private static void assertEndOfPartition(Buffer buffer) throws IOException {
+        assertThat(buffer.isBuffer(), is(false));
+        assertThat(
+                EventSerializer.fromBuffer(buffer, ShuffleWorkerTest.class.getClassLoader()),
+                instanceOf(EndOfPartitionEvent.class));
+    }
+}
@@ -18,8 +18,11 @@
 
 package org.apache.flink.runtime.state;
 
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
 import org.apache.flink.core.fs.Path;
 import org.apache.flink.runtime.state.hashmap.HashMapStateBackend;
+import org.apache.flink.runtime.state.hashmap.HashMapStateBackendOptions;
 import org.apache.flink.runtime.state.storage.FileSystemCheckpointStorage;
 import org.apache.flink.runtime.state.storage.JobManagerCheckpointStorage;
 import org.apache.flink.util.function.SupplierWithException;
@@ -46,30 +49,36 @@ public class HashMapStateBackendTest extends StateBackendTestBase<HashMapStateBa
 
     @Parameterized.Parameters
     public static List<Object[]> modes() {
+        SupplierWithException<CheckpointStorage, IOException> jobManagerStorage =
+                JobManagerCheckpointStorage::new;
+        SupplierWithException<CheckpointStorage, IOException> fileSystemStorage =
+                () -> {
+                    String checkpointPath = TEMP_FOLDER.newFolder().toURI().toString();
+                    return new FileSystemCheckpointStorage(new Path(checkpointPath), 0, -1);
+                };
         return Arrays.asList(
                 new Object[][] {
-                    {
-                        (SupplierWithException<CheckpointStorage, IOException>)
-                                JobManagerCheckpointStorage::new
-                    },
-                    {
-                        (SupplierWithException<CheckpointStorage, IOException>)
-                                () -> {
-                                    String checkpointPath =
-                                            TEMP_FOLDER.newFolder().toURI().toString();
-                                    return new FileSystemCheckpointStorage(
-                                            new Path(checkpointPath), 0, -1);
-                                }
-                    }
+                    {jobManagerStorage, false},
+                    {fileSystemStorage, false},
+                    {fileSystemStorage, true}
                 });
     }
 
-    @Parameterized.Parameter
+    @Parameterized.Parameter(0)
     public SupplierWithException<CheckpointStorage, IOException> storageSupplier;
 
+    /** Whether value, reducing and aggregating state is kept off-heap. */
+    @Parameterized.Parameter(1)
+    public boolean offHeap;
+
     @Override
     protected ConfigurableStateBackend getStateBackend() {
-        return new HashMapStateBackend();
+        Configuration configuration = new Configuration();
+        configuration.set(HashMapStateBackendOptions.OFF_HEAP_ENABLED, offHeap);
+        configuration.set(
+                HashMapStateBackendOptions.OFF_HEAP_CHUNK_SIZE, MemorySize.ofMebiBytes(1));
+        return new HashMapStateBackend()
+                .configure(configuration, Thread.currentThread().getContextClassLoader());
     }
 
     @Override
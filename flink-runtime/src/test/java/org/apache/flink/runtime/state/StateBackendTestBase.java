@@ -3618,6 +3618,55 @@ public abstract class StateBackendTestBase<B extends AbstractStateBackend> exten
         }
     }
 
+    /**
+     * Verify that the batch access methods of a {@code ValueState} read and write the given keys
+     * independent of the current key.
+     */
+    @Test
+    public void testValueStateBatchAccess() throws Exception {
+        ValueStateDescriptor<String> kvId = new ValueStateDescriptor<>("id", String.class, "Hello");
+
+        CheckpointableKeyedStateBackend<Integer> backend =
+                createKeyedBackend(IntSerializer.INSTANCE);
+        try {
+            ValueState<String> state =
+                    backend.getPartitionedState(
+                            VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, kvId);
+            @SuppressWarnings("unchecked")
+            InternalKvState<Integer, VoidNamespace, String> kvState =
+                    (InternalKvState<Integer, VoidNamespace, String>) state;
+            assumeTrue(kvState.isBatchAccessSupported());
+
+            backend.setCurrentKey(1);
+            state.update("1");
+            backend.setCurrentKey(3);
+            state.update("3");
+
+            kvState.multiPut(
+                    Arrays.asList(
+                            new StateEntry.SimpleStateEntry<>(2, VoidNamespace.INSTANCE, "2"),
+                            new StateEntry.SimpleStateEntry<>(3, VoidNamespace.INSTANCE, null),
+                            new StateEntry.SimpleStateEntry<>(4, VoidNamespace.INSTANCE, "4")));
+
+            List<Tuple2<Integer, VoidNamespace>> keysAndNamespaces = new ArrayList<>();
+            for (int key = 1; key <= 5; key++) {
+                keysAndNamespaces.add(Tuple2.of(key, VoidNamespace.INSTANCE));
+            }
+            assertEquals(
+                    Arrays.asList("1", "2", "Hello", "4", "Hello"),
+                    kvState.multiGet(keysAndNamespaces));
+
+            // the current key is not changed by the batch access
+            assertEquals(Integer.valueOf(3), backend.getCurrentKey());
+            assertEquals("Hello", state.value());
+            backend.setCurrentKey(4);
+            assertEquals("4", state.value());
+        } finally {
+            IOUtils.closeQuietly(backend);
+            backend.dispose();
+        }
+    }
+
     /** Verify that an empty {@code ValueState} will yield the default value. */
     @Test
     public void testValueStateDefaultValue() throws Exception {
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.heap.space.SegmentChunkAllocator;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link OffHeapCopyOnWriteStateMap}. */
+public class OffHeapCopyOnWriteStateMapTest extends TestLogger {
+
+    private static final int NUMBER_OF_KEYS = 10_000;
+
+    private SegmentChunkAllocator allocator;
+
+    private OffHeapCopyOnWriteStateMap<Integer, Integer, String> stateMap;
+
+    @Before
+    public void setUp() {
+        allocator = SegmentChunkAllocator.forOffHeapMemory(1 << 16);
+        stateMap =
+                new OffHeapCopyOnWriteStateMap<>(
+                        allocator,
+                        IntSerializer.INSTANCE,
+                        IntSerializer.INSTANCE,
+                        StringSerializer.INSTANCE);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        allocator.close();
+    }
+
+    @Test
+    public void testPutGetAndRemove() {
+        assertNull(stateMap.get(1, 1));
+        assertEquals(0, allocator.getUsedBytes());
+
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            stateMap.put(key, 1, "value-" + key);
+            stateMap.put(key, 2, "other-" + key);
+        }
+        assertEquals(2 * NUMBER_OF_KEYS, stateMap.size());
+        assertEquals(NUMBER_OF_KEYS, stateMap.sizeOfNamespace(1));
+        assertEquals("value-7", stateMap.putAndGetOld(7, 1, "new-7"));
+
+        // removals shift the following records of the probe sequences
+        for (int key = 0; key < NUMBER_OF_KEYS; key += 3) {
+            assertEquals(key == 7 ? "new-7" : "value-" + key, stateMap.removeAndGetOld(key, 1));
+            stateMap.remove(key, 2);
+        }
+
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            if (key % 3 == 0) {
+                assertFalse(stateMap.containsKey(key, 1));
+                assertNull(stateMap.get(key, 2));
+            } else {
+                assertEquals(key == 7 ? "new-7" : "value-" + key, stateMap.get(key, 1));
+                assertEquals("other-" + key, stateMap.get(key, 2));
+            }
+        }
+        assertEquals(2 * (NUMBER_OF_KEYS - (NUMBER_OF_KEYS + 2) / 3), stateMap.size());
+
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            stateMap.remove(key, 1);
+            stateMap.remove(key, 2);
+        }
+        assertTrue(stateMap.isEmpty());
+        assertFalse(stateMap.iterator().hasNext());
+    }
+
+    @Test
+    public void testTransform() throws Exception {
+        stateMap.transform(1, 1, "a", (previous, value) -> previous == null ? value : null);
+        stateMap.transform(1, 1, "b", (previous, value) -> previous + value);
+        assertEquals("ab", stateMap.get(1, 1));
+        assertEquals(1, stateMap.size());
+    }
+
+    @Test
+    public void testUpdateInPlaceWithoutSnapshot() {
+        stateMap.put(1, 1, "aaaa");
+        long usedBytes = allocator.getUsedBytes();
+
+        stateMap.put(1, 1, "bbbb");
+        assertEquals(usedBytes, allocator.getUsedBytes());
+        assertEquals("bbbb", stateMap.get(1, 1));
+
+        // a state of another length needs a new record, the previous one is freed right away
+        stateMap.put(1, 1, "c");
+        assertEquals("c", stateMap.get(1, 1));
+        assertEquals(0, stateMap.getNumberOfRetiredRecords());
+    }
+
+    @Test
+    public void testGetKeys() {
+        for (int key = 0; key < 100; key++) {
+            stateMap.put(key, key % 2, String.valueOf(key));
+        }
+
+        try (Stream<Integer> keys = stateMap.getKeys(1)) {
+            assertEquals(50, keys.filter(key -> key % 2 == 1).count());
+        }
+        assertEquals(50, stateMap.sizeOfNamespace(0));
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByModifications() {
+        Map<Integer, String> expected = new HashMap<>();
+        for (int key = 0; key < 1000; key++) {
+            stateMap.put(key, 1, "value-" + key);
+            expected.put(key, "value-" + key);
+        }
+
+        OffHeapCopyOnWriteStateMapSnapshot<Integer, Integer, String> snapshot =
+                stateMap.stateSnapshot();
+
+        for (int key = 0; key < 1000; key++) {
+            if (key % 4 == 0) {
+                stateMap.remove(key, 1);
+            } else if (key % 4 == 1) {
+                // same length, would be updated in place without the snapshot
+                stateMap.put(key, 1, "VALUE-" + key);
+            } else {
+                stateMap.put(key, 1, "other value " + key);
+            }
+        }
+        for (int key = 1000; key < 5000; key++) {
+            stateMap.put(key, 1, "value-" + key);
+        }
+        assertEquals(1000, stateMap.getNumberOfRetiredRecords());
+
+        assertEquals(expected, readSnapshot(snapshot));
+
+        // the records are modified in place after the snapshot was released
+        snapshot.release();
+        stateMap.put(1, 1, "value-1");
+        assertEquals(0, stateMap.getNumberOfRetiredRecords());
+        stateMap.put(1, 1, "VALUE-1");
+        assertEquals(0, stateMap.getNumberOfRetiredRecords());
+
+        assertEquals(4750, stateMap.size());
+        assertNull(stateMap.get(0, 1));
+        assertEquals("VALUE-1", stateMap.get(1, 1));
+        assertEquals("other value 2", stateMap.get(2, 1));
+        assertEquals("value-4999", stateMap.get(4999, 1));
+    }
+
+    @Test
+    public void testRetiredRecordsAreFreedAfterAllReadingSnapshots() {
+        stateMap.put(1, 1, "a");
+        OffHeapCopyOnWriteStateMapSnapshot<Integer, Integer, String> first =
+                stateMap.stateSnapshot();
+        stateMap.put(1, 1, "b");
+        OffHeapCopyOnWriteStateMapSnapshot<Integer, Integer, String> second =
+                stateMap.stateSnapshot();
+        stateMap.put(1, 1, "c");
+        assertEquals(2, stateMap.getNumberOfRetiredRecords());
+
+        // the record of "b" is still read by the second snapshot
+        first.release();
+        stateMap.put(2, 1, "d");
+        assertEquals(1, stateMap.getNumberOfRetiredRecords());
+        assertEquals(Collections.singletonMap(1, "b"), readSnapshot(second));
+
+        second.release();
+        stateMap.put(2, 1, "e");
+        assertEquals(0, stateMap.getNumberOfRetiredRecords());
+    }
+
+    @Test
+    public void testWriteStateInHeapFormat() throws Exception {
+        CopyOnWriteStateMap<Integer, Integer, String> heapStateMap =
+                new CopyOnWriteStateMap<>(StringSerializer.INSTANCE);
+        for (int key = 0; key < 1000; key++) {
+            stateMap.put(key, key % 3, "value-" + key);
+            heapStateMap.put(key, key % 3, "value-" + key);
+        }
+
+        OffHeapCopyOnWriteStateMapSnapshot<Integer, Integer, String> snapshot =
+                stateMap.stateSnapshot();
+        CopyOnWriteStateMapSnapshot<Integer, Integer, String> heapSnapshot =
+                heapStateMap.stateSnapshot();
+        try {
+            assertEquals(readWrittenState(heapSnapshot), readWrittenState(snapshot));
+        } finally {
+            snapshot.release();
+            heapSnapshot.release();
+        }
+    }
+
+    @Test
+    public void testCloseReleasesMemoryAfterSnapshots() {
+        for (int key = 0; key < 1000; key++) {
+            stateMap.put(key, 1, "value-" + key);
+        }
+        OffHeapCopyOnWriteStateMapSnapshot<Integer, Integer, String> snapshot =
+                stateMap.stateSnapshot();
+        stateMap.put(1, 1, "other");
+
+        stateMap.close();
+        assertTrue(allocator.getUsedBytes() > 0);
+        assertEquals(1000, readSnapshot(snapshot).size());
+
+        snapshot.release();
+        assertEquals(0, allocator.getUsedBytes());
+    }
+
+    private static Map<Integer, String> readSnapshot(
+            StateMapSnapshot<Integer, Integer, String, ?> snapshot) {
+        Map<Integer, String> result = new HashMap<>();
+        Iterator<StateEntry<Integer, Integer, String>> iterator =
+                snapshot.getIterator(
+                        IntSerializer.INSTANCE,
+                        IntSerializer.INSTANCE,
+                        StringSerializer.INSTANCE,
+                        null);
+        while (iterator.hasNext()) {
+            StateEntry<Integer, Integer, String> entry = iterator.next();
+            result.put(entry.getKey(), entry.getState());
+        }
+        return result;
+    }
+
+    private static Map<String, String> readWrittenState(
+            StateMapSnapshot<Integer, Integer, String, ?> snapshot) throws Exception {
+        DataOutputSerializer output = new DataOutputSerializer(1024);
+        snapshot.writeState(
+                IntSerializer.INSTANCE,
+                IntSerializer.INSTANCE,
+                StringSerializer.INSTANCE,
+                output,
+                null);
+
+        DataInputDeserializer input = new DataInputDeserializer(output.getCopyOfBuffer());
+        int numberOfEntries = input.readInt();
+        Map<String, String> result = new HashMap<>();
+        for (int i = 0; i < numberOfEntries; i++) {
+            int namespace = IntSerializer.INSTANCE.deserialize(input);
+            int key = IntSerializer.INSTANCE.deserialize(input);
+            result.put(key + "/" + namespace, StringSerializer.INSTANCE.deserialize(input));
+        }
+        assertEquals(0, input.available());
+        return result;
+    }
+}
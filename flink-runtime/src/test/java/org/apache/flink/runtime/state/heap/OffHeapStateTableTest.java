@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.heap.space.SegmentChunkAllocator;
+import org.apache.flink.runtime.state.internal.InternalKvState.StateIncrementalVisitor;
+import org.apache.flink.util.IOUtils;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link OffHeapStateTable}. */
+public class OffHeapStateTableTest extends TestLogger {
+
+    private static final int NUMBER_OF_KEY_GROUPS = 8;
+
+    private static final int NUMBER_OF_KEYS = 1000;
+
+    private static final int NAMESPACE = 1;
+
+    private SegmentChunkAllocator allocator;
+
+    private OffHeapStateTable<Integer, Integer, String> stateTable;
+
+    @Before
+    public void setUp() {
+        allocator = SegmentChunkAllocator.forOffHeapMemory(1 << 16);
+        stateTable =
+                new OffHeapStateTable<>(
+                        new MockInternalKeyContext<>(
+                                0, NUMBER_OF_KEY_GROUPS - 1, NUMBER_OF_KEY_GROUPS),
+                        createMetaInfo(),
+                        IntSerializer.INSTANCE,
+                        allocator);
+
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            stateTable.put(key, getKeyGroup(key), NAMESPACE, String.valueOf(key));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        IOUtils.closeQuietly(allocator);
+    }
+
+    @Test
+    public void testSupportedStateTypes() {
+        assertTrue(OffHeapStateTable.isSupported(StateDescriptor.Type.VALUE));
+        assertTrue(OffHeapStateTable.isSupported(StateDescriptor.Type.REDUCING));
+        assertTrue(OffHeapStateTable.isSupported(StateDescriptor.Type.AGGREGATING));
+        assertFalse(OffHeapStateTable.isSupported(StateDescriptor.Type.LIST));
+        assertFalse(OffHeapStateTable.isSupported(StateDescriptor.Type.MAP));
+    }
+
+    @Test
+    public void testStateIsOffHeap() {
+        assertEquals(NUMBER_OF_KEYS, stateTable.size());
+        assertTrue(allocator.getUsedBytes() > 0L);
+        for (StateMap<Integer, Integer, String> stateMap : stateTable.getState()) {
+            assertTrue(stateMap instanceof OffHeapCopyOnWriteStateMap);
+        }
+
+        StateIncrementalVisitor<Integer, Integer, String> visitor =
+                stateTable.getStateIncrementalVisitor(10);
+        Map<Integer, String> visitedState = new HashMap<>();
+        while (visitor.hasNext()) {
+            for (StateEntry<Integer, Integer, String> entry : visitor.nextEntries()) {
+                visitedState.put(entry.getKey(), entry.getState());
+                if (entry.getKey() % 2 == 0) {
+                    visitor.remove(entry);
+                }
+            }
+        }
+
+        assertEquals(NUMBER_OF_KEYS, visitedState.size());
+        assertEquals(NUMBER_OF_KEYS / 2, stateTable.size());
+    }
+
+    @Test
+    public void testKeepStateMapsOnMetaInfoChange() {
+        StateMap<Integer, Integer, String> previousStateMap = stateTable.getMapForKeyGroup(0);
+        long usedBytes = allocator.getUsedBytes();
+
+        RegisteredKeyValueStateBackendMetaInfo<Integer, String> metaInfo = createMetaInfo();
+        assertTrue(
+                metaInfo.updateStateSerializer(StringSerializer.INSTANCE).isCompatibleAsIs());
+        stateTable.setMetaInfo(metaInfo);
+
+        // re-registering with a compatible serializer does not copy the state
+        assertSame(previousStateMap, stateTable.getMapForKeyGroup(0));
+        assertEquals(usedBytes, allocator.getUsedBytes());
+        assertEquals(NUMBER_OF_KEYS, stateTable.size());
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            assertEquals(String.valueOf(key), stateTable.get(key, NAMESPACE));
+        }
+    }
+
+    @Test
+    public void testReserializeStateOnMigration() {
+        OffHeapStateTableSnapshot<Integer, Integer, String> snapshot = stateTable.stateSnapshot();
+        StateMap<Integer, Integer, String> previousStateMap = stateTable.getMapForKeyGroup(0);
+
+        stateTable.setMetaInfo(createMetaInfo());
+        stateTable.migrateStateMaps();
+
+        assertTrue(previousStateMap != stateTable.getMapForKeyGroup(0));
+        assertEquals(NUMBER_OF_KEYS, stateTable.size());
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            assertEquals(String.valueOf(key), stateTable.get(key, NAMESPACE));
+        }
+
+        // the previous maps are kept for the running snapshot
+        Map<Integer, String> snapshotState = new HashMap<>();
+        for (int keyGroup = 0; keyGroup < NUMBER_OF_KEY_GROUPS; keyGroup++) {
+            Iterator<StateEntry<Integer, Integer, String>> iterator =
+                    snapshot.getIterator(keyGroup);
+            while (iterator.hasNext()) {
+                StateEntry<Integer, Integer, String> entry = iterator.next();
+                snapshotState.put(entry.getKey(), entry.getState());
+            }
+        }
+        assertEquals(NUMBER_OF_KEYS, snapshotState.size());
+
+        long usedBytes = allocator.getUsedBytes();
+        snapshot.release();
+        assertTrue(allocator.getUsedBytes() < usedBytes);
+    }
+
+    private static RegisteredKeyValueStateBackendMetaInfo<Integer, String> createMetaInfo() {
+        return new RegisteredKeyValueStateBackendMetaInfo<>(
+                StateDescriptor.Type.VALUE,
+                "test",
+                IntSerializer.INSTANCE,
+                StringSerializer.INSTANCE);
+    }
+
+    private static int getKeyGroup(int key) {
+        return KeyGroupRangeAssignment.assignToKeyGroup(key, NUMBER_OF_KEY_GROUPS);
+    }
+}
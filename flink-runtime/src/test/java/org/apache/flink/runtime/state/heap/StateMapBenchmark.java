@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.heap.space.SegmentChunkAllocator;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * The benchmark of the accesses to a {@link CopyOnWriteStateMap} and an {@link
+ * OffHeapCopyOnWriteStateMap} with long keys and values, which is the common case of value and
+ * reducing state. Gets and puts access random existing keys, a snapshot is created and fully
+ * written.
+ */
+public class StateMapBenchmark {
+
+    private final boolean offHeap;
+
+    private final Random random = new Random(42);
+
+    private SegmentChunkAllocator allocator;
+
+    private StateMap<Long, VoidNamespace, Long> stateMap;
+
+    private int numberOfKeys;
+
+    private DataOutputSerializer snapshotOutput;
+
+    public StateMapBenchmark(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public void setup(int numberOfKeys) {
+        this.numberOfKeys = numberOfKeys;
+        if (offHeap) {
+            allocator = SegmentChunkAllocator.forOffHeapMemory(4 * 1024 * 1024);
+            stateMap =
+                    new OffHeapCopyOnWriteStateMap<>(
+                            allocator,
+                            LongSerializer.INSTANCE,
+                            VoidNamespaceSerializer.INSTANCE,
+                            LongSerializer.INSTANCE);
+        } else {
+            stateMap = new CopyOnWriteStateMap<>(LongSerializer.INSTANCE);
+        }
+
+        for (long key = 0; key < numberOfKeys; key++) {
+            stateMap.put(key, VoidNamespace.INSTANCE, key);
+        }
+        snapshotOutput = new DataOutputSerializer(1024 * 1024);
+    }
+
+    /** Gets the values of random keys and returns their sum. */
+    public long get(int numberOfAccesses) {
+        long sum = 0L;
+        for (int i = 0; i < numberOfAccesses; i++) {
+            sum += stateMap.get((long) random.nextInt(numberOfKeys), VoidNamespace.INSTANCE);
+        }
+        return sum;
+    }
+
+    /** Increments the values of random keys. */
+    public void put(int numberOfAccesses) {
+        for (int i = 0; i < numberOfAccesses; i++) {
+            long key = random.nextInt(numberOfKeys);
+            stateMap.put(key, VoidNamespace.INSTANCE, key + 1);
+        }
+    }
+
+    /** Creates a snapshot, writes it and returns the number of written bytes. */
+    public int snapshot() throws IOException {
+        StateMapSnapshot<Long, VoidNamespace, Long, ? extends StateMap<Long, VoidNamespace, Long>>
+                snapshot = stateMap.stateSnapshot();
+        try {
+            snapshotOutput.clear();
+            snapshot.writeState(
+                    LongSerializer.INSTANCE,
+                    VoidNamespaceSerializer.INSTANCE,
+                    LongSerializer.INSTANCE,
+                    snapshotOutput,
+                    null);
+            return snapshotOutput.length();
+        } finally {
+            snapshot.release();
+        }
+    }
+
+    public void teardown() throws IOException {
+        stateMap = null;
+        if (allocator != null) {
+            allocator.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link StateMapBenchmark}, which also log the time per get, put and snapshot of the
+ * heap and the off-heap state map.
+ */
+public class StateMapBenchmarkTest extends TestLogger {
+
+    private static final int NUMBER_OF_KEYS = 200_000;
+
+    private static final int NUMBER_OF_ACCESSES = 1_000_000;
+
+    /** Namespace, key and value of an entry in the written snapshot, plus the entry count. */
+    private static final int EXPECTED_SNAPSHOT_SIZE = Integer.BYTES + NUMBER_OF_KEYS * 17;
+
+    @Test
+    public void benchmarkHeapStateMap() throws Exception {
+        runBenchmark(false);
+    }
+
+    @Test
+    public void benchmarkOffHeapStateMap() throws Exception {
+        runBenchmark(true);
+    }
+
+    private void runBenchmark(boolean offHeap) throws Exception {
+        StateMapBenchmark benchmark = new StateMapBenchmark(offHeap);
+        try {
+            benchmark.setup(NUMBER_OF_KEYS);
+
+            long start = System.nanoTime();
+            long sum = benchmark.get(NUMBER_OF_ACCESSES);
+            long getNanos = System.nanoTime() - start;
+            assertTrue(sum > 0L);
+
+            start = System.nanoTime();
+            benchmark.put(NUMBER_OF_ACCESSES);
+            long putNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int snapshotSize = benchmark.snapshot();
+            long snapshotNanos = System.nanoTime() - start;
+            assertEquals(EXPECTED_SNAPSHOT_SIZE, snapshotSize);
+
+            log.info(
+                    "Off-heap: {}, get: {} ns, put: {} ns, snapshot of {} keys: {} ms.",
+                    offHeap,
+                    getNanos / NUMBER_OF_ACCESSES,
+                    putNanos / NUMBER_OF_ACCESSES,
+                    NUMBER_OF_KEYS,
+                    snapshotNanos / 1_000_000);
+        } finally {
+            benchmark.teardown();
+        }
+    }
+}
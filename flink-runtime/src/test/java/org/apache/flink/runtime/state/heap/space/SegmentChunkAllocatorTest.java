@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap.space;
+
+import org.apache.flink.core.memory.MemorySegment;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link SegmentChunkAllocator}. */
+public class SegmentChunkAllocatorTest extends TestLogger {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testAllocateAndAccessSpace() throws Exception {
+        File directory = new File(temporaryFolder.getRoot(), "chunks");
+        try (SegmentChunkAllocator allocator =
+                SegmentChunkAllocator.forFiles(directory, CHUNK_SIZE)) {
+            // the directory is only created on the first allocation
+            assertFalse(directory.exists());
+
+            long[] addresses = new long[100];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = allocator.allocate(100);
+                writeInt(allocator, addresses[i], i);
+            }
+
+            // 100 bytes and the header take a block of 128 bytes, 32 of which fit into a chunk
+            assertEquals(4, allocator.getNumberOfChunks());
+            assertEquals(100 * 128, allocator.getUsedBytes());
+            for (int i = 0; i < addresses.length; i++) {
+                assertEquals(i, readInt(allocator, addresses[i]));
+            }
+        }
+        assertFalse(directory.exists());
+    }
+
+    @Test
+    public void testReuseFreedSpace() throws Exception {
+        try (SegmentChunkAllocator allocator =
+                SegmentChunkAllocator.forFiles(temporaryFolder.newFolder(), CHUNK_SIZE)) {
+            long[] addresses = new long[64];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = allocator.allocate(60);
+            }
+            assertEquals(1, allocator.getNumberOfChunks());
+
+            allocator.free(addresses[10]);
+            allocator.free(addresses[20]);
+            assertEquals(62 * 64, allocator.getUsedBytes());
+
+            // the freed blocks are reused before a new chunk is created
+            long first = allocator.allocate(50);
+            long second = allocator.allocate(33);
+            assertTrue(first == addresses[10] || first == addresses[20]);
+            assertTrue(second == addresses[10] || second == addresses[20]);
+            assertNotEquals(first, second);
+            assertEquals(1, allocator.getNumberOfChunks());
+
+            // a block of another size class does not fit into the freed blocks
+            allocator.allocate(10);
+            assertEquals(2, allocator.getNumberOfChunks());
+        }
+    }
+
+    @Test
+    public void testDedicatedChunkForLargeAllocation() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        try (SegmentChunkAllocator allocator =
+                SegmentChunkAllocator.forFiles(directory, CHUNK_SIZE)) {
+            allocator.allocate(10);
+            long address = allocator.allocate(3 * CHUNK_SIZE);
+            writeInt(allocator, address, 42);
+            writeInt(allocator, address + 3 * CHUNK_SIZE - Integer.BYTES, 43);
+            assertEquals(42, readInt(allocator, address));
+            assertEquals(2, allocator.getNumberOfChunks());
+            assertEquals(2, directory.list().length);
+
+            // the dedicated chunk is deleted as soon as its allocation is freed
+            allocator.free(address);
+            assertEquals(1, allocator.getNumberOfChunks());
+            assertEquals(1, directory.list().length);
+        }
+    }
+
+    @Test
+    public void testOffHeapChunks() throws Exception {
+        try (SegmentChunkAllocator allocator =
+                SegmentChunkAllocator.forOffHeapMemory(CHUNK_SIZE)) {
+            long address = allocator.allocate(100);
+            long largeAddress = allocator.allocate(2 * CHUNK_SIZE);
+            writeInt(allocator, address, 42);
+            writeInt(allocator, largeAddress + 2 * CHUNK_SIZE - Integer.BYTES, 43);
+            assertEquals(42, readInt(allocator, address));
+            assertEquals(43, readInt(allocator, largeAddress + 2 * CHUNK_SIZE - Integer.BYTES));
+            assertTrue(
+                    allocator
+                            .getChunkById(SpaceUtils.getChunkIdByAddress(address))
+                            .getMemorySegment(0)
+                            .isOffHeap());
+            assertEquals(2, allocator.getNumberOfChunks());
+
+            allocator.free(largeAddress);
+            allocator.free(address);
+            assertEquals(1, allocator.getNumberOfChunks());
+            assertEquals(0, allocator.getUsedBytes());
+        }
+    }
+
+    private static void writeInt(Allocator allocator, long address, int value) {
+        Chunk chunk = allocator.getChunkById(SpaceUtils.getChunkIdByAddress(address));
+        int offsetInChunk = SpaceUtils.getChunkOffsetByAddress(address);
+        MemorySegment segment = chunk.getMemorySegment(offsetInChunk);
+        segment.putInt(chunk.getOffsetInSegment(offsetInChunk), value);
+    }
+
+    private static int readInt(Allocator allocator, long address) {
+        Chunk chunk = allocator.getChunkById(SpaceUtils.getChunkIdByAddress(address));
+        int offsetInChunk = SpaceUtils.getChunkOffsetByAddress(address);
+        MemorySegment segment = chunk.getMemorySegment(offsetInChunk);
+        return segment.getInt(chunk.getOffsetInSegment(offsetInChunk));
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.flink.api.common.time.Time;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.state.KeyedStateHandle;
 import org.apache.flink.runtime.state.SnapshotResult;
+import org.apache.flink.runtime.state.StateEntry;
 import org.apache.flink.runtime.state.heap.AbstractHeapState;
 import org.apache.flink.runtime.state.heap.CopyOnWriteStateMap;
 import org.apache.flink.runtime.state.internal.InternalKvState;
@@ -37,7 +38,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.RunnableFuture;
 import java.util.function.Consumer;
@@ -346,6 +349,110 @@ public abstract class TtlStateTestBase {
                 mctx().get());
     }
 
+    @Test
+    public void testBatchExpiration() throws Exception {
+        assumeThat(ctx, instanceOf(TtlValueStateTestContext.class));
+        initTest(
+                StateTtlConfig.UpdateType.OnCreateAndWrite,
+                StateTtlConfig.StateVisibility.NeverReturnExpired);
+        assumeTrue(valueState().isBatchAccessSupported());
+
+        timeProvider.time = 0;
+        valueState().multiPut(Arrays.asList(entry("k1", "v1"), entry("k2", "v2")));
+
+        takeAndRestoreSnapshot();
+
+        timeProvider.time = 50;
+        valueState().multiPut(Arrays.asList(entry("k2", "v3"), entry("k3", "v4")));
+
+        timeProvider.time = 120;
+        assertEquals(
+                Arrays.asList(null, "v3", "v4", null),
+                valueState().multiGet(keys("k1", "k2", "k3", "k4")));
+        sbetc.setCurrentKey("k1");
+        assertTrue("Original state should be cleared on access", ctx().isOriginalEmptyValue());
+
+        valueState().multiPut(Collections.singletonList(entry("k3", null)));
+        assertEquals(Arrays.asList("v3", null), valueState().multiGet(keys("k2", "k3")));
+
+        timeProvider.time = 170;
+        assertEquals(Arrays.asList(null, null), valueState().multiGet(keys("k2", "k3")));
+        sbetc.setCurrentKey("k2");
+        assertTrue("Original state should be cleared on access", ctx().isOriginalEmptyValue());
+    }
+
+    @Test
+    public void testBatchRenewalOnRead() throws Exception {
+        assumeThat(ctx, instanceOf(TtlValueStateTestContext.class));
+        initTest(
+                StateTtlConfig.UpdateType.OnReadAndWrite,
+                StateTtlConfig.StateVisibility.NeverReturnExpired);
+        assumeTrue(valueState().isBatchAccessSupported());
+
+        timeProvider.time = 0;
+        valueState().multiPut(Arrays.asList(entry("k1", "v1"), entry("k2", "v2")));
+
+        timeProvider.time = 50;
+        assertEquals(Collections.singletonList("v1"), valueState().multiGet(keys("k1")));
+
+        takeAndRestoreSnapshot();
+
+        timeProvider.time = 120;
+        assertEquals(
+                "Unexpired state should be available after read",
+                Arrays.asList("v1", null),
+                valueState().multiGet(keys("k1", "k2")));
+
+        timeProvider.time = 250;
+        assertEquals(Collections.singletonList(null), valueState().multiGet(keys("k1")));
+        sbetc.setCurrentKey("k1");
+        assertTrue("Original state should be cleared on access", ctx().isOriginalEmptyValue());
+    }
+
+    @Test
+    public void testBatchReturnExpired() throws Exception {
+        assumeThat(ctx, instanceOf(TtlValueStateTestContext.class));
+        initTest(
+                StateTtlConfig.UpdateType.OnCreateAndWrite,
+                StateTtlConfig.StateVisibility.ReturnExpiredIfNotCleanedUp);
+        assumeTrue(valueState().isBatchAccessSupported());
+
+        timeProvider.time = 0;
+        valueState().multiPut(Arrays.asList(entry("k1", "v1"), entry("k2", "v2")));
+
+        timeProvider.time = 50;
+        valueState().multiPut(Collections.singletonList(entry("k2", "v3")));
+
+        timeProvider.time = 120;
+        assertEquals(
+                EXPIRED_AVAIL,
+                Arrays.asList("v1", "v3"),
+                valueState().multiGet(keys("k1", "k2")));
+        sbetc.setCurrentKey("k1");
+        assertTrue("Original state should be cleared on access", ctx().isOriginalEmptyValue());
+        assertEquals(
+                "Expired state should be cleared on access",
+                Arrays.asList(null, "v3"),
+                valueState().multiGet(keys("k1", "k2")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private TtlValueState<String, String, String> valueState() {
+        return (TtlValueState<String, String, String>) ctx.ttlState;
+    }
+
+    private StateEntry<String, String, String> entry(String key, String value) {
+        return new StateEntry.SimpleStateEntry<>(key, ctx.currentNamespace, value);
+    }
+
+    private List<Tuple2<String, String>> keys(String... keys) {
+        List<Tuple2<String, String>> keysAndNamespaces = new ArrayList<>(keys.length);
+        for (String key : keys) {
+            keysAndNamespaces.add(Tuple2.of(key, ctx.currentNamespace));
+        }
+        return keysAndNamespaces;
+    }
+
     @Test
     public void testMultipleKeys() throws Exception {
         initTest();
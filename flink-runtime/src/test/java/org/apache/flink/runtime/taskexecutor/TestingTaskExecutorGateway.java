@@ -82,6 +82,9 @@ public class TestingTaskExecutorGateway implements TaskExecutorGateway {
     private final BiFunction<AllocationID, Throwable, CompletableFuture<Acknowledge>>
             freeSlotFunction;
 
+    private final BiFunction<AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+            resizeSlotFunction;
+
     private final Consumer<JobID> freeInactiveSlotsConsumer;
 
     private final Function<ResourceID, CompletableFuture<Void>> heartbeatResourceManagerFunction;
@@ -139,6 +142,8 @@ public class TestingTaskExecutorGateway implements TaskExecutorGateway {
                             CompletableFuture<Acknowledge>>
                     requestSlotFunction,
             BiFunction<AllocationID, Throwable, CompletableFuture<Acknowledge>> freeSlotFunction,
+            BiFunction<AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+                    resizeSlotFunction,
             Consumer<JobID> freeInactiveSlotsConsumer,
             Function<ResourceID, CompletableFuture<Void>> heartbeatResourceManagerFunction,
             Consumer<Exception> disconnectResourceManagerConsumer,
@@ -173,6 +178,7 @@ public class TestingTaskExecutorGateway implements TaskExecutorGateway {
         this.submitTaskConsumer = Preconditions.checkNotNull(submitTaskConsumer);
         this.requestSlotFunction = Preconditions.checkNotNull(requestSlotFunction);
         this.freeSlotFunction = Preconditions.checkNotNull(freeSlotFunction);
+        this.resizeSlotFunction = Preconditions.checkNotNull(resizeSlotFunction);
         this.freeInactiveSlotsConsumer = Preconditions.checkNotNull(freeInactiveSlotsConsumer);
         this.heartbeatResourceManagerFunction = heartbeatResourceManagerFunction;
         this.disconnectResourceManagerConsumer = disconnectResourceManagerConsumer;
@@ -297,6 +303,12 @@ public class TestingTaskExecutorGateway implements TaskExecutorGateway {
         return freeSlotFunction.apply(allocationId, cause);
     }
 
+    @Override
+    public CompletableFuture<Acknowledge> resizeSlot(
+            AllocationID allocationId, ResourceProfile resourceProfile, Time timeout) {
+        return resizeSlotFunction.apply(allocationId, resourceProfile);
+    }
+
     @Override
     public void freeInactiveSlots(JobID jobId, Time timeout) {
         freeInactiveSlotsConsumer.accept(jobId);
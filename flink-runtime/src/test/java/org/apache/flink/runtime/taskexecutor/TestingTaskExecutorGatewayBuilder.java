@@ -72,6 +72,10 @@ public class TestingTaskExecutorGatewayBuilder {
     private static final BiFunction<AllocationID, Throwable, CompletableFuture<Acknowledge>>
             NOOP_FREE_SLOT_FUNCTION =
                     (ignoredA, ignoredB) -> CompletableFuture.completedFuture(Acknowledge.get());
+    private static final BiFunction<
+                    AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+            NOOP_RESIZE_SLOT_FUNCTION =
+                    (ignoredA, ignoredB) -> CompletableFuture.completedFuture(Acknowledge.get());
     private static final Consumer<JobID> NOOP_FREE_INACTIVE_SLOTS_CONSUMER = ignored -> {};
     private static final Function<ResourceID, CompletableFuture<Void>>
             NOOP_HEARTBEAT_RESOURCE_MANAGER_FUNCTION = ignored -> FutureUtils.completedVoidFuture();
@@ -122,6 +126,8 @@ public class TestingTaskExecutorGatewayBuilder {
             requestSlotFunction = NOOP_REQUEST_SLOT_FUNCTION;
     private BiFunction<AllocationID, Throwable, CompletableFuture<Acknowledge>> freeSlotFunction =
             NOOP_FREE_SLOT_FUNCTION;
+    private BiFunction<AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+            resizeSlotFunction = NOOP_RESIZE_SLOT_FUNCTION;
     private Consumer<JobID> freeInactiveSlotsConsumer = NOOP_FREE_INACTIVE_SLOTS_CONSUMER;
     private Function<ResourceID, CompletableFuture<Void>> heartbeatResourceManagerFunction =
             NOOP_HEARTBEAT_RESOURCE_MANAGER_FUNCTION;
@@ -209,6 +215,13 @@ public class TestingTaskExecutorGatewayBuilder {
         return this;
     }
 
+    public TestingTaskExecutorGatewayBuilder setResizeSlotFunction(
+            BiFunction<AllocationID, ResourceProfile, CompletableFuture<Acknowledge>>
+                    resizeSlotFunction) {
+        this.resizeSlotFunction = resizeSlotFunction;
+        return this;
+    }
+
     public TestingTaskExecutorGatewayBuilder setFreeInactiveSlotsConsumer(
             Consumer<JobID> freeInactiveSlotsConsumer) {
         this.freeInactiveSlotsConsumer = freeInactiveSlotsConsumer;
@@ -302,6 +315,7 @@ public class TestingTaskExecutorGatewayBuilder {
                 submitTaskConsumer,
                 requestSlotFunction,
                 freeSlotFunction,
+                resizeSlotFunction,
                 freeInactiveSlotsConsumer,
                 heartbeatResourceManagerFunction,
                 disconnectResourceManagerConsumer,
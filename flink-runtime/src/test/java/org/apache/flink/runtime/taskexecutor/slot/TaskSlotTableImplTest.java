@@ -312,6 +312,67 @@ public class TaskSlotTableImplTest extends TestLogger {
         }
     }
 
+    @Test
+    public void testResizeSlot() throws Exception {
+        try (final TaskSlotTable<TaskSlotPayload> taskSlotTable = createTaskSlotTableAndStart(2)) {
+            final JobID jobId = new JobID();
+            final AllocationID allocationId = new AllocationID();
+            final ResourceProfile resourceProfile = TaskSlotUtils.DEFAULT_RESOURCE_PROFILE;
+            final ResourceProfile resizedResourceProfile = resourceProfile.merge(resourceProfile);
+
+            assertThat(
+                    taskSlotTable.allocateSlot(
+                            -1, jobId, allocationId, resourceProfile, SLOT_TIMEOUT),
+                    is(true));
+            assertThat(taskSlotTable.resizeSlot(allocationId, resizedResourceProfile), is(true));
+
+            final TaskSlot<TaskSlotPayload> taskSlot =
+                    taskSlotTable.getAllocatedSlots(jobId).next();
+            assertThat(taskSlot.getResourceProfile(), is(resizedResourceProfile));
+            assertThat(
+                    taskSlot.getMemoryManager().getMemorySize(),
+                    is(resizedResourceProfile.getManagedMemory().getBytes()));
+            // the slot is still offered and reported with the allocated resource profile
+            assertThat(taskSlot.generateSlotOffer().getResourceProfile(), is(resourceProfile));
+            for (SlotStatus slotStatus : taskSlotTable.createSlotReport(ResourceID.generate())) {
+                if (allocationId.equals(slotStatus.getAllocationID())) {
+                    assertThat(slotStatus.getResourceProfile(), is(resourceProfile));
+                }
+            }
+            // no resources are left for another slot
+            assertThat(
+                    taskSlotTable.allocateSlot(
+                            -1, new JobID(), new AllocationID(), resourceProfile, SLOT_TIMEOUT),
+                    is(false));
+        }
+    }
+
+    @Test
+    public void testResizeSlotBeyondTotalResourceFails() throws Exception {
+        try (final TaskSlotTable<TaskSlotPayload> taskSlotTable = createTaskSlotTableAndStart(2)) {
+            final JobID jobId = new JobID();
+            final AllocationID allocationId = new AllocationID();
+            final ResourceProfile resourceProfile = TaskSlotUtils.DEFAULT_RESOURCE_PROFILE;
+
+            assertThat(
+                    taskSlotTable.allocateSlot(
+                            -1, jobId, allocationId, resourceProfile, SLOT_TIMEOUT),
+                    is(true));
+            assertThat(
+                    taskSlotTable.resizeSlot(
+                            allocationId,
+                            resourceProfile.merge(resourceProfile).merge(resourceProfile)),
+                    is(false));
+
+            final TaskSlot<TaskSlotPayload> taskSlot =
+                    taskSlotTable.getAllocatedSlots(jobId).next();
+            assertThat(taskSlot.getResourceProfile(), is(resourceProfile));
+            assertThat(
+                    taskSlot.getMemoryManager().getMemorySize(),
+                    is(resourceProfile.getManagedMemory().getBytes()));
+        }
+    }
+
     @Test
     public void testGenerateSlotReport() throws Exception {
         try (final TaskSlotTable<TaskSlotPayload> taskSlotTable = createTaskSlotTableAndStart(3)) {
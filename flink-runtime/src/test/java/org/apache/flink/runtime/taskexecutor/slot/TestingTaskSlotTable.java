@@ -123,6 +123,11 @@ public class TestingTaskSlotTable<T extends TaskSlotPayload> implements TaskSlot
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public boolean resizeSlot(AllocationID allocationId, ResourceProfile resourceProfile) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public int freeSlot(AllocationID allocationId, Throwable cause) {
         throw new UnsupportedOperationException();
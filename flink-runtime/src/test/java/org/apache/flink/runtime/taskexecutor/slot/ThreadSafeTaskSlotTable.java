@@ -126,6 +126,12 @@ public class ThreadSafeTaskSlotTable<T extends TaskSlotPayload> implements TaskS
         return callAsync(() -> taskSlotTable.markSlotInactive(allocationId, slotTimeout));
     }
 
+    @Override
+    public boolean resizeSlot(AllocationID allocationId, ResourceProfile resourceProfile)
+            throws SlotNotFoundException {
+        return callAsync(() -> taskSlotTable.resizeSlot(allocationId, resourceProfile));
+    }
+
     @Override
     public int freeSlot(AllocationID allocationId) throws SlotNotFoundException {
         return callAsync(() -> taskSlotTable.freeSlot(allocationId));
@@ -18,14 +18,18 @@
 
 package org.apache.flink.runtime.throughput;
 
+import org.apache.flink.configuration.TaskManagerOptions.BufferDebloatController;
 import org.apache.flink.util.TestLogger;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.OptionalInt;
 
 import static org.apache.flink.configuration.TaskManagerOptions.BUFFER_DEBLOAT_THRESHOLD_PERCENTAGES;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -212,6 +216,121 @@ public class BufferDebloaterTest extends TestLogger {
         assertFalse(bufferDebloater.skipUpdate(minBufferSize - 1));
     }
 
+    @Test
+    public void testAIMDController() {
+        final BufferDebloater bufferDebloater =
+                new BufferDebloater(0, 1000, 1100, 50, 25, 4, false, BufferDebloatController.AIMD);
+
+        // the buffer size is halved until it reaches the desired size
+        assertThat(bufferDebloater.recalculateBufferSize(400, 2), is(OptionalInt.of(550)));
+        assertThat(bufferDebloater.getLastDesiredBufferSize(), is(200L));
+        assertThat(bufferDebloater.recalculateBufferSize(400, 2), is(OptionalInt.of(275)));
+        assertThat(bufferDebloater.recalculateBufferSize(400, 2), is(OptionalInt.of(200)));
+
+        // and grows by a quarter of the max buffer size afterwards
+        assertThat(bufferDebloater.recalculateBufferSize(2000, 2), is(OptionalInt.of(475)));
+        assertThat(bufferDebloater.getLastDesiredBufferSize(), is(1000L));
+    }
+
+    @Test
+    public void testDemandedNumberOfBuffers() {
+        final BufferDebloater bufferDebloater = new BufferDebloater(0, 1000, 1100, 50, 25, 1);
+
+        // the buffer size can't go below 50 bytes, so only half of the buffers are needed
+        assertThat(bufferDebloater.recalculateBufferSize(100, 4), is(OptionalInt.of(50)));
+        assertThat(bufferDebloater.calculateDemandedNumberOfBuffers(8), is(4));
+
+        bufferDebloater.recalculateBufferSize(0, 4);
+        assertThat(bufferDebloater.calculateDemandedNumberOfBuffers(8), is(0));
+
+        // never more buffers than available even if more in-flight data is desired
+        bufferDebloater.recalculateBufferSize(10000, 4);
+        assertThat(bufferDebloater.calculateDemandedNumberOfBuffers(8), is(8));
+    }
+
+    @Test
+    public void testDemandedNumberOfBuffersSkipsSmallChanges() {
+        final BufferDebloater bufferDebloater = new BufferDebloater(0, 1000, 1100, 50, 25, 1);
+
+        bufferDebloater.recalculateBufferSize(100, 4);
+        assertThat(bufferDebloater.recalculateDemandedNumberOfBuffers(64), is(OptionalInt.of(32)));
+
+        // the demand changes by less than 25% of the last demand
+        bufferDebloater.recalculateBufferSize(110, 4);
+        assertThat(bufferDebloater.recalculateDemandedNumberOfBuffers(64), is(OptionalInt.empty()));
+
+        bufferDebloater.recalculateBufferSize(150, 4);
+        assertThat(bufferDebloater.recalculateDemandedNumberOfBuffers(64), is(OptionalInt.of(48)));
+
+        // all buffers are demanded again regardless of the threshold
+        bufferDebloater.recalculateBufferSize(10000, 4);
+        assertThat(bufferDebloater.recalculateDemandedNumberOfBuffers(64), is(OptionalInt.of(64)));
+    }
+
+    @Test
+    public void testChannelBufferSizesFollowSkew() {
+        final BufferDebloater bufferDebloater =
+                new BufferDebloater(0, 1000, 1100, 50, 25, 1, true);
+        final int[] announcedBufferSizes = new int[3];
+
+        // channel 0 receives most of the data while channel 2 is idle
+        bufferDebloater.recalculateChannelBufferSizes(
+                1200,
+                new long[] {500, 100, 0},
+                new int[] {2, 2, 2},
+                (channelIndex, newBufferSize) ->
+                        announcedBufferSizes[channelIndex] = newBufferSize);
+
+        assertThat(announcedBufferSizes[0], is(500));
+        assertThat(announcedBufferSizes[1], is(100));
+        assertThat(announcedBufferSizes[2], is(50));
+        assertThat(bufferDebloater.getLastBufferSize(), is(500));
+        // 2 * (500 + 100 + 50) bytes in flight consumed at 1200 bytes per second
+        assertThat(bufferDebloater.getLastEstimatedTimeToConsumeBuffers().toMillis(), is(1083L));
+    }
+
+    @Test
+    public void testChannelBufferSizesAreAnnouncedOnlyOnChange() {
+        final BufferDebloater bufferDebloater =
+                new BufferDebloater(0, 1000, 1100, 50, 25, 1, true);
+        final List<Integer> announcedChannels = new ArrayList<>();
+
+        bufferDebloater.recalculateChannelBufferSizes(
+                1000,
+                new long[] {500, 500},
+                new int[] {1, 1},
+                (channelIndex, newBufferSize) -> announcedChannels.add(channelIndex));
+        assertThat(announcedChannels, contains(0, 1));
+
+        // only the throughput of channel 1 changes
+        announcedChannels.clear();
+        bufferDebloater.recalculateChannelBufferSizes(
+                600,
+                new long[] {500, 100},
+                new int[] {1, 1},
+                (channelIndex, newBufferSize) -> announcedChannels.add(channelIndex));
+        assertThat(announcedChannels, contains(1));
+        assertThat(bufferDebloater.getLastChannelBufferSize(0), is(500));
+        assertThat(bufferDebloater.getLastChannelBufferSize(1), is(100));
+    }
+
+    @Test
+    public void testChannelThroughputIsSplitEvenlyWithoutData() {
+        final BufferDebloater bufferDebloater =
+                new BufferDebloater(0, 1000, 1100, 50, 25, 1, true);
+        final int[] announcedBufferSizes = new int[2];
+
+        bufferDebloater.recalculateChannelBufferSizes(
+                1000,
+                new long[] {0, 0},
+                new int[] {1, 1},
+                (channelIndex, newBufferSize) ->
+                        announcedBufferSizes[channelIndex] = newBufferSize);
+
+        assertThat(announcedBufferSizes[0], is(500));
+        assertThat(announcedBufferSizes[1], is(500));
+    }
+
     public static BufferDebloaterTestBuilder testBufferDebloater() {
         return new BufferDebloaterTestBuilder();
     }
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.throughput;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/** Test for {@link BufferSizeAIMD}. */
+public class BufferSizeAIMDTest extends TestLogger {
+
+    @Test
+    public void testCalculationBufferSize() {
+        BufferSizeAIMD calculator = new BufferSizeAIMD(200, 10, 4);
+
+        // Decrease at once to the desired value if it is not less than half of the current one.
+        assertThat(calculator.calculateBufferSize(700, 7), is(100));
+        assertThat(calculator.calculateBufferSize(560, 7), is(80));
+
+        // Increase by the additive step but never beyond the desired value.
+        assertThat(calculator.calculateBufferSize(700, 7), is(100));
+        assertThat(calculator.calculateBufferSize(1400, 7), is(150));
+        assertThat(calculator.calculateBufferSize(1400, 7), is(200));
+    }
+
+    @Test
+    public void testSizeGreaterThanMaxSize() {
+        BufferSizeAIMD calculator = new BufferSizeAIMD(200, 10, 4);
+
+        assertThat(calculator.calculateBufferSize(0, 1), is(100));
+
+        // Impossible to exceed maximum.
+        assertThat(calculator.calculateBufferSize(1000, 1), is(150));
+        assertThat(calculator.calculateBufferSize(1000, 1), is(200));
+        assertThat(calculator.calculateBufferSize(1000, 1), is(200));
+    }
+
+    @Test
+    public void testSizeLessThanMinSize() {
+        BufferSizeAIMD calculator = new BufferSizeAIMD(200, 10, 4);
+
+        // Impossible to less than min.
+        assertThat(calculator.calculateBufferSize(0, 1), is(100));
+        assertThat(calculator.calculateBufferSize(0, 1), is(50));
+        assertThat(calculator.calculateBufferSize(0, 1), is(25));
+        assertThat(calculator.calculateBufferSize(0, 1), is(12));
+        assertThat(calculator.calculateBufferSize(0, 1), is(10));
+        assertThat(calculator.calculateBufferSize(0, 1), is(10));
+
+        assertThat(calculator.calculateBufferSize(1000, 1), is(60));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTotalSize() {
+        BufferSizeAIMD calculator = new BufferSizeAIMD(200, 10, 2);
+        calculator.calculateBufferSize(-1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroBuffers() {
+        BufferSizeAIMD calculator = new BufferSizeAIMD(200, 10, 2);
+        calculator.calculateBufferSize(1, 0);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.throughput;
+
+import org.apache.flink.configuration.TaskManagerOptions.BufferDebloatController;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Compares the {@link BufferSizeController controllers} of the buffer debloating on synthetic
+ * step, burst and sawtooth loads.
+ *
+ * <p>Every period, the controller calculates the buffer size from the throughput of this period.
+ * The buffer size is then used during the next period, which determines how long it takes to
+ * consume the in-flight data and how much of the throughput can't be covered by the in-flight data
+ * within the target time.
+ */
+public class BufferSizeControllerComparisonTest extends TestLogger {
+
+    private static final int MAX_BUFFER_SIZE = 32768;
+    private static final int MIN_BUFFER_SIZE = 256;
+    private static final int NUMBER_OF_SAMPLES = 20;
+    private static final int BUFFERS_IN_USE = 100;
+    private static final long TARGET_MILLIS = 1000;
+
+    private static final long HIGH_THROUGHPUT = 3_000_000;
+    private static final long LOW_THROUGHPUT = 300_000;
+
+    @Test
+    public void testStepLoad() {
+        long[] throughput = new long[100];
+        Arrays.fill(throughput, 0, 50, HIGH_THROUGHPUT);
+        Arrays.fill(throughput, 50, 100, LOW_THROUGHPUT);
+
+        SimulationResult ema = simulate(BufferDebloatController.EMA, throughput);
+        SimulationResult aimd = simulate(BufferDebloatController.AIMD, throughput);
+        log.info("Step load: EMA {}, AIMD {}", ema, aimd);
+
+        assertThat(aimd.convergencePeriods, lessThan(ema.convergencePeriods));
+        assertThat(aimd.targetViolations, lessThan(ema.targetViolations));
+    }
+
+    @Test
+    public void testBurstLoad() {
+        long[] throughput = new long[100];
+        Arrays.fill(throughput, LOW_THROUGHPUT);
+        for (int i = 10; i < throughput.length; i += 10) {
+            throughput[i] = HIGH_THROUGHPUT;
+        }
+
+        SimulationResult ema = simulate(BufferDebloatController.EMA, throughput);
+        SimulationResult aimd = simulate(BufferDebloatController.AIMD, throughput);
+        log.info("Burst load: EMA {}, AIMD {}", ema, aimd);
+
+        assertThat(aimd.targetViolations, lessThan(ema.targetViolations));
+    }
+
+    @Test
+    public void testSawtoothLoad() {
+        long[] throughput = new long[100];
+        for (int i = 0; i < throughput.length; i++) {
+            throughput[i] = LOW_THROUGHPUT + (HIGH_THROUGHPUT - LOW_THROUGHPUT) * (i % 20) / 19;
+        }
+
+        SimulationResult ema = simulate(BufferDebloatController.EMA, throughput);
+        SimulationResult aimd = simulate(BufferDebloatController.AIMD, throughput);
+        log.info("Sawtooth load: EMA {}, AIMD {}", ema, aimd);
+
+        assertThat(aimd.targetViolations, lessThanOrEqualTo(ema.targetViolations));
+        assertThat(aimd.throughputLoss, lessThan(ema.throughputLoss + 0.05));
+    }
+
+    private static SimulationResult simulate(
+            BufferDebloatController controllerType, long[] throughput) {
+        BufferSizeController controller =
+                BufferDebloater.createBufferSizeController(
+                        controllerType, MAX_BUFFER_SIZE, MIN_BUFFER_SIZE, NUMBER_OF_SAMPLES);
+
+        int convergencePeriods = 0;
+        int targetViolations = 0;
+        double uncoveredThroughput = 0;
+        double totalThroughput = 0;
+
+        int bufferSize = MAX_BUFFER_SIZE;
+        for (int period = 0; period < throughput.length; period++) {
+            if (period > 0) {
+                // The buffer size calculated in the previous period is used in this period.
+                long inFlightData = (long) bufferSize * BUFFERS_IN_USE;
+                if (inFlightData * 1000 / throughput[period] > 2 * TARGET_MILLIS) {
+                    targetViolations++;
+                }
+                uncoveredThroughput +=
+                        Math.max(0, throughput[period] - inFlightData * 1000 / TARGET_MILLIS);
+                totalThroughput += throughput[period];
+            }
+
+            long desiredTotalBufferSize = throughput[period] * TARGET_MILLIS / 1000;
+            bufferSize = controller.calculateBufferSize(desiredTotalBufferSize, BUFFERS_IN_USE);
+
+            long desiredBufferSize =
+                    Math.max(
+                            MIN_BUFFER_SIZE,
+                            Math.min(MAX_BUFFER_SIZE, desiredTotalBufferSize / BUFFERS_IN_USE));
+            if (Math.abs(bufferSize - desiredBufferSize) > desiredBufferSize / 10) {
+                // Converged only if the buffer size stays close to the desired one afterwards.
+                convergencePeriods = period + 1;
+            }
+        }
+
+        return new SimulationResult(
+                convergencePeriods, targetViolations, uncoveredThroughput / totalThroughput);
+    }
+
+    private static class SimulationResult {
+        /** The number of periods until the buffer size stays close to the desired one. */
+        private final int convergencePeriods;
+
+        /** The number of periods in which the in-flight data exceeded twice the target time. */
+        private final int targetViolations;
+
+        /** The share of the throughput which wasn't covered by the in-flight data. */
+        private final double throughputLoss;
+
+        private SimulationResult(
+                int convergencePeriods, int targetViolations, double throughputLoss) {
+            this.convergencePeriods = convergencePeriods;
+            this.targetViolations = targetViolations;
+            this.throughputLoss = throughputLoss;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "convergencePeriods=%d, targetViolations=%d, throughputLoss=%.3f",
+                    convergencePeriods, targetViolations, throughputLoss);
+        }
+    }
+}
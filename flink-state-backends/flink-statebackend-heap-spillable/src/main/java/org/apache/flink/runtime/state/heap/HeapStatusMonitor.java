@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+
+/**
+ * Samples the heap usage and the time spent in garbage collection of the JVM. The {@link
+ * SpillAndLoadManager} uses the samples to decide whether state needs to be moved off the heap.
+ */
+class HeapStatusMonitor {
+
+    private final MemoryMXBean memoryMXBean;
+
+    private final List<GarbageCollectorMXBean> garbageCollectorMXBeans;
+
+    /** The accumulated garbage collection time at the last sample. */
+    private long lastGcTimeMillis;
+
+    /** The wall clock time of the last sample. */
+    private long lastSampleTimeNanos;
+
+    HeapStatusMonitor() {
+        this.memoryMXBean = ManagementFactory.getMemoryMXBean();
+        this.garbageCollectorMXBeans = ManagementFactory.getGarbageCollectorMXBeans();
+        this.lastGcTimeMillis = getAccumulatedGcTimeMillis();
+        this.lastSampleTimeNanos = System.nanoTime();
+    }
+
+    /**
+     * Samples the current heap status. The GC time ratio covers the time since the previous sample.
+     */
+    HeapStatus getHeapStatus() {
+        MemoryUsage heapUsage = memoryMXBean.getHeapMemoryUsage();
+        long maxHeapBytes = heapUsage.getMax() > 0 ? heapUsage.getMax() : heapUsage.getCommitted();
+        double heapUsageRatio = (double) heapUsage.getUsed() / maxHeapBytes;
+
+        long gcTimeMillis = getAccumulatedGcTimeMillis();
+        long sampleTimeNanos = System.nanoTime();
+        long elapsedMillis = (sampleTimeNanos - lastSampleTimeNanos) / 1_000_000L;
+        double gcTimeRatio =
+                elapsedMillis > 0
+                        ? Math.min(1.0, (double) (gcTimeMillis - lastGcTimeMillis) / elapsedMillis)
+                        : 0.0;
+        lastGcTimeMillis = gcTimeMillis;
+        lastSampleTimeNanos = sampleTimeNanos;
+
+        return new HeapStatus(heapUsageRatio, gcTimeRatio);
+    }
+
+    private long getAccumulatedGcTimeMillis() {
+        long gcTimeMillis = 0L;
+        for (GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+            // the collection time is -1 if it is undefined for this collector
+            gcTimeMillis += Math.max(0L, garbageCollectorMXBean.getCollectionTime());
+        }
+        return gcTimeMillis;
+    }
+
+    /** A sample of the heap status. */
+    static final class HeapStatus {
+
+        /** The used heap relative to the maximum heap size. */
+        private final double heapUsageRatio;
+
+        /** The share of the time which was spent in garbage collection since the last sample. */
+        private final double gcTimeRatio;
+
+        HeapStatus(double heapUsageRatio, double gcTimeRatio) {
+            this.heapUsageRatio = heapUsageRatio;
+            this.gcTimeRatio = gcTimeRatio;
+        }
+
+        double getHeapUsageRatio() {
+            return heapUsageRatio;
+        }
+
+        double getGcTimeRatio() {
+            return gcTimeRatio;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "HeapStatus{heapUsageRatio=%.3f, gcTimeRatio=%.3f}",
+                    heapUsageRatio, gcTimeRatio);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.runtime.state.heap.HeapStatusMonitor.HeapStatus;
+import org.apache.flink.util.Preconditions;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Decides which key groups of the {@link SpillableStateTable SpillableStateTables} of a backend are
+ * kept on the heap. The manager periodically samples the heap status, and spills the least recently
+ * accessed key groups while the heap usage or the time spent in garbage collection exceeds its
+ * thresholds. The tables load spilled key groups back on access.
+ *
+ * <p>The check is piggybacked on the state accesses of the task thread, so no synchronization is
+ * needed. To keep the overhead per access low, the time is only looked at every {@link
+ * #accessesPerTimeCheck} accesses.
+ */
+class SpillAndLoadManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpillAndLoadManager.class);
+
+    /** The default number of state accesses between two looks at the time. */
+    static final int DEFAULT_ACCESSES_PER_TIME_CHECK = 1024;
+
+    private final HeapStatusMonitor heapStatusMonitor;
+
+    /** The minimum time between two checks of the heap status. */
+    private final long checkIntervalNanos;
+
+    /** The heap usage ratio above which key groups are spilled. */
+    private final double heapUsageThreshold;
+
+    /** The GC time ratio above which key groups are spilled. */
+    private final double gcTimeThreshold;
+
+    /** The share of the key groups on the heap which is spilled per check. */
+    private final double spillRatio;
+
+    private final int accessesPerTimeCheck;
+
+    private final List<SpillableStateTable<?, ?, ?>> stateTables;
+
+    private int accessesSinceTimeCheck;
+
+    private long lastCheckNanos;
+
+    SpillAndLoadManager(
+            HeapStatusMonitor heapStatusMonitor,
+            long checkIntervalMillis,
+            double heapUsageThreshold,
+            double gcTimeThreshold,
+            double spillRatio,
+            int accessesPerTimeCheck) {
+        Preconditions.checkArgument(checkIntervalMillis >= 0L, "Negative check interval.");
+        Preconditions.checkArgument(
+                spillRatio > 0.0 && spillRatio <= 1.0,
+                "The spill ratio must be in (0, 1], but is %s.",
+                spillRatio);
+        Preconditions.checkArgument(accessesPerTimeCheck > 0, "Invalid number of accesses.");
+        this.heapStatusMonitor = Preconditions.checkNotNull(heapStatusMonitor);
+        this.checkIntervalNanos = checkIntervalMillis * 1_000_000L;
+        this.heapUsageThreshold = heapUsageThreshold;
+        this.gcTimeThreshold = gcTimeThreshold;
+        this.spillRatio = spillRatio;
+        this.accessesPerTimeCheck = accessesPerTimeCheck;
+        this.stateTables = new ArrayList<>();
+        this.accessesSinceTimeCheck = 0;
+        this.lastCheckNanos = System.nanoTime();
+    }
+
+    void register(SpillableStateTable<?, ?, ?> stateTable) {
+        stateTables.add(stateTable);
+    }
+
+    /** Called by the tables on every state access. */
+    void onStateAccess() {
+        if (++accessesSinceTimeCheck < accessesPerTimeCheck) {
+            return;
+        }
+        accessesSinceTimeCheck = 0;
+
+        long now = System.nanoTime();
+        if (now - lastCheckNanos >= checkIntervalNanos) {
+            lastCheckNanos = now;
+            checkHeapStatus();
+        }
+    }
+
+    @VisibleForTesting
+    void checkHeapStatus() {
+        HeapStatus heapStatus = heapStatusMonitor.getHeapStatus();
+        if (heapStatus.getHeapUsageRatio() > heapUsageThreshold
+                || heapStatus.getGcTimeRatio() > gcTimeThreshold) {
+            spillColdKeyGroups(heapStatus);
+        }
+
+        for (SpillableStateTable<?, ?, ?> stateTable : stateTables) {
+            stateTable.releaseRetiredStateMaps();
+            stateTable.decayAccessCounts();
+        }
+    }
+
+    private void spillColdKeyGroups(HeapStatus heapStatus) {
+        List<KeyGroupCandidate> candidates = new ArrayList<>();
+        for (SpillableStateTable<?, ?, ?> stateTable : stateTables) {
+            for (int pos = 0; pos < stateTable.getNumberOfKeyGroups(); pos++) {
+                if (stateTable.canSpillKeyGroup(pos)) {
+                    candidates.add(
+                            new KeyGroupCandidate(stateTable, pos, stateTable.getAccessCount(pos)));
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        candidates.sort(Comparator.comparingInt(candidate -> candidate.accessCount));
+        int numberToSpill = (int) Math.ceil(candidates.size() * spillRatio);
+        for (int i = 0; i < numberToSpill; i++) {
+            KeyGroupCandidate candidate = candidates.get(i);
+            candidate.stateTable.spillKeyGroup(candidate.pos);
+        }
+
+        LOG.debug(
+                "Spilled {} of {} key groups on the heap because of {}.",
+                numberToSpill,
+                candidates.size(),
+                heapStatus);
+    }
+
+    /** A key group on the heap which may be spilled. */
+    private static final class KeyGroupCandidate {
+
+        private final SpillableStateTable<?, ?, ?> stateTable;
+
+        private final int pos;
+
+        private final int accessCount;
+
+        private KeyGroupCandidate(
+                SpillableStateTable<?, ?, ?> stateTable, int pos, int accessCount) {
+            this.stateTable = stateTable;
+            this.pos = pos;
+            this.accessCount = accessCount;
+        }
+    }
+}
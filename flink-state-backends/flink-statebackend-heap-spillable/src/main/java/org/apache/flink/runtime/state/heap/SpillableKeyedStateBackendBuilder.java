@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.runtime.query.TaskKvStateRegistry;
+import org.apache.flink.runtime.state.BackendBuildingException;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.LocalRecoveryConfig;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.StreamCompressionDecorator;
+import org.apache.flink.runtime.state.heap.space.Allocator;
+import org.apache.flink.runtime.state.heap.space.SegmentChunkAllocator;
+import org.apache.flink.runtime.state.metrics.LatencyTrackingStateConfig;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Builder class for a {@link HeapKeyedStateBackend} whose state tables are {@link
+ * SpillableStateTable SpillableStateTables}, or {@link OffHeapStateTable OffHeapStateTables} for
+ * the supported state types if off-heap state is enabled.
+ *
+ * @param <K> The data type that the key serializer serializes.
+ */
+public class SpillableKeyedStateBackendBuilder<K> extends HeapKeyedStateBackendBuilder<K> {
+
+    /** The directory for the files of the spilled state. */
+    private final File spillDirectory;
+
+    /** The configuration of spilling. */
+    private final SpillableStateBackend.SpillConfig spillConfig;
+
+    public SpillableKeyedStateBackendBuilder(
+            TaskKvStateRegistry kvStateRegistry,
+            TypeSerializer<K> keySerializer,
+            ClassLoader userCodeClassLoader,
+            int numberOfKeyGroups,
+            KeyGroupRange keyGroupRange,
+            ExecutionConfig executionConfig,
+            TtlTimeProvider ttlTimeProvider,
+            LatencyTrackingStateConfig latencyTrackingStateConfig,
+            @Nonnull Collection<KeyedStateHandle> stateHandles,
+            StreamCompressionDecorator keyGroupCompressionDecorator,
+            LocalRecoveryConfig localRecoveryConfig,
+            HeapPriorityQueueSetFactory priorityQueueSetFactory,
+            boolean asynchronousSnapshots,
+            CloseableRegistry cancelStreamRegistry,
+            File spillDirectory,
+            SpillableStateBackend.SpillConfig spillConfig) {
+        super(
+                kvStateRegistry,
+                keySerializer,
+                userCodeClassLoader,
+                numberOfKeyGroups,
+                keyGroupRange,
+                executionConfig,
+                ttlTimeProvider,
+                latencyTrackingStateConfig,
+                stateHandles,
+                keyGroupCompressionDecorator,
+                localRecoveryConfig,
+                priorityQueueSetFactory,
+                asynchronousSnapshots,
+                cancelStreamRegistry);
+        this.spillDirectory = spillDirectory;
+        this.spillConfig = spillConfig;
+    }
+
+    @Override
+    StateTableFactory<K> createStateTableFactory(CloseableRegistry cancelStreamRegistryForBackend)
+            throws BackendBuildingException {
+        SegmentChunkAllocator spillAllocator =
+                SegmentChunkAllocator.forFiles(spillDirectory, spillConfig.getChunkSize());
+        SegmentChunkAllocator offHeapAllocator =
+                spillConfig.isOffHeapEnabled()
+                        ? SegmentChunkAllocator.forOffHeapMemory(spillConfig.getOffHeapChunkSize())
+                        : null;
+        try {
+            cancelStreamRegistryForBackend.registerCloseable(spillAllocator);
+            if (offHeapAllocator != null) {
+                cancelStreamRegistryForBackend.registerCloseable(offHeapAllocator);
+            }
+        } catch (IOException e) {
+            throw new BackendBuildingException(
+                    "Failed to register the allocators for the state.", e);
+        }
+
+        SpillAndLoadManager spillAndLoadManager =
+                new SpillAndLoadManager(
+                        new HeapStatusMonitor(),
+                        spillConfig.getCheckIntervalMillis(),
+                        spillConfig.getHeapUsageThreshold(),
+                        spillConfig.getGcTimeThreshold(),
+                        spillConfig.getSpillRatio(),
+                        SpillAndLoadManager.DEFAULT_ACCESSES_PER_TIME_CHECK);
+        return new SpillableStateTableFactory<>(
+                spillAllocator, spillAndLoadManager, offHeapAllocator);
+    }
+
+    /**
+     * Creates {@link SpillableStateTable SpillableStateTables} which share one allocator, or {@link
+     * OffHeapStateTable OffHeapStateTables} which share another one.
+     */
+    private static final class SpillableStateTableFactory<K> implements StateTableFactory<K> {
+
+        private final Allocator spillAllocator;
+
+        private final SpillAndLoadManager spillAndLoadManager;
+
+        /** The allocator for the off-heap state, or null if off-heap state is disabled. */
+        @Nullable private final Allocator offHeapAllocator;
+
+        private SpillableStateTableFactory(
+                Allocator spillAllocator,
+                SpillAndLoadManager spillAndLoadManager,
+                @Nullable Allocator offHeapAllocator) {
+            this.spillAllocator = spillAllocator;
+            this.spillAndLoadManager = spillAndLoadManager;
+            this.offHeapAllocator = offHeapAllocator;
+        }
+
+        @Override
+        public <N, V> StateTable<K, N, V> newStateTable(
+                InternalKeyContext<K> keyContext,
+                RegisteredKeyValueStateBackendMetaInfo<N, V> keyValueStateMetaInfo,
+                TypeSerializer<K> keySerializer) {
+            if (offHeapAllocator != null
+                    && OffHeapStateTable.isSupported(keyValueStateMetaInfo.getStateType())) {
+                return new OffHeapStateTable<>(
+                        keyContext, keyValueStateMetaInfo, keySerializer, offHeapAllocator);
+            }
+
+            SpillableStateTable<K, N, V> stateTable =
+                    new SpillableStateTable<>(
+                            keyContext,
+                            keyValueStateMetaInfo,
+                            keySerializer,
+                            spillAllocator,
+                            spillAndLoadManager);
+            spillAndLoadManager.register(stateTable);
+            return stateTable;
+        }
+    }
+}
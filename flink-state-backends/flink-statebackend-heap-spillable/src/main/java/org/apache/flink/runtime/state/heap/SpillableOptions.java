@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.ConfigOptions;
+import org.apache.flink.configuration.MemorySize;
+
+import java.time.Duration;
+
+/** Configuration options for the {@link SpillableStateBackend}. */
+@PublicEvolving
+public class SpillableOptions {
+
+    /** The local directory (on the TaskManager) where the spilled state is placed. */
+    public static final ConfigOption<String> LOCAL_DIRECTORIES =
+            ConfigOptions.key("state.backend.spillable.localdir")
+                    .stringType()
+                    .noDefaultValue()
+                    .withDescription(
+                            "The local directories (on the TaskManager) where the spillable state backend places the files of the spilled state, separated by ',', '|', or the system's java.io.File.pathSeparator. Per default, the temporary directories of the TaskManager are used.");
+
+    /** The size of the memory-mapped files the spilled state is allocated from. */
+    public static final ConfigOption<MemorySize> CHUNK_SIZE =
+            ConfigOptions.key("state.backend.spillable.chunk-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("64mb"))
+                    .withDescription(
+                            "The size of the memory-mapped files the spilled state is allocated from. The size must be a power of two and at most 1 gb. State entries which do not fit into a file get a file of their own.");
+
+    /** The minimum time between two checks of the heap status. */
+    public static final ConfigOption<Duration> CHECK_INTERVAL =
+            ConfigOptions.key("state.backend.spillable.check-interval")
+                    .durationType()
+                    .defaultValue(Duration.ofSeconds(1))
+                    .withDescription(
+                            "The minimum time between two checks of the heap status, which decide whether key groups are spilled. The checks are done by the task thread while it accesses state.");
+
+    /** The heap usage ratio above which key groups are spilled. */
+    public static final ConfigOption<Double> HEAP_USAGE_THRESHOLD =
+            ConfigOptions.key("state.backend.spillable.heap-usage-threshold")
+                    .doubleType()
+                    .defaultValue(0.7)
+                    .withDescription(
+                            "The share of the maximum heap size which may be used before the least recently accessed key groups are spilled.");
+
+    /** The GC time ratio above which key groups are spilled. */
+    public static final ConfigOption<Double> GC_TIME_THRESHOLD =
+            ConfigOptions.key("state.backend.spillable.gc-time-threshold")
+                    .doubleType()
+                    .defaultValue(0.2)
+                    .withDescription(
+                            "The share of the time between two checks which may be spent in garbage collection before the least recently accessed key groups are spilled.");
+
+    /** The share of the key groups on the heap which is spilled per check. */
+    public static final ConfigOption<Double> SPILL_RATIO =
+            ConfigOptions.key("state.backend.spillable.spill-ratio")
+                    .doubleType()
+                    .defaultValue(0.1)
+                    .withDescription(
+                            "The share of the key groups on the heap which is spilled by a check that exceeds one of the thresholds. The key groups are spilled in the order of their recent accesses, starting with the least accessed one.");
+
+    /** Whether value, reducing and aggregating state is kept serialized in off-heap memory. */
+    public static final ConfigOption<Boolean> OFF_HEAP_ENABLED =
+            ConfigOptions.key("state.backend.spillable.off-heap.enabled")
+                    .booleanType()
+                    .defaultValue(false)
+                    .withDescription(
+                            "Whether value, reducing and aggregating state is kept in serialized form in off-heap memory instead of as objects on the JVM heap, which takes the state out of the scope of the garbage collector. The off-heap memory is direct memory and has to be covered by 'taskmanager.memory.task.off-heap.size'. List and map state always stays on the heap and is spilled if necessary.");
+
+    /** The size of the off-heap memory chunks the off-heap state is allocated from. */
+    public static final ConfigOption<MemorySize> OFF_HEAP_CHUNK_SIZE =
+            ConfigOptions.key("state.backend.spillable.off-heap.chunk-size")
+                    .memoryType()
+                    .defaultValue(MemorySize.parse("4mb"))
+                    .withDescription(
+                            "The size of the off-heap memory chunks the off-heap state is allocated from, if 'state.backend.spillable.off-heap.enabled' is set. The size must be a power of two and at most 1 gb. Every state backend allocates at least one chunk once it holds off-heap state.");
+}
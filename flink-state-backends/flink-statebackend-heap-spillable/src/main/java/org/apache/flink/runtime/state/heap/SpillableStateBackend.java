@@ -0,0 +1,318 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.PublicEvolving;
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.configuration.ConfigOption;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.IllegalConfigurationException;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.configuration.ReadableConfig;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.execution.Environment;
+import org.apache.flink.runtime.query.TaskKvStateRegistry;
+import org.apache.flink.runtime.state.AbstractKeyedStateBackend;
+import org.apache.flink.runtime.state.AbstractStateBackend;
+import org.apache.flink.runtime.state.BackendBuildingException;
+import org.apache.flink.runtime.state.ConfigurableStateBackend;
+import org.apache.flink.runtime.state.DefaultOperatorStateBackendBuilder;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.KeyedStateHandle;
+import org.apache.flink.runtime.state.LocalRecoveryConfig;
+import org.apache.flink.runtime.state.OperatorStateBackend;
+import org.apache.flink.runtime.state.OperatorStateHandle;
+import org.apache.flink.runtime.state.TaskStateManager;
+import org.apache.flink.runtime.state.metrics.LatencyTrackingStateConfig;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This state backend holds the working state in the memory (JVM heap) of the TaskManagers like the
+ * {@link org.apache.flink.runtime.state.hashmap.HashMapStateBackend}, but spills the state of the
+ * least recently accessed key groups into memory-mapped files on local disk when the heap runs
+ * short. Spilled key groups are loaded back onto the heap when they are accessed again.
+ *
+ * <h1>Spilling</h1>
+ *
+ * <p>The task thread periodically samples the heap usage and the time spent in garbage collection.
+ * If either exceeds its threshold, a share of the key groups on the heap is serialized into a
+ * {@link CopyOnWriteSkipListStateMap} whose space is allocated from the files. The state of a
+ * spilled key group is paged in and out by the operating system, so the aggregate state of the
+ * tasks may exceed the heap, as long as the accessed key groups fit into it.
+ *
+ * <h1>Checkpointing</h1>
+ *
+ * <p>Snapshots cover both the key groups on the heap and the spilled ones, and are written in the
+ * same format as the snapshots of the heap state backend. Hence savepoints and checkpoints can be
+ * restored by either backend.
+ *
+ * <h1>Off-heap state</h1>
+ *
+ * <p>Optionally, value, reducing and aggregating state is kept in {@link
+ * OffHeapCopyOnWriteStateMap OffHeapCopyOnWriteStateMaps}, which store the entries in serialized
+ * form in off-heap memory. Such state puts no load on the garbage collector and is never spilled.
+ *
+ * <h1>Configuration</h1>
+ *
+ * <p>The backend picks up its settings from the {@link SpillableOptions} in the Flink
+ * configuration via the {@link #configure(ReadableConfig, ClassLoader)} method.
+ */
+@PublicEvolving
+public class SpillableStateBackend extends AbstractStateBackend
+        implements ConfigurableStateBackend {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The maximum size of a chunk of spilled state. */
+    private static final MemorySize MAX_CHUNK_SIZE = MemorySize.ofMebiBytes(1024);
+
+    /** The local directories for the spilled state, or null to use the temporary directories. */
+    @Nullable private final File[] localDirectories;
+
+    /** The configuration of spilling. */
+    private final SpillConfig spillConfig;
+
+    // -----------------------------------------------------------------------
+
+    /** Creates a new state backend. */
+    public SpillableStateBackend() {
+        this.localDirectories = null;
+        this.spillConfig = SpillConfig.fromConfig(new Configuration());
+    }
+
+    private SpillableStateBackend(SpillableStateBackend original, ReadableConfig config) {
+        // configure latency tracking
+        latencyTrackingConfigBuilder = original.latencyTrackingConfigBuilder.configure(config);
+
+        this.localDirectories =
+                config.getOptional(SpillableOptions.LOCAL_DIRECTORIES)
+                        .map(SpillableStateBackend::parseLocalDirectories)
+                        .orElse(original.localDirectories);
+        this.spillConfig = SpillConfig.fromConfig(config);
+    }
+
+    @Override
+    public SpillableStateBackend configure(ReadableConfig config, ClassLoader classLoader)
+            throws IllegalConfigurationException {
+        return new SpillableStateBackend(this, config);
+    }
+
+    @Override
+    public boolean supportsNoClaimRestoreMode() {
+        // we never share any files, all snapshots are full
+        return true;
+    }
+
+    @Override
+    public <K> AbstractKeyedStateBackend<K> createKeyedStateBackend(
+            Environment env,
+            JobID jobID,
+            String operatorIdentifier,
+            TypeSerializer<K> keySerializer,
+            int numberOfKeyGroups,
+            KeyGroupRange keyGroupRange,
+            TaskKvStateRegistry kvStateRegistry,
+            TtlTimeProvider ttlTimeProvider,
+            MetricGroup metricGroup,
+            @Nonnull Collection<KeyedStateHandle> stateHandles,
+            CloseableRegistry cancelStreamRegistry)
+            throws IOException {
+
+        TaskStateManager taskStateManager = env.getTaskStateManager();
+        LocalRecoveryConfig localRecoveryConfig = taskStateManager.createLocalRecoveryConfig();
+        HeapPriorityQueueSetFactory priorityQueueSetFactory =
+                new HeapPriorityQueueSetFactory(keyGroupRange, numberOfKeyGroups, 128);
+
+        LatencyTrackingStateConfig latencyTrackingStateConfig =
+                latencyTrackingConfigBuilder.setMetricGroup(metricGroup).build();
+        return new SpillableKeyedStateBackendBuilder<>(
+                        kvStateRegistry,
+                        keySerializer,
+                        env.getUserCodeClassLoader().asClassLoader(),
+                        numberOfKeyGroups,
+                        keyGroupRange,
+                        env.getExecutionConfig(),
+                        ttlTimeProvider,
+                        latencyTrackingStateConfig,
+                        stateHandles,
+                        getCompressionDecorator(env.getExecutionConfig()),
+                        localRecoveryConfig,
+                        priorityQueueSetFactory,
+                        true,
+                        cancelStreamRegistry,
+                        getSpillDirectory(env, jobID, operatorIdentifier),
+                        spillConfig)
+                .build();
+    }
+
+    @Override
+    public OperatorStateBackend createOperatorStateBackend(
+            Environment env,
+            String operatorIdentifier,
+            @Nonnull Collection<OperatorStateHandle> stateHandles,
+            CloseableRegistry cancelStreamRegistry)
+            throws BackendBuildingException {
+
+        return new DefaultOperatorStateBackendBuilder(
+                        env.getUserCodeClassLoader().asClassLoader(),
+                        env.getExecutionConfig(),
+                        true,
+                        stateHandles,
+                        cancelStreamRegistry)
+                .build();
+    }
+
+    /** Returns a fresh directory for the spilled state of one keyed backend. */
+    private File getSpillDirectory(Environment env, JobID jobID, String operatorIdentifier) {
+        File[] directories =
+                localDirectories != null
+                        ? localDirectories
+                        : env.getIOManager().getSpillingDirectories();
+        File baseDirectory = directories[ThreadLocalRandom.current().nextInt(directories.length)];
+        String fileCompatibleIdentifier = operatorIdentifier.replaceAll("[^a-zA-Z0-9\\-]", "_");
+        return new File(
+                baseDirectory,
+                "spillable_job_"
+                        + jobID
+                        + "_op_"
+                        + fileCompatibleIdentifier
+                        + "_uuid_"
+                        + UUID.randomUUID());
+    }
+
+    private static File[] parseLocalDirectories(String localDirectories) {
+        return Arrays.stream(localDirectories.split(",|\\||" + File.pathSeparator))
+                .map(String::trim)
+                .filter(directory -> !directory.isEmpty())
+                .map(File::new)
+                .toArray(File[]::new);
+    }
+
+    // -----------------------------------------------------------------------
+
+    /** The configuration of spilling, see {@link SpillableOptions}. */
+    static final class SpillConfig implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int chunkSize;
+
+        private final long checkIntervalMillis;
+
+        private final double heapUsageThreshold;
+
+        private final double gcTimeThreshold;
+
+        private final double spillRatio;
+
+        private final boolean offHeapEnabled;
+
+        private final int offHeapChunkSize;
+
+        private SpillConfig(
+                int chunkSize,
+                long checkIntervalMillis,
+                double heapUsageThreshold,
+                double gcTimeThreshold,
+                double spillRatio,
+                boolean offHeapEnabled,
+                int offHeapChunkSize) {
+            this.chunkSize = chunkSize;
+            this.checkIntervalMillis = checkIntervalMillis;
+            this.heapUsageThreshold = heapUsageThreshold;
+            this.gcTimeThreshold = gcTimeThreshold;
+            this.spillRatio = spillRatio;
+            this.offHeapEnabled = offHeapEnabled;
+            this.offHeapChunkSize = offHeapChunkSize;
+        }
+
+        static SpillConfig fromConfig(ReadableConfig config) {
+            double spillRatio = config.get(SpillableOptions.SPILL_RATIO);
+            if (spillRatio <= 0.0 || spillRatio > 1.0) {
+                throw new IllegalConfigurationException(
+                        "The value of '%s' must be in (0, 1], but is %s.",
+                        SpillableOptions.SPILL_RATIO.key(),
+                        spillRatio);
+            }
+
+            return new SpillConfig(
+                    getChunkSize(config, SpillableOptions.CHUNK_SIZE),
+                    config.get(SpillableOptions.CHECK_INTERVAL).toMillis(),
+                    config.get(SpillableOptions.HEAP_USAGE_THRESHOLD),
+                    config.get(SpillableOptions.GC_TIME_THRESHOLD),
+                    spillRatio,
+                    config.get(SpillableOptions.OFF_HEAP_ENABLED),
+                    getChunkSize(config, SpillableOptions.OFF_HEAP_CHUNK_SIZE));
+        }
+
+        private static int getChunkSize(ReadableConfig config, ConfigOption<MemorySize> option) {
+            MemorySize chunkSize = config.get(option);
+            if (chunkSize.compareTo(MAX_CHUNK_SIZE) > 0
+                    || Long.bitCount(chunkSize.getBytes()) != 1) {
+                throw new IllegalConfigurationException(
+                        "The value of '%s' must be a power of two and at most %s, but is %s.",
+                        option.key(),
+                        MAX_CHUNK_SIZE.toHumanReadableString(),
+                        chunkSize.toHumanReadableString());
+            }
+            return (int) chunkSize.getBytes();
+        }
+
+        int getChunkSize() {
+            return chunkSize;
+        }
+
+        long getCheckIntervalMillis() {
+            return checkIntervalMillis;
+        }
+
+        double getHeapUsageThreshold() {
+            return heapUsageThreshold;
+        }
+
+        double getGcTimeThreshold() {
+            return gcTimeThreshold;
+        }
+
+        double getSpillRatio() {
+            return spillRatio;
+        }
+
+        boolean isOffHeapEnabled() {
+            return offHeapEnabled;
+        }
+
+        int getOffHeapChunkSize() {
+            return offHeapChunkSize;
+        }
+    }
+}
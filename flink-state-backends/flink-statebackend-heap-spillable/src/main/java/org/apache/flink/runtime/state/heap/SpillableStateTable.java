@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.heap.space.Allocator;
+import org.apache.flink.runtime.state.internal.InternalKvState.StateIncrementalVisitor;
+
+import javax.annotation.Nonnull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.apache.flink.runtime.state.heap.CopyOnWriteSkipListStateMap.DEFAULT_LOGICAL_REMOVED_KEYS_RATIO;
+import static org.apache.flink.runtime.state.heap.CopyOnWriteSkipListStateMap.DEFAULT_MAX_KEYS_TO_DELETE_ONE_TIME;
+
+/**
+ * A {@link StateTable} which keeps the state of frequently accessed key groups as objects in a
+ * {@link CopyOnWriteStateMap} on the heap, and moves the state of rarely accessed key groups into
+ * a {@link CopyOnWriteSkipListStateMap} whose space is allocated outside of the heap.
+ *
+ * <p>The {@link SpillAndLoadManager} decides which key groups are spilled. A spilled key group is
+ * loaded back onto the heap on its first access, because the heap states modify the state objects
+ * they obtained from the table in place, which would not be reflected in the serialized form.
+ * Snapshots take both kinds of maps into account, so spilled state is written to checkpoints like
+ * the state on the heap.
+ *
+ * <p>Like the rest of the heap state backend, this table must only be accessed by the task thread.
+ * A spilled map which was loaded back is closed once its snapshots were released and no key stream
+ * of the table is open anymore.
+ *
+ * @param <K> type of key.
+ * @param <N> type of namespace.
+ * @param <S> type of state.
+ */
+public class SpillableStateTable<K, N, S> extends StateTable<K, N, S> {
+
+    /** The allocator for the space of the spilled key groups. */
+    private final Allocator spillAllocator;
+
+    /** The manager which decides which key groups to spill. */
+    private final SpillAndLoadManager spillAndLoadManager;
+
+    /** The accesses per key group, decayed by the {@link SpillAndLoadManager} on every check. */
+    private final int[] accessCounts;
+
+    /** Spilled maps which were loaded back, but may still be read by snapshots or key streams. */
+    private final List<CopyOnWriteSkipListStateMap<K, N, S>> retiredStateMaps;
+
+    /** The number of streams returned by the key accessors which have not been closed yet. */
+    private int numberOfOpenKeyStreams;
+
+    /**
+     * Constructs a new {@code SpillableStateTable}.
+     *
+     * @param keyContext the key context.
+     * @param metaInfo the meta information, including the type serializer for state copy-on-write.
+     * @param keySerializer the serializer of the key.
+     * @param spillAllocator the allocator for the space of the spilled key groups.
+     * @param spillAndLoadManager the manager which decides which key groups to spill.
+     */
+    SpillableStateTable(
+            InternalKeyContext<K> keyContext,
+            RegisteredKeyValueStateBackendMetaInfo<N, S> metaInfo,
+            TypeSerializer<K> keySerializer,
+            Allocator spillAllocator,
+            SpillAndLoadManager spillAndLoadManager) {
+        super(keyContext, metaInfo, keySerializer);
+        this.spillAllocator = spillAllocator;
+        this.spillAndLoadManager = spillAndLoadManager;
+        this.accessCounts = new int[keyGroupedStateMaps.length];
+        this.retiredStateMaps = new ArrayList<>();
+        this.numberOfOpenKeyStreams = 0;
+    }
+
+    @Override
+    protected CopyOnWriteStateMap<K, N, S> createStateMap() {
+        return new CopyOnWriteStateMap<>(getStateSerializer());
+    }
+
+    @Override
+    public StateMap<K, N, S> getMapForKeyGroup(int keyGroupIndex) {
+        // validates the key group
+        super.getMapForKeyGroup(keyGroupIndex);
+
+        int pos = keyGroupIndex - getKeyGroupOffset();
+        accessCounts[pos]++;
+        spillAndLoadManager.onStateAccess();
+
+        StateMap<K, N, S> stateMap = keyGroupedStateMaps[pos];
+        return stateMap instanceof CopyOnWriteSkipListStateMap ? loadKeyGroup(pos) : stateMap;
+    }
+
+    @Override
+    public Stream<K> getKeys(N namespace) {
+        numberOfOpenKeyStreams++;
+        return super.getKeys(namespace).onClose(() -> numberOfOpenKeyStreams--);
+    }
+
+    @Override
+    public Stream<Tuple2<K, N>> getKeysAndNamespaces() {
+        numberOfOpenKeyStreams++;
+        return super.getKeysAndNamespaces().onClose(() -> numberOfOpenKeyStreams--);
+    }
+
+    @Override
+    public StateIncrementalVisitor<K, N, S> getStateIncrementalVisitor(
+            int recommendedMaxNumberOfReturnedRecords) {
+        return new SpillableStateEntryIterator(recommendedMaxNumberOfReturnedRecords);
+    }
+
+    @Override
+    public void setMetaInfo(RegisteredKeyValueStateBackendMetaInfo<N, S> metaInfo) {
+        // the spilled state is serialized with the serializers of the previous meta info
+        for (int pos = 0; pos < keyGroupedStateMaps.length; pos++) {
+            if (keyGroupedStateMaps[pos] instanceof CopyOnWriteSkipListStateMap) {
+                loadKeyGroup(pos);
+            }
+        }
+        super.setMetaInfo(metaInfo);
+    }
+
+    // Spilling and loading
+    // ---------------------------------------------------------------------------------------------
+
+    int getNumberOfKeyGroups() {
+        return keyGroupedStateMaps.length;
+    }
+
+    int getAccessCount(int pos) {
+        return accessCounts[pos];
+    }
+
+    /** Halves the access counts, so that the counts reflect the recent accesses. */
+    void decayAccessCounts() {
+        for (int pos = 0; pos < accessCounts.length; pos++) {
+            accessCounts[pos] >>>= 1;
+        }
+    }
+
+    /**
+     * Returns whether the key group at the given position has state on the heap which may be
+     * spilled. The key group of the current key is kept on the heap, because the state objects of
+     * the current key may still be referenced by the caller, e.g. by the iterator of a map state.
+     */
+    boolean canSpillKeyGroup(int pos) {
+        StateMap<K, N, S> stateMap = keyGroupedStateMaps[pos];
+        return !(stateMap instanceof CopyOnWriteSkipListStateMap)
+                && stateMap.size() > 0
+                && pos + getKeyGroupOffset() != keyContext.getCurrentKeyGroupIndex();
+    }
+
+    @VisibleForTesting
+    boolean isKeyGroupSpilled(int pos) {
+        return keyGroupedStateMaps[pos] instanceof CopyOnWriteSkipListStateMap;
+    }
+
+    /** Moves the state of the key group at the given position off the heap. */
+    void spillKeyGroup(int pos) {
+        StateMap<K, N, S> stateMap = keyGroupedStateMaps[pos];
+        CopyOnWriteSkipListStateMap<K, N, S> spilledStateMap =
+                new CopyOnWriteSkipListStateMap<>(
+                        getKeySerializer(),
+                        getNamespaceSerializer(),
+                        getStateSerializer(),
+                        spillAllocator,
+                        DEFAULT_MAX_KEYS_TO_DELETE_ONE_TIME,
+                        DEFAULT_LOGICAL_REMOVED_KEYS_RATIO);
+        try {
+            for (StateEntry<K, N, S> entry : stateMap) {
+                spilledStateMap.put(entry.getKey(), entry.getNamespace(), entry.getState());
+            }
+        } catch (Throwable t) {
+            spilledStateMap.close();
+            throw t;
+        }
+        // running snapshots of the map on the heap are not affected, they hold their own entries
+        keyGroupedStateMaps[pos] = spilledStateMap;
+    }
+
+    /** Moves the state of the spilled key group at the given position back onto the heap. */
+    private CopyOnWriteStateMap<K, N, S> loadKeyGroup(int pos) {
+        @SuppressWarnings("unchecked")
+        CopyOnWriteSkipListStateMap<K, N, S> spilledStateMap =
+                (CopyOnWriteSkipListStateMap<K, N, S>) keyGroupedStateMaps[pos];
+        CopyOnWriteStateMap<K, N, S> stateMap = createStateMap();
+        for (StateEntry<K, N, S> entry : spilledStateMap) {
+            stateMap.put(entry.getKey(), entry.getNamespace(), entry.getState());
+        }
+        keyGroupedStateMaps[pos] = stateMap;
+        retiredStateMaps.add(spilledStateMap);
+        return stateMap;
+    }
+
+    /** Closes the spilled maps which were loaded back and are not read anymore. */
+    void releaseRetiredStateMaps() {
+        if (numberOfOpenKeyStreams > 0) {
+            return;
+        }
+        retiredStateMaps.removeIf(
+                stateMap -> {
+                    if (stateMap.hasRunningSnapshots()) {
+                        return false;
+                    }
+                    stateMap.close();
+                    return true;
+                });
+    }
+
+    // Snapshotting
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Creates a snapshot of this {@link SpillableStateTable}, to be written in checkpointing.
+     *
+     * @return a snapshot from this {@link SpillableStateTable}, for checkpointing.
+     */
+    @Nonnull
+    @Override
+    public SpillableStateTableSnapshot<K, N, S> stateSnapshot() {
+        return new SpillableStateTableSnapshot<>(
+                this,
+                getKeySerializer().duplicate(),
+                getNamespaceSerializer().duplicate(),
+                getStateSerializer().duplicate(),
+                getMetaInfo()
+                        .getStateSnapshotTransformFactory()
+                        .createForDeserializedState()
+                        .orElse(null));
+    }
+
+    List<StateMapSnapshot<K, N, S, ? extends StateMap<K, N, S>>> getStateMapSnapshotList() {
+        List<StateMapSnapshot<K, N, S, ? extends StateMap<K, N, S>>> snapshotList =
+                new ArrayList<>(keyGroupedStateMaps.length);
+        for (StateMap<K, N, S> stateMap : keyGroupedStateMaps) {
+            snapshotList.add(stateMap.stateSnapshot());
+        }
+        return snapshotList;
+    }
+
+    // StateEntryIterator
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Visits the entries of all key groups like the {@link StateEntryIterator}, but restarts the
+     * visit of a key group if its state was spilled or loaded in the meantime. The visitor of the
+     * replaced map must not be used anymore, because the map may be closed.
+     */
+    class SpillableStateEntryIterator implements StateIncrementalVisitor<K, N, S> {
+
+        final int recommendedMaxNumberOfReturnedRecords;
+
+        int keyGroupIndex;
+
+        StateMap<K, N, S> stateMap;
+
+        StateIncrementalVisitor<K, N, S> stateIncrementalVisitor;
+
+        SpillableStateEntryIterator(int recommendedMaxNumberOfReturnedRecords) {
+            this.recommendedMaxNumberOfReturnedRecords = recommendedMaxNumberOfReturnedRecords;
+            this.keyGroupIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (stateMap != null && stateMap != keyGroupedStateMaps[keyGroupIndex - 1]) {
+                // revisit the key group in its new map
+                keyGroupIndex--;
+                stateIncrementalVisitor = null;
+            }
+            while (stateIncrementalVisitor == null || !stateIncrementalVisitor.hasNext()) {
+                if (keyGroupIndex == keyGroupedStateMaps.length) {
+                    return false;
+                }
+                stateMap = keyGroupedStateMaps[keyGroupIndex++];
+                stateIncrementalVisitor =
+                        stateMap.getStateIncrementalVisitor(recommendedMaxNumberOfReturnedRecords);
+            }
+            return true;
+        }
+
+        @Override
+        public Collection<StateEntry<K, N, S>> nextEntries() {
+            if (!hasNext()) {
+                return null;
+            }
+
+            return stateIncrementalVisitor.nextEntries();
+        }
+
+        @Override
+        public void remove(StateEntry<K, N, S> stateEntry) {
+            keyGroupedStateMaps[keyGroupIndex - 1].remove(
+                    stateEntry.getKey(), stateEntry.getNamespace());
+        }
+
+        @Override
+        public void update(StateEntry<K, N, S> stateEntry, S newValue) {
+            keyGroupedStateMaps[keyGroupIndex - 1].put(
+                    stateEntry.getKey(), stateEntry.getNamespace(), newValue);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.heap.HeapStatusMonitor.HeapStatus;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link SpillAndLoadManager}. */
+public class SpillAndLoadManagerTest extends TestLogger {
+
+    private static final int NUMBER_OF_KEY_GROUPS = 10;
+
+    private TestingHeapStatusMonitor heapStatusMonitor;
+
+    private TestAllocator allocator;
+
+    private SpillAndLoadManager spillAndLoadManager;
+
+    private SpillableStateTable<Integer, Integer, Integer> stateTable;
+
+    @Before
+    public void setUp() {
+        heapStatusMonitor = new TestingHeapStatusMonitor();
+        allocator = new TestAllocator();
+        spillAndLoadManager = new SpillAndLoadManager(heapStatusMonitor, 0L, 0.7, 0.2, 0.3, 100);
+        MockInternalKeyContext<Integer> keyContext =
+                new MockInternalKeyContext<>(0, NUMBER_OF_KEY_GROUPS - 1, NUMBER_OF_KEY_GROUPS);
+        // the key group of the current key is never spilled
+        keyContext.setCurrentKeyGroupIndex(NUMBER_OF_KEY_GROUPS - 1);
+        stateTable =
+                new SpillableStateTable<>(
+                        keyContext,
+                        new RegisteredKeyValueStateBackendMetaInfo<>(
+                                StateDescriptor.Type.VALUE,
+                                "test",
+                                IntSerializer.INSTANCE,
+                                IntSerializer.INSTANCE),
+                        IntSerializer.INSTANCE,
+                        allocator,
+                        spillAndLoadManager);
+        spillAndLoadManager.register(stateTable);
+
+        // key group i is accessed i + 1 times
+        for (int keyGroup = 0; keyGroup < NUMBER_OF_KEY_GROUPS; keyGroup++) {
+            for (int i = 0; i <= keyGroup; i++) {
+                stateTable.put(i, keyGroup, 0, i);
+            }
+        }
+    }
+
+    @After
+    public void tearDown() {
+        allocator.close();
+    }
+
+    @Test
+    public void testNoSpillingBelowThresholds() {
+        heapStatusMonitor.setHeapStatus(new HeapStatus(0.5, 0.1));
+        spillAndLoadManager.checkHeapStatus();
+
+        assertSpilledKeyGroups(0);
+    }
+
+    @Test
+    public void testSpillColdKeyGroupsOnHighHeapUsage() {
+        heapStatusMonitor.setHeapStatus(new HeapStatus(0.8, 0.0));
+        spillAndLoadManager.checkHeapStatus();
+
+        assertSpilledKeyGroups(3);
+
+        spillAndLoadManager.checkHeapStatus();
+
+        // 30% of the 6 key groups on the heap which are not of the current key
+        assertSpilledKeyGroups(5);
+    }
+
+    @Test
+    public void testSpillColdKeyGroupsOnHighGcTime() {
+        heapStatusMonitor.setHeapStatus(new HeapStatus(0.0, 0.5));
+        spillAndLoadManager.checkHeapStatus();
+
+        assertSpilledKeyGroups(3);
+    }
+
+    @Test
+    public void testKeepKeyGroupOfCurrentKey() {
+        heapStatusMonitor.setHeapStatus(new HeapStatus(0.8, 0.0));
+        for (int i = 0; i < 5; i++) {
+            spillAndLoadManager.checkHeapStatus();
+        }
+
+        assertSpilledKeyGroups(NUMBER_OF_KEY_GROUPS - 1);
+    }
+
+    @Test
+    public void testCheckOnStateAccess() {
+        heapStatusMonitor.setHeapStatus(new HeapStatus(0.8, 0.0));
+        // the set up accessed the state 55 times
+        for (int i = 0; i < 44; i++) {
+            stateTable.getMapForKeyGroup(0);
+        }
+        assertSpilledKeyGroups(0);
+
+        // the 100th access triggers the check, key group 0 is hot now
+        stateTable.getMapForKeyGroup(0);
+        for (int keyGroup = 1; keyGroup <= 3; keyGroup++) {
+            assertTrue(stateTable.isKeyGroupSpilled(keyGroup));
+        }
+        assertFalse(stateTable.isKeyGroupSpilled(0));
+    }
+
+    private void assertSpilledKeyGroups(int numberOfSpilledKeyGroups) {
+        for (int keyGroup = 0; keyGroup < NUMBER_OF_KEY_GROUPS; keyGroup++) {
+            assertEquals(
+                    keyGroup < numberOfSpilledKeyGroups, stateTable.isKeyGroupSpilled(keyGroup));
+        }
+    }
+
+    /** A {@link HeapStatusMonitor} which returns a fixed heap status. */
+    private static final class TestingHeapStatusMonitor extends HeapStatusMonitor {
+
+        private HeapStatus heapStatus = new HeapStatus(0.0, 0.0);
+
+        void setHeapStatus(HeapStatus heapStatus) {
+            this.heapStatus = heapStatus;
+        }
+
+        @Override
+        HeapStatus getHeapStatus() {
+            return heapStatus;
+        }
+    }
+}
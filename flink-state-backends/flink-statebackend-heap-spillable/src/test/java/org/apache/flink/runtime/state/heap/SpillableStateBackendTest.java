@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MemorySize;
+import org.apache.flink.runtime.state.ConfigurableStateBackend;
+import org.apache.flink.runtime.state.StateBackendTestBase;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for the keyed state backend and operator state backend, as created by the {@link
+ * SpillableStateBackend}.
+ */
+@RunWith(Parameterized.class)
+public class SpillableStateBackendTest extends StateBackendTestBase<SpillableStateBackend> {
+
+    @Parameterized.Parameters(name = "alwaysSpill = {0}, offHeap = {1}")
+    public static List<Object[]> modes() {
+        return Arrays.asList(
+                new Object[] {false, false},
+                new Object[] {true, false},
+                new Object[] {false, true},
+                new Object[] {true, true});
+    }
+
+    /** Whether the backend spills on every check, regardless of the heap status. */
+    @Parameterized.Parameter(0)
+    public boolean alwaysSpill;
+
+    /** Whether value, reducing and aggregating state is kept off-heap. */
+    @Parameterized.Parameter(1)
+    public boolean offHeap;
+
+    @Override
+    protected ConfigurableStateBackend getStateBackend() {
+        Configuration configuration = new Configuration();
+        if (alwaysSpill) {
+            configuration.set(SpillableOptions.CHECK_INTERVAL, Duration.ZERO);
+            configuration.set(SpillableOptions.HEAP_USAGE_THRESHOLD, -1.0);
+            configuration.set(SpillableOptions.SPILL_RATIO, 1.0);
+        }
+        configuration.set(SpillableOptions.OFF_HEAP_ENABLED, offHeap);
+        configuration.set(SpillableOptions.OFF_HEAP_CHUNK_SIZE, MemorySize.ofMebiBytes(1));
+        return new SpillableStateBackend()
+                .configure(configuration, Thread.currentThread().getContextClassLoader());
+    }
+
+    @Override
+    protected boolean supportsAsynchronousSnapshots() {
+        return true;
+    }
+
+    @Override
+    protected boolean isSerializerPresenceRequiredOnRestore() {
+        return true;
+    }
+
+    // disable these because the verification does not work for this state backend
+    @Override
+    @Test
+    public void testValueStateRestoreWithWrongSerializers() {}
+
+    @Override
+    @Test
+    public void testListStateRestoreWithWrongSerializers() {}
+
+    @Override
+    @Test
+    public void testReducingStateRestoreWithWrongSerializers() {}
+
+    @Override
+    @Test
+    public void testMapStateRestoreWithWrongSerializers() {}
+
+    @Ignore
+    @Test
+    public void testConcurrentMapIfQueryable() throws Exception {
+        super.testConcurrentMapIfQueryable();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.runtime.state.heap;
+
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
+import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.heap.space.SegmentChunkAllocator;
+import org.apache.flink.runtime.state.internal.InternalKvState.StateIncrementalVisitor;
+import org.apache.flink.util.IOUtils;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for {@link SpillableStateTable}. */
+public class SpillableStateTableTest extends TestLogger {
+
+    private static final int NUMBER_OF_KEY_GROUPS = 8;
+
+    private static final int NUMBER_OF_KEYS = 1000;
+
+    private static final int NAMESPACE = 1;
+
+    @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SegmentChunkAllocator allocator;
+
+    private SpillableStateTable<Integer, Integer, String> stateTable;
+
+    @Before
+    public void setUp() throws Exception {
+        allocator = SegmentChunkAllocator.forFiles(temporaryFolder.newFolder(), 1 << 16);
+        SpillAndLoadManager spillAndLoadManager =
+                new SpillAndLoadManager(
+                        new HeapStatusMonitor(), 3_600_000L, 1.0, 1.0, 1.0, Integer.MAX_VALUE);
+        stateTable =
+                new SpillableStateTable<>(
+                        new MockInternalKeyContext<>(
+                                0, NUMBER_OF_KEY_GROUPS - 1, NUMBER_OF_KEY_GROUPS),
+                        new RegisteredKeyValueStateBackendMetaInfo<>(
+                                StateDescriptor.Type.VALUE,
+                                "test",
+                                IntSerializer.INSTANCE,
+                                StringSerializer.INSTANCE),
+                        IntSerializer.INSTANCE,
+                        allocator,
+                        spillAndLoadManager);
+        spillAndLoadManager.register(stateTable);
+
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            stateTable.put(key, getKeyGroup(key), NAMESPACE, String.valueOf(key));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        IOUtils.closeQuietly(allocator);
+    }
+
+    @Test
+    public void testSpillAndLoadOnAccess() {
+        spillAllKeyGroups();
+        assertEquals(NUMBER_OF_KEYS, stateTable.size());
+        assertTrue(allocator.getUsedBytes() > 0L);
+
+        int key = 42;
+        int pos = getKeyGroup(key);
+        assertEquals(String.valueOf(key), stateTable.get(key, NAMESPACE));
+        assertFalse(stateTable.isKeyGroupSpilled(pos));
+        assertEquals(NUMBER_OF_KEYS, stateTable.size());
+
+        // modifications are done on the heap
+        stateTable.put(key, pos, NAMESPACE, "modified");
+        assertEquals("modified", stateTable.get(key, NAMESPACE));
+
+        long usedBytes = allocator.getUsedBytes();
+        stateTable.releaseRetiredStateMaps();
+        assertTrue(allocator.getUsedBytes() < usedBytes);
+
+        for (int keyGroup = 0; keyGroup < NUMBER_OF_KEY_GROUPS; keyGroup++) {
+            if (keyGroup != pos) {
+                assertTrue(stateTable.isKeyGroupSpilled(keyGroup));
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotOfSpilledKeyGroups() {
+        SpillableStateTableSnapshot<Integer, Integer, String> heapSnapshot =
+                stateTable.stateSnapshot();
+        spillAllKeyGroups();
+        SpillableStateTableSnapshot<Integer, Integer, String> spilledSnapshot =
+                stateTable.stateSnapshot();
+
+        // loading the key groups back must not affect the running snapshots
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            stateTable.put(key, getKeyGroup(key), NAMESPACE, "modified");
+        }
+        long usedBytes = allocator.getUsedBytes();
+        stateTable.releaseRetiredStateMaps();
+        assertEquals(usedBytes, allocator.getUsedBytes());
+
+        Map<Integer, String> expectedState = new HashMap<>();
+        for (int key = 0; key < NUMBER_OF_KEYS; key++) {
+            expectedState.put(key, String.valueOf(key));
+        }
+        assertEquals(expectedState, readSnapshot(heapSnapshot));
+        assertEquals(expectedState, readSnapshot(spilledSnapshot));
+
+        heapSnapshot.release();
+        spilledSnapshot.release();
+        stateTable.releaseRetiredStateMaps();
+        assertEquals(0L, allocator.getUsedBytes());
+    }
+
+    @Test
+    public void testStateIncrementalVisitorAfterSpilling() {
+        StateIncrementalVisitor<Integer, Integer, String> visitor =
+                stateTable.getStateIncrementalVisitor(10);
+        assertTrue(visitor.hasNext());
+        spillAllKeyGroups();
+
+        Map<Integer, String> visitedState = new HashMap<>();
+        while (visitor.hasNext()) {
+            for (StateEntry<Integer, Integer, String> entry : visitor.nextEntries()) {
+                visitedState.put(entry.getKey(), entry.getState());
+                if (entry.getKey() % 2 == 0) {
+                    visitor.remove(entry);
+                }
+            }
+        }
+
+        assertEquals(NUMBER_OF_KEYS, visitedState.size());
+        assertEquals(NUMBER_OF_KEYS / 2, stateTable.size());
+    }
+
+    @Test
+    public void testLoadSpilledKeyGroupsOnMetaInfoChange() {
+        spillAllKeyGroups();
+
+        stateTable.setMetaInfo(
+                new RegisteredKeyValueStateBackendMetaInfo<>(
+                        StateDescriptor.Type.VALUE,
+                        "test",
+                        IntSerializer.INSTANCE,
+                        StringSerializer.INSTANCE));
+
+        for (int keyGroup = 0; keyGroup < NUMBER_OF_KEY_GROUPS; keyGroup++) {
+            assertFalse(stateTable.isKeyGroupSpilled(keyGroup));
+        }
+        assertEquals(NUMBER_OF_KEYS, stateTable.size());
+    }
+
+    private void spillAllKeyGroups() {
+        for (int pos = 0; pos < NUMBER_OF_KEY_GROUPS; pos++) {
+            stateTable.spillKeyGroup(pos);
+            assertTrue(stateTable.isKeyGroupSpilled(pos));
+            assertFalse(stateTable.canSpillKeyGroup(pos));
+        }
+    }
+
+    private static Map<Integer, String> readSnapshot(
+            SpillableStateTableSnapshot<Integer, Integer, String> snapshot) {
+        Map<Integer, String> state = new HashMap<>();
+        for (int keyGroup = 0; keyGroup < NUMBER_OF_KEY_GROUPS; keyGroup++) {
+            Iterator<StateEntry<Integer, Integer, String>> iterator =
+                    snapshot.getIterator(keyGroup);
+            while (iterator.hasNext()) {
+                StateEntry<Integer, Integer, String> entry = iterator.next();
+                state.put(entry.getKey(), entry.getState());
+            }
+        }
+        return state;
+    }
+
+    private static int getKeyGroup(int key) {
+        return KeyGroupRangeAssignment.assignToKeyGroup(key, NUMBER_OF_KEY_GROUPS);
+    }
+}
@@ -49,6 +49,11 @@ abstract class AbstractRocksDBAppendingState<K, N, IN, SV, OUT>
         super(columnFamily, namespaceSerializer, valueSerializer, defaultValue, backend);
     }
 
+    @Override
+    public boolean isBatchAccessSupported() {
+        return true;
+    }
+
     @Override
     public SV getInternal() {
         return getInternal(getKeyBytes());
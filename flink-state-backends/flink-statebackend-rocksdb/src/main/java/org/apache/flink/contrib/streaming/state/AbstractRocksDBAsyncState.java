@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
+import org.apache.flink.runtime.state.SerializedCompositeKeyBuilder;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.ResourceGuard;
+import org.apache.flink.util.function.FunctionWithException;
+import org.apache.flink.util.function.SupplierWithException;
+
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Base class for the asynchronous states of the {@link RocksDBKeyedStateBackend}.
+ *
+ * <p>Keys and values are serialized in the calling thread and the RocksDB accesses are executed by
+ * the I/O thread pool of the backend. The read bytes are handed to the result executor, which
+ * deserializes them and completes the futures. Thus the serializers of the state are never used
+ * by the I/O threads.
+ *
+ * @param <K> The type of the key.
+ */
+abstract class AbstractRocksDBAsyncState<K> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractRocksDBAsyncState.class);
+
+    /** Backend that holds the actual RocksDB instance where we store state. */
+    protected final RocksDBKeyedStateBackend<K> backend;
+
+    /** The column family of this particular instance of state. */
+    protected final ColumnFamilyHandle columnFamily;
+
+    protected final WriteOptions writeOptions;
+
+    protected final DataOutputSerializer dataOutputView;
+
+    protected final DataInputDeserializer dataInputView;
+
+    /** Builds the keys of the accesses, independent of the current key of the backend. */
+    protected final SerializedCompositeKeyBuilder<K> keyBuilder;
+
+    /** The thread pool of the backend which executes the RocksDB accesses. */
+    private final Executor ioExecutor;
+
+    /** The executor which deserializes the results and completes the futures. */
+    private final Executor resultExecutor;
+
+    AbstractRocksDBAsyncState(
+            ColumnFamilyHandle columnFamily,
+            Executor resultExecutor,
+            RocksDBKeyedStateBackend<K> backend) {
+        this.backend = backend;
+        this.columnFamily = columnFamily;
+        this.writeOptions = backend.getWriteOptions();
+        this.dataOutputView = new DataOutputSerializer(128);
+        this.dataInputView = new DataInputDeserializer();
+        this.keyBuilder =
+                new SerializedCompositeKeyBuilder<>(
+                        backend.getKeySerializer(), backend.getKeyGroupPrefixBytes(), 32);
+        this.ioExecutor = backend.getAsyncStateIoExecutor();
+        this.resultExecutor = resultExecutor;
+    }
+
+    void setKey(K key) {
+        int keyGroup =
+                KeyGroupRangeAssignment.assignToKeyGroup(key, backend.getNumberOfKeyGroups());
+        keyBuilder.setKeyAndKeyGroup(key, keyGroup);
+    }
+
+    <T> CompletableFuture<T> get(
+            byte[] rawKey, FunctionWithException<byte[], T, IOException> deserializer) {
+        return execute(() -> backend.db.get(columnFamily, rawKey), deserializer);
+    }
+
+    CompletableFuture<Void> put(byte[] rawKey, byte[] rawValue) {
+        return execute(
+                () -> {
+                    backend.db.put(columnFamily, writeOptions, rawKey, rawValue);
+                    return null;
+                },
+                ignored -> null);
+    }
+
+    CompletableFuture<Void> delete(byte[] rawKey) {
+        return execute(
+                () -> {
+                    backend.db.delete(columnFamily, writeOptions, rawKey);
+                    return null;
+                },
+                ignored -> null);
+    }
+
+    private <R, T> CompletableFuture<T> execute(
+            SupplierWithException<R, Exception> access,
+            FunctionWithException<R, T, IOException> resultFunction) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ioExecutor.execute(
+                () -> {
+                    final R accessResult;
+                    // the lease keeps the backend from releasing RocksDB during the access
+                    try (ResourceGuard.Lease ignored =
+                            backend.getRocksDBResourceGuard().acquireResource()) {
+                        accessResult = access.get();
+                    } catch (Throwable t) {
+                        complete(
+                                () ->
+                                        result.completeExceptionally(
+                                                new FlinkRuntimeException(
+                                                        "Error while accessing RocksDB.", t)));
+                        return;
+                    }
+                    complete(
+                            () -> {
+                                try {
+                                    result.complete(resultFunction.apply(accessResult));
+                                } catch (Throwable t) {
+                                    result.completeExceptionally(t);
+                                }
+                            });
+                });
+        return result;
+    }
+
+    private void complete(Runnable completion) {
+        try {
+            resultExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            // This can only happen if the task is shutting down, which means that the results of
+            // the outstanding accesses are not needed anymore.
+            LOG.debug("Dropped the result of an asynchronous state access.", e);
+        }
+    }
+}
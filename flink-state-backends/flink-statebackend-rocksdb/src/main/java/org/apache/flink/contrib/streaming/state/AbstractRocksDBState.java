@@ -25,6 +25,7 @@ import org.apache.flink.core.memory.DataOutputSerializer;
 import org.apache.flink.queryablestate.client.state.serialization.KvStateSerializer;
 import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
 import org.apache.flink.runtime.state.SerializedCompositeKeyBuilder;
+import org.apache.flink.runtime.state.StateEntry;
 import org.apache.flink.runtime.state.internal.InternalKvState;
 import org.apache.flink.util.FlinkRuntimeException;
 import org.apache.flink.util.Preconditions;
@@ -35,6 +36,9 @@ import org.rocksdb.RocksDBException;
 import org.rocksdb.WriteOptions;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Base class for {@link State} implementations that store state in a RocksDB database.
@@ -73,6 +77,12 @@ public abstract class AbstractRocksDBState<K, N, V> implements InternalKvState<K
 
     private final SerializedCompositeKeyBuilder<K> sharedKeyNamespaceSerializer;
 
+    /**
+     * Serializes the keys of the batch access methods, which must not change the current key of
+     * the shared serializer. Created on first use.
+     */
+    private SerializedCompositeKeyBuilder<K> batchKeyNamespaceSerializer;
+
     /**
      * Creates a new RocksDB backed state.
      *
@@ -147,6 +157,82 @@ public abstract class AbstractRocksDBState<K, N, V> implements InternalKvState<K
         return backend.db.get(columnFamily, key);
     }
 
+    @Override
+    public List<V> multiGet(List<Tuple2<K, N>> keysAndNamespaces) throws Exception {
+        checkBatchAccessSupported();
+        if (keysAndNamespaces.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<byte[]> keys = new ArrayList<>(keysAndNamespaces.size());
+        for (Tuple2<K, N> keyAndNamespace : keysAndNamespaces) {
+            keys.add(serializeKeyWithGroupAndNamespace(keyAndNamespace.f0, keyAndNamespace.f1));
+        }
+
+        List<byte[]> valueBytes;
+        try {
+            valueBytes =
+                    backend.db.multiGetAsList(Collections.nCopies(keys.size(), columnFamily), keys);
+        } catch (RocksDBException e) {
+            throw new FlinkRuntimeException("Error while retrieving data from RocksDB.", e);
+        }
+
+        List<V> values = new ArrayList<>(valueBytes.size());
+        for (byte[] bytes : valueBytes) {
+            if (bytes == null) {
+                values.add(getDefaultValue());
+            } else {
+                dataInputView.setBuffer(bytes);
+                values.add(valueSerializer.deserialize(dataInputView));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void multiPut(List<StateEntry<K, N, V>> entries) throws Exception {
+        checkBatchAccessSupported();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try (RocksDBWriteBatchWrapper writeBatchWrapper =
+                new RocksDBWriteBatchWrapper(
+                        backend.db, writeOptions, backend.getWriteBatchSize())) {
+            for (StateEntry<K, N, V> entry : entries) {
+                byte[] key =
+                        serializeKeyWithGroupAndNamespace(entry.getKey(), entry.getNamespace());
+                if (entry.getState() != null) {
+                    writeBatchWrapper.put(columnFamily, key, serializeValue(entry.getState()));
+                } else {
+                    writeBatchWrapper.remove(columnFamily, key);
+                }
+            }
+        } catch (RocksDBException e) {
+            throw new FlinkRuntimeException("Error while adding data to RocksDB", e);
+        }
+    }
+
+    private void checkBatchAccessSupported() {
+        if (!isBatchAccessSupported()) {
+            throw new UnsupportedOperationException(
+                    "Batch access is not supported by " + getClass().getSimpleName());
+        }
+    }
+
+    byte[] serializeKeyWithGroupAndNamespace(K key, N namespace) {
+        if (batchKeyNamespaceSerializer == null) {
+            batchKeyNamespaceSerializer =
+                    new SerializedCompositeKeyBuilder<>(
+                            backend.getKeySerializer(), backend.getKeyGroupPrefixBytes(), 32);
+        }
+        int keyGroup =
+                KeyGroupRangeAssignment.assignToKeyGroup(key, backend.getNumberOfKeyGroups());
+        batchKeyNamespaceSerializer.setKeyAndKeyGroup(key, keyGroup);
+        return batchKeyNamespaceSerializer.buildCompositeKeyNamespace(
+                namespace, namespaceSerializer);
+    }
+
     <UK> byte[] serializeCurrentKeyWithGroupAndNamespacePlusUserKey(
             UK userKey, TypeSerializer<UK> userKeySerializer) throws IOException {
         return sharedKeyNamespaceSerializer.buildCompositeKeyNamesSpaceUserKey(
@@ -77,7 +77,9 @@ import java.util.UUID;
 
 import static org.apache.flink.configuration.description.TextElement.text;
 import static org.apache.flink.contrib.streaming.state.RocksDBConfigurableOptions.WRITE_BATCH_SIZE;
+import static org.apache.flink.contrib.streaming.state.RocksDBOptions.ASYNC_STATE_THREAD_NUM;
 import static org.apache.flink.contrib.streaming.state.RocksDBOptions.CHECKPOINT_TRANSFER_THREAD_NUM;
+import static org.apache.flink.contrib.streaming.state.RocksDBOptions.OBJECT_CACHE_SIZE;
 import static org.apache.flink.contrib.streaming.state.RocksDBOptions.TIMER_SERVICE_FACTORY;
 import static org.apache.flink.util.Preconditions.checkArgument;
 import static org.apache.flink.util.Preconditions.checkNotNull;
@@ -111,6 +113,10 @@ public class EmbeddedRocksDBStateBackend extends AbstractManagedMemoryStateBacke
 
     private static final long UNDEFINED_WRITE_BATCH_SIZE = -1;
 
+    private static final int UNDEFINED_NUMBER_OF_ASYNC_STATE_THREADS = -1;
+
+    private static final int UNDEFINED_OBJECT_CACHE_SIZE = -1;
+
     // ------------------------------------------------------------------------
 
     // -- configuration values, set in the application / configuration
@@ -137,6 +143,12 @@ public class EmbeddedRocksDBStateBackend extends AbstractManagedMemoryStateBacke
     /** Thread number used to transfer (download and upload) state, default value: 1. */
     private int numberOfTransferThreads;
 
+    /** Thread number used to access the asynchronous states. */
+    private int numberOfAsyncStateThreads;
+
+    /** The maximum number of deserialized values cached per value state. */
+    private int objectCacheSize;
+
     /** The configuration for memory settings (pool sizes, etc.). */
     private final RocksDBMemoryConfiguration memoryConfiguration;
 
@@ -193,6 +205,8 @@ public class EmbeddedRocksDBStateBackend extends AbstractManagedMemoryStateBacke
         this.defaultMetricOptions = new RocksDBNativeMetricOptions();
         this.memoryConfiguration = new RocksDBMemoryConfiguration();
         this.writeBatchSize = UNDEFINED_WRITE_BATCH_SIZE;
+        this.numberOfAsyncStateThreads = UNDEFINED_NUMBER_OF_ASYNC_STATE_THREADS;
+        this.objectCacheSize = UNDEFINED_OBJECT_CACHE_SIZE;
     }
 
     /**
@@ -221,6 +235,18 @@ public class EmbeddedRocksDBStateBackend extends AbstractManagedMemoryStateBacke
             this.writeBatchSize = original.writeBatchSize;
         }
 
+        if (original.numberOfAsyncStateThreads == UNDEFINED_NUMBER_OF_ASYNC_STATE_THREADS) {
+            this.numberOfAsyncStateThreads = config.get(ASYNC_STATE_THREAD_NUM);
+        } else {
+            this.numberOfAsyncStateThreads = original.numberOfAsyncStateThreads;
+        }
+
+        if (original.objectCacheSize == UNDEFINED_OBJECT_CACHE_SIZE) {
+            this.objectCacheSize = config.get(OBJECT_CACHE_SIZE);
+        } else {
+            this.objectCacheSize = original.objectCacheSize;
+        }
+
         this.memoryConfiguration =
                 RocksDBMemoryConfiguration.fromOtherAndConfiguration(
                         original.memoryConfiguration, config);
@@ -473,7 +499,9 @@ public class EmbeddedRocksDBStateBackend extends AbstractManagedMemoryStateBacke
                         .setNumberOfTransferingThreads(getNumberOfTransferThreads())
                         .setNativeMetricOptions(
                                 resourceContainer.getMemoryWatcherOptions(defaultMetricOptions))
-                        .setWriteBatchSize(getWriteBatchSize());
+                        .setWriteBatchSize(getWriteBatchSize())
+                        .setNumberOfAsyncStateThreads(getNumberOfAsyncStateThreads())
+                        .setObjectCacheSize(getObjectCacheSize());
         return builder.build();
     }
 
@@ -808,6 +836,43 @@ public class EmbeddedRocksDBStateBackend extends AbstractManagedMemoryStateBacke
         this.writeBatchSize = writeBatchSize;
     }
 
+    /** Gets the number of threads used to access the asynchronous states. */
+    public int getNumberOfAsyncStateThreads() {
+        return numberOfAsyncStateThreads == UNDEFINED_NUMBER_OF_ASYNC_STATE_THREADS
+                ? ASYNC_STATE_THREAD_NUM.defaultValue()
+                : numberOfAsyncStateThreads;
+    }
+
+    /**
+     * Sets the number of threads used to access the asynchronous states.
+     *
+     * @param numberOfAsyncStateThreads The number of threads used to access the asynchronous
+     *     states.
+     */
+    public void setNumberOfAsyncStateThreads(int numberOfAsyncStateThreads) {
+        Preconditions.checkArgument(
+                numberOfAsyncStateThreads > 0,
+                "The number of threads used to access the asynchronous states should be greater than zero.");
+        this.numberOfAsyncStateThreads = numberOfAsyncStateThreads;
+    }
+
+    /** Gets the maximum number of deserialized values cached per value state. */
+    public int getObjectCacheSize() {
+        return objectCacheSize == UNDEFINED_OBJECT_CACHE_SIZE
+                ? OBJECT_CACHE_SIZE.defaultValue()
+                : objectCacheSize;
+    }
+
+    /**
+     * Sets the maximum number of deserialized values cached per value state, 0 disables the cache.
+     *
+     * @param objectCacheSize The maximum number of deserialized values cached per value state.
+     */
+    public void setObjectCacheSize(int objectCacheSize) {
+        checkArgument(objectCacheSize >= 0, "The object cache size have to be no negative.");
+        this.objectCacheSize = objectCacheSize;
+    }
+
     // ------------------------------------------------------------------------
     //  utilities
     // ------------------------------------------------------------------------
@@ -857,6 +922,10 @@ public class EmbeddedRocksDBStateBackend extends AbstractManagedMemoryStateBacke
                 + numberOfTransferThreads
                 + ", writeBatchSize="
                 + writeBatchSize
+                + ", numberOfAsyncStateThreads="
+                + numberOfAsyncStateThreads
+                + ", objectCacheSize="
+                + objectCacheSize
                 + '}';
     }
 
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.async.AsyncMapState;
+import org.apache.flink.util.concurrent.FutureUtils;
+
+import org.rocksdb.ColumnFamilyHandle;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link AsyncMapState} implementation that stores state in RocksDB. It shares the data with the
+ * {@link RocksDBMapState} of the same name, every mapping is stored as its own RocksDB entry.
+ *
+ * @param <K> The type of the key.
+ * @param <UK> The type of the user keys of the map.
+ * @param <UV> The type of the user values of the map.
+ */
+class RocksDBAsyncMapState<K, UK, UV> extends AbstractRocksDBAsyncState<K>
+        implements AsyncMapState<K, UK, UV> {
+
+    /** Serializer for the keys and values. */
+    private final TypeSerializer<UK> userKeySerializer;
+
+    private final TypeSerializer<UV> userValueSerializer;
+
+    RocksDBAsyncMapState(
+            ColumnFamilyHandle columnFamily,
+            TypeSerializer<UK> userKeySerializer,
+            TypeSerializer<UV> userValueSerializer,
+            Executor resultExecutor,
+            RocksDBKeyedStateBackend<K> backend) {
+        super(columnFamily, resultExecutor, backend);
+        this.userKeySerializer = userKeySerializer;
+        this.userValueSerializer = userValueSerializer;
+    }
+
+    @Override
+    public CompletableFuture<UV> get(K key, UK userKey) {
+        byte[] rawKey;
+        try {
+            rawKey = serializeKey(key, userKey);
+        } catch (IOException e) {
+            return FutureUtils.completedExceptionally(e);
+        }
+        return get(
+                rawKey,
+                rawValueBytes ->
+                        rawValueBytes == null
+                                ? null
+                                : RocksDBMapState.deserializeUserValue(
+                                        dataInputView, rawValueBytes, userValueSerializer));
+    }
+
+    @Override
+    public CompletableFuture<Void> put(K key, UK userKey, UV userValue) {
+        byte[] rawKey;
+        try {
+            rawKey = serializeKey(key, userKey);
+            // null user values are flagged like in RocksDBMapState
+            dataOutputView.clear();
+            dataOutputView.writeBoolean(userValue == null);
+            if (userValue != null) {
+                userValueSerializer.serialize(userValue, dataOutputView);
+            }
+        } catch (IOException e) {
+            return FutureUtils.completedExceptionally(e);
+        }
+        return put(rawKey, dataOutputView.getCopyOfBuffer());
+    }
+
+    @Override
+    public CompletableFuture<Void> remove(K key, UK userKey) {
+        try {
+            return delete(serializeKey(key, userKey));
+        } catch (IOException e) {
+            return FutureUtils.completedExceptionally(e);
+        }
+    }
+
+    private byte[] serializeKey(K key, UK userKey) throws IOException {
+        setKey(key);
+        return keyBuilder.buildCompositeKeyNamesSpaceUserKey(
+                VoidNamespace.INSTANCE,
+                VoidNamespaceSerializer.INSTANCE,
+                userKey,
+                userKeySerializer);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.async.AsyncValueState;
+import org.apache.flink.util.concurrent.FutureUtils;
+
+import org.rocksdb.ColumnFamilyHandle;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link AsyncValueState} implementation that stores state in RocksDB. It shares the data with
+ * the {@link RocksDBValueState} of the same name.
+ *
+ * @param <K> The type of the key.
+ * @param <V> The type of the value.
+ */
+class RocksDBAsyncValueState<K, V> extends AbstractRocksDBAsyncState<K>
+        implements AsyncValueState<K, V> {
+
+    /** Serializer for the state values. */
+    private final TypeSerializer<V> valueSerializer;
+
+    private final V defaultValue;
+
+    RocksDBAsyncValueState(
+            ColumnFamilyHandle columnFamily,
+            TypeSerializer<V> valueSerializer,
+            V defaultValue,
+            Executor resultExecutor,
+            RocksDBKeyedStateBackend<K> backend) {
+        super(columnFamily, resultExecutor, backend);
+        this.valueSerializer = valueSerializer;
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public CompletableFuture<V> get(K key) {
+        return get(serializeKey(key), this::deserializeValue);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(K key, V value) {
+        byte[] rawKey = serializeKey(key);
+        if (value == null) {
+            return delete(rawKey);
+        }
+
+        try {
+            dataOutputView.clear();
+            valueSerializer.serialize(value, dataOutputView);
+        } catch (IOException e) {
+            return FutureUtils.completedExceptionally(e);
+        }
+        return put(rawKey, dataOutputView.getCopyOfBuffer());
+    }
+
+    private byte[] serializeKey(K key) {
+        setKey(key);
+        return keyBuilder.buildCompositeKeyNamespace(
+                VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE);
+    }
+
+    private V deserializeValue(byte[] valueBytes) throws IOException {
+        if (valueBytes == null) {
+            return defaultValue != null ? valueSerializer.copy(defaultValue) : null;
+        }
+        dataInputView.setBuffer(valueBytes);
+        return valueSerializer.deserialize(dataInputView);
+    }
+}
@@ -19,8 +19,10 @@ package org.apache.flink.contrib.streaming.state;
 
 import org.apache.flink.annotation.VisibleForTesting;
 import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.state.MapStateDescriptor;
 import org.apache.flink.api.common.state.State;
 import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
 import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
@@ -35,6 +37,7 @@ import org.apache.flink.contrib.streaming.state.ttl.RocksDbTtlCompactFiltersMana
 import org.apache.flink.core.fs.CloseableRegistry;
 import org.apache.flink.core.memory.DataInputDeserializer;
 import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.runtime.checkpoint.CheckpointOptions;
 import org.apache.flink.runtime.checkpoint.SnapshotType;
 import org.apache.flink.runtime.query.TaskKvStateRegistry;
@@ -55,6 +58,11 @@ import org.apache.flink.runtime.state.SnapshotResult;
 import org.apache.flink.runtime.state.SnapshotStrategyRunner;
 import org.apache.flink.runtime.state.StateSnapshotTransformer.StateSnapshotTransformFactory;
 import org.apache.flink.runtime.state.StreamCompressionDecorator;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.async.AsyncKeyedStateBackend;
+import org.apache.flink.runtime.state.async.AsyncMapState;
+import org.apache.flink.runtime.state.async.AsyncValueState;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueElement;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSetFactory;
 import org.apache.flink.runtime.state.heap.HeapPriorityQueueSnapshotRestoreWrapper;
@@ -67,6 +75,7 @@ import org.apache.flink.util.IOUtils;
 import org.apache.flink.util.Preconditions;
 import org.apache.flink.util.ResourceGuard;
 import org.apache.flink.util.StateMigrationException;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
 
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ColumnFamilyOptions;
@@ -80,16 +89,22 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RunnableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -111,7 +126,8 @@ import static org.apache.flink.util.Preconditions.checkState;
  * href="https://github.com/facebook/rocksdb/wiki/RocksJava-Basics#opening-a-database-with-column-families">
  * this document</a>.
  */
-public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
+public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K>
+        implements AsyncKeyedStateBackend<K> {
 
     private static final Logger LOG = LoggerFactory.getLogger(RocksDBKeyedStateBackend.class);
 
@@ -228,6 +244,27 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
 
     private final RocksDbTtlCompactFiltersManager ttlCompactFiltersManager;
 
+    /** The number of threads which execute the accesses of the asynchronous states. */
+    private final int numberOfAsyncStateThreads;
+
+    /**
+     * The thread pool which executes the accesses of the asynchronous states, created with the
+     * first asynchronous state.
+     */
+    @Nullable private ExecutorService asyncStateIoExecutor;
+
+    /** The maximum number of cached values per value state, 0 if the object cache is disabled. */
+    private final int objectCacheSize;
+
+    /** The metric group of the object caches. */
+    private final MetricGroup metricGroup;
+
+    /** The names of the states which are cached by an object cache. */
+    private final Set<String> objectCachedStateNames;
+
+    /** The names of the states which are accessed through asynchronous states. */
+    private final Set<String> asyncStateNames;
+
     public RocksDBKeyedStateBackend(
             ClassLoader userCodeClassLoader,
             File instanceBasePath,
@@ -253,7 +290,10 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
             PriorityQueueSetFactory priorityQueueFactory,
             RocksDbTtlCompactFiltersManager ttlCompactFiltersManager,
             InternalKeyContext<K> keyContext,
-            @Nonnegative long writeBatchSize) {
+            @Nonnegative long writeBatchSize,
+            int numberOfAsyncStateThreads,
+            int objectCacheSize,
+            MetricGroup metricGroup) {
 
         super(
                 kvStateRegistry,
@@ -281,6 +321,11 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
         this.writeOptions = optionsContainer.getWriteOptions();
         this.readOptions = optionsContainer.getReadOptions();
         this.writeBatchSize = writeBatchSize;
+        this.numberOfAsyncStateThreads = numberOfAsyncStateThreads;
+        this.objectCacheSize = objectCacheSize;
+        this.metricGroup = metricGroup;
+        this.objectCachedStateNames = new HashSet<>();
+        this.asyncStateNames = new HashSet<>();
         this.db = db;
         this.rocksDBResourceGuard = rocksDBResourceGuard;
         this.checkpointSnapshotStrategy = checkpointSnapshotStrategy;
@@ -407,6 +452,12 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
         }
         super.dispose();
 
+        // Accesses which are already running hold a lease of the resource guard, the queued ones
+        // are dropped.
+        if (asyncStateIoExecutor != null) {
+            asyncStateIoExecutor.shutdownNow();
+        }
+
         // This call will block until all clients that still acquire access to the RocksDB instance
         // have released it,
         // so that we cannot release the native resources while clients are still working with it in
@@ -839,6 +890,98 @@ public class RocksDBKeyedStateBackend<K> extends AbstractKeyedStateBackend<K> {
         return stateFactory.createState(stateDesc, registerResult, RocksDBKeyedStateBackend.this);
     }
 
+    @Override
+    public <V> AsyncValueState<K, V> getAsyncValueState(
+            ValueStateDescriptor<V> stateDesc, Executor resultExecutor) throws Exception {
+        checkAsyncStateDescriptor(stateDesc);
+        Tuple2<ColumnFamilyHandle, RegisteredKeyValueStateBackendMetaInfo<VoidNamespace, V>>
+                registerResult =
+                        tryRegisterKvStateInformation(
+                                stateDesc,
+                                VoidNamespaceSerializer.INSTANCE,
+                                StateSnapshotTransformFactory.noTransform());
+        return new RocksDBAsyncValueState<>(
+                registerResult.f0,
+                registerResult.f1.getStateSerializer(),
+                stateDesc.getDefaultValue(),
+                resultExecutor,
+                this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <UK, UV> AsyncMapState<K, UK, UV> getAsyncMapState(
+            MapStateDescriptor<UK, UV> stateDesc, Executor resultExecutor) throws Exception {
+        checkAsyncStateDescriptor(stateDesc);
+        Tuple2<
+                        ColumnFamilyHandle,
+                        RegisteredKeyValueStateBackendMetaInfo<VoidNamespace, Map<UK, UV>>>
+                registerResult =
+                        tryRegisterKvStateInformation(
+                                stateDesc,
+                                VoidNamespaceSerializer.INSTANCE,
+                                StateSnapshotTransformFactory.noTransform());
+        MapSerializer<UK, UV> mapSerializer =
+                (MapSerializer<UK, UV>) registerResult.f1.getStateSerializer();
+        return new RocksDBAsyncMapState<>(
+                registerResult.f0,
+                mapSerializer.getKeySerializer(),
+                mapSerializer.getValueSerializer(),
+                resultExecutor,
+                this);
+    }
+
+    private void checkAsyncStateDescriptor(StateDescriptor<?, ?> stateDesc) {
+        checkState(
+                stateDesc.isSerializerInitialized(),
+                "The serializer of the state %s is not initialized.",
+                stateDesc.getName());
+        if (stateDesc.getTtlConfig().isEnabled()) {
+            throw new UnsupportedOperationException(
+                    "State TTL is not supported by asynchronous states, state: "
+                            + stateDesc.getName());
+        }
+        // the asynchronous states bypass the object cache, which would therefore become stale
+        if (objectCachedStateNames.contains(stateDesc.getName())) {
+            throw new UnsupportedOperationException(
+                    "The state "
+                            + stateDesc.getName()
+                            + " is already accessed through the object cache and can't be accessed asynchronously.");
+        }
+        asyncStateNames.add(stateDesc.getName());
+    }
+
+    /**
+     * Creates the object cache for the given value state, or returns null if the cache is disabled
+     * or the state is also accessed asynchronously.
+     */
+    @Nullable
+    <V> RocksDBObjectCache<V> createObjectCache(String stateName) {
+        if (objectCacheSize <= 0 || asyncStateNames.contains(stateName)) {
+            return null;
+        }
+        RocksDBObjectCache<V> objectCache = new RocksDBObjectCache<>(objectCacheSize);
+        objectCache.registerMetrics(
+                metricGroup.addGroup(RocksDBObjectCache.METRIC_GROUP).addGroup(stateName));
+        objectCachedStateNames.add(stateName);
+        return objectCache;
+    }
+
+    /** Returns the thread pool which executes the accesses of the asynchronous states. */
+    ExecutorService getAsyncStateIoExecutor() {
+        if (asyncStateIoExecutor == null) {
+            asyncStateIoExecutor =
+                    Executors.newFixedThreadPool(
+                            numberOfAsyncStateThreads,
+                            new ExecutorThreadFactory("Flink-RocksDBAsyncStateIO"));
+        }
+        return asyncStateIoExecutor;
+    }
+
+    ResourceGuard getRocksDBResourceGuard() {
+        return rocksDBResourceGuard;
+    }
+
     /** Only visible for testing, DO NOT USE. */
     File getInstanceBasePath() {
         return instanceBasePath;
@@ -117,6 +117,8 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
     private int numberOfTransferingThreads;
     private long writeBatchSize =
             RocksDBConfigurableOptions.WRITE_BATCH_SIZE.defaultValue().getBytes();
+    private int numberOfAsyncStateThreads = RocksDBOptions.ASYNC_STATE_THREAD_NUM.defaultValue();
+    private int objectCacheSize = RocksDBOptions.OBJECT_CACHE_SIZE.defaultValue();
 
     private RocksDB injectedTestDB; // for testing
     private ColumnFamilyHandle injectedDefaultColumnFamilyHandle; // for testing
@@ -242,6 +244,20 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
         return this;
     }
 
+    RocksDBKeyedStateBackendBuilder<K> setNumberOfAsyncStateThreads(int numberOfAsyncStateThreads) {
+        checkArgument(
+                numberOfAsyncStateThreads > 0,
+                "The number of asynchronous state threads should be positive.");
+        this.numberOfAsyncStateThreads = numberOfAsyncStateThreads;
+        return this;
+    }
+
+    RocksDBKeyedStateBackendBuilder<K> setObjectCacheSize(int objectCacheSize) {
+        checkArgument(objectCacheSize >= 0, "The object cache size should be non negative.");
+        this.objectCacheSize = objectCacheSize;
+        return this;
+    }
+
     RocksDBKeyedStateBackendBuilder<K> setRocksDBStateUploader(
             RocksDBStateUploader rocksDBStateUploader) {
         Preconditions.checkState(
@@ -423,7 +439,10 @@ public class RocksDBKeyedStateBackendBuilder<K> extends AbstractKeyedStateBacken
                 priorityQueueFactory,
                 ttlCompactFiltersManager,
                 keyContext,
-                writeBatchSize);
+                writeBatchSize,
+                numberOfAsyncStateThreads,
+                objectCacheSize,
+                metricGroup);
     }
 
     private RocksDBRestoreOperation getRocksDBRestoreOperation(
@@ -381,7 +381,7 @@ class RocksDBMapState<K, N, UK, UV> extends AbstractRocksDBState<K, N, Map<UK, U
         return keySerializer.deserialize(dataInputView);
     }
 
-    private static <UV> UV deserializeUserValue(
+    static <UV> UV deserializeUserValue(
             DataInputDeserializer dataInputView,
             byte[] rawValueBytes,
             TypeSerializer<UV> valueSerializer)
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+
+import javax.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * A size bounded cache of deserialized values of a RocksDB state, keyed by the serialized
+ * composite key (key group, key and namespace) of the RocksDB entry. The least recently used entry
+ * is evicted once the cache exceeds its maximum number of entries.
+ *
+ * <p>The cache is write-through: the state writes every modification to RocksDB before updating
+ * or invalidating the cache, so RocksDB always contains the latest values and snapshots don't have
+ * to consider the cache. The cache must only be accessed by the task thread, the counters exposed
+ * as metrics may be read concurrently.
+ *
+ * @param <V> The type of the cached values.
+ */
+class RocksDBObjectCache<V> {
+
+    static final String METRIC_GROUP = "objectCache";
+
+    private final int maxSize;
+
+    private final LinkedHashMap<ByteBuffer, V> entries;
+
+    private volatile long hitCount;
+
+    private volatile long missCount;
+
+    private volatile long evictionCount;
+
+    RocksDBObjectCache(int maxSize) {
+        checkArgument(maxSize > 0, "The size of the object cache must be positive.");
+        this.maxSize = maxSize;
+        this.entries =
+                new LinkedHashMap<ByteBuffer, V>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<ByteBuffer, V> eldest) {
+                        if (size() > RocksDBObjectCache.this.maxSize) {
+                            evictionCount++;
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /** Returns the cached value of the given serialized key or null if it is not cached. */
+    @Nullable
+    V get(byte[] key) {
+        V value = entries.get(ByteBuffer.wrap(key));
+        if (value != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return value;
+    }
+
+    /** Caches the value of the given serialized key, which must not be modified afterwards. */
+    void put(byte[] key, V value) {
+        entries.put(ByteBuffer.wrap(key), value);
+    }
+
+    void remove(byte[] key) {
+        entries.remove(ByteBuffer.wrap(key));
+    }
+
+    void registerMetrics(MetricGroup metricGroup) {
+        metricGroup.gauge("hitCount", (Gauge<Long>) () -> hitCount);
+        metricGroup.gauge("missCount", (Gauge<Long>) () -> missCount);
+        metricGroup.gauge("evictionCount", (Gauge<Long>) () -> evictionCount);
+        metricGroup.gauge("hitRate", (Gauge<Double>) this::getHitRate);
+    }
+
+    @VisibleForTesting
+    int size() {
+        return entries.size();
+    }
+
+    @VisibleForTesting
+    long getHitCount() {
+        return hitCount;
+    }
+
+    @VisibleForTesting
+    long getMissCount() {
+        return missCount;
+    }
+
+    @VisibleForTesting
+    long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @VisibleForTesting
+    double getHitRate() {
+        long hits = hitCount;
+        long accesses = hits + missCount;
+        return accesses == 0 ? 0.0 : (double) hits / accesses;
+    }
+}
@@ -73,6 +73,24 @@ public class RocksDBOptions {
                     .withDescription(
                             "The number of threads (per stateful operator) used to transfer (download and upload) files in RocksDBStateBackend.");
 
+    /** The number of threads used to access the asynchronous states in RocksDBStateBackend. */
+    @Documentation.Section(Documentation.Sections.EXPERT_ROCKSDB)
+    public static final ConfigOption<Integer> ASYNC_STATE_THREAD_NUM =
+            ConfigOptions.key("state.backend.rocksdb.async-state.thread.num")
+                    .intType()
+                    .defaultValue(4)
+                    .withDescription(
+                            "The number of threads (per stateful operator) used to access the asynchronous states in RocksDBStateBackend. The states are only accessed by these threads if the operator uses the asynchronous state API.");
+
+    /** The maximum number of deserialized values cached per value state in RocksDBStateBackend. */
+    @Documentation.Section(Documentation.Sections.EXPERT_ROCKSDB)
+    public static final ConfigOption<Integer> OBJECT_CACHE_SIZE =
+            ConfigOptions.key("state.backend.rocksdb.object-cache.size")
+                    .intType()
+                    .defaultValue(0)
+                    .withDescription(
+                            "The maximum number of deserialized values which are cached on heap per value state in RocksDBStateBackend. The least recently used values are evicted first. The cache is write-through and saves the deserialization of hot keys, it is bounded by the number of entries rather than by memory. The value 0 disables the cache. Value states which are also accessed asynchronously are not cached.");
+
     /** The predefined settings for RocksDB DBOptions and ColumnFamilyOptions by Flink community. */
     @Documentation.Section(Documentation.Sections.EXPERT_ROCKSDB)
     public static final ConfigOption<String> PREDEFINED_OPTIONS =
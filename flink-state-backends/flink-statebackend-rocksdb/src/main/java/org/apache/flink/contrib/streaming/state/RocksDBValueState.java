@@ -24,13 +24,17 @@ import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.runtime.state.RegisteredKeyValueStateBackendMetaInfo;
+import org.apache.flink.runtime.state.StateEntry;
 import org.apache.flink.runtime.state.internal.InternalValueState;
 import org.apache.flink.util.FlinkRuntimeException;
 
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
+import java.util.List;
 
 /**
  * {@link ValueState} implementation that stores state in RocksDB.
@@ -42,6 +46,9 @@ import java.io.IOException;
 class RocksDBValueState<K, N, V> extends AbstractRocksDBState<K, N, V>
         implements InternalValueState<K, N, V> {
 
+    /** The cache of the deserialized values of hot keys, null if the cache is disabled. */
+    @Nullable private final RocksDBObjectCache<V> objectCache;
+
     /**
      * Creates a new {@code RocksDBValueState}.
      *
@@ -49,6 +56,7 @@ class RocksDBValueState<K, N, V> extends AbstractRocksDBState<K, N, V>
      * @param namespaceSerializer The serializer for the namespace.
      * @param valueSerializer The serializer for the state.
      * @param defaultValue The default value for the state.
+     * @param objectCache The cache of the deserialized values, null if the cache is disabled.
      * @param backend The backend for which this state is bind to.
      */
     private RocksDBValueState(
@@ -56,9 +64,11 @@ class RocksDBValueState<K, N, V> extends AbstractRocksDBState<K, N, V>
             TypeSerializer<N> namespaceSerializer,
             TypeSerializer<V> valueSerializer,
             V defaultValue,
+            @Nullable RocksDBObjectCache<V> objectCache,
             RocksDBKeyedStateBackend<K> backend) {
 
         super(columnFamily, namespaceSerializer, valueSerializer, defaultValue, backend);
+        this.objectCache = objectCache;
     }
 
     @Override
@@ -76,17 +86,33 @@ class RocksDBValueState<K, N, V> extends AbstractRocksDBState<K, N, V>
         return valueSerializer;
     }
 
+    @Override
+    public boolean isBatchAccessSupported() {
+        return true;
+    }
+
     @Override
     public V value() {
         try {
-            byte[] valueBytes =
-                    backend.db.get(columnFamily, serializeCurrentKeyWithGroupAndNamespace());
+            byte[] key = serializeCurrentKeyWithGroupAndNamespace();
+            if (objectCache != null) {
+                V cachedValue = objectCache.get(key);
+                if (cachedValue != null) {
+                    return copyValue(cachedValue);
+                }
+            }
+
+            byte[] valueBytes = backend.db.get(columnFamily, key);
 
             if (valueBytes == null) {
                 return getDefaultValue();
             }
             dataInputView.setBuffer(valueBytes);
-            return valueSerializer.deserialize(dataInputView);
+            V value = valueSerializer.deserialize(dataInputView);
+            if (objectCache != null) {
+                objectCache.put(key, copyValue(value));
+            }
+            return value;
         } catch (IOException | RocksDBException e) {
             throw new FlinkRuntimeException("Error while retrieving data from RocksDB.", e);
         }
@@ -100,16 +126,43 @@ class RocksDBValueState<K, N, V> extends AbstractRocksDBState<K, N, V>
         }
 
         try {
-            backend.db.put(
-                    columnFamily,
-                    writeOptions,
-                    serializeCurrentKeyWithGroupAndNamespace(),
-                    serializeValue(value));
+            byte[] key = serializeCurrentKeyWithGroupAndNamespace();
+            backend.db.put(columnFamily, writeOptions, key, serializeValue(value));
+            if (objectCache != null) {
+                objectCache.put(key, copyValue(value));
+            }
         } catch (Exception e) {
             throw new FlinkRuntimeException("Error while adding data to RocksDB", e);
         }
     }
 
+    @Override
+    public void clear() {
+        super.clear();
+        if (objectCache != null) {
+            objectCache.remove(serializeCurrentKeyWithGroupAndNamespace());
+        }
+    }
+
+    @Override
+    public void multiPut(List<StateEntry<K, N, V>> entries) throws Exception {
+        super.multiPut(entries);
+        if (objectCache != null) {
+            for (StateEntry<K, N, V> entry : entries) {
+                objectCache.remove(
+                        serializeKeyWithGroupAndNamespace(entry.getKey(), entry.getNamespace()));
+            }
+        }
+    }
+
+    /**
+     * The cached values are never handed out, so that modifications of returned or updated values
+     * without a subsequent update don't reach the cache, just like they don't reach RocksDB.
+     */
+    private V copyValue(V value) {
+        return valueSerializer.isImmutableType() ? value : valueSerializer.copy(value);
+    }
+
     @SuppressWarnings("unchecked")
     static <K, N, SV, S extends State, IS extends S> IS create(
             StateDescriptor<S, SV> stateDesc,
@@ -122,6 +175,7 @@ class RocksDBValueState<K, N, V> extends AbstractRocksDBState<K, N, V>
                         registerResult.f1.getNamespaceSerializer(),
                         registerResult.f1.getStateSerializer(),
                         stateDesc.getDefaultValue(),
+                        backend.createObjectCache(stateDesc.getName()),
                         backend);
     }
 }
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.api.common.typeutils.base.ListSerializer;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.fs.CloseableRegistry;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
+import org.apache.flink.runtime.state.CheckpointStorage;
+import org.apache.flink.runtime.state.CheckpointableKeyedStateBackend;
+import org.apache.flink.runtime.state.ConfigurableStateBackend;
+import org.apache.flink.runtime.state.KeyGroupRange;
+import org.apache.flink.runtime.state.StateBackendTestBase;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.internal.InternalValueState;
+import org.apache.flink.runtime.state.storage.JobManagerCheckpointStorage;
+import org.apache.flink.runtime.state.ttl.MockTtlTimeProvider;
+import org.apache.flink.util.IOUtils;
+
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestName;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for the {@link EmbeddedRocksDBStateBackend} with the object cache of value states enabled.
+ * Besides the dedicated object cache tests, this runs the value state, TTL and snapshot/restore
+ * tests of the {@link StateBackendTestBase}.
+ */
+public class EmbeddedRocksDBStateBackendObjectCacheTest
+        extends StateBackendTestBase<EmbeddedRocksDBStateBackend> {
+
+    /** Small enough that the tests with many keys also evict from the cache. */
+    private static final int OBJECT_CACHE_SIZE = 4;
+
+    @ClassRule public static final TemporaryFolder TEMP_FOLDER = new TemporaryFolder();
+
+    @Rule public final TestName testName = new TestName();
+
+    @Before
+    public void selectTests() {
+        String name = testName.getMethodName();
+        assumeTrue(
+                name.contains("ValueState")
+                        || name.contains("Ttl")
+                        || name.contains("SnapshotRestore")
+                        || name.contains("ObjectCache"));
+    }
+
+    @Override
+    protected ConfigurableStateBackend getStateBackend() throws IOException {
+        EmbeddedRocksDBStateBackend backend = new EmbeddedRocksDBStateBackend(false);
+        Configuration configuration = new Configuration();
+        configuration.set(RocksDBOptions.OBJECT_CACHE_SIZE, OBJECT_CACHE_SIZE);
+        backend = backend.configure(configuration, Thread.currentThread().getContextClassLoader());
+        backend.setDbStoragePath(TEMP_FOLDER.newFolder().getAbsolutePath());
+        return backend;
+    }
+
+    @Override
+    protected CheckpointStorage getCheckpointStorage() {
+        return new JobManagerCheckpointStorage();
+    }
+
+    @Override
+    protected boolean isSerializerPresenceRequiredOnRestore() {
+        return false;
+    }
+
+    @Override
+    protected boolean supportsAsynchronousSnapshots() {
+        return true;
+    }
+
+    @Override
+    protected boolean isSafeToReuseKVState() {
+        return true;
+    }
+
+    @Test
+    public void testObjectCacheInvalidationOnClearAndNullUpdate() throws Exception {
+        CheckpointableKeyedStateBackend<String> backend =
+                createKeyedBackend(StringSerializer.INSTANCE);
+        try {
+            ValueState<String> state = getValueState(backend);
+
+            backend.setCurrentKey("a");
+            state.update("1");
+            assertEquals("1", state.value());
+            backend.setCurrentKey("b");
+            assertNull(state.value());
+
+            backend.setCurrentKey("a");
+            state.clear();
+            assertNull(state.value());
+
+            state.update("2");
+            assertEquals("2", state.value());
+            state.update(null);
+            assertNull(state.value());
+
+            state.update("3");
+            assertEquals("3", state.value());
+        } finally {
+            IOUtils.closeQuietly(backend);
+            backend.dispose();
+        }
+    }
+
+    @Test
+    public void testObjectCacheInvalidationOnMultiPut() throws Exception {
+        CheckpointableKeyedStateBackend<String> backend =
+                createKeyedBackend(StringSerializer.INSTANCE);
+        try {
+            InternalValueState<String, VoidNamespace, String> state =
+                    (InternalValueState<String, VoidNamespace, String>) getValueState(backend);
+
+            backend.setCurrentKey("a");
+            state.update("1");
+            assertEquals("1", state.value());
+            backend.setCurrentKey("b");
+            state.update("2");
+            assertEquals("2", state.value());
+
+            state.multiPut(
+                    Arrays.asList(
+                            new StateEntry.SimpleStateEntry<>("a", VoidNamespace.INSTANCE, "3"),
+                            new StateEntry.SimpleStateEntry<>("b", VoidNamespace.INSTANCE, null)));
+
+            assertNull(state.value());
+            backend.setCurrentKey("a");
+            assertEquals("3", state.value());
+        } finally {
+            IOUtils.closeQuietly(backend);
+            backend.dispose();
+        }
+    }
+
+    @Test
+    public void testObjectCacheCopiesMutableValues() throws Exception {
+        CheckpointableKeyedStateBackend<String> backend =
+                createKeyedBackend(StringSerializer.INSTANCE);
+        try {
+            ValueState<List<Long>> state =
+                    backend.getPartitionedState(
+                            VoidNamespace.INSTANCE,
+                            VoidNamespaceSerializer.INSTANCE,
+                            new ValueStateDescriptor<>(
+                                    "list", new ListSerializer<>(LongSerializer.INSTANCE)));
+
+            backend.setCurrentKey("a");
+            List<Long> value = new ArrayList<>(Collections.singletonList(1L));
+            state.update(value);
+
+            // modifications without an update must not reach the state
+            value.add(2L);
+            assertEquals(Collections.singletonList(1L), state.value());
+            state.value().add(3L);
+            assertEquals(Collections.singletonList(1L), state.value());
+
+            value = state.value();
+            value.add(2L);
+            state.update(value);
+            assertEquals(Arrays.asList(1L, 2L), state.value());
+        } finally {
+            IOUtils.closeQuietly(backend);
+            backend.dispose();
+        }
+    }
+
+    @Test
+    public void testObjectCacheWithTtl() throws Exception {
+        MockTtlTimeProvider timeProvider = new MockTtlTimeProvider();
+        env.setCheckpointStorageAccess(getCheckpointStorageAccess());
+        CheckpointableKeyedStateBackend<String> backend =
+                getStateBackend()
+                        .createKeyedStateBackend(
+                                env,
+                                new JobID(),
+                                "test_op",
+                                StringSerializer.INSTANCE,
+                                10,
+                                new KeyGroupRange(0, 9),
+                                env.getTaskKvStateRegistry(),
+                                timeProvider,
+                                new UnregisteredMetricsGroup(),
+                                Collections.emptyList(),
+                                new CloseableRegistry());
+        try {
+            ValueStateDescriptor<String> neverReturnExpired =
+                    new ValueStateDescriptor<>("never", StringSerializer.INSTANCE);
+            neverReturnExpired.enableTimeToLive(
+                    StateTtlConfig.newBuilder(Time.milliseconds(100)).build());
+            ValueStateDescriptor<String> returnExpired =
+                    new ValueStateDescriptor<>("return", StringSerializer.INSTANCE);
+            returnExpired.enableTimeToLive(
+                    StateTtlConfig.newBuilder(Time.milliseconds(100))
+                            .setStateVisibility(
+                                    StateTtlConfig.StateVisibility.ReturnExpiredIfNotCleanedUp)
+                            .build());
+            ValueState<String> neverReturnExpiredState =
+                    backend.getPartitionedState(
+                            VoidNamespace.INSTANCE,
+                            VoidNamespaceSerializer.INSTANCE,
+                            neverReturnExpired);
+            ValueState<String> returnExpiredState =
+                    backend.getPartitionedState(
+                            VoidNamespace.INSTANCE,
+                            VoidNamespaceSerializer.INSTANCE,
+                            returnExpired);
+
+            backend.setCurrentKey("a");
+            timeProvider.time = 0;
+            neverReturnExpiredState.update("1");
+            returnExpiredState.update("1");
+
+            // the cached values are not expired yet
+            timeProvider.time = 50;
+            assertEquals("1", neverReturnExpiredState.value());
+            assertEquals("1", returnExpiredState.value());
+
+            // the cached values expire, an expired value is cleaned up on access
+            timeProvider.time = 150;
+            assertNull(neverReturnExpiredState.value());
+            assertEquals("1", returnExpiredState.value());
+            assertNull(returnExpiredState.value());
+
+            neverReturnExpiredState.update("2");
+            timeProvider.time = 200;
+            assertEquals("2", neverReturnExpiredState.value());
+            timeProvider.time = 250;
+            assertNull(neverReturnExpiredState.value());
+        } finally {
+            IOUtils.closeQuietly(backend);
+            backend.dispose();
+        }
+    }
+
+    private static ValueState<String> getValueState(
+            CheckpointableKeyedStateBackend<String> backend) throws Exception {
+        return backend.getPartitionedState(
+                VoidNamespace.INSTANCE,
+                VoidNamespaceSerializer.INSTANCE,
+                new ValueStateDescriptor<>("value", StringSerializer.INSTANCE));
+    }
+}
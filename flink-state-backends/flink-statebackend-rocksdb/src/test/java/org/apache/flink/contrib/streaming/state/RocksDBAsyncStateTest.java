@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.api.common.typeutils.base.StringSerializer;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.VoidNamespaceSerializer;
+import org.apache.flink.runtime.state.async.AsyncMapState;
+import org.apache.flink.runtime.state.async.AsyncValueState;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for the {@link RocksDBAsyncValueState} and the {@link RocksDBAsyncMapState}, which share
+ * their data with the synchronous states of the same name.
+ */
+public class RocksDBAsyncStateTest extends TestLogger {
+
+    @Rule public final TemporaryFolder tmp = new TemporaryFolder();
+
+    private RocksDBKeyedStateBackendTestFactory backendFactory;
+
+    private RocksDBKeyedStateBackend<String> backend;
+
+    /** Completes the futures in a single thread, like the mailbox of an operator. */
+    private ExecutorService resultExecutor;
+
+    @Before
+    public void setup() throws Exception {
+        backendFactory = new RocksDBKeyedStateBackendTestFactory();
+        backend = backendFactory.create(tmp, StringSerializer.INSTANCE, 128);
+        resultExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        resultExecutor.shutdownNow();
+        backendFactory.close();
+    }
+
+    @Test
+    public void testValueStateRoundTrip() throws Exception {
+        ValueStateDescriptor<Long> stateDescriptor =
+                new ValueStateDescriptor<>("value", LongSerializer.INSTANCE);
+        AsyncValueState<String, Long> asyncState =
+                backend.getAsyncValueState(stateDescriptor, resultExecutor);
+        ValueState<Long> syncState =
+                backend.getPartitionedState(
+                        VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, stateDescriptor);
+
+        asyncState.update("a", 1L).get();
+        backend.setCurrentKey("a");
+        assertEquals(Long.valueOf(1L), syncState.value());
+
+        backend.setCurrentKey("b");
+        syncState.update(2L);
+        assertEquals(Long.valueOf(2L), asyncState.get("b").get());
+        // the asynchronous accesses don't depend on the current key of the backend
+        assertEquals(Long.valueOf(1L), asyncState.get("a").get());
+        assertNull(asyncState.get("c").get());
+
+        asyncState.update("a", null).get();
+        backend.setCurrentKey("a");
+        assertNull(syncState.value());
+
+        backend.setCurrentKey("b");
+        syncState.clear();
+        assertNull(asyncState.get("b").get());
+    }
+
+    @Test
+    public void testMapStateRoundTrip() throws Exception {
+        MapStateDescriptor<String, Long> stateDescriptor =
+                new MapStateDescriptor<>("map", StringSerializer.INSTANCE, LongSerializer.INSTANCE);
+        AsyncMapState<String, String, Long> asyncState =
+                backend.getAsyncMapState(stateDescriptor, resultExecutor);
+        MapState<String, Long> syncState =
+                backend.getPartitionedState(
+                        VoidNamespace.INSTANCE, VoidNamespaceSerializer.INSTANCE, stateDescriptor);
+
+        asyncState.put("a", "x", 1L).get();
+        asyncState.put("a", "y", 2L).get();
+        backend.setCurrentKey("a");
+        assertEquals(Long.valueOf(1L), syncState.get("x"));
+        assertEquals(Long.valueOf(2L), syncState.get("y"));
+
+        backend.setCurrentKey("b");
+        syncState.put("x", 3L);
+        assertEquals(Long.valueOf(3L), asyncState.get("b", "x").get());
+        assertEquals(Long.valueOf(1L), asyncState.get("a", "x").get());
+        assertNull(asyncState.get("b", "y").get());
+
+        asyncState.remove("a", "x").get();
+        backend.setCurrentKey("a");
+        assertFalse(syncState.contains("x"));
+        assertEquals(Long.valueOf(2L), syncState.get("y"));
+
+        syncState.remove("y");
+        assertNull(asyncState.get("a", "y").get());
+    }
+}
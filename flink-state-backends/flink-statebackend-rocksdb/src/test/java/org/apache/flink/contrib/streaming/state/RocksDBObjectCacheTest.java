@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state;
+
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/** Tests for the {@link RocksDBObjectCache}. */
+public class RocksDBObjectCacheTest extends TestLogger {
+
+    @Test
+    public void testGetPutRemove() {
+        RocksDBObjectCache<String> cache = new RocksDBObjectCache<>(10);
+
+        assertNull(cache.get(new byte[] {1, 2}));
+        cache.put(new byte[] {1, 2}, "a");
+        // keys are compared by content
+        assertEquals("a", cache.get(new byte[] {1, 2}));
+        assertNull(cache.get(new byte[] {1, 3}));
+
+        cache.remove(new byte[] {1, 2});
+        assertNull(cache.get(new byte[] {1, 2}));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0.25, cache.getHitRate(), 0.0);
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        RocksDBObjectCache<String> cache = new RocksDBObjectCache<>(2);
+
+        cache.put(new byte[] {1}, "a");
+        cache.put(new byte[] {2}, "b");
+        assertEquals("a", cache.get(new byte[] {1}));
+        cache.put(new byte[] {3}, "c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals("a", cache.get(new byte[] {1}));
+        assertNull(cache.get(new byte[] {2}));
+        assertEquals("c", cache.get(new byte[] {3}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsNonPositiveSize() {
+        new RocksDBObjectCache<>(0);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.contrib.streaming.state.ttl;
+
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.contrib.streaming.state.EmbeddedRocksDBStateBackend;
+import org.apache.flink.contrib.streaming.state.RocksDBOptions;
+import org.apache.flink.runtime.state.CheckpointStorage;
+import org.apache.flink.runtime.state.StateBackend;
+import org.apache.flink.runtime.state.storage.JobManagerCheckpointStorage;
+import org.apache.flink.runtime.state.ttl.StateBackendTestContext;
+import org.apache.flink.runtime.state.ttl.TtlStateTestBase;
+import org.apache.flink.runtime.state.ttl.TtlTimeProvider;
+import org.apache.flink.util.FlinkRuntimeException;
+
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+/**
+ * Test suite for rocksdb state TTL with the object cache of value states enabled. The compaction
+ * filter tests of {@link RocksDBTtlStateTestBase} are left out, compaction does not invalidate the
+ * cached values and only the TTL wrapper hides them once they are expired.
+ */
+public class ObjectCacheRocksDbTtlStateTest extends TtlStateTestBase {
+    @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Override
+    protected StateBackendTestContext createStateBackendTestContext(TtlTimeProvider timeProvider) {
+        return new StateBackendTestContext(timeProvider) {
+            @Override
+            protected StateBackend createStateBackend() {
+                return ObjectCacheRocksDbTtlStateTest.this.createStateBackend();
+            }
+
+            @Override
+            protected CheckpointStorage createCheckpointStorage() {
+                return new JobManagerCheckpointStorage();
+            }
+        };
+    }
+
+    private StateBackend createStateBackend() {
+        String dbPath;
+        try {
+            dbPath = tempFolder.newFolder().getAbsolutePath();
+        } catch (IOException e) {
+            throw new FlinkRuntimeException("Failed to init rocksdb test state backend");
+        }
+        EmbeddedRocksDBStateBackend backend = new EmbeddedRocksDBStateBackend(false);
+        Configuration config = new Configuration();
+        config.set(RocksDBOptions.OBJECT_CACHE_SIZE, 4);
+        backend = backend.configure(config, Thread.currentThread().getContextClassLoader());
+        backend.setDbStoragePath(dbPath);
+        return backend;
+    }
+}
@@ -395,6 +395,8 @@ public class StreamGraphGenerator {
                 return GlobalStreamExchangeMode.ALL_EDGES_PIPELINED;
             case ALL_EXCHANGES_BLOCKING:
                 return GlobalStreamExchangeMode.ALL_EDGES_BLOCKING;
+            case ALL_EXCHANGES_HYBRID:
+                return GlobalStreamExchangeMode.ALL_EDGES_HYBRID;
             default:
                 throw new IllegalArgumentException(
                         String.format(
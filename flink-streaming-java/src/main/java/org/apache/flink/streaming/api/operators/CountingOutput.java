@@ -25,6 +25,8 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 import org.apache.flink.util.OutputTag;
 
+import java.util.List;
+
 /** Wrapping {@link Output} that updates metrics on the number of emitted elements. */
 public class CountingOutput<OUT> implements Output<StreamRecord<OUT>> {
     private final Output<StreamRecord<OUT>> output;
@@ -62,6 +64,12 @@ public class CountingOutput<OUT> implements Output<StreamRecord<OUT>> {
         output.collect(outputTag, record);
     }
 
+    @Override
+    public void collectBatch(List<StreamRecord<OUT>> records) {
+        numRecordsOut.inc(records.size());
+        output.collectBatch(records);
+    }
+
     @Override
     public void close() {
         output.close();
@@ -25,6 +25,9 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 import org.apache.flink.util.OutputTag;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Wrapper around an {@link Output} for user functions that expect a {@link Output}. Before giving
  * the {@link TimestampedCollector} to a user function you must set the timestamp that should be
@@ -51,6 +54,16 @@ public final class TimestampedCollector<T> implements Output<T> {
         output.collect(reuse.replace(record));
     }
 
+    /** Emits the records as one batch, all of them with the timestamp that has been set. */
+    @Override
+    public void collectBatch(List<T> records) {
+        List<StreamRecord<T>> batch = new ArrayList<>(records.size());
+        for (T record : records) {
+            batch.add(reuse.copy(record));
+        }
+        output.collectBatch(batch);
+    }
+
     public void setTimestamp(StreamRecord<?> timestampBase) {
         if (timestampBase.hasTimestamp()) {
             reuse.setTimestamp(timestampBase.getTimestamp());
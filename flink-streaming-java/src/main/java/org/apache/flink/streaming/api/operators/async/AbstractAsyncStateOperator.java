@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.operators.MailboxExecutor;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.runtime.state.KeyedStateBackend;
+import org.apache.flink.runtime.state.async.AsyncKeyedStateBackend;
+import org.apache.flink.runtime.state.async.AsyncMapState;
+import org.apache.flink.runtime.state.async.AsyncValueState;
+import org.apache.flink.runtime.state.async.SyncKeyedStateBackendAdapter;
+import org.apache.flink.streaming.api.graph.StreamConfig;
+import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
+import org.apache.flink.streaming.api.operators.Output;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.StreamTask;
+import org.apache.flink.util.function.SupplierWithException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkState;
+
+/**
+ * Base class for keyed operators which access their state asynchronously.
+ *
+ * <p>The operator processes its input with {@link #processAsync}, which executes the given action
+ * for the current key. The actions of the same key are executed in the order of their input, the
+ * actions of different keys overlap their state accesses. The futures of the {@link
+ * AsyncValueState asynchronous states} complete in the mailbox thread, thus the callbacks of the
+ * actions can safely emit records and access other state. The key of the action is the current
+ * key while the action is started and while the callbacks of its state accesses run, also if this
+ * happens while the operator processes a record of another key.
+ *
+ * <p>All buffered actions are done before a watermark is forwarded, before a checkpoint barrier is
+ * emitted and when the operator finishes. Thus the records emitted by the actions are never
+ * overtaken by watermarks or barriers, and the state snapshot contains all effects of the input
+ * before the barrier.
+ *
+ * <p>If the keyed state backend doesn't support asynchronous states, the states are accessed
+ * synchronously through a {@link SyncKeyedStateBackendAdapter}.
+ *
+ * @param <K> The type of the keys.
+ * @param <OUT> The output type of the operator.
+ */
+@Internal
+public abstract class AbstractAsyncStateOperator<K, OUT> extends AbstractStreamOperator<OUT> {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The maximum number of actions which are running or waiting for their key. */
+    private final int maxBufferedActions;
+
+    private transient MailboxExecutor mailboxExecutor;
+
+    private transient KeyedAsyncExecutionController<K> asyncExecutionController;
+
+    /** Completes the futures of the asynchronous states in the mailbox thread. */
+    private transient Executor resultExecutor;
+
+    private transient AsyncKeyedStateBackend<K> asyncKeyedStateBackend;
+
+    protected AbstractAsyncStateOperator(int maxBufferedActions) {
+        checkArgument(maxBufferedActions > 0, "The number of buffered actions must be positive.");
+        this.maxBufferedActions = maxBufferedActions;
+    }
+
+    @Override
+    public void setup(
+            StreamTask<?, ?> containingTask,
+            StreamConfig config,
+            Output<StreamRecord<OUT>> output) {
+        super.setup(containingTask, config, output);
+        this.mailboxExecutor =
+                containingTask.getMailboxExecutorFactory().createExecutor(config.getChainIndex());
+        this.asyncExecutionController =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, this, maxBufferedActions);
+        this.resultExecutor =
+                command ->
+                        mailboxExecutor.execute(
+                                command::run, "Result of an asynchronous state access");
+    }
+
+    /** Creates or retrieves an asynchronous value state, which is only scoped to the key. */
+    protected <V> AsyncValueState<K, V> getAsyncValueState(
+            ValueStateDescriptor<V> stateDescriptor) throws Exception {
+        stateDescriptor.initializeSerializerUnlessSet(getExecutionConfig());
+        AsyncValueState<K, V> state =
+                getAsyncKeyedStateBackend().getAsyncValueState(stateDescriptor, resultExecutor);
+        return new AsyncValueState<K, V>() {
+            @Override
+            public CompletableFuture<V> get(K key) {
+                return asyncExecutionController.completeWithKey(key, state.get(key));
+            }
+
+            @Override
+            public CompletableFuture<Void> update(K key, V value) {
+                return asyncExecutionController.completeWithKey(key, state.update(key, value));
+            }
+        };
+    }
+
+    /** Creates or retrieves an asynchronous map state, which is only scoped to the key. */
+    protected <UK, UV> AsyncMapState<K, UK, UV> getAsyncMapState(
+            MapStateDescriptor<UK, UV> stateDescriptor) throws Exception {
+        stateDescriptor.initializeSerializerUnlessSet(getExecutionConfig());
+        AsyncMapState<K, UK, UV> state =
+                getAsyncKeyedStateBackend().getAsyncMapState(stateDescriptor, resultExecutor);
+        return new AsyncMapState<K, UK, UV>() {
+            @Override
+            public CompletableFuture<UV> get(K key, UK userKey) {
+                return asyncExecutionController.completeWithKey(key, state.get(key, userKey));
+            }
+
+            @Override
+            public CompletableFuture<Void> put(K key, UK userKey, UV userValue) {
+                return asyncExecutionController.completeWithKey(
+                        key, state.put(key, userKey, userValue));
+            }
+
+            @Override
+            public CompletableFuture<Void> remove(K key, UK userKey) {
+                return asyncExecutionController.completeWithKey(key, state.remove(key, userKey));
+            }
+        };
+    }
+
+    /**
+     * Executes the given action for the current key once the preceding actions of the key are
+     * done. This may block until the number of buffered actions falls below the maximum.
+     *
+     * @param action The action, which returns a future that completes when the action is done.
+     */
+    @SuppressWarnings("unchecked")
+    protected void processAsync(SupplierWithException<CompletableFuture<?>, Exception> action)
+            throws Exception {
+        asyncExecutionController.submit((K) getCurrentKey(), action);
+    }
+
+    @Override
+    public void processWatermark(Watermark mark) throws Exception {
+        // timers and downstream operators must observe the effects of all preceding records
+        asyncExecutionController.drain();
+        super.processWatermark(mark);
+    }
+
+    @Override
+    public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+        asyncExecutionController.drain();
+        super.prepareSnapshotPreBarrier(checkpointId);
+    }
+
+    @Override
+    public void finish() throws Exception {
+        asyncExecutionController.drain();
+        super.finish();
+    }
+
+    private AsyncKeyedStateBackend<K> getAsyncKeyedStateBackend() {
+        if (asyncKeyedStateBackend == null) {
+            KeyedStateBackend<K> keyedStateBackend = getKeyedStateBackend();
+            checkState(
+                    keyedStateBackend != null,
+                    "Asynchronous states can only be used on keyed operators.");
+            if (keyedStateBackend instanceof AsyncKeyedStateBackend) {
+                @SuppressWarnings("unchecked")
+                AsyncKeyedStateBackend<K> backend =
+                        (AsyncKeyedStateBackend<K>) keyedStateBackend;
+                asyncKeyedStateBackend = backend;
+            } else {
+                asyncKeyedStateBackend = new SyncKeyedStateBackendAdapter<>(keyedStateBackend);
+            }
+        }
+        return asyncKeyedStateBackend;
+    }
+}
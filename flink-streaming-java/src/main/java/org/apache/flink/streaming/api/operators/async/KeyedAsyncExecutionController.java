@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.operators.MailboxExecutor;
+import org.apache.flink.streaming.api.operators.KeyContext;
+import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.function.SupplierWithException;
+
+import javax.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * Executes asynchronous actions, e.g. accesses of asynchronous states, of a keyed operator.
+ *
+ * <p>The actions of the same key are executed one after another in the order of their
+ * submission, so that an action always observes the state written by the previous actions of its
+ * key. The actions of different keys are executed concurrently. An action is considered as done
+ * when its returned future completes.
+ *
+ * <p>The key of an action is set as the current key of the {@link KeyContext} while the action is
+ * started, also if it is started after the preceding actions of its key in the mailbox. The same
+ * holds for the callbacks of the futures passed through {@link #completeWithKey}. The previous
+ * current key is restored afterwards.
+ *
+ * <p>The number of buffered actions, i.e. running and waiting actions, is bounded. If the bound is
+ * reached, {@link #submit} yields to the mailbox until an action is done. All methods have to be
+ * called from the mailbox thread, the completions of the actions are handled in the mailbox as
+ * well.
+ *
+ * @param <K> The type of the keys.
+ */
+@Internal
+public class KeyedAsyncExecutionController<K> {
+
+    private final MailboxExecutor mailboxExecutor;
+
+    /** The key context whose current key is set to the key of the running action or callback. */
+    private final KeyContext keyContext;
+
+    private final int maxBufferedActions;
+
+    /** The actions waiting for the running action of their key, per key with a running action. */
+    private final Map<K, ArrayDeque<SupplierWithException<CompletableFuture<?>, Exception>>>
+            waitingActions;
+
+    private int numberOfBufferedActions;
+
+    public KeyedAsyncExecutionController(
+            MailboxExecutor mailboxExecutor, KeyContext keyContext, int maxBufferedActions) {
+        checkArgument(maxBufferedActions > 0, "The number of buffered actions must be positive.");
+        this.mailboxExecutor = checkNotNull(mailboxExecutor);
+        this.keyContext = checkNotNull(keyContext);
+        this.maxBufferedActions = maxBufferedActions;
+        this.waitingActions = new HashMap<>();
+    }
+
+    /**
+     * Submits an action for the given key. The action is started right away if no action of the
+     * key is running, otherwise it is started after the preceding actions of the key are done.
+     *
+     * @param key The key of the action, which must not be modified afterwards.
+     * @param action The action, which returns a future that completes when the action is done.
+     */
+    public void submit(K key, SupplierWithException<CompletableFuture<?>, Exception> action)
+            throws Exception {
+        while (numberOfBufferedActions >= maxBufferedActions) {
+            mailboxExecutor.yield();
+        }
+
+        numberOfBufferedActions++;
+        ArrayDeque<SupplierWithException<CompletableFuture<?>, Exception>> actionsOfKey =
+                waitingActions.get(key);
+        if (actionsOfKey != null) {
+            actionsOfKey.add(action);
+        } else {
+            waitingActions.put(key, new ArrayDeque<>());
+            start(key, action);
+        }
+    }
+
+    /** Waits until all submitted actions are done. */
+    public void drain() throws Exception {
+        while (numberOfBufferedActions > 0) {
+            mailboxExecutor.yield();
+        }
+    }
+
+    /**
+     * Returns a future which completes with the given future. The callbacks of the returned future
+     * run with the given key as current key if the given future completes later on, e.g. in the
+     * mailbox. Otherwise they run in the calling thread, like the callbacks of the given future.
+     *
+     * @param key The key of the action which waits for the future.
+     * @param future The future, which has to complete in the mailbox thread.
+     */
+    public <T> CompletableFuture<T> completeWithKey(K key, CompletableFuture<T> future) {
+        if (future.isDone()) {
+            return future;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete(
+                (value, failure) -> {
+                    Object previousKey = setCurrentKey(key);
+                    try {
+                        if (failure != null) {
+                            result.completeExceptionally(failure);
+                        } else {
+                            result.complete(value);
+                        }
+                    } finally {
+                        restoreCurrentKey(previousKey);
+                    }
+                });
+        return result;
+    }
+
+    public int getNumberOfBufferedActions() {
+        return numberOfBufferedActions;
+    }
+
+    private void start(K key, SupplierWithException<CompletableFuture<?>, Exception> action)
+            throws Exception {
+        final CompletableFuture<?> future;
+        Object previousKey = setCurrentKey(key);
+        try {
+            future = action.get();
+        } finally {
+            restoreCurrentKey(previousKey);
+        }
+        if (future.isDone()) {
+            // avoid a round trip through the mailbox for actions which don't block, e.g. on heap
+            Throwable failure = null;
+            try {
+                future.join();
+            } catch (Throwable t) {
+                failure = t;
+            }
+            onActionDone(key, failure);
+        } else {
+            future.whenComplete(
+                    (ignored, failure) ->
+                            mailboxExecutor.execute(
+                                    () -> onActionDone(key, failure),
+                                    "Completion of an asynchronous state action"));
+        }
+    }
+
+    private void onActionDone(K key, @Nullable Throwable failure) throws Exception {
+        numberOfBufferedActions--;
+        if (failure != null) {
+            throw new FlinkException("Could not execute an asynchronous state action.", failure);
+        }
+
+        ArrayDeque<SupplierWithException<CompletableFuture<?>, Exception>> actionsOfKey =
+                waitingActions.get(key);
+        SupplierWithException<CompletableFuture<?>, Exception> nextAction = actionsOfKey.poll();
+        if (nextAction == null) {
+            waitingActions.remove(key);
+        } else {
+            start(key, nextAction);
+        }
+    }
+
+    private Object setCurrentKey(K key) {
+        Object previousKey = keyContext.getCurrentKey();
+        keyContext.setCurrentKey(key);
+        return previousKey;
+    }
+
+    private void restoreCurrentKey(@Nullable Object previousKey) {
+        // there is no current key before the first record
+        if (previousKey != null) {
+            keyContext.setCurrentKey(previousKey);
+        }
+    }
+}
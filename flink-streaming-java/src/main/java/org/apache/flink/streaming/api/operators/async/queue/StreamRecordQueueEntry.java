@@ -27,7 +27,9 @@ import org.apache.flink.util.Preconditions;
 
 import javax.annotation.Nonnull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * {@link StreamElementQueueEntry} implementation for {@link StreamRecord}. This class also acts as
@@ -60,9 +62,11 @@ class StreamRecordQueueEntry<OUT> implements StreamElementQueueEntry<OUT> {
     @Override
     public void emitResult(TimestampedCollector<OUT> output) {
         output.setTimestamp(inputRecord);
-        for (OUT r : completedElements) {
-            output.collect(r);
-        }
+        // the results of an input record are sent as one batch over the network
+        output.collectBatch(
+                completedElements instanceof List
+                        ? (List<OUT>) completedElements
+                        : new ArrayList<>(completedElements));
     }
 
     @Override
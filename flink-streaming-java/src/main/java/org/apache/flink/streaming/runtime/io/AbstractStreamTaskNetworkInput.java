@@ -25,11 +25,14 @@ import org.apache.flink.runtime.io.network.api.EndOfPartitionEvent;
 import org.apache.flink.runtime.io.network.api.serialization.RecordDeserializer;
 import org.apache.flink.runtime.io.network.partition.consumer.BufferOrEvent;
 import org.apache.flink.runtime.io.network.partition.consumer.EndOfChannelStateEvent;
+import org.apache.flink.runtime.io.network.partition.consumer.InputChannel;
 import org.apache.flink.runtime.plugable.DeserializationDelegate;
 import org.apache.flink.runtime.plugable.NonReusingDeserializationDelegate;
 import org.apache.flink.streaming.runtime.io.checkpointing.CheckpointedInputGate;
+import org.apache.flink.streaming.runtime.streamrecord.ObjectHandoffMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.streaming.runtime.watermarkstatus.StatusWatermarkValve;
 
 import java.io.IOException;
@@ -61,6 +64,8 @@ public abstract class AbstractStreamTaskNetworkInput<
     protected final int inputIndex;
     private InputChannelInfo lastChannel = null;
     private R currentRecordDeserializer = null;
+    /** The channel of the last buffer, resolved when the first handed over object is polled. */
+    private InputChannel lastInputChannel = null;
 
     public AbstractStreamTaskNetworkInput(
             CheckpointedInputGate checkpointedInputGate,
@@ -132,6 +137,10 @@ public abstract class AbstractStreamTaskNetworkInput<
     private void processElement(StreamElement recordOrMark, DataOutput<T> output) throws Exception {
         if (recordOrMark.isRecord()) {
             output.emitRecord(recordOrMark.asRecord());
+        } else if (recordOrMark.isRecordBatch()) {
+            for (StreamRecord<T> record : recordOrMark.<T>asRecordBatch().getRecords()) {
+                output.emitRecord(record);
+            }
         } else if (recordOrMark.isWatermark()) {
             statusWatermarkValve.inputWatermark(
                     recordOrMark.asWatermark(), flattenedChannelIndices.get(lastChannel), output);
@@ -142,6 +151,12 @@ public abstract class AbstractStreamTaskNetworkInput<
                     recordOrMark.asWatermarkStatus(),
                     flattenedChannelIndices.get(lastChannel),
                     output);
+        } else if (recordOrMark == ObjectHandoffMarker.INSTANCE) {
+            if (lastInputChannel == null) {
+                lastInputChannel =
+                        checkpointedInputGate.getChannel(flattenedChannelIndices.get(lastChannel));
+            }
+            output.emitRecord(((StreamElement) lastInputChannel.pollHandedOverObject()).asRecord());
         } else {
             throw new UnsupportedOperationException("Unknown type of StreamElement");
         }
@@ -178,6 +193,7 @@ public abstract class AbstractStreamTaskNetworkInput<
     protected void processBuffer(BufferOrEvent bufferOrEvent) throws IOException {
         lastChannel = bufferOrEvent.getChannelInfo();
         checkState(lastChannel != null);
+        lastInputChannel = null;
         currentRecordDeserializer = getActiveSerializer(bufferOrEvent.getChannelInfo());
         checkState(
                 currentRecordDeserializer != null,
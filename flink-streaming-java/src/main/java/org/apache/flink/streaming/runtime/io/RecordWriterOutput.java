@@ -22,21 +22,30 @@ import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.metrics.Gauge;
 import org.apache.flink.runtime.event.AbstractEvent;
 import org.apache.flink.runtime.io.network.api.CheckpointBarrier;
+import org.apache.flink.runtime.io.network.api.writer.ChannelSelectorRecordWriter;
 import org.apache.flink.runtime.io.network.api.writer.RecordWriter;
 import org.apache.flink.runtime.plugable.SerializationDelegate;
 import org.apache.flink.streaming.api.operators.Output;
 import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.metrics.WatermarkGauge;
 import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
+import org.apache.flink.streaming.runtime.streamrecord.ObjectHandoffMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.tasks.WatermarkGaugeExposingOutput;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 import org.apache.flink.util.OutputTag;
 
+import javax.annotation.Nullable;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
 
 import static org.apache.flink.util.Preconditions.checkNotNull;
 
@@ -50,18 +59,50 @@ public class RecordWriterOutput<OUT> implements WatermarkGaugeExposingOutput<Str
 
     private final boolean supportsUnalignedCheckpoints;
 
+    /**
+     * The writer to hand over the records to consumers in the same JVM, or null if the records are
+     * always serialized.
+     */
+    @Nullable
+    private final ChannelSelectorRecordWriter<SerializationDelegate<StreamElement>> handoffWriter;
+
+    @Nullable private final SerializationDelegate<StreamElement> handoffMarkerDelegate;
+
+    @Nullable private final Function<SerializationDelegate<StreamElement>, Object> handoffCopier;
+
+    /** Reused element to serialize a batch of records. */
+    private final StreamRecordBatch<OUT> recordBatch =
+            new StreamRecordBatch<>(Collections.emptyList());
+
+    /** The records of the current batch per channel, created by the first batch. */
+    private List<StreamRecord<OUT>>[] channelBatches;
+
     private final OutputTag outputTag;
 
     private final WatermarkGauge watermarkGauge = new WatermarkGauge();
 
     private WatermarkStatus announcedStatus = WatermarkStatus.ACTIVE;
 
-    @SuppressWarnings("unchecked")
     public RecordWriterOutput(
             RecordWriter<SerializationDelegate<StreamRecord<OUT>>> recordWriter,
             TypeSerializer<OUT> outSerializer,
             OutputTag outputTag,
             boolean supportsUnalignedCheckpoints) {
+        this(recordWriter, outSerializer, outputTag, supportsUnalignedCheckpoints, false);
+    }
+
+    /**
+     * Creates the output, which hands over copies of the records to the consumers in the same JVM
+     * instead of serializing them if {@code objectHandoff} is set. It must only be set if the
+     * in-flight records are never persisted, i.e. the unaligned checkpoints are disabled.
+     */
+    @SuppressWarnings("unchecked")
+    public RecordWriterOutput(
+            RecordWriter<SerializationDelegate<StreamRecord<OUT>>> recordWriter,
+            TypeSerializer<OUT> outSerializer,
+            OutputTag outputTag,
+            boolean supportsUnalignedCheckpoints,
+            boolean objectHandoff) {
 
         checkNotNull(recordWriter);
         this.outputTag = outputTag;
@@ -78,6 +119,23 @@ public class RecordWriterOutput<OUT> implements WatermarkGaugeExposingOutput<Str
         }
 
         this.supportsUnalignedCheckpoints = supportsUnalignedCheckpoints;
+
+        if (objectHandoff
+                && outSerializer != null
+                && recordWriter instanceof ChannelSelectorRecordWriter) {
+            this.handoffWriter =
+                    (ChannelSelectorRecordWriter<SerializationDelegate<StreamElement>>)
+                            this.recordWriter;
+            this.handoffMarkerDelegate = new SerializationDelegate<>(outRecordSerializer);
+            this.handoffMarkerDelegate.setInstance(ObjectHandoffMarker.INSTANCE);
+            // the producer may modify the object after emitting it, so it is copied, which is cheap
+            // for immutable types
+            this.handoffCopier = delegate -> outRecordSerializer.copy(delegate.getInstance());
+        } else {
+            this.handoffWriter = null;
+            this.handoffMarkerDelegate = null;
+            this.handoffCopier = null;
+        }
     }
 
     @Override
@@ -97,11 +155,80 @@ public class RecordWriterOutput<OUT> implements WatermarkGaugeExposingOutput<Str
         }
     }
 
+    @Override
+    public void collectBatch(List<StreamRecord<OUT>> records) {
+        if (this.outputTag != null) {
+            // we are not responsible for emitting to the main output.
+            return;
+        }
+
+        if (handoffWriter != null || records.size() <= 1) {
+            // handed over records are not serialized anyway
+            for (StreamRecord<OUT> record : records) {
+                pushToRecordWriter(record);
+            }
+            return;
+        }
+
+        try {
+            if (recordWriter instanceof ChannelSelectorRecordWriter) {
+                emitPerChannel(
+                        (ChannelSelectorRecordWriter<SerializationDelegate<StreamElement>>)
+                                recordWriter,
+                        records);
+            } else {
+                // all records go to all channels
+                serializationDelegate.setInstance(recordBatch.replace(records));
+                recordWriter.emit(serializationDelegate);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emitPerChannel(
+            ChannelSelectorRecordWriter<SerializationDelegate<StreamElement>> writer,
+            List<StreamRecord<OUT>> records)
+            throws IOException {
+        if (writer.getNumberOfChannels() == 1) {
+            serializationDelegate.setInstance(recordBatch.replace(records));
+            writer.emit(serializationDelegate, 0);
+            return;
+        }
+
+        if (channelBatches == null) {
+            channelBatches = new List[writer.getNumberOfChannels()];
+            for (int channel = 0; channel < channelBatches.length; channel++) {
+                channelBatches[channel] = new ArrayList<>();
+            }
+        }
+
+        for (StreamRecord<OUT> record : records) {
+            serializationDelegate.setInstance(record);
+            channelBatches[writer.selectChannel(serializationDelegate)].add(record);
+        }
+
+        for (int channel = 0; channel < channelBatches.length; channel++) {
+            List<StreamRecord<OUT>> channelBatch = channelBatches[channel];
+            if (!channelBatch.isEmpty()) {
+                serializationDelegate.setInstance(recordBatch.replace(channelBatch));
+                writer.emit(serializationDelegate, channel);
+                channelBatch.clear();
+            }
+        }
+    }
+
     private <X> void pushToRecordWriter(StreamRecord<X> record) {
         serializationDelegate.setInstance(record);
 
         try {
-            recordWriter.emit(serializationDelegate);
+            if (handoffWriter != null) {
+                handoffWriter.emitOrHandOver(
+                        serializationDelegate, handoffMarkerDelegate, handoffCopier);
+            } else {
+                recordWriter.emit(serializationDelegate);
+            }
         } catch (IOException e) {
             throw new UncheckedIOException(e.getMessage(), e);
         }
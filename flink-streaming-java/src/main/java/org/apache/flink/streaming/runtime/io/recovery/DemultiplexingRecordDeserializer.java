@@ -36,6 +36,7 @@ import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -83,6 +84,12 @@ class DemultiplexingRecordDeserializer<T>
                     // test if record belongs to this subtask if it comes from ambiguous channel
                     if (element.isRecord() && recordFilter.test(element.asRecord())) {
                         return lastResult;
+                    } else if (element.isRecordBatch()) {
+                        List<StreamRecord<T>> records = element.<T>asRecordBatch().getRecords();
+                        records.removeIf(recordFilter.negate());
+                        if (!records.isEmpty()) {
+                            return lastResult;
+                        }
                     } else if (element.isWatermark()) {
                         lastWatermark = element.asWatermark();
                         return lastResult;
@@ -155,7 +162,9 @@ class DemultiplexingRecordDeserializer<T>
 
             if (result.isFullRecord()) {
                 final StreamElement element = delegate.getInstance();
-                if (element.isRecord() || element.isLatencyMarker()) {
+                if (element.isRecord()
+                        || element.isRecordBatch()
+                        || element.isLatencyMarker()) {
                     return result;
                 } else if (element.isWatermark()) {
                     // basically, do not emit a watermark if not all virtual channel are past it
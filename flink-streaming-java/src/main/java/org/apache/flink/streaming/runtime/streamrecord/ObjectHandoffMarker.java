@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.streamrecord;
+
+import org.apache.flink.annotation.Internal;
+
+/**
+ * Marker which is written to a local channel in place of a record whose object has been handed
+ * over to the consumer in the same JVM. The consumer polls the object of the record from the
+ * channel when it reads the marker.
+ */
+@Internal
+public final class ObjectHandoffMarker extends StreamElement {
+
+    public static final ObjectHandoffMarker INSTANCE = new ObjectHandoffMarker();
+
+    private ObjectHandoffMarker() {}
+
+    @Override
+    public String toString() {
+        return "ObjectHandoffMarker";
+    }
+}
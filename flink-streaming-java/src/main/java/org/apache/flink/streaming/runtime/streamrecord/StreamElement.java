@@ -53,6 +53,15 @@ public abstract class StreamElement {
         return getClass() == StreamRecord.class;
     }
 
+    /**
+     * Checks whether this element is a batch of records.
+     *
+     * @return True, if this element is a batch of records, false otherwise.
+     */
+    public final boolean isRecordBatch() {
+        return getClass() == StreamRecordBatch.class;
+    }
+
     /**
      * Checks whether this element is a latency marker.
      *
@@ -73,6 +82,18 @@ public abstract class StreamElement {
         return (StreamRecord<E>) this;
     }
 
+    /**
+     * Casts this element into a StreamRecordBatch.
+     *
+     * @return This element as a batch of records.
+     * @throws java.lang.ClassCastException Thrown, if this element is actually not a batch of
+     *     records.
+     */
+    @SuppressWarnings("unchecked")
+    public final <E> StreamRecordBatch<E> asRecordBatch() {
+        return (StreamRecordBatch<E>) this;
+    }
+
     /**
      * Casts this element into a Watermark.
      *
@@ -31,6 +31,8 @@ import org.apache.flink.streaming.api.watermark.Watermark;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
@@ -53,6 +55,8 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
     private static final int TAG_WATERMARK = 2;
     private static final int TAG_LATENCY_MARKER = 3;
     private static final int TAG_STREAM_STATUS = 4;
+    private static final int TAG_OBJECT_HANDOFF = 5;
+    private static final int TAG_RECORD_BATCH = 6;
 
     private final TypeSerializer<T> typeSerializer;
 
@@ -104,7 +108,12 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
         if (from.isRecord()) {
             StreamRecord<T> fromRecord = from.asRecord();
             return fromRecord.copy(typeSerializer.copy(fromRecord.getValue()));
-        } else if (from.isWatermark() || from.isWatermarkStatus() || from.isLatencyMarker()) {
+        } else if (from.isRecordBatch()) {
+            return copyBatch(from.asRecordBatch());
+        } else if (from.isWatermark()
+                || from.isWatermarkStatus()
+                || from.isLatencyMarker()
+                || from == ObjectHandoffMarker.INSTANCE) {
             // is immutable
             return from;
         } else {
@@ -121,7 +130,12 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
             T valueCopy = typeSerializer.copy(fromRecord.getValue(), reuseRecord.getValue());
             fromRecord.copyTo(valueCopy, reuseRecord);
             return reuse;
-        } else if (from.isWatermark() || from.isWatermarkStatus() || from.isLatencyMarker()) {
+        } else if (from.isRecordBatch()) {
+            return copyBatch(from.asRecordBatch());
+        } else if (from.isWatermark()
+                || from.isWatermarkStatus()
+                || from.isLatencyMarker()
+                || from == ObjectHandoffMarker.INSTANCE) {
             // is immutable
             return from;
         } else {
@@ -129,6 +143,14 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
         }
     }
 
+    private StreamRecordBatch<T> copyBatch(StreamRecordBatch<T> from) {
+        List<StreamRecord<T>> records = new ArrayList<>(from.getRecords().size());
+        for (StreamRecord<T> record : from.getRecords()) {
+            records.add(record.copy(typeSerializer.copy(record.getValue())));
+        }
+        return new StreamRecordBatch<>(records);
+    }
+
     @Override
     public void copy(DataInputView source, DataOutputView target) throws IOException {
         int tag = source.readByte();
@@ -149,7 +171,18 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
             target.writeLong(source.readLong());
             target.writeLong(source.readLong());
             target.writeInt(source.readInt());
-        } else {
+        } else if (tag == TAG_RECORD_BATCH) {
+            int size = source.readInt();
+            target.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                int recordTag = source.readByte();
+                target.write(recordTag);
+                if (recordTag == TAG_REC_WITH_TIMESTAMP) {
+                    target.writeLong(source.readLong());
+                }
+                typeSerializer.copy(source, target);
+            }
+        } else if (tag != TAG_OBJECT_HANDOFF) {
             throw new IOException("Corrupt stream, found tag: " + tag);
         }
     }
@@ -178,6 +211,21 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
             target.writeLong(value.asLatencyMarker().getOperatorId().getLowerPart());
             target.writeLong(value.asLatencyMarker().getOperatorId().getUpperPart());
             target.writeInt(value.asLatencyMarker().getSubtaskIndex());
+        } else if (value.isRecordBatch()) {
+            List<StreamRecord<T>> records = value.<T>asRecordBatch().getRecords();
+            target.write(TAG_RECORD_BATCH);
+            target.writeInt(records.size());
+            for (StreamRecord<T> record : records) {
+                if (record.hasTimestamp()) {
+                    target.write(TAG_REC_WITH_TIMESTAMP);
+                    target.writeLong(record.getTimestamp());
+                } else {
+                    target.write(TAG_REC_WITHOUT_TIMESTAMP);
+                }
+                typeSerializer.serialize(record.getValue(), target);
+            }
+        } else if (value == ObjectHandoffMarker.INSTANCE) {
+            target.write(TAG_OBJECT_HANDOFF);
         } else {
             throw new RuntimeException();
         }
@@ -200,6 +248,10 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
                     source.readLong(),
                     new OperatorID(source.readLong(), source.readLong()),
                     source.readInt());
+        } else if (tag == TAG_RECORD_BATCH) {
+            return deserializeBatch(source);
+        } else if (tag == TAG_OBJECT_HANDOFF) {
+            return ObjectHandoffMarker.INSTANCE;
         } else {
             throw new IOException("Corrupt stream, found tag: " + tag);
         }
@@ -226,11 +278,29 @@ public final class StreamElementSerializer<T> extends TypeSerializer<StreamEleme
                     source.readLong(),
                     new OperatorID(source.readLong(), source.readLong()),
                     source.readInt());
+        } else if (tag == TAG_RECORD_BATCH) {
+            return deserializeBatch(source);
+        } else if (tag == TAG_OBJECT_HANDOFF) {
+            return ObjectHandoffMarker.INSTANCE;
         } else {
             throw new IOException("Corrupt stream, found tag: " + tag);
         }
     }
 
+    private StreamRecordBatch<T> deserializeBatch(DataInputView source) throws IOException {
+        int size = source.readInt();
+        List<StreamRecord<T>> records = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (source.readByte() == TAG_REC_WITH_TIMESTAMP) {
+                long timestamp = source.readLong();
+                records.add(new StreamRecord<>(typeSerializer.deserialize(source), timestamp));
+            } else {
+                records.add(new StreamRecord<>(typeSerializer.deserialize(source)));
+            }
+        }
+        return new StreamRecordBatch<>(records);
+    }
+
     // ------------------------------------------------------------------------
     //  Utilities
     // ------------------------------------------------------------------------
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.streamrecord;
+
+import org.apache.flink.annotation.Internal;
+
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * A batch of {@link StreamRecord stream records} which is sent over the network as one element.
+ *
+ * <p>The records of a batch are serialized back to back behind a single header, which saves the
+ * length header and the deserializer round trip per record, and they are deserialized in one pass
+ * on the receiving side.
+ *
+ * @param <T> The type encapsulated with the stream records.
+ */
+@Internal
+public final class StreamRecordBatch<T> extends StreamElement {
+
+    private List<StreamRecord<T>> records;
+
+    public StreamRecordBatch(List<StreamRecord<T>> records) {
+        this.records = checkNotNull(records);
+    }
+
+    public List<StreamRecord<T>> getRecords() {
+        return records;
+    }
+
+    /** Replaces the records of this batch, so that the batch object can be reused. */
+    public StreamRecordBatch<T> replace(List<StreamRecord<T>> records) {
+        this.records = checkNotNull(records);
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o != null && getClass() == o.getClass()) {
+            StreamRecordBatch<?> that = (StreamRecordBatch<?>) o;
+            return records.equals(that.records);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return records.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RecordBatch(" + records.size() + " records)";
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
 import org.apache.flink.util.OutputTag;
 import org.apache.flink.util.XORShiftRandom;
 
+import java.util.List;
 import java.util.Random;
 
 class BroadcastingOutputCollector<T> implements WatermarkGaugeExposingOutput<StreamRecord<T>> {
@@ -85,6 +86,13 @@ class BroadcastingOutputCollector<T> implements WatermarkGaugeExposingOutput<Str
         }
     }
 
+    @Override
+    public void collectBatch(List<StreamRecord<T>> records) {
+        for (Output<StreamRecord<T>> output : outputs) {
+            output.collectBatch(records);
+        }
+    }
+
     @Override
     public void close() {
         for (Output<StreamRecord<T>> output : outputs) {
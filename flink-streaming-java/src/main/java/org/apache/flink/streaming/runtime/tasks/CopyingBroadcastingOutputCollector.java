@@ -21,6 +21,8 @@ import org.apache.flink.streaming.api.operators.Output;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.util.OutputTag;
 
+import java.util.List;
+
 /**
  * Special version of {@link BroadcastingOutputCollector} that performs a shallow copy of the {@link
  * StreamRecord} to ensure that multi-chaining works correctly.
@@ -46,6 +48,14 @@ final class CopyingBroadcastingOutputCollector<T> extends BroadcastingOutputColl
         }
     }
 
+    @Override
+    public void collectBatch(List<StreamRecord<T>> records) {
+        // the records are copied one by one for the chained operators
+        for (StreamRecord<T> record : records) {
+            collect(record);
+        }
+    }
+
     @Override
     public <X> void collect(OutputTag<X> outputTag, StreamRecord<X> record) {
         for (int i = 0; i < outputs.length - 1; i++) {
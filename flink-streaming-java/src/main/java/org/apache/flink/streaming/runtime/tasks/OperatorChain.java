@@ -491,6 +491,10 @@ public abstract class OperatorChain<OUT, OP extends StreamOperator<OUT>>
             Map<Integer, StreamConfig> chainedConfigs,
             StreamTask<OUT, OP> containingTask,
             Map<StreamEdge, RecordWriterOutput<?>> streamOutputMap) {
+        // the handed over records are not part of the in-flight data of unaligned checkpoints
+        boolean objectHandoff =
+                containingTask.getEnvironment().getExecutionConfig().isObjectHandoffEnabled()
+                        && !containingTask.getConfiguration().isUnalignedCheckpointsEnabled();
         for (int i = 0; i < outEdgesInOrder.size(); i++) {
             StreamEdge outEdge = outEdgesInOrder.get(i);
 
@@ -499,7 +503,8 @@ public abstract class OperatorChain<OUT, OP extends StreamOperator<OUT>>
                             recordWriterDelegate.getRecordWriter(i),
                             outEdge,
                             chainedConfigs.get(outEdge.getSourceId()),
-                            containingTask.getEnvironment());
+                            containingTask.getEnvironment(),
+                            objectHandoff);
 
             this.streamOutputs[i] = streamOutput;
             streamOutputMap.put(outEdge, streamOutput);
@@ -510,7 +515,8 @@ public abstract class OperatorChain<OUT, OP extends StreamOperator<OUT>>
             RecordWriter<SerializationDelegate<StreamRecord<OUT>>> recordWriter,
             StreamEdge edge,
             StreamConfig upStreamConfig,
-            Environment taskEnvironment) {
+            Environment taskEnvironment,
+            boolean objectHandoff) {
         OutputTag sideOutputTag = edge.getOutputTag(); // OutputTag, return null if not sideOutput
 
         TypeSerializer outSerializer;
@@ -533,7 +539,8 @@ public abstract class OperatorChain<OUT, OP extends StreamOperator<OUT>>
                         recordWriter,
                         outSerializer,
                         sideOutputTag,
-                        edge.supportsUnalignedCheckpoints()));
+                        edge.supportsUnalignedCheckpoints(),
+                        objectHandoff));
     }
 
     @SuppressWarnings("rawtypes")
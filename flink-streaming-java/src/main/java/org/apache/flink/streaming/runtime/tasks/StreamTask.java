@@ -1613,6 +1613,11 @@ public abstract class StreamTask<OUT, OP extends StreamOperator<OUT>>
                 new RecordWriterBuilder<SerializationDelegate<StreamRecord<OUT>>>()
                         .setChannelSelector(outputPartitioner)
                         .setTimeout(bufferTimeout)
+                        .setAdaptiveFlush(
+                                environment
+                                        .getTaskManagerInfo()
+                                        .getConfiguration()
+                                        .get(TaskManagerOptions.NETWORK_ADAPTIVE_FLUSH_ENABLED))
                         .setTaskName(taskNameWithSubtask)
                         .build(bufferWriter);
         output.setMetricGroup(environment.getMetricGroup().getIOMetricGroup());
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeinfo.BasicTypeInfo;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.runtime.checkpoint.OperatorSubtaskState;
+import org.apache.flink.runtime.state.async.AsyncValueState;
+import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
+import org.apache.flink.streaming.api.watermark.Watermark;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.StreamTaskActionExecutor;
+import org.apache.flink.streaming.runtime.tasks.mailbox.MailboxExecutorImpl;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.apache.flink.streaming.util.TestHarnessUtil;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/** Tests for the {@link AbstractAsyncStateOperator}. */
+public class AbstractAsyncStateOperatorTest extends TestLogger {
+
+    @Test
+    public void testWatermarkWaitsForBufferedActions() throws Exception {
+        Queue<CompletableFuture<Void>> gates = new ArrayDeque<>();
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        gates.add(gate);
+
+        try (KeyedOneInputStreamOperatorTestHarness<String, String, String> harness =
+                createHarness(new CountingOperator(gates, new ArrayList<>()))) {
+            harness.open();
+
+            harness.processElement(new StreamRecord<>("a"));
+            assertTrue(harness.getOutput().isEmpty());
+
+            // the gate opens while the watermark drains the buffered actions
+            completeInMailbox(harness, gate);
+            harness.processWatermark(new Watermark(10L));
+
+            ConcurrentLinkedQueue<Object> expectedOutput = new ConcurrentLinkedQueue<>();
+            expectedOutput.add(new StreamRecord<>("a:1"));
+            expectedOutput.add(new Watermark(10L));
+            TestHarnessUtil.assertOutputEquals(
+                    "Output was not correct.", expectedOutput, harness.getOutput());
+        }
+    }
+
+    @Test
+    public void testSnapshotWaitsForBufferedActions() throws Exception {
+        Queue<CompletableFuture<Void>> gates = new ArrayDeque<>();
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        gates.add(gate);
+
+        OperatorSubtaskState snapshot;
+        try (KeyedOneInputStreamOperatorTestHarness<String, String, String> harness =
+                createHarness(new CountingOperator(gates, new ArrayList<>()))) {
+            harness.open();
+
+            harness.processElement(new StreamRecord<>("a"));
+            completeInMailbox(harness, gate);
+            harness.prepareSnapshotPreBarrier(1L);
+
+            assertEquals(
+                    Collections.singletonList("a:1"),
+                    TestHarnessUtil.getRawElementsFromOutput(harness.getOutput()));
+            snapshot = harness.snapshot(1L, 1L);
+        }
+
+        try (KeyedOneInputStreamOperatorTestHarness<String, String, String> harness =
+                createHarness(new CountingOperator(new ArrayDeque<>(), new ArrayList<>()))) {
+            harness.initializeState(snapshot);
+            harness.open();
+
+            // the snapshot contains the state written by the action
+            harness.processElement(new StreamRecord<>("a"));
+            assertEquals(
+                    Collections.singletonList("a:2"),
+                    TestHarnessUtil.getRawElementsFromOutput(harness.getOutput()));
+        }
+    }
+
+    @Test
+    public void testQueuedActionIsStartedWithItsKey() throws Exception {
+        Queue<CompletableFuture<Void>> gates = new ArrayDeque<>();
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        gates.add(gate);
+        List<Object> startKeys = new ArrayList<>();
+
+        try (KeyedOneInputStreamOperatorTestHarness<String, String, String> harness =
+                createHarness(new CountingOperator(gates, startKeys))) {
+            harness.open();
+
+            harness.processElement(new StreamRecord<>("a"));
+            harness.processElement(new StreamRecord<>("a"));
+            harness.processElement(new StreamRecord<>("b"));
+            assertEquals(Arrays.asList("a", "b"), startKeys);
+
+            // the second action of "a" starts while "b" is the current key of the operator
+            completeInMailbox(harness, gate);
+            harness.processWatermark(new Watermark(10L));
+
+            assertEquals(Arrays.asList("a", "b", "a"), startKeys);
+            assertEquals("b", harness.getOneInputOperator().getCurrentKey());
+            assertEquals(
+                    Arrays.asList("b:1", "a:1", "a:2"),
+                    TestHarnessUtil.getRawElementsFromOutput(harness.getOutput()));
+        }
+    }
+
+    private static KeyedOneInputStreamOperatorTestHarness<String, String, String> createHarness(
+            CountingOperator operator) throws Exception {
+        return new KeyedOneInputStreamOperatorTestHarness<>(
+                operator, value -> value, BasicTypeInfo.STRING_TYPE_INFO);
+    }
+
+    private static void completeInMailbox(
+            KeyedOneInputStreamOperatorTestHarness<String, String, String> harness,
+            CompletableFuture<Void> future) {
+        new MailboxExecutorImpl(harness.getTaskMailbox(), 0, StreamTaskActionExecutor.IMMEDIATE)
+                .execute(() -> future.complete(null), "Completion of a test future");
+    }
+
+    /**
+     * Counts the records per key and emits the key with its count. An action waits for the next
+     * of the given gates, if any, before it accesses the state.
+     */
+    private static class CountingOperator extends AbstractAsyncStateOperator<String, String>
+            implements OneInputStreamOperator<String, String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Queue<CompletableFuture<Void>> gates;
+
+        private final List<Object> startKeys;
+
+        private transient AsyncValueState<String, Long> countState;
+
+        private CountingOperator(Queue<CompletableFuture<Void>> gates, List<Object> startKeys) {
+            super(10);
+            this.gates = gates;
+            this.startKeys = startKeys;
+        }
+
+        @Override
+        public void open() throws Exception {
+            super.open();
+            countState =
+                    getAsyncValueState(
+                            new ValueStateDescriptor<>("count", LongSerializer.INSTANCE));
+        }
+
+        @Override
+        public void processElement(StreamRecord<String> element) throws Exception {
+            String key = element.getValue();
+            CompletableFuture<Void> gate = gates.poll();
+            processAsync(
+                    () -> {
+                        startKeys.add(getCurrentKey());
+                        return (gate != null ? gate : CompletableFuture.<Void>completedFuture(null))
+                                .thenCompose(ignored -> countState.get(key))
+                                .thenCompose(count -> increment(key, count));
+                    });
+        }
+
+        private CompletableFuture<Void> increment(String key, Long count) {
+            long newCount = count == null ? 1L : count + 1L;
+            output.collect(new StreamRecord<>(key + ":" + newCount));
+            return countState.update(key, newCount);
+        }
+    }
+}
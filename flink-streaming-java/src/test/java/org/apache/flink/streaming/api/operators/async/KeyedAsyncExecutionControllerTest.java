@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.api.operators.async;
+
+import org.apache.flink.streaming.api.operators.KeyContext;
+import org.apache.flink.streaming.runtime.tasks.StreamTaskActionExecutor;
+import org.apache.flink.streaming.runtime.tasks.mailbox.MailboxExecutorImpl;
+import org.apache.flink.streaming.runtime.tasks.mailbox.TaskMailboxImpl;
+import org.apache.flink.util.FlinkException;
+import org.apache.flink.util.TestLogger;
+import org.apache.flink.util.concurrent.FutureUtils;
+import org.apache.flink.util.function.SupplierWithException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/** Tests for the {@link KeyedAsyncExecutionController}. */
+public class KeyedAsyncExecutionControllerTest extends TestLogger {
+
+    private MailboxExecutorImpl mailboxExecutor;
+
+    private TestKeyContext keyContext;
+
+    @Before
+    public void setup() {
+        keyContext = new TestKeyContext();
+        mailboxExecutor =
+                new MailboxExecutorImpl(
+                        new TaskMailboxImpl(), 0, StreamTaskActionExecutor.IMMEDIATE);
+    }
+
+    @Test
+    public void testActionsOfSameKeyAreExecutedInOrder() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 10);
+        List<Integer> started = new ArrayList<>();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+
+        controller.submit("a", recording(started, 1, first));
+        controller.submit("a", recording(started, 2, second));
+        assertEquals(Collections.singletonList(1), started);
+        assertEquals(2, controller.getNumberOfBufferedActions());
+
+        first.complete(null);
+        while (mailboxExecutor.tryYield()) {}
+        assertEquals(Arrays.asList(1, 2), started);
+        assertEquals(1, controller.getNumberOfBufferedActions());
+
+        second.complete(null);
+        while (mailboxExecutor.tryYield()) {}
+        assertEquals(0, controller.getNumberOfBufferedActions());
+    }
+
+    @Test
+    public void testActionsOfDifferentKeysAreExecutedConcurrently() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 10);
+        List<Integer> started = new ArrayList<>();
+
+        controller.submit("a", recording(started, 1, new CompletableFuture<>()));
+        controller.submit("b", recording(started, 2, new CompletableFuture<>()));
+
+        assertEquals(Arrays.asList(1, 2), started);
+        assertEquals(2, controller.getNumberOfBufferedActions());
+    }
+
+    @Test
+    public void testCompletedActionsAreNotBuffered() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 1);
+        List<Integer> started = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            controller.submit("a", recording(started, i, FutureUtils.completedVoidFuture()));
+        }
+
+        assertEquals(Arrays.asList(0, 1, 2), started);
+        assertEquals(0, controller.getNumberOfBufferedActions());
+    }
+
+    @Test
+    public void testSubmitWaitsForBufferedActions() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 1);
+        List<Integer> started = new ArrayList<>();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+
+        controller.submit("a", recording(started, 1, first));
+        CompletableFuture.runAsync(() -> first.complete(null));
+        controller.submit("b", recording(started, 2, new CompletableFuture<>()));
+
+        assertTrue(first.isDone());
+        assertEquals(Arrays.asList(1, 2), started);
+        assertEquals(1, controller.getNumberOfBufferedActions());
+    }
+
+    @Test
+    public void testDrain() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 10);
+        List<Integer> started = new ArrayList<>();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+        CompletableFuture<Void> second = new CompletableFuture<>();
+
+        controller.submit("a", recording(started, 1, first));
+        controller.submit("a", recording(started, 2, second));
+        CompletableFuture.runAsync(() -> first.complete(null))
+                .thenRun(() -> second.complete(null));
+        controller.drain();
+
+        assertEquals(Arrays.asList(1, 2), started);
+        assertEquals(0, controller.getNumberOfBufferedActions());
+    }
+
+    @Test
+    public void testActionsAreStartedWithTheirKey() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 10);
+        List<Object> startKeys = new ArrayList<>();
+        CompletableFuture<Void> first = new CompletableFuture<>();
+
+        keyContext.setCurrentKey("a");
+        controller.submit("a", recordingKey(startKeys, first));
+        controller.submit("a", recordingKey(startKeys, FutureUtils.completedVoidFuture()));
+
+        // the second action of "a" is started by the completion of the first one
+        keyContext.setCurrentKey("b");
+        first.complete(null);
+        while (mailboxExecutor.tryYield()) {}
+
+        assertEquals(Arrays.asList("a", "a"), startKeys);
+        assertEquals("b", keyContext.getCurrentKey());
+    }
+
+    @Test
+    public void testCallbacksRunWithTheKeyOfTheirAction() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 10);
+        List<Object> callbackKeys = new ArrayList<>();
+        CompletableFuture<String> access = new CompletableFuture<>();
+
+        controller
+                .completeWithKey("a", access)
+                .thenRun(() -> callbackKeys.add(keyContext.getCurrentKey()));
+
+        keyContext.setCurrentKey("b");
+        mailboxExecutor.execute(() -> access.complete("value"), "Result of a state access");
+        while (mailboxExecutor.tryYield()) {}
+
+        assertEquals(Collections.singletonList("a"), callbackKeys);
+        assertEquals("b", keyContext.getCurrentKey());
+    }
+
+    @Test
+    public void testFailedAction() throws Exception {
+        KeyedAsyncExecutionController<String> controller =
+                new KeyedAsyncExecutionController<>(mailboxExecutor, keyContext, 10);
+        Exception failure = new Exception("Expected test failure.");
+
+        try {
+            controller.submit("a", () -> FutureUtils.completedExceptionally(failure));
+            fail("The failure of the action has not been forwarded.");
+        } catch (FlinkException e) {
+            assertEquals(failure, e.getCause().getCause());
+        }
+    }
+
+    private SupplierWithException<CompletableFuture<?>, Exception> recordingKey(
+            List<Object> startKeys, CompletableFuture<Void> result) {
+        return () -> {
+            startKeys.add(keyContext.getCurrentKey());
+            return result;
+        };
+    }
+
+    private static SupplierWithException<CompletableFuture<?>, Exception> recording(
+            List<Integer> started, int action, CompletableFuture<Void> result) {
+        return () -> {
+            started.add(action);
+            return result;
+        };
+    }
+
+    /** A {@link KeyContext} which only holds the current key. */
+    private static class TestKeyContext implements KeyContext {
+
+        private Object currentKey;
+
+        @Override
+        public void setCurrentKey(Object key) {
+            currentKey = key;
+        }
+
+        @Override
+        public Object getCurrentKey() {
+            return currentKey;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.streaming.runtime.io;
+
+import org.apache.flink.api.common.typeutils.base.IntSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.runtime.io.network.api.writer.ChannelSelector;
+import org.apache.flink.runtime.io.network.api.writer.RecordWriterBuilder;
+import org.apache.flink.runtime.io.network.partition.MockResultPartitionWriter;
+import org.apache.flink.runtime.plugable.SerializationDelegate;
+import org.apache.flink.streaming.runtime.partitioner.BroadcastPartitioner;
+import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
+import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
+import org.apache.flink.util.TestLogger;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/** Tests for the {@link RecordWriterOutput}. */
+public class RecordWriterOutputTest extends TestLogger {
+
+    private static final int NUM_CHANNELS = 2;
+
+    @Test
+    public void testBatchIsSentPerChannel() throws Exception {
+        final CollectingResultPartitionWriter partitionWriter =
+                new CollectingResultPartitionWriter();
+        final RecordWriterOutput<Integer> output =
+                createOutput(partitionWriter, new ValueChannelSelector());
+
+        output.collectBatch(
+                Arrays.asList(
+                        new StreamRecord<>(1, 10L),
+                        new StreamRecord<>(2),
+                        new StreamRecord<>(3, 30L),
+                        new StreamRecord<>(5)));
+
+        // the records of each channel are sent as one element and keep their order and timestamps
+        assertEquals(
+                Collections.singletonList(
+                        new StreamRecordBatch<>(
+                                Collections.singletonList(new StreamRecord<>(2)))),
+                partitionWriter.channelElements.get(0));
+        assertEquals(
+                Collections.singletonList(
+                        new StreamRecordBatch<>(
+                                Arrays.asList(
+                                        new StreamRecord<>(1, 10L),
+                                        new StreamRecord<>(3, 30L),
+                                        new StreamRecord<>(5)))),
+                partitionWriter.channelElements.get(1));
+        assertEquals(Collections.emptyList(), partitionWriter.broadcastElements);
+    }
+
+    @Test
+    public void testSingleRecordIsNotSentAsBatch() throws Exception {
+        final CollectingResultPartitionWriter partitionWriter =
+                new CollectingResultPartitionWriter();
+        final RecordWriterOutput<Integer> output =
+                createOutput(partitionWriter, new ValueChannelSelector());
+
+        output.collectBatch(Collections.singletonList(new StreamRecord<>(1, 10L)));
+
+        assertEquals(Collections.emptyList(), partitionWriter.channelElements.get(0));
+        assertEquals(
+                Collections.singletonList(new StreamRecord<>(1, 10L)),
+                partitionWriter.channelElements.get(1));
+    }
+
+    @Test
+    public void testBatchIsBroadcast() throws Exception {
+        final CollectingResultPartitionWriter partitionWriter =
+                new CollectingResultPartitionWriter();
+        final RecordWriterOutput<Integer> output =
+                createOutput(partitionWriter, new BroadcastPartitioner<>());
+
+        final List<StreamRecord<Integer>> records =
+                Arrays.asList(new StreamRecord<>(1, 10L), new StreamRecord<>(2));
+        output.collectBatch(records);
+
+        assertEquals(
+                Collections.singletonList(new StreamRecordBatch<>(records)),
+                partitionWriter.broadcastElements);
+        assertEquals(Collections.emptyList(), partitionWriter.channelElements.get(0));
+        assertEquals(Collections.emptyList(), partitionWriter.channelElements.get(1));
+    }
+
+    private static RecordWriterOutput<Integer> createOutput(
+            CollectingResultPartitionWriter partitionWriter,
+            ChannelSelector<SerializationDelegate<StreamRecord<Integer>>> channelSelector) {
+        return new RecordWriterOutput<>(
+                new RecordWriterBuilder<SerializationDelegate<StreamRecord<Integer>>>()
+                        .setChannelSelector(channelSelector)
+                        .build(partitionWriter),
+                IntSerializer.INSTANCE,
+                null,
+                false);
+    }
+
+    /** Selects the channel by the value of the record. */
+    private static class ValueChannelSelector
+            implements ChannelSelector<SerializationDelegate<StreamRecord<Integer>>> {
+
+        private int numberOfChannels;
+
+        @Override
+        public void setup(int numberOfChannels) {
+            this.numberOfChannels = numberOfChannels;
+        }
+
+        @Override
+        public int selectChannel(SerializationDelegate<StreamRecord<Integer>> record) {
+            return record.getInstance().getValue() % numberOfChannels;
+        }
+
+        @Override
+        public boolean isBroadcast() {
+            return false;
+        }
+    }
+
+    /** Collects the deserialized elements per channel and the broadcast elements. */
+    private static class CollectingResultPartitionWriter extends MockResultPartitionWriter {
+
+        private final StreamElementSerializer<Integer> serializer =
+                new StreamElementSerializer<>(IntSerializer.INSTANCE);
+
+        private final List<List<StreamElement>> channelElements = new ArrayList<>();
+
+        private final List<StreamElement> broadcastElements = new ArrayList<>();
+
+        private CollectingResultPartitionWriter() {
+            for (int i = 0; i < NUM_CHANNELS; i++) {
+                channelElements.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        public int getNumberOfSubpartitions() {
+            return NUM_CHANNELS;
+        }
+
+        @Override
+        public void emitRecord(ByteBuffer record, int targetSubpartition) throws IOException {
+            channelElements.get(targetSubpartition).add(deserialize(record));
+        }
+
+        @Override
+        public void broadcastRecord(ByteBuffer record) throws IOException {
+            broadcastElements.add(deserialize(record));
+        }
+
+        private StreamElement deserialize(ByteBuffer record) throws IOException {
+            final DataInputDeserializer input = new DataInputDeserializer(record);
+            // skip the length of the serialized record
+            input.readInt();
+            return serializer.deserialize(input);
+        }
+    }
+}
@@ -52,6 +52,7 @@ import org.apache.flink.streaming.runtime.streamrecord.LatencyMarker;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElement;
 import org.apache.flink.streaming.runtime.streamrecord.StreamElementSerializer;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
 import org.apache.flink.streaming.runtime.tasks.TestSubtaskCheckpointCoordinator;
 import org.apache.flink.streaming.runtime.watermarkstatus.StatusWatermarkValve;
 import org.apache.flink.streaming.runtime.watermarkstatus.WatermarkStatus;
@@ -63,6 +64,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -104,6 +106,30 @@ public class StreamTaskNetworkInputTest {
         assertEquals(2, output.getNumberOfEmittedRecords());
     }
 
+    @Test
+    public void testRecordBatchIsEmittedAsRecords() throws Exception {
+        BufferOrEvent batchBuffer;
+        try (BufferBuilder bufferBuilder =
+                BufferBuilderTestUtils.createEmptyBufferBuilder(PAGE_SIZE)) {
+            BufferConsumer bufferConsumer = bufferBuilder.createBufferConsumer();
+            serializeElement(
+                    new StreamRecordBatch<>(
+                            Arrays.asList(
+                                    new StreamRecord<>(42L),
+                                    new StreamRecord<>(43L, 1L),
+                                    new StreamRecord<>(44L))),
+                    bufferBuilder);
+            batchBuffer = new BufferOrEvent(bufferConsumer.build(), new InputChannelInfo(0, 0));
+        }
+
+        VerifyRecordsDataOutput<Long> output = new VerifyRecordsDataOutput<>();
+        StreamTaskNetworkInput<Long> input =
+                createStreamTaskNetworkInput(Collections.singletonList(batchBuffer));
+
+        assertHasNextElement(input, output);
+        assertEquals(3, output.getNumberOfEmittedRecords());
+    }
+
     /**
      * InputGate on CheckpointBarrier can enqueue a mailbox action to execute and
      * StreamTaskNetworkInput must allow this action to execute before processing a following
@@ -265,10 +291,15 @@ public class StreamTaskNetworkInputTest {
     }
 
     private void serializeRecord(long value, BufferBuilder bufferBuilder) throws IOException {
+        serializeElement(new StreamRecord<>(value), bufferBuilder);
+    }
+
+    private void serializeElement(StreamElement element, BufferBuilder bufferBuilder)
+            throws IOException {
         DataOutputSerializer serializer = new DataOutputSerializer(128);
         SerializationDelegate<StreamElement> serializationDelegate =
                 new SerializationDelegate<>(new StreamElementSerializer<>(LongSerializer.INSTANCE));
-        serializationDelegate.setInstance(new StreamRecord<>(value));
+        serializationDelegate.setInstance(element);
         ByteBuffer serializedRecord =
                 RecordWriter.serializeRecord(serializer, serializationDelegate);
         bufferBuilder.appendAndCommit(serializedRecord);
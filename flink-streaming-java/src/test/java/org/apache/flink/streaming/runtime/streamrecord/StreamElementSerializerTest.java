@@ -29,10 +29,12 @@ import org.apache.flink.streaming.api.watermark.Watermark;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -92,6 +94,19 @@ public class StreamElementSerializerTest {
         LatencyMarker latencyMarker =
                 new LatencyMarker(System.currentTimeMillis(), new OperatorID(-1, -1), 1);
         assertEquals(latencyMarker, serializeAndDeserialize(latencyMarker, serializer));
+
+        StreamRecordBatch<String> batch =
+                new StreamRecordBatch<>(
+                        Arrays.asList(
+                                new StreamRecord<>("first"),
+                                new StreamRecord<>("second", 13L),
+                                new StreamRecord<>("third", Long.MIN_VALUE)));
+        assertEquals(batch, serializeAndDeserialize(batch, serializer));
+        assertEquals(batch, serializer.copy(batch));
+
+        assertSame(
+                ObjectHandoffMarker.INSTANCE,
+                serializeAndDeserialize(ObjectHandoffMarker.INSTANCE, serializer));
     }
 
     @SuppressWarnings("unchecked")
@@ -36,6 +36,8 @@ import org.apache.flink.table.types.logical.LogicalType
 import org.apache.flink.types.Row
 import org.apache.flink.types.RowKind._
 
+import org.junit.Assert.assertTrue
+import org.junit.Assume.assumeTrue
 import org.junit.runner.RunWith
 import org.junit.runners.Parameterized
 import org.junit.{Before, Test}
@@ -162,6 +164,78 @@ class GroupAggregateHarnessTest(mode: StateBackendMode, miniBatch: MiniBatchMode
     testHarness.close()
   }
 
+  @Test
+  def testMiniBatchAggregateWithMultipleKeysInBundle(): Unit = {
+    assumeTrue(miniBatch == MiniBatchOn)
+    // fetch and write the accumulators of several keys at once
+    tEnv.getConfig.getConfiguration.setLong(TABLE_EXEC_MINIBATCH_SIZE, 3L)
+
+    val data = new mutable.MutableList[(String, String, Long)]
+    val t = env.fromCollection(data).toTable(tEnv, 'a, 'b, 'c)
+    tEnv.createTemporaryView("T", t)
+
+    val sql =
+      """
+        |SELECT a, SUM(c)
+        |FROM (
+        |  SELECT a, b, SUM(c) as c
+        |  FROM T GROUP BY a, b
+        |)GROUP BY a
+      """.stripMargin
+    val t1 = tEnv.sqlQuery(sql)
+
+    val testHarness = createHarnessTester(t1.toRetractStream[Row], "GroupAggregate")
+    val assertor = new RowDataHarnessAssertor(
+      Array(
+        DataTypes.STRING().getLogicalType,
+        DataTypes.BIGINT().getLogicalType))
+
+    testHarness.open()
+
+    val expectedOutput = new ConcurrentLinkedQueue[Object]()
+
+    // first bundle, no accumulators in the state
+    testHarness.processElement(binaryRecord(INSERT, "aaa", 1L: JLong))
+    testHarness.processElement(binaryRecord(INSERT, "bbb", 2L: JLong))
+    assertTrue(testHarness.getOutput.isEmpty)
+    testHarness.processElement(binaryRecord(INSERT, "aaa", 3L: JLong))
+    expectedOutput.add(binaryRecord(INSERT, "aaa", 4L: JLong))
+    expectedOutput.add(binaryRecord(INSERT, "bbb", 2L: JLong))
+    assertor.assertOutputEqualsSorted("result mismatch", expectedOutput, testHarness.getOutput)
+
+    // second bundle reads the accumulators written by the first one
+    testHarness.processElement(binaryRecord(INSERT, "bbb", 3L: JLong))
+    testHarness.processElement(binaryRecord(INSERT, "ccc", 5L: JLong))
+    testHarness.processElement(binaryRecord(DELETE, "aaa", 1L: JLong))
+    expectedOutput.add(binaryRecord(UPDATE_BEFORE, "bbb", 2L: JLong))
+    expectedOutput.add(binaryRecord(UPDATE_AFTER, "bbb", 5L: JLong))
+    expectedOutput.add(binaryRecord(INSERT, "ccc", 5L: JLong))
+    expectedOutput.add(binaryRecord(UPDATE_BEFORE, "aaa", 4L: JLong))
+    expectedOutput.add(binaryRecord(UPDATE_AFTER, "aaa", 3L: JLong))
+    assertor.assertOutputEqualsSorted("result mismatch", expectedOutput, testHarness.getOutput)
+
+    // third bundle retracts the last records of two keys
+    testHarness.processElement(binaryRecord(DELETE, "aaa", 3L: JLong))
+    testHarness.processElement(binaryRecord(DELETE, "ccc", 5L: JLong))
+    testHarness.processElement(binaryRecord(INSERT, "bbb", 1L: JLong))
+    expectedOutput.add(binaryRecord(DELETE, "aaa", 3L: JLong))
+    expectedOutput.add(binaryRecord(DELETE, "ccc", 5L: JLong))
+    expectedOutput.add(binaryRecord(UPDATE_BEFORE, "bbb", 5L: JLong))
+    expectedOutput.add(binaryRecord(UPDATE_AFTER, "bbb", 6L: JLong))
+    assertor.assertOutputEqualsSorted("result mismatch", expectedOutput, testHarness.getOutput)
+
+    // fourth bundle starts from cleared accumulators
+    testHarness.processElement(binaryRecord(INSERT, "aaa", 7L: JLong))
+    testHarness.processElement(binaryRecord(INSERT, "ccc", 1L: JLong))
+    testHarness.processElement(binaryRecord(INSERT, "ddd", 1L: JLong))
+    expectedOutput.add(binaryRecord(INSERT, "aaa", 7L: JLong))
+    expectedOutput.add(binaryRecord(INSERT, "ccc", 1L: JLong))
+    expectedOutput.add(binaryRecord(INSERT, "ddd", 1L: JLong))
+    assertor.assertOutputEqualsSorted("result mismatch", expectedOutput, testHarness.getOutput)
+
+    testHarness.close()
+  }
+
   @Test
   def testAggregationWithDistinct(): Unit = {
     val (testHarness, outputTypes) = createAggregationWithDistinct
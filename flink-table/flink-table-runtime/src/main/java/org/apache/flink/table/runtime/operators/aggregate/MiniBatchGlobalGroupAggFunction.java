@@ -19,7 +19,6 @@
 package org.apache.flink.table.runtime.operators.aggregate;
 
 import org.apache.flink.api.common.state.StateTtlConfig;
-import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.data.utils.JoinedRowData;
@@ -29,6 +28,7 @@ import org.apache.flink.table.runtime.generated.AggsHandleFunction;
 import org.apache.flink.table.runtime.generated.GeneratedAggsHandleFunction;
 import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
 import org.apache.flink.table.runtime.generated.RecordEqualiser;
+import org.apache.flink.table.runtime.operators.bundle.BundleValueState;
 import org.apache.flink.table.runtime.operators.bundle.MapBundleFunction;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
 import org.apache.flink.table.types.logical.LogicalType;
@@ -81,7 +81,7 @@ public class MiniBatchGlobalGroupAggFunction
     private transient RecordEqualiser equaliser = null;
 
     // stores the accumulators
-    private transient ValueState<RowData> accState = null;
+    private transient BundleValueState<RowData, RowData> accState = null;
 
     /**
      * Creates a {@link MiniBatchGlobalGroupAggFunction}.
@@ -133,7 +133,7 @@ public class MiniBatchGlobalGroupAggFunction
         if (ttlConfig.isEnabled()) {
             accDesc.enableTimeToLive(ttlConfig);
         }
-        accState = ctx.getRuntimeContext().getState(accDesc);
+        accState = new BundleValueState<>(ctx.getRuntimeContext().getState(accDesc));
 
         resultRow = new JoinedRowData();
     }
@@ -160,6 +160,9 @@ public class MiniBatchGlobalGroupAggFunction
     @Override
     public void finishBundle(Map<RowData, RowData> buffer, Collector<RowData> out)
             throws Exception {
+        // fetch the accumulators of all keys of the bundle at once
+        accState.prefetch(buffer.keySet());
+
         for (Map.Entry<RowData, RowData> entry : buffer.entrySet()) {
             RowData currentKey = entry.getKey();
             RowData bufferAcc = entry.getValue();
@@ -168,7 +171,7 @@ public class MiniBatchGlobalGroupAggFunction
 
             // set current key to access states under the current key
             ctx.setCurrentKey(currentKey);
-            RowData stateAcc = accState.value();
+            RowData stateAcc = accState.value(currentKey);
             if (stateAcc == null) {
                 stateAcc = globalAgg.createAccumulators();
                 firstRow = true;
@@ -189,7 +192,7 @@ public class MiniBatchGlobalGroupAggFunction
                 // we aggregated at least one record for this key
 
                 // update acc to state
-                accState.update(stateAcc);
+                accState.update(currentKey, stateAcc);
 
                 // if this was not the first row and we have to emit retractions
                 if (!firstRow) {
@@ -223,11 +226,13 @@ public class MiniBatchGlobalGroupAggFunction
                     out.collect(resultRow);
                 }
                 // and clear all state
-                accState.clear();
+                accState.clear(currentKey);
                 // cleanup dataview under current key
                 globalAgg.cleanup();
             }
         }
+        // write the updated accumulators of all keys of the bundle at once
+        accState.flush();
     }
 
     @Override
@@ -19,7 +19,6 @@
 package org.apache.flink.table.runtime.operators.aggregate;
 
 import org.apache.flink.api.common.state.StateTtlConfig;
-import org.apache.flink.api.common.state.ValueState;
 import org.apache.flink.api.common.state.ValueStateDescriptor;
 import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.table.data.RowData;
@@ -30,6 +29,7 @@ import org.apache.flink.table.runtime.generated.AggsHandleFunction;
 import org.apache.flink.table.runtime.generated.GeneratedAggsHandleFunction;
 import org.apache.flink.table.runtime.generated.GeneratedRecordEqualiser;
 import org.apache.flink.table.runtime.generated.RecordEqualiser;
+import org.apache.flink.table.runtime.operators.bundle.BundleValueState;
 import org.apache.flink.table.runtime.operators.bundle.MapBundleFunction;
 import org.apache.flink.table.runtime.typeutils.InternalSerializers;
 import org.apache.flink.table.runtime.typeutils.InternalTypeInfo;
@@ -93,7 +93,7 @@ public class MiniBatchGroupAggFunction
     private transient RecordEqualiser equaliser = null;
 
     // stores the accumulators
-    private transient ValueState<RowData> accState = null;
+    private transient BundleValueState<RowData, RowData> accState = null;
 
     /**
      * Creates a {@link MiniBatchGroupAggFunction}.
@@ -141,7 +141,7 @@ public class MiniBatchGroupAggFunction
         if (ttlConfig.isEnabled()) {
             accDesc.enableTimeToLive(ttlConfig);
         }
-        accState = ctx.getRuntimeContext().getState(accDesc);
+        accState = new BundleValueState<>(ctx.getRuntimeContext().getState(accDesc));
 
         inputRowSerializer = InternalSerializers.create(inputType);
 
@@ -162,6 +162,9 @@ public class MiniBatchGroupAggFunction
     @Override
     public void finishBundle(Map<RowData, List<RowData>> buffer, Collector<RowData> out)
             throws Exception {
+        // fetch the accumulators of all keys of the bundle at once
+        accState.prefetch(buffer.keySet());
+
         for (Map.Entry<RowData, List<RowData>> entry : buffer.entrySet()) {
             RowData currentKey = entry.getKey();
             List<RowData> inputRows = entry.getValue();
@@ -172,7 +175,7 @@ public class MiniBatchGroupAggFunction
 
             // set current key to access state under the key
             ctx.setCurrentKey(currentKey);
-            RowData acc = accState.value();
+            RowData acc = accState.value(currentKey);
             if (acc == null) {
                 // Don't create a new accumulator for a retraction message. This
                 // might happen if the retraction message is the first message for the
@@ -187,6 +190,7 @@ public class MiniBatchGroupAggFunction
                     }
                 }
                 if (inputRows.isEmpty()) {
+                    accState.flush();
                     return;
                 }
                 acc = function.createAccumulators();
@@ -217,7 +221,7 @@ public class MiniBatchGroupAggFunction
                 // we aggregated at least one record for this key
 
                 // update acc to state
-                accState.update(acc);
+                accState.update(currentKey, acc);
 
                 // if this was not the first row and we have to emit retractions
                 if (!firstRow) {
@@ -251,11 +255,13 @@ public class MiniBatchGroupAggFunction
                     out.collect(resultRow);
                 }
                 // and clear all state
-                accState.clear();
+                accState.clear(currentKey);
                 // cleanup dataview under current key
                 function.cleanup();
             }
         }
+        // write the updated accumulators of all keys of the bundle at once
+        accState.flush();
     }
 
     @Override
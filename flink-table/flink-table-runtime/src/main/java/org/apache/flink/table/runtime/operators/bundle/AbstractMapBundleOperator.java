@@ -19,7 +19,9 @@
 package org.apache.flink.table.runtime.operators.bundle;
 
 import org.apache.flink.api.common.functions.util.FunctionUtils;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
 import org.apache.flink.metrics.Gauge;
+import org.apache.flink.streaming.api.graph.StreamConfig;
 import org.apache.flink.streaming.api.operators.AbstractStreamOperator;
 import org.apache.flink.streaming.api.operators.ChainingStrategy;
 import org.apache.flink.streaming.api.operators.OneInputStreamOperator;
@@ -28,9 +30,12 @@ import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 import org.apache.flink.table.runtime.context.ExecutionContextImpl;
 import org.apache.flink.table.runtime.operators.bundle.trigger.BundleTrigger;
 import org.apache.flink.table.runtime.operators.bundle.trigger.BundleTriggerCallback;
+import org.apache.flink.table.runtime.util.BatchingStreamRecordCollector;
 import org.apache.flink.table.runtime.util.StreamRecordCollector;
 import org.apache.flink.util.Collector;
 
+import javax.annotation.Nullable;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -55,6 +60,9 @@ public abstract class AbstractMapBundleOperator<K, V, IN, OUT> extends AbstractS
 
     private static final long serialVersionUID = 5081841938324118594L;
 
+    /** The maximum number of records of a bundle which are emitted as one batch. */
+    private static final int MAX_OUTPUT_BATCH_SIZE = 1024;
+
     /** The map in heap to store elements. */
     private transient Map<K, V> bundle;
 
@@ -67,6 +75,9 @@ public abstract class AbstractMapBundleOperator<K, V, IN, OUT> extends AbstractS
     /** Output for stream records. */
     private transient Collector<OUT> collector;
 
+    /** Output for stream records which are sent over the network, null if the output is chained. */
+    @Nullable private transient BatchingStreamRecordCollector<OUT> batchingCollector;
+
     private transient int numOfElements = 0;
 
     AbstractMapBundleOperator(
@@ -82,7 +93,7 @@ public abstract class AbstractMapBundleOperator<K, V, IN, OUT> extends AbstractS
         function.open(new ExecutionContextImpl(this, getRuntimeContext()));
 
         this.numOfElements = 0;
-        this.collector = new StreamRecordCollector<>(output);
+        this.collector = createCollector();
         this.bundle = new HashMap<>();
 
         bundleTrigger.registerCallback(this);
@@ -126,6 +137,25 @@ public abstract class AbstractMapBundleOperator<K, V, IN, OUT> extends AbstractS
         bundleTrigger.onElement(input);
     }
 
+    /**
+     * Creates the collector for the results of a bundle. If all results are sent over the network,
+     * they are emitted in batches, which are serialized per channel as one element.
+     */
+    private Collector<OUT> createCollector() {
+        StreamConfig config = getOperatorConfig();
+        ClassLoader userCodeClassloader = getUserCodeClassloader();
+        TypeSerializer<OUT> outSerializer = config.getTypeSerializerOut(userCodeClassloader);
+        if (outSerializer != null
+                && config.getChainedOutputs(userCodeClassloader).isEmpty()
+                && !config.getNonChainedOutputs(userCodeClassloader).isEmpty()) {
+            batchingCollector =
+                    new BatchingStreamRecordCollector<>(
+                            output, outSerializer, MAX_OUTPUT_BATCH_SIZE);
+            return batchingCollector;
+        }
+        return new StreamRecordCollector<>(output);
+    }
+
     /** Get the key for current processing element, which will be used as the map bundle's key. */
     protected abstract K getKey(final IN input) throws Exception;
 
@@ -134,6 +164,9 @@ public abstract class AbstractMapBundleOperator<K, V, IN, OUT> extends AbstractS
         if (bundle != null && !bundle.isEmpty()) {
             numOfElements = 0;
             function.finishBundle(bundle, collector);
+            if (batchingCollector != null) {
+                batchingCollector.flush();
+            }
             bundle.clear();
         }
         bundleTrigger.reset();
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle;
+
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.java.tuple.Tuple2;
+import org.apache.flink.runtime.state.StateEntry;
+import org.apache.flink.runtime.state.VoidNamespace;
+import org.apache.flink.runtime.state.internal.InternalKvState;
+
+import javax.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.flink.util.Preconditions.checkNotNull;
+
+/**
+ * The {@link BundleValueState} accesses a keyed {@link ValueState} for all keys of a bundle at
+ * once. The values of the keys are fetched with one {@link InternalKvState#multiGet(List)} before
+ * the bundle is processed and the updates are written with one {@link
+ * InternalKvState#multiPut(List)} when the bundle is finished, which saves the per key lookups of
+ * state backends like RocksDB.
+ *
+ * <p>If the state doesn't support batch access, every access goes directly to the state. Thus the
+ * current key has to be set before accessing the value of a key, as for the state itself.
+ *
+ * <p>NOTES: The state has to be obtained from the runtime context, i.e. it has to be a state in
+ * the {@link VoidNamespace}.
+ *
+ * @param <K> The type of the keys of the keyed state backend
+ * @param <V> The type of the value in the state
+ */
+public final class BundleValueState<K, V> {
+
+    /** The state accessed for every key if batch access is not supported. */
+    private final ValueState<V> state;
+
+    /** The state used for batch access, null if batch access is not supported. */
+    @Nullable private final InternalKvState<K, VoidNamespace, V> batchState;
+
+    /** The fetched and updated values of the keys of the current bundle. */
+    private final Map<K, V> values = new HashMap<>();
+
+    /** The updates of the current bundle which are not written yet. */
+    private final List<StateEntry<K, VoidNamespace, V>> updates = new ArrayList<>();
+
+    @SuppressWarnings("unchecked")
+    public BundleValueState(ValueState<V> state) {
+        this.state = checkNotNull(state);
+        if (state instanceof InternalKvState
+                && ((InternalKvState<?, ?, ?>) state).isBatchAccessSupported()) {
+            this.batchState = (InternalKvState<K, VoidNamespace, V>) state;
+        } else {
+            this.batchState = null;
+        }
+    }
+
+    /** Fetches the values of the given keys, which are then returned by {@link #value(Object)}. */
+    public void prefetch(Collection<K> keys) throws Exception {
+        if (batchState == null || keys.isEmpty()) {
+            return;
+        }
+
+        List<Tuple2<K, VoidNamespace>> keysAndNamespaces = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            keysAndNamespaces.add(Tuple2.of(key, VoidNamespace.INSTANCE));
+        }
+        List<V> fetchedValues = batchState.multiGet(keysAndNamespaces);
+        for (int i = 0; i < keysAndNamespaces.size(); i++) {
+            values.put(keysAndNamespaces.get(i).f0, fetchedValues.get(i));
+        }
+    }
+
+    /** Returns the value of the given key, which has to be the current key. */
+    public V value(K key) throws IOException {
+        if (batchState != null && values.containsKey(key)) {
+            return values.get(key);
+        }
+        return state.value();
+    }
+
+    /** Updates the value of the given key, which has to be the current key. */
+    public void update(K key, V value) throws IOException {
+        if (batchState != null) {
+            values.put(key, value);
+            updates.add(new StateEntry.SimpleStateEntry<>(key, VoidNamespace.INSTANCE, value));
+        } else {
+            state.update(value);
+        }
+    }
+
+    /** Removes the value of the given key, which has to be the current key. */
+    public void clear(K key) {
+        if (batchState != null) {
+            values.put(key, null);
+            updates.add(new StateEntry.SimpleStateEntry<>(key, VoidNamespace.INSTANCE, null));
+        } else {
+            state.clear();
+        }
+    }
+
+    /** Writes the updates of the current bundle to the state. */
+    public void flush() throws Exception {
+        if (batchState == null) {
+            return;
+        }
+
+        if (!updates.isEmpty()) {
+            batchState.multiPut(updates);
+            updates.clear();
+        }
+        values.clear();
+    }
+}
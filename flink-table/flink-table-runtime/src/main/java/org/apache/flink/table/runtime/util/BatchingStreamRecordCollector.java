@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.util;
+
+import org.apache.flink.annotation.Internal;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.streaming.api.operators.Output;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.util.Collector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.flink.util.Preconditions.checkArgument;
+
+/**
+ * Wrapper around an {@link Output} which collects copies of the elements and emits them with
+ * {@link Output#collectBatch(List)} once {@code maxBatchSize} elements are collected or the
+ * collector is flushed. Outputs which send the records over the network then serialize the
+ * records of each channel as one element.
+ *
+ * <p>The elements are copied, so the caller may reuse its objects as with the {@link
+ * StreamRecordCollector}.
+ *
+ * @param <T> The type of the elements that can be emitted.
+ */
+@Internal
+public class BatchingStreamRecordCollector<T> implements Collector<T> {
+
+    private final Output<StreamRecord<T>> underlyingOutput;
+
+    private final TypeSerializer<T> serializer;
+
+    private final int maxBatchSize;
+
+    private final List<StreamRecord<T>> batch;
+
+    public BatchingStreamRecordCollector(
+            Output<StreamRecord<T>> output, TypeSerializer<T> serializer, int maxBatchSize) {
+        checkArgument(maxBatchSize > 0, "The maximum batch size must be positive.");
+        this.underlyingOutput = output;
+        this.serializer = serializer;
+        this.maxBatchSize = maxBatchSize;
+        this.batch = new ArrayList<>();
+    }
+
+    @Override
+    public void collect(T record) {
+        batch.add(new StreamRecord<>(serializer.copy(record)));
+        if (batch.size() >= maxBatchSize) {
+            flush();
+        }
+    }
+
+    /** Emits the collected elements as one batch. */
+    public void flush() {
+        if (!batch.isEmpty()) {
+            underlyingOutput.collectBatch(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        flush();
+        underlyingOutput.close();
+    }
+}
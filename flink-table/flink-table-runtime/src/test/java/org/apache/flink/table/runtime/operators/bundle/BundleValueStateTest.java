@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.flink.table.runtime.operators.bundle;
+
+import org.apache.flink.api.common.state.ValueState;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link BundleValueState} on states without batch access. The batch access of the
+ * state backends is covered by the harness tests of the mini-batch group aggregation.
+ */
+public class BundleValueStateTest {
+
+    @Test
+    public void testFallbackToPerKeyAccess() throws Exception {
+        TestValueState state = new TestValueState();
+        state.values.put("k1", 1);
+        BundleValueState<String, Integer> bundleState = new BundleValueState<>(state);
+
+        bundleState.prefetch(Arrays.asList("k1", "k2"));
+
+        state.currentKey = "k1";
+        assertEquals(Integer.valueOf(1), bundleState.value("k1"));
+        bundleState.update("k1", 2);
+        // updates are written immediately instead of with the flush of the bundle
+        assertEquals(Integer.valueOf(2), state.values.get("k1"));
+
+        state.currentKey = "k2";
+        assertNull(bundleState.value("k2"));
+        bundleState.update("k2", 3);
+
+        state.currentKey = "k1";
+        bundleState.clear("k1");
+        assertNull(bundleState.value("k1"));
+
+        bundleState.flush();
+        assertEquals(Collections.singletonMap("k2", 3), state.values);
+    }
+
+    /** A {@link ValueState} which doesn't support batch access. */
+    private static class TestValueState implements ValueState<Integer> {
+
+        private final Map<String, Integer> values = new HashMap<>();
+
+        private String currentKey;
+
+        @Override
+        public Integer value() {
+            return values.get(currentKey);
+        }
+
+        @Override
+        public void update(Integer value) {
+            if (value == null) {
+                values.remove(currentKey);
+            } else {
+                values.put(currentKey, value);
+            }
+        }
+
+        @Override
+        public void clear() {
+            values.remove(currentKey);
+        }
+    }
+}
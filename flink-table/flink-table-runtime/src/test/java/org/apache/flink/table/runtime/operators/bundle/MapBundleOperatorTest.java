@@ -18,9 +18,14 @@
 
 package org.apache.flink.table.runtime.operators.bundle;
 
+import org.apache.flink.api.common.typeinfo.Types;
 import org.apache.flink.api.java.functions.KeySelector;
 import org.apache.flink.api.java.tuple.Tuple2;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecordBatch;
+import org.apache.flink.streaming.runtime.tasks.OneInputStreamTask;
+import org.apache.flink.streaming.runtime.tasks.StreamTaskMailboxTestHarness;
+import org.apache.flink.streaming.runtime.tasks.StreamTaskMailboxTestHarnessBuilder;
 import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
 import org.apache.flink.table.runtime.operators.bundle.trigger.CountBundleTrigger;
 import org.apache.flink.util.Collector;
@@ -31,6 +36,7 @@ import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -84,6 +90,68 @@ public class MapBundleOperatorTest {
         }
     }
 
+    @Test
+    public void testBundleIsSentAsOneElement() throws Exception {
+        KeySelector<Tuple2<String, String>, String> keySelector =
+                (KeySelector<Tuple2<String, String>, String>) value -> value.f0;
+
+        try (StreamTaskMailboxTestHarness<Tuple2<String, Integer>> harness =
+                new StreamTaskMailboxTestHarnessBuilder<>(
+                                OneInputStreamTask::new,
+                                Types.<Tuple2<String, Integer>>TUPLE(Types.STRING, Types.INT))
+                        .addInput(Types.TUPLE(Types.STRING, Types.STRING))
+                        .setupOutputForSingletonOperatorChain(
+                                new MapBundleOperator<>(
+                                        new CountingMapBundleFunction(),
+                                        new CountBundleTrigger<>(3),
+                                        keySelector))
+                        .build()) {
+            harness.processElement(new StreamRecord<>(Tuple2.of("k1", "v1")));
+            harness.processElement(new StreamRecord<>(Tuple2.of("k2", "v2")));
+            assertThat(harness.getOutput().isEmpty(), is(true));
+
+            harness.processElement(new StreamRecord<>(Tuple2.of("k1", "v3")));
+
+            // the results of the bundle are serialized as one element with a single header
+            assertThat(harness.getOutput().size(), is(1));
+            @SuppressWarnings("unchecked")
+            StreamRecordBatch<Tuple2<String, Integer>> batch =
+                    (StreamRecordBatch<Tuple2<String, Integer>>) harness.getOutput().poll();
+            // the reused result object is copied for every record of the batch
+            List<Tuple2<String, Integer>> results = new ArrayList<>();
+            for (StreamRecord<Tuple2<String, Integer>> record : batch.getRecords()) {
+                results.add(record.getValue());
+            }
+            assertThat(
+                    new HashSet<>(results),
+                    is(new HashSet<>(Arrays.asList(Tuple2.of("k1", 2), Tuple2.of("k2", 1)))));
+            assertEquals(2, results.size());
+        }
+    }
+
+    /** Emits the number of values per key, reusing the result object. */
+    private static class CountingMapBundleFunction
+            extends MapBundleFunction<
+                    String, Integer, Tuple2<String, String>, Tuple2<String, Integer>> {
+
+        private final Tuple2<String, Integer> result = new Tuple2<>();
+
+        @Override
+        public Integer addInput(@Nullable Integer value, Tuple2<String, String> input) {
+            return value == null ? 1 : value + 1;
+        }
+
+        @Override
+        public void finishBundle(
+                Map<String, Integer> buffer, Collector<Tuple2<String, Integer>> out) {
+            for (Map.Entry<String, Integer> entry : buffer.entrySet()) {
+                result.f0 = entry.getKey();
+                result.f1 = entry.getValue();
+                out.collect(result);
+            }
+        }
+    }
+
     private static class TestMapBundleFunction
             extends MapBundleFunction<String, String, Tuple2<String, String>, String> {
 